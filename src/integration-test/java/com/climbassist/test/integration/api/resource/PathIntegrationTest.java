@@ -7,6 +7,8 @@ import com.climbassist.api.resource.crag.Crag;
 import com.climbassist.api.resource.path.CreatePathResult;
 import com.climbassist.api.resource.path.NewPath;
 import com.climbassist.api.resource.path.Path;
+import com.climbassist.api.resource.path.PathGeometry;
+import com.climbassist.api.resource.path.PolylineEncoder;
 import com.climbassist.test.integration.TestIdGenerator;
 import com.climbassist.test.integration.api.ApiResponse;
 import com.climbassist.test.integration.api.ExceptionUtils;
@@ -103,6 +105,27 @@ public class PathIntegrationTest extends AbstractTestNGSpringContextTests {
         runGetPathTest(7, Optional.of(7));
     }
 
+    @Test
+    public void getPathGeometry_returnsPathNotFoundException_whenPathDoesNotExist() {
+        ApiResponse<PathGeometry> apiResponse = climbAssistClient.getPathGeometry("does-not-exist", 15);
+        ExceptionUtils.assertResourceNotFoundException(apiResponse);
+    }
+
+    @Test
+    public void getPathGeometry_returnsEncodedPolylineOfPathPoints() {
+        testUserManager.makeUserAdministrator(username);
+        Path path = ResourceManager.getPath(resourceManager.createCountry(cookies, RESOURCE_DEPTH + 1));
+        ApiResponse<PathGeometry> apiResponse = climbAssistClient.getPathGeometry(path.getPathId(), 22);
+        ExceptionUtils.assertNoException(apiResponse);
+        assertThat(apiResponse.getData(), is(equalTo(PathGeometry.builder()
+                .pathId(path.getPathId())
+                .zoom(22)
+                .pointCount(path.getPathPoints()
+                        .size())
+                .encodedPolyline(new PolylineEncoder().encode(path.getPathPoints()))
+                .build())));
+    }
+
     @Test
     public void listPaths_returnsCragNotFoundException_whenCragDoesNotExist() {
         ApiResponse<Set<Path>> apiResponse = climbAssistClient.listPaths("does-not-exist");
@@ -17,6 +17,7 @@ import com.climbassist.api.resource.crag.UploadModelsResult;
 import com.climbassist.api.resource.path.CreatePathResult;
 import com.climbassist.api.resource.path.NewPath;
 import com.climbassist.api.resource.path.Path;
+import com.climbassist.api.resource.path.PathGeometry;
 import com.climbassist.api.resource.pathpoint.BatchCreatePathPointsResult;
 import com.climbassist.api.resource.pathpoint.BatchNewPathPoint;
 import com.climbassist.api.resource.pathpoint.BatchNewPathPoints;
@@ -447,6 +448,11 @@ public class ClimbAssistClient {
         return get("/v1/paths/" + pathId + "?depth=" + depth, new TypeReference<ApiResponse<Path>>() {});
     }
 
+    public ApiResponse<PathGeometry> getPathGeometry(@NonNull String pathId, int zoom) {
+        return get("/v1/paths/" + pathId + "/geometry?zoom=" + zoom,
+                new TypeReference<ApiResponse<PathGeometry>>() {});
+    }
+
     public ApiResponse<Set<Path>> listPaths(@NonNull String cragId) {
         return get("/v1/crags/" + cragId + "/paths", new TypeReference<ApiResponse<Set<Path>>>() {});
     }
@@ -0,0 +1,31 @@
+package com.climbassist.test.load;
+
+import com.climbassist.api.resource.pitch.Pitch;
+import com.climbassist.api.resource.route.Route;
+import lombok.Builder;
+import lombok.NonNull;
+import lombok.Value;
+
+import java.util.List;
+
+/**
+ * The resources created by {@link CatalogSeeder}. Routes and pitches are kept whole so that they can be written back by
+ * the update operations; everything else only needs its ID.
+ */
+@Builder
+@Value
+class Catalog {
+
+    @NonNull
+    String subAreaId;
+    @NonNull
+    List<String> cragIds;
+    @NonNull
+    List<String> wallIds;
+    @NonNull
+    List<Route> routes;
+    @NonNull
+    List<Pitch> pitches;
+    @NonNull
+    List<String> pathIds;
+}
@@ -0,0 +1,250 @@
+package com.climbassist.test.load;
+
+import com.climbassist.api.resource.area.NewArea;
+import com.climbassist.api.resource.country.NewCountry;
+import com.climbassist.api.resource.crag.Location;
+import com.climbassist.api.resource.crag.NewCrag;
+import com.climbassist.api.resource.crag.Parking;
+import com.climbassist.api.resource.path.NewPath;
+import com.climbassist.api.resource.pathpoint.BatchNewPathPoint;
+import com.climbassist.api.resource.pitch.Anchors;
+import com.climbassist.api.resource.pitch.NewPitch;
+import com.climbassist.api.resource.pitch.Pitch;
+import com.climbassist.api.resource.point.BatchNewPoint;
+import com.climbassist.api.resource.region.NewRegion;
+import com.climbassist.api.resource.route.Center;
+import com.climbassist.api.resource.route.NewRoute;
+import com.climbassist.api.resource.route.Route;
+import com.climbassist.api.resource.subarea.NewSubArea;
+import com.climbassist.api.resource.wall.NewWall;
+import com.climbassist.test.integration.api.ApiResponse;
+import com.climbassist.test.integration.client.ClimbAssistClient;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Lists;
+import lombok.Builder;
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.http.cookie.Cookie;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * Seeds a catalog of the size given by the options under a new country. Points and path points are created through the
+ * batch endpoints; everything else has to be created one at a time. Ordered resources are created last-to-first, so that
+ * each one's next resource already exists when it is created.
+ */
+@Builder
+@Slf4j
+class CatalogSeeder {
+
+    // the most resources that the batch create endpoints accept at once
+    private static final int MAX_BATCH_SIZE = 100;
+    private static final String RESOURCE_NAME = "load-test";
+    private static final String DESCRIPTION = "Created by the load generator.";
+
+    @NonNull
+    private final ClimbAssistClient climbAssistClient;
+    @NonNull
+    private final Set<Cookie> cookies;
+    @NonNull
+    private final LoadTestOptions loadTestOptions;
+    @NonNull
+    private final Random random;
+
+    Catalog seed() {
+        String countryId = getData(climbAssistClient.createCountry(NewCountry.builder()
+                .name(RESOURCE_NAME)
+                .build(), cookies)).getCountryId();
+        String regionId = getData(climbAssistClient.createRegion(NewRegion.builder()
+                .countryId(countryId)
+                .name(RESOURCE_NAME)
+                .build(), cookies)).getRegionId();
+        String areaId = getData(climbAssistClient.createArea(NewArea.builder()
+                .regionId(regionId)
+                .name(RESOURCE_NAME)
+                .description(DESCRIPTION)
+                .build(), cookies)).getAreaId();
+        String subAreaId = getData(climbAssistClient.createSubArea(NewSubArea.builder()
+                .areaId(areaId)
+                .name(RESOURCE_NAME)
+                .description(DESCRIPTION)
+                .build(), cookies)).getSubAreaId();
+
+        List<String> cragIds = new ArrayList<>();
+        List<String> wallIds = new ArrayList<>();
+        List<Route> routes = new ArrayList<>();
+        List<Pitch> pitches = new ArrayList<>();
+        List<String> pathIds = new ArrayList<>();
+        for (int i = 0; i < loadTestOptions.getCrags(); i++) {
+            String cragId = createCrag(subAreaId);
+            cragIds.add(cragId);
+            pathIds.add(createPath(cragId));
+            String next = null;
+            for (int j = 0; j < loadTestOptions.getWallsPerCrag(); j++) {
+                next = createWall(cragId, j == loadTestOptions.getWallsPerCrag() - 1, next);
+                wallIds.add(next);
+                createRoutes(next, routes, pitches);
+            }
+            log.info("Seeded crag {} of {}.", i + 1, loadTestOptions.getCrags());
+        }
+        return Catalog.builder()
+                .subAreaId(subAreaId)
+                .cragIds(cragIds)
+                .wallIds(wallIds)
+                .routes(routes)
+                .pitches(pitches)
+                .pathIds(pathIds)
+                .build();
+    }
+
+    private String createCrag(String subAreaId) {
+        return getData(climbAssistClient.createCrag(NewCrag.builder()
+                .subAreaId(subAreaId)
+                .name(RESOURCE_NAME)
+                .description(DESCRIPTION)
+                .location(Location.builder()
+                        .latitude(47.5 + random.nextDouble())
+                        .longitude(-121.5 + random.nextDouble())
+                        .zoom(15.0)
+                        .build())
+                .parking(ImmutableSet.of(Parking.builder()
+                        .latitude(47.5 + random.nextDouble())
+                        .longitude(-121.5 + random.nextDouble())
+                        .build()))
+                .build(), cookies)).getCragId();
+    }
+
+    private String createPath(String cragId) {
+        String pathId = getData(climbAssistClient.createPath(NewPath.builder()
+                .cragId(cragId)
+                .build(), cookies)).getPathId();
+        List<BatchNewPathPoint> batchNewPathPoints = new ArrayList<>();
+        double latitude = 47.5 + random.nextDouble();
+        double longitude = -121.5 + random.nextDouble();
+        for (int i = 0; i < loadTestOptions.getPathPointsPerPath(); i++) {
+            // a short walk, so that the geometry is worth simplifying
+            latitude += (random.nextDouble() - 0.5) * 0.001;
+            longitude += (random.nextDouble() - 0.5) * 0.001;
+            batchNewPathPoints.add(BatchNewPathPoint.builder()
+                    .latitude(latitude)
+                    .longitude(longitude)
+                    .build());
+        }
+        for (List<BatchNewPathPoint> batch : Lists.partition(batchNewPathPoints, MAX_BATCH_SIZE)) {
+            getData(climbAssistClient.batchCreatePathPoints(pathId, cookies,
+                    batch.toArray(new BatchNewPathPoint[0])));
+        }
+        return pathId;
+    }
+
+    private String createWall(String cragId, boolean first, String next) {
+        return getData(climbAssistClient.createWall(NewWall.builder()
+                .cragId(cragId)
+                .name(RESOURCE_NAME)
+                .first(first ? true : null)
+                .next(next)
+                .build(), cookies)).getWallId();
+    }
+
+    private void createRoutes(String wallId, List<Route> routes, List<Pitch> pitches) {
+        List<Route> wallRoutes = new ArrayList<>();
+        String next = null;
+        for (int i = 0; i < loadTestOptions.getRoutesPerWall(); i++) {
+            NewRoute newRoute = NewRoute.builder()
+                    .wallId(wallId)
+                    .name(RESOURCE_NAME)
+                    .description(DESCRIPTION)
+                    .center(Center.builder()
+                            .x(random.nextDouble())
+                            .y(random.nextDouble())
+                            .z(random.nextDouble())
+                            .build())
+                    .style("trad")
+                    .protection("protection")
+                    .first(i == loadTestOptions.getRoutesPerWall() - 1 ? true : null)
+                    .next(next)
+                    .build();
+            next = getData(climbAssistClient.createRoute(newRoute, cookies)).getRouteId();
+            wallRoutes.add(Route.builder()
+                    .routeId(next)
+                    .wallId(wallId)
+                    .name(newRoute.getName())
+                    .description(newRoute.getDescription())
+                    .center(newRoute.getCenter())
+                    .style(newRoute.getStyle())
+                    .protection(newRoute.getProtection())
+                    .first(newRoute.getFirst())
+                    .next(newRoute.getNext())
+                    .build());
+            createPitches(next, pitches);
+        }
+        Collections.reverse(wallRoutes);
+        routes.addAll(wallRoutes);
+    }
+
+    private void createPitches(String routeId, List<Pitch> pitches) {
+        List<Pitch> routePitches = new ArrayList<>();
+        String next = null;
+        for (int i = 0; i < loadTestOptions.getPitchesPerRoute(); i++) {
+            NewPitch newPitch = NewPitch.builder()
+                    .routeId(routeId)
+                    .description(DESCRIPTION)
+                    .anchors(Anchors.builder()
+                            .fixed(true)
+                            .x(random.nextDouble())
+                            .y(random.nextDouble())
+                            .z(random.nextDouble())
+                            .build())
+                    .danger("R")
+                    .grade(5 + random.nextInt(10))
+                    .gradeModifier("b")
+                    .distance(10.0 + random.nextInt(30))
+                    .first(i == loadTestOptions.getPitchesPerRoute() - 1 ? true : null)
+                    .next(next)
+                    .build();
+            next = getData(climbAssistClient.createPitch(newPitch, cookies)).getPitchId();
+            routePitches.add(Pitch.builder()
+                    .pitchId(next)
+                    .routeId(routeId)
+                    .description(newPitch.getDescription())
+                    .anchors(newPitch.getAnchors())
+                    .danger(newPitch.getDanger())
+                    .grade(newPitch.getGrade())
+                    .gradeModifier(newPitch.getGradeModifier())
+                    .distance(newPitch.getDistance())
+                    .first(newPitch.getFirst())
+                    .next(newPitch.getNext())
+                    .build());
+            createPoints(next);
+        }
+        Collections.reverse(routePitches);
+        pitches.addAll(routePitches);
+    }
+
+    private void createPoints(String pitchId) {
+        List<BatchNewPoint> batchNewPoints = new ArrayList<>();
+        for (int i = 0; i < loadTestOptions.getPointsPerPitch(); i++) {
+            batchNewPoints.add(BatchNewPoint.builder()
+                    .x(random.nextDouble())
+                    .y(random.nextDouble())
+                    .z(random.nextDouble())
+                    .build());
+        }
+        for (List<BatchNewPoint> batch : Lists.partition(batchNewPoints, MAX_BATCH_SIZE)) {
+            getData(climbAssistClient.batchCreatePoints(pitchId, cookies, batch.toArray(new BatchNewPoint[0])));
+        }
+    }
+
+    private static <T> T getData(ApiResponse<T> apiResponse) {
+        if (apiResponse.getError() != null) {
+            throw new IllegalStateException(
+                    String.format("Seeding failed with status %d: %s", apiResponse.getHttpStatus(),
+                            apiResponse.getError()));
+        }
+        return apiResponse.getData();
+    }
+}
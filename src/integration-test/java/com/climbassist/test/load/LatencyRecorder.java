@@ -0,0 +1,71 @@
+package com.climbassist.test.load;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Records the latency and outcome of every call, per operation. Latencies are kept in full rather than bucketed, which
+ * is fine for the few million calls that a load test makes and keeps the percentiles exact.
+ */
+class LatencyRecorder {
+
+    private final Map<LoadOperation, List<Long>> latenciesNanos = new EnumMap<>(LoadOperation.class);
+    private final Map<LoadOperation, AtomicLong> errorCounts = new EnumMap<>(LoadOperation.class);
+
+    LatencyRecorder() {
+        for (LoadOperation operation : LoadOperation.values()) {
+            latenciesNanos.put(operation, new ArrayList<>());
+            errorCounts.put(operation, new AtomicLong());
+        }
+    }
+
+    void record(LoadOperation operation, long latencyNanos, boolean error) {
+        List<Long> operationLatenciesNanos = latenciesNanos.get(operation);
+        synchronized (operationLatenciesNanos) {
+            operationLatenciesNanos.add(latencyNanos);
+        }
+        if (error) {
+            errorCounts.get(operation)
+                    .incrementAndGet();
+        }
+    }
+
+    String buildReport(double elapsedSeconds) {
+        StringBuilder report = new StringBuilder(String.format("%-18s %8s %8s %8s %10s %10s %10s %10s%n", "API",
+                "count", "rps", "errors", "p50 (ms)", "p95 (ms)", "p99 (ms)", "max (ms)"));
+        for (LoadOperation operation : LoadOperation.values()) {
+            long[] sortedLatenciesNanos;
+            List<Long> operationLatenciesNanos = latenciesNanos.get(operation);
+            synchronized (operationLatenciesNanos) {
+                sortedLatenciesNanos = operationLatenciesNanos.stream()
+                        .mapToLong(Long::longValue)
+                        .toArray();
+            }
+            if (sortedLatenciesNanos.length == 0) {
+                continue;
+            }
+            Arrays.sort(sortedLatenciesNanos);
+            report.append(String.format("%-18s %8d %8.1f %7.2f%% %10.1f %10.1f %10.1f %10.1f%n", operation.name(),
+                    sortedLatenciesNanos.length, sortedLatenciesNanos.length / elapsedSeconds,
+                    100.0 * errorCounts.get(operation)
+                            .get() / sortedLatenciesNanos.length, getPercentileMillis(sortedLatenciesNanos, 50),
+                    getPercentileMillis(sortedLatenciesNanos, 95), getPercentileMillis(sortedLatenciesNanos, 99),
+                    toMillis(sortedLatenciesNanos[sortedLatenciesNanos.length - 1])));
+        }
+        return report.toString();
+    }
+
+    private static double getPercentileMillis(long[] sortedLatenciesNanos, int percentile) {
+        // nearest-rank method
+        int rank = (int) Math.ceil(percentile / 100.0 * sortedLatenciesNanos.length);
+        return toMillis(sortedLatenciesNanos[Math.max(rank, 1) - 1]);
+    }
+
+    private static double toMillis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+}
@@ -0,0 +1,119 @@
+package com.climbassist.test.load;
+
+import com.amazonaws.client.builder.AwsClientBuilder;
+import com.amazonaws.services.dynamodbv2.AmazonDynamoDBClientBuilder;
+import com.climbassist.api.user.authentication.SignInUserRequest;
+import com.climbassist.api.user.authentication.SignInUserResult;
+import com.climbassist.test.integration.api.ApiResponse;
+import com.climbassist.test.integration.client.ClimbAssistClient;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.util.concurrent.RateLimiter;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.http.cookie.Cookie;
+
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Seeds a catalog and then replays a weighted mix of APIs against it at a fixed rate, and reports latency percentiles
+ * and error rates per API. See the README for how to run it.
+ * <p>
+ * Calls are started on schedule regardless of how long earlier calls take, and latency is measured from when a call was
+ * scheduled rather than when a thread picked it up. Otherwise a slow service would slow the load generator down with
+ * it, and the percentiles would hide the time that calls spent waiting (coordinated omission).
+ */
+@Slf4j
+public class LoadGenerator {
+
+    private static final long SEED = 42L;
+
+    public static void main(String[] args) throws Exception {
+        LoadTestOptions loadTestOptions = LoadTestOptions.fromSystemProperties();
+
+        if (loadTestOptions.getDynamoDbEndpoint()
+                .isPresent()) {
+            LocalTableCreator.builder()
+                    .amazonDynamoDb(AmazonDynamoDBClientBuilder.standard()
+                            .withEndpointConfiguration(new AwsClientBuilder.EndpointConfiguration(
+                                    loadTestOptions.getDynamoDbEndpoint()
+                                            .get(), loadTestOptions.getRegion()))
+                            .build())
+                    .resourceNameSuffix(loadTestOptions.getResourceNameSuffix())
+                    .build()
+                    .createTables();
+        }
+
+        //noinspection UnstableApiUsage
+        ClimbAssistClient climbAssistClient = ClimbAssistClient.builder()
+                .applicationEndpoint(loadTestOptions.getApplicationEndpoint())
+                .httpClientFactory(new PooledHttpClientFactory(loadTestOptions.getThreads()))
+                .objectMapper(new ObjectMapper())
+                // calls are paced below instead, so that time spent waiting for a permit isn't counted as latency
+                .rateLimiter(RateLimiter.create(Double.MAX_VALUE))
+                .build();
+        ApiResponse<SignInUserResult> signInResponse = climbAssistClient.signIn(SignInUserRequest.builder()
+                .username(loadTestOptions.getUsername())
+                .password(loadTestOptions.getPassword())
+                .build());
+        if (signInResponse.getError() != null) {
+            throw new IllegalStateException("Unable to sign in: " + signInResponse.getError());
+        }
+        Set<Cookie> cookies = signInResponse.getCookies();
+
+        Catalog catalog = CatalogSeeder.builder()
+                .climbAssistClient(climbAssistClient)
+                .cookies(cookies)
+                .loadTestOptions(loadTestOptions)
+                .random(new Random(SEED))
+                .build()
+                .seed();
+        log.info("Seeded {} crags, {} walls, {} routes and {} pitches under sub-area {}.", catalog.getCragIds()
+                .size(), catalog.getWallIds()
+                .size(), catalog.getRoutes()
+                .size(), catalog.getPitches()
+                .size(), catalog.getSubAreaId());
+
+        LoadMix loadMix = new LoadMix();
+        LatencyRecorder latencyRecorder = new LatencyRecorder();
+        ExecutorService executorService = Executors.newFixedThreadPool(loadTestOptions.getThreads());
+        //noinspection UnstableApiUsage
+        RateLimiter rateLimiter = RateLimiter.create(loadTestOptions.getRequestsPerSecond());
+        Random random = new Random(SEED);
+
+        log.info("Running at {} requests per second for {} seconds.", loadTestOptions.getRequestsPerSecond(),
+                loadTestOptions.getDurationSeconds());
+        long startNanos = System.nanoTime();
+        long endNanos = startNanos + TimeUnit.SECONDS.toNanos(loadTestOptions.getDurationSeconds());
+        while (System.nanoTime() < endNanos) {
+            //noinspection UnstableApiUsage
+            rateLimiter.acquire();
+            long scheduledNanos = System.nanoTime();
+            LoadOperation operation = loadMix.next(random);
+            executorService.execute(() -> {
+                boolean error;
+                try {
+                    ApiResponse<?> apiResponse = operation.call(climbAssistClient, catalog, cookies,
+                            ThreadLocalRandom.current());
+                    error = apiResponse.getError() != null || apiResponse.getHttpStatus() >= 400;
+                } catch (RuntimeException e) {
+                    log.debug("Call to {} failed.", operation.name(), e);
+                    error = true;
+                }
+                latencyRecorder.record(operation, System.nanoTime() - scheduledNanos, error);
+            });
+        }
+        executorService.shutdown();
+        if (!executorService.awaitTermination(1, TimeUnit.MINUTES)) {
+            log.warn("Calls were still running a minute after the test ended, so they are not included.");
+            executorService.shutdownNow();
+        }
+        double elapsedSeconds = (System.nanoTime() - startNanos) / 1_000_000_000.0;
+
+        log.info("Results:\n{}", latencyRecorder.buildReport(elapsedSeconds));
+        log.info("The catalog has been left in place under sub-area {}.", catalog.getSubAreaId());
+    }
+}
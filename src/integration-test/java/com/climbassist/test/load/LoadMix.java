@@ -0,0 +1,53 @@
+package com.climbassist.test.load;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Picks operations at random in proportion to their weights. Weights can be overridden with load.weight.OPERATION
+ * system properties, e.g. -Dload.weight.UPDATE_ROUTE=0 to run a read-only mix.
+ */
+class LoadMix {
+
+    private final LoadOperation[] operations;
+    private final int[] cumulativeWeights;
+
+    LoadMix() {
+        Map<LoadOperation, Integer> weights = new EnumMap<>(LoadOperation.class);
+        for (LoadOperation operation : LoadOperation.values()) {
+            int weight = Integer.getInteger("load.weight." + operation.name(), operation.getDefaultWeight());
+            if (weight < 0) {
+                throw new IllegalArgumentException(
+                        String.format("The weight of %s must not be negative.", operation.name()));
+            }
+            if (weight > 0) {
+                weights.put(operation, weight);
+            }
+        }
+        if (weights.isEmpty()) {
+            throw new IllegalArgumentException("At least one operation must have a positive weight.");
+        }
+
+        operations = new LoadOperation[weights.size()];
+        cumulativeWeights = new int[weights.size()];
+        int i = 0;
+        int totalWeight = 0;
+        for (Map.Entry<LoadOperation, Integer> entry : weights.entrySet()) {
+            totalWeight += entry.getValue();
+            operations[i] = entry.getKey();
+            cumulativeWeights[i] = totalWeight;
+            i++;
+        }
+    }
+
+    LoadOperation next(Random random) {
+        int value = random.nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+        for (int i = 0; i < cumulativeWeights.length; i++) {
+            if (value < cumulativeWeights[i]) {
+                return operations[i];
+            }
+        }
+        throw new IllegalStateException("Unreachable, because the last cumulative weight is the total.");
+    }
+}
@@ -0,0 +1,102 @@
+package com.climbassist.test.load;
+
+import com.climbassist.test.integration.api.ApiResponse;
+import com.climbassist.test.integration.client.ClimbAssistClient;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.apache.http.cookie.Cookie;
+
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * The APIs that are replayed by the load generator, with their default weights. The defaults add up to 100 and roughly
+ * follow production traffic, which is mostly the website loading crags and their routes. The writes rewrite a resource
+ * unchanged, so they can be repeated indefinitely without changing the catalog.
+ */
+@AllArgsConstructor
+enum LoadOperation {
+    GET_CRAG(15) {
+        @Override
+        ApiResponse<?> call(ClimbAssistClient climbAssistClient, Catalog catalog, Set<Cookie> cookies, Random random) {
+            return climbAssistClient.getCrag(pick(catalog.getCragIds(), random));
+        }
+    },
+    GET_CRAG_DEPTH_2(15) {
+        @Override
+        ApiResponse<?> call(ClimbAssistClient climbAssistClient, Catalog catalog, Set<Cookie> cookies, Random random) {
+            return climbAssistClient.getCrag(pick(catalog.getCragIds(), random), 2);
+        }
+    },
+    GET_CRAG_DEPTH_3(5) {
+        @Override
+        ApiResponse<?> call(ClimbAssistClient climbAssistClient, Catalog catalog, Set<Cookie> cookies, Random random) {
+            return climbAssistClient.getCrag(pick(catalog.getCragIds(), random), 3);
+        }
+    },
+    LIST_CRAGS(5) {
+        @Override
+        ApiResponse<?> call(ClimbAssistClient climbAssistClient, Catalog catalog, Set<Cookie> cookies, Random random) {
+            return climbAssistClient.listCrags(catalog.getSubAreaId());
+        }
+    },
+    LIST_WALLS(10) {
+        @Override
+        ApiResponse<?> call(ClimbAssistClient climbAssistClient, Catalog catalog, Set<Cookie> cookies, Random random) {
+            return climbAssistClient.listWalls(pick(catalog.getCragIds(), random), true);
+        }
+    },
+    LIST_ROUTES(15) {
+        @Override
+        ApiResponse<?> call(ClimbAssistClient climbAssistClient, Catalog catalog, Set<Cookie> cookies, Random random) {
+            return climbAssistClient.listRoutes(pick(catalog.getWallIds(), random), true);
+        }
+    },
+    GET_ROUTE_DEPTH_1(10) {
+        @Override
+        ApiResponse<?> call(ClimbAssistClient climbAssistClient, Catalog catalog, Set<Cookie> cookies, Random random) {
+            return climbAssistClient.getRoute(pick(catalog.getRoutes(), random).getRouteId(), 1);
+        }
+    },
+    LIST_PITCHES(5) {
+        @Override
+        ApiResponse<?> call(ClimbAssistClient climbAssistClient, Catalog catalog, Set<Cookie> cookies, Random random) {
+            return climbAssistClient.listPitches(pick(catalog.getRoutes(), random).getRouteId(), true);
+        }
+    },
+    LIST_POINTS(10) {
+        @Override
+        ApiResponse<?> call(ClimbAssistClient climbAssistClient, Catalog catalog, Set<Cookie> cookies, Random random) {
+            return climbAssistClient.listPoints(pick(catalog.getPitches(), random).getPitchId(), true);
+        }
+    },
+    GET_PATH_GEOMETRY(5) {
+        @Override
+        ApiResponse<?> call(ClimbAssistClient climbAssistClient, Catalog catalog, Set<Cookie> cookies, Random random) {
+            return climbAssistClient.getPathGeometry(pick(catalog.getPathIds(), random), 22);
+        }
+    },
+    UPDATE_ROUTE(3) {
+        @Override
+        ApiResponse<?> call(ClimbAssistClient climbAssistClient, Catalog catalog, Set<Cookie> cookies, Random random) {
+            return climbAssistClient.updateRoute(pick(catalog.getRoutes(), random), cookies);
+        }
+    },
+    UPDATE_PITCH(2) {
+        @Override
+        ApiResponse<?> call(ClimbAssistClient climbAssistClient, Catalog catalog, Set<Cookie> cookies, Random random) {
+            return climbAssistClient.updatePitch(pick(catalog.getPitches(), random), cookies);
+        }
+    };
+
+    @Getter
+    private final int defaultWeight;
+
+    abstract ApiResponse<?> call(ClimbAssistClient climbAssistClient, Catalog catalog, Set<Cookie> cookies,
+                                 Random random);
+
+    private static <T> T pick(List<T> list, Random random) {
+        return list.get(random.nextInt(list.size()));
+    }
+}
@@ -0,0 +1,69 @@
+package com.climbassist.test.load;
+
+import lombok.Builder;
+import lombok.NonNull;
+import lombok.Value;
+
+import java.util.Optional;
+
+/**
+ * Options for a load test, read from system properties so they can be passed straight through Maven. See the README
+ * for what each of them does.
+ */
+@Builder
+@Value
+class LoadTestOptions {
+
+    @NonNull
+    String applicationEndpoint;
+    @NonNull
+    String username;
+    @NonNull
+    String password;
+    @NonNull
+    String region;
+    // only set when the server is running against DynamoDB Local, in which case the tables are created up front
+    @NonNull
+    Optional<String> dynamoDbEndpoint;
+    @NonNull
+    String resourceNameSuffix;
+
+    int crags;
+    int wallsPerCrag;
+    int routesPerWall;
+    int pitchesPerRoute;
+    int pointsPerPitch;
+    int pathPointsPerPath;
+
+    double requestsPerSecond;
+    int threads;
+    int durationSeconds;
+
+    static LoadTestOptions fromSystemProperties() {
+        return LoadTestOptions.builder()
+                .applicationEndpoint(getRequiredProperty("applicationEndpoint"))
+                .username(getRequiredProperty("load.username"))
+                .password(getRequiredProperty("load.password"))
+                .region(System.getProperty("region", "us-west-2"))
+                .dynamoDbEndpoint(Optional.ofNullable(System.getProperty("dynamoDbEndpoint")))
+                .resourceNameSuffix(System.getProperty("resourceNameSuffix", ""))
+                .crags(Integer.getInteger("load.crags", 5))
+                .wallsPerCrag(Integer.getInteger("load.wallsPerCrag", 5))
+                .routesPerWall(Integer.getInteger("load.routesPerWall", 10))
+                .pitchesPerRoute(Integer.getInteger("load.pitchesPerRoute", 2))
+                .pointsPerPitch(Integer.getInteger("load.pointsPerPitch", 20))
+                .pathPointsPerPath(Integer.getInteger("load.pathPointsPerPath", 50))
+                .requestsPerSecond(Double.parseDouble(System.getProperty("load.requestsPerSecond", "50")))
+                .threads(Integer.getInteger("load.threads", 32))
+                .durationSeconds(Integer.getInteger("load.durationSeconds", 60))
+                .build();
+    }
+
+    private static String getRequiredProperty(String name) {
+        String value = System.getProperty(name);
+        if (value == null) {
+            throw new IllegalArgumentException(String.format("System property %s must be set.", name));
+        }
+        return value;
+    }
+}
@@ -0,0 +1,83 @@
+package com.climbassist.test.load;
+
+import com.amazonaws.services.dynamodbv2.AmazonDynamoDB;
+import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBMapper;
+import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBMapperConfig;
+import com.amazonaws.services.dynamodbv2.model.CreateTableRequest;
+import com.amazonaws.services.dynamodbv2.model.Projection;
+import com.amazonaws.services.dynamodbv2.model.ProjectionType;
+import com.amazonaws.services.dynamodbv2.model.ProvisionedThroughput;
+import com.amazonaws.services.dynamodbv2.util.TableUtils;
+import com.climbassist.api.resource.area.Area;
+import com.climbassist.api.resource.country.Country;
+import com.climbassist.api.resource.crag.Crag;
+import com.climbassist.api.resource.path.Path;
+import com.climbassist.api.resource.pathpoint.PathPoint;
+import com.climbassist.api.resource.pitch.Pitch;
+import com.climbassist.api.resource.point.Point;
+import com.climbassist.api.resource.region.Region;
+import com.climbassist.api.resource.route.Route;
+import com.climbassist.api.resource.subarea.SubArea;
+import com.climbassist.api.resource.wall.Wall;
+import com.climbassist.api.user.AliasIndexEntry;
+import com.climbassist.api.user.UserData;
+import com.google.common.collect.ImmutableMap;
+import lombok.Builder;
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.Map;
+
+/**
+ * Creates the service's tables in DynamoDB Local, so that the service can be load tested without touching real tables.
+ * The tables are generated from the model annotations, with the same names and index projections as template.yml.
+ */
+@Builder
+@Slf4j
+class LocalTableCreator {
+
+    private static final Map<String, Class<?>> MODEL_CLASSES_BY_TABLE_PREFIX = ImmutableMap.<String, Class<?>>builder()
+            .put("Countries", Country.class)
+            .put("Regions", Region.class)
+            .put("Areas", Area.class)
+            .put("SubAreas", SubArea.class)
+            .put("Crags", Crag.class)
+            .put("Walls", Wall.class)
+            .put("Routes", Route.class)
+            .put("Pitches", Pitch.class)
+            .put("Points", Point.class)
+            .put("Paths", Path.class)
+            .put("PathPoints", PathPoint.class)
+            .put("DeletedUsers", UserData.class)
+            .put("AliasIndex", AliasIndexEntry.class)
+            .build();
+    // DynamoDB Local requires provisioned throughput, but doesn't enforce it
+    private static final ProvisionedThroughput PROVISIONED_THROUGHPUT = new ProvisionedThroughput(1000L, 1000L);
+
+    @NonNull
+    private final AmazonDynamoDB amazonDynamoDb;
+    @NonNull
+    private final String resourceNameSuffix;
+
+    void createTables() throws InterruptedException {
+        DynamoDBMapper dynamoDbMapper = new DynamoDBMapper(amazonDynamoDb);
+        for (Map.Entry<String, Class<?>> entry : MODEL_CLASSES_BY_TABLE_PREFIX.entrySet()) {
+            String tableName = entry.getKey() + resourceNameSuffix;
+            CreateTableRequest createTableRequest = dynamoDbMapper.generateCreateTableRequest(entry.getValue(),
+                    DynamoDBMapperConfig.builder()
+                            .withTableNameOverride(new DynamoDBMapperConfig.TableNameOverride(tableName))
+                            .build())
+                    .withProvisionedThroughput(PROVISIONED_THROUGHPUT);
+            if (createTableRequest.getGlobalSecondaryIndexes() != null) {
+                createTableRequest.getGlobalSecondaryIndexes()
+                        .forEach(globalSecondaryIndex -> globalSecondaryIndex.withProvisionedThroughput(
+                                PROVISIONED_THROUGHPUT)
+                                .withProjection(new Projection().withProjectionType(ProjectionType.ALL)));
+            }
+            if (TableUtils.createTableIfNotExists(amazonDynamoDb, createTableRequest)) {
+                log.info("Created table {}.", tableName);
+            }
+            TableUtils.waitUntilActive(amazonDynamoDb, tableName);
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.climbassist.test.load;
+
+import com.climbassist.test.integration.client.HttpClientFactory;
+import org.apache.http.client.HttpClient;
+import org.apache.http.conn.ssl.NoopHostnameVerifier;
+import org.apache.http.conn.ssl.TrustAllStrategy;
+import org.apache.http.impl.client.HttpClientBuilder;
+import org.apache.http.ssl.SSLContextBuilder;
+
+import java.security.KeyManagementException;
+import java.security.KeyStoreException;
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * Returns the same pooled client for every call. {@link HttpClientFactory} creates a new client (and connection) for
+ * every call, which is fine for functional tests but would make a load test measure TCP and TLS handshakes instead of
+ * the service. Cookies are still kept separate, because the client passes its own cookie store with each request.
+ */
+class PooledHttpClientFactory extends HttpClientFactory {
+
+    private final HttpClient httpClient;
+
+    PooledHttpClientFactory(int maxConnections)
+            throws KeyStoreException, NoSuchAlgorithmException, KeyManagementException {
+        httpClient = HttpClientBuilder.create()
+                // same as HttpClientFactory, so that this can be run against beta
+                .setSSLContext(new SSLContextBuilder().loadTrustMaterial(new TrustAllStrategy())
+                        .build())
+                .setSSLHostnameVerifier(new NoopHostnameVerifier())
+                .setMaxConnTotal(maxConnections)
+                .setMaxConnPerRoute(maxConnections)
+                .build();
+    }
+
+    @Override
+    public HttpClient create() {
+        return httpClient;
+    }
+}
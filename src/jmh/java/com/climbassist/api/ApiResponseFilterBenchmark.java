@@ -0,0 +1,98 @@
+package com.climbassist.api;
+
+import com.climbassist.api.resource.CragTreeFixtures;
+import com.climbassist.wrapper.BufferPool;
+import com.climbassist.wrapper.BufferingFilter;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.guava.GuavaModule;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures wrapping a controller's response in the standard API envelope, for responses of different sizes and for
+ * errors. This includes buffering the response and writing it out, which {@link BufferingFilter} does around
+ * {@link ApiResponseFilter}.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ApiResponseFilterBenchmark {
+
+    @Param({"SMALL", "MEDIUM", "TWO_MEGABYTES", "LARGE"})
+    private CragTreeFixtures.CragSize cragSize;
+
+    private BufferingFilter bufferingFilter;
+    private MockHttpServletRequest request;
+    private FilterChain dataFilterChain;
+    private FilterChain errorFilterChain;
+
+    @Setup
+    public void setUp() throws JsonProcessingException {
+        ObjectMapper objectMapper = new ObjectMapper();
+        objectMapper.registerModule(new GuavaModule());
+        ApiResponseFilter apiResponseFilter = ApiResponseFilter.builder()
+                .apiResponseEnvelope(ApiResponseEnvelope.builder()
+                        .build())
+                .build();
+        bufferingFilter = BufferingFilter.builder()
+                .bufferPool(BufferPool.builder()
+                        .chunkSize(16384)
+                        .maxPooledChunks(1024)
+                        .build())
+                .build();
+        request = new MockHttpServletRequest("GET", "/v1/crags/crag-1");
+        request.setParameter("depth", "10");
+        byte[] data = objectMapper.writeValueAsBytes(CragTreeFixtures.buildCrag(cragSize));
+        FilterChain controllerDataFilterChain = (servletRequest, servletResponse) -> servletResponse.getOutputStream()
+                .write(data);
+        dataFilterChain = (servletRequest, servletResponse) -> apiResponseFilter.doFilter(servletRequest,
+                servletResponse, controllerDataFilterChain);
+        byte[] error = objectMapper.writeValueAsBytes(ApiResponse.Error.builder()
+                .type("ResourceNotFoundException")
+                .message("No crag with ID crag-1 found.")
+                .build());
+        FilterChain controllerErrorFilterChain = (servletRequest, servletResponse) -> {
+            ((HttpServletResponse) servletResponse).setStatus(HttpStatus.NOT_FOUND.value());
+            servletResponse.getOutputStream()
+                    .write(error);
+        };
+        errorFilterChain = (servletRequest, servletResponse) -> apiResponseFilter.doFilter(servletRequest,
+                servletResponse, controllerErrorFilterChain);
+    }
+
+    @Benchmark
+    public byte[] wrapData() throws IOException, ServletException {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        bufferingFilter.doFilter(request, response, dataFilterChain);
+        return response.getContentAsByteArray();
+    }
+
+    @Benchmark
+    public byte[] wrapError() throws IOException, ServletException {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        bufferingFilter.doFilter(request, response, errorFilterChain);
+        return response.getContentAsByteArray();
+    }
+}
@@ -0,0 +1,183 @@
+package com.climbassist.api.resource;
+
+import com.climbassist.api.resource.crag.Azimuth;
+import com.climbassist.api.resource.crag.Crag;
+import com.climbassist.api.resource.crag.Location;
+import com.climbassist.api.resource.crag.Model;
+import com.climbassist.api.resource.crag.Parking;
+import com.climbassist.api.resource.pitch.Anchors;
+import com.climbassist.api.resource.pitch.Pitch;
+import com.climbassist.api.resource.point.Point;
+import com.climbassist.api.resource.route.Center;
+import com.climbassist.api.resource.route.Route;
+import com.climbassist.api.resource.wall.Wall;
+import com.google.common.collect.ImmutableSet;
+import lombok.AllArgsConstructor;
+import lombok.NonNull;
+import lombok.experimental.UtilityClass;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Builds crag trees (crag, walls, routes, pitches and points) shaped like the ones in production, for use as benchmark
+ * fixtures. Trees are generated from a fixed seed, so every run of a benchmark sees the same data.
+ */
+@UtilityClass
+public class CragTreeFixtures {
+
+    @AllArgsConstructor
+    public enum CragSize {
+        // a small bouldering area or single-wall crag
+        SMALL(2, 8, 1, 10),
+        // a typical sport crag
+        MEDIUM(8, 15, 2, 20),
+        // a large crag, whose full tree (a depth 10 get-crag response) is about 2 MB of JSON
+        TWO_MEGABYTES(12, 15, 2, 25),
+        // one of the largest crags, with long multi-pitch routes
+        LARGE(25, 30, 4, 40);
+
+        private final int walls;
+        private final int routesPerWall;
+        private final int pitchesPerRoute;
+        private final int pointsPerPitch;
+    }
+
+    private static final long SEED = 42L;
+    private static final String[] STYLES = {"sport", "trad", "boulder"};
+    private static final String[] ROPED_GRADE_MODIFIERS = {null, "a", "a/b", "b", "b/c", "c", "c/d", "d"};
+    private static final String[] BOULDER_GRADE_MODIFIERS = {null, "-", "+"};
+    private static final String[] DANGERS = {null, null, null, "PG13", "R", "X"};
+
+    public static Crag buildCrag(@NonNull CragSize cragSize) {
+        Random random = new Random(SEED);
+        String cragId = "crag-" + cragSize.name()
+                .toLowerCase();
+        List<Wall> walls = new ArrayList<>(cragSize.walls);
+        for (int i = 0; i < cragSize.walls; i++) {
+            walls.add(buildWall(cragId, i, cragSize, random));
+        }
+        return Crag.builder()
+                .cragId(cragId)
+                .subAreaId("sub-area-1")
+                .name("Crag " + cragSize.name())
+                .description("A crag with " + cragSize.walls + " walls, generated for benchmarks.")
+                .imageLocation("https://images.climbassist.com/crags/" + cragId + ".jpg")
+                .location(Location.builder()
+                        .latitude(47.5 + random.nextDouble())
+                        .longitude(-121.5 + random.nextDouble())
+                        .zoom(15.0)
+                        .build())
+                .model(Model.builder()
+                        .modelLocation("https://models.climbassist.com/" + cragId + ".glb")
+                        .lowResModelLocation("https://models.climbassist.com/" + cragId + "-low.glb")
+                        .azimuth(Azimuth.builder()
+                                .minimum(-45.0)
+                                .maximum(45.0)
+                                .build())
+                        .light(1.0)
+                        .scale(1.0)
+                        .modelAngle(90.0)
+                        .build())
+                .parking(ImmutableSet.of(Parking.builder()
+                        .latitude(47.5 + random.nextDouble())
+                        .longitude(-121.5 + random.nextDouble())
+                        .build()))
+                .walls(walls)
+                .build();
+    }
+
+    public static List<Route> getRoutes(@NonNull Crag crag) {
+        List<Route> routes = new ArrayList<>();
+        crag.getWalls()
+                .forEach(wall -> routes.addAll(wall.getRoutes()));
+        return routes;
+    }
+
+    public static List<Pitch> getPitches(@NonNull Crag crag) {
+        List<Pitch> pitches = new ArrayList<>();
+        getRoutes(crag).forEach(route -> pitches.addAll(route.getPitches()));
+        return pitches;
+    }
+
+    private static Wall buildWall(String cragId, int index, CragSize cragSize, Random random) {
+        String wallId = cragId + "-wall-" + index;
+        List<Route> routes = new ArrayList<>(cragSize.routesPerWall);
+        for (int i = 0; i < cragSize.routesPerWall; i++) {
+            routes.add(buildRoute(wallId, i, cragSize, random));
+        }
+        return Wall.builder()
+                .wallId(wallId)
+                .cragId(cragId)
+                .name("Wall " + index)
+                .first(index == 0)
+                .next(index == cragSize.walls - 1 ? null : cragId + "-wall-" + (index + 1))
+                .routes(routes)
+                .build();
+    }
+
+    private static Route buildRoute(String wallId, int index, CragSize cragSize, Random random) {
+        String routeId = wallId + "-route-" + index;
+        String style = STYLES[random.nextInt(STYLES.length)];
+        // boulder problems only ever have one pitch
+        int pitchCount = style.equals("boulder") ? 1 : cragSize.pitchesPerRoute;
+        List<Pitch> pitches = new ArrayList<>(pitchCount);
+        for (int i = 0; i < pitchCount; i++) {
+            pitches.add(buildPitch(routeId, style, i, pitchCount, cragSize, random));
+        }
+        return Route.builder()
+                .routeId(routeId)
+                .wallId(wallId)
+                .name("Route " + index)
+                .description("A " + style + " route with " + pitchCount + " pitches.")
+                .center(Center.builder()
+                        .x(random.nextDouble())
+                        .y(random.nextDouble())
+                        .z(random.nextDouble())
+                        .build())
+                .mainImageLocation("https://images.climbassist.com/routes/" + routeId + ".jpg")
+                .style(style)
+                .first(index == 0)
+                .next(index == cragSize.routesPerWall - 1 ? null : wallId + "-route-" + (index + 1))
+                .pitches(pitches)
+                .build();
+    }
+
+    private static Pitch buildPitch(String routeId, String style, int index, int pitchCount, CragSize cragSize,
+                                    Random random) {
+        String pitchId = routeId + "-pitch-" + index;
+        boolean isBoulder = style.equals("boulder");
+        String[] gradeModifiers = isBoulder ? BOULDER_GRADE_MODIFIERS : ROPED_GRADE_MODIFIERS;
+        List<Point> points = new ArrayList<>(cragSize.pointsPerPitch);
+        for (int i = 0; i < cragSize.pointsPerPitch; i++) {
+            points.add(Point.builder()
+                    .pointId(pitchId + "-point-" + i)
+                    .pitchId(pitchId)
+                    .x(random.nextDouble())
+                    .y(random.nextDouble())
+                    .z(random.nextDouble())
+                    .first(i == 0)
+                    .next(i == cragSize.pointsPerPitch - 1 ? null : pitchId + "-point-" + (i + 1))
+                    .build());
+        }
+        return Pitch.builder()
+                .pitchId(pitchId)
+                .routeId(routeId)
+                .description("Pitch " + index)
+                .grade(isBoulder ? random.nextInt(12) : 5 + random.nextInt(10))
+                .gradeModifier(gradeModifiers[random.nextInt(gradeModifiers.length)])
+                .danger(DANGERS[random.nextInt(DANGERS.length)])
+                .anchors(Anchors.builder()
+                        .x(random.nextDouble())
+                        .y(random.nextDouble())
+                        .z(random.nextDouble())
+                        .fixed(random.nextBoolean())
+                        .build())
+                .distance(10.0 + random.nextInt(30))
+                .first(index == 0)
+                .next(index == pitchCount - 1 ? null : routeId + "-pitch-" + (index + 1))
+                .points(points)
+                .build();
+    }
+}
@@ -0,0 +1,100 @@
+package com.climbassist.api.resource.common;
+
+import com.amazonaws.services.dynamodbv2.model.AttributeValue;
+import com.climbassist.api.resource.CragTreeFixtures;
+import com.climbassist.api.resource.crag.Crag;
+import com.climbassist.api.resource.crag.Location;
+import com.climbassist.api.resource.crag.Model;
+import com.climbassist.api.resource.pitch.Anchors;
+import com.fasterxml.jackson.core.type.TypeReference;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the attribute conversions that DynamoDBMapper runs for every nested object (locations, models, anchors, etc.)
+ * each time an item is read or written, in both the JSON string and native map formats.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class GenericTypeConverterBenchmark {
+
+    private static final GenericTypeConverter<Location> LOCATION_GENERIC_TYPE_CONVERTER =
+            new GenericTypeConverter<>(new TypeReference<Location>() {});
+    private static final GenericTypeConverter<Model> MODEL_GENERIC_TYPE_CONVERTER =
+            new GenericTypeConverter<>(new TypeReference<Model>() {});
+    private static final GenericTypeConverter<Anchors> ANCHORS_GENERIC_TYPE_CONVERTER =
+            new GenericTypeConverter<>(new TypeReference<Anchors>() {});
+
+    @Param({"false", "true"})
+    private boolean nativeAttributes;
+
+    private Location location;
+    private Model model;
+    private Anchors anchors;
+    private AttributeValue convertedLocation;
+    private AttributeValue convertedModel;
+    private AttributeValue convertedAnchors;
+
+    @Setup
+    public void setUp() {
+        Crag crag = CragTreeFixtures.buildCrag(CragTreeFixtures.CragSize.SMALL);
+        location = crag.getLocation();
+        model = crag.getModel();
+        anchors = CragTreeFixtures.getPitches(crag)
+                .get(0)
+                .getAnchors();
+        convertedLocation = toWrittenFormat(LOCATION_GENERIC_TYPE_CONVERTER.convert(location));
+        convertedModel = toWrittenFormat(MODEL_GENERIC_TYPE_CONVERTER.convert(model));
+        convertedAnchors = toWrittenFormat(ANCHORS_GENERIC_TYPE_CONVERTER.convert(anchors));
+    }
+
+    @Benchmark
+    public AttributeValue convertLocation() {
+        return toWrittenFormat(LOCATION_GENERIC_TYPE_CONVERTER.convert(location));
+    }
+
+    @Benchmark
+    public Location unconvertLocation() {
+        return LOCATION_GENERIC_TYPE_CONVERTER.unconvert(convertedLocation);
+    }
+
+    @Benchmark
+    public AttributeValue convertModel() {
+        return toWrittenFormat(MODEL_GENERIC_TYPE_CONVERTER.convert(model));
+    }
+
+    @Benchmark
+    public Model unconvertModel() {
+        return MODEL_GENERIC_TYPE_CONVERTER.unconvert(convertedModel);
+    }
+
+    @Benchmark
+    public AttributeValue convertAnchors() {
+        return toWrittenFormat(ANCHORS_GENERIC_TYPE_CONVERTER.convert(anchors));
+    }
+
+    @Benchmark
+    public Anchors unconvertAnchors() {
+        return ANCHORS_GENERIC_TYPE_CONVERTER.unconvert(convertedAnchors);
+    }
+
+    // this is what NestedAttributeFormatTransformer does to each nested object before it's written
+    private AttributeValue toWrittenFormat(AttributeValue attributeValue) {
+        return nativeAttributes ? attributeValue : GenericTypeConverter.toJsonAttributeValue(attributeValue);
+    }
+}
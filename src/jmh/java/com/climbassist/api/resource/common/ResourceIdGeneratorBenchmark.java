@@ -0,0 +1,45 @@
+package com.climbassist.api.resource.common;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures generating a resource ID, which happens once for every created resource, including each point of a batch
+ * create.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ResourceIdGeneratorBenchmark {
+
+    // a typical name, a long name with characters that need to be slugified, and the prefix used for points
+    @Param({"Exit 38", "The Ultimate Classic Arête of the Lower Town Wall (Direct Start)",
+            "exit-38-k2h8d0xq1z-pitch-7fj3m9c2pa-point"})
+    private String prefix;
+
+    private ResourceIdGenerator resourceIdGenerator;
+
+    @Setup
+    public void setUp() {
+        resourceIdGenerator = new ResourceIdGenerator();
+    }
+
+    @Benchmark
+    public String generateResourceId() {
+        return resourceIdGenerator.generateResourceId(prefix);
+    }
+}
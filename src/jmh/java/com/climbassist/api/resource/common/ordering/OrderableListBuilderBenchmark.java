@@ -0,0 +1,121 @@
+package com.climbassist.api.resource.common.ordering;
+
+import com.climbassist.api.resource.pitch.Pitch;
+import com.climbassist.api.resource.point.Point;
+import com.google.common.collect.Sets;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Compares {@link OrderableListBuilder} against the stream-based implementation it replaced. Run with the gc profiler
+ * (the default for the benchmarks profile) to compare allocation rates as well as throughput.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class OrderableListBuilderBenchmark {
+
+    @Param({"10", "1000", "100000"})
+    private int size;
+
+    private Set<Point> points;
+    private OrderableListBuilder<Point, Pitch> orderableListBuilder;
+    private StreamOrderableListBuilder streamOrderableListBuilder;
+
+    @Setup
+    public void setUp() {
+        points = new HashSet<>();
+        for (int i = 0; i < size; i++) {
+            points.add(Point.builder()
+                    .pointId("point-" + i)
+                    .pitchId("pitch-1")
+                    .x((double) i)
+                    .y((double) i)
+                    .z((double) i)
+                    .first(i == 0)
+                    .next(i == size - 1 ? null : "point-" + (i + 1))
+                    .build());
+        }
+        orderableListBuilder = new OrderableListBuilder<>();
+        streamOrderableListBuilder = new StreamOrderableListBuilder();
+    }
+
+    @Benchmark
+    public List<Point> buildList() throws InvalidOrderingException {
+        return orderableListBuilder.buildList(points);
+    }
+
+    @Benchmark
+    public List<Point> buildListWithStreams() throws InvalidOrderingException {
+        return streamOrderableListBuilder.buildList(points);
+    }
+
+    /**
+     * The previous implementation of {@link OrderableListBuilder#buildList(Set)}, kept as a baseline.
+     */
+    private static class StreamOrderableListBuilder {
+
+        List<Point> buildList(Set<Point> resources) throws InvalidOrderingException {
+            List<Point> resourcesInOrder = new LinkedList<>();
+            if (resources.isEmpty()) {
+                return resourcesInOrder;
+            }
+            String parentResourceId = resources.stream()
+                    .findAny()
+                    .get()
+                    .getParentId();
+            Collection<Point> firsts = resources.stream()
+                    .filter(Point::isFirst)
+                    .collect(Collectors.toSet());
+            if (firsts.size() != 1) {
+                throw new InvalidOrderingException(parentResourceId, "Exactly one resource must be marked as first.");
+            }
+            Map<String, Point> orderedResourceIdMap = resources.stream()
+                    .collect(Collectors.toMap(Point::getId, orderedResource -> orderedResource));
+            Set<Point> resourcesSeen = new HashSet<>();
+            Point currentResource = firsts.iterator()
+                    .next();
+            resourcesSeen.add(currentResource);
+            resourcesInOrder.add(currentResource);
+            String nextId = currentResource.getNext();
+            while (nextId != null) {
+                if (!orderedResourceIdMap.containsKey(nextId)) {
+                    throw new InvalidOrderingException(parentResourceId, "Next resource does not exist.");
+                }
+                currentResource = orderedResourceIdMap.get(nextId);
+                if (resourcesSeen.contains(currentResource)) {
+                    throw new InvalidOrderingException(parentResourceId, "Detected loop.");
+                }
+                resourcesSeen.add(currentResource);
+                resourcesInOrder.add(currentResource);
+                nextId = currentResource.getNext();
+            }
+            if (resourcesInOrder.size() != resources.size()) {
+                throw new InvalidOrderingException(parentResourceId, String.format("Orphans: %s.",
+                        Sets.difference(resources, new HashSet<>(resourcesInOrder))));
+            }
+            return resourcesInOrder;
+        }
+    }
+}
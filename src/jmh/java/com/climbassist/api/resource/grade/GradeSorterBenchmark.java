@@ -0,0 +1,63 @@
+package com.climbassist.api.resource.grade;
+
+import com.climbassist.api.resource.CragTreeFixtures;
+import com.climbassist.api.resource.pitch.Pitch;
+import com.climbassist.api.resource.route.Route;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures recomputing the grade and danger of every route in a crag. This happens for a single route each time one
+ * of its pitches is saved, so the per-route cost is what matters.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class GradeSorterBenchmark {
+
+    @Param({"SMALL", "MEDIUM", "LARGE"})
+    private CragTreeFixtures.CragSize cragSize;
+
+    private List<Route> routes;
+    private List<Set<Pitch>> pitches;
+
+    @Setup
+    public void setUp() {
+        routes = CragTreeFixtures.getRoutes(CragTreeFixtures.buildCrag(cragSize));
+        pitches = new ArrayList<>(routes.size());
+        routes.forEach(route -> pitches.add(new HashSet<>(route.getPitches())));
+    }
+
+    @Benchmark
+    public void getHighestGrade(Blackhole blackhole) {
+        for (int i = 0; i < routes.size(); i++) {
+            blackhole.consume(GradeSorter.getHighestGrade(routes.get(i), pitches.get(i)));
+        }
+    }
+
+    @Benchmark
+    public void getHighestDanger(Blackhole blackhole) {
+        for (int i = 0; i < routes.size(); i++) {
+            blackhole.consume(GradeSorter.getHighestDanger(routes.get(i), pitches.get(i)));
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package com.climbassist.logging;
+
+import com.climbassist.api.resource.CragTreeFixtures;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.collect.ImmutableList;
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.core.LogEvent;
+import org.apache.logging.log4j.core.impl.Log4jLogEvent;
+import org.apache.logging.log4j.message.SimpleMessage;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * Measures redacting the request and response log lines written by {@link AsyncRequestLogger}, which are
+ * rewritten for every request the service handles. redactWithRegexes is the chain of regular expressions that
+ * {@link RedactingRewritePolicy} used before {@link SensitiveDataRedactor}, kept here as a baseline.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RedactingRewritePolicyBenchmark {
+
+    public enum MessageType {
+        // a small request with several fields that need to be redacted
+        SIGN_IN_REQUEST,
+        // an error response with an alias that needs to be redacted
+        ALIAS_EXISTS_RESPONSE,
+        // a large response with nothing to redact, which is most of the traffic
+        CRAG_RESPONSE
+    }
+
+    private static final List<Pattern> REGEX_REDACTIONS = ImmutableList.of(Pattern.compile(
+            "(\"(?:username|email|password|newPassword|emailBody|replyToEmail|subject)\"[\\s]*:[\\s]*\")(?:[^\"]*)" +
+                    "(\")"), Pattern.compile("(User with (?:username|email) )(?:[^ ]*)( already exists.)"),
+            Pattern.compile("(User with (?:username|email) )(?:[^ ]*)( does not exist.)"));
+    private static final String REGEX_REPLACEMENT = "$1<REDACTED>$2";
+
+    @Param({"SIGN_IN_REQUEST", "ALIAS_EXISTS_RESPONSE", "CRAG_RESPONSE"})
+    private MessageType messageType;
+
+    private RedactingRewritePolicy redactingRewritePolicy;
+    private SensitiveDataRedactor sensitiveDataRedactor;
+    private String message;
+    private LogEvent logEvent;
+
+    @Setup
+    public void setUp() throws JsonProcessingException {
+        redactingRewritePolicy = RedactingRewritePolicy.createPolicy();
+        sensitiveDataRedactor = new SensitiveDataRedactor();
+        message = buildMessage();
+        logEvent = Log4jLogEvent.newBuilder()
+                .setLoggerName(AsyncRequestLogger.class.getName())
+                .setLoggerFqcn(AsyncRequestLogger.class.getName())
+                .setLevel(Level.INFO)
+                .setMessage(new SimpleMessage(message))
+                .setThreadName("http-nio-8080-exec-1")
+                .setTimeMillis(System.currentTimeMillis())
+                .build();
+    }
+
+    @Benchmark
+    public LogEvent rewrite() {
+        return redactingRewritePolicy.rewrite(logEvent);
+    }
+
+    @Benchmark
+    public String redact() {
+        return sensitiveDataRedactor.redact(message);
+    }
+
+    @Benchmark
+    public String redactWithRegexes() {
+        String redactedMessage = message;
+        for (Pattern redaction : REGEX_REDACTIONS) {
+            redactedMessage = redaction.matcher(redactedMessage)
+                    .replaceAll(REGEX_REPLACEMENT);
+        }
+        return redactedMessage;
+    }
+
+    private String buildMessage() throws JsonProcessingException {
+        switch (messageType) {
+            case SIGN_IN_REQUEST:
+                return "Request: {\"protocol\":\"HTTP/1.1\",\"sender\":\"10.0.0.1\",\"method\":\"POST\"," +
+                        "\"path\":\"/v1/user/sign-in\",\"headers\":{\"Content-Type\":[\"application/json\"]}," +
+                        "\"jsonBody\":{\"username\":\"han-solo\",\"email\":\"han@milleniumfalcon.com\"," +
+                        "\"password\":\"han-shot-first\"}}";
+            case ALIAS_EXISTS_RESPONSE:
+                return "Response: {\"status\":409,\"jsonBody\":{\"error\":{\"type\":\"UsernameExistsException\"," +
+                        "\"message\":\"User with username han-solo already exists.\"}}}";
+            case CRAG_RESPONSE:
+                return "Response: {\"status\":200,\"jsonBody\":{\"data\":" + new ObjectMapper().writeValueAsString(
+                        CragTreeFixtures.buildCrag(CragTreeFixtures.CragSize.MEDIUM)) + "}}";
+            default:
+                throw new IllegalArgumentException("Unknown message type " + messageType);
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package com.climbassist.wrapper;
+
+import com.climbassist.api.resource.CragTreeFixtures;
+import com.climbassist.wrapper.request.RequestWrapper;
+import com.climbassist.wrapper.response.ResponseWrapper;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.commons.io.IOUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the copies that {@link RequestWrapper} and {@link ResponseWrapper} make of request and response bodies so
+ * that they can be logged and rewritten. Every request goes through both, and releases their buffers back to the pool
+ * afterwards.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class WrapperBenchmark {
+
+    @Param({"SMALL", "MEDIUM", "LARGE"})
+    private CragTreeFixtures.CragSize cragSize;
+
+    private byte[] body;
+    private BufferPool bufferPool;
+
+    @Setup
+    public void setUp() throws JsonProcessingException {
+        body = new ObjectMapper().writeValueAsBytes(CragTreeFixtures.buildCrag(cragSize));
+        bufferPool = BufferPool.builder()
+                .chunkSize(16384)
+                .maxPooledChunks(1024)
+                .build();
+    }
+
+    /**
+     * Wraps a request, then reads it the way the logging filter and the controller do.
+     */
+    @Benchmark
+    public void copyRequest(Blackhole blackhole) throws IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/v1/crags");
+        request.setContent(body);
+        RequestWrapper requestWrapper = new RequestWrapper(request, bufferPool);
+        blackhole.consume(requestWrapper.getBody());
+        blackhole.consume(IOUtils.toByteArray(requestWrapper.getInputStream()));
+        requestWrapper.release();
+    }
+
+    /**
+     * Writes a response through a wrapper, reads it the way the logging filter does, then writes it to the client.
+     */
+    @Benchmark
+    public void copyResponse(Blackhole blackhole) throws IOException {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        ResponseWrapper responseWrapper = new ResponseWrapper(response, bufferPool);
+        responseWrapper.getOutputStream()
+                .write(body);
+        blackhole.consume(responseWrapper.getBody());
+        responseWrapper.writeDataTo(response.getOutputStream());
+        responseWrapper.release();
+        blackhole.consume(response.getContentAsByteArray());
+    }
+}
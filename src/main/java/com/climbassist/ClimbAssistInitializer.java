@@ -6,6 +6,7 @@ import org.springframework.web.servlet.support.AbstractAnnotationConfigDispatche
 import javax.servlet.FilterRegistration;
 import javax.servlet.ServletContext;
 import javax.servlet.ServletException;
+import java.util.Collections;
 
 /**
  * Utility to initialize the Spring MVC ClimbAssist application.
@@ -16,11 +17,20 @@ public class ClimbAssistInitializer extends AbstractAnnotationConfigDispatcherSe
     public void onStartup(ServletContext servletContext) throws ServletException {
         // These use beans that are defined with names matching the DeletingFilterProxy name.
         // These have to be registered in this order in order for the logging to occur after the response is wrapped.
+        // BufferingFilter is first so that every filter after it shares its buffers.
 
-        FilterRegistration.Dynamic dynamicFilterRegistration = servletContext.addFilter("RequestIdFilter",
+        FilterRegistration.Dynamic dynamicFilterRegistration = servletContext.addFilter("BufferingFilter",
+                new DelegatingFilterProxy("bufferingFilter"));
+        dynamicFilterRegistration.addMappingForUrlPatterns(null, false, "/*");
+
+        dynamicFilterRegistration = servletContext.addFilter("RequestIdFilter",
                 new DelegatingFilterProxy("requestIdFilter"));
         dynamicFilterRegistration.addMappingForUrlPatterns(null, false, "/*");
 
+        dynamicFilterRegistration = servletContext.addFilter("RequestTimingFilter",
+                new DelegatingFilterProxy("requestTimingFilter"));
+        dynamicFilterRegistration.addMappingForUrlPatterns(null, false, "/*");
+
         dynamicFilterRegistration = servletContext.addFilter("UserDataDecorationFilter",
                 new DelegatingFilterProxy("userDataDecorationFilter"));
         dynamicFilterRegistration.addMappingForUrlPatterns(null, false, "/*");
@@ -41,6 +51,10 @@ public class ClimbAssistInitializer extends AbstractAnnotationConfigDispatcherSe
                 new DelegatingFilterProxy("metricsFilter"));
         dynamicFilterRegistration.addMappingForUrlPatterns(null, false, "/*");
 
+        // the access token is passed to controllers in a request attribute, so nothing needs an HttpSession and the
+        // container shouldn't issue JSESSIONID cookies
+        servletContext.setSessionTrackingModes(Collections.emptySet());
+
         super.onStartup(servletContext);
     }
 
@@ -3,6 +3,7 @@ package com.climbassist;
 import com.climbassist.api.ApiConfiguration;
 import com.climbassist.api.contact.ContactConfiguration;
 import com.climbassist.api.resource.area.AreaConfiguration;
+import com.climbassist.api.resource.common.compression.CompressionConfiguration;
 import com.climbassist.api.resource.country.CountryConfiguration;
 import com.climbassist.api.resource.crag.CragConfiguration;
 import com.climbassist.api.resource.path.PathConfiguration;
@@ -14,26 +15,31 @@ import com.climbassist.api.resource.route.RouteConfiguration;
 import com.climbassist.api.resource.subarea.SubAreaConfiguration;
 import com.climbassist.api.resource.wall.WallConfiguration;
 import com.climbassist.api.user.UserConfiguration;
+import com.climbassist.api.user.authorization.AccessTokenArgumentResolver;
 import com.climbassist.health.HealthConfiguration;
 import com.climbassist.logging.LoggingConfiguration;
 import com.climbassist.main.MainConfiguration;
 import com.climbassist.metrics.MetricsConfiguration;
+import com.climbassist.wrapper.WrapperConfiguration;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Import;
+import org.springframework.web.method.support.HandlerMethodArgumentResolver;
 import org.springframework.web.multipart.commons.CommonsMultipartResolver;
 import org.springframework.web.servlet.config.annotation.EnableWebMvc;
 import org.springframework.web.servlet.config.annotation.ResourceHandlerRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerMapping;
 
+import java.util.List;
+
 @EnableWebMvc
 @Configuration
-@Import({ApiConfiguration.class, AreaConfiguration.class, ContactConfiguration.class, CountryConfiguration.class,
-        CragConfiguration.class, HealthConfiguration.class, LoggingConfiguration.class, MainConfiguration.class,
-        MetricsConfiguration.class, PathConfiguration.class, PathPointConfiguration.class, PitchConfiguration.class,
-        PointConfiguration.class, RegionConfiguration.class, RouteConfiguration.class, SubAreaConfiguration.class,
-        UserConfiguration.class, WallConfiguration.class})
+@Import({ApiConfiguration.class, AreaConfiguration.class, CompressionConfiguration.class, ContactConfiguration.class,
+        CountryConfiguration.class, CragConfiguration.class, HealthConfiguration.class, LoggingConfiguration.class,
+        MainConfiguration.class, MetricsConfiguration.class, PathConfiguration.class, PathPointConfiguration.class,
+        PitchConfiguration.class, PointConfiguration.class, RegionConfiguration.class, RouteConfiguration.class,
+        SubAreaConfiguration.class, UserConfiguration.class, WallConfiguration.class, WrapperConfiguration.class})
 public class MvcConfiguration implements WebMvcConfigurer {
 
     @Override
@@ -42,6 +48,11 @@ public class MvcConfiguration implements WebMvcConfigurer {
                 .addResourceLocations("/dist/static/");
     }
 
+    @Override
+    public void addArgumentResolvers(List<HandlerMethodArgumentResolver> handlerMethodArgumentResolvers) {
+        handlerMethodArgumentResolvers.add(new AccessTokenArgumentResolver());
+    }
+
     @Bean(name = "multipartResolver")
     public CommonsMultipartResolver getMultipartResolver() {
         return new CommonsMultipartResolver();
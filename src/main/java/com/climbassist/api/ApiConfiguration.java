@@ -7,6 +7,7 @@ import com.climbassist.api.user.authorization.AuthenticatedAuthorizationHandler;
 import com.climbassist.api.user.authorization.AuthorizationHandlerFactory;
 import com.climbassist.api.user.authorization.AuthorizationInterceptor;
 import com.climbassist.common.CommonConfiguration;
+import com.climbassist.metrics.MetricsController;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.NonNull;
 import org.springframework.context.annotation.Bean;
@@ -22,11 +23,9 @@ public class ApiConfiguration {
     static final String API_PATH = "/v1/**";
 
     @Bean
-    public ApiResponseFilter apiResponseFilter(@NonNull ObjectMapper objectMapper) {
+    public ApiResponseFilter apiResponseFilter() {
         return ApiResponseFilter.builder()
-                .objectMapper(objectMapper)
-                .apiResponseFactory(ApiResponseFactory.builder()
-                        .objectMapper(objectMapper)
+                .apiResponseEnvelope(ApiResponseEnvelope.builder()
                         .build())
                 .build();
     }
@@ -46,9 +45,11 @@ public class ApiConfiguration {
                         .build(), AdministratorAuthorizationHandler.builder()
                 .userManager(userManager)
                 .build());
-        return new MappedInterceptor(new String[]{API_PATH}, AuthorizationInterceptor.builder()
-                .authorizationHandlerFactory(authorizationHandlerFactory)
-                .build());
+        // the metrics endpoint is outside of the API, but is only for administrators
+        return new MappedInterceptor(new String[]{API_PATH, MetricsController.METRICS_PATH},
+                AuthorizationInterceptor.builder()
+                        .authorizationHandlerFactory(authorizationHandlerFactory)
+                        .build());
     }
 
     // allows validation on path variables and request parameters
@@ -171,9 +171,6 @@ public class ApiExceptionHandler {
         // we have to add the Content-Length header, otherwise Spring adds it for us and it's too short because it
         // doesn't include the wrapper ApiResponse object
         headers.add("Content-Length", Integer.toString(error.length() + ApiResponse.EXTRA_CHARACTERS_FOR_ERROR));
-        // we have to explicitly remove the JSESSIONID cookie (again) here because removing it in ApiResponseFilter
-        // doesn't work when requests throw exceptions.
-        headers.add("Set-Cookie", "JSESSIONID=; Max-Age=0; Path=/");
         return new ResponseEntity<>(error, headers, httpStatus);
     }
 }
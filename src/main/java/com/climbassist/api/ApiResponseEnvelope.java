@@ -0,0 +1,28 @@
+package com.climbassist.api;
+
+import com.climbassist.wrapper.response.ResponseWrapper;
+import lombok.Builder;
+import lombok.NonNull;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Puts responses in the standard {@link ApiResponse} envelope. The body that the controller wrote is already JSON, so
+ * instead of being decoded into a string and serialized again, the envelope's opening and closing bytes are written
+ * around it when the response is written. The output is the same as serializing an {@link ApiResponse}.
+ */
+@Builder
+class ApiResponseEnvelope {
+
+    private static final byte[] DATA_PREFIX = "{\"data\":".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] ERROR_PREFIX = "{\"error\":".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] SUFFIX = "}".getBytes(StandardCharsets.UTF_8);
+
+    void wrapData(@NonNull ResponseWrapper responseWrapper) {
+        responseWrapper.setEnvelope(DATA_PREFIX, SUFFIX);
+    }
+
+    void wrapError(@NonNull ResponseWrapper responseWrapper) {
+        responseWrapper.setEnvelope(ERROR_PREFIX, SUFFIX);
+    }
+}
@@ -1,8 +1,7 @@
 package com.climbassist.api;
 
-import com.climbassist.api.user.SessionUtils;
+import com.climbassist.wrapper.BufferingFilter;
 import com.climbassist.wrapper.response.ResponseWrapper;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.Builder;
 import lombok.NonNull;
 import lombok.extern.slf4j.Slf4j;
@@ -17,39 +16,36 @@ import javax.servlet.http.HttpServletResponse;
 import java.io.IOException;
 
 /**
- * This class converts all API responses into JSON objects which comply with ClimbAssist REST standards
+ * This class converts all API responses into JSON objects which comply with ClimbAssist REST standards. Binary
+ * responses are the only exception and are returned unmodified. The response is buffered by {@link BufferingFilter},
+ * which writes it to the client after this filter is done.
  */
 @Builder
 @Slf4j
 public final class ApiResponseFilter implements Filter {
 
     @NonNull
-    private final ObjectMapper objectMapper;
-    @NonNull
-    private final ApiResponseFactory apiResponseFactory;
+    private final ApiResponseEnvelope apiResponseEnvelope;
 
     @Override
     public void doFilter(ServletRequest servletRequest, ServletResponse servletResponse, FilterChain filterChain)
             throws IOException, ServletException {
         HttpServletResponse httpServletResponse = (HttpServletResponse) servletResponse;
-        ResponseWrapper responseWrapper = new ResponseWrapper(httpServletResponse);
+        ResponseWrapper responseWrapper = BufferingFilter.getResponseWrapper(servletResponse);
         responseWrapper.setCustomHeader("Content-Type", MediaType.APPLICATION_JSON_VALUE);
 
-        filterChain.doFilter(servletRequest, responseWrapper);
-
-        // some of our interceptors use sessions to pass data to the controller
-        // we don't need this returned to the browser or exposed at all, so this removes the session ID cookie
-        SessionUtils.removeJSessionIdCookie(httpServletResponse);
+        filterChain.doFilter(servletRequest, servletResponse);
 
+        // binary responses (such as crag overlays) are passed through as-is, since they can't be embedded in JSON
+        if (httpServletResponse.getStatus() < 400 && MediaType.APPLICATION_OCTET_STREAM_VALUE.equals(
+                httpServletResponse.getContentType())) {
+            return;
+        }
         if (httpServletResponse.getStatus() >= 400) {
-            String error = responseWrapper.getBody();
-            servletResponse.getOutputStream()
-                    .write(objectMapper.writeValueAsBytes(apiResponseFactory.createFromError(error)));
+            apiResponseEnvelope.wrapError(responseWrapper);
         }
         else {
-            String data = responseWrapper.getBody();
-            servletResponse.getOutputStream()
-                    .write(objectMapper.writeValueAsBytes(apiResponseFactory.createFromData(data)));
+            apiResponseEnvelope.wrapData(responseWrapper);
         }
     }
 }
@@ -1,5 +1,6 @@
 package com.climbassist.api.contact.recaptcha;
 
+import com.climbassist.metrics.RequestTimings;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.google.common.collect.ImmutableList;
 import lombok.Builder;
@@ -34,9 +35,15 @@ public class RecaptchaVerifier {
                 ImmutableList.of(new BasicNameValuePair("secret", recaptchaKeys.getSecretKey()),
                         new BasicNameValuePair("response", recaptchaResponse),
                         new BasicNameValuePair("remoteip", remoteIp))));
-        HttpResponse httpResponse = httpClient.execute(httpPost);
-        RecaptchaVerificationResponse recaptchaVerificationResponse = objectMapper.readValue(httpResponse.getEntity()
-                .getContent(), RecaptchaVerificationResponse.class);
+        RecaptchaVerificationResponse recaptchaVerificationResponse;
+        long startTime = System.nanoTime();
+        try {
+            HttpResponse httpResponse = httpClient.execute(httpPost);
+            recaptchaVerificationResponse = objectMapper.readValue(httpResponse.getEntity()
+                    .getContent(), RecaptchaVerificationResponse.class);
+        } finally {
+            RequestTimings.recordCall(RequestTimings.RECAPTCHA, System.nanoTime() - startTime);
+        }
         if (!recaptchaVerificationResponse.isSuccess()) {
             throw new RecaptchaVerificationException(recaptchaVerificationResponse.getErrorCodes());
         }
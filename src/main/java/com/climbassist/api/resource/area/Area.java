@@ -9,6 +9,7 @@ import com.climbassist.api.resource.common.ResourceWithParent;
 import com.climbassist.api.resource.common.ResourceWithParentAndChildren;
 import com.climbassist.api.resource.common.ValidDescription;
 import com.climbassist.api.resource.common.ValidName;
+import com.climbassist.api.resource.common.compression.Compressed;
 import com.climbassist.api.resource.region.Region;
 import com.climbassist.api.resource.region.ValidRegionId;
 import com.climbassist.api.resource.subarea.SubArea;
@@ -44,6 +45,7 @@ public class Area implements ResourceWithParentAndChildren<Area, Region> {
     @ValidName
     private String name;
 
+    @Compressed
     @ValidDescription
     private String description;
 
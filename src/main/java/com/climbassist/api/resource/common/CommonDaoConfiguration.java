@@ -1,9 +1,13 @@
 package com.climbassist.api.resource.common;
 
+import com.amazonaws.ClientConfiguration;
+import com.amazonaws.client.builder.AwsClientBuilder;
+import com.amazonaws.services.dynamodbv2.AmazonDynamoDB;
 import com.amazonaws.services.dynamodbv2.AmazonDynamoDBClientBuilder;
 import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBMapper;
 import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBMapperConfig;
 import com.climbassist.api.resource.area.AreasDao;
+import com.climbassist.api.resource.common.compression.CompressedStringConverter;
 import com.climbassist.api.resource.country.CountriesDao;
 import com.climbassist.api.resource.crag.CragsDao;
 import com.climbassist.api.resource.path.PathsDao;
@@ -14,8 +18,13 @@ import com.climbassist.api.resource.region.RegionsDao;
 import com.climbassist.api.resource.route.RoutesDao;
 import com.climbassist.api.resource.subarea.SubAreasDao;
 import com.climbassist.api.resource.wall.WallsDao;
+import com.climbassist.api.user.AliasIndexDao;
 import com.climbassist.api.user.authentication.DeletedUsersDao;
 import com.climbassist.common.CommonConfiguration;
+import com.climbassist.metrics.DependencyTimingRequestHandler;
+import com.climbassist.metrics.DynamoDbCallAccountingRequestHandler;
+import com.climbassist.metrics.InFlightRequestCounter;
+import com.climbassist.metrics.RequestTimings;
 import lombok.NonNull;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
@@ -26,6 +35,60 @@ import org.springframework.context.annotation.Import;
 @Import(CommonConfiguration.class)
 public class CommonDaoConfiguration {
 
+    /**
+     * One client is shared by all of the DAOs, so that they share a connection pool. If dynamoDbEndpoint is set, the
+     * client connects to it instead of DynamoDB, which allows the service to be run against DynamoDB Local. A request
+     * that needs more than maxDynamoDbCallsPerRequest calls is rejected, unless it comes from an administrator.
+     */
+    @Bean
+    public AmazonDynamoDB amazonDynamoDb(@NonNull String region,
+                                         @Value("${dynamoDbEndpoint:}") @NonNull String dynamoDbEndpoint,
+                                         @Value("${maxDynamoDbCallsPerRequest:1000}") int maxDynamoDbCallsPerRequest,
+                                         @NonNull InFlightRequestCounter dynamoDbInFlightRequestCounter) {
+        AmazonDynamoDBClientBuilder amazonDynamoDBClientBuilder = AmazonDynamoDBClientBuilder.standard()
+                .withClientConfiguration(new ClientConfiguration().withMaxConnections(
+                        dynamoDbInFlightRequestCounter.getMaxConnections()))
+                .withRequestHandlers(DynamoDbCallAccountingRequestHandler.builder()
+                        .maxCallsPerRequest(maxDynamoDbCallsPerRequest)
+                        .build(), dynamoDbInFlightRequestCounter, DependencyTimingRequestHandler.builder()
+                        .dependency(RequestTimings.DYNAMO_DB)
+                        .build());
+        if (dynamoDbEndpoint.isEmpty()) {
+            return amazonDynamoDBClientBuilder.withRegion(region)
+                    .build();
+        }
+        return amazonDynamoDBClientBuilder.withEndpointConfiguration(
+                new AwsClientBuilder.EndpointConfiguration(dynamoDbEndpoint, region))
+                .build();
+    }
+
+    /**
+     * Tracks how many of the DynamoDB client's connections are in use, which is reported as a connection pool metric.
+     */
+    @Bean
+    public InFlightRequestCounter dynamoDbInFlightRequestCounter(
+            @Value("${dynamoDbMaxConnections:50}") int dynamoDbMaxConnections) {
+        return InFlightRequestCounter.builder()
+                .maxConnections(dynamoDbMaxConnections)
+                .build();
+    }
+
+    /**
+     * All of the DAOs share one mapper, which writes nested objects as native maps and lists only if
+     * nativeDocumentAttributes is set, and long descriptions as compressed binary only if compressAttributes is set.
+     * Both are always read in either format.
+     */
+    @Bean
+    public DynamoDBMapper dynamoDbMapper(@NonNull AmazonDynamoDB amazonDynamoDb,
+                                         @Value("${nativeDocumentAttributes:false}") boolean nativeDocumentAttributes,
+                                         @Value("${compressAttributes:false}") boolean compressAttributes) {
+        CompressedStringConverter.setCompressAttributes(compressAttributes);
+        return new DynamoDBMapper(amazonDynamoDb, DynamoDBMapperConfig.DEFAULT,
+                NestedAttributeFormatTransformer.builder()
+                        .writeNativeAttributes(nativeDocumentAttributes)
+                        .build());
+    }
+
     @Bean
     public DynamoDBMapperConfig.Builder dynamoDbMapperConfigBuilder() {
         return DynamoDBMapperConfig.builder()
@@ -33,13 +96,11 @@ public class CommonDaoConfiguration {
     }
 
     @Bean
-    public CountriesDao countriesDao(@NonNull String region,
+    public CountriesDao countriesDao(@NonNull DynamoDBMapper dynamoDbMapper,
                                      @Value("${countriesTableName}") @NonNull String countriesTableName,
                                      @NonNull DynamoDBMapperConfig.Builder dynamoDbMapperConfigBuilder) {
         return CountriesDao.builder()
-                .dynamoDBMapper(new DynamoDBMapper(AmazonDynamoDBClientBuilder.standard()
-                        .withRegion(region)
-                        .build()))
+                .dynamoDBMapper(dynamoDbMapper)
                 .dynamoDBMapperConfig(dynamoDbMapperConfigBuilder.withTableNameOverride(
                         new DynamoDBMapperConfig.TableNameOverride(countriesTableName))
                         .build())
@@ -47,12 +108,11 @@ public class CommonDaoConfiguration {
     }
 
     @Bean
-    public RegionsDao regionsDao(@NonNull String region, @Value("${regionsTableName}") @NonNull String regionsTableName,
+    public RegionsDao regionsDao(@NonNull DynamoDBMapper dynamoDbMapper,
+                                 @Value("${regionsTableName}") @NonNull String regionsTableName,
                                  @NonNull DynamoDBMapperConfig.Builder dynamoDbMapperConfigBuilder) {
         return RegionsDao.builder()
-                .dynamoDBMapper(new DynamoDBMapper(AmazonDynamoDBClientBuilder.standard()
-                        .withRegion(region)
-                        .build()))
+                .dynamoDBMapper(dynamoDbMapper)
                 .dynamoDBMapperConfig(dynamoDbMapperConfigBuilder.withTableNameOverride(
                         new DynamoDBMapperConfig.TableNameOverride(regionsTableName))
                         .build())
@@ -60,12 +120,11 @@ public class CommonDaoConfiguration {
     }
 
     @Bean
-    public AreasDao areasDao(@NonNull String region, @Value("${areasTableName}") @NonNull String areasTableName,
+    public AreasDao areasDao(@NonNull DynamoDBMapper dynamoDbMapper,
+                             @Value("${areasTableName}") @NonNull String areasTableName,
                              @NonNull DynamoDBMapperConfig.Builder dynamoDbMapperConfigBuilder) {
         return AreasDao.builder()
-                .dynamoDBMapper(new DynamoDBMapper(AmazonDynamoDBClientBuilder.standard()
-                        .withRegion(region)
-                        .build()))
+                .dynamoDBMapper(dynamoDbMapper)
                 .dynamoDBMapperConfig(dynamoDbMapperConfigBuilder.withTableNameOverride(
                         new DynamoDBMapperConfig.TableNameOverride(areasTableName))
                         .build())
@@ -73,13 +132,11 @@ public class CommonDaoConfiguration {
     }
 
     @Bean
-    public SubAreasDao subAreasDao(@NonNull String region,
+    public SubAreasDao subAreasDao(@NonNull DynamoDBMapper dynamoDbMapper,
                                    @Value("${subAreasTableName}") @NonNull String subAreasTableName,
                                    @NonNull DynamoDBMapperConfig.Builder dynamoDbMapperConfigBuilder) {
         return SubAreasDao.builder()
-                .dynamoDBMapper(new DynamoDBMapper(AmazonDynamoDBClientBuilder.standard()
-                        .withRegion(region)
-                        .build()))
+                .dynamoDBMapper(dynamoDbMapper)
                 .dynamoDBMapperConfig(dynamoDbMapperConfigBuilder.withTableNameOverride(
                         new DynamoDBMapperConfig.TableNameOverride(subAreasTableName))
                         .build())
@@ -87,12 +144,11 @@ public class CommonDaoConfiguration {
     }
 
     @Bean
-    public CragsDao cragsDao(@NonNull String region, @Value("${cragsTableName}") @NonNull String cragsTableName,
+    public CragsDao cragsDao(@NonNull DynamoDBMapper dynamoDbMapper,
+                             @Value("${cragsTableName}") @NonNull String cragsTableName,
                              @NonNull DynamoDBMapperConfig.Builder dynamoDbMapperConfigBuilder) {
         return CragsDao.builder()
-                .dynamoDBMapper(new DynamoDBMapper(AmazonDynamoDBClientBuilder.standard()
-                        .withRegion(region)
-                        .build()))
+                .dynamoDBMapper(dynamoDbMapper)
                 .dynamoDBMapperConfig(dynamoDbMapperConfigBuilder.withTableNameOverride(
                         new DynamoDBMapperConfig.TableNameOverride(cragsTableName))
                         .build())
@@ -100,12 +156,12 @@ public class CommonDaoConfiguration {
     }
 
     @Bean
-    public WallsDao wallsDao(@NonNull String region, @Value("${wallsTableName}") @NonNull String wallsTableName,
+    public WallsDao wallsDao(@NonNull AmazonDynamoDB amazonDynamoDb, @NonNull DynamoDBMapper dynamoDbMapper,
+                             @Value("${wallsTableName}") @NonNull String wallsTableName,
                              @NonNull DynamoDBMapperConfig.Builder dynamoDbMapperConfigBuilder) {
         return WallsDao.builder()
-                .dynamoDBMapper(new DynamoDBMapper(AmazonDynamoDBClientBuilder.standard()
-                        .withRegion(region)
-                        .build()))
+                .amazonDynamoDb(amazonDynamoDb)
+                .dynamoDBMapper(dynamoDbMapper)
                 .dynamoDBMapperConfig(dynamoDbMapperConfigBuilder.withTableNameOverride(
                         new DynamoDBMapperConfig.TableNameOverride(wallsTableName))
                         .build())
@@ -113,12 +169,12 @@ public class CommonDaoConfiguration {
     }
 
     @Bean
-    public RoutesDao routesDao(@NonNull String region, @Value("${routesTableName}") @NonNull String routesTableName,
+    public RoutesDao routesDao(@NonNull AmazonDynamoDB amazonDynamoDb, @NonNull DynamoDBMapper dynamoDbMapper,
+                               @Value("${routesTableName}") @NonNull String routesTableName,
                                @NonNull DynamoDBMapperConfig.Builder dynamoDbMapperConfigBuilder) {
         return RoutesDao.builder()
-                .dynamoDBMapper(new DynamoDBMapper(AmazonDynamoDBClientBuilder.standard()
-                        .withRegion(region)
-                        .build()))
+                .amazonDynamoDb(amazonDynamoDb)
+                .dynamoDBMapper(dynamoDbMapper)
                 .dynamoDBMapperConfig(dynamoDbMapperConfigBuilder.withTableNameOverride(
                         new DynamoDBMapperConfig.TableNameOverride(routesTableName))
                         .build())
@@ -126,12 +182,12 @@ public class CommonDaoConfiguration {
     }
 
     @Bean
-    public PitchesDao pitchesDao(@NonNull String region, @Value("${pitchesTableName}") @NonNull String pitchesTableName,
+    public PitchesDao pitchesDao(@NonNull AmazonDynamoDB amazonDynamoDb, @NonNull DynamoDBMapper dynamoDbMapper,
+                                 @Value("${pitchesTableName}") @NonNull String pitchesTableName,
                                  @NonNull DynamoDBMapperConfig.Builder dynamoDbMapperConfigBuilder) {
         return PitchesDao.builder()
-                .dynamoDBMapper(new DynamoDBMapper(AmazonDynamoDBClientBuilder.standard()
-                        .withRegion(region)
-                        .build()))
+                .amazonDynamoDb(amazonDynamoDb)
+                .dynamoDBMapper(dynamoDbMapper)
                 .dynamoDBMapperConfig(dynamoDbMapperConfigBuilder.withTableNameOverride(
                         new DynamoDBMapperConfig.TableNameOverride(pitchesTableName))
                         .build())
@@ -139,12 +195,12 @@ public class CommonDaoConfiguration {
     }
 
     @Bean
-    public PointsDao pointsDao(@NonNull String region, @Value("${pointsTableName}") @NonNull String pointsTableName,
+    public PointsDao pointsDao(@NonNull AmazonDynamoDB amazonDynamoDb, @NonNull DynamoDBMapper dynamoDbMapper,
+                               @Value("${pointsTableName}") @NonNull String pointsTableName,
                                @NonNull DynamoDBMapperConfig.Builder dynamoDbMapperConfigBuilder) {
         return PointsDao.builder()
-                .dynamoDBMapper(new DynamoDBMapper(AmazonDynamoDBClientBuilder.standard()
-                        .withRegion(region)
-                        .build()))
+                .amazonDynamoDb(amazonDynamoDb)
+                .dynamoDBMapper(dynamoDbMapper)
                 .dynamoDBMapperConfig(dynamoDbMapperConfigBuilder.withTableNameOverride(
                         new DynamoDBMapperConfig.TableNameOverride(pointsTableName))
                         .build())
@@ -152,12 +208,11 @@ public class CommonDaoConfiguration {
     }
 
     @Bean
-    public PathsDao pathsDao(@NonNull String region, @Value("${pathsTableName}") @NonNull String pathsTableName,
+    public PathsDao pathsDao(@NonNull DynamoDBMapper dynamoDbMapper,
+                             @Value("${pathsTableName}") @NonNull String pathsTableName,
                              @NonNull DynamoDBMapperConfig.Builder dynamoDbMapperConfigBuilder) {
         return PathsDao.builder()
-                .dynamoDBMapper(new DynamoDBMapper(AmazonDynamoDBClientBuilder.standard()
-                        .withRegion(region)
-                        .build()))
+                .dynamoDBMapper(dynamoDbMapper)
                 .dynamoDBMapperConfig(dynamoDbMapperConfigBuilder.withTableNameOverride(
                         new DynamoDBMapperConfig.TableNameOverride(pathsTableName))
                         .build())
@@ -165,13 +220,12 @@ public class CommonDaoConfiguration {
     }
 
     @Bean
-    public PathPointsDao pathPointsDao(@NonNull String region,
+    public PathPointsDao pathPointsDao(@NonNull AmazonDynamoDB amazonDynamoDb, @NonNull DynamoDBMapper dynamoDbMapper,
                                        @Value("${pathPointsTableName}") @NonNull String pathPointsTableName,
                                        @NonNull DynamoDBMapperConfig.Builder dynamoDbMapperConfigBuilder) {
         return PathPointsDao.builder()
-                .dynamoDBMapper(new DynamoDBMapper(AmazonDynamoDBClientBuilder.standard()
-                        .withRegion(region)
-                        .build()))
+                .amazonDynamoDb(amazonDynamoDb)
+                .dynamoDBMapper(dynamoDbMapper)
                 .dynamoDBMapperConfig(dynamoDbMapperConfigBuilder.withTableNameOverride(
                         new DynamoDBMapperConfig.TableNameOverride(pathPointsTableName))
                         .build())
@@ -179,16 +233,26 @@ public class CommonDaoConfiguration {
     }
 
     @Bean
-    public DeletedUsersDao deletedUsersDao(@NonNull String region,
+    public DeletedUsersDao deletedUsersDao(@NonNull DynamoDBMapper dynamoDbMapper,
                                            @Value("${deletedUsersTableName}") @NonNull String deletedUsersTableName,
                                            @NonNull DynamoDBMapperConfig.Builder dynamoDbMapperConfigBuilder) {
         return DeletedUsersDao.builder()
-                .dynamoDBMapper(new DynamoDBMapper(AmazonDynamoDBClientBuilder.standard()
-                        .withRegion(region)
-                        .build()))
+                .dynamoDBMapper(dynamoDbMapper)
                 .dynamoDBMapperConfig(dynamoDbMapperConfigBuilder.withTableNameOverride(
                         new DynamoDBMapperConfig.TableNameOverride(deletedUsersTableName))
                         .build())
                 .build();
     }
+
+    @Bean
+    public AliasIndexDao aliasIndexDao(@NonNull DynamoDBMapper dynamoDbMapper,
+                                       @Value("${aliasIndexTableName}") @NonNull String aliasIndexTableName,
+                                       @NonNull DynamoDBMapperConfig.Builder dynamoDbMapperConfigBuilder) {
+        return AliasIndexDao.builder()
+                .dynamoDBMapper(dynamoDbMapper)
+                .dynamoDBMapperConfig(dynamoDbMapperConfigBuilder.withTableNameOverride(
+                        new DynamoDBMapperConfig.TableNameOverride(aliasIndexTableName))
+                        .build())
+                .build();
+    }
 }
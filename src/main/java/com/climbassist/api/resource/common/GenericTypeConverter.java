@@ -1,40 +1,129 @@
 package com.climbassist.api.resource.common;
 
+import com.amazonaws.services.dynamodbv2.model.AttributeValue;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import lombok.Builder;
-import lombok.experimental.UtilityClass;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import lombok.NonNull;
 
 import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 
 /**
- * Utility class to be called by any class that implements DynamoDBTypeConverter
- * We can't generify the direct subclasses of DynamoDBTypeConverter because the unconvert() method in that class doesn't
- * accept a Class parameter.
+ * Does the work for any class that implements DynamoDBTypeConverter for a nested object. We can't generify the direct
+ * subclasses of DynamoDBTypeConverter because the unconvert() method in that class doesn't accept a Class parameter, so
+ * each of them holds one of these instead, which caches the reader for its type.
+ * <p>
+ * Values used to be stored as JSON strings, which meant parsing JSON inside of every item that was read. They can now be
+ * stored as native DynamoDB maps and lists, which DynamoDB has already parsed by the time they get here. Both formats
+ * are always read, so values don't need to be migrated. Values are always converted to maps and lists; {@link
+ * NestedAttributeFormatTransformer} turns them back into JSON strings when they're written, until every server can
+ * read them.
  */
-@Builder
-@UtilityClass
-public final class GenericTypeConverter {
+public final class GenericTypeConverter<T> {
 
     private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper().configure(
             DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+    // numbers are kept as they were written, so that a value converted back to JSON is the same as it used to be
+    private static final JsonNodeFactory JSON_NODE_FACTORY = JsonNodeFactory.withExactBigDecimals(true);
 
-    public static <T> String convert(T object) {
+    @NonNull
+    private final String typeName;
+    @NonNull
+    private final ObjectReader objectReader;
+
+    public GenericTypeConverter(@NonNull TypeReference<T> typeReference) {
+        typeName = typeReference.getType()
+                .getTypeName();
+        objectReader = OBJECT_MAPPER.readerFor(typeReference);
+    }
+
+    public AttributeValue convert(@NonNull T object) {
+        return toAttributeValue(OBJECT_MAPPER.valueToTree(object));
+    }
+
+    public T unconvert(@NonNull AttributeValue attributeValue) {
         try {
-            return OBJECT_MAPPER.writeValueAsString(object);
-        } catch (JsonProcessingException e) {
-            throw new InvalidFormatException(object, e);
+            if (attributeValue.getS() != null) {
+                return objectReader.readValue(attributeValue.getS());
+            }
+            return objectReader.readValue(toJsonNode(attributeValue));
+        } catch (IOException e) {
+            throw new InvalidFormatException(attributeValue.toString(), typeName, e);
         }
     }
 
-    public static <T> T unconvert(String object, TypeReference<T> typeReference) {
+    /**
+     * @return the map or list as the JSON string it used to be stored as
+     */
+    static AttributeValue toJsonAttributeValue(@NonNull AttributeValue attributeValue) {
         try {
-            return OBJECT_MAPPER.readValue(object, typeReference);
-        } catch (IOException e) {
-            throw new InvalidFormatException(object, typeReference.getType()
-                    .getTypeName(), e);
+            return new AttributeValue(OBJECT_MAPPER.writeValueAsString(toJsonNode(attributeValue)));
+        } catch (JsonProcessingException e) {
+            throw new InvalidFormatException(attributeValue, e);
+        }
+    }
+
+    private static AttributeValue toAttributeValue(JsonNode jsonNode) {
+        if (jsonNode.isObject()) {
+            Map<String, AttributeValue> map = new LinkedHashMap<>();
+            Iterator<Map.Entry<String, JsonNode>> fields = jsonNode.fields();
+            while (fields.hasNext()) {
+                Map.Entry<String, JsonNode> field = fields.next();
+                map.put(field.getKey(), toAttributeValue(field.getValue()));
+            }
+            return new AttributeValue().withM(map);
+        }
+        if (jsonNode.isArray()) {
+            List<AttributeValue> list = new ArrayList<>(jsonNode.size());
+            jsonNode.forEach(element -> list.add(toAttributeValue(element)));
+            return new AttributeValue().withL(list);
+        }
+        if (jsonNode.isNumber()) {
+            return new AttributeValue().withN(jsonNode.asText());
+        }
+        if (jsonNode.isBoolean()) {
+            return new AttributeValue().withBOOL(jsonNode.booleanValue());
+        }
+        if (jsonNode.isNull()) {
+            return new AttributeValue().withNULL(true);
+        }
+        return new AttributeValue(jsonNode.asText());
+    }
+
+    private static JsonNode toJsonNode(AttributeValue attributeValue) {
+        if (attributeValue.getM() != null) {
+            ObjectNode objectNode = JSON_NODE_FACTORY.objectNode();
+            attributeValue.getM()
+                    .forEach((key, value) -> objectNode.set(key, toJsonNode(value)));
+            return objectNode;
+        }
+        if (attributeValue.getL() != null) {
+            ArrayNode arrayNode = JSON_NODE_FACTORY.arrayNode();
+            attributeValue.getL()
+                    .forEach(element -> arrayNode.add(toJsonNode(element)));
+            return arrayNode;
+        }
+        if (attributeValue.getN() != null) {
+            return JSON_NODE_FACTORY.numberNode(new BigDecimal(attributeValue.getN()));
+        }
+        if (attributeValue.getBOOL() != null) {
+            return JSON_NODE_FACTORY.booleanNode(attributeValue.getBOOL());
+        }
+        if (attributeValue.getS() != null) {
+            return JSON_NODE_FACTORY.textNode(attributeValue.getS());
         }
+        return JSON_NODE_FACTORY.nullNode();
     }
 }
@@ -0,0 +1,41 @@
+package com.climbassist.api.resource.common;
+
+import com.amazonaws.services.dynamodbv2.datamodeling.AttributeTransformer;
+import com.amazonaws.services.dynamodbv2.model.AttributeValue;
+import lombok.Builder;
+import lombok.NonNull;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Decides which format the nested objects converted by {@link GenericTypeConverter} are written in. They're converted
+ * to native maps and lists; unless writeNativeAttributes is set, this turns them back into JSON strings before they're
+ * written, because servers from before native attributes can't read them. Only set writeNativeAttributes once every
+ * server that is running can read native attributes. Nested objects are the only attributes stored as maps and lists,
+ * so every map and list is turned into a string. Items that are read are left as they are, because both formats are
+ * always read.
+ */
+@Builder
+public class NestedAttributeFormatTransformer implements AttributeTransformer {
+
+    private final boolean writeNativeAttributes;
+
+    @Override
+    public Map<String, AttributeValue> transform(@NonNull Parameters<?> parameters) {
+        if (writeNativeAttributes) {
+            return parameters.getAttributeValues();
+        }
+        Map<String, AttributeValue> attributeValues = new HashMap<>();
+        parameters.getAttributeValues()
+                .forEach((attributeName, attributeValue) -> attributeValues.put(attributeName,
+                        attributeValue.getM() == null && attributeValue.getL() == null ? attributeValue :
+                                GenericTypeConverter.toJsonAttributeValue(attributeValue)));
+        return attributeValues;
+    }
+
+    @Override
+    public Map<String, AttributeValue> untransform(@NonNull Parameters<?> parameters) {
+        return parameters.getAttributeValues();
+    }
+}
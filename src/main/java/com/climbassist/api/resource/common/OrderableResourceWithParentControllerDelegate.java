@@ -1,13 +1,16 @@
 package com.climbassist.api.resource.common;
 
 import com.climbassist.api.resource.common.ordering.InvalidOrderingException;
-import com.climbassist.api.resource.common.ordering.OrderableListBuilder;
 import com.climbassist.api.resource.common.ordering.OrderableResourceWithParent;
+import com.climbassist.api.resource.common.ordering.OrderedResourceRetriever;
+import com.climbassist.api.resource.common.ordering.ReorderResourcesRequest;
+import com.climbassist.api.resource.common.ordering.ResourceReorderer;
 import lombok.Builder;
 import lombok.NonNull;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
 import java.util.Set;
 
 @Builder
@@ -17,14 +20,35 @@ public class OrderableResourceWithParentControllerDelegate<Resource extends Orde
         ParentResource extends com.climbassist.api.resource.common.ResourceWithChildren<ParentResource>> {
 
     @NonNull
-    private final OrderableListBuilder<Resource, ParentResource> orderableListBuilder;
+    private final OrderedResourceRetriever<Resource, ParentResource> orderedResourceRetriever;
+    @NonNull
+    private final ResourceReorderer<Resource, ParentResource> resourceReorderer;
     @NonNull
     private final ResourceWithParentControllerDelegate<Resource, NewResource, ParentResource>
             resourceWithParentControllerDelegate;
 
     public List<Resource> getResourcesForParent(@NonNull String parentId, boolean ordered)
             throws ResourceNotFoundException, InvalidOrderingException {
+        if (ordered) {
+            // resources can only be in the position index if their parent exists, so the parent only needs to be
+            // checked if they aren't
+            Optional<List<Resource>> resourcesInPositionOrder =
+                    orderedResourceRetriever.getResourcesInPositionOrder(parentId);
+            if (resourcesInPositionOrder.isPresent()) {
+                return resourcesInPositionOrder.get();
+            }
+        }
+        Set<Resource> resources = resourceWithParentControllerDelegate.getResourcesForParent(parentId);
+        return ordered ? orderedResourceRetriever.buildList(parentId, resources) : new ArrayList<>(resources);
+    }
+
+    public UpdateResourceResult reorderResources(@NonNull String parentId,
+                                                 @NonNull ReorderResourcesRequest reorderResourcesRequest)
+            throws ResourceNotFoundException, InvalidOrderingException {
         Set<Resource> resources = resourceWithParentControllerDelegate.getResourcesForParent(parentId);
-        return ordered ? orderableListBuilder.buildList(resources) : new ArrayList<>(resources);
+        resourceReorderer.reorderResources(parentId, resources, reorderResourcesRequest);
+        return UpdateResourceResult.builder()
+                .successful(true)
+                .build();
     }
 }
@@ -0,0 +1,171 @@
+package com.climbassist.api.resource.common;
+
+import com.amazonaws.services.dynamodbv2.AmazonDynamoDB;
+import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBMapperConfig;
+import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBQueryExpression;
+import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBSaveExpression;
+import com.amazonaws.services.dynamodbv2.model.AttributeValue;
+import com.amazonaws.services.dynamodbv2.model.ConditionalCheckFailedException;
+import com.amazonaws.services.dynamodbv2.model.ExpectedAttributeValue;
+import com.amazonaws.services.dynamodbv2.model.TransactWriteItem;
+import com.amazonaws.services.dynamodbv2.model.TransactWriteItemsRequest;
+import com.amazonaws.services.dynamodbv2.model.TransactionCanceledException;
+import com.amazonaws.services.dynamodbv2.model.Update;
+import com.climbassist.api.resource.common.ordering.OrderableResourceWithParent;
+import com.climbassist.api.resource.common.ordering.OrderingChange;
+import com.climbassist.api.resource.common.ordering.PositionGenerator;
+import com.google.common.collect.ImmutableMap;
+import lombok.NonNull;
+import lombok.experimental.SuperBuilder;
+
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+@SuperBuilder
+public abstract class OrderableResourceWithParentDao<Resource extends OrderableResourceWithParent<Resource,
+        ParentResource>, ParentResource extends ResourceWithChildren<ParentResource>>
+        extends ResourceWithParentDao<Resource, ParentResource> {
+
+    private static final DynamoDBMapperConfig UPDATE_POSITION_CONFIG = DynamoDBMapperConfig.builder()
+            .withSaveBehavior(DynamoDBMapperConfig.SaveBehavior.UPDATE_SKIP_NULL_ATTRIBUTES)
+            .build();
+    private static final String FIRST_ATTRIBUTE_NAME = "first";
+    private static final String NEXT_ATTRIBUTE_NAME = "next";
+    private static final String POSITION_ATTRIBUTE_NAME = "position";
+
+    @NonNull
+    private final AmazonDynamoDB amazonDynamoDb;
+
+    /**
+     * Resources that are saved without a position (new ones, and ones updated by clients that didn't send their
+     * position back) are given {@link PositionGenerator#MIDDLE_POSITION}, so that they stay in the position index. If
+     * that's the wrong place for them, the next ordered read finds that out and gives them a new position.
+     */
+    @Override
+    public void saveResource(@NonNull Resource resource) {
+        if (resource.getPosition() == null) {
+            resource.setPosition(PositionGenerator.MIDDLE_POSITION);
+        }
+        super.saveResource(resource);
+    }
+
+    /**
+     * Returns the resources that have a position, sorted by position. Resources without a position are not in the
+     * position index, so the result is only complete once every resource under the parent has been given a position.
+     */
+    public List<Resource> getResourcesInPositionOrder(@NonNull String parentId) {
+        Resource hashKey = buildIndexHashKey(parentId);
+        DynamoDBQueryExpression<Resource> dynamoDBQueryExpression =
+                new DynamoDBQueryExpression<Resource>().withHashKeyValues(hashKey)
+                        .withConsistentRead(false)
+                        .withScanIndexForward(true)
+                        .withIndexName(getPositionIndexName());
+        return new ArrayList<>(
+                dynamoDBMapper.query(getResourceTypeClass(), dynamoDBQueryExpression, dynamoDBMapperConfig));
+    }
+
+    /**
+     * Updates only the position of a resource, leaving the rest of it untouched.
+     *
+     * @return false if the resource no longer exists
+     */
+    public boolean updatePosition(@NonNull String resourceId, @NonNull String position) {
+        Resource resource = buildResourceForDeletion(resourceId);
+        resource.setPosition(position);
+        // the condition stops this from creating an item that only has an ID and a position
+        DynamoDBSaveExpression dynamoDBSaveExpression = new DynamoDBSaveExpression().withExpected(
+                ImmutableMap.of(getIdAttributeName(), new ExpectedAttributeValue(new AttributeValue(resourceId))));
+        try {
+            dynamoDBMapper.save(resource, dynamoDBSaveExpression,
+                    new DynamoDBMapperConfig(dynamoDBMapperConfig, UPDATE_POSITION_CONFIG));
+            return true;
+        } catch (ConditionalCheckFailedException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Saves all of the ordering changes in a single transaction. Only the first, next and position of each resource are
+     * written, and each resource is only updated if it still exists and still has the same first and next as when it
+     * was read, so neither a concurrent reorder nor a stale read from the position index can leave the list half
+     * rewired, and concurrent edits to the rest of the resource are kept. The resources in the changes are updated in
+     * place once the transaction succeeds.
+     *
+     * @return false if any of the resources were reordered or deleted since they were read, in which case nothing was
+     * saved
+     */
+    public boolean saveOrderingChanges(@NonNull List<OrderingChange<Resource, ParentResource>> orderingChanges) {
+        String tableName = dynamoDBMapperConfig.getTableNameOverride()
+                .getTableName();
+        List<TransactWriteItem> transactWriteItems = orderingChanges.stream()
+                .map(orderingChange -> new TransactWriteItem().withUpdate(buildOrderingUpdate(tableName,
+                        orderingChange)))
+                .collect(Collectors.toList());
+        try {
+            amazonDynamoDb.transactWriteItems(new TransactWriteItemsRequest().withTransactItems(transactWriteItems));
+        } catch (TransactionCanceledException e) {
+            return false;
+        }
+        for (OrderingChange<Resource, ParentResource> orderingChange : orderingChanges) {
+            Resource resource = orderingChange.getResource();
+            setOrdering(resource, orderingChange.isFirst(), orderingChange.getNext());
+            resource.setPosition(orderingChange.getPosition());
+        }
+        return true;
+    }
+
+    private Update buildOrderingUpdate(String tableName, OrderingChange<Resource, ParentResource> orderingChange) {
+        Resource resource = orderingChange.getResource();
+        Map<String, String> expressionAttributeNames = new HashMap<>();
+        expressionAttributeNames.put("#id", getIdAttributeName());
+        expressionAttributeNames.put("#first", FIRST_ATTRIBUTE_NAME);
+        expressionAttributeNames.put("#next", NEXT_ATTRIBUTE_NAME);
+        expressionAttributeNames.put("#position", POSITION_ATTRIBUTE_NAME);
+        Map<String, AttributeValue> expressionAttributeValues = new HashMap<>();
+        expressionAttributeValues.put(":first", buildBooleanAttributeValue(orderingChange.isFirst()));
+        expressionAttributeValues.put(":position", new AttributeValue(orderingChange.getPosition()));
+        expressionAttributeValues.put(":expectedFirst", buildBooleanAttributeValue(resource.isFirst()));
+
+        String updateExpression;
+        if (orderingChange.getNext() == null) {
+            updateExpression = "SET #first = :first, #position = :position REMOVE #next";
+        }
+        else {
+            updateExpression = "SET #first = :first, #next = :next, #position = :position";
+            expressionAttributeValues.put(":next", new AttributeValue(orderingChange.getNext()));
+        }
+
+        // resources that aren't first may have been saved without first at all
+        String conditionExpression = resource.isFirst() ? "attribute_exists(#id) AND #first = :expectedFirst" :
+                "attribute_exists(#id) AND (attribute_not_exists(#first) OR #first = :expectedFirst)";
+        if (resource.getNext() == null) {
+            conditionExpression += " AND attribute_not_exists(#next)";
+        }
+        else {
+            conditionExpression += " AND #next = :expectedNext";
+            expressionAttributeValues.put(":expectedNext", new AttributeValue(resource.getNext()));
+        }
+
+        return new Update().withTableName(tableName)
+                .withKey(ImmutableMap.of(getIdAttributeName(), new AttributeValue(resource.getId())))
+                .withUpdateExpression(updateExpression)
+                .withConditionExpression(conditionExpression)
+                .withExpressionAttributeNames(expressionAttributeNames)
+                .withExpressionAttributeValues(expressionAttributeValues);
+    }
+
+    // this is how DynamoDBMapper stores booleans
+    private static AttributeValue buildBooleanAttributeValue(boolean value) {
+        return new AttributeValue().withN(value ? "1" : "0");
+    }
+
+    protected abstract void setOrdering(Resource resource, boolean first, @Nullable String next);
+
+    protected abstract String getIdAttributeName();
+
+    protected abstract String getPositionIndexName();
+}
@@ -0,0 +1,18 @@
+package com.climbassist.api.resource.common.compression;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@AllArgsConstructor
+@Builder
+@Data
+@NoArgsConstructor
+public class CompressAttributesResult {
+
+    private CompressionJob.Status status;
+    private List<CompressTableResult> tables;
+}
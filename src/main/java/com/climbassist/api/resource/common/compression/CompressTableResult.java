@@ -0,0 +1,21 @@
+package com.climbassist.api.resource.common.compression;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@AllArgsConstructor
+@Builder
+@Data
+@NoArgsConstructor
+public class CompressTableResult {
+
+    private String tableName;
+    private long itemsScanned;
+    private long valuesCompressed;
+    // compared to storing every value uncompressed
+    private long bytesSaved;
+    // false while the table is still being scanned
+    private boolean complete;
+}
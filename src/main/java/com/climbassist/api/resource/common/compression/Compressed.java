@@ -0,0 +1,25 @@
+package com.climbassist.api.resource.common.compression;
+
+import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBTypeConverted;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Stores a string attribute as gzipped binary once it is longer than the threshold, so that long text (e.g.
+ * descriptions) uses less read capacity every time its item is read. Shorter strings are stored as-is, because gzip's
+ * header would make them bigger. Values are decompressed when the item is loaded, so the field is an ordinary string
+ * everywhere else.
+ */
+@DynamoDBTypeConverted(converter = CompressedStringConverter.class)
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.FIELD, ElementType.METHOD, ElementType.ANNOTATION_TYPE})
+public @interface Compressed {
+
+    /**
+     * @return the size in bytes (UTF-8) above which values are compressed
+     */
+    int threshold() default 1024;
+}
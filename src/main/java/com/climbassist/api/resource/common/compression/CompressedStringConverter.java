@@ -0,0 +1,88 @@
+package com.climbassist.api.resource.common.compression;
+
+import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBTypeConverter;
+import com.amazonaws.services.dynamodbv2.model.AttributeValue;
+import lombok.NonNull;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Converts strings for fields marked with {@link Compressed}. Strings are read whether they were stored as strings or
+ * as compressed binary, so values written before a field was marked don't need to be migrated before they can be read.
+ *
+ * Strings are only written as compressed binary once compressAttributes is set. Servers from before compression can't
+ * read binary values, so reads have to be deployed everywhere before writes are turned on.
+ */
+public class CompressedStringConverter implements DynamoDBTypeConverter<AttributeValue, String> {
+
+    // DynamoDBMapper creates converters itself, so this can't be injected into them
+    private static volatile boolean compressAttributes;
+
+    private final int threshold;
+
+    // DynamoDBMapper calls this constructor with the annotation on the field
+    public CompressedStringConverter(@NonNull Class<String> targetType, @NonNull Compressed compressed) {
+        this(compressed.threshold());
+    }
+
+    CompressedStringConverter(int threshold) {
+        this.threshold = threshold;
+    }
+
+    public static void setCompressAttributes(boolean compressAttributes) {
+        CompressedStringConverter.compressAttributes = compressAttributes;
+    }
+
+    @Override
+    public AttributeValue convert(@NonNull String string) {
+        byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
+        if (!compressAttributes || bytes.length <= threshold) {
+            return new AttributeValue(string);
+        }
+        return new AttributeValue().withB(ByteBuffer.wrap(compress(bytes)));
+    }
+
+    @Override
+    public String unconvert(@NonNull AttributeValue attributeValue) {
+        if (attributeValue.getB() == null) {
+            return attributeValue.getS();
+        }
+        return new String(decompress(attributeValue.getB()), StandardCharsets.UTF_8);
+    }
+
+    static byte[] compress(byte[] bytes) {
+        ByteArrayOutputStream byteArrayOutputStream = new ByteArrayOutputStream(bytes.length / 2);
+        try (GZIPOutputStream gzipOutputStream = new GZIPOutputStream(byteArrayOutputStream)) {
+            gzipOutputStream.write(bytes);
+        } catch (IOException e) {
+            // this can't happen, because the stream is in memory
+            throw new UncheckedIOException(e);
+        }
+        return byteArrayOutputStream.toByteArray();
+    }
+
+    static byte[] decompress(ByteBuffer byteBuffer) {
+        // the buffer is duplicated so that reading it doesn't move its position for the next reader
+        ByteBuffer duplicate = byteBuffer.duplicate();
+        byte[] compressedBytes = new byte[duplicate.remaining()];
+        duplicate.get(compressedBytes);
+        try (GZIPInputStream gzipInputStream = new GZIPInputStream(new ByteArrayInputStream(compressedBytes))) {
+            ByteArrayOutputStream byteArrayOutputStream = new ByteArrayOutputStream(compressedBytes.length * 4);
+            byte[] buffer = new byte[4096];
+            int read;
+            while ((read = gzipInputStream.read(buffer)) != -1) {
+                byteArrayOutputStream.write(buffer, 0, read);
+            }
+            return byteArrayOutputStream.toByteArray();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to decompress attribute.", e);
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.climbassist.api.resource.common.compression;
+
+import com.amazonaws.services.dynamodbv2.AmazonDynamoDB;
+import com.climbassist.api.resource.area.Area;
+import com.climbassist.api.resource.common.CommonDaoConfiguration;
+import com.climbassist.api.resource.crag.Crag;
+import com.climbassist.api.resource.pitch.Pitch;
+import com.climbassist.api.resource.route.Route;
+import com.climbassist.api.resource.subarea.SubArea;
+import com.climbassist.metrics.MetricsConfiguration;
+import com.climbassist.metrics.MetricsEmitter;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.util.concurrent.RateLimiter;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import lombok.NonNull;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
+
+@Configuration
+@Import({CommonDaoConfiguration.class, MetricsConfiguration.class})
+public class CompressionConfiguration {
+
+    /**
+     * The migration shares one rate limiter across every table, so it never makes more than
+     * compressionMaxCallsPerSecond calls to DynamoDB. The APIs are disabled until compressAttributes is set.
+     */
+    @SuppressWarnings("UnstableApiUsage")
+    @Bean
+    public CompressionController compressionController(@NonNull AmazonDynamoDB amazonDynamoDb,
+                                                       @NonNull MetricsEmitter metricsEmitter,
+                                                       @Value("${areasTableName}") @NonNull String areasTableName,
+                                                       @Value("${subAreasTableName}") @NonNull String subAreasTableName,
+                                                       @Value("${cragsTableName}") @NonNull String cragsTableName,
+                                                       @Value("${routesTableName}") @NonNull String routesTableName,
+                                                       @Value("${pitchesTableName}") @NonNull String pitchesTableName,
+                                                       @Value("${compressionMaxCallsPerSecond:25}")
+                                                               double compressionMaxCallsPerSecond,
+                                                       @Value("${compressionScanPageSize:100}")
+                                                               int compressionScanPageSize,
+                                                       @Value("${compressAttributes:false}")
+                                                               boolean compressAttributes) {
+        // only the tables with compressed attributes
+        Map<String, Class<?>> resourceClassesByTableName = ImmutableMap.of(areasTableName, Area.class,
+                subAreasTableName, SubArea.class, cragsTableName, Crag.class, routesTableName, Route.class,
+                pitchesTableName, Pitch.class);
+        RateLimiter rateLimiter = RateLimiter.create(compressionMaxCallsPerSecond);
+        List<CompressionMigrator> compressionMigrators = resourceClassesByTableName.entrySet()
+                .stream()
+                .map(entry -> CompressionMigrator.builder()
+                        .amazonDynamoDb(amazonDynamoDb)
+                        .metricsEmitter(metricsEmitter)
+                        .tableName(entry.getKey())
+                        .resourceClass(entry.getValue())
+                        .rateLimiter(rateLimiter)
+                        .pageSize(compressionScanPageSize)
+                        .build())
+                .collect(Collectors.toList());
+        return CompressionController.builder()
+                .compressionJob(CompressionJob.builder()
+                        .compressionMigrators(compressionMigrators)
+                        .executor(Executors.newSingleThreadExecutor(
+                                new ThreadFactoryBuilder().setNameFormat("compression-migration")
+                                        .setDaemon(true)
+                                        .build()))
+                        .build())
+                .compressAttributes(compressAttributes)
+                .build();
+    }
+}
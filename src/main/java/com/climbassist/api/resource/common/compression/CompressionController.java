@@ -0,0 +1,40 @@
+package com.climbassist.api.resource.common.compression;
+
+import com.climbassist.api.user.authorization.AdministratorAuthorizationHandler;
+import com.climbassist.api.user.authorization.Authorization;
+import com.climbassist.metrics.Metrics;
+import lombok.Builder;
+import lombok.NonNull;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.bind.annotation.RestController;
+
+@Builder
+@RestController
+public class CompressionController {
+
+    @NonNull
+    private final CompressionJob compressionJob;
+    // the migration writes compressed values, so it's only available once every server can read them
+    private final boolean compressAttributes;
+
+    @Metrics(api = "CompressAttributes")
+    @Authorization(AdministratorAuthorizationHandler.class)
+    @RequestMapping(path = "/v1/compress-attributes", method = RequestMethod.POST)
+    public CompressAttributesResult compressAttributes() throws CompressionDisabledException {
+        if (!compressAttributes) {
+            throw new CompressionDisabledException();
+        }
+        return compressionJob.start();
+    }
+
+    @Metrics(api = "GetCompressAttributesStatus")
+    @Authorization(AdministratorAuthorizationHandler.class)
+    @RequestMapping(path = "/v1/compress-attributes", method = RequestMethod.GET)
+    public CompressAttributesResult getCompressAttributesStatus() throws CompressionDisabledException {
+        if (!compressAttributes) {
+            throw new CompressionDisabledException();
+        }
+        return compressionJob.getStatus();
+    }
+}
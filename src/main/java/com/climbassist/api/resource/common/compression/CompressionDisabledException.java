@@ -0,0 +1,21 @@
+package com.climbassist.api.resource.common.compression;
+
+import com.climbassist.api.ApiException;
+import org.springframework.http.HttpStatus;
+
+public class CompressionDisabledException extends ApiException {
+
+    CompressionDisabledException() {
+        super("Attributes can't be compressed until compressAttributes is set on every server.");
+    }
+
+    @Override
+    public String getType() {
+        return "CompressionDisabledException";
+    }
+
+    @Override
+    public HttpStatus getHttpStatus() {
+        return HttpStatus.CONFLICT;
+    }
+}
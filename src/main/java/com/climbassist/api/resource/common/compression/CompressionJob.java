@@ -0,0 +1,84 @@
+package com.climbassist.api.resource.common.compression;
+
+import lombok.Builder;
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.stream.Collectors;
+
+/**
+ * Runs the {@link CompressionMigrator}s one table at a time, in the background, so that the request that starts the
+ * migration returns straight away. If a run fails, the next run skips the tables that were finished and carries on from
+ * the last finished page of the table it stopped in. Once a run has finished every table, the next run starts over.
+ */
+@Slf4j
+public class CompressionJob {
+
+    public enum Status {
+        NOT_STARTED,
+        RUNNING,
+        COMPLETE,
+        FAILED
+    }
+
+    private final List<CompressionMigrator> compressionMigrators;
+    private final Executor executor;
+    private Status status;
+
+    @Builder
+    CompressionJob(@NonNull List<CompressionMigrator> compressionMigrators, @NonNull Executor executor) {
+        this.compressionMigrators = compressionMigrators;
+        this.executor = executor;
+        this.status = Status.NOT_STARTED;
+    }
+
+    /**
+     * Starts a run unless one is already running.
+     *
+     * @return the status of the run
+     */
+    public synchronized CompressAttributesResult start() {
+        if (status != Status.RUNNING) {
+            boolean resume = status == Status.FAILED;
+            status = Status.RUNNING;
+            try {
+                executor.execute(() -> run(resume));
+            } catch (RejectedExecutionException e) {
+                log.warn("Unable to start compressing attributes.", e);
+                status = Status.FAILED;
+            }
+        }
+        return getStatus();
+    }
+
+    public synchronized CompressAttributesResult getStatus() {
+        return CompressAttributesResult.builder()
+                .status(status)
+                .tables(compressionMigrators.stream()
+                        .map(CompressionMigrator::getProgress)
+                        .collect(Collectors.toList()))
+                .build();
+    }
+
+    private void run(boolean resume) {
+        Status finalStatus = Status.COMPLETE;
+        try {
+            for (CompressionMigrator compressionMigrator : compressionMigrators) {
+                if (!resume || !compressionMigrator.getProgress()
+                        .isComplete()) {
+                    compressionMigrator.compressTable();
+                }
+            }
+        } catch (RuntimeException e) {
+            log.warn("Unable to finish compressing attributes, the next run will carry on from where this one stopped.",
+                    e);
+            finalStatus = Status.FAILED;
+        }
+        synchronized (this) {
+            status = finalStatus;
+        }
+    }
+}
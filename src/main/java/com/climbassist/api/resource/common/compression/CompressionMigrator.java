@@ -0,0 +1,185 @@
+package com.climbassist.api.resource.common.compression;
+
+import com.amazonaws.services.cloudwatch.model.StandardUnit;
+import com.amazonaws.services.dynamodbv2.AmazonDynamoDB;
+import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBHashKey;
+import com.amazonaws.services.dynamodbv2.model.AttributeValue;
+import com.amazonaws.services.dynamodbv2.model.ConditionalCheckFailedException;
+import com.amazonaws.services.dynamodbv2.model.ScanRequest;
+import com.amazonaws.services.dynamodbv2.model.ScanResult;
+import com.amazonaws.services.dynamodbv2.model.UpdateItemRequest;
+import com.climbassist.metrics.MetricsEmitter;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.util.concurrent.RateLimiter;
+import lombok.Builder;
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+
+import java.lang.reflect.Field;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Compresses the {@link Compressed} attributes of every item in a table that were written before the attribute was
+ * marked, and reports how many bytes compression is saving in the table (including items that were compressed when they
+ * were written). It only reads the key and the compressed attributes, and each value is only replaced if it hasn't
+ * changed since it was scanned, so it's safe to run while the table is in use, and to run again.
+ * <p>
+ * The table is scanned a page at a time, and every call to DynamoDB waits for the rate limiter so that the migration
+ * doesn't take capacity away from requests. Progress is kept after every page, so a pass that stops partway through
+ * carries on from the last finished page the next time it's run.
+ */
+@SuppressWarnings("UnstableApiUsage")
+@Slf4j
+public class CompressionMigrator {
+
+    static final String BYTES_SAVED_METRIC_NAME = "compressionBytesSaved";
+
+    private final AmazonDynamoDB amazonDynamoDb;
+    private final MetricsEmitter metricsEmitter;
+    private final String tableName;
+    private final String hashKeyName;
+    // attribute name to threshold
+    private final Map<String, Integer> compressedAttributes;
+    private final RateLimiter rateLimiter;
+    private final int pageSize;
+    // only used by the thread running the pass
+    private Map<String, AttributeValue> exclusiveStartKey;
+    private volatile CompressTableResult progress;
+
+    @Builder
+    CompressionMigrator(@NonNull AmazonDynamoDB amazonDynamoDb, @NonNull MetricsEmitter metricsEmitter,
+                        @NonNull String tableName, @NonNull Class<?> resourceClass,
+                        @NonNull RateLimiter rateLimiter, int pageSize) {
+        this.amazonDynamoDb = amazonDynamoDb;
+        this.metricsEmitter = metricsEmitter;
+        this.tableName = tableName;
+        this.rateLimiter = rateLimiter;
+        this.pageSize = pageSize;
+        this.progress = buildProgress(0, 0, 0, false);
+        String hashKeyName = null;
+        Map<String, Integer> compressedAttributes = new HashMap<>();
+        for (Field field : resourceClass.getDeclaredFields()) {
+            if (field.isAnnotationPresent(DynamoDBHashKey.class)) {
+                hashKeyName = field.getName();
+            }
+            Compressed compressed = field.getAnnotation(Compressed.class);
+            if (compressed != null) {
+                compressedAttributes.put(field.getName(), compressed.threshold());
+            }
+        }
+        if (hashKeyName == null || compressedAttributes.isEmpty()) {
+            throw new IllegalArgumentException(String.format(
+                    "%s must have a hash key and at least one compressed attribute.", resourceClass.getSimpleName()));
+        }
+        this.hashKeyName = hashKeyName;
+        this.compressedAttributes = ImmutableMap.copyOf(compressedAttributes);
+    }
+
+    /**
+     * @return what the current pass has done so far, which is safe to call while another thread is running it
+     */
+    public CompressTableResult getProgress() {
+        return progress;
+    }
+
+    /**
+     * Carries on with the current pass over the table, or starts a new one if the last pass finished.
+     *
+     * @return the result of the whole pass, including the pages that were finished by earlier calls
+     */
+    public CompressTableResult compressTable() {
+        if (progress.isComplete()) {
+            progress = buildProgress(0, 0, 0, false);
+        }
+
+        Map<String, String> expressionAttributeNames = new HashMap<>();
+        expressionAttributeNames.put("#key", hashKeyName);
+        StringBuilder projectionExpression = new StringBuilder("#key");
+        int i = 0;
+        for (String attributeName : compressedAttributes.keySet()) {
+            expressionAttributeNames.put("#attribute" + i, attributeName);
+            projectionExpression.append(", #attribute")
+                    .append(i++);
+        }
+
+        long itemsScanned = progress.getItemsScanned();
+        long valuesCompressed = progress.getValuesCompressed();
+        long bytesSaved = progress.getBytesSaved();
+        boolean complete;
+        do {
+            rateLimiter.acquire();
+            ScanResult scanResult = amazonDynamoDb.scan(new ScanRequest(tableName).withProjectionExpression(
+                    projectionExpression.toString())
+                    .withExpressionAttributeNames(expressionAttributeNames)
+                    .withExclusiveStartKey(exclusiveStartKey)
+                    .withLimit(pageSize));
+            for (Map<String, AttributeValue> item : scanResult.getItems()) {
+                itemsScanned++;
+                for (Map.Entry<String, Integer> compressedAttribute : compressedAttributes.entrySet()) {
+                    AttributeValue attributeValue = item.get(compressedAttribute.getKey());
+                    if (attributeValue == null) {
+                        continue;
+                    }
+                    if (attributeValue.getB() != null) {
+                        bytesSaved += CompressedStringConverter.decompress(attributeValue.getB()).length -
+                                attributeValue.getB()
+                                        .remaining();
+                        continue;
+                    }
+                    byte[] bytes = attributeValue.getS()
+                            .getBytes(StandardCharsets.UTF_8);
+                    if (bytes.length <= compressedAttribute.getValue()) {
+                        continue;
+                    }
+                    byte[] compressedBytes = CompressedStringConverter.compress(bytes);
+                    if (compressValue(item.get(hashKeyName), compressedAttribute.getKey(), attributeValue,
+                            compressedBytes)) {
+                        valuesCompressed++;
+                        bytesSaved += bytes.length - compressedBytes.length;
+                    }
+                }
+            }
+            exclusiveStartKey = scanResult.getLastEvaluatedKey();
+            complete = exclusiveStartKey == null || exclusiveStartKey.isEmpty();
+            progress = buildProgress(itemsScanned, valuesCompressed, bytesSaved, complete);
+        } while (!complete);
+
+        log.info("Compressed {} values in {}, which is now saving {} bytes.", valuesCompressed, tableName, bytesSaved);
+        metricsEmitter.emitTableMetric(tableName, BYTES_SAVED_METRIC_NAME, bytesSaved, StandardUnit.Bytes);
+        return progress;
+    }
+
+    private boolean compressValue(AttributeValue key, String attributeName, AttributeValue originalValue,
+                                  byte[] compressedBytes) {
+        rateLimiter.acquire();
+        try {
+            amazonDynamoDb.updateItem(new UpdateItemRequest().withTableName(tableName)
+                    .withKey(ImmutableMap.of(hashKeyName, key))
+                    .withUpdateExpression("SET #attribute = :compressed")
+                    .withConditionExpression("#attribute = :original")
+                    .withExpressionAttributeNames(ImmutableMap.of("#attribute", attributeName))
+                    .withExpressionAttributeValues(ImmutableMap.of(":compressed",
+                            new AttributeValue().withB(ByteBuffer.wrap(compressedBytes)), ":original",
+                            originalValue)));
+            return true;
+        } catch (ConditionalCheckFailedException e) {
+            // the item was changed or deleted since it was scanned, and anything written since then was compressed
+            // already if it needed to be
+            return false;
+        }
+    }
+
+    private CompressTableResult buildProgress(long itemsScanned, long valuesCompressed, long bytesSaved,
+                                              boolean complete) {
+        return CompressTableResult.builder()
+                .tableName(tableName)
+                .itemsScanned(itemsScanned)
+                .valuesCompressed(valuesCompressed)
+                .bytesSaved(bytesSaved)
+                .complete(complete)
+                .build();
+    }
+}
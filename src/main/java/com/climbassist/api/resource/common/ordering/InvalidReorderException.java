@@ -0,0 +1,22 @@
+package com.climbassist.api.resource.common.ordering;
+
+import com.climbassist.api.RuntimeApiException;
+import lombok.NonNull;
+import org.springframework.http.HttpStatus;
+
+public class InvalidReorderException extends RuntimeApiException {
+
+    public InvalidReorderException(@NonNull String parentId, @NonNull String message) {
+        super(String.format("Unable to reorder children of resource %s. %s", parentId, message));
+    }
+
+    @Override
+    public String getType() {
+        return "InvalidReorderException";
+    }
+
+    @Override
+    public HttpStatus getHttpStatus() {
+        return HttpStatus.BAD_REQUEST;
+    }
+}
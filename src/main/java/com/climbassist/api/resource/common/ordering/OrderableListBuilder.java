@@ -1,88 +1,185 @@
 package com.climbassist.api.resource.common.ordering;
 
 import com.climbassist.api.resource.common.ResourceWithChildren;
-import com.google.common.collect.Sets;
 import lombok.NonNull;
 
-import java.util.Collection;
+import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.HashSet;
-import java.util.LinkedList;
 import java.util.List;
-import java.util.Map;
 import java.util.Set;
-import java.util.stream.Collectors;
 
+/**
+ * Orders a set of resources by following the linked list formed by their first and next fields.
+ * <p>
+ * This runs for every ordered list and every level of every recursive retrieval, so it avoids hashing the resources
+ * themselves (which would hash all of their children as well). Resources are indexed by ID in a single pass into an
+ * open-addressing table, and loops are detected using a bitmap of the indexes that have already been visited.
+ */
 public class OrderableListBuilder<Resource extends OrderableResourceWithParent<Resource, ParentResource>,
         ParentResource extends ResourceWithChildren<ParentResource>> {
 
     public List<Resource> buildList(@NonNull Set<Resource> resources) throws InvalidOrderingException {
-        List<Resource> resourcesInOrder = new LinkedList<>();
+        int resourceCount = resources.size();
+        List<Resource> resourcesInOrder = new ArrayList<>(resourceCount);
 
-        if (resources.isEmpty()) {
+        if (resourceCount == 0) {
             return resourcesInOrder;
         }
 
-        String parentResourceId = resources.stream()
-                .findAny()
-                .get()
-                .getParentId();
+        Object[] resourcesByIndex = new Object[resourceCount];
+        IdIndex idIndex = new IdIndex(resourceCount);
+        String parentResourceId = null;
+        int firstIndex = -1;
+        int firstCount = 0;
+        int index = 0;
+        for (Resource resource : resources) {
+            if (parentResourceId == null) {
+                parentResourceId = resource.getParentId();
+            }
+            if (!idIndex.put(resource.getId(), index)) {
+                throw new InvalidOrderingException(parentResourceId,
+                        String.format("Multiple resources have ID %s.", resource.getId()));
+            }
+            if (resource.isFirst()) {
+                firstIndex = index;
+                firstCount++;
+            }
+            resourcesByIndex[index++] = resource;
+        }
 
-        Collection<Resource> firsts = resources.stream()
-                .filter(OrderableResourceWithParent::isFirst)
-                .collect(Collectors.toSet());
-        if (firsts.size() > 1) {
+        if (firstCount > 1) {
+            Set<String> firstIds = new HashSet<>();
+            for (Resource resource : resources) {
+                if (resource.isFirst()) {
+                    firstIds.add(resource.getId());
+                }
+            }
             throw new InvalidOrderingException(parentResourceId, String.format(
                     "Exactly one resource must be marked as first, but the following resources are all marked as " +
-                            "first: %s.", getIds(firsts)));
+                            "first: %s.", firstIds));
         }
-        else if (firsts.isEmpty()) {
+        else if (firstCount == 0) {
             throw new InvalidOrderingException(parentResourceId,
                     "Exactly one resource must be marked as first, but no resources are marked as first.");
         }
-        Resource first = firsts.stream()
-                .findFirst()
-                .get();
 
-        Map<String, Resource> orderedResourceIdMap = resources.stream()
-                .collect(Collectors.toMap(OrderableResourceWithParent::getId, orderedResource -> orderedResource));
-
-        HashSet<Resource> resourcesSeen = new HashSet<>();
-        Resource currentResource = first;
-        resourcesSeen.add(currentResource);
+        BitSet indexesSeen = new BitSet(resourceCount);
+        Resource currentResource = getResource(resourcesByIndex, firstIndex);
+        indexesSeen.set(firstIndex);
         resourcesInOrder.add(currentResource);
         String nextId = currentResource.getNext();
         while (nextId != null) {
-            if (!orderedResourceIdMap.containsKey(nextId)) {
+            int nextIndex = idIndex.get(nextId);
+            if (nextIndex < 0) {
                 throw new InvalidOrderingException(parentResourceId,
                         String.format("Resource %s has next resource %s, which does not exist.",
                                 currentResource.getId(), nextId));
             }
 
-            currentResource = orderedResourceIdMap.get(nextId);
+            currentResource = getResource(resourcesByIndex, nextIndex);
 
-            if (resourcesSeen.contains(currentResource)) {
+            if (indexesSeen.get(nextIndex)) {
                 throw new InvalidOrderingException(parentResourceId,
                         String.format("Detected loop beginning with resource %s.", currentResource.getId()));
             }
 
-            resourcesSeen.add(currentResource);
+            indexesSeen.set(nextIndex);
             resourcesInOrder.add(currentResource);
             nextId = currentResource.getNext();
         }
 
-        if (resourcesInOrder.size() != resources.size()) {
-            Set<Resource> orphanResources = Sets.difference(resources, new HashSet<>(resourcesInOrder));
+        if (resourcesInOrder.size() != resourceCount) {
+            Set<String> orphanIds = new HashSet<>();
+            for (int orphanIndex = indexesSeen.nextClearBit(0); orphanIndex < resourceCount;
+                 orphanIndex = indexesSeen.nextClearBit(orphanIndex + 1)) {
+                orphanIds.add(getResource(resourcesByIndex, orphanIndex).getId());
+            }
             throw new InvalidOrderingException(parentResourceId, String.format(
                     "The following resources are not marked as first and are not pointed to by any other resource: %s.",
-                    getIds(orphanResources)));
+                    orphanIds));
         }
 
         return resourcesInOrder;
     }
 
-    private Set<String> getIds(Collection<Resource> resources) {
-        return resources.stream()
-                .map(OrderableResourceWithParent::getId)
-                .collect(Collectors.toSet());
+    /**
+     * Checks whether a list is already exactly the list that {@link #buildList(Set)} would build from the same
+     * resources, without building it. A list that is missing any resource fails this check, because the resource
+     * before the missing one would point to a resource other than the one that follows it. An empty list fails this check
+     * too, because it might only be missing every resource; {@link OrderedResourceRetriever} decides when it can be
+     * trusted.
+     */
+    public boolean isInOrder(@NonNull List<Resource> resources) {
+        if (resources.isEmpty()) {
+            return false;
+        }
+        Resource previousResource = null;
+        for (Resource resource : resources) {
+            boolean expectedFirst = previousResource == null;
+            if (resource.isFirst() != expectedFirst || (!expectedFirst && !resource.getId()
+                    .equals(previousResource.getNext()))) {
+                return false;
+            }
+            previousResource = resource;
+        }
+        return previousResource.getNext() == null;
+    }
+
+    @SuppressWarnings("unchecked")
+    private Resource getResource(Object[] resourcesByIndex, int index) {
+        return (Resource) resourcesByIndex[index];
+    }
+
+    /**
+     * Maps resource IDs to their indexes using linear probing over a power-of-two sized table that is at most half full.
+     */
+    private static final class IdIndex {
+
+        private final String[] ids;
+        private final int[] indexes;
+        private final int mask;
+
+        private IdIndex(int expectedSize) {
+            int capacity = Integer.highestOneBit(Math.max(expectedSize, 1)) << 2;
+            ids = new String[capacity];
+            indexes = new int[capacity];
+            mask = capacity - 1;
+        }
+
+        /**
+         * @return false if the ID was already present
+         */
+        private boolean put(String id, int index) {
+            int slot = getSlot(id);
+            while (ids[slot] != null) {
+                if (ids[slot].equals(id)) {
+                    return false;
+                }
+                slot = (slot + 1) & mask;
+            }
+            ids[slot] = id;
+            indexes[slot] = index;
+            return true;
+        }
+
+        /**
+         * @return the index of the ID, or -1 if the ID is not present
+         */
+        private int get(String id) {
+            int slot = getSlot(id);
+            while (ids[slot] != null) {
+                if (ids[slot].equals(id)) {
+                    return indexes[slot];
+                }
+                slot = (slot + 1) & mask;
+            }
+            return -1;
+        }
+
+        private int getSlot(String id) {
+            int hash = id.hashCode();
+            return (hash ^ (hash >>> 16)) & mask;
+        }
     }
 }
@@ -10,4 +10,8 @@ public interface OrderableResourceWithParent<Resource extends OrderableResourceW
     boolean isFirst();
 
     String getNext();
+
+    String getPosition();
+
+    void setPosition(String position);
 }
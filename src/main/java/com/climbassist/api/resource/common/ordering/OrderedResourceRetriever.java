@@ -0,0 +1,59 @@
+package com.climbassist.api.resource.common.ordering;
+
+import com.climbassist.api.resource.common.OrderableResourceWithParentDao;
+import com.climbassist.api.resource.common.ResourceWithChildren;
+import lombok.Builder;
+import lombok.NonNull;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Retrieves ordered lists of resources, preferring the position index, which DynamoDB returns already sorted. Until
+ * every resource under a parent has a position that agrees with first/next, the list is built from first/next instead
+ * and the positions are migrated in the background.
+ * <p>
+ * Every resource is saved with a position, so once the resources from before positions existed have all been migrated
+ * (positionIndexComplete), an empty position query means that the parent has no children, and first/next isn't
+ * queried as well. Until then, it could also mean that none of the children have been migrated yet.
+ * <p>
+ * A resource that isn't linked into its list breaks the chain that {@link OrderableListBuilder#isInOrder(List)} checks,
+ * so the list is built from first/next, which rejects it. The exception is a resource from before positions existed,
+ * which isn't in the position index at all: if the rest of the list has been migrated, it is left out instead.
+ */
+@Builder
+public class OrderedResourceRetriever<Resource extends OrderableResourceWithParent<Resource, ParentResource>,
+        ParentResource extends ResourceWithChildren<ParentResource>> {
+
+    @NonNull
+    private final OrderableResourceWithParentDao<Resource, ParentResource> resourceDao;
+    @NonNull
+    private final OrderableListBuilder<Resource, ParentResource> orderableListBuilder;
+    @NonNull
+    private final PositionMigrator<Resource, ParentResource> positionMigrator;
+    private final boolean positionIndexComplete;
+
+    public List<Resource> getResourcesInOrder(@NonNull String parentId) {
+        List<Resource> resources = resourceDao.getResourcesInPositionOrder(parentId);
+        if (resources.isEmpty() ? positionIndexComplete : orderableListBuilder.isInOrder(resources)) {
+            return resources;
+        }
+        return buildList(parentId, resourceDao.getResources(parentId));
+    }
+
+    /**
+     * @return the resources sorted by position, or empty if there are none, any resource is missing a position or the
+     * positions disagree with first/next
+     */
+    public Optional<List<Resource>> getResourcesInPositionOrder(@NonNull String parentId) {
+        List<Resource> resources = resourceDao.getResourcesInPositionOrder(parentId);
+        return orderableListBuilder.isInOrder(resources) ? Optional.of(resources) : Optional.empty();
+    }
+
+    public List<Resource> buildList(@NonNull String parentId, @NonNull Set<Resource> resources) {
+        List<Resource> resourcesInOrder = orderableListBuilder.buildList(resources);
+        positionMigrator.migrateAsync(parentId, resourcesInOrder);
+        return resourcesInOrder;
+    }
+}
@@ -0,0 +1,112 @@
+package com.climbassist.api.resource.common.ordering;
+
+import com.climbassist.api.resource.common.CommonDaoConfiguration;
+import com.climbassist.api.resource.common.OrderableResourceWithParentDao;
+import com.climbassist.api.resource.common.ResourceWithChildren;
+import com.climbassist.api.resource.crag.Crag;
+import com.climbassist.api.resource.path.Path;
+import com.climbassist.api.resource.pathpoint.PathPoint;
+import com.climbassist.api.resource.pathpoint.PathPointsDao;
+import com.climbassist.api.resource.pitch.Pitch;
+import com.climbassist.api.resource.pitch.PitchesDao;
+import com.climbassist.api.resource.point.Point;
+import com.climbassist.api.resource.point.PointsDao;
+import com.climbassist.api.resource.route.Route;
+import com.climbassist.api.resource.route.RoutesDao;
+import com.climbassist.api.resource.wall.Wall;
+import com.climbassist.api.resource.wall.WallsDao;
+import lombok.NonNull;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+@Configuration
+@Import({CommonDaoConfiguration.class, OrderableListBuilderConfiguration.class})
+public class OrderedResourceRetrieverConfiguration {
+
+    @Bean
+    public PositionGenerator positionGenerator() {
+        return new PositionGenerator();
+    }
+
+    // this is what Executors.newSingleThreadExecutor() builds, but exposed as a ThreadPoolExecutor so that its
+    // queue and threads are reported as metrics
+    @Bean(destroyMethod = "shutdown")
+    public ThreadPoolExecutor positionMigrationExecutorService() {
+        return new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>());
+    }
+
+    // set positionIndexComplete once a scan for orderable resources without a position comes back empty: resources are
+    // always saved with one now, and older resources are given one whenever their list is read
+    @Bean
+    public OrderedResourceRetriever<Wall, Crag> wallOrderedResourceRetriever(@NonNull WallsDao wallsDao,
+                                                                             @NonNull OrderableListBuilder<Wall, Crag> wallOrderableListBuilder,
+                                                                             @NonNull PositionGenerator positionGenerator,
+                                                                             @NonNull ExecutorService positionMigrationExecutorService,
+                                                                             @Value("${positionIndexComplete:false}") boolean positionIndexComplete) {
+        return buildOrderedResourceRetriever(wallsDao, wallOrderableListBuilder, positionGenerator,
+                positionMigrationExecutorService, positionIndexComplete);
+    }
+
+    @Bean
+    public OrderedResourceRetriever<Route, Wall> routeOrderedResourceRetriever(@NonNull RoutesDao routesDao,
+                                                                               @NonNull OrderableListBuilder<Route, Wall> routeOrderableListBuilder,
+                                                                               @NonNull PositionGenerator positionGenerator,
+                                                                               @NonNull ExecutorService positionMigrationExecutorService,
+                                                                               @Value("${positionIndexComplete:false}") boolean positionIndexComplete) {
+        return buildOrderedResourceRetriever(routesDao, routeOrderableListBuilder, positionGenerator,
+                positionMigrationExecutorService, positionIndexComplete);
+    }
+
+    @Bean
+    public OrderedResourceRetriever<Pitch, Route> pitchOrderedResourceRetriever(@NonNull PitchesDao pitchesDao,
+                                                                                @NonNull OrderableListBuilder<Pitch, Route> pitchOrderableListBuilder,
+                                                                                @NonNull PositionGenerator positionGenerator,
+                                                                                @NonNull ExecutorService positionMigrationExecutorService,
+                                                                                @Value("${positionIndexComplete:false}") boolean positionIndexComplete) {
+        return buildOrderedResourceRetriever(pitchesDao, pitchOrderableListBuilder, positionGenerator,
+                positionMigrationExecutorService, positionIndexComplete);
+    }
+
+    @Bean
+    public OrderedResourceRetriever<Point, Pitch> pointOrderedResourceRetriever(@NonNull PointsDao pointsDao,
+                                                                                @NonNull OrderableListBuilder<Point, Pitch> pointOrderableListBuilder,
+                                                                                @NonNull PositionGenerator positionGenerator,
+                                                                                @NonNull ExecutorService positionMigrationExecutorService,
+                                                                                @Value("${positionIndexComplete:false}") boolean positionIndexComplete) {
+        return buildOrderedResourceRetriever(pointsDao, pointOrderableListBuilder, positionGenerator,
+                positionMigrationExecutorService, positionIndexComplete);
+    }
+
+    @Bean
+    public OrderedResourceRetriever<PathPoint, Path> pathPointOrderedResourceRetriever(
+            @NonNull PathPointsDao pathPointsDao,
+            @NonNull OrderableListBuilder<PathPoint, Path> pathPointOrderableListBuilder,
+            @NonNull PositionGenerator positionGenerator, @NonNull ExecutorService positionMigrationExecutorService,
+            @Value("${positionIndexComplete:false}") boolean positionIndexComplete) {
+        return buildOrderedResourceRetriever(pathPointsDao, pathPointOrderableListBuilder, positionGenerator,
+                positionMigrationExecutorService, positionIndexComplete);
+    }
+
+    private static <Resource extends OrderableResourceWithParent<Resource, ParentResource>,
+            ParentResource extends ResourceWithChildren<ParentResource>> OrderedResourceRetriever<Resource,
+            ParentResource> buildOrderedResourceRetriever(
+            OrderableResourceWithParentDao<Resource, ParentResource> resourceDao,
+            OrderableListBuilder<Resource, ParentResource> orderableListBuilder, PositionGenerator positionGenerator,
+            ExecutorService positionMigrationExecutorService, boolean positionIndexComplete) {
+        return OrderedResourceRetriever.<Resource, ParentResource>builder().resourceDao(resourceDao)
+                .orderableListBuilder(orderableListBuilder)
+                .positionMigrator(PositionMigrator.<Resource, ParentResource>builder().resourceDao(resourceDao)
+                        .positionGenerator(positionGenerator)
+                        .executor(positionMigrationExecutorService)
+                        .build())
+                .positionIndexComplete(positionIndexComplete)
+                .build();
+    }
+}
@@ -0,0 +1,22 @@
+package com.climbassist.api.resource.common.ordering;
+
+import com.climbassist.api.resource.common.ResourceWithChildren;
+import lombok.Builder;
+import lombok.NonNull;
+import lombok.Value;
+
+import javax.annotation.Nullable;
+
+@Builder
+@Value
+public class OrderingChange<Resource extends OrderableResourceWithParent<Resource, ParentResource>,
+        ParentResource extends ResourceWithChildren<ParentResource>> {
+
+    @NonNull
+    private Resource resource;
+    private boolean first;
+    @Nullable
+    private String next;
+    @NonNull
+    private String position;
+}
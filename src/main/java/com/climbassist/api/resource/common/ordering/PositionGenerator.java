@@ -0,0 +1,101 @@
+package com.climbassist.api.resource.common.ordering;
+
+import javax.annotation.Nullable;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Generates positions, which are sortable keys that order resources without linking them together. A position is a
+ * base-62 fraction between 0 and 1, written without the leading "0." and without trailing zeros, so that positions sort
+ * the same way as strings (which is how DynamoDB sorts range keys) as they do as numbers. There is always room for
+ * another position between any two positions, so inserting or moving a resource only ever changes that resource's
+ * position.
+ */
+public class PositionGenerator {
+
+    /**
+     * The position halfway between the lowest and highest positions, which is given to resources that haven't been
+     * placed yet.
+     */
+    public static final String MIDDLE_POSITION = "V";
+
+    static final String DIGITS = "0123456789ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz";
+    static final String POSITION_PATTERN = "[0-9A-Za-z]*[1-9A-Za-z]";
+    static final int MAX_POSITION_LENGTH = 64;
+
+    private static final BigInteger BASE = BigInteger.valueOf(DIGITS.length());
+
+    public static boolean isValid(@Nullable String position) {
+        return position != null && position.length() <= MAX_POSITION_LENGTH && position.matches(POSITION_PATTERN);
+    }
+
+    /**
+     * Generates evenly spaced positions that all sort after before and before after, using as few digits as possible.
+     *
+     * @param before the position that all generated positions must sort after, or null if there is no lower bound
+     * @param after  the position that all generated positions must sort before, or null if there is no upper bound
+     * @param count  the number of positions to generate
+     * @return the generated positions, in ascending order
+     */
+    public List<String> getPositionsBetween(@Nullable String before, @Nullable String after, int count) {
+        if (count < 0) {
+            throw new IllegalArgumentException("Count must be greater than or equal to 0.");
+        }
+        if ((before != null && !isValid(before)) || (after != null && !isValid(after))) {
+            throw new IllegalArgumentException(String.format("Invalid positions %s and %s.", before, after));
+        }
+        if (before != null && after != null && before.compareTo(after) >= 0) {
+            throw new IllegalArgumentException(
+                    String.format("Position %s must sort before position %s.", before, after));
+        }
+
+        int length = Math.max(1, Math.max(before == null ? 0 : before.length(), after == null ? 0 : after.length()));
+        BigInteger requiredRange = BigInteger.valueOf(count + 1L);
+        BigInteger lowerBound;
+        BigInteger range;
+        while (true) {
+            lowerBound = before == null ? BigInteger.ZERO : toInteger(before, length);
+            BigInteger upperBound = after == null ? BASE.pow(length) : toInteger(after, length);
+            range = upperBound.subtract(lowerBound);
+            if (range.compareTo(requiredRange) >= 0) {
+                break;
+            }
+            length++;
+        }
+
+        List<String> positions = new ArrayList<>(count);
+        for (int i = 1; i <= count; i++) {
+            positions.add(toPosition(lowerBound.add(range.multiply(BigInteger.valueOf(i))
+                    .divide(requiredRange)), length));
+        }
+        return positions;
+    }
+
+    public String getPositionBetween(@Nullable String before, @Nullable String after) {
+        return getPositionsBetween(before, after, 1).get(0);
+    }
+
+    private static BigInteger toInteger(String position, int length) {
+        BigInteger value = BigInteger.ZERO;
+        for (int i = 0; i < length; i++) {
+            value = value.multiply(BASE)
+                    .add(BigInteger.valueOf(i < position.length() ? DIGITS.indexOf(position.charAt(i)) : 0));
+        }
+        return value;
+    }
+
+    private static String toPosition(BigInteger value, int length) {
+        char[] digits = new char[length];
+        for (int i = length - 1; i >= 0; i--) {
+            BigInteger[] quotientAndRemainder = value.divideAndRemainder(BASE);
+            digits[i] = DIGITS.charAt(quotientAndRemainder[1].intValue());
+            value = quotientAndRemainder[0];
+        }
+        int end = length;
+        while (digits[end - 1] == DIGITS.charAt(0)) {
+            end--;
+        }
+        return new String(digits, 0, end);
+    }
+}
@@ -0,0 +1,165 @@
+package com.climbassist.api.resource.common.ordering;
+
+import com.climbassist.api.resource.common.OrderableResourceWithParentDao;
+import com.climbassist.api.resource.common.ResourceWithChildren;
+import lombok.Builder;
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.stream.Collectors;
+
+/**
+ * Migrates resources from the first/next representation to positions, in the background. Whenever a list has to be
+ * built from first/next because its positions are missing or out of date, the positions are brought back in line with
+ * it. Positions that are already in the right relative order are kept, so after a single resource is created or moved,
+ * only that resource is given a new position.
+ */
+@Builder
+@Slf4j
+public class PositionMigrator<Resource extends OrderableResourceWithParent<Resource, ParentResource>,
+        ParentResource extends ResourceWithChildren<ParentResource>> {
+
+    @NonNull
+    private final OrderableResourceWithParentDao<Resource, ParentResource> resourceDao;
+    @NonNull
+    private final PositionGenerator positionGenerator;
+    @NonNull
+    private final Executor executor;
+    @Builder.Default
+    private final Set<String> migratingParentIds = ConcurrentHashMap.newKeySet();
+
+    public void migrateAsync(@NonNull String parentId, @NonNull List<Resource> resourcesInOrder) {
+        if (resourcesInOrder.isEmpty() || !migratingParentIds.add(parentId)) {
+            return;
+        }
+        // the resources are still being used by the request, so only their IDs and positions are handed off
+        List<String> resourceIds = getResourceIds(resourcesInOrder);
+        List<String> existingPositions = getPositions(resourcesInOrder);
+        try {
+            executor.execute(() -> {
+                try {
+                    int updatedPositions = migrate(resourceIds, existingPositions);
+                    log.info(String.format("Updated %d positions for children of resource %s.", updatedPositions,
+                            parentId));
+                } catch (RuntimeException e) {
+                    log.warn(String.format("Unable to update positions for children of resource %s.", parentId), e);
+                } finally {
+                    migratingParentIds.remove(parentId);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            migratingParentIds.remove(parentId);
+            log.warn(String.format("Unable to schedule position updates for children of resource %s.", parentId), e);
+        }
+    }
+
+    /**
+     * @return the number of resources whose positions were updated
+     */
+    public int migrate(@NonNull List<Resource> resourcesInOrder) {
+        return migrate(getResourceIds(resourcesInOrder), getPositions(resourcesInOrder));
+    }
+
+    List<String> getMigratedPositions(List<String> existingPositions) {
+        int resourceCount = existingPositions.size();
+        String[] validPositions = new String[resourceCount];
+        for (int i = 0; i < resourceCount; i++) {
+            String position = existingPositions.get(i);
+            validPositions[i] = PositionGenerator.isValid(position) ? position : null;
+        }
+        boolean[] keptPositions = getLongestIncreasingPositions(validPositions);
+
+        List<String> positions = new ArrayList<>(resourceCount);
+        String before = null;
+        int i = 0;
+        while (i < resourceCount) {
+            if (keptPositions[i]) {
+                before = validPositions[i];
+                positions.add(before);
+                i++;
+                continue;
+            }
+            int end = i;
+            while (end < resourceCount && !keptPositions[end]) {
+                end++;
+            }
+            String after = end < resourceCount ? validPositions[end] : null;
+            positions.addAll(positionGenerator.getPositionsBetween(before, after, end - i));
+            i = end;
+        }
+
+        // positions get longer every time one is squeezed between two neighbours, so start over once they get too long
+        if (positions.stream()
+                .anyMatch(position -> position.length() > PositionGenerator.MAX_POSITION_LENGTH)) {
+            return positionGenerator.getPositionsBetween(null, null, resourceCount);
+        }
+        return positions;
+    }
+
+    private int migrate(List<String> resourceIds, List<String> existingPositions) {
+        List<String> positions = getMigratedPositions(existingPositions);
+        int updatedPositions = 0;
+        for (int i = 0; i < resourceIds.size(); i++) {
+            String position = positions.get(i);
+            if (!position.equals(existingPositions.get(i)) && resourceDao.updatePosition(resourceIds.get(i),
+                    position)) {
+                updatedPositions++;
+            }
+        }
+        return updatedPositions;
+    }
+
+    private List<String> getResourceIds(List<Resource> resources) {
+        return resources.stream()
+                .map(Resource::getId)
+                .collect(Collectors.toList());
+    }
+
+    private List<String> getPositions(List<Resource> resources) {
+        return resources.stream()
+                .map(Resource::getPosition)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Finds the longest strictly increasing subsequence of the non-null positions, in O(n log n).
+     */
+    private static boolean[] getLongestIncreasingPositions(String[] positions) {
+        int[] tailIndexes = new int[positions.length];
+        int[] predecessorIndexes = new int[positions.length];
+        int length = 0;
+        for (int i = 0; i < positions.length; i++) {
+            if (positions[i] == null) {
+                continue;
+            }
+            int low = 0;
+            int high = length;
+            while (low < high) {
+                int middle = (low + high) >>> 1;
+                if (positions[tailIndexes[middle]].compareTo(positions[i]) < 0) {
+                    low = middle + 1;
+                }
+                else {
+                    high = middle;
+                }
+            }
+            predecessorIndexes[i] = low > 0 ? tailIndexes[low - 1] : -1;
+            tailIndexes[low] = i;
+            if (low == length) {
+                length++;
+            }
+        }
+
+        boolean[] keptPositions = new boolean[positions.length];
+        for (int i = length > 0 ? tailIndexes[length - 1] : -1; i >= 0; i = predecessorIndexes[i]) {
+            keptPositions[i] = true;
+        }
+        return keptPositions;
+    }
+}
@@ -0,0 +1,24 @@
+package com.climbassist.api.resource.common.ordering;
+
+import com.climbassist.api.RuntimeApiException;
+import lombok.NonNull;
+import org.springframework.http.HttpStatus;
+
+public class ReorderConflictException extends RuntimeApiException {
+
+    public ReorderConflictException(@NonNull String parentId) {
+        super(String.format(
+                "Children of resource %s were modified while they were being reordered. No changes were made, so the " +
+                        "request can be retried.", parentId));
+    }
+
+    @Override
+    public String getType() {
+        return "ReorderConflictException";
+    }
+
+    @Override
+    public HttpStatus getHttpStatus() {
+        return HttpStatus.CONFLICT;
+    }
+}
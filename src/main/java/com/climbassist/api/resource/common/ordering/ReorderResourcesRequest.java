@@ -0,0 +1,29 @@
+package com.climbassist.api.resource.common.ordering;
+
+import com.climbassist.common.ExactlyOnePresent;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import javax.annotation.Nullable;
+import javax.validation.Valid;
+import javax.validation.constraints.NotNull;
+import javax.validation.constraints.Size;
+import java.util.List;
+
+@AllArgsConstructor // required for @Builder, because of a bug
+@Builder
+@Data
+@NoArgsConstructor
+@ExactlyOnePresent(fieldNames = {"order", "move"}, message = "Either order or move must be present, but not both.")
+public class ReorderResourcesRequest {
+
+    @Nullable
+    @Size(min = 1, max = 1000, message = "Order must contain between 1 and 1000 resource IDs.")
+    private List<@NotNull(message = "Order must not contain null resource IDs.") String> order;
+
+    @Nullable
+    @Valid
+    private ResourceMove move;
+}
@@ -0,0 +1,25 @@
+package com.climbassist.api.resource.common.ordering;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import javax.annotation.Nullable;
+import javax.validation.constraints.NotNull;
+
+@AllArgsConstructor // required for @Builder, because of a bug
+@Builder
+@Data
+@NoArgsConstructor
+public class ResourceMove {
+
+    @NotNull(message = "Resource ID must be present.")
+    private String resourceId;
+
+    /**
+     * The resource that the moved resource should come after, or null to move it to the front.
+     */
+    @Nullable
+    private String previousResourceId;
+}
@@ -0,0 +1,129 @@
+package com.climbassist.api.resource.common.ordering;
+
+import com.climbassist.api.resource.common.OrderableResourceWithParentDao;
+import com.climbassist.api.resource.common.ResourceWithChildren;
+import lombok.Builder;
+import lombok.NonNull;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Reorders the children of a resource by working out which resources need a different first, next or position to
+ * match the requested order, and saving only those resources in a single transaction. Moving one resource changes the
+ * first or next of at most four resources (the moved resource, the resources before it in the old and new orders, and
+ * the old first resource), no matter how many children there are.
+ */
+@Builder
+public class ResourceReorderer<Resource extends OrderableResourceWithParent<Resource, ParentResource>,
+        ParentResource extends ResourceWithChildren<ParentResource>> {
+
+    // this is the most items that DynamoDB allows in a single transaction
+    static final int MAX_ORDERING_CHANGES = 25;
+
+    @NonNull
+    private final OrderableResourceWithParentDao<Resource, ParentResource> resourceDao;
+    @NonNull
+    private final OrderableListBuilder<Resource, ParentResource> orderableListBuilder;
+    @NonNull
+    private final PositionMigrator<Resource, ParentResource> positionMigrator;
+
+    /**
+     * @param resources all of the children of the parent, as they are now
+     * @return the number of resources that were changed
+     * @throws InvalidOrderingException if a move is requested but the current order is invalid, in which case the
+     *                                  full order has to be given instead
+     */
+    public int reorderResources(@NonNull String parentId, @NonNull Set<Resource> resources,
+                                @NonNull ReorderResourcesRequest reorderResourcesRequest) {
+        List<String> resourceIdsInOrder = reorderResourcesRequest.getOrder() == null ?
+                getResourceIdsAfterMove(parentId, resources, reorderResourcesRequest.getMove()) :
+                reorderResourcesRequest.getOrder();
+        Map<String, Resource> resourcesById = new HashMap<>();
+        resources.forEach(resource -> resourcesById.put(resource.getId(), resource));
+        if (resourceIdsInOrder.size() != resources.size() || !resourcesById.keySet()
+                .equals(new HashSet<>(resourceIdsInOrder))) {
+            throw new InvalidReorderException(parentId, "The order must contain each of their IDs exactly once.");
+        }
+
+        List<OrderingChange<Resource, ParentResource>> orderingChanges =
+                getOrderingChanges(parentId, resourceIdsInOrder, resourcesById);
+        if (orderingChanges.isEmpty()) {
+            return 0;
+        }
+        if (!resourceDao.saveOrderingChanges(orderingChanges)) {
+            throw new ReorderConflictException(parentId);
+        }
+        return orderingChanges.size();
+    }
+
+    private List<String> getResourceIdsAfterMove(String parentId, Set<Resource> resources, ResourceMove resourceMove) {
+        List<String> resourceIds = orderableListBuilder.buildList(resources)
+                .stream()
+                .map(Resource::getId)
+                .collect(Collectors.toCollection(ArrayList::new));
+        if (!resourceIds.remove(resourceMove.getResourceId())) {
+            throw new InvalidReorderException(parentId,
+                    String.format("Resource %s is not one of them.", resourceMove.getResourceId()));
+        }
+        if (resourceMove.getPreviousResourceId() == null) {
+            resourceIds.add(0, resourceMove.getResourceId());
+            return resourceIds;
+        }
+        int previousIndex = resourceIds.indexOf(resourceMove.getPreviousResourceId());
+        if (previousIndex < 0) {
+            throw new InvalidReorderException(parentId,
+                    String.format("Resource %s is not one of them, or is the resource being moved.",
+                            resourceMove.getPreviousResourceId()));
+        }
+        resourceIds.add(previousIndex + 1, resourceMove.getResourceId());
+        return resourceIds;
+    }
+
+    private List<OrderingChange<Resource, ParentResource>> getOrderingChanges(String parentId,
+                                                                              List<String> resourceIdsInOrder,
+                                                                              Map<String, Resource> resourcesById) {
+        List<String> positions = positionMigrator.getMigratedPositions(resourceIdsInOrder.stream()
+                .map(resourceId -> resourcesById.get(resourceId)
+                        .getPosition())
+                .collect(Collectors.toList()));
+
+        List<OrderingChange<Resource, ParentResource>> linkChanges = new ArrayList<>();
+        List<OrderingChange<Resource, ParentResource>> positionChanges = new ArrayList<>();
+        for (int i = 0; i < resourceIdsInOrder.size(); i++) {
+            Resource resource = resourcesById.get(resourceIdsInOrder.get(i));
+            boolean first = i == 0;
+            String next = i + 1 < resourceIdsInOrder.size() ? resourceIdsInOrder.get(i + 1) : null;
+            OrderingChange<Resource, ParentResource> orderingChange =
+                    OrderingChange.<Resource, ParentResource>builder().resource(resource)
+                            .first(first)
+                            .next(next)
+                            .position(positions.get(i))
+                            .build();
+            if (resource.isFirst() != first || !Objects.equals(resource.getNext(), next)) {
+                linkChanges.add(orderingChange);
+            }
+            else if (!positions.get(i)
+                    .equals(resource.getPosition())) {
+                positionChanges.add(orderingChange);
+            }
+        }
+
+        if (linkChanges.size() > MAX_ORDERING_CHANGES) {
+            throw new InvalidReorderException(parentId, String.format(
+                    "The new order would change %d resources, but at most %d can be changed at once. Try moving fewer" +
+                            " resources at a time.", linkChanges.size(), MAX_ORDERING_CHANGES));
+        }
+        // positions that don't fit in the transaction are left to be migrated the next time the list is read
+        List<OrderingChange<Resource, ParentResource>> orderingChanges = new ArrayList<>(linkChanges);
+        orderingChanges.addAll(positionChanges.subList(0,
+                Math.min(positionChanges.size(), MAX_ORDERING_CHANGES - linkChanges.size())));
+        return orderingChanges;
+    }
+}
@@ -0,0 +1,86 @@
+package com.climbassist.api.resource.common.ordering;
+
+import com.climbassist.api.resource.common.OrderableResourceWithParentDao;
+import com.climbassist.api.resource.common.ResourceWithChildren;
+import com.climbassist.api.resource.crag.Crag;
+import com.climbassist.api.resource.path.Path;
+import com.climbassist.api.resource.pathpoint.PathPoint;
+import com.climbassist.api.resource.pathpoint.PathPointsDao;
+import com.climbassist.api.resource.pitch.Pitch;
+import com.climbassist.api.resource.pitch.PitchesDao;
+import com.climbassist.api.resource.point.Point;
+import com.climbassist.api.resource.point.PointsDao;
+import com.climbassist.api.resource.route.Route;
+import com.climbassist.api.resource.route.RoutesDao;
+import com.climbassist.api.resource.wall.Wall;
+import com.climbassist.api.resource.wall.WallsDao;
+import lombok.NonNull;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+
+import java.util.concurrent.ExecutorService;
+
+@Configuration
+@Import(OrderedResourceRetrieverConfiguration.class)
+public class ResourceReordererConfiguration {
+
+    @Bean
+    public ResourceReorderer<Wall, Crag> wallResourceReorderer(@NonNull WallsDao wallsDao,
+                                                               @NonNull OrderableListBuilder<Wall, Crag> wallOrderableListBuilder,
+                                                               @NonNull PositionGenerator positionGenerator,
+                                                               @NonNull ExecutorService positionMigrationExecutorService) {
+        return buildResourceReorderer(wallsDao, wallOrderableListBuilder, positionGenerator,
+                positionMigrationExecutorService);
+    }
+
+    @Bean
+    public ResourceReorderer<Route, Wall> routeResourceReorderer(@NonNull RoutesDao routesDao,
+                                                                 @NonNull OrderableListBuilder<Route, Wall> routeOrderableListBuilder,
+                                                                 @NonNull PositionGenerator positionGenerator,
+                                                                 @NonNull ExecutorService positionMigrationExecutorService) {
+        return buildResourceReorderer(routesDao, routeOrderableListBuilder, positionGenerator,
+                positionMigrationExecutorService);
+    }
+
+    @Bean
+    public ResourceReorderer<Pitch, Route> pitchResourceReorderer(@NonNull PitchesDao pitchesDao,
+                                                                  @NonNull OrderableListBuilder<Pitch, Route> pitchOrderableListBuilder,
+                                                                  @NonNull PositionGenerator positionGenerator,
+                                                                  @NonNull ExecutorService positionMigrationExecutorService) {
+        return buildResourceReorderer(pitchesDao, pitchOrderableListBuilder, positionGenerator,
+                positionMigrationExecutorService);
+    }
+
+    @Bean
+    public ResourceReorderer<Point, Pitch> pointResourceReorderer(@NonNull PointsDao pointsDao,
+                                                                  @NonNull OrderableListBuilder<Point, Pitch> pointOrderableListBuilder,
+                                                                  @NonNull PositionGenerator positionGenerator,
+                                                                  @NonNull ExecutorService positionMigrationExecutorService) {
+        return buildResourceReorderer(pointsDao, pointOrderableListBuilder, positionGenerator,
+                positionMigrationExecutorService);
+    }
+
+    @Bean
+    public ResourceReorderer<PathPoint, Path> pathPointResourceReorderer(@NonNull PathPointsDao pathPointsDao,
+                                                                         @NonNull OrderableListBuilder<PathPoint, Path> pathPointOrderableListBuilder,
+                                                                         @NonNull PositionGenerator positionGenerator,
+                                                                         @NonNull ExecutorService positionMigrationExecutorService) {
+        return buildResourceReorderer(pathPointsDao, pathPointOrderableListBuilder, positionGenerator,
+                positionMigrationExecutorService);
+    }
+
+    private static <Resource extends OrderableResourceWithParent<Resource, ParentResource>,
+            ParentResource extends ResourceWithChildren<ParentResource>> ResourceReorderer<Resource, ParentResource> buildResourceReorderer(
+            OrderableResourceWithParentDao<Resource, ParentResource> resourceDao,
+            OrderableListBuilder<Resource, ParentResource> orderableListBuilder, PositionGenerator positionGenerator,
+            ExecutorService positionMigrationExecutorService) {
+        return ResourceReorderer.<Resource, ParentResource>builder().resourceDao(resourceDao)
+                .orderableListBuilder(orderableListBuilder)
+                .positionMigrator(PositionMigrator.<Resource, ParentResource>builder().resourceDao(resourceDao)
+                        .positionGenerator(positionGenerator)
+                        .executor(positionMigrationExecutorService)
+                        .build())
+                .build();
+    }
+}
@@ -0,0 +1,29 @@
+package com.climbassist.api.resource.common.ordering;
+
+import org.hibernate.validator.constraints.ConstraintComposition;
+
+import javax.validation.Constraint;
+import javax.validation.Payload;
+import javax.validation.constraints.Pattern;
+import javax.validation.constraints.Size;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.FIELD, ElementType.PARAMETER, ElementType.ANNOTATION_TYPE})
+@ConstraintComposition
+@Constraint(validatedBy = {})
+@Size(min = 1, max = PositionGenerator.MAX_POSITION_LENGTH,
+        message = "Position must be between 1 and " + PositionGenerator.MAX_POSITION_LENGTH + " characters.")
+@Pattern(regexp = PositionGenerator.POSITION_PATTERN,
+        message = "Position must contain only letters and numbers and must not end with 0.")
+public @interface ValidPosition {
+
+    String message() default "";
+
+    Class<?>[] groups() default {};
+
+    Class<? extends Payload>[] payload() default {};
+}
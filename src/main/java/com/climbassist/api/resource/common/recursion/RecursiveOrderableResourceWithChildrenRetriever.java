@@ -2,9 +2,8 @@ package com.climbassist.api.resource.common.recursion;
 
 import com.climbassist.api.resource.common.ResourceWithChildren;
 import com.climbassist.api.resource.common.ResourceWithParent;
-import com.climbassist.api.resource.common.ResourceWithParentDao;
-import com.climbassist.api.resource.common.ordering.OrderableListBuilder;
 import com.climbassist.api.resource.common.ordering.OrderableResourceWithParentAndChildren;
+import com.climbassist.api.resource.common.ordering.OrderedResourceRetriever;
 import lombok.Builder;
 import lombok.Getter;
 import lombok.NonNull;
@@ -21,13 +20,11 @@ public class RecursiveOrderableResourceWithChildrenRetriever<
         implements RecursiveResourceRetriever<Resource, ParentResource> {
 // @formatter:on
 
-    @NonNull
-    private final ResourceWithParentDao<Resource, ParentResource> resourceDao;
     @NonNull
     private final Set<RecursiveResourceRetriever<? extends ResourceWithParent<Resource>, Resource>>
             recursiveResourceRetrievers;
     @NonNull
-    private final OrderableListBuilder<Resource, ParentResource> orderableListBuilder;
+    private final OrderedResourceRetriever<Resource, ParentResource> orderedResourceRetriever;
     @NonNull
     @Getter
     private final Class<Resource> childClass;
@@ -37,7 +34,7 @@ public class RecursiveOrderableResourceWithChildrenRetriever<
         if (depth < 1) {
             throw new IllegalArgumentException("Depth must be greater than or equal to 1.");
         }
-        List<Resource> resources = orderableListBuilder.buildList(resourceDao.getResources(parentId));
+        List<Resource> resources = orderedResourceRetriever.getResourcesInOrder(parentId);
         if (depth > 1) {
             resources.forEach(resource -> {
                 recursiveResourceRetrievers.forEach(recursiveResourceRetriever -> {
@@ -1,8 +1,7 @@
 package com.climbassist.api.resource.common.recursion;
 
 import com.climbassist.api.resource.common.ResourceWithChildren;
-import com.climbassist.api.resource.common.ResourceWithParentDao;
-import com.climbassist.api.resource.common.ordering.OrderableListBuilder;
+import com.climbassist.api.resource.common.ordering.OrderedResourceRetriever;
 import lombok.Builder;
 import lombok.Getter;
 import lombok.NonNull;
@@ -18,9 +17,7 @@ public class RecursiveOrderableResourceWithNoChildrenRetriever<
 // @formatter:on
 
     @NonNull
-    private final ResourceWithParentDao<Resource, ParentResource> resourceDao;
-    @NonNull
-    private final OrderableListBuilder<Resource, ParentResource> orderableListBuilder;
+    private final OrderedResourceRetriever<Resource, ParentResource> orderedResourceRetriever;
     @NonNull
     @Getter
     private final Class<Resource> childClass;
@@ -30,6 +27,6 @@ public class RecursiveOrderableResourceWithNoChildrenRetriever<
         if (depth < 1) {
             throw new IllegalArgumentException("Depth must be greater than or equal to 1.");
         }
-        return orderableListBuilder.buildList(resourceDao.getResources(parentId));
+        return orderedResourceRetriever.getResourcesInOrder(parentId);
     }
 }
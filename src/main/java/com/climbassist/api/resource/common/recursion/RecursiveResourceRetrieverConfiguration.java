@@ -3,27 +3,22 @@ package com.climbassist.api.resource.common.recursion;
 import com.climbassist.api.resource.area.Area;
 import com.climbassist.api.resource.area.AreasDao;
 import com.climbassist.api.resource.common.CommonDaoConfiguration;
-import com.climbassist.api.resource.common.ordering.OrderableListBuilder;
-import com.climbassist.api.resource.common.ordering.OrderableListBuilderConfiguration;
+import com.climbassist.api.resource.common.ordering.OrderedResourceRetriever;
+import com.climbassist.api.resource.common.ordering.OrderedResourceRetrieverConfiguration;
 import com.climbassist.api.resource.country.Country;
 import com.climbassist.api.resource.crag.Crag;
 import com.climbassist.api.resource.crag.CragsDao;
 import com.climbassist.api.resource.path.Path;
 import com.climbassist.api.resource.path.PathsDao;
 import com.climbassist.api.resource.pathpoint.PathPoint;
-import com.climbassist.api.resource.pathpoint.PathPointsDao;
 import com.climbassist.api.resource.pitch.Pitch;
-import com.climbassist.api.resource.pitch.PitchesDao;
 import com.climbassist.api.resource.point.Point;
-import com.climbassist.api.resource.point.PointsDao;
 import com.climbassist.api.resource.region.Region;
 import com.climbassist.api.resource.region.RegionsDao;
 import com.climbassist.api.resource.route.Route;
-import com.climbassist.api.resource.route.RoutesDao;
 import com.climbassist.api.resource.subarea.SubArea;
 import com.climbassist.api.resource.subarea.SubAreasDao;
 import com.climbassist.api.resource.wall.Wall;
-import com.climbassist.api.resource.wall.WallsDao;
 import com.google.common.collect.ImmutableSet;
 import lombok.NonNull;
 import org.springframework.context.annotation.Bean;
@@ -31,7 +26,7 @@ import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Import;
 
 @Configuration
-@Import({CommonDaoConfiguration.class, OrderableListBuilderConfiguration.class})
+@Import({CommonDaoConfiguration.class, OrderedResourceRetrieverConfiguration.class})
 public class RecursiveResourceRetrieverConfiguration {
 
     @Bean
@@ -74,48 +69,43 @@ public class RecursiveResourceRetrieverConfiguration {
     }
 
     @Bean
-    public RecursiveResourceRetriever<Wall, Crag> recursiveWallRetriever(@NonNull WallsDao wallsDao,
-                                                                         @NonNull OrderableListBuilder<Wall, Crag> wallOrderableListBuilder,
-                                                                         @NonNull RecursiveResourceRetriever<Route,
-                                                                                 Wall> recursiveRouteRetriever) {
-        return RecursiveOrderableResourceWithChildrenRetriever.<Wall, Crag>builder().resourceDao(wallsDao)
-                .orderableListBuilder(wallOrderableListBuilder)
+    public RecursiveResourceRetriever<Wall, Crag> recursiveWallRetriever(
+            @NonNull OrderedResourceRetriever<Wall, Crag> wallOrderedResourceRetriever,
+            @NonNull RecursiveResourceRetriever<Route, Wall> recursiveRouteRetriever) {
+        return RecursiveOrderableResourceWithChildrenRetriever.<Wall, Crag>builder().orderedResourceRetriever(
+                wallOrderedResourceRetriever)
                 .recursiveResourceRetrievers(ImmutableSet.of(recursiveRouteRetriever))
                 .childClass(Wall.class)
                 .build();
     }
 
     @Bean
-    public RecursiveResourceRetriever<Route, Wall> recursiveRouteRetriever(@NonNull RoutesDao routesDao,
-                                                                           @NonNull OrderableListBuilder<Route, Wall> routeOrderableListBuilder,
-                                                                           @NonNull RecursiveResourceRetriever<Pitch,
-                                                                                   Route> recursivePitchRetriever) {
-        return RecursiveOrderableResourceWithChildrenRetriever.<Route, Wall>builder().resourceDao(routesDao)
-                .orderableListBuilder(routeOrderableListBuilder)
+    public RecursiveResourceRetriever<Route, Wall> recursiveRouteRetriever(
+            @NonNull OrderedResourceRetriever<Route, Wall> routeOrderedResourceRetriever,
+            @NonNull RecursiveResourceRetriever<Pitch, Route> recursivePitchRetriever) {
+        return RecursiveOrderableResourceWithChildrenRetriever.<Route, Wall>builder().orderedResourceRetriever(
+                routeOrderedResourceRetriever)
                 .recursiveResourceRetrievers(ImmutableSet.of(recursivePitchRetriever))
                 .childClass(Route.class)
                 .build();
     }
 
     @Bean
-    public RecursiveResourceRetriever<Pitch, Route> recursivePitchRetriever(@NonNull PitchesDao pitchesDao,
-                                                                            @NonNull OrderableListBuilder<Pitch,
-                                                                                    Route> pitchOrderableListBuilder,
-                                                                            @NonNull RecursiveResourceRetriever<Point
-                                                                                    , Pitch> recursivePointRetriever) {
-        return RecursiveOrderableResourceWithChildrenRetriever.<Pitch, Route>builder().resourceDao(pitchesDao)
-                .orderableListBuilder(pitchOrderableListBuilder)
+    public RecursiveResourceRetriever<Pitch, Route> recursivePitchRetriever(
+            @NonNull OrderedResourceRetriever<Pitch, Route> pitchOrderedResourceRetriever,
+            @NonNull RecursiveResourceRetriever<Point, Pitch> recursivePointRetriever) {
+        return RecursiveOrderableResourceWithChildrenRetriever.<Pitch, Route>builder().orderedResourceRetriever(
+                pitchOrderedResourceRetriever)
                 .recursiveResourceRetrievers(ImmutableSet.of(recursivePointRetriever))
                 .childClass(Pitch.class)
                 .build();
     }
 
     @Bean
-    public RecursiveResourceRetriever<Point, Pitch> recursivePointRetriever(@NonNull PointsDao pointsDao,
-                                                                            @NonNull OrderableListBuilder<Point,
-                                                                                    Pitch> pointOrderableListBuilder) {
-        return RecursiveOrderableResourceWithNoChildrenRetriever.<Point, Pitch>builder().resourceDao(pointsDao)
-                .orderableListBuilder(pointOrderableListBuilder)
+    public RecursiveResourceRetriever<Point, Pitch> recursivePointRetriever(
+            @NonNull OrderedResourceRetriever<Point, Pitch> pointOrderedResourceRetriever) {
+        return RecursiveOrderableResourceWithNoChildrenRetriever.<Point, Pitch>builder().orderedResourceRetriever(
+                pointOrderedResourceRetriever)
                 .childClass(Point.class)
                 .build();
     }
@@ -130,10 +120,10 @@ public class RecursiveResourceRetrieverConfiguration {
     }
 
     @Bean
-    public RecursiveResourceRetriever<PathPoint, Path> recursivePathPointRetriever(@NonNull PathPointsDao pointsDao,
-                                                                                   @NonNull OrderableListBuilder<PathPoint, Path> pointOrderableListBuilder) {
-        return RecursiveOrderableResourceWithNoChildrenRetriever.<PathPoint, Path>builder().resourceDao(pointsDao)
-                .orderableListBuilder(pointOrderableListBuilder)
+    public RecursiveResourceRetriever<PathPoint, Path> recursivePathPointRetriever(
+            @NonNull OrderedResourceRetriever<PathPoint, Path> pathPointOrderedResourceRetriever) {
+        return RecursiveOrderableResourceWithNoChildrenRetriever.<PathPoint, Path>builder().orderedResourceRetriever(
+                pathPointOrderedResourceRetriever)
                 .childClass(PathPoint.class)
                 .build();
     }
@@ -11,6 +11,7 @@ import com.climbassist.api.resource.common.ResourceWithParent;
 import com.climbassist.api.resource.common.ResourceWithParentAndChildren;
 import com.climbassist.api.resource.common.ValidDescription;
 import com.climbassist.api.resource.common.ValidName;
+import com.climbassist.api.resource.common.compression.Compressed;
 import com.climbassist.api.resource.path.Path;
 import com.climbassist.api.resource.subarea.SubArea;
 import com.climbassist.api.resource.subarea.ValidSubAreaId;
@@ -52,6 +53,7 @@ public class Crag implements ResourceWithParentAndChildren<Crag, SubArea>, Resou
     @ValidName
     private String name;
 
+    @Compressed
     @ValidDescription
     private String description;
 
@@ -17,6 +17,7 @@ import com.climbassist.api.resource.wall.Wall;
 import com.climbassist.api.resource.wall.WallsDao;
 import com.climbassist.common.CommonConfiguration;
 import com.climbassist.common.s3.S3Proxy;
+import com.google.common.cache.CacheBuilder;
 import com.google.common.collect.ImmutableSet;
 import lombok.NonNull;
 import org.springframework.beans.factory.annotation.Value;
@@ -25,11 +26,16 @@ import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Import;
 import org.springframework.context.annotation.PropertySource;
 
+import java.util.concurrent.TimeUnit;
+
 @Configuration
 @PropertySource("classpath:application.properties")
 @Import({CommonConfiguration.class, CommonDaoConfiguration.class, RecursiveResourceRetrieverConfiguration.class})
 public class CragConfiguration {
 
+    private static final long OVERLAY_CACHE_EXPIRATION_MINUTES = 1;
+    private static final long OVERLAY_CACHE_MAXIMUM_BYTES = 64 * 1024 * 1024;
+
     @Bean
     public CragController cragsController(@NonNull CragsDao cragsDao, @NonNull SubAreasDao subAreasDao,
                                           @NonNull WallsDao wallsDao, @NonNull PathsDao pathsDao,
@@ -80,6 +86,17 @@ public class CragConfiguration {
                 .wallsDao(wallsDao)
                 .pathsDao(pathsDao)
                 .cragNotEmptyExceptionFactory(cragNotEmptyExceptionFactory)
+                .cragOverlayRetriever(CragOverlayRetriever.builder()
+                        .cragsDao(cragsDao)
+                        .cragNotFoundExceptionFactory(cragNotFoundExceptionFactory)
+                        .recursiveWallRetriever(recursiveWallRetriever)
+                        .cragOverlayEncoder(new CragOverlayEncoder())
+                        .overlayCache(CacheBuilder.newBuilder()
+                                .expireAfterWrite(OVERLAY_CACHE_EXPIRATION_MINUTES, TimeUnit.MINUTES)
+                                .maximumWeight(OVERLAY_CACHE_MAXIMUM_BYTES)
+                                .<String, byte[]>weigher((cragId, overlay) -> overlay.length)
+                                .build())
+                        .build())
                 .build();
     }
 
@@ -22,6 +22,8 @@ import com.climbassist.metrics.Metrics;
 import lombok.Builder;
 import lombok.NonNull;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestBody;
@@ -68,6 +70,8 @@ public class CragController {
     private final PathsDao pathsDao;
     @NonNull
     private final CragNotEmptyExceptionFactory cragNotEmptyExceptionFactory;
+    @NonNull
+    private final CragOverlayRetriever cragOverlayRetriever;
 
     @Metrics(api = "GetCrag")
     @RequestMapping(path = "/v1/crags/{cragId}", method = RequestMethod.GET)
@@ -77,6 +81,15 @@ public class CragController {
         return resourceWithChildrenControllerDelegate.getResource(cragId, depth);
     }
 
+    @Metrics(api = "GetCragOverlay")
+    @RequestMapping(path = "/v1/crags/{cragId}/overlay", method = RequestMethod.GET)
+    public ResponseEntity<byte[]> getOverlay(@ValidCragId @NonNull @PathVariable String cragId)
+            throws ResourceNotFoundException {
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                .body(cragOverlayRetriever.getOverlay(cragId));
+    }
+
     @Metrics(api = "ListCrags")
     @RequestMapping(path = "/v1/sub-areas/{subAreaId}/crags", method = RequestMethod.GET)
     public Set<Crag> getResourcesForParent(@ValidSubAreaId @NonNull @PathVariable String subAreaId)
@@ -113,6 +126,7 @@ public class CragController {
             throw cragNotEmptyExceptionFactory.create(cragId);
         }
         cragsDao.deleteResource(cragId);
+        cragOverlayRetriever.invalidate(cragId);
         if (crag.getImageLocation() != null) {
             log.info(String.format("Deleting image for crag %s at %s", cragId, crag.getImageLocation()));
             AmazonS3URI amazonS3URI = new AmazonS3URI(crag.getImageLocation());
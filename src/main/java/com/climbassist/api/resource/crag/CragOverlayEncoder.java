@@ -0,0 +1,126 @@
+package com.climbassist.api.resource.crag;
+
+import com.climbassist.api.resource.pitch.Anchors;
+import com.climbassist.api.resource.pitch.Pitch;
+import com.climbassist.api.resource.route.Route;
+import com.climbassist.api.resource.wall.Wall;
+import lombok.NonNull;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Packs the route lines of a crag into a single little-endian binary buffer that can be handed directly to WebGL.
+ * <p>
+ * The buffer is laid out as follows, with every section starting on a 4-byte boundary:
+ * <ul>
+ * <li>Header: 5 uint32 values - magic number ("CAOV"), version, vertex count, strip count and ID count</li>
+ * <li>Vertices: vertex count * 3 float32 values (x, y, z)</li>
+ * <li>Strips: strip count * 5 uint32 values - first vertex, vertex count, route ID index, pitch ID index and flags.
+ * Each strip is one pitch drawn as a line strip through its points and, if present, its anchors.</li>
+ * <li>IDs: ID count * (uint16 length + UTF-8 bytes), referenced by index from the strip table</li>
+ * </ul>
+ */
+public class CragOverlayEncoder {
+
+    static final int MAGIC_NUMBER = 0x564f4143; // "CAOV" when read as little-endian bytes
+    static final int VERSION = 1;
+    static final int HEADER_SIZE = 5 * Integer.BYTES;
+    static final int VERTEX_SIZE = 3 * Float.BYTES;
+    static final int STRIP_SIZE = 5 * Integer.BYTES;
+    static final int ANCHORS_FLAG = 1;
+
+    public byte[] encode(@NonNull Collection<Wall> walls) {
+        // the first pass only sizes the buffer, so that the vertices can be written without any boxing or copying
+        List<Pitch> drawablePitches = new ArrayList<>();
+        List<String> drawablePitchRouteIds = new ArrayList<>();
+        Map<String, Integer> idIndexes = new LinkedHashMap<>();
+        int vertexCount = 0;
+        for (Wall wall : walls) {
+            if (wall.getRoutes() == null) {
+                continue;
+            }
+            for (Route route : wall.getRoutes()) {
+                if (route.getPitches() == null) {
+                    continue;
+                }
+                for (Pitch pitch : route.getPitches()) {
+                    int pitchVertexCount = getVertexCount(pitch);
+                    if (pitchVertexCount == 0) {
+                        continue;
+                    }
+                    addId(route.getRouteId(), idIndexes);
+                    addId(pitch.getPitchId(), idIndexes);
+                    drawablePitches.add(pitch);
+                    drawablePitchRouteIds.add(route.getRouteId());
+                    vertexCount += pitchVertexCount;
+                }
+            }
+        }
+
+        List<byte[]> encodedIds = new ArrayList<>(idIndexes.size());
+        int idsSize = 0;
+        for (String id : idIndexes.keySet()) {
+            byte[] encodedId = id.getBytes(StandardCharsets.UTF_8);
+            encodedIds.add(encodedId);
+            idsSize += Short.BYTES + encodedId.length;
+        }
+
+        int stripsOffset = HEADER_SIZE + vertexCount * VERTEX_SIZE;
+        ByteBuffer byteBuffer = ByteBuffer.allocate(stripsOffset + drawablePitches.size() * STRIP_SIZE + idsSize)
+                .order(ByteOrder.LITTLE_ENDIAN);
+        byteBuffer.putInt(MAGIC_NUMBER)
+                .putInt(VERSION)
+                .putInt(vertexCount)
+                .putInt(drawablePitches.size())
+                .putInt(encodedIds.size());
+
+        int firstVertex = 0;
+        for (int i = 0; i < drawablePitches.size(); ++i) {
+            Pitch pitch = drawablePitches.get(i);
+            int pitchVertexCount = getVertexCount(pitch);
+            byteBuffer.position(HEADER_SIZE + firstVertex * VERTEX_SIZE);
+            if (pitch.getPoints() != null) {
+                pitch.getPoints()
+                        .forEach(point -> putVertex(point.getX(), point.getY(), point.getZ(), byteBuffer));
+            }
+            Anchors anchors = pitch.getAnchors();
+            if (anchors != null) {
+                putVertex(anchors.getX(), anchors.getY(), anchors.getZ(), byteBuffer);
+            }
+            byteBuffer.position(stripsOffset + i * STRIP_SIZE);
+            byteBuffer.putInt(firstVertex)
+                    .putInt(pitchVertexCount)
+                    .putInt(idIndexes.get(drawablePitchRouteIds.get(i)))
+                    .putInt(idIndexes.get(pitch.getPitchId()))
+                    .putInt(anchors == null ? 0 : ANCHORS_FLAG);
+            firstVertex += pitchVertexCount;
+        }
+
+        byteBuffer.position(stripsOffset + drawablePitches.size() * STRIP_SIZE);
+        encodedIds.forEach(encodedId -> byteBuffer.putShort((short) encodedId.length)
+                .put(encodedId));
+        return byteBuffer.array();
+    }
+
+    private static int getVertexCount(Pitch pitch) {
+        return (pitch.getPoints() == null ? 0 : pitch.getPoints()
+                .size()) + (pitch.getAnchors() == null ? 0 : 1);
+    }
+
+    private static void putVertex(double x, double y, double z, ByteBuffer byteBuffer) {
+        byteBuffer.putFloat((float) x)
+                .putFloat((float) y)
+                .putFloat((float) z);
+    }
+
+    private static void addId(String id, Map<String, Integer> idIndexes) {
+        idIndexes.putIfAbsent(id, idIndexes.size());
+    }
+}
@@ -0,0 +1,46 @@
+package com.climbassist.api.resource.crag;
+
+import com.climbassist.api.resource.common.ResourceNotFoundException;
+import com.climbassist.api.resource.common.recursion.RecursiveResourceRetriever;
+import com.climbassist.api.resource.wall.Wall;
+import com.google.common.cache.Cache;
+import lombok.Builder;
+import lombok.NonNull;
+
+/**
+ * Builds and caches the binary route overlay of a crag. Overlays are cached per instance and expire on their own, since
+ * changes to the walls, routes, pitches and points underneath a crag don't know which crag they belong to.
+ */
+@Builder
+public class CragOverlayRetriever {
+
+    // walls -> routes -> pitches -> points
+    static final int OVERLAY_DEPTH = 4;
+
+    @NonNull
+    private final CragsDao cragsDao;
+    @NonNull
+    private final CragNotFoundExceptionFactory cragNotFoundExceptionFactory;
+    @NonNull
+    private final RecursiveResourceRetriever<Wall, Crag> recursiveWallRetriever;
+    @NonNull
+    private final CragOverlayEncoder cragOverlayEncoder;
+    @NonNull
+    private final Cache<String, byte[]> overlayCache;
+
+    public byte[] getOverlay(@NonNull String cragId) throws ResourceNotFoundException {
+        byte[] overlay = overlayCache.getIfPresent(cragId);
+        if (overlay != null) {
+            return overlay;
+        }
+        cragsDao.getResource(cragId)
+                .orElseThrow(() -> cragNotFoundExceptionFactory.create(cragId));
+        overlay = cragOverlayEncoder.encode(recursiveWallRetriever.getChildrenRecursively(cragId, OVERLAY_DEPTH));
+        overlayCache.put(cragId, overlay);
+        return overlay;
+    }
+
+    public void invalidate(@NonNull String cragId) {
+        overlayCache.invalidate(cragId);
+    }
+}
@@ -1,6 +1,7 @@
 package com.climbassist.api.resource.crag;
 
 import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBTypeConverter;
+import com.amazonaws.services.dynamodbv2.model.AttributeValue;
 import com.climbassist.api.resource.common.GenericTypeConverter;
 import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.core.type.TypeReference;
@@ -20,16 +21,19 @@ import javax.validation.constraints.NotNull;
 @NoArgsConstructor
 public class Location {
 
-    public static class TypeConverter implements DynamoDBTypeConverter<String, Location> {
+    public static class TypeConverter implements DynamoDBTypeConverter<AttributeValue, Location> {
+
+        private static final GenericTypeConverter<Location> GENERIC_TYPE_CONVERTER =
+                new GenericTypeConverter<>(new TypeReference<Location>() {});
 
         @Override
-        public String convert(Location location) {
-            return GenericTypeConverter.convert(location);
+        public AttributeValue convert(Location location) {
+            return GENERIC_TYPE_CONVERTER.convert(location);
         }
 
         @Override
-        public Location unconvert(String location) {
-            return GenericTypeConverter.unconvert(location, new TypeReference<Location>() {});
+        public Location unconvert(AttributeValue location) {
+            return GENERIC_TYPE_CONVERTER.unconvert(location);
         }
     }
 
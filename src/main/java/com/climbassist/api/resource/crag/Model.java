@@ -1,6 +1,7 @@
 package com.climbassist.api.resource.crag;
 
 import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBTypeConverter;
+import com.amazonaws.services.dynamodbv2.model.AttributeValue;
 import com.climbassist.api.resource.common.GenericTypeConverter;
 import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.core.type.TypeReference;
@@ -23,16 +24,19 @@ import javax.validation.constraints.Size;
 @NoArgsConstructor
 public class Model {
 
-    public static class TypeConverter implements DynamoDBTypeConverter<String, Model> {
+    public static class TypeConverter implements DynamoDBTypeConverter<AttributeValue, Model> {
+
+        private static final GenericTypeConverter<Model> GENERIC_TYPE_CONVERTER =
+                new GenericTypeConverter<>(new TypeReference<Model>() {});
 
         @Override
-        public String convert(Model model) {
-            return GenericTypeConverter.convert(model);
+        public AttributeValue convert(Model model) {
+            return GENERIC_TYPE_CONVERTER.convert(model);
         }
 
         @Override
-        public Model unconvert(String model) {
-            return GenericTypeConverter.unconvert(model, new TypeReference<Model>() {});
+        public Model unconvert(AttributeValue model) {
+            return GENERIC_TYPE_CONVERTER.unconvert(model);
         }
     }
 
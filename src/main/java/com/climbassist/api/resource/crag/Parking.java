@@ -1,6 +1,7 @@
 package com.climbassist.api.resource.crag;
 
 import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBTypeConverter;
+import com.amazonaws.services.dynamodbv2.model.AttributeValue;
 import com.climbassist.api.resource.common.GenericTypeConverter;
 import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.core.type.TypeReference;
@@ -21,16 +22,19 @@ import java.util.Set;
 @NoArgsConstructor
 public class Parking {
 
-    public static class SetTypeConverter implements DynamoDBTypeConverter<String, Set<Parking>> {
+    public static class SetTypeConverter implements DynamoDBTypeConverter<AttributeValue, Set<Parking>> {
+
+        private static final GenericTypeConverter<Set<Parking>> GENERIC_TYPE_CONVERTER =
+                new GenericTypeConverter<>(new TypeReference<Set<Parking>>() {});
 
         @Override
-        public String convert(Set<Parking> parking) {
-            return GenericTypeConverter.convert(parking);
+        public AttributeValue convert(Set<Parking> parking) {
+            return GENERIC_TYPE_CONVERTER.convert(parking);
         }
 
         @Override
-        public Set<Parking> unconvert(String parking) {
-            return GenericTypeConverter.unconvert(parking, new TypeReference<Set<Parking>>() {});
+        public Set<Parking> unconvert(AttributeValue parking) {
+            return GENERIC_TYPE_CONVERTER.unconvert(parking);
         }
     }
 
@@ -54,6 +54,10 @@ public class PathConfiguration {
                                 .recursiveResourceRetrievers(ImmutableSet.of(recursiveResourceRetriever))
                                 .resourceNotEmptyExceptionFactory(new PathNotEmptyExceptionFactory())
                                 .build())
+                .pathGeometryFactory(PathGeometryFactory.builder()
+                        .polylineSimplifier(new PolylineSimplifier())
+                        .polylineEncoder(new PolylineEncoder())
+                        .build())
                 .build();
     }
 }
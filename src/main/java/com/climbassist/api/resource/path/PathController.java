@@ -11,9 +11,11 @@ import com.climbassist.api.resource.common.UpdateResourceResult;
 import com.climbassist.api.resource.common.ValidDepth;
 import com.climbassist.api.resource.crag.Crag;
 import com.climbassist.api.resource.crag.ValidCragId;
+import com.climbassist.api.resource.pathpoint.PathPoint;
 import com.climbassist.api.user.authorization.AdministratorAuthorizationHandler;
 import com.climbassist.api.user.authorization.Authorization;
 import com.climbassist.metrics.Metrics;
+import com.google.common.collect.ImmutableList;
 import lombok.Builder;
 import lombok.NonNull;
 import lombok.extern.slf4j.Slf4j;
@@ -26,6 +28,7 @@ import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import javax.validation.Valid;
+import java.util.List;
 import java.util.Set;
 
 @Builder
@@ -40,6 +43,8 @@ public class PathController {
     private final ResourceWithParentControllerDelegate<Path, NewPath, Crag> resourceWithParentControllerDelegate;
     @NonNull
     private final ResourceWithChildrenControllerDelegate<Path, NewPath> resourceWithChildrenControllerDelegate;
+    @NonNull
+    private final PathGeometryFactory pathGeometryFactory;
 
     @Metrics(api = "GetPath")
     @RequestMapping(path = "/v1/paths/{pathId}", method = RequestMethod.GET)
@@ -49,6 +54,17 @@ public class PathController {
         return resourceWithChildrenControllerDelegate.getResource(pathId, depth);
     }
 
+    @Metrics(api = "GetPathGeometry")
+    @RequestMapping(path = "/v1/paths/{pathId}/geometry", method = RequestMethod.GET)
+    public PathGeometry getGeometry(@ValidPathId @NonNull @PathVariable String pathId,
+                                    @ValidZoom @RequestParam(required = false, defaultValue = "22") int zoom)
+            throws ResourceNotFoundException {
+        // a depth of 1 retrieves the path points already in order
+        List<PathPoint> pathPoints = resourceWithChildrenControllerDelegate.getResource(pathId, 1)
+                .getPathPoints();
+        return pathGeometryFactory.create(pathId, pathPoints == null ? ImmutableList.of() : pathPoints, zoom);
+    }
+
     @Metrics(api = "ListPaths")
     @RequestMapping(path = "/v1/crags/{cragId}/paths", method = RequestMethod.GET)
     public Set<Path> getResourcesForParent(@ValidCragId @NonNull @PathVariable String cragId)
@@ -0,0 +1,22 @@
+package com.climbassist.api.resource.path;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Compact representation of the ordered path points of a path, suitable for rendering on a map. The polyline is
+ * simplified for the requested zoom level and encoded using the encoded polyline algorithm format.
+ */
+@AllArgsConstructor // required for @Builder, because of a bug
+@Builder
+@Data
+@NoArgsConstructor
+public class PathGeometry {
+
+    private String pathId;
+    private int zoom;
+    private int pointCount;
+    private String encodedPolyline;
+}
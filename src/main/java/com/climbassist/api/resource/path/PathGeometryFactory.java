@@ -0,0 +1,41 @@
+package com.climbassist.api.resource.path;
+
+import com.climbassist.api.resource.pathpoint.PathPoint;
+import lombok.Builder;
+import lombok.NonNull;
+
+import java.util.List;
+
+@Builder
+public class PathGeometryFactory {
+
+    static final int MIN_ZOOM = 0;
+    static final int MAX_ZOOM = 22;
+
+    // degrees of longitude covered by a single 256 pixel web mercator tile at zoom level 0
+    private static final double DEGREES_PER_PIXEL_AT_ZOOM_0 = 360.0 / 256;
+
+    @NonNull
+    private final PolylineSimplifier polylineSimplifier;
+    @NonNull
+    private final PolylineEncoder polylineEncoder;
+
+    public PathGeometry create(@NonNull String pathId, @NonNull List<PathPoint> orderedPathPoints, int zoom) {
+        if (zoom < MIN_ZOOM || zoom > MAX_ZOOM) {
+            throw new IllegalArgumentException(
+                    String.format("Zoom must be between %d and %d.", MIN_ZOOM, MAX_ZOOM));
+        }
+        List<PathPoint> simplifiedPathPoints = polylineSimplifier.simplify(orderedPathPoints, getTolerance(zoom));
+        return PathGeometry.builder()
+                .pathId(pathId)
+                .zoom(zoom)
+                .pointCount(simplifiedPathPoints.size())
+                .encodedPolyline(polylineEncoder.encode(simplifiedPathPoints))
+                .build();
+    }
+
+    // anything that moves the line by less than half a pixel at this zoom level can't be seen, so it can be dropped
+    static double getTolerance(int zoom) {
+        return DEGREES_PER_PIXEL_AT_ZOOM_0 / (1L << zoom) / 2;
+    }
+}
@@ -0,0 +1,40 @@
+package com.climbassist.api.resource.path;
+
+import com.climbassist.api.resource.pathpoint.PathPoint;
+import lombok.NonNull;
+
+import java.util.List;
+
+/**
+ * Encodes an ordered polyline using the encoded polyline algorithm format with a precision of 5 decimal places. Each
+ * coordinate is stored as a zigzag-encoded delta from the previous one, split into 5-bit chunks, which is what map
+ * libraries expect.
+ */
+public class PolylineEncoder {
+
+    static final double PRECISION = 1e5;
+
+    public String encode(@NonNull List<PathPoint> pathPoints) {
+        StringBuilder encodedPolyline = new StringBuilder(pathPoints.size() * 8);
+        long previousLatitude = 0;
+        long previousLongitude = 0;
+        for (PathPoint pathPoint : pathPoints) {
+            long latitude = Math.round(pathPoint.getLatitude() * PRECISION);
+            long longitude = Math.round(pathPoint.getLongitude() * PRECISION);
+            encodeValue(latitude - previousLatitude, encodedPolyline);
+            encodeValue(longitude - previousLongitude, encodedPolyline);
+            previousLatitude = latitude;
+            previousLongitude = longitude;
+        }
+        return encodedPolyline.toString();
+    }
+
+    private static void encodeValue(long value, StringBuilder encodedPolyline) {
+        long shiftedValue = value < 0 ? ~(value << 1) : value << 1;
+        while (shiftedValue >= 0x20) {
+            encodedPolyline.append((char) ((0x20 | (shiftedValue & 0x1f)) + 63));
+            shiftedValue >>= 5;
+        }
+        encodedPolyline.append((char) (shiftedValue + 63));
+    }
+}
@@ -0,0 +1,74 @@
+package com.climbassist.api.resource.path;
+
+import com.climbassist.api.resource.pathpoint.PathPoint;
+import lombok.NonNull;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * Simplifies an ordered polyline using the Douglas-Peucker algorithm. Distances are measured in degrees, treating
+ * latitude and longitude as planar coordinates, which is accurate enough at the scale of an approach trail.
+ */
+public class PolylineSimplifier {
+
+    public List<PathPoint> simplify(@NonNull List<PathPoint> pathPoints, double tolerance) {
+        if (tolerance < 0) {
+            throw new IllegalArgumentException("Tolerance must be greater than or equal to 0.");
+        }
+        if (pathPoints.size() < 3) {
+            return new ArrayList<>(pathPoints);
+        }
+
+        boolean[] kept = new boolean[pathPoints.size()];
+        kept[0] = true;
+        kept[pathPoints.size() - 1] = true;
+
+        // this is done iteratively rather than recursively so that very long paths can't overflow the stack
+        Deque<int[]> segments = new ArrayDeque<>();
+        segments.push(new int[]{0, pathPoints.size() - 1});
+        while (!segments.isEmpty()) {
+            int[] segment = segments.pop();
+            int start = segment[0];
+            int end = segment[1];
+            double maxDistance = -1;
+            int farthestIndex = -1;
+            for (int i = start + 1; i < end; ++i) {
+                double distance = getPerpendicularDistance(pathPoints.get(i), pathPoints.get(start),
+                        pathPoints.get(end));
+                if (distance > maxDistance) {
+                    maxDistance = distance;
+                    farthestIndex = i;
+                }
+            }
+            if (farthestIndex != -1 && maxDistance > tolerance) {
+                kept[farthestIndex] = true;
+                segments.push(new int[]{start, farthestIndex});
+                segments.push(new int[]{farthestIndex, end});
+            }
+        }
+
+        List<PathPoint> simplifiedPathPoints = new ArrayList<>();
+        for (int i = 0; i < pathPoints.size(); ++i) {
+            if (kept[i]) {
+                simplifiedPathPoints.add(pathPoints.get(i));
+            }
+        }
+        return simplifiedPathPoints;
+    }
+
+    private static double getPerpendicularDistance(PathPoint pathPoint, PathPoint lineStart, PathPoint lineEnd) {
+        double deltaLongitude = lineEnd.getLongitude() - lineStart.getLongitude();
+        double deltaLatitude = lineEnd.getLatitude() - lineStart.getLatitude();
+        double lengthSquared = deltaLongitude * deltaLongitude + deltaLatitude * deltaLatitude;
+        if (lengthSquared == 0) {
+            return Math.hypot(pathPoint.getLongitude() - lineStart.getLongitude(),
+                    pathPoint.getLatitude() - lineStart.getLatitude());
+        }
+        return Math.abs(deltaLatitude * pathPoint.getLongitude() - deltaLongitude * pathPoint.getLatitude() +
+                lineEnd.getLongitude() * lineStart.getLatitude() - lineEnd.getLatitude() * lineStart.getLongitude()) /
+                Math.sqrt(lengthSquared);
+    }
+}
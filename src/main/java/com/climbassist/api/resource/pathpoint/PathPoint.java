@@ -3,8 +3,10 @@ package com.climbassist.api.resource.pathpoint;
 import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBHashKey;
 import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBIgnore;
 import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBIndexHashKey;
+import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBIndexRangeKey;
 import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBTable;
 import com.climbassist.api.resource.common.ordering.OrderableResourceWithParent;
+import com.climbassist.api.resource.common.ordering.ValidPosition;
 import com.climbassist.api.resource.path.Path;
 import com.climbassist.api.resource.pitch.ValidPitchId;
 import com.climbassist.api.resource.point.ValidNextPointId;
@@ -33,12 +35,14 @@ import javax.validation.constraints.NotNull;
 public class PathPoint implements OrderableResourceWithParent<PathPoint, Path> {
 
     public static final String GLOBAL_SECONDARY_INDEX_NAME = "PathIndex";
+    public static final String POSITION_GLOBAL_SECONDARY_INDEX_NAME = "PathPositionIndex";
 
     @DynamoDBHashKey
     @ValidPointId
     private String pathPointId;
 
-    @DynamoDBIndexHashKey(globalSecondaryIndexName = GLOBAL_SECONDARY_INDEX_NAME)
+    @DynamoDBIndexHashKey(globalSecondaryIndexNames = {GLOBAL_SECONDARY_INDEX_NAME,
+            POSITION_GLOBAL_SECONDARY_INDEX_NAME})
     @ValidPitchId
     private String pathId;
 
@@ -60,6 +64,11 @@ public class PathPoint implements OrderableResourceWithParent<PathPoint, Path> {
     @Nullable
     private String next;
 
+    @DynamoDBIndexRangeKey(globalSecondaryIndexName = POSITION_GLOBAL_SECONDARY_INDEX_NAME)
+    @Nullable
+    @ValidPosition
+    private String position;
+
     @DynamoDBIgnore
     @JsonIgnore
     @Override
@@ -7,7 +7,9 @@ import com.climbassist.api.resource.common.ResourceIdGenerator;
 import com.climbassist.api.resource.common.ResourceNotFoundExceptionFactoryConfiguration;
 import com.climbassist.api.resource.common.ResourceWithParentControllerDelegate;
 import com.climbassist.api.resource.common.batch.BatchResourceWithParentControllerDelegate;
-import com.climbassist.api.resource.common.ordering.OrderableListBuilder;
+import com.climbassist.api.resource.common.ordering.OrderedResourceRetriever;
+import com.climbassist.api.resource.common.ordering.ResourceReorderer;
+import com.climbassist.api.resource.common.ordering.ResourceReordererConfiguration;
 import com.climbassist.api.resource.common.recursion.RecursiveResourceRetrieverConfiguration;
 import com.climbassist.api.resource.path.Path;
 import com.climbassist.api.resource.path.PathNotFoundExceptionFactory;
@@ -20,7 +22,7 @@ import org.springframework.context.annotation.Import;
 
 @Configuration
 @Import({CommonConfiguration.class, CommonDaoConfiguration.class, RecursiveResourceRetrieverConfiguration.class,
-        ResourceNotFoundExceptionFactoryConfiguration.class})
+        ResourceNotFoundExceptionFactoryConfiguration.class, ResourceReordererConfiguration.class})
 public class PathPointConfiguration {
 
     @Bean
@@ -28,7 +30,8 @@ public class PathPointConfiguration {
                                                    @NonNull ResourceIdGenerator resourceIdGenerator,
                                                    @NonNull PathPointNotFoundExceptionFactory pathPointNotFoundExceptionFactory,
                                                    @NonNull PathNotFoundExceptionFactory pathNotFoundExceptionFactory,
-                                                   @NonNull OrderableListBuilder<PathPoint, Path> orderableListBuilder) {
+                                                   @NonNull OrderedResourceRetriever<PathPoint, Path> orderedResourceRetriever,
+                                                   @NonNull ResourceReorderer<PathPoint, Path> resourceReorderer) {
         PathPointFactory pathPointFactory = PathPointFactory.builder()
                 .resourceIdGenerator(resourceIdGenerator)
                 .build();
@@ -52,7 +55,8 @@ public class PathPointConfiguration {
                 .orderableResourceWithParentControllerDelegate(
                         OrderableResourceWithParentControllerDelegate.<PathPoint, NewPathPoint, Path>builder().resourceWithParentControllerDelegate(
                                 resourceWithParentControllerDelegate)
-                                .orderableListBuilder(orderableListBuilder)
+                                .orderedResourceRetriever(orderedResourceRetriever)
+                                .resourceReorderer(resourceReorderer)
                                 .build())
                 .batchResourceWithParentControllerDelegate(
                         BatchResourceWithParentControllerDelegate.<PathPoint, NewPathPoint, Path, BatchNewPathPoint>builder().resourceControllerDelegate(
@@ -10,6 +10,7 @@ import com.climbassist.api.resource.common.UpdateResourceResult;
 import com.climbassist.api.resource.common.batch.BatchCreateResourcesResult;
 import com.climbassist.api.resource.common.batch.BatchResourceWithParentControllerDelegate;
 import com.climbassist.api.resource.common.ordering.InvalidOrderingException;
+import com.climbassist.api.resource.common.ordering.ReorderResourcesRequest;
 import com.climbassist.api.resource.path.Path;
 import com.climbassist.api.resource.path.ValidPathId;
 import com.climbassist.api.user.authorization.AdministratorAuthorizationHandler;
@@ -62,6 +63,15 @@ public class PathPointController {
         return orderableResourceWithParentControllerDelegate.getResourcesForParent(pathId, ordered);
     }
 
+    @Metrics(api = "ReorderPathPoints")
+    @Authorization(AdministratorAuthorizationHandler.class)
+    @RequestMapping(path = "/v1/paths/{pathId}/path-points/order", method = RequestMethod.POST)
+    public UpdateResourceResult reorderResources(@ValidPathId @NonNull @PathVariable String pathId,
+                                                 @NonNull @Valid @RequestBody ReorderResourcesRequest reorderResourcesRequest)
+            throws InvalidOrderingException, ResourceNotFoundException {
+        return orderableResourceWithParentControllerDelegate.reorderResources(pathId, reorderResourcesRequest);
+    }
+
     @Metrics(api = "CreatePathPoint")
     @Authorization(AdministratorAuthorizationHandler.class)
     @RequestMapping(path = "/v1/path-points", method = RequestMethod.PUT)
@@ -1,12 +1,14 @@
 package com.climbassist.api.resource.pathpoint;
 
-import com.climbassist.api.resource.common.ResourceWithParentDao;
+import com.climbassist.api.resource.common.OrderableResourceWithParentDao;
 import com.climbassist.api.resource.path.Path;
 import lombok.NonNull;
 import lombok.experimental.SuperBuilder;
 
+import javax.annotation.Nullable;
+
 @SuperBuilder
-public class PathPointsDao extends ResourceWithParentDao<PathPoint, Path> {
+public class PathPointsDao extends OrderableResourceWithParentDao<PathPoint, Path> {
 
     @Override
     protected PathPoint buildResourceForDeletion(@NonNull String resourceId) {
@@ -27,6 +29,22 @@ public class PathPointsDao extends ResourceWithParentDao<PathPoint, Path> {
         return PathPoint.GLOBAL_SECONDARY_INDEX_NAME;
     }
 
+    @Override
+    protected void setOrdering(@NonNull PathPoint pathPoint, boolean first, @Nullable String next) {
+        pathPoint.setFirst(first);
+        pathPoint.setNext(next);
+    }
+
+    @Override
+    protected String getIdAttributeName() {
+        return "pathPointId";
+    }
+
+    @Override
+    protected String getPositionIndexName() {
+        return PathPoint.POSITION_GLOBAL_SECONDARY_INDEX_NAME;
+    }
+
     @Override
     protected Class<PathPoint> getResourceTypeClass() {
         return PathPoint.class;
@@ -1,6 +1,7 @@
 package com.climbassist.api.resource.pitch;
 
 import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBTypeConverter;
+import com.amazonaws.services.dynamodbv2.model.AttributeValue;
 import com.climbassist.api.resource.common.GenericTypeConverter;
 import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.core.type.TypeReference;
@@ -20,16 +21,19 @@ import javax.validation.constraints.NotNull;
 @NoArgsConstructor
 public class Anchors {
 
-    public static class TypeConverter implements DynamoDBTypeConverter<String, Anchors> {
+    public static class TypeConverter implements DynamoDBTypeConverter<AttributeValue, Anchors> {
+
+        private static final GenericTypeConverter<Anchors> GENERIC_TYPE_CONVERTER =
+                new GenericTypeConverter<>(new TypeReference<Anchors>() {});
 
         @Override
-        public String convert(Anchors anchors) {
-            return GenericTypeConverter.convert(anchors);
+        public AttributeValue convert(Anchors anchors) {
+            return GENERIC_TYPE_CONVERTER.convert(anchors);
         }
 
         @Override
-        public Anchors unconvert(String anchors) {
-            return GenericTypeConverter.unconvert(anchors, new TypeReference<Anchors>() {});
+        public Anchors unconvert(AttributeValue anchors) {
+            return GENERIC_TYPE_CONVERTER.unconvert(anchors);
         }
     }
 
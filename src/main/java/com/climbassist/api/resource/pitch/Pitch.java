@@ -3,12 +3,15 @@ package com.climbassist.api.resource.pitch;
 import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBHashKey;
 import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBIgnore;
 import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBIndexHashKey;
+import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBIndexRangeKey;
 import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBTable;
 import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBTypeConverted;
 import com.climbassist.api.resource.common.InvalidChildException;
 import com.climbassist.api.resource.common.ResourceWithParent;
 import com.climbassist.api.resource.common.ValidDescription;
+import com.climbassist.api.resource.common.compression.Compressed;
 import com.climbassist.api.resource.common.ordering.OrderableResourceWithParentAndChildren;
+import com.climbassist.api.resource.common.ordering.ValidPosition;
 import com.climbassist.api.resource.grade.ValidDanger;
 import com.climbassist.api.resource.grade.ValidGrade;
 import com.climbassist.api.resource.grade.ValidGradeModifier;
@@ -37,15 +40,18 @@ import java.util.List;
 public class Pitch implements OrderableResourceWithParentAndChildren<Pitch, Route> {
 
     public static final String GLOBAL_SECONDARY_INDEX_NAME = "RouteIndex";
+    public static final String POSITION_GLOBAL_SECONDARY_INDEX_NAME = "RoutePositionIndex";
 
     @DynamoDBHashKey
     @ValidPitchId
     private String pitchId;
 
-    @DynamoDBIndexHashKey(globalSecondaryIndexName = GLOBAL_SECONDARY_INDEX_NAME)
+    @DynamoDBIndexHashKey(globalSecondaryIndexNames = {GLOBAL_SECONDARY_INDEX_NAME,
+            POSITION_GLOBAL_SECONDARY_INDEX_NAME})
     @ValidRouteId
     private String routeId;
 
+    @Compressed
     @ValidDescription
     private String description;
 
@@ -76,6 +82,11 @@ public class Pitch implements OrderableResourceWithParentAndChildren<Pitch, Rout
     @Nullable
     private String next;
 
+    @DynamoDBIndexRangeKey(globalSecondaryIndexName = POSITION_GLOBAL_SECONDARY_INDEX_NAME)
+    @Nullable
+    @ValidPosition
+    private String position;
+
     @DynamoDBIgnore
     private List<Point> points;
 
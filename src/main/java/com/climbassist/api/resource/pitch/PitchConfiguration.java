@@ -6,7 +6,9 @@ import com.climbassist.api.resource.common.ResourceControllerDelegate;
 import com.climbassist.api.resource.common.ResourceIdGenerator;
 import com.climbassist.api.resource.common.ResourceWithChildrenControllerDelegate;
 import com.climbassist.api.resource.common.ResourceWithParentControllerDelegate;
-import com.climbassist.api.resource.common.ordering.OrderableListBuilder;
+import com.climbassist.api.resource.common.ordering.OrderedResourceRetriever;
+import com.climbassist.api.resource.common.ordering.ResourceReorderer;
+import com.climbassist.api.resource.common.ordering.ResourceReordererConfiguration;
 import com.climbassist.api.resource.common.recursion.RecursiveResourceRetriever;
 import com.climbassist.api.resource.common.recursion.RecursiveResourceRetrieverConfiguration;
 import com.climbassist.api.resource.point.Point;
@@ -22,7 +24,7 @@ import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Import;
 
 @Configuration
-@Import({CommonConfiguration.class, CommonDaoConfiguration.class, RecursiveResourceRetrieverConfiguration.class})
+@Import({CommonConfiguration.class, CommonDaoConfiguration.class, RecursiveResourceRetrieverConfiguration.class, ResourceReordererConfiguration.class})
 public class PitchConfiguration {
 
     @Bean
@@ -31,7 +33,9 @@ public class PitchConfiguration {
                                            @NonNull ResourceIdGenerator resourceIdGenerator,
                                            @NonNull PitchNotFoundExceptionFactory pitchNotFoundExceptionFactory,
                                            @NonNull RouteNotFoundExceptionFactory routeNotFoundExceptionFactory,
-                                           @NonNull RecursiveResourceRetriever<Point, Pitch> recursiveResourceRetriever) {
+                                           @NonNull RecursiveResourceRetriever<Point, Pitch> recursiveResourceRetriever,
+                                           @NonNull OrderedResourceRetriever<Pitch, Route> orderedResourceRetriever,
+                                           @NonNull ResourceReorderer<Pitch, Route> resourceReorderer) {
         PitchFactory pitchFactory = PitchFactory.builder()
                 .resourceIdGenerator(resourceIdGenerator)
                 .build();
@@ -53,7 +57,8 @@ public class PitchConfiguration {
                 .orderableResourceWithParentControllerDelegate(
                         OrderableResourceWithParentControllerDelegate.<Pitch, NewPitch, Route>builder().resourceWithParentControllerDelegate(
                                 resourceWithParentControllerDelegate)
-                                .orderableListBuilder(new OrderableListBuilder<>())
+                                .orderedResourceRetriever(orderedResourceRetriever)
+                                .resourceReorderer(resourceReorderer)
                                 .build())
                 .resourceWithChildrenControllerDelegate(
                         ResourceWithChildrenControllerDelegate.<Pitch, NewPitch>builder().childResourceDaos(
@@ -9,6 +9,7 @@ import com.climbassist.api.resource.common.ResourceWithChildrenControllerDelegat
 import com.climbassist.api.resource.common.UpdateResourceResult;
 import com.climbassist.api.resource.common.ValidDepth;
 import com.climbassist.api.resource.common.ordering.InvalidOrderingException;
+import com.climbassist.api.resource.common.ordering.ReorderResourcesRequest;
 import com.climbassist.api.resource.grade.Grade;
 import com.climbassist.api.resource.grade.GradeSorter;
 import com.climbassist.api.resource.point.PointsDao;
@@ -83,6 +84,15 @@ public class PitchController {
         return orderableResourceWithParentControllerDelegate.getResourcesForParent(routeId, ordered);
     }
 
+    @Metrics(api = "ReorderPitches")
+    @Authorization(AdministratorAuthorizationHandler.class)
+    @RequestMapping(path = "/v1/routes/{routeId}/pitches/order", method = RequestMethod.POST)
+    public UpdateResourceResult reorderResources(@ValidRouteId @NonNull @PathVariable String routeId,
+                                                 @NonNull @Valid @RequestBody ReorderResourcesRequest reorderResourcesRequest)
+            throws InvalidOrderingException, ResourceNotFoundException {
+        return orderableResourceWithParentControllerDelegate.reorderResources(routeId, reorderResourcesRequest);
+    }
+
     @Metrics(api = "CreatePitch")
     @Authorization(AdministratorAuthorizationHandler.class)
     @RequestMapping(path = "/v1/pitches", method = RequestMethod.PUT)
@@ -1,12 +1,14 @@
 package com.climbassist.api.resource.pitch;
 
-import com.climbassist.api.resource.common.ResourceWithParentDao;
+import com.climbassist.api.resource.common.OrderableResourceWithParentDao;
 import com.climbassist.api.resource.route.Route;
 import lombok.NonNull;
 import lombok.experimental.SuperBuilder;
 
+import javax.annotation.Nullable;
+
 @SuperBuilder
-public class PitchesDao extends ResourceWithParentDao<Pitch, Route> { // pitches ain't shit
+public class PitchesDao extends OrderableResourceWithParentDao<Pitch, Route> { // pitches ain't shit
 
     @Override
     protected Pitch buildResourceForDeletion(@NonNull String resourceId) {
@@ -27,6 +29,22 @@ public class PitchesDao extends ResourceWithParentDao<Pitch, Route> { // pitches
         return Pitch.GLOBAL_SECONDARY_INDEX_NAME;
     }
 
+    @Override
+    protected void setOrdering(@NonNull Pitch pitch, boolean first, @Nullable String next) {
+        pitch.setFirst(first);
+        pitch.setNext(next);
+    }
+
+    @Override
+    protected String getIdAttributeName() {
+        return "pitchId";
+    }
+
+    @Override
+    protected String getPositionIndexName() {
+        return Pitch.POSITION_GLOBAL_SECONDARY_INDEX_NAME;
+    }
+
     @Override
     protected Class<Pitch> getResourceTypeClass() {
         return Pitch.class;
@@ -3,8 +3,10 @@ package com.climbassist.api.resource.point;
 import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBHashKey;
 import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBIgnore;
 import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBIndexHashKey;
+import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBIndexRangeKey;
 import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBTable;
 import com.climbassist.api.resource.common.ordering.OrderableResourceWithParent;
+import com.climbassist.api.resource.common.ordering.ValidPosition;
 import com.climbassist.api.resource.pitch.Pitch;
 import com.climbassist.api.resource.pitch.ValidPitchId;
 import com.fasterxml.jackson.annotation.JsonIgnore;
@@ -25,12 +27,14 @@ import javax.annotation.Nullable;
 public class Point implements OrderableResourceWithParent<Point, Pitch> {
 
     public static final String GLOBAL_SECONDARY_INDEX_NAME = "PitchIndex";
+    public static final String POSITION_GLOBAL_SECONDARY_INDEX_NAME = "PitchPositionIndex";
 
     @DynamoDBHashKey
     @ValidPointId
     private String pointId;
 
-    @DynamoDBIndexHashKey(globalSecondaryIndexName = GLOBAL_SECONDARY_INDEX_NAME)
+    @DynamoDBIndexHashKey(globalSecondaryIndexNames = {GLOBAL_SECONDARY_INDEX_NAME,
+            POSITION_GLOBAL_SECONDARY_INDEX_NAME})
     @ValidPitchId
     private String pitchId;
 
@@ -51,6 +55,11 @@ public class Point implements OrderableResourceWithParent<Point, Pitch> {
     @Nullable
     private String next;
 
+    @DynamoDBIndexRangeKey(globalSecondaryIndexName = POSITION_GLOBAL_SECONDARY_INDEX_NAME)
+    @Nullable
+    @ValidPosition
+    private String position;
+
     @DynamoDBIgnore
     @JsonIgnore
     @Override
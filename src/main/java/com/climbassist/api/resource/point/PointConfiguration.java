@@ -6,7 +6,9 @@ import com.climbassist.api.resource.common.ResourceControllerDelegate;
 import com.climbassist.api.resource.common.ResourceIdGenerator;
 import com.climbassist.api.resource.common.ResourceWithParentControllerDelegate;
 import com.climbassist.api.resource.common.batch.BatchResourceWithParentControllerDelegate;
-import com.climbassist.api.resource.common.ordering.OrderableListBuilder;
+import com.climbassist.api.resource.common.ordering.OrderedResourceRetriever;
+import com.climbassist.api.resource.common.ordering.ResourceReorderer;
+import com.climbassist.api.resource.common.ordering.ResourceReordererConfiguration;
 import com.climbassist.api.resource.pitch.Pitch;
 import com.climbassist.api.resource.pitch.PitchNotFoundExceptionFactory;
 import com.climbassist.api.resource.pitch.PitchesDao;
@@ -17,14 +19,16 @@ import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Import;
 
 @Configuration
-@Import({CommonConfiguration.class, CommonDaoConfiguration.class})
+@Import({CommonConfiguration.class, CommonDaoConfiguration.class, ResourceReordererConfiguration.class})
 public class PointConfiguration {
 
     @Bean
     public PointController pointController(@NonNull PointsDao pointsDao, @NonNull PitchesDao pitchesDao,
                                            @NonNull ResourceIdGenerator resourceIdGenerator,
                                            @NonNull PointNotFoundExceptionFactory pointNotFoundExceptionFactory,
-                                           @NonNull PitchNotFoundExceptionFactory pitchNotFoundExceptionFactory) {
+                                           @NonNull PitchNotFoundExceptionFactory pitchNotFoundExceptionFactory,
+                                           @NonNull OrderedResourceRetriever<Point, Pitch> orderedResourceRetriever,
+                                           @NonNull ResourceReorderer<Point, Pitch> resourceReorderer) {
         PointFactory pointFactory = PointFactory.builder()
                 .resourceIdGenerator(resourceIdGenerator)
                 .build();
@@ -47,7 +51,8 @@ public class PointConfiguration {
                 .orderableResourceWithParentControllerDelegate(
                         OrderableResourceWithParentControllerDelegate.<Point, NewPoint, Pitch>builder().resourceWithParentControllerDelegate(
                                 resourceWithParentControllerDelegate)
-                                .orderableListBuilder(new OrderableListBuilder<>())
+                                .orderedResourceRetriever(orderedResourceRetriever)
+                                .resourceReorderer(resourceReorderer)
                                 .build())
                 .batchResourceWithParentControllerDelegate(
                         BatchResourceWithParentControllerDelegate.<Point, NewPoint, Pitch, BatchNewPoint>builder().resourceControllerDelegate(
@@ -10,6 +10,7 @@ import com.climbassist.api.resource.common.UpdateResourceResult;
 import com.climbassist.api.resource.common.batch.BatchCreateResourcesResult;
 import com.climbassist.api.resource.common.batch.BatchResourceWithParentControllerDelegate;
 import com.climbassist.api.resource.common.ordering.InvalidOrderingException;
+import com.climbassist.api.resource.common.ordering.ReorderResourcesRequest;
 import com.climbassist.api.resource.pitch.Pitch;
 import com.climbassist.api.resource.pitch.ValidPitchId;
 import com.climbassist.api.user.authorization.AdministratorAuthorizationHandler;
@@ -58,6 +59,15 @@ public class PointController {
         return orderableResourceWithParentControllerDelegate.getResourcesForParent(pitchId, ordered);
     }
 
+    @Metrics(api = "ReorderPoints")
+    @Authorization(AdministratorAuthorizationHandler.class)
+    @RequestMapping(path = "/v1/pitches/{pitchId}/points/order", method = RequestMethod.POST)
+    public UpdateResourceResult reorderResources(@ValidPitchId @NonNull @PathVariable String pitchId,
+                                                 @NonNull @Valid @RequestBody ReorderResourcesRequest reorderResourcesRequest)
+            throws InvalidOrderingException, ResourceNotFoundException {
+        return orderableResourceWithParentControllerDelegate.reorderResources(pitchId, reorderResourcesRequest);
+    }
+
     @Metrics(api = "CreatePoint")
     @Authorization(AdministratorAuthorizationHandler.class)
     @RequestMapping(path = "/v1/points", method = RequestMethod.PUT)
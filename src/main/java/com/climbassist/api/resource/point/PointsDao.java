@@ -1,12 +1,14 @@
 package com.climbassist.api.resource.point;
 
-import com.climbassist.api.resource.common.ResourceWithParentDao;
+import com.climbassist.api.resource.common.OrderableResourceWithParentDao;
 import com.climbassist.api.resource.pitch.Pitch;
 import lombok.NonNull;
 import lombok.experimental.SuperBuilder;
 
+import javax.annotation.Nullable;
+
 @SuperBuilder
-public class PointsDao extends ResourceWithParentDao<Point, Pitch> {
+public class PointsDao extends OrderableResourceWithParentDao<Point, Pitch> {
 
     @Override
     protected Point buildResourceForDeletion(@NonNull String resourceId) {
@@ -27,6 +29,22 @@ public class PointsDao extends ResourceWithParentDao<Point, Pitch> {
         return Point.GLOBAL_SECONDARY_INDEX_NAME;
     }
 
+    @Override
+    protected void setOrdering(@NonNull Point point, boolean first, @Nullable String next) {
+        point.setFirst(first);
+        point.setNext(next);
+    }
+
+    @Override
+    protected String getIdAttributeName() {
+        return "pointId";
+    }
+
+    @Override
+    protected String getPositionIndexName() {
+        return Point.POSITION_GLOBAL_SECONDARY_INDEX_NAME;
+    }
+
     @Override
     protected Class<Point> getResourceTypeClass() {
         return Point.class;
@@ -1,6 +1,7 @@
 package com.climbassist.api.resource.route;
 
 import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBTypeConverter;
+import com.amazonaws.services.dynamodbv2.model.AttributeValue;
 import com.climbassist.api.resource.common.GenericTypeConverter;
 import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.core.type.TypeReference;
@@ -20,16 +21,19 @@ import javax.validation.constraints.NotNull;
 @NoArgsConstructor
 public class Center {
 
-    public static class TypeConverter implements DynamoDBTypeConverter<String, Center> {
+    public static class TypeConverter implements DynamoDBTypeConverter<AttributeValue, Center> {
+
+        private static final GenericTypeConverter<Center> GENERIC_TYPE_CONVERTER =
+                new GenericTypeConverter<>(new TypeReference<Center>() {});
 
         @Override
-        public String convert(Center center) {
-            return GenericTypeConverter.convert(center);
+        public AttributeValue convert(Center center) {
+            return GENERIC_TYPE_CONVERTER.convert(center);
         }
 
         @Override
-        public Center unconvert(String center) {
-            return GenericTypeConverter.unconvert(center, new TypeReference<Center>() {});
+        public Center unconvert(AttributeValue center) {
+            return GENERIC_TYPE_CONVERTER.unconvert(center);
         }
     }
 
@@ -3,6 +3,7 @@ package com.climbassist.api.resource.route;
 import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBHashKey;
 import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBIgnore;
 import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBIndexHashKey;
+import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBIndexRangeKey;
 import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBTable;
 import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBTypeConverted;
 import com.climbassist.api.resource.common.InvalidChildException;
@@ -10,7 +11,9 @@ import com.climbassist.api.resource.common.ResourceWithImage;
 import com.climbassist.api.resource.common.ResourceWithParent;
 import com.climbassist.api.resource.common.ValidName;
 import com.climbassist.api.resource.common.ValidOptionalDescription;
+import com.climbassist.api.resource.common.compression.Compressed;
 import com.climbassist.api.resource.common.ordering.OrderableResourceWithParentAndChildren;
+import com.climbassist.api.resource.common.ordering.ValidPosition;
 import com.climbassist.api.resource.grade.ValidDanger;
 import com.climbassist.api.resource.grade.ValidGrade;
 import com.climbassist.api.resource.grade.ValidGradeModifier;
@@ -39,18 +42,21 @@ import java.util.List;
 public class Route implements OrderableResourceWithParentAndChildren<Route, Wall>, ResourceWithImage {
 
     public static final String GLOBAL_SECONDARY_INDEX_NAME = "WallIndex";
+    public static final String POSITION_GLOBAL_SECONDARY_INDEX_NAME = "WallPositionIndex";
 
     @DynamoDBHashKey
     @ValidRouteId
     private String routeId;
 
-    @DynamoDBIndexHashKey(globalSecondaryIndexName = GLOBAL_SECONDARY_INDEX_NAME)
+    @DynamoDBIndexHashKey(globalSecondaryIndexNames = {GLOBAL_SECONDARY_INDEX_NAME,
+            POSITION_GLOBAL_SECONDARY_INDEX_NAME})
     @ValidWallId
     private String wallId;
 
     @ValidName
     private String name;
 
+    @Compressed
     @ValidOptionalDescription
     @Nullable
     private String description;
@@ -89,6 +95,11 @@ public class Route implements OrderableResourceWithParentAndChildren<Route, Wall
     @Nullable
     private String next;
 
+    @DynamoDBIndexRangeKey(globalSecondaryIndexName = POSITION_GLOBAL_SECONDARY_INDEX_NAME)
+    @Nullable
+    @ValidPosition
+    private String position;
+
     @DynamoDBIgnore
     private List<Pitch> pitches;
 
@@ -7,7 +7,9 @@ import com.climbassist.api.resource.common.ResourceIdGenerator;
 import com.climbassist.api.resource.common.ResourceWithChildrenControllerDelegate;
 import com.climbassist.api.resource.common.ResourceWithImageControllerDelegate;
 import com.climbassist.api.resource.common.ResourceWithParentControllerDelegate;
-import com.climbassist.api.resource.common.ordering.OrderableListBuilder;
+import com.climbassist.api.resource.common.ordering.OrderedResourceRetriever;
+import com.climbassist.api.resource.common.ordering.ResourceReorderer;
+import com.climbassist.api.resource.common.ordering.ResourceReordererConfiguration;
 import com.climbassist.api.resource.common.recursion.RecursiveResourceRetriever;
 import com.climbassist.api.resource.common.recursion.RecursiveResourceRetrieverConfiguration;
 import com.climbassist.api.resource.pitch.Pitch;
@@ -24,7 +26,7 @@ import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Import;
 
 @Configuration
-@Import({CommonConfiguration.class, CommonDaoConfiguration.class, RecursiveResourceRetrieverConfiguration.class})
+@Import({CommonConfiguration.class, CommonDaoConfiguration.class, RecursiveResourceRetrieverConfiguration.class, ResourceReordererConfiguration.class})
 public class RouteConfiguration {
 
     @Bean
@@ -34,7 +36,9 @@ public class RouteConfiguration {
                                            @NonNull RouteNotFoundExceptionFactory routeNotFoundExceptionFactory,
                                            @NonNull WallNotFoundExceptionFactory wallNotFoundExceptionFactory,
                                            @NonNull S3Proxy s3Proxy, @NonNull String imagesBucketName,
-                                           @NonNull RecursiveResourceRetriever<Pitch, Route> recursiveResourceRetriever) {
+                                           @NonNull RecursiveResourceRetriever<Pitch, Route> recursiveResourceRetriever,
+                                           @NonNull OrderedResourceRetriever<Route, Wall> orderedResourceRetriever,
+                                           @NonNull ResourceReorderer<Route, Wall> resourceReorderer) {
         RouteFactory routeFactory = RouteFactory.builder()
                 .resourceIdGenerator(resourceIdGenerator)
                 .build();
@@ -56,7 +60,8 @@ public class RouteConfiguration {
                 .orderableResourceWithParentControllerDelegate(
                         OrderableResourceWithParentControllerDelegate.<Route, NewRoute, Wall>builder().resourceWithParentControllerDelegate(
                                 resourceWithParentControllerDelegate)
-                                .orderableListBuilder(new OrderableListBuilder<>())
+                                .orderedResourceRetriever(orderedResourceRetriever)
+                                .resourceReorderer(resourceReorderer)
                                 .build())
                 .resourceWithChildrenControllerDelegate(
                         ResourceWithChildrenControllerDelegate.<Route, NewRoute>builder().childResourceDaos(
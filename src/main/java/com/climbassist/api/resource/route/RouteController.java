@@ -13,6 +13,7 @@ import com.climbassist.api.resource.common.UpdateResourceResult;
 import com.climbassist.api.resource.common.UploadImageResult;
 import com.climbassist.api.resource.common.ValidDepth;
 import com.climbassist.api.resource.common.ordering.InvalidOrderingException;
+import com.climbassist.api.resource.common.ordering.ReorderResourcesRequest;
 import com.climbassist.api.resource.pitch.PitchesDao;
 import com.climbassist.api.resource.wall.ValidWallId;
 import com.climbassist.api.resource.wall.Wall;
@@ -79,6 +80,15 @@ public class RouteController {
         return orderableResourceWithParentControllerDelegate.getResourcesForParent(wallId, ordered);
     }
 
+    @Metrics(api = "ReorderRoutes")
+    @Authorization(AdministratorAuthorizationHandler.class)
+    @RequestMapping(path = "/v1/walls/{wallId}/routes/order", method = RequestMethod.POST)
+    public UpdateResourceResult reorderResources(@ValidWallId @NonNull @PathVariable String wallId,
+                                                 @NonNull @Valid @RequestBody ReorderResourcesRequest reorderResourcesRequest)
+            throws InvalidOrderingException, ResourceNotFoundException {
+        return orderableResourceWithParentControllerDelegate.reorderResources(wallId, reorderResourcesRequest);
+    }
+
     @Metrics(api = "CreateRoute")
     @Authorization(AdministratorAuthorizationHandler.class)
     @RequestMapping(path = "/v1/routes", method = RequestMethod.PUT)
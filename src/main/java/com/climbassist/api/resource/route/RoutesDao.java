@@ -1,12 +1,14 @@
 package com.climbassist.api.resource.route;
 
-import com.climbassist.api.resource.common.ResourceWithParentDao;
+import com.climbassist.api.resource.common.OrderableResourceWithParentDao;
 import com.climbassist.api.resource.wall.Wall;
 import lombok.NonNull;
 import lombok.experimental.SuperBuilder;
 
+import javax.annotation.Nullable;
+
 @SuperBuilder
-public class RoutesDao extends ResourceWithParentDao<Route, Wall> {
+public class RoutesDao extends OrderableResourceWithParentDao<Route, Wall> {
 
     @Override
     protected Route buildResourceForDeletion(@NonNull String resourceId) {
@@ -27,6 +29,22 @@ public class RoutesDao extends ResourceWithParentDao<Route, Wall> {
         return Route.GLOBAL_SECONDARY_INDEX_NAME;
     }
 
+    @Override
+    protected void setOrdering(@NonNull Route route, boolean first, @Nullable String next) {
+        route.setFirst(first);
+        route.setNext(next);
+    }
+
+    @Override
+    protected String getIdAttributeName() {
+        return "routeId";
+    }
+
+    @Override
+    protected String getPositionIndexName() {
+        return Route.POSITION_GLOBAL_SECONDARY_INDEX_NAME;
+    }
+
     @Override
     protected Class<Route> getResourceTypeClass() {
         return Route.class;
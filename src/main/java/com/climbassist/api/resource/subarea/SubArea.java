@@ -11,6 +11,7 @@ import com.climbassist.api.resource.common.ResourceWithParent;
 import com.climbassist.api.resource.common.ResourceWithParentAndChildren;
 import com.climbassist.api.resource.common.ValidDescription;
 import com.climbassist.api.resource.common.ValidName;
+import com.climbassist.api.resource.common.compression.Compressed;
 import com.climbassist.api.resource.crag.Crag;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonInclude;
@@ -44,6 +45,7 @@ public class SubArea implements ResourceWithParentAndChildren<SubArea, Area> {
     @ValidName
     private String name;
 
+    @Compressed
     @ValidDescription
     private String description;
 
@@ -6,7 +6,9 @@ import com.climbassist.api.resource.common.ResourceControllerDelegate;
 import com.climbassist.api.resource.common.ResourceIdGenerator;
 import com.climbassist.api.resource.common.ResourceWithChildrenControllerDelegate;
 import com.climbassist.api.resource.common.ResourceWithParentControllerDelegate;
-import com.climbassist.api.resource.common.ordering.OrderableListBuilder;
+import com.climbassist.api.resource.common.ordering.OrderedResourceRetriever;
+import com.climbassist.api.resource.common.ordering.ResourceReorderer;
+import com.climbassist.api.resource.common.ordering.ResourceReordererConfiguration;
 import com.climbassist.api.resource.common.recursion.RecursiveResourceRetriever;
 import com.climbassist.api.resource.common.recursion.RecursiveResourceRetrieverConfiguration;
 import com.climbassist.api.resource.crag.Crag;
@@ -22,7 +24,7 @@ import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Import;
 
 @Configuration
-@Import({CommonConfiguration.class, CommonDaoConfiguration.class, RecursiveResourceRetrieverConfiguration.class})
+@Import({CommonConfiguration.class, CommonDaoConfiguration.class, RecursiveResourceRetrieverConfiguration.class, ResourceReordererConfiguration.class})
 public class WallConfiguration {
 
     @Bean
@@ -30,7 +32,9 @@ public class WallConfiguration {
                                          @NonNull RoutesDao routesDao, @NonNull ResourceIdGenerator resourceIdGenerator,
                                          @NonNull WallNotFoundExceptionFactory wallNotFoundExceptionFactory,
                                          @NonNull CragNotFoundExceptionFactory cragNotFoundExceptionFactory,
-                                         @NonNull RecursiveResourceRetriever<Route, Wall> recursiveResourceRetriever) {
+                                         @NonNull RecursiveResourceRetriever<Route, Wall> recursiveResourceRetriever,
+                                         @NonNull OrderedResourceRetriever<Wall, Crag> orderedResourceRetriever,
+                                         @NonNull ResourceReorderer<Wall, Crag> resourceReorderer) {
         ResourceControllerDelegate<Wall, NewWall> resourceControllerDelegate =
                 ResourceControllerDelegate.<Wall, NewWall>builder().resourceDao(wallsDao)
                         .resourceFactory(WallFactory.builder()
@@ -50,7 +54,8 @@ public class WallConfiguration {
                 .orderableResourceWithParentControllerDelegate(
                         OrderableResourceWithParentControllerDelegate.<Wall, NewWall, Crag>builder().resourceWithParentControllerDelegate(
                                 resourceWithParentControllerDelegate)
-                                .orderableListBuilder(new OrderableListBuilder<>())
+                                .orderedResourceRetriever(orderedResourceRetriever)
+                                .resourceReorderer(resourceReorderer)
                                 .build())
                 .resourceWithChildrenControllerDelegate(
                         ResourceWithChildrenControllerDelegate.<Wall, NewWall>builder().childResourceDaos(
@@ -10,6 +10,7 @@ import com.climbassist.api.resource.common.ResourceWithParentControllerDelegate;
 import com.climbassist.api.resource.common.UpdateResourceResult;
 import com.climbassist.api.resource.common.ValidDepth;
 import com.climbassist.api.resource.common.ordering.InvalidOrderingException;
+import com.climbassist.api.resource.common.ordering.ReorderResourcesRequest;
 import com.climbassist.api.resource.crag.Crag;
 import com.climbassist.api.resource.crag.ValidCragId;
 import com.climbassist.api.user.authorization.AdministratorAuthorizationHandler;
@@ -57,6 +58,15 @@ public class WallController {
         return orderableResourceWithParentControllerDelegate.getResourcesForParent(cragId, ordered);
     }
 
+    @Metrics(api = "ReorderWalls")
+    @Authorization(AdministratorAuthorizationHandler.class)
+    @RequestMapping(path = "/v1/crags/{cragId}/walls/order", method = RequestMethod.POST)
+    public UpdateResourceResult reorderResources(@ValidCragId @NonNull @PathVariable String cragId,
+                                                 @NonNull @Valid @RequestBody ReorderResourcesRequest reorderResourcesRequest)
+            throws ResourceNotFoundException, InvalidOrderingException {
+        return orderableResourceWithParentControllerDelegate.reorderResources(cragId, reorderResourcesRequest);
+    }
+
     @Metrics(api = "CreateWall")
     @Authorization(AdministratorAuthorizationHandler.class)
     @RequestMapping(path = "/v1/walls", method = RequestMethod.PUT)
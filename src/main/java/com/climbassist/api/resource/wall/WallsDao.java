@@ -1,13 +1,15 @@
 package com.climbassist.api.resource.wall;
 
+import com.climbassist.api.resource.common.OrderableResourceWithParentDao;
 import com.climbassist.api.resource.common.ResourceDao;
-import com.climbassist.api.resource.common.ResourceWithParentDao;
 import com.climbassist.api.resource.crag.Crag;
 import lombok.NonNull;
 import lombok.experimental.SuperBuilder;
 
+import javax.annotation.Nullable;
+
 @SuperBuilder
-public class WallsDao extends ResourceWithParentDao<Wall, Crag> {
+public class WallsDao extends OrderableResourceWithParentDao<Wall, Crag> {
 
     @Override
     protected Wall buildResourceForDeletion(@NonNull String resourceId) {
@@ -28,6 +30,22 @@ public class WallsDao extends ResourceWithParentDao<Wall, Crag> {
         return Wall.GLOBAL_SECONDARY_INDEX_NAME;
     }
 
+    @Override
+    protected void setOrdering(@NonNull Wall wall, boolean first, @Nullable String next) {
+        wall.setFirst(first);
+        wall.setNext(next);
+    }
+
+    @Override
+    protected String getIdAttributeName() {
+        return "wallId";
+    }
+
+    @Override
+    protected String getPositionIndexName() {
+        return Wall.POSITION_GLOBAL_SECONDARY_INDEX_NAME;
+    }
+
     @Override
     protected Class<Wall> getResourceTypeClass() {
         return Wall.class;
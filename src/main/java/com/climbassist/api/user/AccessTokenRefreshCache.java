@@ -0,0 +1,99 @@
+package com.climbassist.api.user;
+
+import com.climbassist.api.user.authorization.SessionExpiredException;
+import com.climbassist.metrics.MetricsEmitter;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.hash.Hashing;
+import lombok.Builder;
+import lombok.NonNull;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * Coalesces access token refreshes for each refresh token. When an access token expires, every request a page sends in
+ * parallel tries to refresh it; the first one exchanges the refresh token and the others wait for its result, instead
+ * of each calling Cognito and each getting a different access token. The exchange stays cached for timeToLive after it
+ * starts, so requests that arrive just after it finishes get the same access token too. Entries are keyed by a hash of
+ * the refresh token, so refresh tokens aren't kept in memory.
+ *
+ * In-flight and finished exchanges are the same cache entry, so a single putIfAbsent decides whether a request
+ * exchanges the refresh token or uses another request's exchange, and there's no gap between one finishing and the
+ * next starting.
+ */
+public class AccessTokenRefreshCache {
+
+    static final String CACHE_NAME = "refreshedAccessToken";
+
+    @FunctionalInterface
+    interface Exchange {
+
+        String exchange(String refreshToken) throws SessionExpiredException;
+    }
+
+    @NonNull
+    private final MetricsEmitter metricsEmitter;
+
+    private final Cache<String, CompletableFuture<String>> exchanges;
+
+    @Builder
+    AccessTokenRefreshCache(long maximumSize, @NonNull Duration timeToLive,
+                            @NonNull MetricsEmitter metricsEmitter) {
+        this.metricsEmitter = metricsEmitter;
+        exchanges = CacheBuilder.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(timeToLive)
+                .build();
+    }
+
+    /**
+     * @return the access token that was recently exchanged for this refresh token, or the result of the exchange that
+     * is in flight for it, or else the result of calling exchange
+     * @throws SessionExpiredException if the exchange (whichever request made it) throws it
+     */
+    String get(@NonNull String refreshToken, @NonNull Exchange exchange) throws SessionExpiredException {
+        String key = hash(refreshToken);
+        CompletableFuture<String> newExchange = new CompletableFuture<>();
+        CompletableFuture<String> existingExchange = exchanges.asMap()
+                .putIfAbsent(key, newExchange);
+        metricsEmitter.emitCacheHitMetric(CACHE_NAME, existingExchange != null);
+        if (existingExchange != null) {
+            return await(existingExchange);
+        }
+        try {
+            String accessToken = exchange.exchange(refreshToken);
+            newExchange.complete(accessToken);
+            return accessToken;
+        } catch (Throwable throwable) {
+            // the waiting requests fail the same way, rather than waiting forever, and the next request tries again
+            newExchange.completeExceptionally(throwable);
+            exchanges.asMap()
+                    .remove(key, newExchange);
+            throw throwable;
+        }
+    }
+
+    // Cognito's client times out, so this doesn't wait forever
+    private static String await(CompletableFuture<String> existingExchange) throws SessionExpiredException {
+        try {
+            return existingExchange.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof SessionExpiredException) {
+                throw (SessionExpiredException) e.getCause();
+            }
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    private static String hash(String refreshToken) {
+        return Hashing.sha256()
+                .hashString(refreshToken, StandardCharsets.UTF_8)
+                .toString();
+    }
+}
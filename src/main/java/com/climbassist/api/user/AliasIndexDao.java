@@ -0,0 +1,52 @@
+package com.climbassist.api.user;
+
+import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBQueryExpression;
+import com.climbassist.api.resource.common.ResourceDao;
+import lombok.NonNull;
+import lombok.experimental.SuperBuilder;
+
+import java.util.HashSet;
+import java.util.Set;
+
+@SuperBuilder
+public class AliasIndexDao extends ResourceDao<AliasIndexEntry> {
+
+    /**
+     * Cognito doesn't stop two users from having the same email, so there can be more than one entry for an email. The
+     * indexes are eventually consistent, so an entry that was just saved may not be returned yet.
+     */
+    public Set<AliasIndexEntry> getEntries(@NonNull Alias alias) {
+        AliasIndexEntry hashKey;
+        String indexName;
+        if (alias.getType() == Alias.AliasType.USERNAME) {
+            hashKey = AliasIndexEntry.builder()
+                    .username(alias.getValue())
+                    .build();
+            indexName = AliasIndexEntry.USERNAME_GLOBAL_SECONDARY_INDEX_NAME;
+        }
+        else {
+            hashKey = AliasIndexEntry.builder()
+                    .email(alias.getValue())
+                    .build();
+            indexName = AliasIndexEntry.EMAIL_GLOBAL_SECONDARY_INDEX_NAME;
+        }
+        DynamoDBQueryExpression<AliasIndexEntry> dynamoDBQueryExpression =
+                new DynamoDBQueryExpression<AliasIndexEntry>().withHashKeyValues(hashKey)
+                        .withConsistentRead(false)
+                        .withIndexName(indexName);
+        return new HashSet<>(
+                dynamoDBMapper.query(getResourceTypeClass(), dynamoDBQueryExpression, dynamoDBMapperConfig));
+    }
+
+    @Override
+    protected AliasIndexEntry buildResourceForDeletion(@NonNull String resourceId) {
+        return AliasIndexEntry.builder()
+                .userId(resourceId)
+                .build();
+    }
+
+    @Override
+    protected Class<AliasIndexEntry> getResourceTypeClass() {
+        return AliasIndexEntry.class;
+    }
+}
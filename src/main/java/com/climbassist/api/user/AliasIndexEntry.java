@@ -0,0 +1,46 @@
+package com.climbassist.api.user;
+
+import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBHashKey;
+import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBIgnore;
+import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBIndexHashKey;
+import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBTable;
+import com.climbassist.api.resource.common.Resource;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * What {@link UserManager} needs to know about a user before calling Cognito with one of their aliases. This is never
+ * returned to clients.
+ */
+@AllArgsConstructor // required for @Builder, because of a bug
+@Builder
+@Data
+@DynamoDBTable(tableName = "") // this is not used because we always use a TableNameOverride in the DAO
+@NoArgsConstructor
+public class AliasIndexEntry implements Resource {
+
+    public static final String USERNAME_GLOBAL_SECONDARY_INDEX_NAME = "UsernameIndex";
+    public static final String EMAIL_GLOBAL_SECONDARY_INDEX_NAME = "EmailIndex";
+
+    @DynamoDBHashKey
+    private String userId;
+
+    @DynamoDBIndexHashKey(globalSecondaryIndexName = USERNAME_GLOBAL_SECONDARY_INDEX_NAME)
+    private String username;
+
+    @DynamoDBIndexHashKey(globalSecondaryIndexName = EMAIL_GLOBAL_SECONDARY_INDEX_NAME)
+    private String email;
+
+    // Cognito's UserStatusType, e.g. CONFIRMED
+    private String userStatus;
+
+    private boolean isEmailVerified;
+
+    @DynamoDBIgnore
+    @Override
+    public String getId() {
+        return userId;
+    }
+}
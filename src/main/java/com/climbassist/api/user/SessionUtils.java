@@ -12,11 +12,11 @@ import java.util.Arrays;
 @UtilityClass
 public class SessionUtils {
 
-    public static final String ACCESS_TOKEN_SESSION_ATTRIBUTE_NAME = "accessToken";
+    // the name of the request attribute that holds the access token, once the request has been decorated
+    public static final String ACCESS_TOKEN_ATTRIBUTE_NAME = "accessToken";
 
     private static final String ACCESS_TOKEN_COOKIE_NAME = "climbassist_accesstoken";
     private static final String REFRESH_TOKEN_COOKIE_NAME = "climbassist_refreshtoken";
-    private static final String J_SESSION_ID_COOKIE_NAME = "JSESSIONID";
     private static final String COOKIE_PATH = "/";
 
     // This uses output parameters which is a bad practice, but we can't get around it because this is how Spring
@@ -34,10 +34,6 @@ public class SessionUtils {
         httpServletResponse.addCookie(buildEmptyCookie(REFRESH_TOKEN_COOKIE_NAME));
     }
 
-    public static void removeJSessionIdCookie(@NonNull HttpServletResponse httpServletResponse) {
-        httpServletResponse.addCookie(buildEmptyCookie(J_SESSION_ID_COOKIE_NAME));
-    }
-
     public static boolean hasSessionCookies(@NonNull HttpServletRequest httpServletRequest) {
         return httpServletRequest.getCookies() != null && Arrays.stream(httpServletRequest.getCookies())
                 .anyMatch(cookie -> cookie.getName()
@@ -2,31 +2,130 @@ package com.climbassist.api.user;
 
 import com.amazonaws.services.cognitoidp.AWSCognitoIdentityProviderClientBuilder;
 import com.climbassist.api.resource.common.CommonDaoConfiguration;
+import com.climbassist.api.user.authentication.AccessTokenVerifier;
 import com.climbassist.api.user.authentication.DeletedUsersDao;
+import com.climbassist.api.user.authentication.HttpJwksSource;
+import com.climbassist.api.user.authentication.JwksCache;
 import com.climbassist.api.user.authentication.UserAuthenticationController;
 import com.climbassist.api.user.authorization.UserDataDecorationFilter;
 import com.climbassist.common.CommonConfiguration;
+import com.climbassist.metrics.DependencyTimingRequestHandler;
+import com.climbassist.metrics.MetricsConfiguration;
+import com.climbassist.metrics.MetricsEmitter;
+import com.climbassist.metrics.RequestTimings;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import lombok.NonNull;
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.impl.client.HttpClientBuilder;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Import;
 
+import java.time.Duration;
+import java.time.Instant;
 import java.time.ZonedDateTime;
+import java.util.concurrent.Executors;
 
 @Configuration
-@Import({CommonConfiguration.class, CommonDaoConfiguration.class})
+@Import({CommonConfiguration.class, CommonDaoConfiguration.class, MetricsConfiguration.class})
 public class UserConfiguration {
 
+    /**
+     * The user pool's keys are fetched again every jwksRefreshIntervalMinutes, or sooner if a token is signed with a
+     * key that hasn't been fetched yet. Fetches run on their own thread, but a request with a token signed by a new key
+     * waits for one, so connecting to Cognito and each read are limited to jwksTimeoutMillis.
+     */
+    @Bean
+    public AccessTokenVerifier accessTokenVerifier(@NonNull String region,
+                                                   @Value("${userPoolId}") @NonNull String userPoolId,
+                                                   @Value("${userPoolClientId}") @NonNull String userPoolClientId,
+                                                   @Value("${jwksRefreshIntervalMinutes:60}")
+                                                           long jwksRefreshIntervalMinutes,
+                                                   @Value("${jwksTimeoutMillis:2000}") int jwksTimeoutMillis,
+                                                   @NonNull ObjectMapper objectMapper) {
+        String issuer = String.format("https://cognito-idp.%s.amazonaws.com/%s", region, userPoolId);
+        return AccessTokenVerifier.builder()
+                .jwksCache(JwksCache.builder()
+                        .jwksSource(HttpJwksSource.builder()
+                                .httpClient(HttpClientBuilder.create()
+                                        .setDefaultRequestConfig(RequestConfig.custom()
+                                                .setConnectionRequestTimeout(jwksTimeoutMillis)
+                                                .setConnectTimeout(jwksTimeoutMillis)
+                                                .setSocketTimeout(jwksTimeoutMillis)
+                                                .build())
+                                        .build())
+                                .jwksUrl(issuer + "/.well-known/jwks.json")
+                                .build())
+                        .objectMapper(objectMapper)
+                        .refreshInterval(Duration.ofMinutes(jwksRefreshIntervalMinutes))
+                        .minimumRefreshInterval(Duration.ofMinutes(1))
+                        .currentInstantSupplier(Instant::now)
+                        .executor(Executors.newSingleThreadExecutor(
+                                new ThreadFactoryBuilder().setNameFormat("jwks-fetcher")
+                                        .setDaemon(true)
+                                        .build()))
+                        .build())
+                .objectMapper(objectMapper)
+                .issuer(issuer)
+                .userPoolClientId(userPoolClientId)
+                .currentInstantSupplier(Instant::now)
+                .build();
+    }
+
+    /**
+     * User data is cached for userDataCacheTimeToLiveSeconds, or until the access token it was fetched with expires.
+     */
+    @Bean
+    public UserDataCache userDataCache(@Value("${userDataCacheMaximumSize:10000}") long userDataCacheMaximumSize,
+                                       @Value("${userDataCacheTimeToLiveSeconds:300}")
+                                               long userDataCacheTimeToLiveSeconds,
+                                       @NonNull MetricsEmitter metricsEmitter) {
+        return UserDataCache.builder()
+                .maximumSize(userDataCacheMaximumSize)
+                .timeToLive(Duration.ofSeconds(userDataCacheTimeToLiveSeconds))
+                .currentInstantSupplier(Instant::now)
+                .metricsEmitter(metricsEmitter)
+                .build();
+    }
+
+    /**
+     * An access token that was exchanged for a refresh token is reused for that refresh token for
+     * accessTokenRefreshCacheTimeToLiveSeconds. This only needs to cover the requests a page sends in parallel.
+     */
+    @Bean
+    public AccessTokenRefreshCache accessTokenRefreshCache(
+            @Value("${accessTokenRefreshCacheMaximumSize:10000}") long accessTokenRefreshCacheMaximumSize,
+            @Value("${accessTokenRefreshCacheTimeToLiveSeconds:30}") long accessTokenRefreshCacheTimeToLiveSeconds,
+            @NonNull MetricsEmitter metricsEmitter) {
+        return AccessTokenRefreshCache.builder()
+                .maximumSize(accessTokenRefreshCacheMaximumSize)
+                .timeToLive(Duration.ofSeconds(accessTokenRefreshCacheTimeToLiveSeconds))
+                .metricsEmitter(metricsEmitter)
+                .build();
+    }
+
     @Bean
     public UserManager userManager(@NonNull String region, @Value("${userPoolId}") @NonNull String userPoolId,
-                                   @Value("${userPoolClientId}") @NonNull String userPoolClientId) {
+                                   @Value("${userPoolClientId}") @NonNull String userPoolClientId,
+                                   @NonNull AccessTokenVerifier accessTokenVerifier,
+                                   @NonNull UserDataCache userDataCache,
+                                   @NonNull AccessTokenRefreshCache accessTokenRefreshCache,
+                                   @NonNull AliasIndexDao aliasIndexDao) {
         return UserManager.builder()
                 .awsCognitoIdentityProvider(AWSCognitoIdentityProviderClientBuilder.standard()
                         .withRegion(region)
+                        .withRequestHandlers(DependencyTimingRequestHandler.builder()
+                                .dependency(RequestTimings.COGNITO)
+                                .build())
                         .build())
                 .userPoolId(userPoolId)
                 .userPoolClientId(userPoolClientId)
+                .accessTokenVerifier(accessTokenVerifier)
+                .userDataCache(userDataCache)
+                .accessTokenRefreshCache(accessTokenRefreshCache)
+                .aliasIndexDao(aliasIndexDao)
                 .build();
     }
 
@@ -2,6 +2,7 @@ package com.climbassist.api.user;
 
 import com.climbassist.metrics.Metrics;
 import com.climbassist.api.user.authorization.AuthenticatedAuthorizationHandler;
+import com.climbassist.api.user.authorization.AccessToken;
 import com.climbassist.api.user.authorization.Authorization;
 import lombok.Builder;
 import lombok.NonNull;
@@ -9,7 +10,6 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestMethod;
 import org.springframework.web.bind.annotation.RestController;
-import org.springframework.web.bind.annotation.SessionAttribute;
 
 import javax.validation.Valid;
 
@@ -23,8 +23,7 @@ public class UserController {
     @Metrics(api = "GetUser")
     @Authorization(AuthenticatedAuthorizationHandler.class)
     @RequestMapping(path = "/v1/user", method = RequestMethod.GET)
-    public UserData getUser(
-            @SessionAttribute(SessionUtils.ACCESS_TOKEN_SESSION_ATTRIBUTE_NAME) @NonNull String accessToken) {
+    public UserData getUser(@AccessToken @NonNull String accessToken) {
         return userManager.getUserData(accessToken);
     }
 
@@ -32,8 +31,7 @@ public class UserController {
     @Authorization(AuthenticatedAuthorizationHandler.class)
     @RequestMapping(path = "/v1/user", method = RequestMethod.POST)
     public UserData updateUser(@NonNull @Valid @RequestBody UpdateUserRequest updateUserRequest,
-                               @SessionAttribute(SessionUtils.ACCESS_TOKEN_SESSION_ATTRIBUTE_NAME)
-                               @NonNull String accessToken) {
+                               @AccessToken @NonNull String accessToken) {
         userManager.updateUser(accessToken, updateUserRequest.getEmail());
         return userManager.getUserData(accessToken);
     }
@@ -0,0 +1,148 @@
+package com.climbassist.api.user;
+
+import com.climbassist.metrics.MetricsEmitter;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.hash.Hashing;
+import lombok.Builder;
+import lombok.NonNull;
+import lombok.Value;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Supplier;
+
+/**
+ * Caches the user data for each access token, so that a request that needs it more than once (and requests close
+ * together that use the same token) only call Cognito once. Entries are keyed by a hash of the token, so tokens aren't
+ * kept in memory, and last for timeToLive or until the token expires, whichever is sooner. Anything that changes a
+ * user's data has to call {@link #invalidateUser(String)} afterwards.
+ *
+ * A request can read a user's data just before an update and put it just after the update invalidates it, so
+ * invalidateUser also changes the user's generation. The generation is read before the data is, and put doesn't keep
+ * the data if it has changed since. Generations are kept in a fixed number of slots shared by hash of the user ID, so
+ * they never need to be evicted; users that share a slot only cause each other extra misses.
+ */
+public class UserDataCache {
+
+    static final String CACHE_NAME = "userData";
+    // a power of two, so that a user's slot can be picked with a mask
+    private static final int GENERATION_SLOT_COUNT = 1024;
+
+    @Value
+    private static class Entry {
+
+        UserData userData;
+        Instant expirationTime;
+    }
+
+    @NonNull
+    private final Duration timeToLive;
+    @NonNull
+    private final Supplier<Instant> currentInstantSupplier;
+    @NonNull
+    private final MetricsEmitter metricsEmitter;
+
+    private final Cache<String, Entry> entries;
+    private final AtomicLongArray generations;
+
+    @Builder
+    UserDataCache(long maximumSize, @NonNull Duration timeToLive,
+                  @NonNull Supplier<Instant> currentInstantSupplier, @NonNull MetricsEmitter metricsEmitter) {
+        this.timeToLive = timeToLive;
+        this.currentInstantSupplier = currentInstantSupplier;
+        this.metricsEmitter = metricsEmitter;
+        // entries that outlive their token are never returned, this just stops them from taking up space
+        entries = CacheBuilder.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(timeToLive)
+                .build();
+        generations = new AtomicLongArray(GENERATION_SLOT_COUNT);
+    }
+
+    /**
+     * @return a copy of the cached user data for this access token, or empty if there isn't any
+     */
+    public Optional<UserData> get(@NonNull String accessToken) {
+        String key = hash(accessToken);
+        Entry entry = entries.getIfPresent(key);
+        if (entry != null && !currentInstantSupplier.get()
+                .isBefore(entry.getExpirationTime())) {
+            entries.invalidate(key);
+            entry = null;
+        }
+        metricsEmitter.emitCacheHitMetric(CACHE_NAME, entry != null);
+        return Optional.ofNullable(entry)
+                .map(presentEntry -> copy(presentEntry.getUserData()));
+    }
+
+    /**
+     * @return the user's generation, which has to be read before their data is and passed to
+     * {@link #put(String, UserData, Instant, long)}
+     */
+    public long getGeneration(@NonNull String userId) {
+        return generations.get(getGenerationSlot(userId));
+    }
+
+    /**
+     * @param tokenExpirationTime when the access token expires, after which the user data isn't returned for it
+     * @param generation          the user's generation from before the data was read; if the user has been invalidated
+     *                            since, the data is out of date and isn't kept
+     */
+    public void put(@NonNull String accessToken, @NonNull UserData userData, @NonNull Instant tokenExpirationTime,
+                    long generation) {
+        Instant now = currentInstantSupplier.get();
+        Instant expirationTime = now.plus(timeToLive);
+        if (tokenExpirationTime.isBefore(expirationTime)) {
+            expirationTime = tokenExpirationTime;
+        }
+        if (now.isBefore(expirationTime)) {
+            String key = hash(accessToken);
+            Entry entry = new Entry(copy(userData), expirationTime);
+            entries.put(key, entry);
+            // checked after the entry is added, so that an invalidation either changes the generation before this sees
+            // it or removes the entry after it was added
+            if (getGeneration(userData.getUserId()) != generation) {
+                entries.asMap()
+                        .remove(key, entry);
+            }
+        }
+    }
+
+    /**
+     * Removes the user's data for all of their access tokens, not just the one that was used to change it, and stops
+     * data that was read before this from being put afterwards.
+     */
+    public void invalidateUser(@NonNull String userId) {
+        generations.incrementAndGet(getGenerationSlot(userId));
+        entries.asMap()
+                .values()
+                .removeIf(entry -> userId.equals(entry.getUserData()
+                        .getUserId()));
+    }
+
+    private static int getGenerationSlot(String userId) {
+        return userId.hashCode() & (GENERATION_SLOT_COUNT - 1);
+    }
+
+    private static String hash(String accessToken) {
+        return Hashing.sha256()
+                .hashString(accessToken, StandardCharsets.UTF_8)
+                .toString();
+    }
+
+    // UserData is mutable, so callers never get the instance that's in the cache
+    private static UserData copy(UserData userData) {
+        return UserData.builder()
+                .userId(userData.getUserId())
+                .username(userData.getUsername())
+                .email(userData.getEmail())
+                .isEmailVerified(userData.isEmailVerified())
+                .isAdministrator(userData.isAdministrator())
+                .expirationTime(userData.getExpirationTime())
+                .build();
+    }
+}
@@ -1,8 +1,6 @@
 package com.climbassist.api.user;
 
 import com.amazonaws.services.cognitoidp.AWSCognitoIdentityProvider;
-import com.amazonaws.services.cognitoidp.model.AdminListGroupsForUserRequest;
-import com.amazonaws.services.cognitoidp.model.AdminListGroupsForUserResult;
 import com.amazonaws.services.cognitoidp.model.AttributeType;
 import com.amazonaws.services.cognitoidp.model.AuthFlowType;
 import com.amazonaws.services.cognitoidp.model.AuthenticationResultType;
@@ -23,17 +21,21 @@ import com.amazonaws.services.cognitoidp.model.ListUsersResult;
 import com.amazonaws.services.cognitoidp.model.NotAuthorizedException;
 import com.amazonaws.services.cognitoidp.model.ResendConfirmationCodeRequest;
 import com.amazonaws.services.cognitoidp.model.SignUpRequest;
+import com.amazonaws.services.cognitoidp.model.SignUpResult;
 import com.amazonaws.services.cognitoidp.model.UpdateUserAttributesRequest;
 import com.amazonaws.services.cognitoidp.model.UserNotFoundException;
 import com.amazonaws.services.cognitoidp.model.UserStatusType;
 import com.amazonaws.services.cognitoidp.model.UserType;
 import com.amazonaws.services.cognitoidp.model.VerifyUserAttributeRequest;
+import com.climbassist.api.user.authentication.AccessTokenClaims;
 import com.climbassist.api.user.authentication.AccessTokenExpiredException;
+import com.climbassist.api.user.authentication.AccessTokenVerifier;
 import com.climbassist.api.user.authentication.EmailAlreadyVerifiedException;
 import com.climbassist.api.user.authentication.EmailExistsException;
 import com.climbassist.api.user.authentication.EmailNotVerifiedException;
 import com.climbassist.api.user.authentication.IncorrectPasswordException;
 import com.climbassist.api.user.authentication.IncorrectVerificationCodeException;
+import com.climbassist.api.user.authentication.InvalidAccessTokenException;
 import com.climbassist.api.user.authentication.UserNotVerifiedException;
 import com.climbassist.api.user.authentication.UserSessionData;
 import com.climbassist.api.user.authentication.UsernameExistsException;
@@ -43,8 +45,17 @@ import lombok.Builder;
 import lombok.NonNull;
 import lombok.extern.slf4j.Slf4j;
 
+import java.util.HashSet;
 import java.util.List;
+import java.util.Optional;
+import java.util.Set;
 
+/**
+ * Users' aliases and states are kept in the alias index, so that the common cases (signing in or resetting the password
+ * of a user who can do so, and registering with an email someone has already verified) don't have to look the user up
+ * in Cognito first. The index is only trusted when it shows a user can go ahead, because users confirm their accounts
+ * without going through this service; anything else is checked with Cognito, which also brings the index up to date.
+ */
 @Builder
 @Slf4j
 public class UserManager {
@@ -55,10 +66,23 @@ public class UserManager {
     private static final String EMAIL_ATTRIBUTE_NAME = "email";
     private static final String USER_ID_ATTRIBUTE_NAME = "sub";
     private static final String EMAIL_VERIFIED_ATTRIBUTE_NAME = "email_verified";
+    private static final String ADMINISTRATORS_GROUP_NAME = "Administrators";
 
     @NonNull
     private final AWSCognitoIdentityProvider awsCognitoIdentityProvider;
 
+    @NonNull
+    private final AccessTokenVerifier accessTokenVerifier;
+
+    @NonNull
+    private final UserDataCache userDataCache;
+
+    @NonNull
+    private final AccessTokenRefreshCache accessTokenRefreshCache;
+
+    @NonNull
+    private final AliasIndexDao aliasIndexDao;
+
     @NonNull
     private final String userPoolId;
 
@@ -71,8 +95,9 @@ public class UserManager {
             throw new EmailExistsException(email);
         }
 
+        SignUpResult signUpResult;
         try {
-            awsCognitoIdentityProvider.signUp(new SignUpRequest().withClientId(userPoolClientId)
+            signUpResult = awsCognitoIdentityProvider.signUp(new SignUpRequest().withClientId(userPoolClientId)
                     .withUsername(username)
                     .withPassword(password)
                     .withUserAttributes(new AttributeType().withName(EMAIL_ATTRIBUTE_NAME)
@@ -81,6 +106,15 @@ public class UserManager {
             log.warn("Caught exception when registering user.", e);
             throw new UsernameExistsException(username);
         }
+        UserStatusType userStatus = Boolean.TRUE.equals(signUpResult.getUserConfirmed()) ? UserStatusType.CONFIRMED :
+                UserStatusType.UNCONFIRMED;
+        aliasIndexDao.saveResource(AliasIndexEntry.builder()
+                .userId(signUpResult.getUserSub())
+                .username(username)
+                .email(email)
+                .userStatus(userStatus.toString())
+                .isEmailVerified(false)
+                .build());
     }
 
     public void resendInitialVerificationEmail(@NonNull Alias alias)
@@ -97,7 +131,7 @@ public class UserManager {
     public UserSessionData signIn(@NonNull Alias alias, @NonNull String password)
             throws com.climbassist.api.user.authentication.UserNotFoundException, UserNotVerifiedException,
             EmailNotVerifiedException, IncorrectPasswordException {
-        verifyUserIsInUsableState(alias);
+        AliasIndexEntry aliasIndexEntry = verifyUserIsInUsableState(alias, alias.getType() == Alias.AliasType.EMAIL);
 
         try {
             InitiateAuthResult initiateAuthResult = awsCognitoIdentityProvider.initiateAuth(
@@ -113,28 +147,55 @@ public class UserManager {
         } catch (NotAuthorizedException e) {
             log.warn("Caught exception when signing-in user", e);
             throw new IncorrectPasswordException();
+        } catch (UserNotFoundException e) {
+            // the user was deleted without going through this service
+            aliasIndexDao.deleteResource(aliasIndexEntry.getUserId());
+            throw new com.climbassist.api.user.authentication.UserNotFoundException(alias);
         }
     }
 
     public void signOut(@NonNull String accessToken) {
+        String userId = verifyAccessToken(accessToken).getUserId();
         awsCognitoIdentityProvider.globalSignOut(new GlobalSignOutRequest().withAccessToken(accessToken));
+        userDataCache.invalidateUser(userId);
+    }
+
+    /**
+     * Verifies the access token locally, without calling Cognito.
+     *
+     * @throws InvalidAccessTokenException if the access token isn't valid
+     * @throws AccessTokenExpiredException if the access token has expired
+     */
+    public AccessTokenClaims verifyAccessToken(@NonNull String accessToken) {
+        return accessTokenVerifier.verify(accessToken);
     }
 
     public boolean isSignedIn(@NonNull String accessToken) {
         try {
-            awsCognitoIdentityProvider.getUser(new GetUserRequest().withAccessToken(accessToken));
-        } catch (NotAuthorizedException e) {
-            if (e.getMessage()
-                    .contains("Access Token has expired")) {
-                throw new AccessTokenExpiredException(e);
-            }
+            verifyAccessToken(accessToken);
+        } catch (InvalidAccessTokenException e) {
             log.warn("Caught exception when checking if user is signed in.", e);
             return false;
         }
         return true;
     }
 
+    /**
+     * This uses the groups in the access token, so a user who is added to or removed from the Administrators group has
+     * to get a new access token before it takes effect.
+     */
+    public boolean isAdministrator(@NonNull String accessToken) {
+        return isAdministrator(verifyAccessToken(accessToken));
+    }
+
+    /**
+     * Concurrent refreshes with the same refresh token share one call to Cognito, and get the same access token.
+     */
     public String refreshAccessToken(@NonNull String refreshToken) throws SessionExpiredException {
+        return accessTokenRefreshCache.get(refreshToken, this::exchangeRefreshToken);
+    }
+
+    private String exchangeRefreshToken(String refreshToken) throws SessionExpiredException {
         try {
             InitiateAuthResult initiateAuthResult = awsCognitoIdentityProvider.initiateAuth(
                     new InitiateAuthRequest().withClientId(userPoolClientId)
@@ -148,7 +209,10 @@ public class UserManager {
     }
 
     public void deleteUser(@NonNull String accessToken) {
+        String userId = verifyAccessToken(accessToken).getUserId();
         awsCognitoIdentityProvider.deleteUser(new DeleteUserRequest().withAccessToken(accessToken));
+        userDataCache.invalidateUser(userId);
+        aliasIndexDao.deleteResource(userId);
     }
 
     public void verifyEmail(@NonNull String accessToken, @NonNull String verificationCode)
@@ -165,6 +229,15 @@ public class UserManager {
         } catch (ExpiredCodeException | CodeMismatchException e) {
             throw new IncorrectVerificationCodeException(e);
         }
+        userDataCache.invalidateUser(userData.getUserId());
+        // the user is signed in, so their account is confirmed
+        aliasIndexDao.saveResource(AliasIndexEntry.builder()
+                .userId(userData.getUserId())
+                .username(userData.getUsername())
+                .email(userData.getEmail())
+                .userStatus(UserStatusType.CONFIRMED.toString())
+                .isEmailVerified(true)
+                .build());
     }
 
     public void sendVerificationEmail(@NonNull String accessToken) throws EmailAlreadyVerifiedException {
@@ -177,7 +250,16 @@ public class UserManager {
                         .withAttributeName(EMAIL_ATTRIBUTE_NAME));
     }
 
+    /**
+     * The access token is always verified, but the user data may come from {@link UserDataCache} instead of Cognito.
+     */
     public UserData getUserData(@NonNull String accessToken) {
+        AccessTokenClaims accessTokenClaims = verifyAccessToken(accessToken);
+        Optional<UserData> cachedUserData = userDataCache.get(accessToken);
+        if (cachedUserData.isPresent()) {
+            return cachedUserData.get();
+        }
+        long generation = userDataCache.getGeneration(accessTokenClaims.getUserId());
         GetUserResult getUserResult = awsCognitoIdentityProvider.getUser(
                 new GetUserRequest().withAccessToken(accessToken));
         String userId = getUserAttributeValue(getUserResult.getUserAttributes(), USER_ID_ATTRIBUTE_NAME);
@@ -185,24 +267,20 @@ public class UserManager {
         String email = getUserAttributeValue(getUserResult.getUserAttributes(), EMAIL_ATTRIBUTE_NAME);
         boolean isEmailVerified = Boolean.parseBoolean(
                 getUserAttributeValue(getUserResult.getUserAttributes(), EMAIL_VERIFIED_ATTRIBUTE_NAME));
-        AdminListGroupsForUserResult adminListGroupsForUserResult = awsCognitoIdentityProvider.adminListGroupsForUser(
-                new AdminListGroupsForUserRequest().withUserPoolId(userPoolId)
-                        .withUsername(username));
-        boolean isAdministrator = adminListGroupsForUserResult.getGroups()
-                .stream()
-                .anyMatch(groupType -> groupType.getGroupName()
-                        .equals("Administrators"));
-        return UserData.builder()
+        UserData userData = UserData.builder()
                 .userId(userId)
                 .username(username)
                 .email(email)
                 .isEmailVerified(isEmailVerified)
-                .isAdministrator(isAdministrator)
+                .isAdministrator(isAdministrator(accessTokenClaims))
                 .build();
+        userDataCache.put(accessToken, userData, accessTokenClaims.getExpirationTime(), generation);
+        return userData;
     }
 
     public void changePassword(@NonNull String accessToken, @NonNull String currentPassword,
                                @NonNull String newPassword) throws IncorrectPasswordException {
+        String userId = verifyAccessToken(accessToken).getUserId();
         try {
             awsCognitoIdentityProvider.changePassword(new ChangePasswordRequest().withAccessToken(accessToken)
                     .withPreviousPassword(currentPassword)
@@ -210,18 +288,12 @@ public class UserManager {
         } catch (NotAuthorizedException e) {
             throw new IncorrectPasswordException();
         }
+        userDataCache.invalidateUser(userId);
     }
 
     public void sendPasswordResetEmail(@NonNull Alias alias) throws EmailNotVerifiedException, UserNotVerifiedException,
             com.climbassist.api.user.authentication.UserNotFoundException {
-        UserType userType = getUserType(alias);
-        if (!userType.getUserStatus()
-                .equals(UserStatusType.CONFIRMED.toString())) {
-            throw new UserNotVerifiedException();
-        }
-        if (!getUserAttributeValue(userType.getAttributes(), EMAIL_VERIFIED_ATTRIBUTE_NAME).equals("true")) {
-            throw new EmailNotVerifiedException();
-        }
+        verifyUserIsInUsableState(alias, true);
         awsCognitoIdentityProvider.forgotPassword(new ForgotPasswordRequest().withClientId(userPoolClientId)
                 .withUsername(alias.getValue()));
     }
@@ -229,7 +301,7 @@ public class UserManager {
     public void resetPassword(@NonNull Alias alias, @NonNull String verificationCode, @NonNull String newPassword)
             throws IncorrectVerificationCodeException, com.climbassist.api.user.authentication.UserNotFoundException,
             UserNotVerifiedException, EmailNotVerifiedException {
-        verifyUserIsInUsableState(alias);
+        verifyUserIsInUsableState(alias, alias.getType() == Alias.AliasType.EMAIL);
         try {
             awsCognitoIdentityProvider.confirmForgotPassword(new ConfirmForgotPasswordRequest().withClientId(
                     userPoolClientId)
@@ -242,65 +314,117 @@ public class UserManager {
     }
 
     void updateUser(@NonNull String accessToken, @NonNull String newEmail) {
+        AccessTokenClaims accessTokenClaims = verifyAccessToken(accessToken);
         awsCognitoIdentityProvider.updateUserAttributes(new UpdateUserAttributesRequest().withAccessToken(accessToken)
                 .withUserAttributes(new AttributeType().withName(EMAIL_ATTRIBUTE_NAME)
                         .withValue(newEmail)));
+        userDataCache.invalidateUser(accessTokenClaims.getUserId());
+        // Cognito marks a new email as not verified
+        aliasIndexDao.saveResource(AliasIndexEntry.builder()
+                .userId(accessTokenClaims.getUserId())
+                .username(accessTokenClaims.getUsername())
+                .email(newEmail)
+                .userStatus(UserStatusType.CONFIRMED.toString())
+                .isEmailVerified(false)
+                .build());
     }
 
-    // this checks if the email address exists or not.
-    // because Cognito doesn't have an API to check this, and has no way to disallow duplicate emails, we have to
-    // try to sign in with an incorrect password and, if we get a NotAuthorizedException, that means the email
-    // already exists.
-    // A UserNotFoundException means that the email does not yet exist.
+    // this checks if someone has already verified the email address.
+    // Cognito has no way to disallow duplicate emails, but only a verified email can be used to sign in, so an email
+    // that has only been registered (and not verified) can be registered again.
+    // Cognito always decides, because a user can be deleted or change their email without going through this service,
+    // and an index entry that says the email is taken would then block it forever. Registering is rare enough that the
+    // extra call doesn't matter. Index entries for users that Cognito no longer has with this email are removed.
     private boolean emailExists(String email) {
-        try {
-            awsCognitoIdentityProvider.initiateAuth(new InitiateAuthRequest().withClientId(userPoolClientId)
-                    .withAuthFlow(AuthFlowType.USER_PASSWORD_AUTH)
-                    .withAuthParameters(ImmutableMap.of(USERNAME_KEY, email, PASSWORD_KEY, " ")));
-        } catch (NotAuthorizedException e) {
-            return true;
-        } catch (UserNotFoundException e) {
-            return false;
+        Alias alias = new Alias(email, Alias.AliasType.EMAIL);
+        Set<String> userIds = new HashSet<>();
+        boolean emailExists = false;
+        for (UserType userType : listUsers(alias)) {
+            AliasIndexEntry aliasIndexEntry = indexUser(userType);
+            userIds.add(aliasIndexEntry.getUserId());
+            emailExists |= aliasIndexEntry.isEmailVerified();
         }
-        return true;
+        aliasIndexDao.getEntries(alias)
+                .stream()
+                .filter(aliasIndexEntry -> !userIds.contains(aliasIndexEntry.getUserId()))
+                .forEach(aliasIndexEntry -> aliasIndexDao.deleteResource(aliasIndexEntry.getUserId()));
+        return emailExists;
+    }
+
+    private static boolean isAdministrator(AccessTokenClaims accessTokenClaims) {
+        return accessTokenClaims.getGroups()
+                .contains(ADMINISTRATORS_GROUP_NAME);
     }
 
     private String getUserAttributeValue(List<AttributeType> attributes, String attributeName) {
+        return findUserAttributeValue(attributes, attributeName).orElseThrow(InvalidUserDataException::new);
+    }
+
+    private static Optional<String> findUserAttributeValue(List<AttributeType> attributes, String attributeName) {
         return attributes.stream()
                 .filter(attributeType -> attributeType.getName()
                         .equals(attributeName))
                 .findAny()
-                .orElseThrow(InvalidUserDataException::new)
-                .getValue();
+                .map(AttributeType::getValue);
     }
 
-    // this confirms that the user exists, the account is confirmed, and the email is confirmed (if using the alias
-    // is an email)
-    private void verifyUserIsInUsableState(Alias alias)
+    // this confirms that the user exists, the account is confirmed, and the email is confirmed (if
+    // isVerifiedEmailRequired is true)
+    private AliasIndexEntry verifyUserIsInUsableState(Alias alias, boolean isVerifiedEmailRequired)
             throws com.climbassist.api.user.authentication.UserNotFoundException, UserNotVerifiedException,
             EmailNotVerifiedException {
-        UserType userType = getUserType(alias);
+        Set<AliasIndexEntry> aliasIndexEntries = aliasIndexDao.getEntries(alias);
+        Optional<AliasIndexEntry> usableAliasIndexEntry = aliasIndexEntries.stream()
+                .filter(aliasIndexEntry -> isUsable(aliasIndexEntry, isVerifiedEmailRequired))
+                .findAny();
+        if (usableAliasIndexEntry.isPresent()) {
+            return usableAliasIndexEntry.get();
+        }
 
-        if (!userType.getUserStatus()
-                .equals(UserStatusType.CONFIRMED.toString())) {
+        AliasIndexEntry aliasIndexEntry = indexUser(getUserType(alias));
+        if (!UserStatusType.CONFIRMED.toString()
+                .equals(aliasIndexEntry.getUserStatus())) {
             throw new UserNotVerifiedException();
         }
-        if (alias.getType() == Alias.AliasType.EMAIL && !getUserAttributeValue(userType.getAttributes(),
-                EMAIL_VERIFIED_ATTRIBUTE_NAME).equals("true")) {
+        if (isVerifiedEmailRequired && !aliasIndexEntry.isEmailVerified()) {
             throw new EmailNotVerifiedException();
         }
+        return aliasIndexEntry;
+    }
+
+    private static boolean isUsable(AliasIndexEntry aliasIndexEntry, boolean isVerifiedEmailRequired) {
+        return UserStatusType.CONFIRMED.toString()
+                .equals(aliasIndexEntry.getUserStatus()) &&
+                (!isVerifiedEmailRequired || aliasIndexEntry.isEmailVerified());
     }
 
     private UserType getUserType(Alias alias) throws com.climbassist.api.user.authentication.UserNotFoundException {
+        List<UserType> users = listUsers(alias);
+        if (users.size() == 0) {
+            throw new com.climbassist.api.user.authentication.UserNotFoundException(alias);
+        }
+        return users.get(0);
+    }
+
+    private List<UserType> listUsers(Alias alias) {
         ListUsersResult listUsersResult = awsCognitoIdentityProvider.listUsers(
                 new ListUsersRequest().withUserPoolId(userPoolId)
                         .withFilter(String.format("%s=\"%s\"", alias.getType()
                                 .getName(), alias.getValue())));
-        if (listUsersResult.getUsers()
-                .size() == 0) {
-            throw new com.climbassist.api.user.authentication.UserNotFoundException(alias);
-        }
-        return listUsersResult.getUsers()
-                .get(0);
+        return listUsersResult.getUsers();
+    }
+
+    // saves the user as Cognito has them in the alias index
+    private AliasIndexEntry indexUser(UserType userType) {
+        AliasIndexEntry aliasIndexEntry = AliasIndexEntry.builder()
+                .userId(getUserAttributeValue(userType.getAttributes(), USER_ID_ATTRIBUTE_NAME))
+                .username(userType.getUsername())
+                .email(findUserAttributeValue(userType.getAttributes(), EMAIL_ATTRIBUTE_NAME).orElse(null))
+                .userStatus(userType.getUserStatus())
+                .isEmailVerified(Boolean.parseBoolean(
+                        findUserAttributeValue(userType.getAttributes(), EMAIL_VERIFIED_ATTRIBUTE_NAME).orElse(null)))
+                .build();
+        aliasIndexDao.saveResource(aliasIndexEntry);
+        return aliasIndexEntry;
     }
 }
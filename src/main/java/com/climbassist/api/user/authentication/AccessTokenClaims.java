@@ -0,0 +1,26 @@
+package com.climbassist.api.user.authentication;
+
+import lombok.Builder;
+import lombok.NonNull;
+import lombok.Value;
+
+import java.time.Instant;
+import java.util.Set;
+
+/**
+ * The claims in an access token that has been verified by {@link AccessTokenVerifier}.
+ */
+@Builder
+@Value
+public class AccessTokenClaims {
+
+    @NonNull
+    String userId;
+    @NonNull
+    String username;
+    // the Cognito groups that the user was in when the token was issued
+    @NonNull
+    Set<String> groups;
+    @NonNull
+    Instant expirationTime;
+}
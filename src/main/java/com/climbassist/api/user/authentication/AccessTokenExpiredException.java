@@ -2,6 +2,10 @@ package com.climbassist.api.user.authentication;
 
 public class AccessTokenExpiredException extends RuntimeException {
 
+    public AccessTokenExpiredException() {
+        super("Access token has expired.");
+    }
+
     public AccessTokenExpiredException(Throwable cause) {
         super(cause);
     }
@@ -0,0 +1,136 @@
+package com.climbassist.api.user.authentication;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.Builder;
+import lombok.NonNull;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.PublicKey;
+import java.security.Signature;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.function.Supplier;
+
+/**
+ * Verifies Cognito access tokens without calling Cognito. A token is valid if it was signed (with RS256) by one of the
+ * user pool's keys, and is an unexpired access token that the user pool issued to this service's app client.
+ * https://docs.aws.amazon.com/cognito/latest/developerguide/amazon-cognito-user-pools-using-tokens-verifying-a-jwt.html
+ *
+ * Since Cognito isn't asked, a token that was revoked by signing out stays valid here until it expires, which is an
+ * hour after it was issued.
+ */
+@Builder
+public class AccessTokenVerifier {
+
+    private static final String ALGORITHM = "RS256";
+    private static final String SIGNATURE_ALGORITHM = "SHA256withRSA";
+    private static final String ACCESS_TOKEN_USE = "access";
+    private static final String GROUPS_CLAIM_NAME = "cognito:groups";
+
+    @NonNull
+    private final JwksCache jwksCache;
+    @NonNull
+    private final ObjectMapper objectMapper;
+    @NonNull
+    private final String issuer;
+    @NonNull
+    private final String userPoolClientId;
+    @NonNull
+    private final Supplier<Instant> currentInstantSupplier;
+
+    /**
+     * @throws InvalidAccessTokenException if the token isn't valid
+     * @throws AccessTokenExpiredException if the token is valid apart from having expired, in which case it can be
+     *                                     refreshed
+     */
+    public AccessTokenClaims verify(@NonNull String accessToken) {
+        String[] parts = accessToken.split("\\.", -1);
+        if (parts.length != 3) {
+            throw new InvalidAccessTokenException("Access token is not a JSON web token.");
+        }
+        JsonNode header = decodeJson(parts[0]);
+        if (!header.path("alg")
+                .asText()
+                .equals(ALGORITHM)) {
+            throw new InvalidAccessTokenException(String.format("Access token is not signed with %s.", ALGORITHM));
+        }
+        verifySignature(parts, jwksCache.getPublicKey(header.path("kid")
+                .asText()));
+
+        JsonNode claims = decodeJson(parts[1]);
+        verifyClaim(claims, "iss", issuer);
+        verifyClaim(claims, "token_use", ACCESS_TOKEN_USE);
+        verifyClaim(claims, "client_id", userPoolClientId);
+        if (!claims.path("exp")
+                .isIntegralNumber()) {
+            throw new InvalidAccessTokenException("Access token does not have an expiration time.");
+        }
+        Instant expirationTime = Instant.ofEpochSecond(claims.path("exp")
+                .asLong());
+        if (!currentInstantSupplier.get()
+                .isBefore(expirationTime)) {
+            throw new AccessTokenExpiredException();
+        }
+
+        Set<String> groups = new HashSet<>();
+        claims.path(GROUPS_CLAIM_NAME)
+                .forEach(group -> groups.add(group.asText()));
+        return AccessTokenClaims.builder()
+                .userId(getClaim(claims, "sub"))
+                .username(getClaim(claims, "username"))
+                .groups(groups)
+                .expirationTime(expirationTime)
+                .build();
+    }
+
+    private JsonNode decodeJson(String part) {
+        JsonNode jsonNode;
+        try {
+            jsonNode = objectMapper.readTree(Base64.getUrlDecoder()
+                    .decode(part));
+        } catch (IOException | IllegalArgumentException e) {
+            throw new InvalidAccessTokenException("Access token is not a JSON web token.", e);
+        }
+        // empty content is read as a missing node rather than null
+        if (!jsonNode.isObject()) {
+            throw new InvalidAccessTokenException("Access token is not a JSON web token.");
+        }
+        return jsonNode;
+    }
+
+    private static void verifySignature(String[] parts, PublicKey publicKey) {
+        boolean isSignatureValid;
+        try {
+            Signature signature = Signature.getInstance(SIGNATURE_ALGORITHM);
+            signature.initVerify(publicKey);
+            signature.update((parts[0] + "." + parts[1]).getBytes(StandardCharsets.US_ASCII));
+            isSignatureValid = signature.verify(Base64.getUrlDecoder()
+                    .decode(parts[2]));
+        } catch (GeneralSecurityException | IllegalArgumentException e) {
+            throw new InvalidAccessTokenException("Unable to verify access token's signature.", e);
+        }
+        if (!isSignatureValid) {
+            throw new InvalidAccessTokenException("Access token's signature is not valid.");
+        }
+    }
+
+    private static void verifyClaim(JsonNode claims, String claimName, String expectedValue) {
+        if (!getClaim(claims, claimName).equals(expectedValue)) {
+            throw new InvalidAccessTokenException(
+                    String.format("Access token's %s is not %s.", claimName, expectedValue));
+        }
+    }
+
+    private static String getClaim(JsonNode claims, String claimName) {
+        JsonNode claim = claims.path(claimName);
+        if (!claim.isTextual()) {
+            throw new InvalidAccessTokenException(String.format("Access token does not have a %s.", claimName));
+        }
+        return claim.asText();
+    }
+}
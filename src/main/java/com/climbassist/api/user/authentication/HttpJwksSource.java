@@ -0,0 +1,41 @@
+package com.climbassist.api.user.authentication;
+
+import com.climbassist.metrics.RequestTimings;
+import lombok.Builder;
+import lombok.NonNull;
+import org.apache.http.HttpResponse;
+import org.apache.http.client.HttpClient;
+import org.apache.http.client.methods.HttpGet;
+import org.apache.http.util.EntityUtils;
+
+import java.io.IOException;
+
+/**
+ * Fetches a user pool's JSON Web Key Set from Cognito.
+ * https://docs.aws.amazon.com/cognito/latest/developerguide/amazon-cognito-user-pools-using-tokens-verifying-a-jwt.html
+ */
+@Builder
+public class HttpJwksSource implements JwksSource {
+
+    @NonNull
+    private final HttpClient httpClient;
+    @NonNull
+    private final String jwksUrl;
+
+    @Override
+    public String fetchJwks() throws IOException {
+        long startTime = System.nanoTime();
+        try {
+            HttpResponse httpResponse = httpClient.execute(new HttpGet(jwksUrl));
+            int statusCode = httpResponse.getStatusLine()
+                    .getStatusCode();
+            String body = EntityUtils.toString(httpResponse.getEntity());
+            if (statusCode != 200) {
+                throw new IOException(String.format("Fetching %s returned status %d.", jwksUrl, statusCode));
+            }
+            return body;
+        } finally {
+            RequestTimings.recordCall(RequestTimings.COGNITO, System.nanoTime() - startTime);
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package com.climbassist.api.user.authentication;
+
+import lombok.NonNull;
+
+public class InvalidAccessTokenException extends RuntimeException {
+
+    public InvalidAccessTokenException(@NonNull String message) {
+        super(message);
+    }
+
+    public InvalidAccessTokenException(@NonNull String message, @NonNull Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,172 @@
+package com.climbassist.api.user.authentication;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.Builder;
+import lombok.NonNull;
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.security.GeneralSecurityException;
+import java.security.KeyFactory;
+import java.security.PublicKey;
+import java.security.spec.RSAPublicKeySpec;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Supplier;
+
+/**
+ * Caches the public keys in a JSON Web Key Set, so that access tokens can be verified without calling Cognito. The keys
+ * are fetched again once they're older than refreshInterval, and when a token was signed with a key that isn't in the
+ * set (which happens when Cognito rotates its keys). Fetches are at least minimumRefreshInterval apart, so that tokens
+ * with made-up key IDs can't make every request fetch the set. If a fetch fails, the keys from before are kept.
+ * <p>
+ * Fetches run on the executor, and no lock is held while they do. Stale keys keep being used while they're fetched
+ * again, so only a request with a token signed by an unknown key waits for a fetch, and every request that does shares
+ * the same one.
+ */
+@Slf4j
+public class JwksCache {
+
+    private static final String RSA_KEY_TYPE = "RSA";
+
+    @Value
+    private static class Keys {
+
+        Map<String, PublicKey> publicKeysById;
+        Instant fetchTime;
+    }
+
+    @NonNull
+    private final JwksSource jwksSource;
+    @NonNull
+    private final ObjectMapper objectMapper;
+    @NonNull
+    private final Duration refreshInterval;
+    @NonNull
+    private final Duration minimumRefreshInterval;
+    @NonNull
+    private final Supplier<Instant> currentInstantSupplier;
+    @NonNull
+    private final Executor executor;
+
+    // this is replaced rather than modified, so it can be read without holding the lock
+    private volatile Keys keys = new Keys(Collections.emptyMap(), Instant.MIN);
+    // guarded by this
+    private Instant lastFetchTime;
+    // guarded by this, and only set while a fetch is running
+    private CompletableFuture<Keys> pendingFetch;
+
+    @Builder
+    JwksCache(@NonNull JwksSource jwksSource, @NonNull ObjectMapper objectMapper,
+              @NonNull Duration refreshInterval, @NonNull Duration minimumRefreshInterval,
+              @NonNull Supplier<Instant> currentInstantSupplier, @NonNull Executor executor) {
+        this.jwksSource = jwksSource;
+        this.objectMapper = objectMapper;
+        this.refreshInterval = refreshInterval;
+        this.minimumRefreshInterval = minimumRefreshInterval;
+        this.currentInstantSupplier = currentInstantSupplier;
+        this.executor = executor;
+    }
+
+    /**
+     * @throws InvalidAccessTokenException if there's no key with this ID, even after fetching the keys again
+     */
+    public PublicKey getPublicKey(@NonNull String keyId) {
+        Keys currentKeys = keys;
+        if (!currentInstantSupplier.get()
+                .isBefore(currentKeys.getFetchTime()
+                        .plus(refreshInterval))) {
+            refresh(currentKeys);
+        }
+        PublicKey publicKey = currentKeys.getPublicKeysById()
+                .get(keyId);
+        if (publicKey == null) {
+            // fetches always complete, and the HTTP client's timeouts bound how long they take
+            publicKey = refresh(currentKeys).join()
+                    .getPublicKeysById()
+                    .get(keyId);
+        }
+        if (publicKey == null) {
+            throw new InvalidAccessTokenException(String.format("Access token was signed with unknown key %s.", keyId));
+        }
+        return publicKey;
+    }
+
+    /**
+     * @return the keys that replace seenKeys once they've been fetched, which are the current keys if they've already
+     * replaced seenKeys or if it's too soon to fetch them again
+     */
+    private synchronized CompletableFuture<Keys> refresh(Keys seenKeys) {
+        if (pendingFetch != null) {
+            return pendingFetch;
+        }
+        // another thread may have fetched the keys since this one read them
+        if (keys != seenKeys) {
+            return CompletableFuture.completedFuture(keys);
+        }
+        Instant now = currentInstantSupplier.get();
+        if (lastFetchTime != null && now.isBefore(lastFetchTime.plus(minimumRefreshInterval))) {
+            return CompletableFuture.completedFuture(keys);
+        }
+        lastFetchTime = now;
+        CompletableFuture<Keys> fetch = new CompletableFuture<>();
+        pendingFetch = fetch;
+        try {
+            executor.execute(() -> {
+                Keys fetchedKeys = fetch(now);
+                synchronized (this) {
+                    keys = fetchedKeys;
+                    pendingFetch = null;
+                }
+                fetch.complete(fetchedKeys);
+            });
+        } catch (RejectedExecutionException e) {
+            log.warn("Unable to schedule fetching JSON web keys, so keeping the keys that were fetched before.", e);
+            pendingFetch = null;
+            return CompletableFuture.completedFuture(keys);
+        }
+        return fetch;
+    }
+
+    private Keys fetch(Instant now) {
+        try {
+            return new Keys(parseJwks(jwksSource.fetchJwks()), now);
+        } catch (IOException | GeneralSecurityException | RuntimeException e) {
+            log.warn("Unable to fetch JSON web keys, so keeping the keys that were fetched before.", e);
+            return keys;
+        }
+    }
+
+    private Map<String, PublicKey> parseJwks(String jwks) throws IOException, GeneralSecurityException {
+        KeyFactory keyFactory = KeyFactory.getInstance(RSA_KEY_TYPE);
+        Map<String, PublicKey> publicKeysById = new HashMap<>();
+        for (JsonNode key : objectMapper.readTree(jwks)
+                .path("keys")) {
+            // Cognito only signs tokens with RSA keys
+            if (!key.path("kty")
+                    .asText()
+                    .equals(RSA_KEY_TYPE)) {
+                continue;
+            }
+            BigInteger modulus = new BigInteger(1, Base64.getUrlDecoder()
+                    .decode(key.path("n")
+                            .asText()));
+            BigInteger exponent = new BigInteger(1, Base64.getUrlDecoder()
+                    .decode(key.path("e")
+                            .asText()));
+            publicKeysById.put(key.path("kid")
+                    .asText(), keyFactory.generatePublic(new RSAPublicKeySpec(modulus, exponent)));
+        }
+        return Collections.unmodifiableMap(publicKeysById);
+    }
+}
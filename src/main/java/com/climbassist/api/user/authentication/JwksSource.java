@@ -0,0 +1,14 @@
+package com.climbassist.api.user.authentication;
+
+import java.io.IOException;
+
+/**
+ * Somewhere to fetch a JSON Web Key Set (https://tools.ietf.org/html/rfc7517#section-5) from.
+ */
+public interface JwksSource {
+
+    /**
+     * @return the key set, as JSON
+     */
+    String fetchJwks() throws IOException;
+}
@@ -4,6 +4,7 @@ import com.climbassist.api.user.Alias;
 import com.climbassist.api.user.SessionUtils;
 import com.climbassist.api.user.UserData;
 import com.climbassist.api.user.UserManager;
+import com.climbassist.api.user.authorization.AccessToken;
 import com.climbassist.api.user.authorization.AuthenticatedAuthorizationHandler;
 import com.climbassist.api.user.authorization.Authorization;
 import com.climbassist.metrics.Metrics;
@@ -15,7 +16,6 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestMethod;
 import org.springframework.web.bind.annotation.RestController;
-import org.springframework.web.bind.annotation.SessionAttribute;
 
 import javax.annotation.Nullable;
 import javax.servlet.http.HttpServletResponse;
@@ -81,9 +81,8 @@ public class UserAuthenticationController {
 
     @Metrics(api = "SignOut")
     @RequestMapping(path = "/v1/user/sign-out", method = RequestMethod.POST)
-    public SignOutUserResult signOut(
-            @SessionAttribute(value = SessionUtils.ACCESS_TOKEN_SESSION_ATTRIBUTE_NAME, required = false) @Nullable
-                    String accessToken, @NonNull HttpServletResponse httpServletResponse) {
+    public SignOutUserResult signOut(@AccessToken(required = false) @Nullable String accessToken,
+                                     @NonNull HttpServletResponse httpServletResponse) {
         if (accessToken != null && userManager.isSignedIn(accessToken)) {
             userManager.signOut(accessToken);
         }
@@ -97,7 +96,7 @@ public class UserAuthenticationController {
     @Authorization(AuthenticatedAuthorizationHandler.class)
     @RequestMapping(path = "/v1/user", method = RequestMethod.DELETE)
     public DeleteUserResult deleteUser(
-            @SessionAttribute(SessionUtils.ACCESS_TOKEN_SESSION_ATTRIBUTE_NAME) @NonNull String accessToken,
+            @AccessToken @NonNull String accessToken,
             @NonNull HttpServletResponse httpServletResponse) {
         UserData userData = userManager.getUserData(accessToken);
         userData.setExpirationTime(currentZonedDateTimeSupplier.get()
@@ -115,7 +114,7 @@ public class UserAuthenticationController {
     @Authorization(AuthenticatedAuthorizationHandler.class)
     @RequestMapping(path = "v1/user/verify-email", method = RequestMethod.POST)
     public UserData verifyEmail(
-            @SessionAttribute(SessionUtils.ACCESS_TOKEN_SESSION_ATTRIBUTE_NAME) @NonNull String accessToken,
+            @AccessToken @NonNull String accessToken,
             @NonNull @Valid @RequestBody VerifyEmailRequest verifyEmailRequest)
             throws IncorrectVerificationCodeException, EmailAlreadyVerifiedException {
         userManager.verifyEmail(accessToken, verifyEmailRequest.getVerificationCode());
@@ -126,7 +125,7 @@ public class UserAuthenticationController {
     @Authorization(AuthenticatedAuthorizationHandler.class)
     @RequestMapping(path = "v1/user/send-verification-email", method = RequestMethod.POST)
     public UserData sendVerificationEmail(
-            @SessionAttribute(SessionUtils.ACCESS_TOKEN_SESSION_ATTRIBUTE_NAME) @NonNull String accessToken)
+            @AccessToken @NonNull String accessToken)
             throws EmailAlreadyVerifiedException {
         userManager.sendVerificationEmail(accessToken);
         return userManager.getUserData(accessToken);
@@ -136,7 +135,7 @@ public class UserAuthenticationController {
     @Authorization(AuthenticatedAuthorizationHandler.class)
     @RequestMapping(path = "/v1/user/change-password", method = RequestMethod.POST)
     public UserData changePassword(
-            @SessionAttribute(SessionUtils.ACCESS_TOKEN_SESSION_ATTRIBUTE_NAME) @NonNull String accessToken,
+            @AccessToken @NonNull String accessToken,
             @NonNull @Valid @RequestBody ChangePasswordRequest changePasswordRequest)
             throws IncorrectPasswordException {
         userManager.changePassword(accessToken, changePasswordRequest.getCurrentPassword(),
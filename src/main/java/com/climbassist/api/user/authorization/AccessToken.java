@@ -0,0 +1,18 @@
+package com.climbassist.api.user.authorization;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a String handler parameter that takes the signed-in user's access token, which {@link
+ * AccessTokenArgumentResolver} passes in after decorating the request. If the parameter isn't required, null is passed
+ * in when nobody is signed in.
+ */
+@Target(ElementType.PARAMETER)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface AccessToken {
+
+    boolean required() default true;
+}
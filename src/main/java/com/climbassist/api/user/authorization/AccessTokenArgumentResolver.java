@@ -0,0 +1,46 @@
+package com.climbassist.api.user.authorization;
+
+import com.climbassist.api.user.SessionUtils;
+import lombok.NonNull;
+import org.springframework.core.MethodParameter;
+import org.springframework.web.bind.support.WebDataBinderFactory;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.method.support.HandlerMethodArgumentResolver;
+import org.springframework.web.method.support.ModelAndViewContainer;
+
+import javax.annotation.Nullable;
+import javax.servlet.ServletRequest;
+
+/**
+ * Passes the access token into handler parameters marked with {@link AccessToken}. The token is taken from a request
+ * attribute that {@link UserDecoration} sets, so it's the refreshed token if the one in the request's cookie had
+ * expired, and no HttpSession is needed to hand it over.
+ */
+public class AccessTokenArgumentResolver implements HandlerMethodArgumentResolver {
+
+    @Override
+    public boolean supportsParameter(@NonNull MethodParameter methodParameter) {
+        return methodParameter.hasParameterAnnotation(AccessToken.class) && methodParameter.getParameterType()
+                .equals(String.class);
+    }
+
+    @Override
+    public Object resolveArgument(@NonNull MethodParameter methodParameter,
+                                  @Nullable ModelAndViewContainer modelAndViewContainer,
+                                  @NonNull NativeWebRequest nativeWebRequest,
+                                  @Nullable WebDataBinderFactory webDataBinderFactory) throws AuthorizationException {
+        ServletRequest servletRequest = nativeWebRequest.getNativeRequest(ServletRequest.class);
+        if (servletRequest != null) {
+            UserDecoration.decorate(servletRequest);
+        }
+        Object accessToken = nativeWebRequest.getAttribute(SessionUtils.ACCESS_TOKEN_ATTRIBUTE_NAME,
+                RequestAttributes.SCOPE_REQUEST);
+        //noinspection ConstantConditions
+        if (accessToken == null && methodParameter.getParameterAnnotation(AccessToken.class)
+                .required()) {
+            throw new AuthorizationException();
+        }
+        return accessToken;
+    }
+}
@@ -11,8 +11,7 @@ public class AdministratorAuthorizationHandler extends AuthenticatedAuthorizatio
     @Override
     public void checkAuthorization(@NonNull UserSessionData userSessionData) throws AuthorizationException {
         super.checkAuthorization(userSessionData);
-        if (!userManager.getUserData(userSessionData.getAccessToken())
-                .isAdministrator()) {
+        if (!userManager.isAdministrator(userSessionData.getAccessToken())) {
             throw new AuthorizationException();
         }
     }
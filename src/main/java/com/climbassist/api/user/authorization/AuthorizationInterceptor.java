@@ -1,6 +1,7 @@
 package com.climbassist.api.user.authorization;
 
 import com.climbassist.api.user.SessionUtils;
+import com.climbassist.metrics.RequestTimings;
 import lombok.Builder;
 import lombok.NonNull;
 import org.springframework.web.method.HandlerMethod;
@@ -21,15 +22,22 @@ public class AuthorizationInterceptor extends HandlerInterceptorAdapter {
             throws AuthorizationException {
         HandlerMethod handlerMethod = (HandlerMethod) handler;
         Authorization authorization = handlerMethod.getMethodAnnotation(Authorization.class);
+        // handlers that only take the access token are decorated by AccessTokenArgumentResolver
         if (authorization == null) {
             return true;
         }
+        UserDecoration.decorate(httpServletRequest);
         if (!SessionUtils.hasSessionCookies(httpServletRequest)) {
             throw new AuthorizationException();
         }
 
         AuthorizationHandler authorizationHandler = authorizationHandlerFactory.create(authorization.value());
         authorizationHandler.checkAuthorization(SessionUtils.getUserSessionData(httpServletRequest));
+        // administrators' requests include the batch creates and maintenance jobs, which can legitimately need more
+        // calls than the budget allows
+        if (authorization.value() == AdministratorAuthorizationHandler.class) {
+            RequestTimings.exemptFromCallBudget();
+        }
         return true;
     }
 }
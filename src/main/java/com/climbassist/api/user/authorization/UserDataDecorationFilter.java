@@ -2,11 +2,8 @@ package com.climbassist.api.user.authorization;
 
 import com.climbassist.api.user.SessionUtils;
 import com.climbassist.api.user.UserManager;
-import com.climbassist.api.user.authentication.AccessTokenExpiredException;
-import com.climbassist.api.user.authentication.UserSessionData;
 import lombok.Builder;
 import lombok.NonNull;
-import lombok.extern.slf4j.Slf4j;
 
 import javax.servlet.Filter;
 import javax.servlet.FilterChain;
@@ -17,8 +14,11 @@ import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 import java.io.IOException;
 
+/**
+ * Attaches a {@link UserDecoration} to each request with session cookies. This doesn't verify or refresh the access
+ * token itself, so requests that never need the user (public reads, static assets and health checks) don't wait on it.
+ */
 @Builder
-@Slf4j
 public class UserDataDecorationFilter implements Filter {
 
     public static final String USER_ID_ATTRIBUTE_NAME = "userId";
@@ -30,35 +30,13 @@ public class UserDataDecorationFilter implements Filter {
     public void doFilter(ServletRequest servletRequest, ServletResponse servletResponse, FilterChain filterChain)
             throws IOException, ServletException {
         HttpServletRequest httpServletRequest = (HttpServletRequest) servletRequest;
-
         if (SessionUtils.hasSessionCookies(httpServletRequest)) {
-            UserSessionData userSessionData = SessionUtils.getUserSessionData(httpServletRequest);
-            try {
-                userManager.isSignedIn(userSessionData.getAccessToken());
-                setAttributes(httpServletRequest, userSessionData.getAccessToken());
-            } catch (AccessTokenExpiredException e) {
-                log.info("Refreshing access token.");
-                try {
-                    String newAccessToken = userManager.refreshAccessToken(userSessionData.getRefreshToken());
-                    UserSessionData newUserSessionData = UserSessionData.builder()
-                            .accessToken(newAccessToken)
-                            .refreshToken(userSessionData.getRefreshToken())
-                            .build();
-                    SessionUtils.setSessionCookies((HttpServletResponse) servletResponse, newUserSessionData);
-                    setAttributes(httpServletRequest, newAccessToken);
-                } catch (SessionExpiredException sessionExpiredException) {
-                    log.info("Session has expired.");
-                }
-            }
+            httpServletRequest.setAttribute(UserDecoration.ATTRIBUTE_NAME, UserDecoration.builder()
+                    .userManager(userManager)
+                    .httpServletRequest(httpServletRequest)
+                    .httpServletResponse((HttpServletResponse) servletResponse)
+                    .build());
         }
-
         filterChain.doFilter(servletRequest, servletResponse);
     }
-
-    private void setAttributes(HttpServletRequest httpServletRequest, String accessToken) {
-        httpServletRequest.setAttribute(USER_ID_ATTRIBUTE_NAME, userManager.getUserData(accessToken)
-                .getUserId());
-        httpServletRequest.getSession()
-                .setAttribute(SessionUtils.ACCESS_TOKEN_SESSION_ATTRIBUTE_NAME, accessToken);
-    }
 }
@@ -0,0 +1,139 @@
+package com.climbassist.api.user.authorization;
+
+import com.climbassist.api.user.SessionUtils;
+import com.climbassist.api.user.UserManager;
+import com.climbassist.api.user.authentication.AccessTokenExpiredException;
+import com.climbassist.api.user.authentication.InvalidAccessTokenException;
+import com.climbassist.api.user.authentication.UserSessionData;
+import com.climbassist.metrics.RequestTimings;
+import lombok.Builder;
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+
+import javax.servlet.ServletRequest;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.util.function.Supplier;
+
+/**
+ * Works out who the signed-in user of a request is, the first time something needs to know, instead of on every request
+ * that has session cookies. Decorating a request verifies its access token and, if the token has expired, refreshes it
+ * (which calls Cognito) and sets the new session cookies. The token is then kept in a request attribute. {@link
+ * UserDataDecorationFilter} attaches one of these to each request with session cookies, and {@link
+ * AuthorizationInterceptor} and {@link AccessTokenArgumentResolver} decorate requests to handlers that need the user.
+ *
+ * This is only ever used from the request's thread, so it isn't thread-safe.
+ */
+@Slf4j
+public class UserDecoration {
+
+    static final String ATTRIBUTE_NAME = UserDecoration.class.getName();
+    static final String DECORATION_STAGE = "decoration";
+
+    @NonNull
+    private final UserManager userManager;
+    @NonNull
+    private final HttpServletRequest httpServletRequest;
+    @NonNull
+    private final HttpServletResponse httpServletResponse;
+
+    private boolean isDecorated;
+    private String userId;
+
+    @Builder
+    UserDecoration(@NonNull UserManager userManager, @NonNull HttpServletRequest httpServletRequest,
+                   @NonNull HttpServletResponse httpServletResponse) {
+        this.userManager = userManager;
+        this.httpServletRequest = httpServletRequest;
+        this.httpServletResponse = httpServletResponse;
+    }
+
+    /**
+     * Decorates the request, unless it already has been or it doesn't have session cookies.
+     */
+    public static void decorate(@NonNull ServletRequest servletRequest) {
+        UserDecoration userDecoration = (UserDecoration) servletRequest.getAttribute(ATTRIBUTE_NAME);
+        if (userDecoration != null) {
+            userDecoration.decorate();
+        }
+    }
+
+    /**
+     * Decorates the request if it hasn't been already.
+     *
+     * @return the ID of the signed-in user, or null if nobody is signed in
+     */
+    public static String getUserId(@NonNull ServletRequest servletRequest) {
+        UserDecoration userDecoration = (UserDecoration) servletRequest.getAttribute(ATTRIBUTE_NAME);
+        if (userDecoration == null) {
+            return null;
+        }
+        userDecoration.decorate();
+        return userDecoration.userId;
+    }
+
+    /**
+     * Never decorates the request. If it has already been decorated, the supplier returns the user ID that was found;
+     * otherwise it verifies the access token when it's called (which doesn't call Cognito), and returns null if the
+     * token isn't valid or has expired. It doesn't hold on to the request, so it can be called after the request is
+     * done, from any thread.
+     */
+    public static Supplier<String> getDeferredUserIdSupplier(@NonNull ServletRequest servletRequest) {
+        UserDecoration userDecoration = (UserDecoration) servletRequest.getAttribute(ATTRIBUTE_NAME);
+        if (userDecoration == null) {
+            return () -> null;
+        }
+        if (userDecoration.isDecorated) {
+            String userId = userDecoration.userId;
+            return () -> userId;
+        }
+        UserManager userManager = userDecoration.userManager;
+        String accessToken = SessionUtils.getUserSessionData(userDecoration.httpServletRequest)
+                .getAccessToken();
+        return () -> {
+            try {
+                return userManager.verifyAccessToken(accessToken)
+                        .getUserId();
+            } catch (InvalidAccessTokenException | AccessTokenExpiredException e) {
+                return null;
+            }
+        };
+    }
+
+    private void decorate() {
+        if (isDecorated) {
+            return;
+        }
+        isDecorated = true;
+
+        long startTime = System.nanoTime();
+        UserSessionData userSessionData = SessionUtils.getUserSessionData(httpServletRequest);
+        try {
+            setAttributes(userSessionData.getAccessToken());
+        } catch (InvalidAccessTokenException e) {
+            log.info("Access token is not valid.", e);
+        } catch (AccessTokenExpiredException e) {
+            log.info("Refreshing access token.");
+            try {
+                String newAccessToken = userManager.refreshAccessToken(userSessionData.getRefreshToken());
+                UserSessionData newUserSessionData = UserSessionData.builder()
+                        .accessToken(newAccessToken)
+                        .refreshToken(userSessionData.getRefreshToken())
+                        .build();
+                SessionUtils.setSessionCookies(httpServletResponse, newUserSessionData);
+                setAttributes(newAccessToken);
+            } catch (SessionExpiredException sessionExpiredException) {
+                log.info("Session has expired.");
+            }
+        }
+        RequestTimings.recordStage(DECORATION_STAGE, System.nanoTime() - startTime);
+    }
+
+    // the user ID comes from the access token, so this doesn't call Cognito
+    private void setAttributes(String accessToken) {
+        userId = userManager.verifyAccessToken(accessToken)
+                .getUserId();
+        httpServletRequest.setAttribute(UserDataDecorationFilter.USER_ID_ATTRIBUTE_NAME, userId);
+        httpServletRequest.setAttribute(SessionUtils.ACCESS_TOKEN_ATTRIBUTE_NAME, accessToken);
+    }
+}
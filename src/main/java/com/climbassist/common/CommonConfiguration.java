@@ -3,6 +3,8 @@ package com.climbassist.common;
 import com.amazonaws.services.s3.AmazonS3ClientBuilder;
 import com.climbassist.api.resource.common.ResourceIdGenerator;
 import com.climbassist.common.s3.S3Proxy;
+import com.climbassist.metrics.DependencyTimingRequestHandler;
+import com.climbassist.metrics.RequestTimings;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.datatype.guava.GuavaModule;
 import lombok.NonNull;
@@ -30,6 +32,9 @@ public class CommonConfiguration {
         return S3Proxy.builder()
                 .amazonS3(AmazonS3ClientBuilder.standard()
                         .withRegion(region)
+                        .withRequestHandlers(DependencyTimingRequestHandler.builder()
+                                .dependency(RequestTimings.S3)
+                                .build())
                         .build())
                 .build();
     }
@@ -0,0 +1,167 @@
+package com.climbassist.logging;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.Builder;
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+import org.slf4j.MDC;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Logs requests and responses on a background thread, so that formatting them (and redacting them, which the logging
+ * configuration does as they're written) doesn't add to the latency of the request. Request threads hand events over
+ * through a {@link RingBuffer}, which never blocks. If the background thread falls far enough behind that the buffer
+ * fills up, events are dropped and counted instead.
+ *
+ * Bodies that aren't JSON, which includes JSON bodies that were truncated, are logged as JSON strings, where their
+ * quotes are escaped and the logging configuration can no longer recognize sensitive fields in them. Those bodies are
+ * redacted here, before they're escaped.
+ */
+@Slf4j
+public class AsyncRequestLogger {
+
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(10);
+    private static final SensitiveDataRedactor SENSITIVE_DATA_REDACTOR = new SensitiveDataRedactor();
+
+    private final ObjectMapper objectMapper;
+    private final RingBuffer<RequestLogEvent> ringBuffer;
+    private final AtomicLong droppedEvents;
+    private Thread thread;
+
+    @Builder
+    AsyncRequestLogger(@NonNull ObjectMapper objectMapper, int bufferSize) {
+        this.objectMapper = objectMapper;
+        this.ringBuffer = new RingBuffer<>(bufferSize);
+        this.droppedEvents = new AtomicLong();
+    }
+
+    void log(@NonNull RequestLogEvent requestLogEvent) {
+        if (!ringBuffer.offer(requestLogEvent)) {
+            droppedEvents.incrementAndGet();
+        }
+    }
+
+    /**
+     * @return the number of events that have been dropped because the buffer was full
+     */
+    public long getDroppedEvents() {
+        return droppedEvents.get();
+    }
+
+    public synchronized void start() {
+        if (thread != null) {
+            throw new IllegalStateException("Logger has already been started.");
+        }
+        thread = new Thread(this::run, "request-logger");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Stops the background thread, once it has written whatever is left in the buffer.
+     */
+    public synchronized void stop() throws InterruptedException {
+        if (thread != null) {
+            thread.interrupt();
+            thread.join();
+            thread = null;
+        }
+    }
+
+    private void run() {
+        while (!Thread.currentThread()
+                .isInterrupted()) {
+            if (!drain()) {
+                LockSupport.parkNanos(IDLE_PARK_NANOS);
+            }
+        }
+        drain();
+    }
+
+    /**
+     * @return true if there were any events to write
+     */
+    boolean drain() {
+        boolean drainedEvents = false;
+        RequestLogEvent requestLogEvent;
+        while ((requestLogEvent = ringBuffer.poll()) != null) {
+            write(requestLogEvent);
+            drainedEvents = true;
+        }
+        return drainedEvents;
+    }
+
+    private void write(RequestLogEvent requestLogEvent) {
+        if (requestLogEvent.getRequestId() != null) {
+            MDC.put(RequestIdFilter.REQUEST_ID_KEY, requestLogEvent.getRequestId());
+        }
+        try {
+            log.info("Request: " + objectMapper.writeValueAsString(buildLoggableRequest(requestLogEvent)));
+            log.info("Response: " + objectMapper.writeValueAsString(buildLoggableResponse(requestLogEvent)));
+        } catch (JsonProcessingException | RuntimeException e) {
+            log.error("Unable to log request", e);
+        } finally {
+            MDC.remove(RequestIdFilter.REQUEST_ID_KEY);
+        }
+    }
+
+    LoggableRequest buildLoggableRequest(@NonNull RequestLogEvent requestLogEvent) {
+        // we can't use a stream here because Collectors.toMap doesn't support null values
+        Map<String, String> queryParameters = new HashMap<>();
+        if (requestLogEvent.getQueryString() != null) {
+            UriComponentsBuilder.newInstance()
+                    .query(requestLogEvent.getQueryString())
+                    .build()
+                    .getQueryParams()
+                    .forEach((key, value) -> queryParameters.put(key, value.get(0)));
+        }
+        boolean isJson = isJson(requestLogEvent.getRequestBody());
+        return LoggableRequest.builder()
+                .protocol(requestLogEvent.getProtocol())
+                .sender(requestLogEvent.getSender())
+                .method(requestLogEvent.getMethod())
+                .path(requestLogEvent.getPath())
+                .queryString(requestLogEvent.getQueryString())
+                .queryParameters(queryParameters)
+                .headers(requestLogEvent.getRequestHeaders())
+                .userId(requestLogEvent.getUserIdSupplier()
+                        .get())
+                .body(isJson ? null : redact(requestLogEvent.getRequestBody()))
+                .jsonBody(isJson ? requestLogEvent.getRequestBody() : null)
+                .build();
+    }
+
+    LoggableResponse buildLoggableResponse(@NonNull RequestLogEvent requestLogEvent) {
+        boolean isJson = isJson(requestLogEvent.getResponseBody());
+        return LoggableResponse.builder()
+                .duration(requestLogEvent.getDuration())
+                .status(requestLogEvent.getStatus())
+                .headers(requestLogEvent.getResponseHeaders())
+                .body(isJson ? null : redact(requestLogEvent.getResponseBody()))
+                .jsonBody(isJson ? requestLogEvent.getResponseBody() : null)
+                .build();
+    }
+
+    private static String redact(String body) {
+        return body == null ? null : SENSITIVE_DATA_REDACTOR.redact(body);
+    }
+
+    private boolean isJson(String string) {
+        if (string == null || string.isEmpty()) {
+            return false;
+        }
+        try {
+            objectMapper.readTree(string);
+            return true;
+        } catch (JsonProcessingException e) {
+            return false;
+        }
+    }
+}
@@ -1,24 +1,52 @@
 package com.climbassist.logging;
 
-import com.climbassist.api.user.UserConfiguration;
-import com.climbassist.api.user.UserManager;
 import com.climbassist.common.CommonConfiguration;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.NonNull;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Import;
 
 @Configuration
-@Import({CommonConfiguration.class, UserConfiguration.class})
+@Import(CommonConfiguration.class)
 public class LoggingConfiguration {
 
     @Bean
-    public RequestResponseLoggingFilter requestResponseLoggingFilter(@NonNull ObjectMapper objectMapper,
-                                                                     @NonNull UserManager userManager) {
+    public RequestResponseLoggingFilter requestResponseLoggingFilter(@NonNull AsyncRequestLogger asyncRequestLogger,
+                                                                     @Value("${requestLogSampleRate:1.0}")
+                                                                             double requestLogSampleRate,
+                                                                     @Value("${requestLogMaxBodySize:10240}")
+                                                                             int requestLogMaxBodySize) {
         return RequestResponseLoggingFilter.builder()
+                .asyncRequestLogger(asyncRequestLogger)
+                .requestLogSampler(RequestLogSampler.builder()
+                        // health checks and metrics scrapes are never logged
+                        .route(RequestLogRoute.builder()
+                                .pathPattern("/health")
+                                .sampleRate(0.0)
+                                .maxBodySize(0)
+                                .build())
+                        .route(RequestLogRoute.builder()
+                                .pathPattern("/metrics")
+                                .sampleRate(0.0)
+                                .maxBodySize(0)
+                                .build())
+                        .defaultRoute(RequestLogRoute.builder()
+                                .pathPattern("/**")
+                                .sampleRate(requestLogSampleRate)
+                                .maxBodySize(requestLogMaxBodySize)
+                                .build())
+                        .build())
+                .build();
+    }
+
+    @Bean(initMethod = "start", destroyMethod = "stop")
+    public AsyncRequestLogger asyncRequestLogger(@NonNull ObjectMapper objectMapper,
+                                                 @Value("${requestLogBufferSize:4096}") int requestLogBufferSize) {
+        return AsyncRequestLogger.builder()
                 .objectMapper(objectMapper)
-                .userManager(userManager)
+                .bufferSize(requestLogBufferSize)
                 .build();
     }
 
@@ -1,6 +1,5 @@
 package com.climbassist.logging;
 
-import com.google.common.collect.ImmutableSet;
 import org.apache.logging.log4j.core.LogEvent;
 import org.apache.logging.log4j.core.appender.rewrite.RewritePolicy;
 import org.apache.logging.log4j.core.config.plugins.Plugin;
@@ -8,46 +7,25 @@ import org.apache.logging.log4j.core.config.plugins.PluginFactory;
 import org.apache.logging.log4j.core.impl.Log4jLogEvent;
 import org.apache.logging.log4j.message.SimpleMessage;
 
-import java.util.Set;
-import java.util.regex.Pattern;
-
 @Plugin(name = "RedactingRewritePolicy", category = "Core", elementType = "rewritePolicy", printObject = true)
 public class RedactingRewritePolicy implements RewritePolicy {
 
-    private static final Pattern JSON_KEY_VALUE_PATTERN = Pattern.compile(
-            "(\"(?:username|email|password|newPassword|emailBody|replyToEmail|subject)\"[\\s]*:[\\s]*\")(?:[^\"]*)" +
-                    "(\")");
-    private static final Pattern ALIAS_EXISTS_PATTERN = Pattern.compile(
-            "(User with (?:username|email) )(?:[^ ]*)( already exists.)");
-    private static final Pattern USER_NOT_FOUND_PATTERN = Pattern.compile(
-            "(User with (?:username|email) )(?:[^ ]*)( does not exist.)");
-    private static final String REPLACEMENT = "$1<REDACTED>$2";
-
-    private static final Set<Pattern> REDACTIONS = ImmutableSet.<Pattern>builder().add(JSON_KEY_VALUE_PATTERN)
-            .add(ALIAS_EXISTS_PATTERN)
-            .add(USER_NOT_FOUND_PATTERN)
-            .build();
+    private static final SensitiveDataRedactor SENSITIVE_DATA_REDACTOR = new SensitiveDataRedactor();
 
     @Override
     public LogEvent rewrite(final LogEvent logEvent) {
         String message = logEvent.getMessage()
                 .getFormattedMessage();
-        for (Pattern redaction : REDACTIONS) {
-            message = redaction.matcher(message)
-                    .replaceAll(REPLACEMENT);
+        if (message == null) {
+            return logEvent;
+        }
+        String redactedMessage = SENSITIVE_DATA_REDACTOR.redact(message);
+        // most messages have nothing to redact, and those are logged as they are
+        if (redactedMessage == message) {
+            return logEvent;
         }
 
-        return Log4jLogEvent.newBuilder()
-                .setLoggerName(logEvent.getLoggerName())
-                .setMarker(logEvent.getMarker())
-                .setLoggerFqcn(logEvent.getLoggerFqcn())
-                .setLevel(logEvent.getLevel())
-                .setMessage(new SimpleMessage(message))
-                .setThrown(logEvent.getThrown())
-                .setContextStack(logEvent.getContextStack())
-                .setThreadName(logEvent.getThreadName())
-                .setSource(logEvent.getSource())
-                .setTimeMillis(logEvent.getTimeMillis())
+        return new Log4jLogEvent.Builder(logEvent).setMessage(new SimpleMessage(redactedMessage))
                 .build();
     }
 
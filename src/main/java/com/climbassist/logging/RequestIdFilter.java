@@ -15,7 +15,7 @@ import java.util.UUID;
  */
 public class RequestIdFilter implements Filter {
 
-    private static final String REQUEST_ID_KEY = "RequestId";
+    static final String REQUEST_ID_KEY = "RequestId";
 
     @Override
     public void doFilter(ServletRequest servletRequest, ServletResponse servletResponse, FilterChain filterChain)
@@ -0,0 +1,32 @@
+package com.climbassist.logging;
+
+import com.google.common.collect.Multimap;
+import lombok.Builder;
+import lombok.Value;
+
+import java.util.function.Supplier;
+
+/**
+ * Everything about a request and its response that gets logged, captured on the request thread so that it can be
+ * formatted later by {@link AsyncRequestLogger}.
+ */
+@Builder
+@Value
+class RequestLogEvent {
+
+    String requestId;
+    String protocol;
+    String sender;
+    String method;
+    String path;
+    String queryString;
+    Multimap<String, String> requestHeaders;
+    // this is only called on the logging thread, so that working out who the user is never holds up the request
+    @Builder.Default
+    Supplier<String> userIdSupplier = () -> null;
+    String requestBody;
+    long duration;
+    int status;
+    Multimap<String, String> responseHeaders;
+    String responseBody;
+}
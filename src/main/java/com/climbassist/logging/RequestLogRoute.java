@@ -0,0 +1,27 @@
+package com.climbassist.logging;
+
+import lombok.Builder;
+import lombok.NonNull;
+import lombok.Value;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * How requests to paths matching pathPattern (an Ant-style pattern, like "/v1/crags/**") are logged.
+ */
+@Builder
+@Value
+class RequestLogRoute {
+
+    @NonNull
+    String pathPattern;
+    // the fraction of requests that are logged, from 0 (none) to 1 (all)
+    double sampleRate;
+    // the most bytes of the request and response bodies that are logged
+    int maxBodySize;
+
+    boolean isSampled() {
+        return sampleRate >= 1.0 || (sampleRate > 0.0 && ThreadLocalRandom.current()
+                .nextDouble() < sampleRate);
+    }
+}
@@ -0,0 +1,33 @@
+package com.climbassist.logging;
+
+import lombok.Builder;
+import lombok.NonNull;
+import lombok.Singular;
+import org.springframework.util.AntPathMatcher;
+
+import java.util.List;
+
+/**
+ * Picks how each request is logged, using the first route whose pattern matches the request's path, or defaultRoute if
+ * none of them do.
+ */
+@Builder
+class RequestLogSampler {
+
+    private static final AntPathMatcher ANT_PATH_MATCHER = new AntPathMatcher();
+
+    @NonNull
+    @Singular
+    private final List<RequestLogRoute> routes;
+    @NonNull
+    private final RequestLogRoute defaultRoute;
+
+    RequestLogRoute getRoute(@NonNull String path) {
+        for (RequestLogRoute route : routes) {
+            if (ANT_PATH_MATCHER.match(route.getPathPattern(), path)) {
+                return route;
+            }
+        }
+        return defaultRoute;
+    }
+}
@@ -1,18 +1,14 @@
 package com.climbassist.logging;
 
-import com.climbassist.api.user.UserManager;
-import com.climbassist.api.user.authorization.UserDataDecorationFilter;
+import com.climbassist.api.user.authorization.UserDecoration;
+import com.climbassist.wrapper.BufferingFilter;
 import com.climbassist.wrapper.request.RequestWrapper;
 import com.climbassist.wrapper.response.ResponseWrapper;
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.google.common.collect.HashMultimap;
 import com.google.common.collect.Multimap;
 import lombok.Builder;
 import lombok.NonNull;
-import lombok.extern.slf4j.Slf4j;
-import org.springframework.http.server.ServletServerHttpRequest;
-import org.springframework.web.util.UriComponentsBuilder;
+import org.slf4j.MDC;
 
 import javax.servlet.Filter;
 import javax.servlet.FilterChain;
@@ -23,72 +19,53 @@ import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 import java.io.IOException;
 import java.util.Enumeration;
-import java.util.HashMap;
-import java.util.Map;
 
+/**
+ * This class logs requests and their responses. Which requests are logged, and how much of their bodies, depends on
+ * the route that {@link RequestLogSampler} picks for them. Only capturing what needs to be logged is done on the
+ * request thread; {@link AsyncRequestLogger} formats and writes it in the background.
+ */
 @Builder
-@Slf4j
 public class RequestResponseLoggingFilter implements Filter {
 
     @NonNull
-    private final ObjectMapper objectMapper;
-
+    private final AsyncRequestLogger asyncRequestLogger;
     @NonNull
-    private final UserManager userManager;
+    private final RequestLogSampler requestLogSampler;
 
     @Override
     public void doFilter(ServletRequest servletRequest, ServletResponse servletResponse, FilterChain filterChain)
             throws IOException, ServletException {
-
-        boolean isHealthCheck = ((HttpServletRequest) servletRequest).getServletPath()
-                .equals("/health");
-
-        RequestWrapper requestWrapper = new RequestWrapper((HttpServletRequest) servletRequest);
-
-        if (!isHealthCheck) {
-            // we can't use a stream here because Collectors.toMap doesn't support null values
-            Map<String, String> queryParameters = new HashMap<>();
-            UriComponentsBuilder.fromHttpRequest(new ServletServerHttpRequest(requestWrapper))
-                    .build()
-                    .getQueryParams()
-                    .forEach((key, value) -> queryParameters.put(key, value.get(0)));
-
-            boolean isJson = isJson(requestWrapper.getBody());
-
-            LoggableRequest loggableRequest = LoggableRequest.builder()
-                    .protocol(requestWrapper.getProtocol())
-                    .sender(requestWrapper.getRemoteAddr())
-                    .method(((HttpServletRequest) servletRequest).getMethod())
-                    .path(((HttpServletRequest) servletRequest).getServletPath())
-                    .queryString(requestWrapper.getQueryString())
-                    .queryParameters(queryParameters)
-                    .headers(getHeaders(requestWrapper))
-                    .userId((String) requestWrapper.getAttribute(UserDataDecorationFilter.USER_ID_ATTRIBUTE_NAME))
-                    .body(isJson ? null : requestWrapper.getBody())
-                    .jsonBody(isJson ? requestWrapper.getBody() : null)
-                    .build();
-            log.info("Request: " + objectMapper.writeValueAsString(loggableRequest));
+        HttpServletRequest httpServletRequest = (HttpServletRequest) servletRequest;
+        RequestLogRoute requestLogRoute = requestLogSampler.getRoute(httpServletRequest.getServletPath());
+        if (!requestLogRoute.isSampled()) {
+            filterChain.doFilter(servletRequest, servletResponse);
+            return;
         }
 
+        RequestWrapper requestWrapper = BufferingFilter.getRequestWrapper(servletRequest);
+        ResponseWrapper responseWrapper = BufferingFilter.getResponseWrapper(servletResponse);
+
         long startTime = System.currentTimeMillis();
-        ResponseWrapper responseWrapper = new ResponseWrapper((HttpServletResponse) servletResponse);
-        filterChain.doFilter(requestWrapper, responseWrapper);
+        filterChain.doFilter(servletRequest, servletResponse);
         long duration = System.currentTimeMillis() - startTime;
 
-        if (!isHealthCheck) {
-            boolean isJson = isJson(responseWrapper.getBody());
-            LoggableResponse loggableResponse = LoggableResponse.builder()
-                    .duration(duration)
-                    .status(responseWrapper.getStatus())
-                    .headers(getHeaders(responseWrapper))
-                    .body(isJson ? null : responseWrapper.getBody())
-                    .jsonBody(isJson ? responseWrapper.getBody() : null)
-                    .build();
-            log.info("Response: " + objectMapper.writeValueAsString(loggableResponse));
-        }
-
-        servletResponse.getOutputStream()
-                .write(responseWrapper.getData());
+        // the request and response are recycled once the request is done, so everything is copied out of them here
+        asyncRequestLogger.log(RequestLogEvent.builder()
+                .requestId(MDC.get(RequestIdFilter.REQUEST_ID_KEY))
+                .protocol(requestWrapper.getProtocol())
+                .sender(requestWrapper.getRemoteAddr())
+                .method(httpServletRequest.getMethod())
+                .path(httpServletRequest.getServletPath())
+                .queryString(requestWrapper.getQueryString())
+                .requestHeaders(getHeaders(requestWrapper))
+                .userIdSupplier(UserDecoration.getDeferredUserIdSupplier(requestWrapper))
+                .requestBody(requestWrapper.getBody(requestLogRoute.getMaxBodySize()))
+                .duration(duration)
+                .status(responseWrapper.getStatus())
+                .responseHeaders(getHeaders(responseWrapper))
+                .responseBody(responseWrapper.getBody(requestLogRoute.getMaxBodySize()))
+                .build());
     }
 
     private Multimap<String, String> getHeaders(HttpServletRequest httpServletRequest) {
@@ -113,13 +90,4 @@ public class RequestResponseLoggingFilter implements Filter {
         }
         return headers;
     }
-
-    private boolean isJson(String string) {
-        try {
-            objectMapper.readTree(string);
-            return true;
-        } catch (JsonProcessingException e) {
-            return false;
-        }
-    }
 }
@@ -0,0 +1,106 @@
+package com.climbassist.logging;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * A bounded, lock-free queue that any number of threads can offer to and poll from. Each slot has a sequence number
+ * that says whether it's waiting to be filled or to be emptied, so producers and consumers only ever contend on a
+ * compare-and-set of the position they're claiming, never on a lock. Offering to a full buffer fails immediately
+ * instead of blocking.
+ */
+class RingBuffer<T> {
+
+    private final int mask;
+    private final AtomicReferenceArray<T> elements;
+    private final AtomicLongArray sequences;
+    private final AtomicLong tail;
+    private final AtomicLong head;
+
+    /**
+     * @param capacity the minimum number of elements the buffer can hold, which is rounded up to a power of two
+     */
+    RingBuffer(int capacity) {
+        if (capacity < 1 || capacity > 1 << 30) {
+            throw new IllegalArgumentException("Capacity must be between 1 and 2^30.");
+        }
+        int roundedCapacity = capacity == 1 ? 1 : Integer.highestOneBit(capacity - 1) << 1;
+        mask = roundedCapacity - 1;
+        elements = new AtomicReferenceArray<>(roundedCapacity);
+        sequences = new AtomicLongArray(roundedCapacity);
+        for (int i = 0; i < roundedCapacity; i++) {
+            sequences.set(i, i);
+        }
+        tail = new AtomicLong();
+        head = new AtomicLong();
+    }
+
+    /**
+     * @return false if the buffer is full, in which case the element is not added
+     */
+    boolean offer(T element) {
+        long position = getTail();
+        while (true) {
+            int index = (int) (position & mask);
+            long difference = sequences.get(index) - position;
+            if (difference == 0) {
+                if (compareAndSetTail(position, position + 1)) {
+                    elements.set(index, element);
+                    sequences.set(index, position + 1);
+                    return true;
+                }
+            }
+            else if (difference < 0) {
+                // the slot still holds an element from one lap ago
+                return false;
+            }
+            position = getTail();
+        }
+    }
+
+    /**
+     * @return the oldest element, or null if the buffer is empty
+     */
+    T poll() {
+        long position = getHead();
+        while (true) {
+            int index = (int) (position & mask);
+            long difference = sequences.get(index) - (position + 1);
+            if (difference == 0) {
+                if (compareAndSetHead(position, position + 1)) {
+                    T element = elements.get(index);
+                    elements.set(index, null);
+                    sequences.set(index, position + mask + 1);
+                    return element;
+                }
+            }
+            else if (difference < 0) {
+                return null;
+            }
+            position = getHead();
+        }
+    }
+
+    int capacity() {
+        return mask + 1;
+    }
+
+    // the positions are only read and claimed through these, so that tests can make another thread's call happen in
+    // between
+    long getTail() {
+        return tail.get();
+    }
+
+    boolean compareAndSetTail(long expect, long update) {
+        return tail.compareAndSet(expect, update);
+    }
+
+    long getHead() {
+        return head.get();
+    }
+
+    boolean compareAndSetHead(long expect, long update) {
+        return head.compareAndSet(expect, update);
+    }
+}
@@ -0,0 +1,218 @@
+package com.climbassist.logging;
+
+import com.google.common.collect.ImmutableList;
+import lombok.NonNull;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Queue;
+
+/**
+ * Redacts sensitive data from log messages in a single pass, replacing it with {@value #REDACTED}. Two kinds of data
+ * are redacted:
+ * <ul>
+ *     <li>the string values of sensitive JSON fields, like {@code "password": "..."}, including a value that isn't
+ *     closed because the message was truncated, which is redacted up to the end of the message</li>
+ *     <li>the alias in "User with username ... already exists." and "User with email ... does not exist." messages</li>
+ * </ul>
+ * The strings that start sensitive data are compiled into one Aho-Corasick automaton, so the message is only scanned
+ * once no matter how many of them there are. Nothing is allocated unless something needs to be redacted, which is the
+ * case for almost every message.
+ */
+class SensitiveDataRedactor {
+
+    static final String REDACTED = "<REDACTED>";
+
+    private static final List<String> SENSITIVE_JSON_FIELDS = ImmutableList.of("username", "email", "password",
+            "newPassword", "emailBody", "replyToEmail", "subject");
+    private static final List<String> ALIAS_MESSAGE_PREFIXES = ImmutableList.of("User with username ",
+            "User with email ");
+    private static final List<String> ALIAS_MESSAGE_SUFFIXES = ImmutableList.of(" already exists", " does not exist");
+    private static final int ALPHABET_SIZE = 128;
+    private static final int NO_MATCH = -1;
+
+    // transitions[state][character] is the next state, following failure links, so scanning is one lookup per character
+    private final int[][] transitions;
+    // the pattern that has just been matched in each state, or NO_MATCH
+    private final int[] matches;
+    private final int jsonFieldPatterns;
+
+    SensitiveDataRedactor() {
+        List<String> patterns = new ArrayList<>();
+        SENSITIVE_JSON_FIELDS.forEach(field -> patterns.add("\"" + field + "\""));
+        jsonFieldPatterns = patterns.size();
+        patterns.addAll(ALIAS_MESSAGE_PREFIXES);
+
+        List<int[]> trie = new ArrayList<>();
+        List<Integer> trieMatches = new ArrayList<>();
+        trie.add(newState());
+        trieMatches.add(NO_MATCH);
+        for (int pattern = 0; pattern < patterns.size(); pattern++) {
+            int state = 0;
+            for (char character : patterns.get(pattern)
+                    .toCharArray()) {
+                if (trie.get(state)[character] == NO_MATCH) {
+                    trie.get(state)[character] = trie.size();
+                    trie.add(newState());
+                    trieMatches.add(NO_MATCH);
+                }
+                state = trie.get(state)[character];
+            }
+            trieMatches.set(state, pattern);
+        }
+
+        transitions = trie.toArray(new int[0][]);
+        matches = trieMatches.stream()
+                .mapToInt(Integer::intValue)
+                .toArray();
+        int[] failures = new int[transitions.length];
+        Queue<Integer> queue = new ArrayDeque<>();
+        for (int character = 0; character < ALPHABET_SIZE; character++) {
+            if (transitions[0][character] == NO_MATCH) {
+                transitions[0][character] = 0;
+            }
+            else {
+                queue.add(transitions[0][character]);
+            }
+        }
+        while (!queue.isEmpty()) {
+            int state = queue.remove();
+            if (matches[state] == NO_MATCH) {
+                matches[state] = matches[failures[state]];
+            }
+            for (int character = 0; character < ALPHABET_SIZE; character++) {
+                int nextState = transitions[state][character];
+                if (nextState == NO_MATCH) {
+                    transitions[state][character] = transitions[failures[state]][character];
+                }
+                else {
+                    failures[nextState] = transitions[failures[state]][character];
+                    queue.add(nextState);
+                }
+            }
+        }
+    }
+
+    /**
+     * @return message with its sensitive data redacted, or message itself if there was nothing to redact
+     */
+    String redact(@NonNull String message) {
+        StringBuilder redactedMessage = null;
+        // everything before this has already been copied to redactedMessage
+        int copiedUntil = 0;
+        int state = 0;
+        int length = message.length();
+        int index = 0;
+        while (index < length) {
+            char character = message.charAt(index++);
+            state = character < ALPHABET_SIZE ? transitions[state][character] : 0;
+            int match = matches[state];
+            if (match == NO_MATCH) {
+                continue;
+            }
+            int valueStart;
+            int valueEnd;
+            if (match < jsonFieldPatterns) {
+                valueStart = findJsonStringValue(message, index);
+                valueEnd = valueStart < 0 ? -1 : findJsonStringEnd(message, valueStart);
+            }
+            else {
+                valueStart = index;
+                valueEnd = findAliasEnd(message, valueStart);
+            }
+            if (valueEnd < 0) {
+                continue;
+            }
+            if (redactedMessage == null) {
+                redactedMessage = new StringBuilder(length);
+            }
+            redactedMessage.append(message, copiedUntil, valueStart)
+                    .append(REDACTED);
+            copiedUntil = valueEnd;
+            // like the closing quote of a JSON value, the space after an alias can't start another match
+            index = valueEnd + 1;
+            state = 0;
+        }
+        if (redactedMessage == null) {
+            return message;
+        }
+        return redactedMessage.append(message, copiedUntil, length)
+                .toString();
+    }
+
+    private static int[] newState() {
+        int[] state = new int[ALPHABET_SIZE];
+        Arrays.fill(state, NO_MATCH);
+        return state;
+    }
+
+    /**
+     * @return the index just after the opening quote of the string value that follows a field name which ends just
+     * before index, or -1 if the field doesn't have a string value
+     */
+    private static int findJsonStringValue(String message, int index) {
+        index = skipWhitespace(message, index);
+        if (index >= message.length() || message.charAt(index) != ':') {
+            return -1;
+        }
+        index = skipWhitespace(message, index + 1);
+        if (index >= message.length() || message.charAt(index) != '"') {
+            return -1;
+        }
+        return index + 1;
+    }
+
+    /**
+     * @return the index of the closing quote of the string that starts at index, or the length of the message if the
+     * string isn't closed
+     */
+    private static int findJsonStringEnd(String message, int index) {
+        while (index < message.length()) {
+            char character = message.charAt(index);
+            if (character == '"') {
+                return index;
+            }
+            index += character == '\\' ? 2 : 1;
+        }
+        return message.length();
+    }
+
+    /**
+     * @return the index of the space after the alias that starts at index, or -1 if it isn't followed by one of the
+     * alias message suffixes
+     */
+    private static int findAliasEnd(String message, int index) {
+        int aliasEnd = message.indexOf(' ', index);
+        if (aliasEnd < 0) {
+            return -1;
+        }
+        for (String suffix : ALIAS_MESSAGE_SUFFIXES) {
+            int suffixEnd = aliasEnd + suffix.length();
+            // the suffix has to be followed by one more character on the same line, which is normally a period
+            if (message.startsWith(suffix, aliasEnd) && suffixEnd < message.length() && !isLineTerminator(
+                    message.charAt(suffixEnd))) {
+                return aliasEnd;
+            }
+        }
+        return -1;
+    }
+
+    private static int skipWhitespace(String message, int index) {
+        while (index < message.length() && isWhitespace(message.charAt(index))) {
+            index++;
+        }
+        return index;
+    }
+
+    private static boolean isWhitespace(char character) {
+        return character == ' ' || character == '\t' || character == '\n' || character == '\u000B' ||
+                character == '\f' || character == '\r';
+    }
+
+    private static boolean isLineTerminator(char character) {
+        return character == '\n' || character == '\r' || character == '\u0085' || character == '\u2028' ||
+                character == '\u2029';
+    }
+}
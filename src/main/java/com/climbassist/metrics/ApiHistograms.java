@@ -0,0 +1,33 @@
+package com.climbassist.metrics;
+
+import lombok.Builder;
+import lombok.NonNull;
+
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A histogram for each API, recorded since the server started.
+ */
+@Builder
+public class ApiHistograms {
+
+    // entries are never removed, since there's only ever one per API
+    private final Map<String, Histogram> histograms = new ConcurrentHashMap<>();
+
+    public void record(@NonNull String api, long value) {
+        histograms.computeIfAbsent(api, key -> new Histogram())
+                .record(value);
+    }
+
+    /**
+     * @return a snapshot of each API's histogram, sorted by API
+     */
+    public SortedMap<String, Histogram.Snapshot> getSnapshots() {
+        SortedMap<String, Histogram.Snapshot> snapshots = new TreeMap<>();
+        histograms.forEach((api, histogram) -> snapshots.put(api, histogram.getSnapshot()));
+        return snapshots;
+    }
+}
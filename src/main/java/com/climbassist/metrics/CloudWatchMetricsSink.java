@@ -0,0 +1,18 @@
+package com.climbassist.metrics;
+
+import com.amazonaws.services.cloudwatch.AmazonCloudWatch;
+import com.amazonaws.services.cloudwatch.model.PutMetricDataRequest;
+import lombok.Builder;
+import lombok.NonNull;
+
+@Builder
+public class CloudWatchMetricsSink implements MetricsSink {
+
+    @NonNull
+    private final AmazonCloudWatch amazonCloudWatch;
+
+    @Override
+    public void putMetricData(@NonNull PutMetricDataRequest putMetricDataRequest) {
+        amazonCloudWatch.putMetricData(putMetricDataRequest);
+    }
+}
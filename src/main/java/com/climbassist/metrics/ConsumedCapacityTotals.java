@@ -0,0 +1,60 @@
+package com.climbassist.metrics;
+
+import lombok.Builder;
+import lombok.NonNull;
+import lombok.Value;
+
+import java.util.Comparator;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.DoubleAdder;
+
+/**
+ * The DynamoDB capacity units that each API has consumed from each table, totalled since the server started.
+ */
+@Builder
+public class ConsumedCapacityTotals {
+
+    @Value
+    private static class ApiTable {
+
+        String api;
+        String tableName;
+    }
+
+    private static class Totals {
+
+        private final DoubleAdder readCapacityUnits = new DoubleAdder();
+        private final DoubleAdder writeCapacityUnits = new DoubleAdder();
+    }
+
+    // entries are never removed, since there's only ever one per API and table
+    private final Map<ApiTable, Totals> totals = new ConcurrentHashMap<>();
+
+    public void record(@NonNull String api, @NonNull String tableName, double readCapacityUnits,
+                       double writeCapacityUnits) {
+        Totals apiTableTotals = totals.computeIfAbsent(new ApiTable(api, tableName), key -> new Totals());
+        apiTableTotals.readCapacityUnits.add(readCapacityUnits);
+        apiTableTotals.writeCapacityUnits.add(writeCapacityUnits);
+    }
+
+    /**
+     * @param consumer called with each API, table, and the read and write capacity units the API has consumed from the
+     *                 table, sorted by API and then table
+     */
+    public void forEachTotal(@NonNull TotalConsumer consumer) {
+        SortedMap<ApiTable, Totals> sortedTotals = new TreeMap<>(Comparator.comparing(ApiTable::getApi)
+                .thenComparing(ApiTable::getTableName));
+        sortedTotals.putAll(totals);
+        sortedTotals.forEach((apiTable, apiTableTotals) -> consumer.accept(apiTable.getApi(), apiTable.getTableName(),
+                apiTableTotals.readCapacityUnits.sum(), apiTableTotals.writeCapacityUnits.sum()));
+    }
+
+    @FunctionalInterface
+    public interface TotalConsumer {
+
+        void accept(String api, String tableName, double readCapacityUnits, double writeCapacityUnits);
+    }
+}
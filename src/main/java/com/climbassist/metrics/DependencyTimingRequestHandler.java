@@ -0,0 +1,42 @@
+package com.climbassist.metrics;
+
+import com.amazonaws.Request;
+import com.amazonaws.Response;
+import com.amazonaws.handlers.HandlerContextKey;
+import com.amazonaws.handlers.RequestHandler2;
+import lombok.Builder;
+import lombok.NonNull;
+
+/**
+ * Reports each call an AWS client makes into the {@link RequestTimings} of the request that made it.
+ */
+@Builder
+public class DependencyTimingRequestHandler extends RequestHandler2 {
+
+    private static final HandlerContextKey<Long> START_TIME = new HandlerContextKey<>("DependencyTimingStartTime");
+
+    @NonNull
+    private final String dependency;
+
+    @Override
+    public void beforeRequest(Request<?> request) {
+        request.addHandlerContext(START_TIME, System.nanoTime());
+    }
+
+    @Override
+    public void afterResponse(Request<?> request, Response<?> response) {
+        recordCall(request);
+    }
+
+    @Override
+    public void afterError(Request<?> request, Response<?> response, Exception e) {
+        recordCall(request);
+    }
+
+    private void recordCall(Request<?> request) {
+        Long startTime = request.getHandlerContext(START_TIME);
+        if (startTime != null) {
+            RequestTimings.recordCall(dependency, System.nanoTime() - startTime);
+        }
+    }
+}
@@ -0,0 +1,173 @@
+package com.climbassist.metrics;
+
+import com.amazonaws.AmazonWebServiceRequest;
+import com.amazonaws.Request;
+import com.amazonaws.Response;
+import com.amazonaws.handlers.RequestHandler2;
+import com.amazonaws.services.dynamodbv2.model.BatchGetItemRequest;
+import com.amazonaws.services.dynamodbv2.model.BatchGetItemResult;
+import com.amazonaws.services.dynamodbv2.model.BatchWriteItemRequest;
+import com.amazonaws.services.dynamodbv2.model.BatchWriteItemResult;
+import com.amazonaws.services.dynamodbv2.model.ConsumedCapacity;
+import com.amazonaws.services.dynamodbv2.model.DeleteItemRequest;
+import com.amazonaws.services.dynamodbv2.model.DeleteItemResult;
+import com.amazonaws.services.dynamodbv2.model.GetItemRequest;
+import com.amazonaws.services.dynamodbv2.model.GetItemResult;
+import com.amazonaws.services.dynamodbv2.model.PutItemRequest;
+import com.amazonaws.services.dynamodbv2.model.PutItemResult;
+import com.amazonaws.services.dynamodbv2.model.QueryRequest;
+import com.amazonaws.services.dynamodbv2.model.QueryResult;
+import com.amazonaws.services.dynamodbv2.model.ReturnConsumedCapacity;
+import com.amazonaws.services.dynamodbv2.model.ScanRequest;
+import com.amazonaws.services.dynamodbv2.model.ScanResult;
+import com.amazonaws.services.dynamodbv2.model.TransactGetItemsRequest;
+import com.amazonaws.services.dynamodbv2.model.TransactGetItemsResult;
+import com.amazonaws.services.dynamodbv2.model.TransactWriteItemsRequest;
+import com.amazonaws.services.dynamodbv2.model.TransactWriteItemsResult;
+import com.amazonaws.services.dynamodbv2.model.UpdateItemRequest;
+import com.amazonaws.services.dynamodbv2.model.UpdateItemResult;
+import lombok.Builder;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.function.BiConsumer;
+
+/**
+ * Keeps each request's DynamoDB calls within a budget (unless the request is exempt, see
+ * {@link RequestTimings#exemptFromCallBudget()}), notes queries that a request makes more than once, which
+ * usually means that children are being fetched one parent at a time (an N+1 query), and records the capacity units
+ * that each call consumes. Calls are counted by {@link DependencyTimingRequestHandler}, so this has to be registered on
+ * the same client.
+ *
+ * This has to be the client's first request handler: when it rejects a call, the SDK doesn't run the other handlers'
+ * afterError, so they must not have run their beforeRequest yet either.
+ */
+@Builder
+public class DynamoDbCallAccountingRequestHandler extends RequestHandler2 {
+
+    private final int maxCallsPerRequest;
+
+    /**
+     * Asks DynamoDB to return the total capacity units consumed by each call that can report them.
+     */
+    @Override
+    public AmazonWebServiceRequest beforeExecution(AmazonWebServiceRequest request) {
+        if (request instanceof GetItemRequest) {
+            ((GetItemRequest) request).setReturnConsumedCapacity(ReturnConsumedCapacity.TOTAL);
+        }
+        else if (request instanceof QueryRequest) {
+            ((QueryRequest) request).setReturnConsumedCapacity(ReturnConsumedCapacity.TOTAL);
+        }
+        else if (request instanceof ScanRequest) {
+            ((ScanRequest) request).setReturnConsumedCapacity(ReturnConsumedCapacity.TOTAL);
+        }
+        else if (request instanceof BatchGetItemRequest) {
+            ((BatchGetItemRequest) request).setReturnConsumedCapacity(ReturnConsumedCapacity.TOTAL);
+        }
+        else if (request instanceof TransactGetItemsRequest) {
+            ((TransactGetItemsRequest) request).withReturnConsumedCapacity(ReturnConsumedCapacity.TOTAL);
+        }
+        else if (request instanceof PutItemRequest) {
+            ((PutItemRequest) request).setReturnConsumedCapacity(ReturnConsumedCapacity.TOTAL);
+        }
+        else if (request instanceof UpdateItemRequest) {
+            ((UpdateItemRequest) request).setReturnConsumedCapacity(ReturnConsumedCapacity.TOTAL);
+        }
+        else if (request instanceof DeleteItemRequest) {
+            ((DeleteItemRequest) request).setReturnConsumedCapacity(ReturnConsumedCapacity.TOTAL);
+        }
+        else if (request instanceof BatchWriteItemRequest) {
+            ((BatchWriteItemRequest) request).setReturnConsumedCapacity(ReturnConsumedCapacity.TOTAL);
+        }
+        else if (request instanceof TransactWriteItemsRequest) {
+            ((TransactWriteItemsRequest) request).withReturnConsumedCapacity(ReturnConsumedCapacity.TOTAL);
+        }
+        return request;
+    }
+
+    /**
+     * @throws StorageCallBudgetExceededException if the request has already made maxCallsPerRequest calls and isn't
+     *                                            exempt from the budget
+     */
+    @Override
+    public void beforeRequest(Request<?> request) {
+        RequestTimings requestTimings = RequestTimings.getCurrent();
+        if (requestTimings == null) {
+            return;
+        }
+        if (!requestTimings.isCallBudgetExempt() &&
+                requestTimings.getCalls(RequestTimings.DYNAMO_DB) >= maxCallsPerRequest) {
+            throw new StorageCallBudgetExceededException(maxCallsPerRequest);
+        }
+        if (request.getOriginalRequest() instanceof QueryRequest) {
+            QueryRequest queryRequest = (QueryRequest) request.getOriginalRequest();
+            // later pages of a query aren't repeats of it
+            if (queryRequest.getExclusiveStartKey() == null) {
+                RequestTimings.recordQuery(String.format("%s %s %s", queryRequest.getTableName(),
+                        queryRequest.getIndexName(), queryRequest.getKeyConditions()));
+            }
+        }
+    }
+
+    @Override
+    public void afterResponse(Request<?> request, Response<?> response) {
+        if (response == null) {
+            return;
+        }
+        Object result = response.getAwsResponse();
+        if (result instanceof GetItemResult) {
+            recordReadCapacity(Collections.singleton(((GetItemResult) result).getConsumedCapacity()));
+        }
+        else if (result instanceof QueryResult) {
+            recordReadCapacity(Collections.singleton(((QueryResult) result).getConsumedCapacity()));
+        }
+        else if (result instanceof ScanResult) {
+            recordReadCapacity(Collections.singleton(((ScanResult) result).getConsumedCapacity()));
+        }
+        else if (result instanceof BatchGetItemResult) {
+            recordReadCapacity(((BatchGetItemResult) result).getConsumedCapacity());
+        }
+        else if (result instanceof TransactGetItemsResult) {
+            recordReadCapacity(((TransactGetItemsResult) result).getConsumedCapacity());
+        }
+        else if (result instanceof PutItemResult) {
+            recordWriteCapacity(Collections.singleton(((PutItemResult) result).getConsumedCapacity()));
+        }
+        else if (result instanceof UpdateItemResult) {
+            recordWriteCapacity(Collections.singleton(((UpdateItemResult) result).getConsumedCapacity()));
+        }
+        else if (result instanceof DeleteItemResult) {
+            recordWriteCapacity(Collections.singleton(((DeleteItemResult) result).getConsumedCapacity()));
+        }
+        else if (result instanceof BatchWriteItemResult) {
+            recordWriteCapacity(((BatchWriteItemResult) result).getConsumedCapacity());
+        }
+        else if (result instanceof TransactWriteItemsResult) {
+            recordWriteCapacity(((TransactWriteItemsResult) result).getConsumedCapacity());
+        }
+    }
+
+    private static void recordReadCapacity(Collection<ConsumedCapacity> consumedCapacities) {
+        forEachCapacityUnits(consumedCapacities,
+                (tableName, capacityUnits) -> RequestTimings.recordConsumedCapacity(tableName, capacityUnits, 0.0));
+    }
+
+    private static void recordWriteCapacity(Collection<ConsumedCapacity> consumedCapacities) {
+        forEachCapacityUnits(consumedCapacities,
+                (tableName, capacityUnits) -> RequestTimings.recordConsumedCapacity(tableName, 0.0, capacityUnits));
+    }
+
+    // with TOTAL, DynamoDB only reports the total for each table (including its indexes), so the operation decides
+    // whether those units were reads or writes
+    private static void forEachCapacityUnits(Collection<ConsumedCapacity> consumedCapacities,
+                                             BiConsumer<String, Double> consumer) {
+        if (consumedCapacities == null) {
+            return;
+        }
+        consumedCapacities.stream()
+                .filter(consumedCapacity -> consumedCapacity != null && consumedCapacity.getTableName() != null &&
+                        consumedCapacity.getCapacityUnits() != null)
+                .forEach(consumedCapacity -> consumer.accept(consumedCapacity.getTableName(),
+                        consumedCapacity.getCapacityUnits()));
+    }
+}
@@ -0,0 +1,123 @@
+package com.climbassist.metrics;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A histogram of non-negative values (such as latencies in microseconds, or counts), bucketed the way HdrHistogram
+ * buckets them: every power of two is split into the same number of linear sub-buckets, so a value is always recorded
+ * with the same relative error (at most 1/32, about 3%) no matter how large it is. Values up to 2^32 - 1 (about 71
+ * minutes, in microseconds) can be recorded.
+ *
+ * Counts are kept in a fixed number of stripes, and each thread records into the stripe picked by its ID, so threads
+ * rarely update the same counts at once and memory doesn't grow with the number of threads that have recorded.
+ * Snapshots add the stripes together, which makes them a lot more expensive than recording, but they're only taken
+ * when the metrics are scraped.
+ */
+public class Histogram {
+
+    private static final int SUB_BUCKET_BITS = 6;
+    private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+    private static final int SUB_BUCKET_HALF_COUNT = SUB_BUCKET_COUNT / 2;
+    static final long MAX_VALUE = (1L << 32) - 1;
+    static final int BUCKET_COUNT = getIndex(MAX_VALUE) + 1;
+    // the sum of the recorded values is kept in the slot after the last bucket
+    private static final int SUM_INDEX = BUCKET_COUNT;
+    // a power of two, so that a thread's stripe can be picked with a mask
+    static final int STRIPE_COUNT = Math.min(Integer.highestOneBit(Runtime.getRuntime()
+            .availableProcessors() * 2 - 1), 16);
+
+    private final AtomicLongArray[] stripes;
+
+    public Histogram() {
+        stripes = new AtomicLongArray[STRIPE_COUNT];
+        for (int i = 0; i < STRIPE_COUNT; i++) {
+            stripes[i] = new AtomicLongArray(BUCKET_COUNT + 1);
+        }
+    }
+
+    /**
+     * Records value, or 0 or {@link #MAX_VALUE} if it's outside of the range that can be recorded.
+     */
+    public void record(long value) {
+        long clampedValue = Math.min(Math.max(value, 0), MAX_VALUE);
+        AtomicLongArray stripe = stripes[(int) Thread.currentThread()
+                .getId() & (STRIPE_COUNT - 1)];
+        stripe.incrementAndGet(getIndex(clampedValue));
+        stripe.addAndGet(SUM_INDEX, clampedValue);
+    }
+
+    public Snapshot getSnapshot() {
+        long[] counts = new long[BUCKET_COUNT];
+        long totalCount = 0;
+        long sum = 0;
+        for (AtomicLongArray stripe : stripes) {
+            for (int i = 0; i < BUCKET_COUNT; i++) {
+                long count = stripe.get(i);
+                counts[i] += count;
+                totalCount += count;
+            }
+            sum += stripe.get(SUM_INDEX);
+        }
+        return new Snapshot(counts, totalCount, sum);
+    }
+
+    static int getIndex(long value) {
+        if (value < SUB_BUCKET_COUNT) {
+            return (int) value;
+        }
+        // values from 2^(shift + 5) up to 2^(shift + 6) are split into 32 sub-buckets, each 2^shift wide
+        int shift = 63 - Long.numberOfLeadingZeros(value) - (SUB_BUCKET_BITS - 1);
+        return SUB_BUCKET_COUNT + (shift - 1) * SUB_BUCKET_HALF_COUNT + (int) (value >>> shift) -
+                SUB_BUCKET_HALF_COUNT;
+    }
+
+    /**
+     * @return the largest value that is recorded in the bucket at index
+     */
+    static long getHighestValue(int index) {
+        if (index < SUB_BUCKET_COUNT) {
+            return index;
+        }
+        int shift = (index - SUB_BUCKET_COUNT) / SUB_BUCKET_HALF_COUNT + 1;
+        long subBucket = (index - SUB_BUCKET_COUNT) % SUB_BUCKET_HALF_COUNT + SUB_BUCKET_HALF_COUNT;
+        return ((subBucket + 1) << shift) - 1;
+    }
+
+    @AllArgsConstructor(access = AccessLevel.PRIVATE)
+    public static class Snapshot {
+
+        private final long[] counts;
+        private final long count;
+        private final long sum;
+
+        public long getCount() {
+            return count;
+        }
+
+        public long getSum() {
+            return sum;
+        }
+
+        /**
+         * @param percentile a percentile from 0 to 100
+         * @return the highest value that's equivalent to the value at percentile (that is, the top of the bucket it
+         * fell in), or 0 if nothing has been recorded
+         */
+        public long getValueAtPercentile(double percentile) {
+            if (count == 0) {
+                return 0;
+            }
+            long countAtPercentile = Math.max(1, (long) Math.ceil(percentile / 100.0 * count));
+            // count is the sum of counts, so this always stops at or before the last bucket
+            int index = 0;
+            long cumulativeCount = counts[0];
+            while (cumulativeCount < countAtPercentile) {
+                cumulativeCount += counts[++index];
+            }
+            return getHighestValue(index);
+        }
+    }
+}
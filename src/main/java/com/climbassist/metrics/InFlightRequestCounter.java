@@ -0,0 +1,40 @@
+package com.climbassist.metrics;
+
+import com.amazonaws.Request;
+import com.amazonaws.Response;
+import com.amazonaws.handlers.RequestHandler2;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Counts the requests an AWS client has in flight. The SDK doesn't expose its connection pool, but each request holds a
+ * connection for about as long as it's in flight, so this is how much of the pool is in use.
+ */
+@Builder
+public class InFlightRequestCounter extends RequestHandler2 {
+
+    @Getter
+    private final int maxConnections;
+    private final AtomicInteger inFlightRequests = new AtomicInteger();
+
+    @Override
+    public void beforeRequest(Request<?> request) {
+        inFlightRequests.incrementAndGet();
+    }
+
+    @Override
+    public void afterResponse(Request<?> request, Response<?> response) {
+        inFlightRequests.decrementAndGet();
+    }
+
+    @Override
+    public void afterError(Request<?> request, Response<?> response, Exception e) {
+        inFlightRequests.decrementAndGet();
+    }
+
+    public int getInFlightRequests() {
+        return inFlightRequests.get();
+    }
+}
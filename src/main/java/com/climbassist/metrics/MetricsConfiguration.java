@@ -10,22 +10,117 @@ import org.springframework.context.annotation.Import;
 import org.springframework.context.annotation.PropertySource;
 import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerMapping;
 
+import javax.management.MalformedObjectNameException;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+import java.util.concurrent.ThreadPoolExecutor;
+
 @Configuration
 @Import(CommonConfiguration.class)
 @PropertySource("classpath:application.properties")
 public class MetricsConfiguration {
 
     @Bean
-    public MetricsFilter metricsFilter(@NonNull String region,
-                                       @NonNull @Value("${metricsNamespace}") String metricsNamespace,
+    public MetricsEmitter metricsEmitter() {
+        return MetricsEmitter.builder()
+                .build();
+    }
+
+    @Bean
+    public MetricsSink metricsSink(@NonNull String region) {
+        return CloudWatchMetricsSink.builder()
+                .amazonCloudWatch(AmazonCloudWatchClientBuilder.standard()
+                        .withRegion(region)
+                        .build())
+                .build();
+    }
+
+    @Bean(initMethod = "start", destroyMethod = "stop")
+    public MetricsPublisher metricsPublisher(@NonNull MetricsEmitter metricsEmitter, @NonNull MetricsSink metricsSink,
+                                             @NonNull @Value("${metricsNamespace}") String metricsNamespace,
+                                             @Value("${metricsFlushIntervalSeconds:60}")
+                                                     long metricsFlushIntervalSeconds,
+                                             @Value("${maxPendingMetricsRequests:1000}")
+                                                     int maxPendingMetricsRequests) {
+        return MetricsPublisher.builder()
+                .metricsEmitter(metricsEmitter)
+                .metricsSink(metricsSink)
+                .metricsNamespace(metricsNamespace)
+                .flushIntervalSeconds(metricsFlushIntervalSeconds)
+                .maxPendingRequests(maxPendingMetricsRequests)
+                .build();
+    }
+
+    @Bean
+    public ApiHistograms latencyHistograms() {
+        return ApiHistograms.builder()
+                .build();
+    }
+
+    @Bean
+    public ApiHistograms dynamoDbCallHistograms() {
+        return ApiHistograms.builder()
+                .build();
+    }
+
+    @Bean
+    public ConsumedCapacityTotals consumedCapacityTotals() {
+        return ConsumedCapacityTotals.builder()
+                .build();
+    }
+
+    /**
+     * Every thread pool and connection pool in the context is reported, keyed by the name of its bean.
+     */
+    @Bean
+    public PrometheusMetricsRenderer prometheusMetricsRenderer(@NonNull ApiHistograms latencyHistograms,
+                                                               @NonNull ApiHistograms dynamoDbCallHistograms,
+                                                               @NonNull ConsumedCapacityTotals consumedCapacityTotals,
+                                                               @NonNull MetricsPublisher metricsPublisher,
+                                                               @NonNull Map<String, ThreadPoolExecutor>
+                                                                       threadPoolExecutors,
+                                                               @NonNull Map<String, InFlightRequestCounter>
+                                                                       inFlightRequestCounters)
+            throws MalformedObjectNameException {
+        return PrometheusMetricsRenderer.builder()
+                .latencyHistograms(latencyHistograms)
+                .dynamoDbCallHistograms(dynamoDbCallHistograms)
+                .consumedCapacityTotals(consumedCapacityTotals)
+                .metricsPublisher(metricsPublisher)
+                .mBeanServer(ManagementFactory.getPlatformMBeanServer())
+                .containerThreadPoolQuery(new ObjectName(PrometheusMetricsRenderer.CONTAINER_THREAD_POOL_QUERY))
+                .threadPoolExecutors(threadPoolExecutors)
+                .inFlightRequestCounters(inFlightRequestCounters)
+                .build();
+    }
+
+    @Bean
+    public MetricsController metricsController(@NonNull PrometheusMetricsRenderer prometheusMetricsRenderer) {
+        return MetricsController.builder()
+                .prometheusMetricsRenderer(prometheusMetricsRenderer)
+                .build();
+    }
+
+    @Bean
+    public RequestTimingFilter requestTimingFilter(
+            @Value("${slowRequestThresholdMillis:1000}") long slowRequestThresholdMillis) {
+        return RequestTimingFilter.builder()
+                .slowRequestThresholdMillis(slowRequestThresholdMillis)
+                .build();
+    }
+
+    @Bean
+    public MetricsFilter metricsFilter(@NonNull MetricsEmitter metricsEmitter,
+                                       @NonNull ApiHistograms latencyHistograms,
+                                       @NonNull ApiHistograms dynamoDbCallHistograms,
+                                       @NonNull ConsumedCapacityTotals consumedCapacityTotals,
                                        @NonNull RequestMappingHandlerMapping requestMappingHandlerMapping) {
         return MetricsFilter.builder()
-                .metricsEmitter(MetricsEmitter.builder()
-                        .amazonCloudWatch(AmazonCloudWatchClientBuilder.standard()
-                                .withRegion(region)
-                                .build())
-                        .metricsNamespace(metricsNamespace)
-                        .build())
+                .metricsEmitter(metricsEmitter)
+                .latencyHistograms(latencyHistograms)
+                .dynamoDbCallHistograms(dynamoDbCallHistograms)
+                .consumedCapacityTotals(consumedCapacityTotals)
                 .requestMappingHandlerMapping(requestMappingHandlerMapping)
                 .build();
     }
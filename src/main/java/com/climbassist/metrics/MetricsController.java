@@ -0,0 +1,34 @@
+package com.climbassist.metrics;
+
+import com.climbassist.api.user.authorization.AdministratorAuthorizationHandler;
+import com.climbassist.api.user.authorization.Authorization;
+import lombok.Builder;
+import lombok.NonNull;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestMethod;
+
+/**
+ * Serves metrics for Prometheus to scrape. This is outside of the API so that the response isn't wrapped.
+ */
+@Builder
+@Controller
+public class MetricsController {
+
+    public static final String METRICS_PATH = "/metrics";
+
+    @NonNull
+    private final PrometheusMetricsRenderer prometheusMetricsRenderer;
+
+    @Metrics(api = "GetMetrics")
+    @Authorization(AdministratorAuthorizationHandler.class)
+    @RequestMapping(path = METRICS_PATH, method = RequestMethod.GET)
+    public ResponseEntity<String> getMetrics() {
+        HttpHeaders httpHeaders = new HttpHeaders();
+        httpHeaders.set(HttpHeaders.CONTENT_TYPE, PrometheusMetricsRenderer.CONTENT_TYPE);
+        return new ResponseEntity<>(prometheusMetricsRenderer.render(), httpHeaders, HttpStatus.OK);
+    }
+}
@@ -1,26 +1,79 @@
 package com.climbassist.metrics;
 
-import com.amazonaws.services.cloudwatch.AmazonCloudWatch;
 import com.amazonaws.services.cloudwatch.model.Dimension;
 import com.amazonaws.services.cloudwatch.model.MetricDatum;
-import com.amazonaws.services.cloudwatch.model.PutMetricDataRequest;
 import com.amazonaws.services.cloudwatch.model.StandardUnit;
-import com.google.common.collect.ImmutableSet;
+import com.amazonaws.services.cloudwatch.model.StatisticSet;
+import com.google.common.collect.ImmutableMap;
 import lombok.Builder;
 import lombok.NonNull;
+import lombok.Value;
 
-import java.util.Optional;
-import java.util.Set;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
+/**
+ * Aggregates metrics in memory, as a statistic set (sample count, sum, minimum and maximum) per metric and dimension.
+ * Emitting a metric never makes a call to CloudWatch; {@link MetricsPublisher} periodically drains the aggregates and
+ * publishes them.
+ */
 @Builder
 public class MetricsEmitter {
 
     private static final String API_DIMENSION_NAME = "api";
+    private static final String TABLE_DIMENSION_NAME = "table";
+    private static final String CACHE_DIMENSION_NAME = "cache";
 
-    @NonNull
-    private final String metricsNamespace;
-    @NonNull
-    private final AmazonCloudWatch amazonCloudWatch;
+    @Value
+    private static class MetricKey {
+
+        // dimension names and values, in the order they're published
+        ImmutableMap<String, String> dimensions;
+        String metricName;
+        StandardUnit unit;
+    }
+
+    private static class StatisticAggregate {
+
+        private long sampleCount;
+        private double sum;
+        private double minimum;
+        private double maximum;
+
+        synchronized void record(double value) {
+            if (sampleCount == 0) {
+                minimum = value;
+                maximum = value;
+            }
+            else {
+                minimum = Math.min(minimum, value);
+                maximum = Math.max(maximum, value);
+            }
+            sampleCount++;
+            sum += value;
+        }
+
+        /**
+         * @return the statistics recorded since the last time this was called, or null if there weren't any
+         */
+        synchronized StatisticSet drain() {
+            if (sampleCount == 0) {
+                return null;
+            }
+            StatisticSet statisticSet = new StatisticSet().withSampleCount((double) sampleCount)
+                    .withSum(sum)
+                    .withMinimum(minimum)
+                    .withMaximum(maximum);
+            sampleCount = 0;
+            sum = 0.0;
+            return statisticSet;
+        }
+    }
+
+    // entries are never removed, since there's only ever one per API, table, API and table, or cache, and metric
+    private final Map<MetricKey, StatisticAggregate> aggregates = new ConcurrentHashMap<>();
 
     public void emitErrorMetric(@NonNull String api, boolean isError) {
         emitBooleanMetric(api, "errorCount", isError);
@@ -31,25 +84,83 @@ public class MetricsEmitter {
     }
 
     public void emitDurationMetric(@NonNull String api, double duration) {
-        amazonCloudWatch.putMetricData(
-                buildPutMetricDataRequest(api, "duration", duration, Optional.of(StandardUnit.Milliseconds)));
+        record(new MetricKey(ImmutableMap.of(API_DIMENSION_NAME, api), "duration", StandardUnit.Milliseconds),
+                duration);
+    }
+
+    /**
+     * Emits how many calls a single request to an API made to a dependency, and how long they took altogether.
+     */
+    public void emitDependencyMetrics(@NonNull String api, @NonNull String dependency, int calls,
+                                      double durationMillis) {
+        ImmutableMap<String, String> dimensions = ImmutableMap.of(API_DIMENSION_NAME, api);
+        record(new MetricKey(dimensions, dependency + "Calls", StandardUnit.Count), calls);
+        record(new MetricKey(dimensions, dependency + "Duration", StandardUnit.Milliseconds), durationMillis);
+    }
+
+    /**
+     * Emits how many distinct queries a single request to an API made more than once.
+     */
+    public void emitRepeatedQueryMetric(@NonNull String api, int repeatedQueries) {
+        record(new MetricKey(ImmutableMap.of(API_DIMENSION_NAME, api), "repeatedQueries", StandardUnit.Count),
+                repeatedQueries);
+    }
+
+    /**
+     * Emits the DynamoDB read and write capacity units that a single request to an API consumed from a table. The sum
+     * over a period is what the API cost in that period.
+     */
+    public void emitConsumedCapacityMetrics(@NonNull String api, @NonNull String tableName, double readCapacityUnits,
+                                            double writeCapacityUnits) {
+        ImmutableMap<String, String> dimensions = ImmutableMap.of(API_DIMENSION_NAME, api, TABLE_DIMENSION_NAME,
+                tableName);
+        record(new MetricKey(dimensions, "consumedReadCapacityUnits", StandardUnit.Count), readCapacityUnits);
+        record(new MetricKey(dimensions, "consumedWriteCapacityUnits", StandardUnit.Count), writeCapacityUnits);
+    }
+
+    /**
+     * Emits whether a lookup in a cache was a hit. The average over a period is the cache's hit rate.
+     */
+    public void emitCacheHitMetric(@NonNull String cacheName, boolean isHit) {
+        record(new MetricKey(ImmutableMap.of(CACHE_DIMENSION_NAME, cacheName), "cacheHit", null), isHit ? 1.0 : 0.0);
+    }
+
+    public void emitTableMetric(@NonNull String tableName, @NonNull String metricName, double value,
+                                @NonNull StandardUnit unit) {
+        record(new MetricKey(ImmutableMap.of(TABLE_DIMENSION_NAME, tableName), metricName, unit), value);
+    }
+
+    /**
+     * @return a datum for each metric that has been emitted since the last time this was called
+     */
+    List<MetricDatum> drainMetricData() {
+        List<MetricDatum> metricData = new ArrayList<>();
+        aggregates.forEach((metricKey, statisticAggregate) -> {
+            StatisticSet statisticSet = statisticAggregate.drain();
+            if (statisticSet == null) {
+                return;
+            }
+            List<Dimension> dimensions = new ArrayList<>();
+            metricKey.getDimensions()
+                    .forEach((name, value) -> dimensions.add(new Dimension().withName(name)
+                            .withValue(value)));
+            MetricDatum metricDatum = new MetricDatum().withDimensions(dimensions)
+                    .withMetricName(metricKey.getMetricName())
+                    .withStatisticValues(statisticSet);
+            if (metricKey.getUnit() != null) {
+                metricDatum.setUnit(metricKey.getUnit());
+            }
+            metricData.add(metricDatum);
+        });
+        return metricData;
     }
 
     private void emitBooleanMetric(String api, String metricName, boolean booleanValue) {
-        amazonCloudWatch.putMetricData(
-                buildPutMetricDataRequest(api, metricName, booleanValue ? 1.0 : 0.0, Optional.empty()));
-    }
-
-    private PutMetricDataRequest buildPutMetricDataRequest(String api, String metricName, double value,
-                                                           @SuppressWarnings("OptionalUsedAsFieldOrParameterType")
-                                                                   Optional<StandardUnit> maybeUnit) {
-        Set<Dimension> dimensions = ImmutableSet.of(new Dimension().withName(API_DIMENSION_NAME)
-                .withValue(api));
-        MetricDatum metricDatum = new MetricDatum().withDimensions(dimensions)
-                .withMetricName(metricName)
-                .withValue(value);
-        maybeUnit.ifPresent(metricDatum::setUnit);
-        return new PutMetricDataRequest().withNamespace(metricsNamespace)
-                .withMetricData(metricDatum);
+        record(new MetricKey(ImmutableMap.of(API_DIMENSION_NAME, api), metricName, null), booleanValue ? 1.0 : 0.0);
+    }
+
+    private void record(MetricKey metricKey, double value) {
+        aggregates.computeIfAbsent(metricKey, key -> new StatisticAggregate())
+                .record(value);
     }
 }
@@ -13,26 +13,41 @@ import javax.servlet.ServletRequest;
 import javax.servlet.ServletResponse;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
 
 /**
- * This class emits error, fault, and duration metrics for APIs
+ * This class emits error, fault, duration, dependency call and consumed capacity metrics for APIs, records each API's
+ * latency and number of DynamoDB calls per request in histograms, and warns about requests that make the same query
+ * more than once
  */
 @Builder
 @Slf4j
 public class MetricsFilter implements Filter {
 
+    private static final double NANOS_PER_MILLI = 1_000_000.0;
+    static final String APP_STAGE = "app";
+
     @NonNull
     private final RequestMappingHandlerMapping requestMappingHandlerMapping;
     @NonNull
     private final MetricsEmitter metricsEmitter;
+    @NonNull
+    private final ApiHistograms latencyHistograms;
+    @NonNull
+    private final ApiHistograms dynamoDbCallHistograms;
+    @NonNull
+    private final ConsumedCapacityTotals consumedCapacityTotals;
 
     @Override
     public void doFilter(@NonNull ServletRequest servletRequest, @NonNull ServletResponse servletResponse,
                          @NonNull FilterChain filterChain) {
         try {
-            double startTime = System.currentTimeMillis();
+            long startTime = System.nanoTime();
             filterChain.doFilter(servletRequest, servletResponse);
-            double duration = System.currentTimeMillis() - startTime;
+            long durationNanos = System.nanoTime() - startTime;
+            // this is the innermost filter, so this is the time spent handling the request and serializing the response
+            RequestTimings.recordStage(APP_STAGE, durationNanos);
 
             HttpServletRequest httpServletRequest = (HttpServletRequest) servletRequest;
             HttpServletResponse httpServletResponse = (HttpServletResponse) servletResponse;
@@ -49,7 +64,12 @@ public class MetricsFilter implements Filter {
 
                     metricsEmitter.emitErrorMetric(api, isError);
                     metricsEmitter.emitFaultMetric(api, isFault);
-                    metricsEmitter.emitDurationMetric(api, duration);
+                    metricsEmitter.emitDurationMetric(api, durationNanos / NANOS_PER_MILLI);
+                    latencyHistograms.record(api, TimeUnit.NANOSECONDS.toMicros(durationNanos));
+                    RequestTimings requestTimings = RequestTimings.getCurrent();
+                    if (requestTimings != null) {
+                        emitRequestTimingMetrics(api, requestTimings);
+                    }
                 }
             }
         } catch (Exception e) {
@@ -57,4 +77,23 @@ public class MetricsFilter implements Filter {
             throw new MetricsException(e);
         }
     }
+
+    private void emitRequestTimingMetrics(String api, RequestTimings requestTimings) {
+        requestTimings.forEachDependency(
+                (dependency, calls, durationNanos) -> metricsEmitter.emitDependencyMetrics(api, dependency, calls,
+                        durationNanos / NANOS_PER_MILLI));
+        dynamoDbCallHistograms.record(api, requestTimings.getCalls(RequestTimings.DYNAMO_DB));
+        requestTimings.forEachConsumedCapacity((tableName, readCapacityUnits, writeCapacityUnits) -> {
+            metricsEmitter.emitConsumedCapacityMetrics(api, tableName, readCapacityUnits, writeCapacityUnits);
+            consumedCapacityTotals.record(api, tableName, readCapacityUnits, writeCapacityUnits);
+        });
+
+        Map<String, Integer> repeatedQueryCounts = requestTimings.getRepeatedQueryCounts();
+        metricsEmitter.emitRepeatedQueryMetric(api, repeatedQueryCounts.size());
+        if (!repeatedQueryCounts.isEmpty()) {
+            log.warn(String.format("%s made %d queries more than once, which usually means that children are being " +
+                    "queried one parent at a time. Queries and the number of times they were made: %s", api,
+                    repeatedQueryCounts.size(), repeatedQueryCounts));
+        }
+    }
 }
@@ -0,0 +1,108 @@
+package com.climbassist.metrics;
+
+import com.amazonaws.services.cloudwatch.model.MetricDatum;
+import com.amazonaws.services.cloudwatch.model.PutMetricDataRequest;
+import com.google.common.collect.Lists;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import lombok.Builder;
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Publishes the metrics aggregated by {@link MetricsEmitter} once per interval, on a background thread, in as few
+ * PutMetricData calls as possible. Batches that can't be published are queued and retried the next interval. The queue
+ * is bounded, so if the sink is down for long enough, batches are dropped and counted instead.
+ */
+@Slf4j
+public class MetricsPublisher {
+
+    // this is the most metric data that CloudWatch accepts in one PutMetricData call
+    static final int MAX_METRIC_DATA_PER_REQUEST = 20;
+
+    private final MetricsEmitter metricsEmitter;
+    private final MetricsSink metricsSink;
+    private final String metricsNamespace;
+    private final long flushIntervalSeconds;
+    private final BlockingQueue<PutMetricDataRequest> pendingRequests;
+    private final AtomicLong droppedRequests;
+    private ScheduledExecutorService scheduledExecutorService;
+
+    @Builder
+    MetricsPublisher(@NonNull MetricsEmitter metricsEmitter, @NonNull MetricsSink metricsSink,
+                     @NonNull String metricsNamespace, long flushIntervalSeconds, int maxPendingRequests) {
+        this.metricsEmitter = metricsEmitter;
+        this.metricsSink = metricsSink;
+        this.metricsNamespace = metricsNamespace;
+        this.flushIntervalSeconds = flushIntervalSeconds;
+        this.pendingRequests = new ArrayBlockingQueue<>(maxPendingRequests);
+        this.droppedRequests = new AtomicLong();
+    }
+
+    public synchronized void start() {
+        if (scheduledExecutorService != null) {
+            throw new IllegalStateException("Publisher has already been started.");
+        }
+        scheduledExecutorService = Executors.newSingleThreadScheduledExecutor(
+                new ThreadFactoryBuilder().setNameFormat("metrics-publisher")
+                        .setDaemon(true)
+                        .build());
+        scheduledExecutorService.scheduleAtFixedRate(this::flush, flushIntervalSeconds, flushIntervalSeconds,
+                TimeUnit.SECONDS);
+    }
+
+    /**
+     * Stops publishing on an interval, then publishes whatever has been aggregated since the last interval.
+     */
+    public synchronized void stop() throws InterruptedException {
+        if (scheduledExecutorService != null) {
+            scheduledExecutorService.shutdown();
+            scheduledExecutorService.awaitTermination(flushIntervalSeconds, TimeUnit.SECONDS);
+            scheduledExecutorService = null;
+            flush();
+        }
+    }
+
+    /**
+     * @return the number of batches of metrics that have been dropped because too many were waiting to be published
+     */
+    public long getDroppedRequests() {
+        return droppedRequests.get();
+    }
+
+    void flush() {
+        List<MetricDatum> metricData = metricsEmitter.drainMetricData();
+        for (List<MetricDatum> batch : Lists.partition(metricData, MAX_METRIC_DATA_PER_REQUEST)) {
+            enqueue(new PutMetricDataRequest().withNamespace(metricsNamespace)
+                    .withMetricData(batch));
+        }
+
+        List<PutMetricDataRequest> requestsToSend = new ArrayList<>(pendingRequests.size());
+        pendingRequests.drainTo(requestsToSend);
+        for (int i = 0; i < requestsToSend.size(); i++) {
+            try {
+                metricsSink.putMetricData(requestsToSend.get(i));
+            } catch (RuntimeException e) {
+                // the rest are likely to fail too, so they wait until the next interval as well
+                log.warn("Unable to publish metrics, will retry next interval", e);
+                requestsToSend.subList(i, requestsToSend.size())
+                        .forEach(this::enqueue);
+                return;
+            }
+        }
+    }
+
+    private void enqueue(PutMetricDataRequest putMetricDataRequest) {
+        if (!pendingRequests.offer(putMetricDataRequest)) {
+            droppedRequests.incrementAndGet();
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package com.climbassist.metrics;
+
+import com.amazonaws.services.cloudwatch.model.PutMetricDataRequest;
+import lombok.NonNull;
+
+/**
+ * Where {@link MetricsPublisher} sends batches of metrics.
+ */
+public interface MetricsSink {
+
+    void putMetricData(@NonNull PutMetricDataRequest putMetricDataRequest);
+}
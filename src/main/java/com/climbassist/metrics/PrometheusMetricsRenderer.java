@@ -0,0 +1,256 @@
+package com.climbassist.metrics;
+
+import lombok.Builder;
+import lombok.NonNull;
+import lombok.Singular;
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryUsage;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * Renders API latencies, DynamoDB calls per request and DynamoDB capacity consumed by each API, along with JVM,
+ * garbage collection, thread pool and connection pool gauges, in the Prometheus text exposition format.
+ */
+@Builder
+@Slf4j
+public class PrometheusMetricsRenderer {
+
+    static final String CONTENT_TYPE = "text/plain; version=0.0.4; charset=utf-8";
+    private static final double[] QUANTILES = {0.5, 0.9, 0.99, 0.999};
+    private static final double MICROS_PER_SECOND = 1_000_000.0;
+    private static final double MILLIS_PER_SECOND = 1_000.0;
+    // the servlet container registers an MBean like this for each of its connectors' thread pools
+    static final String CONTAINER_THREAD_POOL_QUERY = "*:type=ThreadPool,*";
+
+    @Value
+    private static class ThreadPoolStats {
+
+        String pool;
+        long activeThreads;
+        long threads;
+        long maxThreads;
+        // null if the pool doesn't report its queue
+        Long queuedTasks;
+    }
+
+    @NonNull
+    private final ApiHistograms latencyHistograms;
+    @NonNull
+    private final ApiHistograms dynamoDbCallHistograms;
+    @NonNull
+    private final ConsumedCapacityTotals consumedCapacityTotals;
+    @NonNull
+    private final MetricsPublisher metricsPublisher;
+    @NonNull
+    private final MBeanServer mBeanServer;
+    // matches the MBeans of the servlet container's thread pools, which is usually CONTAINER_THREAD_POOL_QUERY
+    @NonNull
+    private final ObjectName containerThreadPoolQuery;
+    @Singular
+    private final Map<String, ThreadPoolExecutor> threadPoolExecutors;
+    @Singular
+    private final Map<String, InFlightRequestCounter> inFlightRequestCounters;
+
+    public String render() {
+        StringBuilder stringBuilder = new StringBuilder();
+        renderApiHistograms(stringBuilder);
+        renderConsumedCapacity(stringBuilder);
+        renderJvm(stringBuilder);
+        renderThreadPools(stringBuilder);
+        renderConnectionPools(stringBuilder);
+
+        writeHeader(stringBuilder, "climbassist_metrics_publisher_dropped_requests_total", "counter",
+                "Batches of CloudWatch metrics dropped because too many were waiting to be published.");
+        writeSample(stringBuilder, "climbassist_metrics_publisher_dropped_requests_total", "",
+                metricsPublisher.getDroppedRequests());
+        return stringBuilder.toString();
+    }
+
+    private void renderApiHistograms(StringBuilder stringBuilder) {
+        renderApiHistogram(stringBuilder, "climbassist_api_latency_seconds",
+                "Latency of each API since the server started.", latencyHistograms, MICROS_PER_SECOND);
+        renderApiHistogram(stringBuilder, "climbassist_api_dynamodb_calls_per_request",
+                "DynamoDB calls made by each request to an API since the server started.", dynamoDbCallHistograms,
+                1.0);
+    }
+
+    private static void renderApiHistogram(StringBuilder stringBuilder, String name, String help,
+                                           ApiHistograms apiHistograms, double divisor) {
+        writeHeader(stringBuilder, name, "summary", help);
+        SortedMap<String, Histogram.Snapshot> snapshots = apiHistograms.getSnapshots();
+        snapshots.forEach((api, snapshot) -> {
+            for (double quantile : QUANTILES) {
+                writeSample(stringBuilder, name,
+                        String.format("api=\"%s\",quantile=\"%s\"", escape(api), quantile),
+                        snapshot.getValueAtPercentile(quantile * 100) / divisor);
+            }
+            writeSample(stringBuilder, name + "_sum", label("api", api), snapshot.getSum() / divisor);
+            writeSample(stringBuilder, name + "_count", label("api", api), snapshot.getCount());
+        });
+    }
+
+    private void renderConsumedCapacity(StringBuilder stringBuilder) {
+        writeHeader(stringBuilder, "climbassist_api_dynamodb_consumed_capacity_units_total", "counter",
+                "DynamoDB capacity units that each API has consumed from each table since the server started.");
+        consumedCapacityTotals.forEachTotal((api, tableName, readCapacityUnits, writeCapacityUnits) -> {
+            String labels = label("api", api) + "," + label("table", tableName);
+            writeSample(stringBuilder, "climbassist_api_dynamodb_consumed_capacity_units_total",
+                    labels + "," + label("type", "read"), readCapacityUnits);
+            writeSample(stringBuilder, "climbassist_api_dynamodb_consumed_capacity_units_total",
+                    labels + "," + label("type", "write"), writeCapacityUnits);
+        });
+    }
+
+    private static void renderJvm(StringBuilder stringBuilder) {
+        MemoryUsage heapMemoryUsage = ManagementFactory.getMemoryMXBean()
+                .getHeapMemoryUsage();
+        MemoryUsage nonHeapMemoryUsage = ManagementFactory.getMemoryMXBean()
+                .getNonHeapMemoryUsage();
+        writeHeader(stringBuilder, "jvm_memory_bytes_used", "gauge", "Used bytes of a JVM memory area.");
+        writeSample(stringBuilder, "jvm_memory_bytes_used", label("area", "heap"), heapMemoryUsage.getUsed());
+        writeSample(stringBuilder, "jvm_memory_bytes_used", label("area", "nonheap"), nonHeapMemoryUsage.getUsed());
+        writeHeader(stringBuilder, "jvm_memory_bytes_committed", "gauge", "Committed bytes of a JVM memory area.");
+        writeSample(stringBuilder, "jvm_memory_bytes_committed", label("area", "heap"),
+                heapMemoryUsage.getCommitted());
+        writeSample(stringBuilder, "jvm_memory_bytes_committed", label("area", "nonheap"),
+                nonHeapMemoryUsage.getCommitted());
+        writeHeader(stringBuilder, "jvm_memory_bytes_max", "gauge", "Max bytes of a JVM memory area, or -1 if unset.");
+        writeSample(stringBuilder, "jvm_memory_bytes_max", label("area", "heap"), heapMemoryUsage.getMax());
+        writeSample(stringBuilder, "jvm_memory_bytes_max", label("area", "nonheap"), nonHeapMemoryUsage.getMax());
+
+        writeHeader(stringBuilder, "jvm_gc_collection_seconds", "summary",
+                "Time spent in a garbage collector, and how many collections it has done.");
+        for (GarbageCollectorMXBean garbageCollectorMXBean : ManagementFactory.getGarbageCollectorMXBeans()) {
+            writeSample(stringBuilder, "jvm_gc_collection_seconds_count", label("gc", garbageCollectorMXBean.getName()),
+                    garbageCollectorMXBean.getCollectionCount());
+            writeSample(stringBuilder, "jvm_gc_collection_seconds_sum", label("gc", garbageCollectorMXBean.getName()),
+                    garbageCollectorMXBean.getCollectionTime() / MILLIS_PER_SECOND);
+        }
+
+        ThreadMXBean threadMXBean = ManagementFactory.getThreadMXBean();
+        writeHeader(stringBuilder, "jvm_threads_current", "gauge", "Current thread count of the JVM.");
+        writeSample(stringBuilder, "jvm_threads_current", "", threadMXBean.getThreadCount());
+        writeHeader(stringBuilder, "jvm_threads_daemon", "gauge", "Daemon thread count of the JVM.");
+        writeSample(stringBuilder, "jvm_threads_daemon", "", threadMXBean.getDaemonThreadCount());
+        writeHeader(stringBuilder, "jvm_threads_peak", "gauge", "Peak thread count of the JVM.");
+        writeSample(stringBuilder, "jvm_threads_peak", "", threadMXBean.getPeakThreadCount());
+
+        writeHeader(stringBuilder, "jvm_uptime_seconds", "gauge", "Time since the JVM started.");
+        writeSample(stringBuilder, "jvm_uptime_seconds", "", ManagementFactory.getRuntimeMXBean()
+                .getUptime() / MILLIS_PER_SECOND);
+    }
+
+    private void renderThreadPools(StringBuilder stringBuilder) {
+        List<ThreadPoolStats> threadPoolStatsList = new ArrayList<>();
+        threadPoolExecutors.forEach((pool, threadPoolExecutor) -> threadPoolStatsList.add(
+                new ThreadPoolStats(pool, threadPoolExecutor.getActiveCount(), threadPoolExecutor.getPoolSize(),
+                        threadPoolExecutor.getMaximumPoolSize(), (long) threadPoolExecutor.getQueue()
+                        .size())));
+        threadPoolStatsList.addAll(getContainerThreadPoolStats());
+
+        writeHeader(stringBuilder, "climbassist_thread_pool_active_threads", "gauge",
+                "Threads in a pool that are running a task.");
+        threadPoolStatsList.forEach(threadPoolStats -> writeSample(stringBuilder,
+                "climbassist_thread_pool_active_threads", label("pool", threadPoolStats.getPool()),
+                threadPoolStats.getActiveThreads()));
+        writeHeader(stringBuilder, "climbassist_thread_pool_threads", "gauge", "Threads in a pool.");
+        threadPoolStatsList.forEach(threadPoolStats -> writeSample(stringBuilder, "climbassist_thread_pool_threads",
+                label("pool", threadPoolStats.getPool()), threadPoolStats.getThreads()));
+        writeHeader(stringBuilder, "climbassist_thread_pool_max_threads", "gauge", "Most threads a pool can have.");
+        threadPoolStatsList.forEach(threadPoolStats -> writeSample(stringBuilder,
+                "climbassist_thread_pool_max_threads", label("pool", threadPoolStats.getPool()),
+                threadPoolStats.getMaxThreads()));
+        writeHeader(stringBuilder, "climbassist_thread_pool_queued_tasks", "gauge",
+                "Tasks waiting for a thread in a pool.");
+        threadPoolStatsList.stream()
+                .filter(threadPoolStats -> threadPoolStats.getQueuedTasks() != null)
+                .forEach(threadPoolStats -> writeSample(stringBuilder, "climbassist_thread_pool_queued_tasks",
+                        label("pool", threadPoolStats.getPool()), threadPoolStats.getQueuedTasks()));
+    }
+
+    private List<ThreadPoolStats> getContainerThreadPoolStats() {
+        List<ThreadPoolStats> threadPoolStatsList = new ArrayList<>();
+        for (ObjectName objectName : mBeanServer.queryNames(containerThreadPoolQuery, null)) {
+            String pool = objectName.getKeyProperty("name");
+            if (pool == null) {
+                continue;
+            }
+            try {
+                threadPoolStatsList.add(new ThreadPoolStats(pool.startsWith("\"") ? ObjectName.unquote(pool) : pool,
+                        getLongAttribute(objectName, "currentThreadsBusy"),
+                        getLongAttribute(objectName, "currentThreadCount"),
+                        getLongAttribute(objectName, "maxThreads"), null));
+            } catch (JMException e) {
+                log.warn("Unable to read thread pool MBean " + objectName, e);
+            }
+        }
+        return threadPoolStatsList;
+    }
+
+    private long getLongAttribute(ObjectName objectName, String attribute) throws JMException {
+        return ((Number) mBeanServer.getAttribute(objectName, attribute)).longValue();
+    }
+
+    private void renderConnectionPools(StringBuilder stringBuilder) {
+        writeHeader(stringBuilder, "climbassist_connection_pool_in_use", "gauge",
+                "Connections in a pool that are in use.");
+        inFlightRequestCounters.forEach((pool, inFlightRequestCounter) -> writeSample(stringBuilder,
+                "climbassist_connection_pool_in_use", label("pool", pool),
+                inFlightRequestCounter.getInFlightRequests()));
+        writeHeader(stringBuilder, "climbassist_connection_pool_max", "gauge", "Most connections a pool can have.");
+        inFlightRequestCounters.forEach((pool, inFlightRequestCounter) -> writeSample(stringBuilder,
+                "climbassist_connection_pool_max", label("pool", pool), inFlightRequestCounter.getMaxConnections()));
+    }
+
+    private static void writeHeader(StringBuilder stringBuilder, String name, String type, String help) {
+        stringBuilder.append("# HELP ")
+                .append(name)
+                .append(' ')
+                .append(help)
+                .append("\n# TYPE ")
+                .append(name)
+                .append(' ')
+                .append(type)
+                .append('\n');
+    }
+
+    private static void writeSample(StringBuilder stringBuilder, String name, String labels, double value) {
+        stringBuilder.append(name);
+        if (!labels.isEmpty()) {
+            stringBuilder.append('{')
+                    .append(labels)
+                    .append('}');
+        }
+        stringBuilder.append(' ');
+        // whole numbers are written without a decimal point, so that counts read as counts
+        if (value == Math.rint(value) && Math.abs(value) < Long.MAX_VALUE) {
+            stringBuilder.append((long) value);
+        }
+        else {
+            stringBuilder.append(value);
+        }
+        stringBuilder.append('\n');
+    }
+
+    private static String label(String name, String value) {
+        return String.format("%s=\"%s\"", name, escape(value));
+    }
+
+    private static String escape(String labelValue) {
+        return labelValue.replace("\\", "\\\\")
+                .replace("\"", "\\\"")
+                .replace("\n", "\\n");
+    }
+}
@@ -0,0 +1,51 @@
+package com.climbassist.metrics;
+
+import lombok.Builder;
+import lombok.extern.slf4j.Slf4j;
+
+import javax.servlet.Filter;
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.ServletRequest;
+import javax.servlet.ServletResponse;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * This class times each request, along with the calls it makes to dependencies, and then adds the breakdown to the
+ * response in a Server-Timing header. The response is still buffered at that point, so the header can be added after
+ * the rest of the chain is done. The breakdown is only logged for requests that take at least
+ * slowRequestThresholdMillis, since it's already reported as metrics, and logging it for every request (including
+ * health checks) would cost every request a synchronous write.
+ */
+@Builder
+@Slf4j
+public class RequestTimingFilter implements Filter {
+
+    static final String SERVER_TIMING_HEADER_NAME = "Server-Timing";
+    static final String TOTAL_STAGE = "total";
+
+    private final long slowRequestThresholdMillis;
+
+    @Override
+    public void doFilter(ServletRequest servletRequest, ServletResponse servletResponse, FilterChain filterChain)
+            throws IOException, ServletException {
+        long startTime = System.nanoTime();
+        RequestTimings requestTimings = RequestTimings.bind();
+        try {
+            filterChain.doFilter(servletRequest, servletResponse);
+        } finally {
+            long durationNanos = System.nanoTime() - startTime;
+            RequestTimings.recordStage(TOTAL_STAGE, durationNanos);
+            RequestTimings.unbind();
+            HttpServletResponse httpServletResponse = (HttpServletResponse) servletResponse;
+            if (!httpServletResponse.isCommitted()) {
+                httpServletResponse.setHeader(SERVER_TIMING_HEADER_NAME, requestTimings.toServerTimingHeader());
+            }
+            if (TimeUnit.NANOSECONDS.toMillis(durationNanos) >= slowRequestThresholdMillis) {
+                log.info("Slow request timings: {}", requestTimings.toLogMessage());
+            }
+        }
+    }
+}
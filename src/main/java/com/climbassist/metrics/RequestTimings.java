@@ -0,0 +1,239 @@
+package com.climbassist.metrics;
+
+import lombok.NonNull;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
+
+/**
+ * Records how many calls a request made to each dependency and how long they took, how long each stage of the request
+ * took, and how many DynamoDB capacity units it consumed from each table. {@link RequestTimingFilter} binds one of
+ * these to the request's thread, and anything that runs on that thread can report into it through the static methods,
+ * which do nothing if no request is being timed (for example, on a background thread).
+ *
+ * This is only ever used from the request's thread, so it isn't thread-safe.
+ */
+public class RequestTimings {
+
+    public static final String DYNAMO_DB = "dynamodb";
+    public static final String COGNITO = "cognito";
+    public static final String S3 = "s3";
+    public static final String RECAPTCHA = "recaptcha";
+
+    private static final ThreadLocal<RequestTimings> CURRENT_REQUEST_TIMINGS = new ThreadLocal<>();
+    private static final double NANOS_PER_MILLI = TimeUnit.MILLISECONDS.toNanos(1);
+
+    private static class Timing {
+
+        private int calls;
+        private long durationNanos;
+    }
+
+    private static class CapacityUnits {
+
+        private double readCapacityUnits;
+        private double writeCapacityUnits;
+    }
+
+    private final Map<String, Timing> dependencyTimings = new LinkedHashMap<>();
+    private final Map<String, Long> stageDurations = new LinkedHashMap<>();
+    private final Map<String, Integer> queryCounts = new HashMap<>();
+    private final Map<String, Integer> repeatedQueryCounts = new LinkedHashMap<>();
+    private final Map<String, CapacityUnits> consumedCapacities = new LinkedHashMap<>();
+    private boolean callBudgetExempt;
+
+    /**
+     * Records a call to a dependency, if a request is being timed on this thread.
+     */
+    public static void recordCall(@NonNull String dependency, long durationNanos) {
+        RequestTimings requestTimings = CURRENT_REQUEST_TIMINGS.get();
+        if (requestTimings != null) {
+            Timing timing = requestTimings.dependencyTimings.computeIfAbsent(dependency, key -> new Timing());
+            timing.calls++;
+            timing.durationNanos += durationNanos;
+        }
+    }
+
+    /**
+     * Records how long a stage of the request took, if a request is being timed on this thread.
+     */
+    public static void recordStage(@NonNull String stage, long durationNanos) {
+        RequestTimings requestTimings = CURRENT_REQUEST_TIMINGS.get();
+        if (requestTimings != null) {
+            requestTimings.stageDurations.merge(stage, durationNanos, Long::sum);
+        }
+    }
+
+    /**
+     * Records a query, if a request is being timed on this thread, so that queries that are made more than once can be
+     * reported.
+     *
+     * @param query a description of the query, which is the same for any two queries that are the same
+     */
+    public static void recordQuery(@NonNull String query) {
+        RequestTimings requestTimings = CURRENT_REQUEST_TIMINGS.get();
+        if (requestTimings != null) {
+            int count = requestTimings.queryCounts.merge(query, 1, Integer::sum);
+            if (count > 1) {
+                requestTimings.repeatedQueryCounts.put(query, count);
+            }
+        }
+    }
+
+    /**
+     * Records capacity units consumed from a DynamoDB table, if a request is being timed on this thread.
+     */
+    public static void recordConsumedCapacity(@NonNull String tableName, double readCapacityUnits,
+                                              double writeCapacityUnits) {
+        RequestTimings requestTimings = CURRENT_REQUEST_TIMINGS.get();
+        if (requestTimings != null) {
+            CapacityUnits capacityUnits = requestTimings.consumedCapacities.computeIfAbsent(tableName,
+                    key -> new CapacityUnits());
+            capacityUnits.readCapacityUnits += readCapacityUnits;
+            capacityUnits.writeCapacityUnits += writeCapacityUnits;
+        }
+    }
+
+    /**
+     * Lets the request on this thread make as many calls as it needs, if a request is being timed on this thread.
+     */
+    public static void exemptFromCallBudget() {
+        RequestTimings requestTimings = CURRENT_REQUEST_TIMINGS.get();
+        if (requestTimings != null) {
+            requestTimings.callBudgetExempt = true;
+        }
+    }
+
+    /**
+     * @return the timings for the request on this thread, or null if no request is being timed
+     */
+    public static RequestTimings getCurrent() {
+        return CURRENT_REQUEST_TIMINGS.get();
+    }
+
+    static RequestTimings bind() {
+        RequestTimings requestTimings = new RequestTimings();
+        CURRENT_REQUEST_TIMINGS.set(requestTimings);
+        return requestTimings;
+    }
+
+    static void unbind() {
+        CURRENT_REQUEST_TIMINGS.remove();
+    }
+
+    /**
+     * @param consumer called with each dependency's name, number of calls, and total duration in nanoseconds, in the
+     *                 order they were first called
+     */
+    public void forEachDependency(@NonNull DependencyTimingConsumer consumer) {
+        dependencyTimings.forEach((dependency, timing) -> consumer.accept(dependency, timing.calls,
+                timing.durationNanos));
+    }
+
+    public void forEachStage(@NonNull BiConsumer<String, Long> consumer) {
+        stageDurations.forEach(consumer);
+    }
+
+    /**
+     * @param consumer called with each table's name and the read and write capacity units consumed from it, in the
+     *                 order they were first used
+     */
+    public void forEachConsumedCapacity(@NonNull ConsumedCapacityConsumer consumer) {
+        consumedCapacities.forEach((tableName, capacityUnits) -> consumer.accept(tableName,
+                capacityUnits.readCapacityUnits, capacityUnits.writeCapacityUnits));
+    }
+
+    public int getCalls(@NonNull String dependency) {
+        Timing timing = dependencyTimings.get(dependency);
+        return timing == null ? 0 : timing.calls;
+    }
+
+    public boolean isCallBudgetExempt() {
+        return callBudgetExempt;
+    }
+
+    /**
+     * @return each query that was made more than once, and how many times it was made
+     */
+    public Map<String, Integer> getRepeatedQueryCounts() {
+        return Collections.unmodifiableMap(repeatedQueryCounts);
+    }
+
+    /**
+     * @return the value of a Server-Timing header (https://www.w3.org/TR/server-timing/), with an entry for each
+     * dependency and then each stage
+     */
+    String toServerTimingHeader() {
+        StringBuilder stringBuilder = new StringBuilder();
+        forEachDependency((dependency, calls, durationNanos) -> appendServerTiming(stringBuilder, dependency,
+                durationNanos).append(";desc=\"")
+                .append(calls)
+                .append(calls == 1 ? " call\"" : " calls\""));
+        forEachStage((stage, durationNanos) -> appendServerTiming(stringBuilder, stage, durationNanos));
+        return stringBuilder.toString();
+    }
+
+    /**
+     * @return a breakdown like "dynamodb=3 calls/12.5ms cognito=1 call/40.2ms app=61.0ms total=63.3ms
+     * Crags=1.5RCU/0.0WCU", with the capacity consumed from each table at the end
+     */
+    String toLogMessage() {
+        StringBuilder stringBuilder = new StringBuilder();
+        forEachDependency((dependency, calls, durationNanos) -> appendSeparator(stringBuilder).append(dependency)
+                .append('=')
+                .append(calls)
+                .append(calls == 1 ? " call/" : " calls/")
+                .append(formatMillis(durationNanos))
+                .append("ms"));
+        forEachStage((stage, durationNanos) -> appendSeparator(stringBuilder).append(stage)
+                .append('=')
+                .append(formatMillis(durationNanos))
+                .append("ms"));
+        forEachConsumedCapacity((tableName, readCapacityUnits, writeCapacityUnits) -> appendSeparator(
+                stringBuilder).append(tableName)
+                .append('=')
+                .append(formatCapacityUnits(readCapacityUnits))
+                .append("RCU/")
+                .append(formatCapacityUnits(writeCapacityUnits))
+                .append("WCU"));
+        return stringBuilder.toString();
+    }
+
+    private static StringBuilder appendServerTiming(StringBuilder stringBuilder, String name, long durationNanos) {
+        if (stringBuilder.length() > 0) {
+            stringBuilder.append(", ");
+        }
+        return stringBuilder.append(name)
+                .append(";dur=")
+                .append(formatMillis(durationNanos));
+    }
+
+    private static StringBuilder appendSeparator(StringBuilder stringBuilder) {
+        return stringBuilder.length() > 0 ? stringBuilder.append(' ') : stringBuilder;
+    }
+
+    private static String formatMillis(long durationNanos) {
+        return String.format(Locale.ROOT, "%.1f", durationNanos / NANOS_PER_MILLI);
+    }
+
+    private static String formatCapacityUnits(double capacityUnits) {
+        return String.format(Locale.ROOT, "%.1f", capacityUnits);
+    }
+
+    @FunctionalInterface
+    public interface DependencyTimingConsumer {
+
+        void accept(String dependency, int calls, long durationNanos);
+    }
+
+    @FunctionalInterface
+    public interface ConsumedCapacityConsumer {
+
+        void accept(String tableName, double readCapacityUnits, double writeCapacityUnits);
+    }
+}
@@ -0,0 +1,25 @@
+package com.climbassist.metrics;
+
+import com.climbassist.api.RuntimeApiException;
+import org.springframework.http.HttpStatus;
+
+/**
+ * The budget is a limit on the server's own work, so going over it is reported as a server error, not a bad request.
+ */
+public class StorageCallBudgetExceededException extends RuntimeApiException {
+
+    public StorageCallBudgetExceededException(int maxCallsPerRequest) {
+        super(String.format("Unable to complete the request in at most %d calls to storage. Try requesting fewer " +
+                "resources, or a smaller depth.", maxCallsPerRequest));
+    }
+
+    @Override
+    public String getType() {
+        return "StorageCallBudgetExceededException";
+    }
+
+    @Override
+    public HttpStatus getHttpStatus() {
+        return HttpStatus.INTERNAL_SERVER_ERROR;
+    }
+}
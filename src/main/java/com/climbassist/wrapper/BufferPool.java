@@ -0,0 +1,41 @@
+package com.climbassist.wrapper;
+
+import lombok.Builder;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * A pool of fixed-size chunks that request and response bodies are buffered in, so that buffering a body doesn't
+ * allocate new arrays (and copy into them) each time the body outgrows its buffer. At most maxPooledChunks chunks are
+ * kept; any more than that are left for the garbage collector when they're released, as are chunks that are never
+ * released.
+ */
+public class BufferPool {
+
+    private final int chunkSize;
+    private final BlockingQueue<byte[]> chunks;
+
+    @Builder
+    private BufferPool(int chunkSize, int maxPooledChunks) {
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("Chunk size must be positive.");
+        }
+        this.chunkSize = chunkSize;
+        this.chunks = new ArrayBlockingQueue<>(maxPooledChunks);
+    }
+
+    byte[] acquire() {
+        byte[] chunk = chunks.poll();
+        return chunk == null ? new byte[chunkSize] : chunk;
+    }
+
+    void release(byte[] chunk) {
+        //noinspection ResultOfMethodCallIgnored
+        chunks.offer(chunk);
+    }
+
+    int getPooledChunks() {
+        return chunks.size();
+    }
+}
@@ -0,0 +1,66 @@
+package com.climbassist.wrapper;
+
+import com.climbassist.wrapper.request.RequestWrapper;
+import com.climbassist.wrapper.response.ResponseWrapper;
+import lombok.Builder;
+import lombok.NonNull;
+import org.springframework.web.util.WebUtils;
+
+import javax.servlet.Filter;
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.ServletRequest;
+import javax.servlet.ServletResponse;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+
+/**
+ * This class buffers the request and response bodies once per request, in a {@link RequestWrapper} and a
+ * {@link ResponseWrapper} that the rest of the filters share (see {@link #getResponseWrapper(ServletResponse)}). Once
+ * every other filter is done, it writes the response to the client, which is the only time the response is written.
+ */
+@Builder
+public class BufferingFilter implements Filter {
+
+    @NonNull
+    private final BufferPool bufferPool;
+
+    @Override
+    public void doFilter(ServletRequest servletRequest, ServletResponse servletResponse, FilterChain filterChain)
+            throws IOException, ServletException {
+        RequestWrapper requestWrapper = new RequestWrapper((HttpServletRequest) servletRequest, bufferPool);
+        ResponseWrapper responseWrapper = new ResponseWrapper((HttpServletResponse) servletResponse, bufferPool);
+        try {
+            filterChain.doFilter(requestWrapper, responseWrapper);
+            responseWrapper.writeDataTo(servletResponse.getOutputStream());
+        } finally {
+            requestWrapper.release();
+            responseWrapper.release();
+        }
+    }
+
+    /**
+     * @return the request wrapper that this filter passed down the chain
+     * @throws IllegalStateException if the request didn't go through this filter
+     */
+    public static RequestWrapper getRequestWrapper(@NonNull ServletRequest servletRequest) {
+        RequestWrapper requestWrapper = WebUtils.getNativeRequest(servletRequest, RequestWrapper.class);
+        if (requestWrapper == null) {
+            throw new IllegalStateException("Request was not buffered by BufferingFilter.");
+        }
+        return requestWrapper;
+    }
+
+    /**
+     * @return the response wrapper that this filter passed down the chain
+     * @throws IllegalStateException if the response didn't go through this filter
+     */
+    public static ResponseWrapper getResponseWrapper(@NonNull ServletResponse servletResponse) {
+        ResponseWrapper responseWrapper = WebUtils.getNativeResponse(servletResponse, ResponseWrapper.class);
+        if (responseWrapper == null) {
+            throw new IllegalStateException("Response was not buffered by BufferingFilter.");
+        }
+        return responseWrapper;
+    }
+}
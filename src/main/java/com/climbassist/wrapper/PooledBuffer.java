@@ -0,0 +1,171 @@
+package com.climbassist.wrapper;
+
+import lombok.NonNull;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A growable buffer made of chunks from a {@link BufferPool}. Growing it never copies what has already been written,
+ * and it's read and written out chunk by chunk, so a body is only ever copied into it and out of it once. The chunks
+ * must be given back with release() once the buffer isn't needed anymore.
+ */
+public class PooledBuffer extends OutputStream {
+
+    private final BufferPool bufferPool;
+    private final List<byte[]> chunks;
+    private int size;
+
+    public PooledBuffer(@NonNull BufferPool bufferPool) {
+        this.bufferPool = bufferPool;
+        this.chunks = new ArrayList<>();
+    }
+
+    @Override
+    public void write(int b) {
+        byte[] chunk = getWritableChunk();
+        chunk[size % chunk.length] = (byte) b;
+        size++;
+    }
+
+    @Override
+    public void write(@NonNull byte[] bytes, int offset, int length) {
+        if (offset < 0 || length < 0 || offset + length > bytes.length) {
+            throw new IndexOutOfBoundsException();
+        }
+        while (length > 0) {
+            byte[] chunk = getWritableChunk();
+            int chunkOffset = size % chunk.length;
+            int bytesToCopy = Math.min(length, chunk.length - chunkOffset);
+            System.arraycopy(bytes, offset, chunk, chunkOffset, bytesToCopy);
+            offset += bytesToCopy;
+            length -= bytesToCopy;
+            size += bytesToCopy;
+        }
+    }
+
+    /**
+     * Reads all of inputStream into the buffer, straight into its chunks.
+     */
+    public void readFrom(@NonNull InputStream inputStream) throws IOException {
+        readFrom(inputStream, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Reads inputStream into the buffer until either the stream ends or maxBytes have been read, leaving the rest of
+     * the stream unread.
+     */
+    public void readFrom(@NonNull InputStream inputStream, int maxBytes) throws IOException {
+        int bytesLeft = maxBytes;
+        while (bytesLeft > 0) {
+            byte[] chunk = getWritableChunk();
+            int chunkOffset = size % chunk.length;
+            int bytesRead = inputStream.read(chunk, chunkOffset, Math.min(bytesLeft, chunk.length - chunkOffset));
+            if (bytesRead < 0) {
+                return;
+            }
+            size += bytesRead;
+            bytesLeft -= bytesRead;
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public void writeTo(@NonNull OutputStream outputStream) throws IOException {
+        writeTo(outputStream, size);
+    }
+
+    /**
+     * Writes at most maxBytes from the beginning of the buffer to outputStream.
+     */
+    public void writeTo(@NonNull OutputStream outputStream, int maxBytes) throws IOException {
+        int remaining = Math.min(size, Math.max(maxBytes, 0));
+        for (byte[] chunk : chunks) {
+            if (remaining == 0) {
+                return;
+            }
+            int bytesToWrite = Math.min(remaining, chunk.length);
+            outputStream.write(chunk, 0, bytesToWrite);
+            remaining -= bytesToWrite;
+        }
+    }
+
+    public byte[] toByteArray() {
+        byte[] bytes = new byte[size];
+        int offset = 0;
+        for (byte[] chunk : chunks) {
+            int bytesToCopy = Math.min(size - offset, chunk.length);
+            System.arraycopy(chunk, 0, bytes, offset, bytesToCopy);
+            offset += bytesToCopy;
+        }
+        return bytes;
+    }
+
+    /**
+     * @return a stream that reads the buffer from the beginning, without copying it
+     */
+    public InputStream newInputStream() {
+        return new PooledBufferInputStream();
+    }
+
+    /**
+     * Gives the chunks back to the pool and empties the buffer. Nothing that was read from the buffer, such as a stream
+     * from newInputStream(), can be used after this.
+     */
+    public void release() {
+        chunks.forEach(bufferPool::release);
+        chunks.clear();
+        size = 0;
+    }
+
+    private byte[] getWritableChunk() {
+        if (chunks.isEmpty() || size == chunks.size() * chunks.get(0).length) {
+            chunks.add(bufferPool.acquire());
+        }
+        return chunks.get(chunks.size() - 1);
+    }
+
+    private class PooledBufferInputStream extends InputStream {
+
+        private int position;
+
+        @Override
+        public int read() {
+            if (position >= size) {
+                return -1;
+            }
+            byte[] chunk = chunks.get(position / chunks.get(0).length);
+            return chunk[position++ % chunk.length] & 0xff;
+        }
+
+        @Override
+        public int read(@NonNull byte[] bytes, int offset, int length) {
+            if (offset < 0 || length < 0 || offset + length > bytes.length) {
+                throw new IndexOutOfBoundsException();
+            }
+            if (length == 0) {
+                return 0;
+            }
+            if (position >= size) {
+                return -1;
+            }
+            int chunkSize = chunks.get(0).length;
+            byte[] chunk = chunks.get(position / chunkSize);
+            int chunkOffset = position % chunkSize;
+            int bytesToCopy = Math.min(length, Math.min(size - position, chunkSize - chunkOffset));
+            System.arraycopy(chunk, chunkOffset, bytes, offset, bytesToCopy);
+            position += bytesToCopy;
+            return bytesToCopy;
+        }
+
+        @Override
+        public int available() {
+            return size - position;
+        }
+    }
+}
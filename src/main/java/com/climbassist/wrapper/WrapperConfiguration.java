@@ -0,0 +1,26 @@
+package com.climbassist.wrapper;
+
+import lombok.NonNull;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class WrapperConfiguration {
+
+    @Bean
+    public BufferPool bufferPool(@Value("${bufferChunkSize:16384}") int bufferChunkSize,
+                                 @Value("${maxPooledBufferChunks:1024}") int maxPooledBufferChunks) {
+        return BufferPool.builder()
+                .chunkSize(bufferChunkSize)
+                .maxPooledChunks(maxPooledBufferChunks)
+                .build();
+    }
+
+    @Bean
+    public BufferingFilter bufferingFilter(@NonNull BufferPool bufferPool) {
+        return BufferingFilter.builder()
+                .bufferPool(bufferPool)
+                .build();
+    }
+}
@@ -4,29 +4,30 @@ import org.springframework.lang.NonNull;
 
 import javax.servlet.ReadListener;
 import javax.servlet.ServletInputStream;
-import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
 
 /**
  * This class is used by RequestWrapper to allow the body of a request to be read before passing it to the controller.
  */
 public class FilterServletInputStream extends ServletInputStream {
 
-    private ByteArrayInputStream byteArrayInputStream;
+    private InputStream inputStream;
 
-    FilterServletInputStream(ByteArrayInputStream byteArrayInputStream) {
-        this.byteArrayInputStream = byteArrayInputStream;
+    FilterServletInputStream(InputStream inputStream) {
+        this.inputStream = inputStream;
     }
 
-    public int available() {
-        return byteArrayInputStream.available();
+    public int available() throws IOException {
+        return inputStream.available();
     }
 
-    public int read() {
-        return byteArrayInputStream.read();
+    public int read() throws IOException {
+        return inputStream.read();
     }
 
-    public int read(@NonNull byte[] buf, int off, int len) {
-        return byteArrayInputStream.read(buf, off, len);
+    public int read(@NonNull byte[] buf, int off, int len) throws IOException {
+        return inputStream.read(buf, off, len);
     }
 
     @Override
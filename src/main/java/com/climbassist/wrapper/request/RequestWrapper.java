@@ -1,54 +1,105 @@
 package com.climbassist.wrapper.request;
 
+import com.climbassist.wrapper.BufferPool;
+import com.climbassist.wrapper.PooledBuffer;
+import com.google.common.collect.ImmutableList;
 import org.apache.commons.io.FileUtils;
-import org.apache.commons.io.IOUtils;
 
 import javax.servlet.ServletInputStream;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletRequestWrapper;
-import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.util.List;
+import java.util.Locale;
 
 /**
- * This class is used to wrap an HttpServletRequest to allow the body of the request to be logged.
+ * This class is used to wrap an HttpServletRequest to allow the body of the request to be logged. The body is read
+ * into a {@link PooledBuffer} once, and every stream from getInputStream() reads from that buffer.
+ * <p>
+ * Uploads (multipart and binary bodies, such as models and photos) can be far too big to buffer, so only the first part
+ * of them is buffered, for logging. getInputStream() returns that part followed by the rest of the body, which is
+ * streamed from the client, so uploads can only be read once.
  */
 public class RequestWrapper extends HttpServletRequestWrapper {
 
-    private static final long MAX_STRING_SIZE = 10 * FileUtils.ONE_KB;
+    private static final int MAX_STRING_SIZE = (int) (10 * FileUtils.ONE_KB);
+    private static final List<String> STREAMED_CONTENT_TYPE_PREFIXES = ImmutableList.of("multipart/",
+            "application/octet-stream", "image/", "model/", "video/");
 
-    private byte[] buffer;
+    private final PooledBuffer buffer;
+    private final ServletInputStream streamedInputStream;
 
-    public RequestWrapper(HttpServletRequest httpServletRequest) throws IOException {
+    public RequestWrapper(HttpServletRequest httpServletRequest, BufferPool bufferPool) throws IOException {
         super(httpServletRequest);
-        buffer = IOUtils.toByteArray(httpServletRequest.getInputStream());
+        buffer = new PooledBuffer(bufferPool);
+        InputStream inputStream = httpServletRequest.getInputStream();
+        if (isStreamed(httpServletRequest.getContentType())) {
+            // one more byte than can be logged is read, so that getBody() knows whether the body was truncated
+            buffer.readFrom(inputStream, MAX_STRING_SIZE + 1);
+            streamedInputStream = new FilterServletInputStream(
+                    new SequenceInputStream(buffer.newInputStream(), inputStream));
+        }
+        else {
+            buffer.readFrom(inputStream);
+            streamedInputStream = null;
+        }
     }
 
     public ServletInputStream getInputStream() {
-        ByteArrayInputStream byteArrayInputStream = new ByteArrayInputStream(buffer);
-        return new FilterServletInputStream(byteArrayInputStream);
+        if (streamedInputStream != null) {
+            return streamedInputStream;
+        }
+        return new FilterServletInputStream(buffer.newInputStream());
     }
 
     /**
-     * returns the body of the request as a string, up to 1 MB before it is truncated
+     * returns the body of the request as a string, up to 10 KB before it is truncated
      */
     public String getBody() throws IOException {
+        return getBody(MAX_STRING_SIZE);
+    }
+
+    /**
+     * returns the body of the request as a string, up to maxSize bytes (and never more than 10 KB) before it is
+     * truncated
+     */
+    public String getBody(int maxSize) throws IOException {
+        int maxStringSize = Math.min(maxSize, MAX_STRING_SIZE);
         ByteArrayOutputStream byteArrayOutputStream = new ByteArrayOutputStream();
-        ServletInputStream servletInputStream = getInputStream();
+        InputStream inputStream = buffer.newInputStream();
         long totalSize = 0L;
         byte[] stringBuffer = new byte[1024];
         int readSize;
-        while ((readSize = servletInputStream.read(stringBuffer)) > 0) {
+        while ((readSize = inputStream.read(stringBuffer)) > 0) {
             byteArrayOutputStream.write(stringBuffer, 0, readSize);
             totalSize += readSize;
-            if (totalSize > MAX_STRING_SIZE) {
+            if (totalSize > maxStringSize) {
                 break;
             }
         }
         String body = new String(byteArrayOutputStream.toByteArray());
-        if (totalSize > MAX_STRING_SIZE) {
+        if (totalSize > maxStringSize) {
             body = body + " [content truncated]";
         }
         return body;
     }
+
+    /**
+     * Gives the buffer back to the pool. The body can't be read after this.
+     */
+    public void release() {
+        buffer.release();
+    }
+
+    private static boolean isStreamed(String contentType) {
+        if (contentType == null) {
+            return false;
+        }
+        String lowerCaseContentType = contentType.toLowerCase(Locale.ROOT);
+        return STREAMED_CONTENT_TYPE_PREFIXES.stream()
+                .anyMatch(lowerCaseContentType::startsWith);
+    }
 }
@@ -1,12 +1,18 @@
 package com.climbassist.wrapper.response;
 
+import com.climbassist.wrapper.BufferPool;
+import com.climbassist.wrapper.PooledBuffer;
+import lombok.NonNull;
 import org.apache.commons.io.output.NullOutputStream;
 
 import javax.servlet.ServletOutputStream;
 import javax.servlet.http.HttpServletResponse;
 import javax.servlet.http.HttpServletResponseWrapper;
 import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
 import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -15,35 +21,98 @@ import java.util.Set;
 
 /**
  * This class is used to wrap an HttpServletResponse to allow the body of the request to be logged and modified, as well
- * as allow the addition of headers.
+ * as allow the addition of headers. There is one of these per request, shared by every filter, so the body is
+ * buffered once in a {@link PooledBuffer} and written to the client once, by whoever created the wrapper. Filters can
+ * surround the body with an envelope, which is written before and after it without copying the body.
  */
 public class ResponseWrapper extends HttpServletResponseWrapper {
 
+    private static final byte[] EMPTY = new byte[0];
+
     private final Map<String, String> customHeaders;
-    private ByteArrayOutputStream byteArrayOutputStream;
+    private final PooledBuffer buffer;
     private FilterServletOutputStream filterServletOutputStream;
+    private byte[] envelopePrefix;
+    private byte[] envelopeSuffix;
 
-    public ResponseWrapper(HttpServletResponse httpServletResponse) {
+    public ResponseWrapper(HttpServletResponse httpServletResponse, BufferPool bufferPool) {
         super(httpServletResponse);
-        byteArrayOutputStream = new ByteArrayOutputStream();
+        buffer = new PooledBuffer(bufferPool);
         customHeaders = new HashMap<>();
+        envelopePrefix = EMPTY;
+        envelopeSuffix = EMPTY;
     }
 
     @Override
     public ServletOutputStream getOutputStream() {
         if (filterServletOutputStream == null) {
-            filterServletOutputStream = new FilterServletOutputStream(byteArrayOutputStream);
+            filterServletOutputStream = new FilterServletOutputStream(buffer);
         }
         return filterServletOutputStream;
     }
 
+    /**
+     * Surrounds the body with prefix and suffix, which are included in everything that reads the body from now on.
+     */
+    public void setEnvelope(@NonNull byte[] prefix, @NonNull byte[] suffix) {
+        envelopePrefix = prefix;
+        envelopeSuffix = suffix;
+    }
+
+    public int getDataSize() {
+        return envelopePrefix.length + buffer.size() + envelopeSuffix.length;
+    }
 
     public byte[] getData() {
+        ByteArrayOutputStream byteArrayOutputStream = new ByteArrayOutputStream(getDataSize());
+        try {
+            writeDataTo(byteArrayOutputStream);
+        } catch (IOException e) {
+            // ByteArrayOutputStream doesn't throw IOExceptions
+            throw new IllegalStateException(e);
+        }
         return byteArrayOutputStream.toByteArray();
     }
 
+    /**
+     * Writes the body to outputStream straight from the buffer, without making a copy of it like getData() does.
+     */
+    public void writeDataTo(OutputStream outputStream) throws IOException {
+        outputStream.write(envelopePrefix);
+        buffer.writeTo(outputStream);
+        outputStream.write(envelopeSuffix);
+    }
+
     public String getBody() {
-        return new String(byteArrayOutputStream.toByteArray());
+        return new String(getData(), StandardCharsets.UTF_8);
+    }
+
+    /**
+     * returns the body of the response as a string, up to maxSize bytes before it is truncated
+     */
+    public String getBody(int maxSize) {
+        if (getDataSize() <= maxSize) {
+            return getBody();
+        }
+        ByteArrayOutputStream byteArrayOutputStream = new ByteArrayOutputStream(maxSize);
+        try {
+            int prefixSize = Math.min(envelopePrefix.length, maxSize);
+            byteArrayOutputStream.write(envelopePrefix, 0, prefixSize);
+            buffer.writeTo(byteArrayOutputStream, maxSize - prefixSize);
+            byteArrayOutputStream.write(envelopeSuffix, 0, Math.max(0, Math.min(envelopeSuffix.length,
+                    maxSize - prefixSize - buffer.size())));
+        } catch (IOException e) {
+            // ByteArrayOutputStream doesn't throw IOExceptions
+            throw new IllegalStateException(e);
+        }
+        return new String(byteArrayOutputStream.toByteArray(), StandardCharsets.UTF_8) + " [content truncated]";
+    }
+
+    /**
+     * Gives the buffer back to the pool. The body can't be read after this.
+     */
+    public void release() {
+        buffer.release();
     }
 
     public void setCustomHeader(String name, String value) {
@@ -74,4 +143,4 @@ public class ResponseWrapper extends HttpServletResponseWrapper {
     public PrintWriter getWriter() {
         return new PrintWriter(new NullOutputStream());
     }
-}
\ No newline at end of file
+}
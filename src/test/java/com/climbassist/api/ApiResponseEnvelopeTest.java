@@ -0,0 +1,84 @@
+package com.climbassist.api;
+
+import com.climbassist.wrapper.BufferPool;
+import com.climbassist.wrapper.response.ResponseWrapper;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.testing.NullPointerTester;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+
+class ApiResponseEnvelopeTest {
+
+    private static final String DATA = "{\"cragId\":\"crag-1\",\"name\":\"Index Town Walls\",\"walls\":[]}";
+    private static final String NON_ASCII_DATA = "{\"name\":\"Les Calanques – Équinoxe\"}";
+    private static final String ERROR = "{\"type\":\"ResourceNotFoundException\",\"message\":\"No crag found.\"}";
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private ApiResponseEnvelope apiResponseEnvelope;
+    private ResponseWrapper responseWrapper;
+
+    @BeforeEach
+    void setUp() {
+        apiResponseEnvelope = ApiResponseEnvelope.builder()
+                .build();
+        // small chunks, so that bodies span several of them
+        responseWrapper = new ResponseWrapper(new MockHttpServletResponse(), BufferPool.builder()
+                .chunkSize(16)
+                .maxPooledChunks(16)
+                .build());
+    }
+
+    @SuppressWarnings("UnstableApiUsage")
+    @Test
+    void parametersMarkedWithNonNull_throwNullPointerException_forNullValues() {
+        NullPointerTester nullPointerTester = new NullPointerTester();
+        nullPointerTester.setDefault(ResponseWrapper.class, responseWrapper);
+        nullPointerTester.testInstanceMethods(apiResponseEnvelope, NullPointerTester.Visibility.PACKAGE);
+    }
+
+    @Test
+    void wrapData_producesSameBytesAsSerializingApiResponse() throws IOException {
+        writeBody(DATA);
+        apiResponseEnvelope.wrapData(responseWrapper);
+        assertThat(responseWrapper.getData(), is(equalTo(objectMapper.writeValueAsBytes(ApiResponse.builder()
+                .data(DATA)
+                .build()))));
+    }
+
+    @Test
+    void wrapData_leavesNonAsciiDataUnchanged() throws IOException {
+        writeBody(NON_ASCII_DATA);
+        apiResponseEnvelope.wrapData(responseWrapper);
+        assertThat(responseWrapper.getBody(), is(equalTo("{\"data\":" + NON_ASCII_DATA + "}")));
+    }
+
+    @Test
+    void wrapError_producesSameBytesAsSerializingApiResponse() throws IOException {
+        writeBody(ERROR);
+        apiResponseEnvelope.wrapError(responseWrapper);
+        assertThat(responseWrapper.getData(), is(equalTo(objectMapper.writeValueAsBytes(ApiResponse.builder()
+                .error(ERROR)
+                .build()))));
+    }
+
+    @Test
+    void wrapError_addsExtraCharactersForError() throws IOException {
+        writeBody(ERROR);
+        apiResponseEnvelope.wrapError(responseWrapper);
+        assertThat(responseWrapper.getDataSize(), is(equalTo(ERROR.length() + ApiResponse.EXTRA_CHARACTERS_FOR_ERROR)));
+    }
+
+    private void writeBody(String body) throws IOException {
+        responseWrapper.getOutputStream()
+                .write(body.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,217 @@
+package com.climbassist.api.resource.common;
+
+import com.amazonaws.services.dynamodbv2.AmazonDynamoDB;
+import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBMapperConfig;
+import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBQueryExpression;
+import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBSaveExpression;
+import com.amazonaws.services.dynamodbv2.datamodeling.PaginatedQueryList;
+import com.amazonaws.services.dynamodbv2.model.AttributeValue;
+import com.amazonaws.services.dynamodbv2.model.ConditionalCheckFailedException;
+import com.amazonaws.services.dynamodbv2.model.ExpectedAttributeValue;
+import com.amazonaws.services.dynamodbv2.model.TransactWriteItem;
+import com.amazonaws.services.dynamodbv2.model.TransactWriteItemsRequest;
+import com.amazonaws.services.dynamodbv2.model.TransactionCanceledException;
+import com.amazonaws.services.dynamodbv2.model.Update;
+import com.climbassist.api.resource.common.ordering.OrderableResourceWithParent;
+import com.climbassist.api.resource.common.ordering.OrderingChange;
+import com.climbassist.api.resource.common.ordering.PositionGenerator;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.testing.NullPointerTester;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.Mock;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public abstract class AbstractOrderableResourceWithParentDaoTest<Resource extends OrderableResourceWithParent<Resource,
+        ParentResource>, ParentResource extends ResourceWithChildren<ParentResource>,
+        ResourceDao extends OrderableResourceWithParentDao<Resource, ParentResource>>
+        extends AbstractResourceWithParentDaoTest<Resource, ParentResource, ResourceDao> {
+
+    private static final String POSITION = "V";
+
+    @Mock
+    private PaginatedQueryList<Resource> mockPositionQueryList;
+    @Captor
+    private ArgumentCaptor<DynamoDBQueryExpression<Resource>> positionQueryExpressionArgumentCaptor;
+    @Captor
+    private ArgumentCaptor<DynamoDBSaveExpression> dynamoDbSaveExpressionArgumentCaptor;
+    @Captor
+    private ArgumentCaptor<DynamoDBMapperConfig> dynamoDbMapperConfigArgumentCaptor;
+    @Captor
+    private ArgumentCaptor<TransactWriteItemsRequest> transactWriteItemsRequestArgumentCaptor;
+
+    @SuppressWarnings("UnstableApiUsage")
+    @Override
+    @Test
+    void parametersMarkedWithNonNull_throwNullPointerException_forNullValues() throws NoSuchMethodException {
+        super.parametersMarkedWithNonNull_throwNullPointerException_forNullValues();
+        NullPointerTester nullPointerTester = new NullPointerTester();
+        // have to call these methods out explicitly because they are in a superclass in a different package than the
+        // subclass
+        nullPointerTester.testMethod(resourceDao, resourceDao.getClass()
+                .getMethod("getResourcesInPositionOrder", String.class));
+        nullPointerTester.testMethod(resourceDao, resourceDao.getClass()
+                .getMethod("updatePosition", String.class, String.class));
+        nullPointerTester.testMethod(resourceDao, resourceDao.getClass()
+                .getMethod("saveOrderingChanges", List.class));
+    }
+
+    // fresh resources are used because the changes are applied to them in place
+    @Override
+    @Test
+    void saveResource_savesResource() {
+        Resource resource = buildResourceForDeletion(getTestResource1().getId());
+        resource.setPosition("F");
+        resourceDao.saveResource(resource);
+        assertThat(resource.getPosition(), is(equalTo("F")));
+        verify(getMockDynamoDbMapper()).save(resource, getDynamoDbMapperConfig());
+    }
+
+    @Test
+    void saveResource_givesResourceMiddlePosition_whenResourceHasNoPosition() {
+        Resource resource = buildResourceForDeletion(getTestResource1().getId());
+        resourceDao.saveResource(resource);
+        assertThat(resource.getPosition(), is(equalTo(PositionGenerator.MIDDLE_POSITION)));
+        verify(getMockDynamoDbMapper()).save(resource, getDynamoDbMapperConfig());
+    }
+
+    @Test
+    void getResourcesInPositionOrder_returnsResourcesFromPositionIndexInOrder() {
+        List<Resource> resources = ImmutableList.of(getTestResource2(), getTestResource1());
+        // the results are copied into a list, which reads them with toArray
+        when(mockPositionQueryList.toArray()).thenReturn(resources.toArray());
+        when(getMockDynamoDbMapper().query(eq(getTestResourceClass()), any(), any())).thenReturn(
+                mockPositionQueryList);
+
+        assertThat(resourceDao.getResourcesInPositionOrder(getTestResource1().getParentId()),
+                is(equalTo(resources)));
+
+        verify(getMockDynamoDbMapper()).query(eq(getTestResourceClass()),
+                positionQueryExpressionArgumentCaptor.capture(), eq(getDynamoDbMapperConfig()));
+        DynamoDBQueryExpression<Resource> actualDynamoDbQueryExpression =
+                positionQueryExpressionArgumentCaptor.getValue();
+        assertThat(actualDynamoDbQueryExpression.getHashKeyValues(),
+                is(equalTo(buildIndexHashKey(getTestResource1().getParentId()))));
+        assertThat(actualDynamoDbQueryExpression.getIndexName(), is(equalTo(getPositionIndexName())));
+        assertThat(actualDynamoDbQueryExpression.isScanIndexForward(), is(equalTo(true)));
+    }
+
+    @Test
+    void updatePosition_updatesOnlyPosition_whenResourceExists() {
+        assertThat(resourceDao.updatePosition(getTestResource1().getId(), POSITION), is(equalTo(true)));
+
+        Resource expectedResource = buildResourceForDeletion(getTestResource1().getId());
+        expectedResource.setPosition(POSITION);
+        verify(getMockDynamoDbMapper()).save(eq(expectedResource), dynamoDbSaveExpressionArgumentCaptor.capture(),
+                dynamoDbMapperConfigArgumentCaptor.capture());
+        assertThat(dynamoDbSaveExpressionArgumentCaptor.getValue()
+                .getExpected(), is(equalTo(ImmutableMap.of(getIdAttributeName(),
+                new ExpectedAttributeValue(new AttributeValue(getTestResource1().getId()))))));
+        assertThat(dynamoDbMapperConfigArgumentCaptor.getValue()
+                .getSaveBehavior(), is(equalTo(DynamoDBMapperConfig.SaveBehavior.UPDATE_SKIP_NULL_ATTRIBUTES)));
+        assertThat(dynamoDbMapperConfigArgumentCaptor.getValue()
+                .getTableNameOverride()
+                .getTableName(), is(equalTo(getDynamoDbMapperConfig().getTableNameOverride()
+                .getTableName())));
+    }
+
+    @Test
+    void updatePosition_returnsFalse_whenResourceDoesNotExist() {
+        doThrow(new ConditionalCheckFailedException("")).when(getMockDynamoDbMapper())
+                .save(any(), any(DynamoDBSaveExpression.class), any(DynamoDBMapperConfig.class));
+        assertThat(resourceDao.updatePosition(getTestResource1().getId(), POSITION), is(equalTo(false)));
+    }
+
+    @Test
+    void saveOrderingChanges_updatesOnlyOrderingInOneTransaction_withUnchangedFirstAndNextConditions() {
+        // fresh resources are used because the changes are applied to them in place
+        Resource resource1 = buildResourceForDeletion(getTestResource1().getId());
+        Resource resource2 = buildResourceForDeletion(getTestResource2().getId());
+        resourceDao.setOrdering(resource1, true, null);
+        resourceDao.setOrdering(resource2, false, resource1.getId());
+
+        assertThat(resourceDao.saveOrderingChanges(ImmutableList.of(OrderingChange.<Resource, ParentResource>builder()
+                .resource(resource1)
+                .first(false)
+                .next(resource2.getId())
+                .position("V")
+                .build(), OrderingChange.<Resource, ParentResource>builder()
+                .resource(resource2)
+                .first(true)
+                .next(null)
+                .position("F")
+                .build())), is(equalTo(true)));
+
+        verify(getMockAmazonDynamoDb()).transactWriteItems(transactWriteItemsRequestArgumentCaptor.capture());
+        List<TransactWriteItem> transactWriteItems = transactWriteItemsRequestArgumentCaptor.getValue()
+                .getTransactItems();
+        assertThat(transactWriteItems.size(), is(equalTo(2)));
+        Map<String, String> expectedExpressionAttributeNames =
+                ImmutableMap.of("#id", getIdAttributeName(), "#first", "first", "#next", "next", "#position",
+                        "position");
+
+        assertThat(transactWriteItems.get(0)
+                .getUpdate(), is(equalTo(new Update().withTableName(getDynamoDbMapperConfig().getTableNameOverride()
+                .getTableName())
+                .withKey(ImmutableMap.of(getIdAttributeName(), new AttributeValue(resource1.getId())))
+                .withUpdateExpression("SET #first = :first, #next = :next, #position = :position")
+                .withConditionExpression(
+                        "attribute_exists(#id) AND #first = :expectedFirst AND attribute_not_exists(#next)")
+                .withExpressionAttributeNames(expectedExpressionAttributeNames)
+                .withExpressionAttributeValues(ImmutableMap.of(":first", new AttributeValue().withN("0"), ":next",
+                        new AttributeValue(resource2.getId()), ":position", new AttributeValue("V"),
+                        ":expectedFirst", new AttributeValue().withN("1"))))));
+        assertThat(resource1.isFirst(), is(equalTo(false)));
+        assertThat(resource1.getNext(), is(equalTo(resource2.getId())));
+        assertThat(resource1.getPosition(), is(equalTo("V")));
+
+        assertThat(transactWriteItems.get(1)
+                .getUpdate(), is(equalTo(new Update().withTableName(getDynamoDbMapperConfig().getTableNameOverride()
+                .getTableName())
+                .withKey(ImmutableMap.of(getIdAttributeName(), new AttributeValue(resource2.getId())))
+                .withUpdateExpression("SET #first = :first, #position = :position REMOVE #next")
+                .withConditionExpression("attribute_exists(#id) AND (attribute_not_exists(#first) OR #first = " +
+                        ":expectedFirst) AND #next = :expectedNext")
+                .withExpressionAttributeNames(expectedExpressionAttributeNames)
+                .withExpressionAttributeValues(ImmutableMap.of(":first", new AttributeValue().withN("1"),
+                        ":position", new AttributeValue("F"), ":expectedFirst", new AttributeValue().withN("0"),
+                        ":expectedNext", new AttributeValue(resource1.getId()))))));
+        assertThat(resource2.isFirst(), is(equalTo(true)));
+        assertThat(resource2.getNext(), is(equalTo(null)));
+        assertThat(resource2.getPosition(), is(equalTo("F")));
+        verify(getMockDynamoDbMapper(), never()).transactionWrite(any(), any());
+    }
+
+    @Test
+    void saveOrderingChanges_returnsFalseAndLeavesResourcesUnchanged_whenTransactionIsCanceled() {
+        when(getMockAmazonDynamoDb().transactWriteItems(any())).thenThrow(new TransactionCanceledException(""));
+        Resource resource = buildResourceForDeletion(getTestResource1().getId());
+        assertThat(resourceDao.saveOrderingChanges(ImmutableList.of(OrderingChange.<Resource, ParentResource>builder()
+                .resource(resource)
+                .first(true)
+                .position(POSITION)
+                .build())), is(equalTo(false)));
+        assertThat(resource.isFirst(), is(equalTo(false)));
+        assertThat(resource.getPosition(), is(equalTo(null)));
+    }
+
+    protected abstract String getPositionIndexName();
+
+    protected abstract String getIdAttributeName();
+
+    protected abstract AmazonDynamoDB getMockAmazonDynamoDb();
+}
@@ -0,0 +1,115 @@
+package com.climbassist.api.resource.common;
+
+import com.amazonaws.services.dynamodbv2.model.AttributeValue;
+import com.climbassist.api.resource.crag.Azimuth;
+import com.climbassist.api.resource.crag.Model;
+import com.climbassist.api.resource.crag.Parking;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.testing.NullPointerTester;
+import org.junit.jupiter.api.Test;
+
+import java.util.Set;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class GenericTypeConverterTest {
+
+    private static final Model MODEL = Model.builder()
+            .modelLocation("https://models.climbassist.com/crag.glb")
+            .azimuth(Azimuth.builder()
+                    .minimum(-45.0)
+                    .maximum(45.5)
+                    .build())
+            .light(1.0)
+            .build();
+    private static final String MODEL_JSON = "{\"modelLocation\":\"https://models.climbassist.com/crag.glb\"," +
+            "\"azimuth\":{\"minimum\":-45.0,\"maximum\":45.5},\"light\":1.0}";
+    private static final AttributeValue MODEL_ATTRIBUTE_VALUE = new AttributeValue().withM(
+            ImmutableMap.of("modelLocation", new AttributeValue("https://models.climbassist.com/crag.glb"), "azimuth",
+                    new AttributeValue().withM(ImmutableMap.of("minimum", new AttributeValue().withN("-45.0"), "maximum",
+                            new AttributeValue().withN("45.5"))), "light", new AttributeValue().withN("1.0")));
+    private static final Set<Parking> PARKING = ImmutableSet.of(Parking.builder()
+            .latitude(1.0)
+            .longitude(2.0)
+            .build());
+    private static final AttributeValue PARKING_ATTRIBUTE_VALUE = new AttributeValue().withL(ImmutableList.of(
+            new AttributeValue().withM(ImmutableMap.of("latitude", new AttributeValue().withN("1.0"), "longitude",
+                    new AttributeValue().withN("2.0")))));
+
+    private final GenericTypeConverter<Model> modelGenericTypeConverter =
+            new GenericTypeConverter<>(new TypeReference<Model>() {});
+    private final GenericTypeConverter<Set<Parking>> parkingGenericTypeConverter =
+            new GenericTypeConverter<>(new TypeReference<Set<Parking>>() {});
+
+    @SuppressWarnings("UnstableApiUsage")
+    @Test
+    void parametersMarkedWithNonNull_throwNullPointerException_forNullValues() {
+        NullPointerTester nullPointerTester = new NullPointerTester();
+        nullPointerTester.testAllPublicConstructors(GenericTypeConverter.class);
+        nullPointerTester.testAllPublicInstanceMethods(modelGenericTypeConverter);
+    }
+
+    @Test
+    void convert_returnsNativeMap() {
+        assertThat(modelGenericTypeConverter.convert(MODEL), is(equalTo(MODEL_ATTRIBUTE_VALUE)));
+    }
+
+    @Test
+    void convert_returnsNativeList_forCollection() {
+        assertThat(parkingGenericTypeConverter.convert(PARKING), is(equalTo(PARKING_ATTRIBUTE_VALUE)));
+    }
+
+    @Test
+    void toJsonAttributeValue_returnsSameJsonStringAsValuesUsedToBeStoredAs() {
+        assertThat(GenericTypeConverter.toJsonAttributeValue(modelGenericTypeConverter.convert(MODEL)),
+                is(equalTo(new AttributeValue(MODEL_JSON))));
+    }
+
+    @Test
+    void toJsonAttributeValue_returnsJsonArray_forList() {
+        assertThat(GenericTypeConverter.toJsonAttributeValue(PARKING_ATTRIBUTE_VALUE),
+                is(equalTo(new AttributeValue("[{\"latitude\":1.0,\"longitude\":2.0}]"))));
+    }
+
+    @Test
+    void unconvert_readsJsonString() {
+        assertThat(modelGenericTypeConverter.unconvert(new AttributeValue(MODEL_JSON)), is(equalTo(MODEL)));
+    }
+
+    @Test
+    void unconvert_readsNativeMap() {
+        assertThat(modelGenericTypeConverter.unconvert(MODEL_ATTRIBUTE_VALUE), is(equalTo(MODEL)));
+    }
+
+    @Test
+    void unconvert_readsNativeList() {
+        assertThat(parkingGenericTypeConverter.unconvert(PARKING_ATTRIBUTE_VALUE), is(equalTo(PARKING)));
+    }
+
+    @Test
+    void unconvert_ignoresUnknownProperties() {
+        assertThat(modelGenericTypeConverter.unconvert(new AttributeValue().withM(
+                ImmutableMap.of("modelLocation", new AttributeValue("location"), "unknown",
+                        new AttributeValue().withNULL(true)))), is(equalTo(Model.builder()
+                .modelLocation("location")
+                .build())));
+    }
+
+    @Test
+    void unconvert_returnsNull_whenValueIsNull() {
+        assertThat(modelGenericTypeConverter.unconvert(new AttributeValue().withNULL(true)), is(nullValue()));
+    }
+
+    @Test
+    void unconvert_throwsInvalidFormatException_whenJsonIsInvalid() {
+        assertThrows(InvalidFormatException.class,
+                () -> modelGenericTypeConverter.unconvert(new AttributeValue("{\"modelLocation\":")));
+    }
+}
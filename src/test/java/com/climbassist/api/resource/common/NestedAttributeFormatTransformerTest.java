@@ -0,0 +1,68 @@
+package com.climbassist.api.resource.common;
+
+import com.amazonaws.services.dynamodbv2.datamodeling.AttributeTransformer;
+import com.amazonaws.services.dynamodbv2.model.AttributeValue;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.testing.NullPointerTester;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Map;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class NestedAttributeFormatTransformerTest {
+
+    private static final AttributeValue MAP_ATTRIBUTE_VALUE = new AttributeValue().withM(
+            ImmutableMap.of("latitude", new AttributeValue().withN("1.0"), "longitude",
+                    new AttributeValue().withN("2.0")));
+    private static final Map<String, AttributeValue> ATTRIBUTE_VALUES = ImmutableMap.of("cragId",
+            new AttributeValue("crag-1"), "location", MAP_ATTRIBUTE_VALUE, "parking",
+            new AttributeValue().withL(ImmutableList.of(MAP_ATTRIBUTE_VALUE)));
+
+    @Mock
+    private AttributeTransformer.Parameters<Object> mockParameters;
+
+    @SuppressWarnings("UnstableApiUsage")
+    @Test
+    void parametersMarkedWithNonNull_throwNullPointerException_forNullValues() {
+        NullPointerTester nullPointerTester = new NullPointerTester();
+        nullPointerTester.testAllPublicInstanceMethods(NestedAttributeFormatTransformer.builder()
+                .build());
+    }
+
+    @Test
+    void transform_writesMapsAndListsAsJsonStrings_whenNotWritingNativeAttributes() {
+        when(mockParameters.getAttributeValues()).thenReturn(ATTRIBUTE_VALUES);
+        assertThat(NestedAttributeFormatTransformer.builder()
+                .writeNativeAttributes(false)
+                .build()
+                .transform(mockParameters), is(equalTo(ImmutableMap.of("cragId", new AttributeValue("crag-1"),
+                "location", new AttributeValue("{\"latitude\":1.0,\"longitude\":2.0}"), "parking",
+                new AttributeValue("[{\"latitude\":1.0,\"longitude\":2.0}]")))));
+    }
+
+    @Test
+    void transform_leavesAttributesAsTheyAre_whenWritingNativeAttributes() {
+        when(mockParameters.getAttributeValues()).thenReturn(ATTRIBUTE_VALUES);
+        assertThat(NestedAttributeFormatTransformer.builder()
+                .writeNativeAttributes(true)
+                .build()
+                .transform(mockParameters), is(equalTo(ATTRIBUTE_VALUES)));
+    }
+
+    @Test
+    void untransform_leavesAttributesAsTheyAre() {
+        when(mockParameters.getAttributeValues()).thenReturn(ATTRIBUTE_VALUES);
+        assertThat(NestedAttributeFormatTransformer.builder()
+                .build()
+                .untransform(mockParameters), is(equalTo(ATTRIBUTE_VALUES)));
+    }
+}
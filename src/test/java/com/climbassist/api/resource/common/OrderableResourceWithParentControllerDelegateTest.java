@@ -1,8 +1,11 @@
 package com.climbassist.api.resource.common;
 
 import com.climbassist.api.resource.common.ordering.InvalidOrderingException;
-import com.climbassist.api.resource.common.ordering.OrderableListBuilder;
 import com.climbassist.api.resource.common.ordering.OrderableResourceWithParent;
+import com.climbassist.api.resource.common.ordering.OrderedResourceRetriever;
+import com.climbassist.api.resource.common.ordering.ReorderResourcesRequest;
+import com.climbassist.api.resource.common.ordering.ResourceMove;
+import com.climbassist.api.resource.common.ordering.ResourceReorderer;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableSet;
 import com.google.common.testing.NullPointerTester;
@@ -18,22 +21,25 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import java.util.Collection;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Optional;
 import java.util.Set;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.containsInAnyOrder;
 import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
 class OrderableResourceWithParentControllerDelegateTest {
 
     @Builder
-    @Value
+    @Data
     private static final class ResourceImpl implements OrderableResourceWithParent<ResourceImpl, ParentResourceImpl> {
 
         private String id;
@@ -41,6 +47,7 @@ class OrderableResourceWithParentControllerDelegateTest {
         private String name;
         private boolean first;
         private String next;
+        private String position;
     }
 
     @Builder
@@ -86,7 +93,9 @@ class OrderableResourceWithParentControllerDelegateTest {
     private ResourceWithParentControllerDelegate<ResourceImpl, NewResourceImpl, ParentResourceImpl>
             mockResourceWithParentControllerDelegate;
     @Mock
-    private OrderableListBuilder<ResourceImpl, ParentResourceImpl> mockOrderableListBuilder;
+    private OrderedResourceRetriever<ResourceImpl, ParentResourceImpl> mockOrderedResourceRetriever;
+    @Mock
+    private ResourceReorderer<ResourceImpl, ParentResourceImpl> mockResourceReorderer;
 
     private OrderableResourceWithParentControllerDelegate<ResourceImpl, NewResourceImpl, ParentResourceImpl>
             orderableResourceWithParentControllerDelegate;
@@ -94,8 +103,9 @@ class OrderableResourceWithParentControllerDelegateTest {
     @BeforeEach
     void setUp() {
         orderableResourceWithParentControllerDelegate =
-                OrderableResourceWithParentControllerDelegate.<ResourceImpl, NewResourceImpl, ParentResourceImpl>builder().orderableListBuilder(
-                        mockOrderableListBuilder)
+                OrderableResourceWithParentControllerDelegate.<ResourceImpl, NewResourceImpl, ParentResourceImpl>builder().orderedResourceRetriever(
+                        mockOrderedResourceRetriever)
+                        .resourceReorderer(mockResourceReorderer)
                         .resourceWithParentControllerDelegate(mockResourceWithParentControllerDelegate)
                         .build();
     }
@@ -117,20 +127,64 @@ class OrderableResourceWithParentControllerDelegateTest {
         assertThat(orderableResourceWithParentControllerDelegate.getResourcesForParent(RESOURCE_1.getParentId(), false),
                 containsInAnyOrder(resources.toArray()));
         verify(mockResourceWithParentControllerDelegate).getResourcesForParent(RESOURCE_1.getParentId());
-        verify(mockOrderableListBuilder, never()).buildList(any());
+        verifyNoInteractions(mockOrderedResourceRetriever);
+    }
+
+    @Test
+    void getResourcesForParent_returnsResourcesInPositionOrder_whenOrderedIsTrueAndResourcesArePositioned()
+            throws ResourceNotFoundException, InvalidOrderingException {
+        List<ResourceImpl> resourceList = ImmutableList.of(RESOURCE_1, RESOURCE_2);
+        when(mockOrderedResourceRetriever.getResourcesInPositionOrder(any())).thenReturn(Optional.of(resourceList));
+        assertThat(orderableResourceWithParentControllerDelegate.getResourcesForParent(RESOURCE_1.getParentId(), true),
+                is(equalTo(resourceList)));
+        verify(mockOrderedResourceRetriever).getResourcesInPositionOrder(RESOURCE_1.getParentId());
+        verify(mockOrderedResourceRetriever, never()).buildList(any(), any());
+        verifyNoInteractions(mockResourceWithParentControllerDelegate);
     }
 
     @Test
-    void getResourcesForParent_returnsResourcesInOrder_whenOrderedIsTrue()
+    void getResourcesForParent_returnsResourcesInOrder_whenOrderedIsTrueAndResourcesAreNotPositioned()
             throws ResourceNotFoundException, InvalidOrderingException {
         Set<ResourceImpl> resourceSet = ImmutableSet.of(RESOURCE_2, RESOURCE_1);
         List<ResourceImpl> resourceList = ImmutableList.of(RESOURCE_1, RESOURCE_2);
+        when(mockOrderedResourceRetriever.getResourcesInPositionOrder(any())).thenReturn(Optional.empty());
         when(mockResourceWithParentControllerDelegate.getResourcesForParent(RESOURCE_1.getParentId())).thenReturn(
                 new HashSet<>(resourceSet));
-        when(mockOrderableListBuilder.buildList(any())).thenReturn(resourceList);
+        when(mockOrderedResourceRetriever.buildList(any(), any())).thenReturn(resourceList);
         assertThat(orderableResourceWithParentControllerDelegate.getResourcesForParent(RESOURCE_1.getParentId(), true),
                 is(equalTo(resourceList)));
+        verify(mockOrderedResourceRetriever).getResourcesInPositionOrder(RESOURCE_1.getParentId());
         verify(mockResourceWithParentControllerDelegate).getResourcesForParent(RESOURCE_1.getParentId());
-        verify(mockOrderableListBuilder).buildList(resourceSet);
+        verify(mockOrderedResourceRetriever).buildList(RESOURCE_1.getParentId(), resourceSet);
+    }
+
+    @Test
+    void reorderResources_reordersResourcesForParent() throws ResourceNotFoundException, InvalidOrderingException {
+        Set<ResourceImpl> resources = ImmutableSet.of(RESOURCE_2, RESOURCE_1);
+        ReorderResourcesRequest reorderResourcesRequest = ReorderResourcesRequest.builder()
+                .move(ResourceMove.builder()
+                        .resourceId(RESOURCE_2.getId())
+                        .build())
+                .build();
+        when(mockResourceWithParentControllerDelegate.getResourcesForParent(RESOURCE_1.getParentId())).thenReturn(
+                resources);
+        assertThat(orderableResourceWithParentControllerDelegate.reorderResources(RESOURCE_1.getParentId(),
+                reorderResourcesRequest), is(equalTo(UpdateResourceResult.builder()
+                .successful(true)
+                .build())));
+        verify(mockResourceReorderer).reorderResources(RESOURCE_1.getParentId(), resources, reorderResourcesRequest);
+    }
+
+    @Test
+    void reorderResources_throwsResourceNotFoundException_whenParentDoesNotExist() throws ResourceNotFoundException {
+        ReorderResourcesRequest reorderResourcesRequest = ReorderResourcesRequest.builder()
+                .order(ImmutableList.of(RESOURCE_2.getId(), RESOURCE_1.getId()))
+                .build();
+        when(mockResourceWithParentControllerDelegate.getResourcesForParent(any())).thenThrow(
+                new ResourceNotFoundException("parent", RESOURCE_1.getParentId()));
+        assertThrows(ResourceNotFoundException.class,
+                () -> orderableResourceWithParentControllerDelegate.reorderResources(RESOURCE_1.getParentId(),
+                        reorderResourcesRequest));
+        verifyNoInteractions(mockResourceReorderer);
     }
 }
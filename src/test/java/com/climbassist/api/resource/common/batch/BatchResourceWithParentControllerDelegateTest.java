@@ -15,6 +15,7 @@ import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableSet;
 import com.google.common.testing.NullPointerTester;
 import lombok.Builder;
+import lombok.Data;
 import lombok.Value;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -42,14 +43,15 @@ import static org.mockito.Mockito.when;
 class BatchResourceWithParentControllerDelegateTest {
 
     @Builder
-    @Value
+    @Data
     private static class ResourceImpl implements OrderableResourceWithParent<ResourceImpl, ParentResourceImpl> {
 
-        String id;
-        String parentId;
-        String name;
-        boolean first;
-        String next;
+        private String id;
+        private String parentId;
+        private String name;
+        private boolean first;
+        private String next;
+        private String position;
     }
 
     @Builder
@@ -0,0 +1,105 @@
+package com.climbassist.api.resource.common.compression;
+
+import com.amazonaws.services.dynamodbv2.model.AttributeValue;
+import com.climbassist.api.resource.crag.Crag;
+import com.google.common.base.Strings;
+import com.google.common.testing.NullPointerTester;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThan;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class CompressedStringConverterTest {
+
+    private static final int THRESHOLD = 100;
+    private static final String SHORT_STRING = Strings.repeat("a", THRESHOLD);
+    private static final String LONG_STRING = Strings.repeat("A long description of a crag. ", 20);
+
+    private final CompressedStringConverter compressedStringConverter = new CompressedStringConverter(THRESHOLD);
+
+    @BeforeEach
+    void setUp() {
+        CompressedStringConverter.setCompressAttributes(true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        CompressedStringConverter.setCompressAttributes(false);
+    }
+
+    @SuppressWarnings("UnstableApiUsage")
+    @Test
+    void parametersMarkedWithNonNull_throwNullPointerException_forNullValues() {
+        NullPointerTester nullPointerTester = new NullPointerTester();
+        nullPointerTester.testInstanceMethods(compressedStringConverter, NullPointerTester.Visibility.PACKAGE);
+        nullPointerTester.testAllPublicConstructors(CompressedStringConverter.class);
+    }
+
+    @Test
+    void constructor_usesThresholdFromAnnotation() throws NoSuchFieldException {
+        CompressedStringConverter annotatedCompressedStringConverter =
+                new CompressedStringConverter(String.class, Crag.class.getDeclaredField("description")
+                        .getAnnotation(Compressed.class));
+        String string = Strings.repeat("a", 1024);
+        assertThat(annotatedCompressedStringConverter.convert(string), is(equalTo(new AttributeValue(string))));
+        assertThat(annotatedCompressedStringConverter.convert(string + "a")
+                .getB(), is(notNullValue()));
+    }
+
+    @Test
+    void convert_returnsString_whenStringIsAtThreshold() {
+        assertThat(compressedStringConverter.convert(SHORT_STRING), is(equalTo(new AttributeValue(SHORT_STRING))));
+    }
+
+    @Test
+    void convert_returnsCompressedBinary_whenStringIsOverThreshold() {
+        AttributeValue attributeValue = compressedStringConverter.convert(LONG_STRING);
+        assertThat(attributeValue.getS(), is(nullValue()));
+        assertThat(attributeValue.getB(), is(notNullValue()));
+        assertThat(attributeValue.getB()
+                .remaining(), is(lessThan(LONG_STRING.length())));
+    }
+
+    @Test
+    void convert_returnsString_whenStringIsOverThresholdAndCompressAttributesIsNotSet() {
+        CompressedStringConverter.setCompressAttributes(false);
+        assertThat(compressedStringConverter.convert(LONG_STRING), is(equalTo(new AttributeValue(LONG_STRING))));
+    }
+
+    @Test
+    void convert_comparesThresholdToUtf8Length() {
+        // each of these is 3 bytes in UTF-8
+        String string = Strings.repeat("山", THRESHOLD / 2);
+        assertThat(compressedStringConverter.convert(string)
+                .getB(), is(notNullValue()));
+    }
+
+    @Test
+    void unconvert_returnsString_whenValueIsString() {
+        assertThat(compressedStringConverter.unconvert(new AttributeValue(LONG_STRING)), is(equalTo(LONG_STRING)));
+    }
+
+    @Test
+    void unconvert_returnsDecompressedString_whenValueIsCompressed() {
+        AttributeValue attributeValue = compressedStringConverter.convert(LONG_STRING);
+        assertThat(compressedStringConverter.unconvert(attributeValue), is(equalTo(LONG_STRING)));
+        // reading the value again gives the same result, because the buffer isn't consumed
+        assertThat(compressedStringConverter.unconvert(attributeValue), is(equalTo(LONG_STRING)));
+    }
+
+    @Test
+    void unconvert_throwsUncheckedIOException_whenValueIsNotGzipped() {
+        assertThrows(UncheckedIOException.class, () -> compressedStringConverter.unconvert(
+                new AttributeValue().withB(ByteBuffer.wrap(new byte[]{1, 2, 3}))));
+    }
+}
@@ -0,0 +1,80 @@
+package com.climbassist.api.resource.common.compression;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.testing.NullPointerTester;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class CompressionControllerTest {
+
+    private static final CompressAttributesResult COMPRESS_ATTRIBUTES_RESULT = CompressAttributesResult.builder()
+            .status(CompressionJob.Status.RUNNING)
+            .tables(ImmutableList.of(CompressTableResult.builder()
+                    .tableName("Crags")
+                    .itemsScanned(10)
+                    .valuesCompressed(2)
+                    .bytesSaved(4096)
+                    .build()))
+            .build();
+
+    @Mock
+    private CompressionJob mockCompressionJob;
+
+    private CompressionController compressionController;
+
+    @BeforeEach
+    void setUp() {
+        compressionController = CompressionController.builder()
+                .compressionJob(mockCompressionJob)
+                .compressAttributes(true)
+                .build();
+    }
+
+    @SuppressWarnings("UnstableApiUsage")
+    @Test
+    void parametersMarkedWithNonNull_throwNullPointerException_forNullValues() {
+        NullPointerTester nullPointerTester = new NullPointerTester();
+        nullPointerTester.testInstanceMethods(compressionController, NullPointerTester.Visibility.PACKAGE);
+    }
+
+    @Test
+    void compressAttributes_startsCompressionJob() throws CompressionDisabledException {
+        when(mockCompressionJob.start()).thenReturn(COMPRESS_ATTRIBUTES_RESULT);
+        assertThat(compressionController.compressAttributes(), is(equalTo(COMPRESS_ATTRIBUTES_RESULT)));
+    }
+
+    @Test
+    void getCompressAttributesStatus_returnsCompressionJobStatus() throws CompressionDisabledException {
+        when(mockCompressionJob.getStatus()).thenReturn(COMPRESS_ATTRIBUTES_RESULT);
+        assertThat(compressionController.getCompressAttributesStatus(), is(equalTo(COMPRESS_ATTRIBUTES_RESULT)));
+    }
+
+    @Test
+    void compressAttributes_throwsCompressionDisabledException_whenCompressAttributesIsNotSet() {
+        compressionController = CompressionController.builder()
+                .compressionJob(mockCompressionJob)
+                .build();
+        assertThrows(CompressionDisabledException.class, () -> compressionController.compressAttributes());
+        verifyNoInteractions(mockCompressionJob);
+    }
+
+    @Test
+    void getCompressAttributesStatus_throwsCompressionDisabledException_whenCompressAttributesIsNotSet() {
+        compressionController = CompressionController.builder()
+                .compressionJob(mockCompressionJob)
+                .build();
+        assertThrows(CompressionDisabledException.class, () -> compressionController.getCompressAttributesStatus());
+        verifyNoInteractions(mockCompressionJob);
+    }
+}
@@ -0,0 +1,135 @@
+package com.climbassist.api.resource.common.compression;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.testing.NullPointerTester;
+import com.google.common.util.concurrent.MoreExecutors;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class CompressionJobTest {
+
+    private static final CompressTableResult COMPRESS_TABLE_RESULT_1 = CompressTableResult.builder()
+            .tableName("Crags")
+            .itemsScanned(10)
+            .valuesCompressed(2)
+            .bytesSaved(4096)
+            .complete(true)
+            .build();
+    private static final CompressTableResult COMPRESS_TABLE_RESULT_2 = CompressTableResult.builder()
+            .tableName("Routes")
+            .itemsScanned(100)
+            .build();
+
+    @Mock
+    private CompressionMigrator mockCompressionMigrator1;
+    @Mock
+    private CompressionMigrator mockCompressionMigrator2;
+
+    @SuppressWarnings("UnstableApiUsage")
+    @Test
+    void parametersMarkedWithNonNull_throwNullPointerException_forNullValues() {
+        NullPointerTester nullPointerTester = new NullPointerTester();
+        nullPointerTester.testConstructors(CompressionJob.class, NullPointerTester.Visibility.PACKAGE);
+        nullPointerTester.testInstanceMethods(buildCompressionJob(MoreExecutors.directExecutor()),
+                NullPointerTester.Visibility.PACKAGE);
+    }
+
+    @Test
+    void getStatus_returnsNotStarted_beforeJobIsStarted() {
+        mockProgress();
+        assertThat(buildCompressionJob(MoreExecutors.directExecutor()).getStatus(),
+                is(equalTo(buildCompressAttributesResult(CompressionJob.Status.NOT_STARTED))));
+        verify(mockCompressionMigrator1, never()).compressTable();
+    }
+
+    @Test
+    void start_runsInBackground_andOnlyOnceAtATime() {
+        mockProgress();
+        List<Runnable> tasks = new ArrayList<>();
+        CompressionJob compressionJob = buildCompressionJob(tasks::add);
+
+        assertThat(compressionJob.start(), is(equalTo(buildCompressAttributesResult(CompressionJob.Status.RUNNING))));
+        assertThat(compressionJob.start(), is(equalTo(buildCompressAttributesResult(CompressionJob.Status.RUNNING))));
+        assertThat(tasks, hasSize(1));
+        verify(mockCompressionMigrator1, never()).compressTable();
+
+        tasks.get(0)
+                .run();
+        assertThat(compressionJob.getStatus(),
+                is(equalTo(buildCompressAttributesResult(CompressionJob.Status.COMPLETE))));
+        verify(mockCompressionMigrator1).compressTable();
+        verify(mockCompressionMigrator2).compressTable();
+    }
+
+    @Test
+    void start_compressesEveryTableAgain_whenLastRunFinished() {
+        mockProgress();
+        CompressionJob compressionJob = buildCompressionJob(MoreExecutors.directExecutor());
+        compressionJob.start();
+
+        assertThat(compressionJob.start(),
+                is(equalTo(buildCompressAttributesResult(CompressionJob.Status.COMPLETE))));
+        verify(mockCompressionMigrator1, times(2)).compressTable();
+        verify(mockCompressionMigrator2, times(2)).compressTable();
+    }
+
+    @Test
+    void start_skipsFinishedTables_whenLastRunFailed() {
+        mockProgress();
+        when(mockCompressionMigrator2.compressTable()).thenThrow(new RuntimeException())
+                .thenReturn(COMPRESS_TABLE_RESULT_2);
+        CompressionJob compressionJob = buildCompressionJob(MoreExecutors.directExecutor());
+
+        assertThat(compressionJob.start(), is(equalTo(buildCompressAttributesResult(CompressionJob.Status.FAILED))));
+        assertThat(compressionJob.start(),
+                is(equalTo(buildCompressAttributesResult(CompressionJob.Status.COMPLETE))));
+        verify(mockCompressionMigrator1).compressTable();
+        verify(mockCompressionMigrator2, times(2)).compressTable();
+    }
+
+    @Test
+    void start_returnsFailed_whenRunCannotBeScheduled() {
+        mockProgress();
+        Executor rejectingExecutor = task -> {
+            throw new RejectedExecutionException();
+        };
+        assertThat(buildCompressionJob(rejectingExecutor).start(),
+                is(equalTo(buildCompressAttributesResult(CompressionJob.Status.FAILED))));
+    }
+
+    private void mockProgress() {
+        when(mockCompressionMigrator1.getProgress()).thenReturn(COMPRESS_TABLE_RESULT_1);
+        when(mockCompressionMigrator2.getProgress()).thenReturn(COMPRESS_TABLE_RESULT_2);
+    }
+
+    private CompressionJob buildCompressionJob(Executor executor) {
+        return CompressionJob.builder()
+                .compressionMigrators(ImmutableList.of(mockCompressionMigrator1, mockCompressionMigrator2))
+                .executor(executor)
+                .build();
+    }
+
+    private static CompressAttributesResult buildCompressAttributesResult(CompressionJob.Status status) {
+        return CompressAttributesResult.builder()
+                .status(status)
+                .tables(ImmutableList.of(COMPRESS_TABLE_RESULT_1, COMPRESS_TABLE_RESULT_2))
+                .build();
+    }
+}
@@ -0,0 +1,244 @@
+package com.climbassist.api.resource.common.compression;
+
+import com.amazonaws.services.cloudwatch.model.StandardUnit;
+import com.amazonaws.services.dynamodbv2.AmazonDynamoDB;
+import com.amazonaws.services.dynamodbv2.model.AttributeValue;
+import com.amazonaws.services.dynamodbv2.model.ConditionalCheckFailedException;
+import com.amazonaws.services.dynamodbv2.model.ScanRequest;
+import com.amazonaws.services.dynamodbv2.model.ScanResult;
+import com.amazonaws.services.dynamodbv2.model.UpdateItemRequest;
+import com.climbassist.api.resource.crag.Crag;
+import com.climbassist.api.resource.wall.Wall;
+import com.climbassist.metrics.MetricsEmitter;
+import com.google.common.base.Strings;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.testing.NullPointerTester;
+import com.google.common.util.concurrent.RateLimiter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@SuppressWarnings("UnstableApiUsage")
+@ExtendWith(MockitoExtension.class)
+class CompressionMigratorTest {
+
+    private static final String TABLE_NAME = "Crags";
+    private static final int PAGE_SIZE = 50;
+    private static final String SHORT_DESCRIPTION = "A short description.";
+    private static final String LONG_DESCRIPTION = Strings.repeat("A long description of a crag. ", 100);
+    private static final int LONG_DESCRIPTION_LENGTH = LONG_DESCRIPTION.getBytes(StandardCharsets.UTF_8).length;
+    private static final byte[] COMPRESSED_LONG_DESCRIPTION =
+            CompressedStringConverter.compress(LONG_DESCRIPTION.getBytes(StandardCharsets.UTF_8));
+    private static final long BYTES_SAVED_PER_VALUE = LONG_DESCRIPTION_LENGTH - COMPRESSED_LONG_DESCRIPTION.length;
+
+    @Mock
+    private AmazonDynamoDB mockAmazonDynamoDb;
+    @Mock
+    private MetricsEmitter mockMetricsEmitter;
+    @Mock
+    private RateLimiter mockRateLimiter;
+    @Captor
+    private ArgumentCaptor<UpdateItemRequest> updateItemRequestArgumentCaptor;
+
+    private CompressionMigrator compressionMigrator;
+
+    private static final class ResourceWithoutHashKey {
+
+        @Compressed
+        private String description;
+    }
+
+    @BeforeEach
+    void setUp() {
+        compressionMigrator = buildCompressionMigrator().build();
+    }
+
+    @Test
+    void parametersMarkedWithNonNull_throwNullPointerException_forNullValues() {
+        NullPointerTester nullPointerTester = new NullPointerTester();
+        nullPointerTester.setDefault(MetricsEmitter.class, mockMetricsEmitter);
+        nullPointerTester.setDefault(RateLimiter.class, mockRateLimiter);
+        nullPointerTester.testConstructors(CompressionMigrator.class, NullPointerTester.Visibility.PACKAGE);
+        nullPointerTester.testInstanceMethods(compressionMigrator, NullPointerTester.Visibility.PACKAGE);
+    }
+
+    @Test
+    void builder_throwsIllegalArgumentException_whenResourceHasNoCompressedAttributes() {
+        assertThrows(IllegalArgumentException.class, () -> buildCompressionMigrator().tableName("Walls")
+                .resourceClass(Wall.class)
+                .build());
+    }
+
+    @Test
+    void builder_throwsIllegalArgumentException_whenResourceHasNoHashKey() {
+        assertThrows(IllegalArgumentException.class, () -> buildCompressionMigrator().resourceClass(
+                ResourceWithoutHashKey.class)
+                .build());
+    }
+
+    @Test
+    void compressTable_compressesOnlyLongUncompressedValues_andCountsValuesThatWereAlreadyCompressed() {
+        when(mockAmazonDynamoDb.scan(any())).thenReturn(new ScanResult().withItems(
+                buildItem("crag-1", new AttributeValue(SHORT_DESCRIPTION)),
+                buildItem("crag-2", new AttributeValue(LONG_DESCRIPTION)),
+                buildItem("crag-3", new AttributeValue().withB(ByteBuffer.wrap(COMPRESSED_LONG_DESCRIPTION))),
+                ImmutableMap.of("cragId", new AttributeValue("crag-4"))));
+
+        assertThat(compressionMigrator.compressTable(), is(equalTo(CompressTableResult.builder()
+                .tableName(TABLE_NAME)
+                .itemsScanned(4)
+                .valuesCompressed(1)
+                .bytesSaved(2 * BYTES_SAVED_PER_VALUE)
+                .complete(true)
+                .build())));
+
+        verify(mockAmazonDynamoDb).updateItem(updateItemRequestArgumentCaptor.capture());
+        UpdateItemRequest updateItemRequest = updateItemRequestArgumentCaptor.getValue();
+        assertThat(updateItemRequest.getTableName(), is(equalTo(TABLE_NAME)));
+        assertThat(updateItemRequest.getKey(), is(equalTo(ImmutableMap.of("cragId", new AttributeValue("crag-2")))));
+        assertThat(updateItemRequest.getConditionExpression(), is(equalTo("#attribute = :original")));
+        assertThat(updateItemRequest.getExpressionAttributeNames(),
+                is(equalTo(ImmutableMap.of("#attribute", "description"))));
+        assertThat(updateItemRequest.getExpressionAttributeValues(), is(equalTo(ImmutableMap.of(":compressed",
+                new AttributeValue().withB(ByteBuffer.wrap(COMPRESSED_LONG_DESCRIPTION)), ":original",
+                new AttributeValue(LONG_DESCRIPTION)))));
+        verify(mockMetricsEmitter).emitTableMetric(TABLE_NAME, CompressionMigrator.BYTES_SAVED_METRIC_NAME,
+                2 * BYTES_SAVED_PER_VALUE, StandardUnit.Bytes);
+        // one scan and one update
+        verify(mockRateLimiter, times(2)).acquire();
+    }
+
+    @Test
+    void compressTable_doesNotCountValue_whenItChangedAfterBeingScanned() {
+        when(mockAmazonDynamoDb.scan(any())).thenReturn(
+                new ScanResult().withItems(buildItem("crag-1", new AttributeValue(LONG_DESCRIPTION))));
+        doThrow(new ConditionalCheckFailedException("")).when(mockAmazonDynamoDb)
+                .updateItem(any(UpdateItemRequest.class));
+
+        CompressTableResult compressTableResult = compressionMigrator.compressTable();
+        assertThat(compressTableResult.getValuesCompressed(), is(equalTo(0L)));
+        assertThat(compressTableResult.getBytesSaved(), is(equalTo(0L)));
+    }
+
+    @Test
+    void compressTable_scansEveryPage() {
+        Map<String, AttributeValue> lastEvaluatedKey = ImmutableMap.of("cragId", new AttributeValue("crag-1"));
+        when(mockAmazonDynamoDb.scan(any())).thenReturn(
+                new ScanResult().withItems(buildItem("crag-1", new AttributeValue(SHORT_DESCRIPTION)))
+                        .withLastEvaluatedKey(lastEvaluatedKey),
+                new ScanResult().withItems(buildItem("crag-2", new AttributeValue(SHORT_DESCRIPTION))));
+
+        assertThat(compressionMigrator.compressTable()
+                .getItemsScanned(), is(equalTo(2L)));
+
+        ArgumentCaptor<ScanRequest> scanRequestArgumentCaptor = ArgumentCaptor.forClass(ScanRequest.class);
+        verify(mockAmazonDynamoDb, times(2)).scan(scanRequestArgumentCaptor.capture());
+        List<ScanRequest> scanRequests = scanRequestArgumentCaptor.getAllValues();
+        assertThat(scanRequests.get(0)
+                .getProjectionExpression(), is(equalTo("#key, #attribute0")));
+        assertThat(scanRequests.get(0)
+                .getExclusiveStartKey(), is(equalTo(null)));
+        assertThat(scanRequests.get(0)
+                .getLimit(), is(equalTo(PAGE_SIZE)));
+        assertThat(scanRequests.get(1)
+                .getExclusiveStartKey(), is(equalTo(lastEvaluatedKey)));
+        verify(mockAmazonDynamoDb, never()).updateItem(any(UpdateItemRequest.class));
+    }
+
+    @Test
+    void getProgress_returnsNothingDone_beforeTableIsCompressed() {
+        assertThat(compressionMigrator.getProgress(), is(equalTo(CompressTableResult.builder()
+                .tableName(TABLE_NAME)
+                .build())));
+    }
+
+    @Test
+    void compressTable_carriesOnFromLastFinishedPage_whenLastPassFailed() {
+        Map<String, AttributeValue> lastEvaluatedKey = ImmutableMap.of("cragId", new AttributeValue("crag-1"));
+        when(mockAmazonDynamoDb.scan(any())).thenReturn(
+                new ScanResult().withItems(buildItem("crag-1", new AttributeValue(SHORT_DESCRIPTION)))
+                        .withLastEvaluatedKey(lastEvaluatedKey))
+                .thenThrow(new RuntimeException())
+                .thenReturn(new ScanResult().withItems(buildItem("crag-2", new AttributeValue(SHORT_DESCRIPTION))));
+
+        assertThrows(RuntimeException.class, () -> compressionMigrator.compressTable());
+        assertThat(compressionMigrator.getProgress(), is(equalTo(CompressTableResult.builder()
+                .tableName(TABLE_NAME)
+                .itemsScanned(1)
+                .build())));
+        verifyNoInteractions(mockMetricsEmitter);
+
+        assertThat(compressionMigrator.compressTable(), is(equalTo(CompressTableResult.builder()
+                .tableName(TABLE_NAME)
+                .itemsScanned(2)
+                .complete(true)
+                .build())));
+        ArgumentCaptor<ScanRequest> scanRequestArgumentCaptor = ArgumentCaptor.forClass(ScanRequest.class);
+        verify(mockAmazonDynamoDb, times(3)).scan(scanRequestArgumentCaptor.capture());
+        assertThat(scanRequestArgumentCaptor.getAllValues()
+                .get(2)
+                .getExclusiveStartKey(), is(equalTo(lastEvaluatedKey)));
+    }
+
+    @Test
+    void compressTable_startsOver_whenLastPassFinished() {
+        when(mockAmazonDynamoDb.scan(any())).thenReturn(
+                new ScanResult().withItems(buildItem("crag-1", new AttributeValue(SHORT_DESCRIPTION))));
+        compressionMigrator.compressTable();
+        clearInvocations(mockAmazonDynamoDb);
+
+        assertThat(compressionMigrator.compressTable()
+                .getItemsScanned(), is(equalTo(1L)));
+        ArgumentCaptor<ScanRequest> scanRequestArgumentCaptor = ArgumentCaptor.forClass(ScanRequest.class);
+        verify(mockAmazonDynamoDb).scan(scanRequestArgumentCaptor.capture());
+        assertThat(scanRequestArgumentCaptor.getValue()
+                .getExclusiveStartKey(), is(equalTo(null)));
+    }
+
+    @Test
+    void compressTable_finishes_whenLastEvaluatedKeyIsEmpty() {
+        when(mockAmazonDynamoDb.scan(any())).thenReturn(
+                new ScanResult().withItems(buildItem("crag-1", new AttributeValue(SHORT_DESCRIPTION)))
+                        .withLastEvaluatedKey(ImmutableMap.of()));
+
+        assertThat(compressionMigrator.compressTable()
+                .isComplete(), is(equalTo(true)));
+        verify(mockAmazonDynamoDb).scan(any());
+    }
+
+    private CompressionMigrator.CompressionMigratorBuilder buildCompressionMigrator() {
+        return CompressionMigrator.builder()
+                .amazonDynamoDb(mockAmazonDynamoDb)
+                .metricsEmitter(mockMetricsEmitter)
+                .tableName(TABLE_NAME)
+                .resourceClass(Crag.class)
+                .rateLimiter(mockRateLimiter)
+                .pageSize(PAGE_SIZE);
+    }
+
+    private static Map<String, AttributeValue> buildItem(String cragId, AttributeValue description) {
+        return ImmutableMap.of("cragId", new AttributeValue(cragId), "description", description);
+    }
+}
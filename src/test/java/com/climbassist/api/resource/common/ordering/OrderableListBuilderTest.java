@@ -33,6 +33,7 @@ class OrderableListBuilderTest {
         private String parentId;
         private boolean first;
         private String next;
+        private String position;
     }
 
     private static class ParentResourceImpl implements ResourceWithChildren<ParentResourceImpl> {
@@ -96,7 +97,7 @@ class OrderableListBuilderTest {
                 .first(true)
                 .build();
         assertThrows(InvalidOrderingException.class,
-                () -> orderableListBuilder.buildList(ImmutableSet.of(ORDERABLE_1, alsoFirst)));
+                () -> orderableListBuilder.buildList(ImmutableSet.of(ORDERABLE_1, ORDERABLE_2, alsoFirst)));
     }
 
     @Test
@@ -142,9 +143,69 @@ class OrderableListBuilderTest {
                 ImmutableSet.of(ORDERABLE_1, invalidNextIdOrderable, ORDERABLE_3)));
     }
 
+    @Test
+    void buildList_throwsInvalidOrderingException_whenTwoOrderablesHaveTheSameId() {
+        OrderableResourceWithParentImpl duplicateIdOrderable = OrderableResourceWithParentImpl.builder()
+                .id("3")
+                .parentId("1")
+                .next("1")
+                .build();
+        assertThrows(InvalidOrderingException.class, () -> orderableListBuilder.buildList(
+                ImmutableSet.of(ORDERABLE_1, ORDERABLE_2, ORDERABLE_3, duplicateIdOrderable)));
+    }
+
     @Test
     void buildList_returnsSortedList() throws InvalidOrderingException {
         assertThat(orderableListBuilder.buildList(ImmutableSet.of(ORDERABLE_1, ORDERABLE_2, ORDERABLE_3)),
                 is(equalTo(ImmutableList.of(ORDERABLE_1, ORDERABLE_2, ORDERABLE_3))));
     }
+
+    @Test
+    void buildList_returnsSortedList_whenInputIsLargeAndInReverseOrder() throws InvalidOrderingException {
+        int size = 1000;
+        ImmutableList.Builder<OrderableResourceWithParentImpl> expectedListBuilder = ImmutableList.builder();
+        for (int i = 0; i < size; i++) {
+            expectedListBuilder.add(OrderableResourceWithParentImpl.builder()
+                    .id(String.valueOf(i))
+                    .parentId("1")
+                    .first(i == 0)
+                    .next(i == size - 1 ? null : String.valueOf(i + 1))
+                    .build());
+        }
+        ImmutableList<OrderableResourceWithParentImpl> expectedList = expectedListBuilder.build();
+        assertThat(orderableListBuilder.buildList(ImmutableSet.copyOf(expectedList.reverse())),
+                is(equalTo(expectedList)));
+    }
+
+    @Test
+    void isInOrder_returnsTrue_whenListFollowsFirstAndNext() {
+        assertThat(orderableListBuilder.isInOrder(ImmutableList.of(ORDERABLE_1, ORDERABLE_2, ORDERABLE_3)),
+                is(equalTo(true)));
+    }
+
+    @Test
+    void isInOrder_returnsFalse_whenListIsEmpty() {
+        assertThat(orderableListBuilder.isInOrder(ImmutableList.of()), is(equalTo(false)));
+    }
+
+    @Test
+    void isInOrder_returnsFalse_whenListIsOutOfOrder() {
+        assertThat(orderableListBuilder.isInOrder(ImmutableList.of(ORDERABLE_1, ORDERABLE_3, ORDERABLE_2)),
+                is(equalTo(false)));
+    }
+
+    @Test
+    void isInOrder_returnsFalse_whenFirstElementIsNotFirst() {
+        assertThat(orderableListBuilder.isInOrder(ImmutableList.of(ORDERABLE_2, ORDERABLE_3)), is(equalTo(false)));
+    }
+
+    @Test
+    void isInOrder_returnsFalse_whenListIsMissingAnElement() {
+        assertThat(orderableListBuilder.isInOrder(ImmutableList.of(ORDERABLE_1, ORDERABLE_3)), is(equalTo(false)));
+    }
+
+    @Test
+    void isInOrder_returnsFalse_whenListIsMissingTheLastElement() {
+        assertThat(orderableListBuilder.isInOrder(ImmutableList.of(ORDERABLE_1, ORDERABLE_2)), is(equalTo(false)));
+    }
 }
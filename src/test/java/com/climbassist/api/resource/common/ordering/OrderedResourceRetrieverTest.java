@@ -0,0 +1,173 @@
+package com.climbassist.api.resource.common.ordering;
+
+import com.climbassist.api.resource.common.OrderableResourceWithParentDao;
+import com.climbassist.api.resource.common.ResourceWithChildren;
+import com.climbassist.api.resource.common.ResourceWithParent;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.testing.NullPointerTester;
+import lombok.Builder;
+import lombok.Data;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class OrderedResourceRetrieverTest {
+
+    @Builder
+    @Data
+    private static final class ResourceImpl implements OrderableResourceWithParent<ResourceImpl, ParentResourceImpl> {
+
+        private String id;
+        private String parentId;
+        private boolean first;
+        private String next;
+        private String position;
+    }
+
+    @Builder
+    @Data
+    private static final class ParentResourceImpl implements ResourceWithChildren<ParentResourceImpl> {
+
+        private String id;
+
+        @Override
+        public <ChildResource extends ResourceWithParent<ParentResourceImpl>> void setChildResources(
+                Collection<?> childResources, Class<ChildResource> childResourceClass) {
+            // unused
+        }
+    }
+
+    private static final String PARENT_ID = "parent-1";
+    private static final ResourceImpl RESOURCE_2 = ResourceImpl.builder()
+            .id("resource-2")
+            .parentId(PARENT_ID)
+            .position("V")
+            .build();
+    private static final ResourceImpl RESOURCE_1 = ResourceImpl.builder()
+            .id("resource-1")
+            .parentId(PARENT_ID)
+            .first(true)
+            .next(RESOURCE_2.getId())
+            .position("F")
+            .build();
+    private static final List<ResourceImpl> RESOURCE_LIST = ImmutableList.of(RESOURCE_1, RESOURCE_2);
+    private static final Set<ResourceImpl> RESOURCE_SET = ImmutableSet.of(RESOURCE_2, RESOURCE_1);
+
+    @Mock
+    private OrderableResourceWithParentDao<ResourceImpl, ParentResourceImpl> mockResourceDao;
+    @Mock
+    private OrderableListBuilder<ResourceImpl, ParentResourceImpl> mockOrderableListBuilder;
+    @Mock
+    private PositionMigrator<ResourceImpl, ParentResourceImpl> mockPositionMigrator;
+
+    private OrderedResourceRetriever<ResourceImpl, ParentResourceImpl> orderedResourceRetriever;
+
+    @BeforeEach
+    void setUp() {
+        orderedResourceRetriever = OrderedResourceRetriever.<ResourceImpl, ParentResourceImpl>builder().resourceDao(
+                mockResourceDao)
+                .orderableListBuilder(mockOrderableListBuilder)
+                .positionMigrator(mockPositionMigrator)
+                .build();
+    }
+
+    @SuppressWarnings("UnstableApiUsage")
+    @Test
+    void parametersMarkedWithNonNull_throwNullPointerException_forNullValues() {
+        NullPointerTester nullPointerTester = new NullPointerTester();
+        nullPointerTester.testInstanceMethods(orderedResourceRetriever, NullPointerTester.Visibility.PACKAGE);
+    }
+
+    @Test
+    void getResourcesInPositionOrder_returnsResources_whenResourcesAreInOrder() {
+        when(mockResourceDao.getResourcesInPositionOrder(any())).thenReturn(RESOURCE_LIST);
+        when(mockOrderableListBuilder.isInOrder(any())).thenReturn(true);
+        assertThat(orderedResourceRetriever.getResourcesInPositionOrder(PARENT_ID),
+                is(equalTo(Optional.of(RESOURCE_LIST))));
+        verify(mockResourceDao).getResourcesInPositionOrder(PARENT_ID);
+        verify(mockOrderableListBuilder).isInOrder(RESOURCE_LIST);
+    }
+
+    @Test
+    void getResourcesInPositionOrder_returnsEmpty_whenResourcesAreNotInOrder() {
+        when(mockResourceDao.getResourcesInPositionOrder(any())).thenReturn(RESOURCE_LIST);
+        when(mockOrderableListBuilder.isInOrder(any())).thenReturn(false);
+        assertThat(orderedResourceRetriever.getResourcesInPositionOrder(PARENT_ID), is(equalTo(Optional.empty())));
+        verify(mockResourceDao).getResourcesInPositionOrder(PARENT_ID);
+        verify(mockOrderableListBuilder).isInOrder(RESOURCE_LIST);
+    }
+
+    @Test
+    void buildList_buildsListAndMigratesPositions() {
+        when(mockOrderableListBuilder.buildList(any())).thenReturn(RESOURCE_LIST);
+        assertThat(orderedResourceRetriever.buildList(PARENT_ID, RESOURCE_SET), is(equalTo(RESOURCE_LIST)));
+        verify(mockOrderableListBuilder).buildList(RESOURCE_SET);
+        verify(mockPositionMigrator).migrateAsync(PARENT_ID, RESOURCE_LIST);
+    }
+
+    @Test
+    void getResourcesInOrder_returnsResourcesInPositionOrder_whenResourcesAreInOrder() {
+        when(mockResourceDao.getResourcesInPositionOrder(any())).thenReturn(RESOURCE_LIST);
+        when(mockOrderableListBuilder.isInOrder(any())).thenReturn(true);
+        assertThat(orderedResourceRetriever.getResourcesInOrder(PARENT_ID), is(equalTo(RESOURCE_LIST)));
+        verify(mockResourceDao, never()).getResources(any());
+        verify(mockOrderableListBuilder, never()).buildList(any());
+        verifyNoInteractions(mockPositionMigrator);
+    }
+
+    @Test
+    void getResourcesInOrder_buildsListAndMigratesPositions_whenResourcesAreNotInOrder() {
+        when(mockResourceDao.getResourcesInPositionOrder(any())).thenReturn(ImmutableList.of(RESOURCE_2));
+        when(mockOrderableListBuilder.isInOrder(any())).thenReturn(false);
+        when(mockResourceDao.getResources(any())).thenReturn(RESOURCE_SET);
+        when(mockOrderableListBuilder.buildList(any())).thenReturn(RESOURCE_LIST);
+        assertThat(orderedResourceRetriever.getResourcesInOrder(PARENT_ID), is(equalTo(RESOURCE_LIST)));
+        verify(mockResourceDao).getResources(PARENT_ID);
+        verify(mockOrderableListBuilder).buildList(RESOURCE_SET);
+        verify(mockPositionMigrator).migrateAsync(PARENT_ID, RESOURCE_LIST);
+    }
+
+    @Test
+    void getResourcesInOrder_returnsEmptyList_whenThereAreNoResourcesAndPositionIndexIsComplete() {
+        orderedResourceRetriever = OrderedResourceRetriever.<ResourceImpl, ParentResourceImpl>builder().resourceDao(
+                mockResourceDao)
+                .orderableListBuilder(mockOrderableListBuilder)
+                .positionMigrator(mockPositionMigrator)
+                .positionIndexComplete(true)
+                .build();
+        when(mockResourceDao.getResourcesInPositionOrder(any())).thenReturn(ImmutableList.of());
+        assertThat(orderedResourceRetriever.getResourcesInOrder(PARENT_ID), is(equalTo(ImmutableList.of())));
+        verify(mockResourceDao, never()).getResources(any());
+        verifyNoInteractions(mockOrderableListBuilder);
+        verifyNoInteractions(mockPositionMigrator);
+    }
+
+    @Test
+    void getResourcesInOrder_buildsList_whenThereAreNoResourcesInPositionOrderAndPositionIndexIsNotComplete() {
+        when(mockResourceDao.getResourcesInPositionOrder(any())).thenReturn(ImmutableList.of());
+        when(mockResourceDao.getResources(any())).thenReturn(RESOURCE_SET);
+        when(mockOrderableListBuilder.buildList(any())).thenReturn(RESOURCE_LIST);
+        assertThat(orderedResourceRetriever.getResourcesInOrder(PARENT_ID), is(equalTo(RESOURCE_LIST)));
+        verify(mockOrderableListBuilder, never()).isInOrder(any());
+        verify(mockResourceDao).getResources(PARENT_ID);
+        verify(mockPositionMigrator).migrateAsync(PARENT_ID, RESOURCE_LIST);
+    }
+}
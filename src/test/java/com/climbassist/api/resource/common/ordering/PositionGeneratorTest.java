@@ -0,0 +1,146 @@
+package com.climbassist.api.resource.common.ordering;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.testing.NullPointerTester;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThan;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class PositionGeneratorTest {
+
+    private PositionGenerator positionGenerator;
+
+    @BeforeEach
+    void setUp() {
+        positionGenerator = new PositionGenerator();
+    }
+
+    @SuppressWarnings("UnstableApiUsage")
+    @Test
+    void parametersMarkedWithNonNull_throwNullPointerException_forNullValues() {
+        NullPointerTester nullPointerTester = new NullPointerTester();
+        nullPointerTester.testInstanceMethods(positionGenerator, NullPointerTester.Visibility.PACKAGE);
+    }
+
+    @Test
+    void middlePosition_isPositionBetweenLowestAndHighestPositions() {
+        assertThat(positionGenerator.getPositionBetween(null, null), is(equalTo(PositionGenerator.MIDDLE_POSITION)));
+    }
+
+    @Test
+    void isValid_returnsTrue_forValidPosition() {
+        assertThat(PositionGenerator.isValid("0aZ9"), is(equalTo(true)));
+    }
+
+    @Test
+    void isValid_returnsFalse_forNull() {
+        assertThat(PositionGenerator.isValid(null), is(equalTo(false)));
+    }
+
+    @Test
+    void isValid_returnsFalse_forEmptyString() {
+        assertThat(PositionGenerator.isValid(""), is(equalTo(false)));
+    }
+
+    @Test
+    void isValid_returnsFalse_whenPositionHasTrailingZero() {
+        assertThat(PositionGenerator.isValid("a0"), is(equalTo(false)));
+    }
+
+    @Test
+    void isValid_returnsFalse_whenPositionHasInvalidCharacter() {
+        assertThat(PositionGenerator.isValid("a-b"), is(equalTo(false)));
+    }
+
+    @Test
+    void isValid_returnsFalse_whenPositionIsTooLong() {
+        assertThat(PositionGenerator.isValid(new String(new char[PositionGenerator.MAX_POSITION_LENGTH + 1]).replace(
+                '\0', 'a')), is(equalTo(false)));
+    }
+
+    @Test
+    void getPositionsBetween_throwsIllegalArgumentException_whenCountIsNegative() {
+        assertThrows(IllegalArgumentException.class, () -> positionGenerator.getPositionsBetween(null, null, -1));
+    }
+
+    @Test
+    void getPositionsBetween_throwsIllegalArgumentException_whenBeforeIsInvalid() {
+        assertThrows(IllegalArgumentException.class, () -> positionGenerator.getPositionsBetween("a0", null, 1));
+    }
+
+    @Test
+    void getPositionsBetween_throwsIllegalArgumentException_whenAfterIsInvalid() {
+        assertThrows(IllegalArgumentException.class, () -> positionGenerator.getPositionsBetween(null, "", 1));
+    }
+
+    @Test
+    void getPositionsBetween_throwsIllegalArgumentException_whenBeforeIsNotBeforeAfter() {
+        assertThrows(IllegalArgumentException.class, () -> positionGenerator.getPositionsBetween("b", "a", 1));
+        assertThrows(IllegalArgumentException.class, () -> positionGenerator.getPositionsBetween("a", "a", 1));
+    }
+
+    @Test
+    void getPositionsBetween_returnsEmptyList_whenCountIsZero() {
+        assertThat(positionGenerator.getPositionsBetween("1", "2", 0), is(equalTo(ImmutableList.of())));
+    }
+
+    @Test
+    void getPositionsBetween_returnsEvenlySpacedPositions_whenThereAreNoBounds() {
+        assertThat(positionGenerator.getPositionsBetween(null, null, 3), is(equalTo(ImmutableList.of("F", "V", "k"))));
+    }
+
+    @Test
+    void getPositionsBetween_returnsShortestPosition_whenThereIsRoomBetweenBounds() {
+        assertThat(positionGenerator.getPositionsBetween("1", "3", 1), is(equalTo(ImmutableList.of("2"))));
+    }
+
+    @Test
+    void getPositionBetween_addsDigit_whenBoundsAreAdjacent() {
+        assertThat(positionGenerator.getPositionBetween("a", "b"), is(equalTo("aV")));
+    }
+
+    @Test
+    void getPositionBetween_dropsTrailingZeros() {
+        assertThat(positionGenerator.getPositionBetween("0V", "1V"), is(equalTo("1")));
+    }
+
+    @Test
+    void getPositionBetween_returnsPositionBeforeAfter_whenBeforeIsNull() {
+        assertThat(positionGenerator.getPositionBetween(null, "1"), is(equalTo("0V")));
+    }
+
+    @Test
+    void getPositionBetween_returnsPositionAfterBefore_whenAfterIsNull() {
+        assertThat(positionGenerator.getPositionBetween("z", null), is(equalTo("zV")));
+    }
+
+    @Test
+    void getPositionBetween_returnsValidPositionsInOrder_whenPositionsAreRepeatedlyInsertedBetweenNeighbours() {
+        Random random = new Random(0);
+        List<String> positions = new ArrayList<>(positionGenerator.getPositionsBetween(null, null, 2));
+        for (int i = 0; i < 500; i++) {
+            int index = random.nextInt(positions.size() + 1);
+            String before = index == 0 ? null : positions.get(index - 1);
+            String after = index == positions.size() ? null : positions.get(index);
+            String position = positionGenerator.getPositionBetween(before, after);
+            assertThat(PositionGenerator.isValid(position), is(equalTo(true)));
+            if (before != null) {
+                assertThat(position.compareTo(before), is(greaterThan(0)));
+            }
+            if (after != null) {
+                assertThat(position.compareTo(after), is(lessThan(0)));
+            }
+            positions.add(index, position);
+        }
+    }
+}
@@ -0,0 +1,188 @@
+package com.climbassist.api.resource.common.ordering;
+
+import com.climbassist.api.resource.common.OrderableResourceWithParentDao;
+import com.climbassist.api.resource.common.ResourceWithChildren;
+import com.climbassist.api.resource.common.ResourceWithParent;
+import com.google.common.collect.ImmutableList;
+import com.google.common.testing.NullPointerTester;
+import lombok.Builder;
+import lombok.Data;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class PositionMigratorTest {
+
+    @Builder
+    @Data
+    private static final class ResourceImpl implements OrderableResourceWithParent<ResourceImpl, ParentResourceImpl> {
+
+        private String id;
+        private String parentId;
+        private boolean first;
+        private String next;
+        private String position;
+    }
+
+    @Builder
+    @Data
+    private static final class ParentResourceImpl implements ResourceWithChildren<ParentResourceImpl> {
+
+        private String id;
+
+        @Override
+        public <ChildResource extends ResourceWithParent<ParentResourceImpl>> void setChildResources(
+                Collection<?> childResources, Class<ChildResource> childResourceClass) {
+            // unused
+        }
+    }
+
+    private static final String PARENT_ID = "parent-1";
+
+    @Mock
+    private OrderableResourceWithParentDao<ResourceImpl, ParentResourceImpl> mockResourceDao;
+
+    private PositionMigrator<ResourceImpl, ParentResourceImpl> positionMigrator;
+
+    @BeforeEach
+    void setUp() {
+        positionMigrator = buildPositionMigrator(Runnable::run);
+    }
+
+    @SuppressWarnings("UnstableApiUsage")
+    @Test
+    void parametersMarkedWithNonNull_throwNullPointerException_forNullValues() {
+        NullPointerTester nullPointerTester = new NullPointerTester();
+        nullPointerTester.testInstanceMethods(positionMigrator, NullPointerTester.Visibility.PACKAGE);
+    }
+
+    @Test
+    void getMigratedPositions_returnsEvenlySpacedPositions_whenNoResourcesHavePositions() {
+        assertThat(positionMigrator.getMigratedPositions(Arrays.asList(null, null, null)),
+                is(equalTo(ImmutableList.of("F", "V", "k"))));
+    }
+
+    @Test
+    void getMigratedPositions_keepsPositions_whenPositionsAreAlreadyInOrder() {
+        assertThat(positionMigrator.getMigratedPositions(ImmutableList.of("1", "2", "3")),
+                is(equalTo(ImmutableList.of("1", "2", "3"))));
+    }
+
+    @Test
+    void getMigratedPositions_fillsInMissingPositions_betweenExistingPositions() {
+        assertThat(positionMigrator.getMigratedPositions(Arrays.asList(null, "F", "V", null, "k")),
+                is(equalTo(ImmutableList.of("7", "F", "V", "c", "k"))));
+    }
+
+    @Test
+    void getMigratedPositions_replacesInvalidPositions() {
+        assertThat(positionMigrator.getMigratedPositions(ImmutableList.of("F", "V0", "k")),
+                is(equalTo(ImmutableList.of("F", "U", "k"))));
+    }
+
+    @Test
+    void getMigratedPositions_onlyReplacesPositionsOfMovedResources_whenPositionsAreOutOfOrder() {
+        assertThat(positionMigrator.getMigratedPositions(ImmutableList.of("V", "F", "k")),
+                is(equalTo(ImmutableList.of("7", "F", "k"))));
+    }
+
+    @Test
+    void getMigratedPositions_respacesAllPositions_whenPositionsGetTooLong() {
+        String before = new String(new char[PositionGenerator.MAX_POSITION_LENGTH]).replace('\0', 'a');
+        String after = before.substring(0, PositionGenerator.MAX_POSITION_LENGTH - 1) + "b";
+        assertThat(positionMigrator.getMigratedPositions(Arrays.asList(before, null, after)),
+                is(equalTo(ImmutableList.of("F", "V", "k"))));
+    }
+
+    @Test
+    void migrate_onlyUpdatesChangedPositions() {
+        when(mockResourceDao.updatePosition(any(), any())).thenReturn(true);
+        List<ResourceImpl> resources = ImmutableList.of(buildResource("resource-1", "V"),
+                buildResource("resource-2", "F"), buildResource("resource-3", "k"));
+        assertThat(positionMigrator.migrate(resources), is(equalTo(1)));
+        verify(mockResourceDao).updatePosition("resource-1", "7");
+        verifyNoMoreInteractions(mockResourceDao);
+    }
+
+    @Test
+    void migrate_doesNotCountResource_whenResourceNoLongerExists() {
+        when(mockResourceDao.updatePosition(any(), any())).thenReturn(false);
+        assertThat(positionMigrator.migrate(ImmutableList.of(buildResource("resource-1", null))), is(equalTo(0)));
+        verify(mockResourceDao).updatePosition("resource-1", "V");
+    }
+
+    @Test
+    void migrateAsync_updatesPositions() {
+        when(mockResourceDao.updatePosition(any(), any())).thenReturn(true);
+        positionMigrator.migrateAsync(PARENT_ID,
+                ImmutableList.of(buildResource("resource-1", null), buildResource("resource-2", null)));
+        verify(mockResourceDao).updatePosition("resource-1", "K");
+        verify(mockResourceDao).updatePosition("resource-2", "f");
+    }
+
+    @Test
+    void migrateAsync_doesNothing_whenListIsEmpty() {
+        positionMigrator.migrateAsync(PARENT_ID, ImmutableList.of());
+        verifyNoInteractions(mockResourceDao);
+    }
+
+    @Test
+    void migrateAsync_doesNothing_whenParentIsAlreadyMigrating() {
+        List<Runnable> tasks = new ArrayList<>();
+        positionMigrator = buildPositionMigrator(tasks::add);
+        positionMigrator.migrateAsync(PARENT_ID, ImmutableList.of(buildResource("resource-1", null)));
+        positionMigrator.migrateAsync(PARENT_ID, ImmutableList.of(buildResource("resource-1", null)));
+        assertThat(tasks, hasSize(1));
+    }
+
+    @Test
+    void migrateAsync_doesNotThrowException_whenExecutorRejectsMigration() {
+        positionMigrator = buildPositionMigrator(command -> {
+            throw new RejectedExecutionException();
+        });
+        positionMigrator.migrateAsync(PARENT_ID, ImmutableList.of(buildResource("resource-1", null)));
+        verifyNoInteractions(mockResourceDao);
+    }
+
+    @Test
+    void migrateAsync_doesNotThrowException_whenMigrationFails() {
+        when(mockResourceDao.updatePosition(any(), any())).thenThrow(new RuntimeException());
+        positionMigrator.migrateAsync(PARENT_ID, ImmutableList.of(buildResource("resource-1", null)));
+        verify(mockResourceDao).updatePosition("resource-1", "V");
+    }
+
+    private PositionMigrator<ResourceImpl, ParentResourceImpl> buildPositionMigrator(Executor executor) {
+        return PositionMigrator.<ResourceImpl, ParentResourceImpl>builder().resourceDao(mockResourceDao)
+                .positionGenerator(new PositionGenerator())
+                .executor(executor)
+                .build();
+    }
+
+    private static ResourceImpl buildResource(String id, String position) {
+        return ResourceImpl.builder()
+                .id(id)
+                .parentId(PARENT_ID)
+                .position(position)
+                .build();
+    }
+}
@@ -0,0 +1,309 @@
+package com.climbassist.api.resource.common.ordering;
+
+import com.climbassist.api.resource.common.OrderableResourceWithParentDao;
+import com.climbassist.api.resource.common.ResourceWithChildren;
+import com.climbassist.api.resource.common.ResourceWithParent;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.testing.NullPointerTester;
+import lombok.Builder;
+import lombok.Data;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ResourceReordererTest {
+
+    @Builder
+    @Data
+    private static final class ResourceImpl implements OrderableResourceWithParent<ResourceImpl, ParentResourceImpl> {
+
+        private String id;
+        private String parentId;
+        private boolean first;
+        private String next;
+        private String position;
+    }
+
+    @Builder
+    @Data
+    private static final class ParentResourceImpl implements ResourceWithChildren<ParentResourceImpl> {
+
+        private String id;
+
+        @Override
+        public <ChildResource extends ResourceWithParent<ParentResourceImpl>> void setChildResources(
+                Collection<?> childResources, Class<ChildResource> childResourceClass) {
+            // unused
+        }
+    }
+
+    private static final String PARENT_ID = "parent-1";
+    private static final ResourceImpl RESOURCE_3 = ResourceImpl.builder()
+            .id("resource-3")
+            .parentId(PARENT_ID)
+            .position("k")
+            .build();
+    private static final ResourceImpl RESOURCE_2 = ResourceImpl.builder()
+            .id("resource-2")
+            .parentId(PARENT_ID)
+            .next(RESOURCE_3.getId())
+            .position("V")
+            .build();
+    private static final ResourceImpl RESOURCE_1 = ResourceImpl.builder()
+            .id("resource-1")
+            .parentId(PARENT_ID)
+            .first(true)
+            .next(RESOURCE_2.getId())
+            .position("F")
+            .build();
+    private static final List<ResourceImpl> RESOURCE_LIST = ImmutableList.of(RESOURCE_1, RESOURCE_2, RESOURCE_3);
+    private static final Set<ResourceImpl> RESOURCE_SET = ImmutableSet.of(RESOURCE_3, RESOURCE_1, RESOURCE_2);
+
+    @Mock
+    private OrderableResourceWithParentDao<ResourceImpl, ParentResourceImpl> mockResourceDao;
+    @Mock
+    private OrderableListBuilder<ResourceImpl, ParentResourceImpl> mockOrderableListBuilder;
+    @Mock
+    private PositionMigrator<ResourceImpl, ParentResourceImpl> mockPositionMigrator;
+    @Captor
+    private ArgumentCaptor<List<OrderingChange<ResourceImpl, ParentResourceImpl>>> orderingChangesArgumentCaptor;
+
+    private ResourceReorderer<ResourceImpl, ParentResourceImpl> resourceReorderer;
+
+    @BeforeEach
+    void setUp() {
+        resourceReorderer = ResourceReorderer.<ResourceImpl, ParentResourceImpl>builder().resourceDao(mockResourceDao)
+                .orderableListBuilder(mockOrderableListBuilder)
+                .positionMigrator(mockPositionMigrator)
+                .build();
+    }
+
+    @SuppressWarnings("UnstableApiUsage")
+    @Test
+    void parametersMarkedWithNonNull_throwNullPointerException_forNullValues() {
+        NullPointerTester nullPointerTester = new NullPointerTester();
+        nullPointerTester.testInstanceMethods(resourceReorderer, NullPointerTester.Visibility.PACKAGE);
+    }
+
+    @Test
+    void reorderResources_rewiresFirstAndNext_whenResourceIsMovedToFront() {
+        when(mockOrderableListBuilder.buildList(any())).thenReturn(RESOURCE_LIST);
+        when(mockPositionMigrator.getMigratedPositions(any())).thenReturn(ImmutableList.of("7", "F", "V"));
+        when(mockResourceDao.saveOrderingChanges(any())).thenReturn(true);
+
+        assertThat(resourceReorderer.reorderResources(PARENT_ID, RESOURCE_SET, buildMoveRequest(RESOURCE_3, null)),
+                is(equalTo(3)));
+
+        verify(mockOrderableListBuilder).buildList(RESOURCE_SET);
+        verify(mockPositionMigrator).getMigratedPositions(Arrays.asList("k", "F", "V"));
+        verify(mockResourceDao).saveOrderingChanges(ImmutableList.of(
+                buildOrderingChange(RESOURCE_3, true, RESOURCE_1.getId(), "7"),
+                buildOrderingChange(RESOURCE_1, false, RESOURCE_2.getId(), "F"),
+                buildOrderingChange(RESOURCE_2, false, null, "V")));
+    }
+
+    @Test
+    void reorderResources_onlyChangesAffectedResources_whenResourceIsMovedAfterAnotherResource() {
+        when(mockOrderableListBuilder.buildList(any())).thenReturn(RESOURCE_LIST);
+        when(mockPositionMigrator.getMigratedPositions(any())).thenReturn(ImmutableList.of("V", "c", "k"));
+        when(mockResourceDao.saveOrderingChanges(any())).thenReturn(true);
+
+        assertThat(resourceReorderer.reorderResources(PARENT_ID, RESOURCE_SET,
+                buildMoveRequest(RESOURCE_1, RESOURCE_2.getId())), is(equalTo(2)));
+
+        verify(mockPositionMigrator).getMigratedPositions(Arrays.asList("V", "F", "k"));
+        verify(mockResourceDao).saveOrderingChanges(ImmutableList.of(
+                buildOrderingChange(RESOURCE_2, true, RESOURCE_1.getId(), "V"),
+                buildOrderingChange(RESOURCE_1, false, RESOURCE_3.getId(), "c")));
+    }
+
+    @Test
+    void reorderResources_throwsInvalidReorderException_whenMovedResourceIsNotAChild() {
+        when(mockOrderableListBuilder.buildList(any())).thenReturn(RESOURCE_LIST);
+        assertThrows(InvalidReorderException.class, () -> resourceReorderer.reorderResources(PARENT_ID, RESOURCE_SET,
+                buildMoveRequest(ResourceImpl.builder()
+                        .id("resource-4")
+                        .build(), null)));
+        verifyNoInteractions(mockResourceDao);
+    }
+
+    @Test
+    void reorderResources_throwsInvalidReorderException_whenPreviousResourceIsTheMovedResource() {
+        when(mockOrderableListBuilder.buildList(any())).thenReturn(RESOURCE_LIST);
+        assertThrows(InvalidReorderException.class, () -> resourceReorderer.reorderResources(PARENT_ID, RESOURCE_SET,
+                buildMoveRequest(RESOURCE_2, RESOURCE_2.getId())));
+        verifyNoInteractions(mockResourceDao);
+    }
+
+    @Test
+    void reorderResources_throwsInvalidOrderingException_whenResourceIsMovedAndCurrentOrderIsInvalid() {
+        when(mockOrderableListBuilder.buildList(any())).thenThrow(new InvalidOrderingException(PARENT_ID, "broken"));
+        assertThrows(InvalidOrderingException.class,
+                () -> resourceReorderer.reorderResources(PARENT_ID, RESOURCE_SET, buildMoveRequest(RESOURCE_3, null)));
+        verifyNoInteractions(mockResourceDao);
+    }
+
+    @Test
+    void reorderResources_repairsBrokenOrder_whenFullOrderIsGiven() {
+        ResourceImpl brokenResource1 = ResourceImpl.builder()
+                .id(RESOURCE_1.getId())
+                .parentId(PARENT_ID)
+                .first(true)
+                .next(RESOURCE_2.getId())
+                .build();
+        ResourceImpl brokenResource2 = ResourceImpl.builder()
+                .id(RESOURCE_2.getId())
+                .parentId(PARENT_ID)
+                .first(true)
+                .build();
+        when(mockPositionMigrator.getMigratedPositions(any())).thenReturn(ImmutableList.of("F", "k"));
+        when(mockResourceDao.saveOrderingChanges(any())).thenReturn(true);
+
+        assertThat(resourceReorderer.reorderResources(PARENT_ID, ImmutableSet.of(brokenResource1, brokenResource2),
+                buildOrderRequest(RESOURCE_1.getId(), RESOURCE_2.getId())), is(equalTo(2)));
+
+        verifyNoInteractions(mockOrderableListBuilder);
+        verify(mockResourceDao).saveOrderingChanges(ImmutableList.of(
+                buildOrderingChange(brokenResource2, false, null, "k"),
+                buildOrderingChange(brokenResource1, true, RESOURCE_2.getId(), "F")));
+    }
+
+    @Test
+    void reorderResources_doesNotSaveAnything_whenOrderIsUnchanged() {
+        when(mockPositionMigrator.getMigratedPositions(any())).thenReturn(ImmutableList.of("F", "V", "k"));
+        assertThat(resourceReorderer.reorderResources(PARENT_ID, RESOURCE_SET,
+                buildOrderRequest(RESOURCE_1.getId(), RESOURCE_2.getId(), RESOURCE_3.getId())), is(equalTo(0)));
+        verifyNoInteractions(mockResourceDao);
+    }
+
+    @Test
+    void reorderResources_throwsInvalidReorderException_whenOrderIsMissingAResource() {
+        assertThrows(InvalidReorderException.class, () -> resourceReorderer.reorderResources(PARENT_ID, RESOURCE_SET,
+                buildOrderRequest(RESOURCE_1.getId(), RESOURCE_2.getId())));
+        verifyNoInteractions(mockResourceDao);
+    }
+
+    @Test
+    void reorderResources_throwsInvalidReorderException_whenOrderHasADuplicateResource() {
+        assertThrows(InvalidReorderException.class, () -> resourceReorderer.reorderResources(PARENT_ID, RESOURCE_SET,
+                buildOrderRequest(RESOURCE_1.getId(), RESOURCE_2.getId(), RESOURCE_3.getId(), RESOURCE_3.getId())));
+        verifyNoInteractions(mockResourceDao);
+    }
+
+    @Test
+    void reorderResources_throwsInvalidReorderException_whenOrderHasAnUnknownResource() {
+        assertThrows(InvalidReorderException.class, () -> resourceReorderer.reorderResources(PARENT_ID, RESOURCE_SET,
+                buildOrderRequest(RESOURCE_1.getId(), RESOURCE_2.getId(), "resource-4")));
+        verifyNoInteractions(mockResourceDao);
+    }
+
+    @Test
+    void reorderResources_throwsInvalidReorderException_whenTooManyResourcesWouldChange() {
+        List<ResourceImpl> resources = buildResources(ResourceReorderer.MAX_ORDERING_CHANGES + 2);
+        List<String> reversedResourceIds = new ArrayList<>();
+        resources.forEach(resource -> reversedResourceIds.add(0, resource.getId()));
+        when(mockPositionMigrator.getMigratedPositions(any())).thenReturn(buildPositions(resources.size()));
+
+        assertThrows(InvalidReorderException.class, () -> resourceReorderer.reorderResources(PARENT_ID,
+                new HashSet<>(resources), ReorderResourcesRequest.builder()
+                        .order(reversedResourceIds)
+                        .build()));
+        verifyNoInteractions(mockResourceDao);
+    }
+
+    @Test
+    void reorderResources_leavesPositionsThatDoNotFitInTransaction_forLaterMigration() {
+        List<ResourceImpl> resources = buildResources(ResourceReorderer.MAX_ORDERING_CHANGES + 5);
+        List<String> resourceIds = new ArrayList<>();
+        resources.forEach(resource -> resourceIds.add(resource.getId()));
+        when(mockPositionMigrator.getMigratedPositions(any())).thenReturn(buildPositions(resources.size()));
+        when(mockResourceDao.saveOrderingChanges(any())).thenReturn(true);
+
+        assertThat(resourceReorderer.reorderResources(PARENT_ID, new HashSet<>(resources),
+                ReorderResourcesRequest.builder()
+                        .order(resourceIds)
+                        .build()), is(equalTo(ResourceReorderer.MAX_ORDERING_CHANGES)));
+
+        verify(mockResourceDao).saveOrderingChanges(orderingChangesArgumentCaptor.capture());
+        assertThat(orderingChangesArgumentCaptor.getValue()
+                .size(), is(equalTo(ResourceReorderer.MAX_ORDERING_CHANGES)));
+    }
+
+    @Test
+    void reorderResources_throwsReorderConflictException_whenResourcesChangedSinceTheyWereRead() {
+        when(mockOrderableListBuilder.buildList(any())).thenReturn(RESOURCE_LIST);
+        when(mockPositionMigrator.getMigratedPositions(any())).thenReturn(ImmutableList.of("7", "F", "V"));
+        when(mockResourceDao.saveOrderingChanges(any())).thenReturn(false);
+        assertThrows(ReorderConflictException.class,
+                () -> resourceReorderer.reorderResources(PARENT_ID, RESOURCE_SET, buildMoveRequest(RESOURCE_3, null)));
+    }
+
+    private static ReorderResourcesRequest buildMoveRequest(ResourceImpl resource, String previousResourceId) {
+        return ReorderResourcesRequest.builder()
+                .move(ResourceMove.builder()
+                        .resourceId(resource.getId())
+                        .previousResourceId(previousResourceId)
+                        .build())
+                .build();
+    }
+
+    private static ReorderResourcesRequest buildOrderRequest(String... resourceIds) {
+        return ReorderResourcesRequest.builder()
+                .order(Arrays.asList(resourceIds))
+                .build();
+    }
+
+    private static OrderingChange<ResourceImpl, ParentResourceImpl> buildOrderingChange(ResourceImpl resource,
+                                                                                        boolean first, String next,
+                                                                                        String position) {
+        return OrderingChange.<ResourceImpl, ParentResourceImpl>builder().resource(resource)
+                .first(first)
+                .next(next)
+                .position(position)
+                .build();
+    }
+
+    // builds correctly linked resources that don't have positions yet
+    private static List<ResourceImpl> buildResources(int count) {
+        List<ResourceImpl> resources = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            resources.add(ResourceImpl.builder()
+                    .id("resource-" + i)
+                    .parentId(PARENT_ID)
+                    .first(i == 0)
+                    .next(i + 1 < count ? "resource-" + (i + 1) : null)
+                    .build());
+        }
+        return resources;
+    }
+
+    private static List<String> buildPositions(int count) {
+        List<String> positions = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            positions.add(String.format("%03d", i));
+        }
+        return positions;
+    }
+}
@@ -3,9 +3,8 @@ package com.climbassist.api.resource.common.recursion;
 import com.climbassist.api.resource.common.InvalidChildException;
 import com.climbassist.api.resource.common.ResourceWithChildren;
 import com.climbassist.api.resource.common.ResourceWithParent;
-import com.climbassist.api.resource.common.ResourceWithParentDao;
-import com.climbassist.api.resource.common.ordering.OrderableListBuilder;
 import com.climbassist.api.resource.common.ordering.OrderableResourceWithParentAndChildren;
+import com.climbassist.api.resource.common.ordering.OrderedResourceRetriever;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableSet;
 import com.google.common.testing.NullPointerTester;
@@ -20,7 +19,6 @@ import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.util.Collection;
 import java.util.List;
-import java.util.Set;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.equalTo;
@@ -50,6 +48,7 @@ class RecursiveOrderableResourceWithChildrenRetrieverTest {
 
         private boolean first;
         private String next;
+        private String position;
 
         public <ChildResource extends ResourceWithParent<ResourceImpl>> void setChildResources(
                 Collection<?> childResources, Class<ChildResource> childResourceClass) {
@@ -161,18 +160,13 @@ class RecursiveOrderableResourceWithChildrenRetrieverTest {
             .childResources2(ImmutableSet.of(CHILD_RESOURCE_2_3))
             .build();
     private static final List<ResourceImpl> RESOURCE_LIST = ImmutableList.of(RESOURCE_1, RESOURCE_2, RESOURCE_3);
-    private static final Set<ResourceImpl> RESOURCE_SET = ImmutableSet.<ResourceImpl>builder().addAll(RESOURCE_LIST)
-            .build();
     private static final int DEPTH = 5;
-
-    @Mock
-    private ResourceWithParentDao<ResourceImpl, ParentResourceImpl> mockResourceDao;
     @Mock
     private RecursiveResourceRetriever<ChildResourceImpl1, ResourceImpl> mockRecursiveResourceRetriever1;
     @Mock
     private RecursiveResourceRetriever<ChildResourceImpl2, ResourceImpl> mockRecursiveResourceRetriever2;
     @Mock
-    private OrderableListBuilder<ResourceImpl, ParentResourceImpl> mockOrderableListBuilder;
+    private OrderedResourceRetriever<ResourceImpl, ParentResourceImpl> mockOrderedResourceRetriever;
 
     private RecursiveOrderableResourceWithChildrenRetriever<ResourceImpl, ParentResourceImpl>
             recursiveOrderableResourceWithChildrenRetriever;
@@ -180,10 +174,9 @@ class RecursiveOrderableResourceWithChildrenRetrieverTest {
     @BeforeEach
     void setUp() {
         recursiveOrderableResourceWithChildrenRetriever =
-                RecursiveOrderableResourceWithChildrenRetriever.<ResourceImpl, ParentResourceImpl>builder().resourceDao(
-                        mockResourceDao)
+                RecursiveOrderableResourceWithChildrenRetriever.<ResourceImpl, ParentResourceImpl>builder()
                         .recursiveResourceRetrievers(ImmutableSet.of(mockRecursiveResourceRetriever1))
-                        .orderableListBuilder(mockOrderableListBuilder)
+                        .orderedResourceRetriever(mockOrderedResourceRetriever)
                         .childClass(ResourceImpl.class)
                         .build();
     }
@@ -212,48 +205,40 @@ class RecursiveOrderableResourceWithChildrenRetrieverTest {
 
     @Test
     void getChildrenRecursively_returnsResourcesInOrderWithoutChildren_whenDepthIsOne() {
-        when(mockResourceDao.getResources(any())).thenReturn(RESOURCE_SET);
-        when(mockOrderableListBuilder.buildList(any())).thenReturn(RESOURCE_LIST);
+        when(mockOrderedResourceRetriever.getResourcesInOrder(any())).thenReturn(RESOURCE_LIST);
         assertThat(recursiveOrderableResourceWithChildrenRetriever.getChildrenRecursively(PARENT_RESOURCE.getId(), 1),
                 is(equalTo(RESOURCE_LIST)));
-        verify(mockResourceDao).getResources(PARENT_RESOURCE.getId());
-        verify(mockOrderableListBuilder).buildList(RESOURCE_SET);
+        verify(mockOrderedResourceRetriever).getResourcesInOrder(PARENT_RESOURCE.getId());
     }
 
     @Test
     void getChildrenRecursively_returnsResourcesInOrderWithoutChildren_whenThereAreNoRecursiveResourceRetrievers() {
         recursiveOrderableResourceWithChildrenRetriever =
-                RecursiveOrderableResourceWithChildrenRetriever.<ResourceImpl, ParentResourceImpl>builder().resourceDao(
-                        mockResourceDao)
+                RecursiveOrderableResourceWithChildrenRetriever.<ResourceImpl, ParentResourceImpl>builder()
                         .recursiveResourceRetrievers(ImmutableSet.of())
-                        .orderableListBuilder(mockOrderableListBuilder)
+                        .orderedResourceRetriever(mockOrderedResourceRetriever)
                         .childClass(ResourceImpl.class)
                         .build();
-        when(mockResourceDao.getResources(any())).thenReturn(RESOURCE_SET);
-        when(mockOrderableListBuilder.buildList(any())).thenReturn(RESOURCE_LIST);
+        when(mockOrderedResourceRetriever.getResourcesInOrder(any())).thenReturn(RESOURCE_LIST);
         assertThat(recursiveOrderableResourceWithChildrenRetriever.getChildrenRecursively(PARENT_RESOURCE.getId(), 1),
                 is(equalTo(RESOURCE_LIST)));
-        verify(mockResourceDao).getResources(PARENT_RESOURCE.getId());
-        verify(mockOrderableListBuilder).buildList(RESOURCE_SET);
+        verify(mockOrderedResourceRetriever).getResourcesInOrder(PARENT_RESOURCE.getId());
     }
 
     @Test
     void getChildrenRecursively_returnsResourcesInOrderWithoutChildren_whenResourceHasNoChildren() {
-        when(mockResourceDao.getResources(any())).thenReturn(RESOURCE_SET);
         doReturn(ImmutableSet.of()).when(mockRecursiveResourceRetriever1)
                 .getChildrenRecursively(eq(RESOURCE_1.getId()), anyInt());
         doReturn(ImmutableSet.of()).when(mockRecursiveResourceRetriever1)
                 .getChildrenRecursively(eq(RESOURCE_2.getId()), anyInt());
         doReturn(ImmutableSet.of()).when(mockRecursiveResourceRetriever1)
                 .getChildrenRecursively(eq(RESOURCE_3.getId()), anyInt());
-        when(mockOrderableListBuilder.buildList(any())).thenReturn(RESOURCE_LIST);
+        when(mockOrderedResourceRetriever.getResourcesInOrder(any())).thenReturn(RESOURCE_LIST);
 
         assertThat(
                 recursiveOrderableResourceWithChildrenRetriever.getChildrenRecursively(PARENT_RESOURCE.getId(), DEPTH),
                 is(equalTo(RESOURCE_LIST)));
-
-        verify(mockResourceDao).getResources(PARENT_RESOURCE.getId());
-        verify(mockOrderableListBuilder).buildList(RESOURCE_SET);
+        verify(mockOrderedResourceRetriever).getResourcesInOrder(PARENT_RESOURCE.getId());
         verify(mockRecursiveResourceRetriever1).getChildrenRecursively(RESOURCE_1.getId(), DEPTH - 1);
         verify(mockRecursiveResourceRetriever1).getChildrenRecursively(RESOURCE_2.getId(), DEPTH - 1);
         verify(mockRecursiveResourceRetriever1).getChildrenRecursively(RESOURCE_3.getId(), DEPTH - 1);
@@ -265,8 +250,7 @@ class RecursiveOrderableResourceWithChildrenRetrieverTest {
                 .build(), RESOURCE_2.toBuilder()
                 .build(), RESOURCE_3.toBuilder()
                 .build());
-        when(mockResourceDao.getResources(any())).thenReturn(RESOURCE_SET);
-        when(mockOrderableListBuilder.buildList(any())).thenReturn(resourceListCopy);
+        when(mockOrderedResourceRetriever.getResourcesInOrder(any())).thenReturn(resourceListCopy);
         when(mockRecursiveResourceRetriever1.getChildClass()).thenReturn(ChildResourceImpl1.class);
         doReturn(RESOURCE_1_WITH_CHILDREN_1.getChildResources1()).when(mockRecursiveResourceRetriever1)
                 .getChildrenRecursively(eq(RESOURCE_1.getId()), anyInt());
@@ -278,20 +262,17 @@ class RecursiveOrderableResourceWithChildrenRetrieverTest {
         assertThat(
                 recursiveOrderableResourceWithChildrenRetriever.getChildrenRecursively(PARENT_RESOURCE.getId(), DEPTH),
                 is(equalTo(ImmutableList.of(RESOURCE_1_WITH_CHILDREN_1, RESOURCE_2_WITH_CHILDREN_1, RESOURCE_3))));
-
-        verify(mockResourceDao).getResources(PARENT_RESOURCE.getId());
-        verify(mockOrderableListBuilder).buildList(RESOURCE_SET);
+        verify(mockOrderedResourceRetriever).getResourcesInOrder(PARENT_RESOURCE.getId());
         verifyRecursiveResourceRetrieverMocks(mockRecursiveResourceRetriever1);
     }
 
     @Test
     void getChildrenRecursively_returnsResourcesInOrderWithTwoTypesOfChildren_whenDepthIsGreaterThanOneAndThereAreTwoRecursiveResourceRetrievers() {
         recursiveOrderableResourceWithChildrenRetriever =
-                RecursiveOrderableResourceWithChildrenRetriever.<ResourceImpl, ParentResourceImpl>builder().resourceDao(
-                        mockResourceDao)
+                RecursiveOrderableResourceWithChildrenRetriever.<ResourceImpl, ParentResourceImpl>builder()
                         .recursiveResourceRetrievers(
                                 ImmutableSet.of(mockRecursiveResourceRetriever1, mockRecursiveResourceRetriever2))
-                        .orderableListBuilder(mockOrderableListBuilder)
+                        .orderedResourceRetriever(mockOrderedResourceRetriever)
                         .childClass(ResourceImpl.class)
                         .build();
 
@@ -299,8 +280,7 @@ class RecursiveOrderableResourceWithChildrenRetrieverTest {
                 .build(), RESOURCE_2.toBuilder()
                 .build(), RESOURCE_3.toBuilder()
                 .build());
-        when(mockResourceDao.getResources(any())).thenReturn(RESOURCE_SET);
-        when(mockOrderableListBuilder.buildList(any())).thenReturn(resourceListCopy);
+        when(mockOrderedResourceRetriever.getResourcesInOrder(any())).thenReturn(resourceListCopy);
 
         when(mockRecursiveResourceRetriever1.getChildClass()).thenReturn(ChildResourceImpl1.class);
         doReturn(RESOURCE_1_WITH_CHILDREN_2.getChildResources1()).when(mockRecursiveResourceRetriever1)
@@ -321,9 +301,7 @@ class RecursiveOrderableResourceWithChildrenRetrieverTest {
         assertThat(
                 recursiveOrderableResourceWithChildrenRetriever.getChildrenRecursively(PARENT_RESOURCE.getId(), DEPTH),
                 is(equalTo(ImmutableList.of(RESOURCE_1_WITH_CHILDREN_2, RESOURCE_2_WITH_CHILDREN_2, RESOURCE_3))));
-
-        verify(mockResourceDao).getResources(PARENT_RESOURCE.getId());
-        verify(mockOrderableListBuilder).buildList(RESOURCE_SET);
+        verify(mockOrderedResourceRetriever).getResourcesInOrder(PARENT_RESOURCE.getId());
         verifyRecursiveResourceRetrieverMocks(mockRecursiveResourceRetriever1);
         verifyRecursiveResourceRetrieverMocks(mockRecursiveResourceRetriever2);
     }
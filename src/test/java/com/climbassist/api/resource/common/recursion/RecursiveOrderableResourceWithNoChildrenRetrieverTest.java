@@ -2,11 +2,9 @@ package com.climbassist.api.resource.common.recursion;
 
 import com.climbassist.api.resource.common.ResourceWithChildren;
 import com.climbassist.api.resource.common.ResourceWithParent;
-import com.climbassist.api.resource.common.ResourceWithParentDao;
-import com.climbassist.api.resource.common.ordering.OrderableListBuilder;
 import com.climbassist.api.resource.common.ordering.OrderableResourceWithParent;
+import com.climbassist.api.resource.common.ordering.OrderedResourceRetriever;
 import com.google.common.collect.ImmutableList;
-import com.google.common.collect.ImmutableSet;
 import com.google.common.testing.NullPointerTester;
 import lombok.Builder;
 import lombok.Data;
@@ -18,7 +16,6 @@ import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.util.Collection;
 import java.util.List;
-import java.util.Set;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.equalTo;
@@ -40,6 +37,7 @@ class RecursiveOrderableResourceWithNoChildrenRetrieverTest {
         private String name;
         private boolean first;
         private String next;
+        private String position;
     }
 
     @Builder
@@ -77,13 +75,8 @@ class RecursiveOrderableResourceWithNoChildrenRetrieverTest {
             .next(RESOURCE_2.getId())
             .build();
     private static final List<ResourceImpl> RESOURCE_LIST = ImmutableList.of(RESOURCE_1, RESOURCE_2, RESOURCE_3);
-    private static final Set<ResourceImpl> RESOURCE_SET = ImmutableSet.<ResourceImpl>builder().addAll(RESOURCE_LIST)
-            .build();
-
-    @Mock
-    private ResourceWithParentDao<ResourceImpl, ParentResourceImpl> mockResourceDao;
     @Mock
-    private OrderableListBuilder<ResourceImpl, ParentResourceImpl> mockOrderableListBuilder;
+    private OrderedResourceRetriever<ResourceImpl, ParentResourceImpl> mockOrderedResourceRetriever;
 
     private RecursiveOrderableResourceWithNoChildrenRetriever<ResourceImpl, ParentResourceImpl>
             recursiveOrderableResourceWithNoChildrenRetriever;
@@ -91,9 +84,8 @@ class RecursiveOrderableResourceWithNoChildrenRetrieverTest {
     @BeforeEach
     void setUp() {
         recursiveOrderableResourceWithNoChildrenRetriever =
-                RecursiveOrderableResourceWithNoChildrenRetriever.<ResourceImpl, ParentResourceImpl>builder().resourceDao(
-                        mockResourceDao)
-                        .orderableListBuilder(mockOrderableListBuilder)
+                RecursiveOrderableResourceWithNoChildrenRetriever.<ResourceImpl, ParentResourceImpl>builder()
+                        .orderedResourceRetriever(mockOrderedResourceRetriever)
                         .childClass(ResourceImpl.class)
                         .build();
     }
@@ -131,11 +123,9 @@ class RecursiveOrderableResourceWithNoChildrenRetrieverTest {
     }
 
     private void runSuccessTest(int depth) {
-        when(mockResourceDao.getResources(any())).thenReturn(RESOURCE_SET);
-        when(mockOrderableListBuilder.buildList(any())).thenReturn(RESOURCE_LIST);
+        when(mockOrderedResourceRetriever.getResourcesInOrder(any())).thenReturn(RESOURCE_LIST);
         assertThat(recursiveOrderableResourceWithNoChildrenRetriever.getChildrenRecursively(PARENT_RESOURCE.getId(),
                 depth), is(equalTo(RESOURCE_LIST)));
-        verify(mockResourceDao).getResources(PARENT_RESOURCE.getId());
-        verify(mockOrderableListBuilder).buildList(RESOURCE_SET);
+        verify(mockOrderedResourceRetriever).getResourcesInOrder(PARENT_RESOURCE.getId());
     }
 }
@@ -24,6 +24,9 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
@@ -203,6 +206,8 @@ class CragControllerTest {
     private PathsDao mockPathsDao;
     @Mock
     private CragNotEmptyExceptionFactory mockCragNotEmptyExceptionFactory;
+    @Mock
+    private CragOverlayRetriever mockCragOverlayRetriever;
 
     private CragController cragController;
 
@@ -219,6 +224,7 @@ class CragControllerTest {
                 .wallsDao(mockWallsDao)
                 .pathsDao(mockPathsDao)
                 .cragNotEmptyExceptionFactory(mockCragNotEmptyExceptionFactory)
+                .cragOverlayRetriever(mockCragOverlayRetriever)
                 .build();
     }
 
@@ -236,6 +242,18 @@ class CragControllerTest {
         verify(mockResourceWithChildrenControllerDelegate).getResource(CRAG_1.getCragId(), DEPTH);
     }
 
+    @Test
+    void getOverlay_returnsBinaryOverlayFromCragOverlayRetriever() throws ResourceNotFoundException {
+        byte[] overlay = new byte[]{1, 2, 3, 4};
+        when(mockCragOverlayRetriever.getOverlay(any())).thenReturn(overlay);
+        ResponseEntity<byte[]> responseEntity = cragController.getOverlay(CRAG_1.getCragId());
+        assertThat(responseEntity.getStatusCode(), is(equalTo(HttpStatus.OK)));
+        assertThat(responseEntity.getHeaders()
+                .getContentType(), is(equalTo(MediaType.APPLICATION_OCTET_STREAM)));
+        assertThat(responseEntity.getBody(), is(equalTo(overlay)));
+        verify(mockCragOverlayRetriever).getOverlay(CRAG_1.getCragId());
+    }
+
     @Test
     void getResourcesForParent_callsResourceWithParentControllerDelegate() throws ResourceNotFoundException {
         Set<Crag> crags = ImmutableSet.of(CRAG_1, CRAG_2);
@@ -273,6 +291,7 @@ class CragControllerTest {
         verify(mockCragsDao).getResource(CRAG_1.getId());
         verify(mockWallsDao).getResources(CRAG_1.getId());
         verify(mockCragsDao).deleteResource(CRAG_1.getId());
+        verify(mockCragOverlayRetriever).invalidate(CRAG_1.getId());
         verify(mockS3Proxy).deleteObject(IMAGES_BUCKET_NAME, EXPECTED_IMAGE_KEY);
         verify(mockS3Proxy).deleteObject(MODELS_BUCKET_NAME, EXPECTED_LOW_RESOLUTION_MODEL_KEY);
         verify(mockS3Proxy).deleteObject(MODELS_BUCKET_NAME, EXPECTED_HIGH_RESOLUTION_MODEL_KEY);
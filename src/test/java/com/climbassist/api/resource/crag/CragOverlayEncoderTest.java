@@ -0,0 +1,175 @@
+package com.climbassist.api.resource.crag;
+
+import com.climbassist.api.resource.pitch.Anchors;
+import com.climbassist.api.resource.pitch.Pitch;
+import com.climbassist.api.resource.point.Point;
+import com.climbassist.api.resource.route.Route;
+import com.climbassist.api.resource.wall.Wall;
+import com.google.common.collect.ImmutableList;
+import com.google.common.testing.NullPointerTester;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+
+class CragOverlayEncoderTest {
+
+    private static final Point POINT_1 = Point.builder()
+            .pointId("point-1")
+            .pitchId("pitch-1")
+            .x(1.0)
+            .y(2.0)
+            .z(3.0)
+            .build();
+    private static final Point POINT_2 = Point.builder()
+            .pointId("point-2")
+            .pitchId("pitch-1")
+            .x(4.0)
+            .y(5.0)
+            .z(6.0)
+            .build();
+    private static final Point POINT_3 = Point.builder()
+            .pointId("point-3")
+            .pitchId("pitch-2")
+            .x(7.0)
+            .y(8.0)
+            .z(9.0)
+            .build();
+    private static final Pitch PITCH_1 = Pitch.builder()
+            .pitchId("pitch-1")
+            .routeId("route-1")
+            .points(ImmutableList.of(POINT_1, POINT_2))
+            .anchors(Anchors.builder()
+                    .x(10.0)
+                    .y(11.0)
+                    .z(12.0)
+                    .fixed(true)
+                    .build())
+            .build();
+    private static final Pitch PITCH_2 = Pitch.builder()
+            .pitchId("pitch-2")
+            .routeId("route-1")
+            .points(ImmutableList.of(POINT_3))
+            .build();
+    private static final Pitch EMPTY_PITCH = Pitch.builder()
+            .pitchId("empty-pitch")
+            .routeId("route-2")
+            .build();
+    private static final Route ROUTE_1 = Route.builder()
+            .routeId("route-1")
+            .wallId("wall-1")
+            .pitches(ImmutableList.of(PITCH_1, PITCH_2))
+            .build();
+    private static final Route ROUTE_2 = Route.builder()
+            .routeId("route-2")
+            .wallId("wall-1")
+            .pitches(ImmutableList.of(EMPTY_PITCH))
+            .build();
+    private static final Route ROUTE_WITHOUT_PITCHES = Route.builder()
+            .routeId("route-3")
+            .wallId("wall-1")
+            .build();
+    private static final Wall WALL_1 = Wall.builder()
+            .wallId("wall-1")
+            .cragId("crag-1")
+            .routes(ImmutableList.of(ROUTE_1, ROUTE_2, ROUTE_WITHOUT_PITCHES))
+            .build();
+    private static final Wall WALL_WITHOUT_ROUTES = Wall.builder()
+            .wallId("wall-2")
+            .cragId("crag-1")
+            .build();
+
+    private CragOverlayEncoder cragOverlayEncoder;
+
+    @BeforeEach
+    void setUp() {
+        cragOverlayEncoder = new CragOverlayEncoder();
+    }
+
+    @SuppressWarnings("UnstableApiUsage")
+    @Test
+    void parametersMarkedWithNonNull_throwNullPointerException_forNullValues() {
+        NullPointerTester nullPointerTester = new NullPointerTester();
+        nullPointerTester.testInstanceMethods(cragOverlayEncoder, NullPointerTester.Visibility.PACKAGE);
+    }
+
+    @Test
+    void encode_returnsOnlyHeader_whenThereAreNoWalls() {
+        ByteBuffer byteBuffer = wrap(cragOverlayEncoder.encode(ImmutableList.of()));
+        assertHeader(byteBuffer, 0, 0, 0);
+        assertThat(byteBuffer.remaining(), is(equalTo(0)));
+    }
+
+    @Test
+    void encode_packsVerticesStripsAndIds() {
+        ByteBuffer byteBuffer = wrap(cragOverlayEncoder.encode(ImmutableList.of(WALL_1, WALL_WITHOUT_ROUTES)));
+        assertHeader(byteBuffer, 4, 2, 3);
+
+        float[] expectedVertices = new float[]{1, 2, 3, 4, 5, 6, 10, 11, 12, 7, 8, 9};
+        for (float expectedVertex : expectedVertices) {
+            assertThat(byteBuffer.getFloat(), is(equalTo(expectedVertex)));
+        }
+
+        int[] expectedStrips = new int[]{0, 3, 0, 1, CragOverlayEncoder.ANCHORS_FLAG, 3, 1, 0, 2, 0};
+        for (int expectedStripValue : expectedStrips) {
+            assertThat(byteBuffer.getInt(), is(equalTo(expectedStripValue)));
+        }
+
+        for (String expectedId : ImmutableList.of("route-1", "pitch-1", "pitch-2")) {
+            byte[] id = new byte[byteBuffer.getShort()];
+            byteBuffer.get(id);
+            assertThat(new String(id, StandardCharsets.UTF_8), is(equalTo(expectedId)));
+        }
+        assertThat(byteBuffer.remaining(), is(equalTo(0)));
+    }
+
+    @Test
+    void encode_packsOnlyAnchors_whenPitchHasNoPoints() {
+        Pitch anchorsOnlyPitch = Pitch.builder()
+                .pitchId("pitch-3")
+                .routeId("route-3")
+                .anchors(Anchors.builder()
+                        .x(1.0)
+                        .y(2.0)
+                        .z(3.0)
+                        .build())
+                .build();
+        Wall wall = Wall.builder()
+                .wallId("wall-3")
+                .cragId("crag-1")
+                .routes(ImmutableList.of(Route.builder()
+                        .routeId("route-3")
+                        .wallId("wall-3")
+                        .pitches(ImmutableList.of(anchorsOnlyPitch))
+                        .build()))
+                .build();
+        ByteBuffer byteBuffer = wrap(cragOverlayEncoder.encode(ImmutableList.of(wall)));
+        assertHeader(byteBuffer, 1, 1, 2);
+
+        for (float expectedVertex : new float[]{1, 2, 3}) {
+            assertThat(byteBuffer.getFloat(), is(equalTo(expectedVertex)));
+        }
+        for (int expectedStripValue : new int[]{0, 1, 0, 1, CragOverlayEncoder.ANCHORS_FLAG}) {
+            assertThat(byteBuffer.getInt(), is(equalTo(expectedStripValue)));
+        }
+    }
+
+    private static ByteBuffer wrap(byte[] overlay) {
+        return ByteBuffer.wrap(overlay)
+                .order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    private static void assertHeader(ByteBuffer byteBuffer, int vertexCount, int stripCount, int idCount) {
+        assertThat(byteBuffer.getInt(), is(equalTo(CragOverlayEncoder.MAGIC_NUMBER)));
+        assertThat(byteBuffer.getInt(), is(equalTo(CragOverlayEncoder.VERSION)));
+        assertThat(byteBuffer.getInt(), is(equalTo(vertexCount)));
+        assertThat(byteBuffer.getInt(), is(equalTo(stripCount)));
+        assertThat(byteBuffer.getInt(), is(equalTo(idCount)));
+    }
+}
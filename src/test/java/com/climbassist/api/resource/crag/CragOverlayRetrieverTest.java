@@ -0,0 +1,108 @@
+package com.climbassist.api.resource.crag;
+
+import com.climbassist.api.resource.common.ResourceNotFoundException;
+import com.climbassist.api.resource.common.recursion.RecursiveResourceRetriever;
+import com.climbassist.api.resource.wall.Wall;
+import com.google.common.cache.Cache;
+import com.google.common.collect.ImmutableList;
+import com.google.common.testing.NullPointerTester;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class CragOverlayRetrieverTest {
+
+    private static final String CRAG_ID = "crag-1";
+    private static final Crag CRAG = Crag.builder()
+            .cragId(CRAG_ID)
+            .build();
+    private static final List<Wall> WALLS = ImmutableList.of(Wall.builder()
+            .wallId("wall-1")
+            .cragId(CRAG_ID)
+            .build());
+    private static final byte[] OVERLAY = new byte[]{1, 2, 3, 4};
+
+    @Mock
+    private CragsDao mockCragsDao;
+    @Mock
+    private CragNotFoundExceptionFactory mockCragNotFoundExceptionFactory;
+    @Mock
+    private RecursiveResourceRetriever<Wall, Crag> mockRecursiveWallRetriever;
+    @Mock
+    private CragOverlayEncoder mockCragOverlayEncoder;
+    @Mock
+    private Cache<String, byte[]> mockOverlayCache;
+
+    private CragOverlayRetriever cragOverlayRetriever;
+
+    @BeforeEach
+    void setUp() {
+        cragOverlayRetriever = CragOverlayRetriever.builder()
+                .cragsDao(mockCragsDao)
+                .cragNotFoundExceptionFactory(mockCragNotFoundExceptionFactory)
+                .recursiveWallRetriever(mockRecursiveWallRetriever)
+                .cragOverlayEncoder(mockCragOverlayEncoder)
+                .overlayCache(mockOverlayCache)
+                .build();
+    }
+
+    @SuppressWarnings("UnstableApiUsage")
+    @Test
+    void parametersMarkedWithNonNull_throwNullPointerException_forNullValues() {
+        NullPointerTester nullPointerTester = new NullPointerTester();
+        nullPointerTester.testInstanceMethods(cragOverlayRetriever, NullPointerTester.Visibility.PACKAGE);
+    }
+
+    @Test
+    void getOverlay_returnsCachedOverlay_whenOverlayIsCached() throws ResourceNotFoundException {
+        when(mockOverlayCache.getIfPresent(any())).thenReturn(OVERLAY);
+        assertThat(cragOverlayRetriever.getOverlay(CRAG_ID), is(equalTo(OVERLAY)));
+        verify(mockOverlayCache).getIfPresent(CRAG_ID);
+        verifyNoInteractions(mockCragsDao, mockRecursiveWallRetriever, mockCragOverlayEncoder);
+    }
+
+    @Test
+    void getOverlay_throwsCragNotFoundException_whenCragDoesNotExist() {
+        when(mockCragsDao.getResource(any())).thenReturn(Optional.empty());
+        when(mockCragNotFoundExceptionFactory.create(any())).thenReturn(new CragNotFoundException(CRAG_ID));
+        assertThrows(CragNotFoundException.class, () -> cragOverlayRetriever.getOverlay(CRAG_ID));
+        verify(mockCragsDao).getResource(CRAG_ID);
+        verify(mockOverlayCache, never()).put(any(), any());
+    }
+
+    @Test
+    void getOverlay_buildsAndCachesOverlay_whenOverlayIsNotCached() throws ResourceNotFoundException {
+        when(mockCragsDao.getResource(any())).thenReturn(Optional.of(CRAG));
+        doReturn(WALLS).when(mockRecursiveWallRetriever)
+                .getChildrenRecursively(any(), anyInt());
+        when(mockCragOverlayEncoder.encode(any())).thenReturn(OVERLAY);
+        assertThat(cragOverlayRetriever.getOverlay(CRAG_ID), is(equalTo(OVERLAY)));
+        verify(mockRecursiveWallRetriever).getChildrenRecursively(CRAG_ID, CragOverlayRetriever.OVERLAY_DEPTH);
+        verify(mockCragOverlayEncoder).encode(WALLS);
+        verify(mockOverlayCache).put(CRAG_ID, OVERLAY);
+    }
+
+    @Test
+    void invalidate_invalidatesCachedOverlay() {
+        cragOverlayRetriever.invalidate(CRAG_ID);
+        verify(mockOverlayCache).invalidate(CRAG_ID);
+    }
+}
@@ -8,6 +8,8 @@ import com.climbassist.api.resource.common.ResourceWithChildrenControllerDelegat
 import com.climbassist.api.resource.common.ResourceWithParentControllerDelegate;
 import com.climbassist.api.resource.common.UpdateResourceResult;
 import com.climbassist.api.resource.crag.Crag;
+import com.climbassist.api.resource.pathpoint.PathPoint;
+import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableSet;
 import com.google.common.testing.NullPointerTester;
 import org.junit.jupiter.api.BeforeEach;
@@ -16,6 +18,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.util.List;
 import java.util.Set;
 
 import static org.hamcrest.MatcherAssert.assertThat;
@@ -45,6 +48,13 @@ class PathControllerTest {
             .cragId("crag-2")
             .build();
     private static final int DEPTH = 5;
+    private static final int ZOOM = 15;
+    private static final PathGeometry PATH_GEOMETRY = PathGeometry.builder()
+            .pathId(PATH_1.getPathId())
+            .zoom(ZOOM)
+            .pointCount(1)
+            .encodedPolyline("_ibE_seK")
+            .build();
 
     @Mock
     private ResourceControllerDelegate<Path, NewPath> mockResourceControllerDelegate;
@@ -52,6 +62,8 @@ class PathControllerTest {
     private ResourceWithParentControllerDelegate<Path, NewPath, Crag> mockResourceWithParentControllerDelegate;
     @Mock
     private ResourceWithChildrenControllerDelegate<Path, NewPath> mockResourceWithChildrenControllerDelegate;
+    @Mock
+    private PathGeometryFactory mockPathGeometryFactory;
 
     private PathController pathController;
 
@@ -61,6 +73,7 @@ class PathControllerTest {
                 .resourceControllerDelegate(mockResourceControllerDelegate)
                 .resourceWithParentControllerDelegate(mockResourceWithParentControllerDelegate)
                 .resourceWithChildrenControllerDelegate(mockResourceWithChildrenControllerDelegate)
+                .pathGeometryFactory(mockPathGeometryFactory)
                 .build();
     }
 
@@ -78,6 +91,32 @@ class PathControllerTest {
         verify(mockResourceWithChildrenControllerDelegate).getResource(PATH_1.getPathId(), DEPTH);
     }
 
+    @Test
+    void getGeometry_createsGeometryFromOrderedPathPoints() throws ResourceNotFoundException {
+        List<PathPoint> pathPoints = ImmutableList.of(PathPoint.builder()
+                .pathPointId("path-point-1")
+                .pathId(PATH_1.getPathId())
+                .latitude(1.0)
+                .longitude(2.0)
+                .build());
+        Path pathWithPathPoints = PATH_1.toBuilder()
+                .pathPoints(pathPoints)
+                .build();
+        when(mockResourceWithChildrenControllerDelegate.getResource(any(), anyInt())).thenReturn(pathWithPathPoints);
+        when(mockPathGeometryFactory.create(any(), any(), anyInt())).thenReturn(PATH_GEOMETRY);
+        assertThat(pathController.getGeometry(PATH_1.getPathId(), ZOOM), is(equalTo(PATH_GEOMETRY)));
+        verify(mockResourceWithChildrenControllerDelegate).getResource(PATH_1.getPathId(), 1);
+        verify(mockPathGeometryFactory).create(PATH_1.getPathId(), pathPoints, ZOOM);
+    }
+
+    @Test
+    void getGeometry_createsEmptyGeometry_whenPathHasNoPathPoints() throws ResourceNotFoundException {
+        when(mockResourceWithChildrenControllerDelegate.getResource(any(), anyInt())).thenReturn(PATH_1);
+        when(mockPathGeometryFactory.create(any(), any(), anyInt())).thenReturn(PATH_GEOMETRY);
+        assertThat(pathController.getGeometry(PATH_1.getPathId(), ZOOM), is(equalTo(PATH_GEOMETRY)));
+        verify(mockPathGeometryFactory).create(PATH_1.getPathId(), ImmutableList.of(), ZOOM);
+    }
+
     @Test
     void getResourcesForParent_callsResourceWithParentControllerDelegate() throws ResourceNotFoundException {
         Set<Path> paths = ImmutableSet.of(PATH_1, PATH_2);
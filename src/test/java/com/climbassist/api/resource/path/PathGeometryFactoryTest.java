@@ -0,0 +1,108 @@
+package com.climbassist.api.resource.path;
+
+import com.climbassist.api.resource.pathpoint.PathPoint;
+import com.google.common.collect.ImmutableList;
+import com.google.common.testing.NullPointerTester;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.closeTo;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class PathGeometryFactoryTest {
+
+    private static final String PATH_ID = "path-1";
+    private static final PathPoint PATH_POINT_1 = PathPoint.builder()
+            .pathPointId("path-point-1")
+            .pathId(PATH_ID)
+            .latitude(1.0)
+            .longitude(2.0)
+            .build();
+    private static final PathPoint PATH_POINT_2 = PathPoint.builder()
+            .pathPointId("path-point-2")
+            .pathId(PATH_ID)
+            .latitude(3.0)
+            .longitude(4.0)
+            .build();
+    private static final PathPoint PATH_POINT_3 = PathPoint.builder()
+            .pathPointId("path-point-3")
+            .pathId(PATH_ID)
+            .latitude(5.0)
+            .longitude(6.0)
+            .build();
+    private static final List<PathPoint> PATH_POINTS = ImmutableList.of(PATH_POINT_1, PATH_POINT_2, PATH_POINT_3);
+    private static final List<PathPoint> SIMPLIFIED_PATH_POINTS = ImmutableList.of(PATH_POINT_1, PATH_POINT_3);
+    private static final String ENCODED_POLYLINE = "encoded-polyline";
+
+    @Mock
+    private PolylineSimplifier mockPolylineSimplifier;
+    @Mock
+    private PolylineEncoder mockPolylineEncoder;
+
+    private PathGeometryFactory pathGeometryFactory;
+
+    @BeforeEach
+    void setUp() {
+        pathGeometryFactory = PathGeometryFactory.builder()
+                .polylineSimplifier(mockPolylineSimplifier)
+                .polylineEncoder(mockPolylineEncoder)
+                .build();
+    }
+
+    @SuppressWarnings("UnstableApiUsage")
+    @Test
+    void parametersMarkedWithNonNull_throwNullPointerException_forNullValues() {
+        NullPointerTester nullPointerTester = new NullPointerTester();
+        nullPointerTester.testInstanceMethods(pathGeometryFactory, NullPointerTester.Visibility.PACKAGE);
+    }
+
+    @Test
+    void create_throwsIllegalArgumentException_whenZoomIsLessThanMinimum() {
+        assertThrows(IllegalArgumentException.class,
+                () -> pathGeometryFactory.create(PATH_ID, PATH_POINTS, PathGeometryFactory.MIN_ZOOM - 1));
+    }
+
+    @Test
+    void create_throwsIllegalArgumentException_whenZoomIsGreaterThanMaximum() {
+        assertThrows(IllegalArgumentException.class,
+                () -> pathGeometryFactory.create(PATH_ID, PATH_POINTS, PathGeometryFactory.MAX_ZOOM + 1));
+    }
+
+    @Test
+    void create_simplifiesAndEncodesPathPoints() {
+        when(mockPolylineSimplifier.simplify(any(), anyDouble())).thenReturn(SIMPLIFIED_PATH_POINTS);
+        when(mockPolylineEncoder.encode(any())).thenReturn(ENCODED_POLYLINE);
+        assertThat(pathGeometryFactory.create(PATH_ID, PATH_POINTS, 15), is(equalTo(PathGeometry.builder()
+                .pathId(PATH_ID)
+                .zoom(15)
+                .pointCount(SIMPLIFIED_PATH_POINTS.size())
+                .encodedPolyline(ENCODED_POLYLINE)
+                .build())));
+        verify(mockPolylineSimplifier).simplify(PATH_POINTS, PathGeometryFactory.getTolerance(15));
+        verify(mockPolylineEncoder).encode(SIMPLIFIED_PATH_POINTS);
+    }
+
+    @Test
+    void getTolerance_returnsHalfAPixel_atMinimumZoom() {
+        assertThat(PathGeometryFactory.getTolerance(PathGeometryFactory.MIN_ZOOM), is(closeTo(0.703125, 1e-12)));
+    }
+
+    @Test
+    void getTolerance_halvesWithEachZoomLevel() {
+        assertThat(PathGeometryFactory.getTolerance(11),
+                is(closeTo(PathGeometryFactory.getTolerance(10) / 2, 1e-12)));
+    }
+}
@@ -0,0 +1,53 @@
+package com.climbassist.api.resource.path;
+
+import com.climbassist.api.resource.pathpoint.PathPoint;
+import com.google.common.collect.ImmutableList;
+import com.google.common.testing.NullPointerTester;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+
+class PolylineEncoderTest {
+
+    private PolylineEncoder polylineEncoder;
+
+    @BeforeEach
+    void setUp() {
+        polylineEncoder = new PolylineEncoder();
+    }
+
+    @SuppressWarnings("UnstableApiUsage")
+    @Test
+    void parametersMarkedWithNonNull_throwNullPointerException_forNullValues() {
+        NullPointerTester nullPointerTester = new NullPointerTester();
+        nullPointerTester.testInstanceMethods(polylineEncoder, NullPointerTester.Visibility.PACKAGE);
+    }
+
+    @Test
+    void encode_returnsEmptyString_whenThereAreNoPathPoints() {
+        assertThat(polylineEncoder.encode(ImmutableList.of()), is(equalTo("")));
+    }
+
+    @Test
+    void encode_returnsEncodedPolyline() {
+        assertThat(polylineEncoder.encode(
+                ImmutableList.of(buildPathPoint(38.5, -120.2), buildPathPoint(40.7, -120.95),
+                        buildPathPoint(43.252, -126.453))), is(equalTo("_p~iF~ps|U_ulLnnqC_mqNvxq`@")));
+    }
+
+    @Test
+    void encode_roundsToFiveDecimalPlaces() {
+        assertThat(polylineEncoder.encode(ImmutableList.of(buildPathPoint(38.500001, -120.199999))),
+                is(equalTo("_p~iF~ps|U")));
+    }
+
+    private static PathPoint buildPathPoint(double latitude, double longitude) {
+        return PathPoint.builder()
+                .latitude(latitude)
+                .longitude(longitude)
+                .build();
+    }
+}
@@ -0,0 +1,95 @@
+package com.climbassist.api.resource.path;
+
+import com.climbassist.api.resource.pathpoint.PathPoint;
+import com.google.common.collect.ImmutableList;
+import com.google.common.testing.NullPointerTester;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class PolylineSimplifierTest {
+
+    private static final PathPoint PATH_POINT_1 = buildPathPoint("path-point-1", 0, 0);
+    private static final PathPoint PATH_POINT_2 = buildPathPoint("path-point-2", 0.1, 1);
+    private static final PathPoint PATH_POINT_3 = buildPathPoint("path-point-3", -0.1, 2);
+    private static final PathPoint PATH_POINT_4 = buildPathPoint("path-point-4", 5, 3);
+    private static final PathPoint PATH_POINT_5 = buildPathPoint("path-point-5", 6, 4);
+    private static final PathPoint PATH_POINT_6 = buildPathPoint("path-point-6", 7, 5);
+
+    private PolylineSimplifier polylineSimplifier;
+
+    @BeforeEach
+    void setUp() {
+        polylineSimplifier = new PolylineSimplifier();
+    }
+
+    @SuppressWarnings("UnstableApiUsage")
+    @Test
+    void parametersMarkedWithNonNull_throwNullPointerException_forNullValues() {
+        NullPointerTester nullPointerTester = new NullPointerTester();
+        nullPointerTester.testInstanceMethods(polylineSimplifier, NullPointerTester.Visibility.PACKAGE);
+    }
+
+    @Test
+    void simplify_throwsIllegalArgumentException_whenToleranceIsNegative() {
+        assertThrows(IllegalArgumentException.class,
+                () -> polylineSimplifier.simplify(ImmutableList.of(PATH_POINT_1, PATH_POINT_2), -1));
+    }
+
+    @Test
+    void simplify_returnsEmptyList_whenThereAreNoPathPoints() {
+        assertThat(polylineSimplifier.simplify(ImmutableList.of(), 1), is(equalTo(ImmutableList.of())));
+    }
+
+    @Test
+    void simplify_returnsAllPathPoints_whenThereAreOnlyTwoPathPoints() {
+        List<PathPoint> pathPoints = ImmutableList.of(PATH_POINT_1, PATH_POINT_6);
+        assertThat(polylineSimplifier.simplify(pathPoints, 100), is(equalTo(pathPoints)));
+    }
+
+    @Test
+    void simplify_removesOnlyCollinearPathPoints_whenToleranceIsZero() {
+        assertThat(polylineSimplifier.simplify(
+                ImmutableList.of(PATH_POINT_1, PATH_POINT_2, PATH_POINT_3, PATH_POINT_4, PATH_POINT_5, PATH_POINT_6),
+                0), is(equalTo(ImmutableList.of(PATH_POINT_1, PATH_POINT_2, PATH_POINT_3, PATH_POINT_4,
+                PATH_POINT_6))));
+    }
+
+    @Test
+    void simplify_returnsOnlyEndpoints_whenToleranceIsLarge() {
+        assertThat(polylineSimplifier.simplify(
+                ImmutableList.of(PATH_POINT_1, PATH_POINT_2, PATH_POINT_3, PATH_POINT_4, PATH_POINT_5, PATH_POINT_6),
+                100), is(equalTo(ImmutableList.of(PATH_POINT_1, PATH_POINT_6))));
+    }
+
+    @Test
+    void simplify_removesPathPointsWithinTolerance() {
+        assertThat(polylineSimplifier.simplify(
+                ImmutableList.of(PATH_POINT_1, PATH_POINT_2, PATH_POINT_3, PATH_POINT_4, PATH_POINT_5, PATH_POINT_6),
+                0.5), is(equalTo(ImmutableList.of(PATH_POINT_1, PATH_POINT_3, PATH_POINT_4, PATH_POINT_6))));
+    }
+
+    @Test
+    void simplify_measuresDistanceToPoint_whenEndpointsAreTheSame() {
+        PathPoint loopEnd = buildPathPoint("loop-end", 0, 0);
+        PathPoint nearby = buildPathPoint("nearby", 0.1, 0);
+        PathPoint farAway = buildPathPoint("far-away", 2, 2);
+        assertThat(polylineSimplifier.simplify(ImmutableList.of(PATH_POINT_1, nearby, farAway, loopEnd), 0.5),
+                is(equalTo(ImmutableList.of(PATH_POINT_1, farAway, loopEnd))));
+    }
+
+    private static PathPoint buildPathPoint(String pathPointId, double latitude, double longitude) {
+        return PathPoint.builder()
+                .pathPointId(pathPointId)
+                .pathId("path-1")
+                .latitude(latitude)
+                .longitude(longitude)
+                .build();
+    }
+}
@@ -8,6 +8,8 @@ import com.climbassist.api.resource.common.ResourceWithParentControllerDelegate;
 import com.climbassist.api.resource.common.UpdateResourceResult;
 import com.climbassist.api.resource.common.batch.BatchResourceWithParentControllerDelegate;
 import com.climbassist.api.resource.common.ordering.InvalidOrderingException;
+import com.climbassist.api.resource.common.ordering.ReorderResourcesRequest;
+import com.climbassist.api.resource.common.ordering.ResourceMove;
 import com.climbassist.api.resource.path.Path;
 import com.google.common.collect.ImmutableList;
 import com.google.common.testing.NullPointerTester;
@@ -139,6 +141,25 @@ class PathPointControllerTest {
         verify(mockOrderableResourceWithParentControllerDelegate).getResourcesForParent(PATH_POINT_1.getPathId(), true);
     }
 
+    @Test
+    void reorderResources_callsOrderableResourceWithParentControllerDelegate()
+            throws ResourceNotFoundException, InvalidOrderingException {
+        ReorderResourcesRequest reorderResourcesRequest = ReorderResourcesRequest.builder()
+                .move(ResourceMove.builder()
+                        .resourceId(PATH_POINT_2.getId())
+                        .build())
+                .build();
+        UpdateResourceResult updateResourceResult = UpdateResourceResult.builder()
+                .successful(true)
+                .build();
+        when(mockOrderableResourceWithParentControllerDelegate.reorderResources(any(), any())).thenReturn(
+                updateResourceResult);
+        assertThat(pathPointController.reorderResources(PATH_POINT_1.getPathId(), reorderResourcesRequest),
+                is(equalTo(updateResourceResult)));
+        verify(mockOrderableResourceWithParentControllerDelegate).reorderResources(PATH_POINT_1.getPathId(),
+                reorderResourcesRequest);
+    }
+
     @Test
     void createResource_callsResourceWithParentControllerDelegate() throws ResourceNotFoundException {
         CreatePathPointResult createPathPointResult = CreatePathPointResult.builder()
@@ -1,13 +1,14 @@
 package com.climbassist.api.resource.pathpoint;
 
+import com.amazonaws.services.dynamodbv2.AmazonDynamoDB;
 import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBMapper;
 import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBMapperConfig;
-import com.climbassist.api.resource.common.AbstractResourceWithParentDaoTest;
+import com.climbassist.api.resource.common.AbstractOrderableResourceWithParentDaoTest;
 import com.climbassist.api.resource.path.Path;
 import lombok.Getter;
 import org.mockito.Mock;
 
-class PathPointsDaoTest extends AbstractResourceWithParentDaoTest<PathPoint, Path, PathPointsDao> {
+class PathPointsDaoTest extends AbstractOrderableResourceWithParentDaoTest<PathPoint, Path, PathPointsDao> {
 
     private static final PathPoint PATH_POINT_1 = PathPoint.builder()
             .pathPointId("path-point-1")
@@ -31,10 +32,14 @@ class PathPointsDaoTest extends AbstractResourceWithParentDaoTest<PathPoint, Pat
     @Getter
     @Mock
     private DynamoDBMapper mockDynamoDbMapper;
+    @Getter
+    @Mock
+    private AmazonDynamoDB mockAmazonDynamoDb;
 
     @Override
     protected PathPointsDao buildResourceDao() {
         return PathPointsDao.builder()
+                .amazonDynamoDb(mockAmazonDynamoDb)
                 .dynamoDBMapper(mockDynamoDbMapper)
                 .dynamoDBMapperConfig(DYNAMO_DB_MAPPER_CONFIG)
                 .build();
@@ -50,6 +55,16 @@ class PathPointsDaoTest extends AbstractResourceWithParentDaoTest<PathPoint, Pat
         return PathPoint.GLOBAL_SECONDARY_INDEX_NAME;
     }
 
+    @Override
+    protected String getPositionIndexName() {
+        return PathPoint.POSITION_GLOBAL_SECONDARY_INDEX_NAME;
+    }
+
+    @Override
+    protected String getIdAttributeName() {
+        return "pathPointId";
+    }
+
     @Override
     protected PathPoint getTestResource1() {
         return PATH_POINT_1;
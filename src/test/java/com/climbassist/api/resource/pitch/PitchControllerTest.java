@@ -7,6 +7,8 @@ import com.climbassist.api.resource.common.ResourceNotFoundException;
 import com.climbassist.api.resource.common.ResourceWithChildrenControllerDelegate;
 import com.climbassist.api.resource.common.UpdateResourceResult;
 import com.climbassist.api.resource.common.ordering.InvalidOrderingException;
+import com.climbassist.api.resource.common.ordering.ReorderResourcesRequest;
+import com.climbassist.api.resource.common.ordering.ResourceMove;
 import com.climbassist.api.resource.point.Point;
 import com.climbassist.api.resource.point.PointsDao;
 import com.climbassist.api.resource.route.Center;
@@ -392,6 +394,25 @@ class PitchControllerTest {
         verify(mockOrderableResourceWithParentControllerDelegate).getResourcesForParent(PITCH_1.getRouteId(), true);
     }
 
+    @Test
+    void reorderResources_callsOrderableResourceWithParentControllerDelegate()
+            throws ResourceNotFoundException, InvalidOrderingException {
+        ReorderResourcesRequest reorderResourcesRequest = ReorderResourcesRequest.builder()
+                .move(ResourceMove.builder()
+                        .resourceId(PITCH_2.getId())
+                        .build())
+                .build();
+        UpdateResourceResult updateResourceResult = UpdateResourceResult.builder()
+                .successful(true)
+                .build();
+        when(mockOrderableResourceWithParentControllerDelegate.reorderResources(any(), any())).thenReturn(
+                updateResourceResult);
+        assertThat(pitchController.reorderResources(PITCH_1.getRouteId(), reorderResourcesRequest),
+                is(equalTo(updateResourceResult)));
+        verify(mockOrderableResourceWithParentControllerDelegate).reorderResources(PITCH_1.getRouteId(),
+                reorderResourcesRequest);
+    }
+
     @Test
     void createResource_throwsRouteNotFoundException_whenParentDoesNotExist() {
         when(mockRoutesDao.getResource(any())).thenReturn(Optional.empty());
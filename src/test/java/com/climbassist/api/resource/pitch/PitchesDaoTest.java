@@ -1,13 +1,14 @@
 package com.climbassist.api.resource.pitch;
 
+import com.amazonaws.services.dynamodbv2.AmazonDynamoDB;
 import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBMapper;
 import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBMapperConfig;
-import com.climbassist.api.resource.common.AbstractResourceWithParentDaoTest;
+import com.climbassist.api.resource.common.AbstractOrderableResourceWithParentDaoTest;
 import com.climbassist.api.resource.route.Route;
 import lombok.Getter;
 import org.mockito.Mock;
 
-class PitchesDaoTest extends AbstractResourceWithParentDaoTest<Pitch, Route, PitchesDao> {
+class PitchesDaoTest extends AbstractOrderableResourceWithParentDaoTest<Pitch, Route, PitchesDao> {
 
     private static final DynamoDBMapperConfig DYNAMO_DB_MAPPER_CONFIG = DynamoDBMapperConfig.builder()
             .withTableNameOverride(new DynamoDBMapperConfig.TableNameOverride("Pitches"))
@@ -44,10 +45,14 @@ class PitchesDaoTest extends AbstractResourceWithParentDaoTest<Pitch, Route, Pit
     @Getter
     @Mock
     private DynamoDBMapper mockDynamoDbMapper;
+    @Getter
+    @Mock
+    private AmazonDynamoDB mockAmazonDynamoDb;
 
     @Override
     protected PitchesDao buildResourceDao() {
         return PitchesDao.builder()
+                .amazonDynamoDb(mockAmazonDynamoDb)
                 .dynamoDBMapper(mockDynamoDbMapper)
                 .dynamoDBMapperConfig(DYNAMO_DB_MAPPER_CONFIG)
                 .build();
@@ -63,6 +68,16 @@ class PitchesDaoTest extends AbstractResourceWithParentDaoTest<Pitch, Route, Pit
         return Pitch.GLOBAL_SECONDARY_INDEX_NAME;
     }
 
+    @Override
+    protected String getPositionIndexName() {
+        return Pitch.POSITION_GLOBAL_SECONDARY_INDEX_NAME;
+    }
+
+    @Override
+    protected String getIdAttributeName() {
+        return "pitchId";
+    }
+
     @Override
     protected Pitch getTestResource1() {
         return PITCH_1;
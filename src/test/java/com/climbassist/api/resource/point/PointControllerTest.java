@@ -8,6 +8,8 @@ import com.climbassist.api.resource.common.ResourceWithParentControllerDelegate;
 import com.climbassist.api.resource.common.UpdateResourceResult;
 import com.climbassist.api.resource.common.batch.BatchResourceWithParentControllerDelegate;
 import com.climbassist.api.resource.common.ordering.InvalidOrderingException;
+import com.climbassist.api.resource.common.ordering.ReorderResourcesRequest;
+import com.climbassist.api.resource.common.ordering.ResourceMove;
 import com.climbassist.api.resource.pitch.Anchors;
 import com.climbassist.api.resource.pitch.Pitch;
 import com.google.common.collect.ImmutableList;
@@ -182,6 +184,25 @@ class PointControllerTest {
         verify(mockOrderableResourceWithParentControllerDelegate).getResourcesForParent(POINT_1.getPitchId(), true);
     }
 
+    @Test
+    void reorderResources_callsOrderableResourceWithParentControllerDelegate()
+            throws ResourceNotFoundException, InvalidOrderingException {
+        ReorderResourcesRequest reorderResourcesRequest = ReorderResourcesRequest.builder()
+                .move(ResourceMove.builder()
+                        .resourceId(POINT_2.getId())
+                        .build())
+                .build();
+        UpdateResourceResult updateResourceResult = UpdateResourceResult.builder()
+                .successful(true)
+                .build();
+        when(mockOrderableResourceWithParentControllerDelegate.reorderResources(any(), any())).thenReturn(
+                updateResourceResult);
+        assertThat(pointController.reorderResources(POINT_1.getPitchId(), reorderResourcesRequest),
+                is(equalTo(updateResourceResult)));
+        verify(mockOrderableResourceWithParentControllerDelegate).reorderResources(POINT_1.getPitchId(),
+                reorderResourcesRequest);
+    }
+
     @Test
     void createResource_callsResourceWithParentControllerDelegate() throws ResourceNotFoundException {
         CreatePointResult createPointResult = CreatePointResult.builder()
@@ -1,13 +1,14 @@
 package com.climbassist.api.resource.point;
 
+import com.amazonaws.services.dynamodbv2.AmazonDynamoDB;
 import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBMapper;
 import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBMapperConfig;
-import com.climbassist.api.resource.common.AbstractResourceWithParentDaoTest;
+import com.climbassist.api.resource.common.AbstractOrderableResourceWithParentDaoTest;
 import com.climbassist.api.resource.pitch.Pitch;
 import lombok.Getter;
 import org.mockito.Mock;
 
-class PointsDaoTest extends AbstractResourceWithParentDaoTest<Point, Pitch, PointsDao> {
+class PointsDaoTest extends AbstractOrderableResourceWithParentDaoTest<Point, Pitch, PointsDao> {
 
     private static final Point POINT_1 = Point.builder()
             .pointId("point-1")
@@ -33,10 +34,14 @@ class PointsDaoTest extends AbstractResourceWithParentDaoTest<Point, Pitch, Poin
     @Getter
     @Mock
     private DynamoDBMapper mockDynamoDbMapper;
+    @Getter
+    @Mock
+    private AmazonDynamoDB mockAmazonDynamoDb;
 
     @Override
     protected PointsDao buildResourceDao() {
         return PointsDao.builder()
+                .amazonDynamoDb(mockAmazonDynamoDb)
                 .dynamoDBMapper(mockDynamoDbMapper)
                 .dynamoDBMapperConfig(DYNAMO_DB_MAPPER_CONFIG)
                 .build();
@@ -52,6 +57,16 @@ class PointsDaoTest extends AbstractResourceWithParentDaoTest<Point, Pitch, Poin
         return Point.GLOBAL_SECONDARY_INDEX_NAME;
     }
 
+    @Override
+    protected String getPositionIndexName() {
+        return Point.POSITION_GLOBAL_SECONDARY_INDEX_NAME;
+    }
+
+    @Override
+    protected String getIdAttributeName() {
+        return "pointId";
+    }
+
     @Override
     protected Point getTestResource1() {
         return POINT_1;
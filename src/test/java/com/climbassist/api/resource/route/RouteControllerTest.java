@@ -11,6 +11,8 @@ import com.climbassist.api.resource.common.ResourceWithParentControllerDelegate;
 import com.climbassist.api.resource.common.UpdateResourceResult;
 import com.climbassist.api.resource.common.UploadImageResult;
 import com.climbassist.api.resource.common.ordering.InvalidOrderingException;
+import com.climbassist.api.resource.common.ordering.ReorderResourcesRequest;
+import com.climbassist.api.resource.common.ordering.ResourceMove;
 import com.climbassist.api.resource.pitch.Pitch;
 import com.climbassist.api.resource.pitch.PitchesDao;
 import com.climbassist.api.resource.wall.Wall;
@@ -196,6 +198,25 @@ class RouteControllerTest {
         verify(mockOrderableResourceWithParentControllerDelegate).getResourcesForParent(ROUTE_1.getWallId(), true);
     }
 
+    @Test
+    void reorderResources_callsOrderableResourceWithParentControllerDelegate()
+            throws ResourceNotFoundException, InvalidOrderingException {
+        ReorderResourcesRequest reorderResourcesRequest = ReorderResourcesRequest.builder()
+                .move(ResourceMove.builder()
+                        .resourceId(ROUTE_2.getId())
+                        .build())
+                .build();
+        UpdateResourceResult updateResourceResult = UpdateResourceResult.builder()
+                .successful(true)
+                .build();
+        when(mockOrderableResourceWithParentControllerDelegate.reorderResources(any(), any())).thenReturn(
+                updateResourceResult);
+        assertThat(routeController.reorderResources(ROUTE_1.getWallId(), reorderResourcesRequest),
+                is(equalTo(updateResourceResult)));
+        verify(mockOrderableResourceWithParentControllerDelegate).reorderResources(ROUTE_1.getWallId(),
+                reorderResourcesRequest);
+    }
+
     @Test
     void createResource_callsResourceWithParentControllerDelegate() throws ResourceNotFoundException {
         CreateRouteResult createRouteResult = CreateRouteResult.builder()
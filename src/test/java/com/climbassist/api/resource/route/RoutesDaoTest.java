@@ -1,13 +1,14 @@
 package com.climbassist.api.resource.route;
 
+import com.amazonaws.services.dynamodbv2.AmazonDynamoDB;
 import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBMapper;
 import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBMapperConfig;
-import com.climbassist.api.resource.common.AbstractResourceWithParentDaoTest;
+import com.climbassist.api.resource.common.AbstractOrderableResourceWithParentDaoTest;
 import com.climbassist.api.resource.wall.Wall;
 import lombok.Getter;
 import org.mockito.Mock;
 
-class RoutesDaoTest extends AbstractResourceWithParentDaoTest<Route, Wall, RoutesDao> {
+class RoutesDaoTest extends AbstractOrderableResourceWithParentDaoTest<Route, Wall, RoutesDao> {
 
     private static final Route ROUTE_1 = Route.builder()
             .routeId("route-1")
@@ -49,10 +50,14 @@ class RoutesDaoTest extends AbstractResourceWithParentDaoTest<Route, Wall, Route
     @Getter
     @Mock
     private DynamoDBMapper mockDynamoDbMapper;
+    @Getter
+    @Mock
+    private AmazonDynamoDB mockAmazonDynamoDb;
 
     @Override
     protected RoutesDao buildResourceDao() {
         return RoutesDao.builder()
+                .amazonDynamoDb(mockAmazonDynamoDb)
                 .dynamoDBMapper(mockDynamoDbMapper)
                 .dynamoDBMapperConfig(DYNAMO_DB_MAPPER_CONFIG)
                 .build();
@@ -68,6 +73,16 @@ class RoutesDaoTest extends AbstractResourceWithParentDaoTest<Route, Wall, Route
         return Route.GLOBAL_SECONDARY_INDEX_NAME;
     }
 
+    @Override
+    protected String getPositionIndexName() {
+        return Route.POSITION_GLOBAL_SECONDARY_INDEX_NAME;
+    }
+
+    @Override
+    protected String getIdAttributeName() {
+        return "routeId";
+    }
+
     @Override
     protected Route getTestResource1() {
         return ROUTE_1;
@@ -8,6 +8,8 @@ import com.climbassist.api.resource.common.ResourceWithChildrenControllerDelegat
 import com.climbassist.api.resource.common.ResourceWithParentControllerDelegate;
 import com.climbassist.api.resource.common.UpdateResourceResult;
 import com.climbassist.api.resource.common.ordering.InvalidOrderingException;
+import com.climbassist.api.resource.common.ordering.ReorderResourcesRequest;
+import com.climbassist.api.resource.common.ordering.ResourceMove;
 import com.climbassist.api.resource.crag.Crag;
 import com.google.common.collect.ImmutableList;
 import com.google.common.testing.NullPointerTester;
@@ -112,6 +114,25 @@ class WallControllerTest {
         verify(mockOrderableResourceWithParentControllerDelegate).getResourcesForParent(WALL_1.getCragId(), true);
     }
 
+    @Test
+    void reorderResources_callsOrderableResourceWithParentControllerDelegate()
+            throws ResourceNotFoundException, InvalidOrderingException {
+        ReorderResourcesRequest reorderResourcesRequest = ReorderResourcesRequest.builder()
+                .move(ResourceMove.builder()
+                        .resourceId(WALL_2.getId())
+                        .build())
+                .build();
+        UpdateResourceResult updateResourceResult = UpdateResourceResult.builder()
+                .successful(true)
+                .build();
+        when(mockOrderableResourceWithParentControllerDelegate.reorderResources(any(), any())).thenReturn(
+                updateResourceResult);
+        assertThat(wallController.reorderResources(WALL_1.getCragId(), reorderResourcesRequest),
+                is(equalTo(updateResourceResult)));
+        verify(mockOrderableResourceWithParentControllerDelegate).reorderResources(WALL_1.getCragId(),
+                reorderResourcesRequest);
+    }
+
     @Test
     void createResource_callsResourceWithParentControllerDelegate() throws ResourceNotFoundException {
         CreateWallResult createWallResult = CreateWallResult.builder()
@@ -1,13 +1,14 @@
 package com.climbassist.api.resource.wall;
 
+import com.amazonaws.services.dynamodbv2.AmazonDynamoDB;
 import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBMapper;
 import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBMapperConfig;
-import com.climbassist.api.resource.common.AbstractResourceWithParentDaoTest;
+import com.climbassist.api.resource.common.AbstractOrderableResourceWithParentDaoTest;
 import com.climbassist.api.resource.crag.Crag;
 import lombok.Getter;
 import org.mockito.Mock;
 
-class WallsDaoTest extends AbstractResourceWithParentDaoTest<Wall, Crag, WallsDao> {
+class WallsDaoTest extends AbstractOrderableResourceWithParentDaoTest<Wall, Crag, WallsDao> {
 
     private static final Wall WALL_1 = Wall.builder()
             .wallId("wall-1")
@@ -27,10 +28,14 @@ class WallsDaoTest extends AbstractResourceWithParentDaoTest<Wall, Crag, WallsDa
     @Getter
     @Mock
     private DynamoDBMapper mockDynamoDbMapper;
+    @Getter
+    @Mock
+    private AmazonDynamoDB mockAmazonDynamoDb;
 
     @Override
     protected WallsDao buildResourceDao() {
         return WallsDao.builder()
+                .amazonDynamoDb(mockAmazonDynamoDb)
                 .dynamoDBMapper(mockDynamoDbMapper)
                 .dynamoDBMapperConfig(DYNAMO_DB_MAPPER_CONFIG)
                 .build();
@@ -46,6 +51,16 @@ class WallsDaoTest extends AbstractResourceWithParentDaoTest<Wall, Crag, WallsDa
         return Wall.GLOBAL_SECONDARY_INDEX_NAME;
     }
 
+    @Override
+    protected String getPositionIndexName() {
+        return Wall.POSITION_GLOBAL_SECONDARY_INDEX_NAME;
+    }
+
+    @Override
+    protected String getIdAttributeName() {
+        return "wallId";
+    }
+
     @Override
     protected Wall getTestResource1() {
         return WALL_1;
@@ -0,0 +1,204 @@
+package com.climbassist.api.user;
+
+import com.climbassist.api.user.authorization.SessionExpiredException;
+import com.climbassist.metrics.MetricsEmitter;
+import com.google.common.testing.NullPointerTester;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class AccessTokenRefreshCacheTest {
+
+    private static final String REFRESH_TOKEN = "refresh-token";
+    private static final String OTHER_REFRESH_TOKEN = "other-refresh-token";
+    private static final String ACCESS_TOKEN = "access-token";
+    private static final int CONCURRENT_REQUESTS = 12;
+
+    @Mock
+    private MetricsEmitter mockMetricsEmitter;
+
+    private AtomicInteger exchangeCount;
+    private AccessTokenRefreshCache accessTokenRefreshCache;
+
+    @BeforeEach
+    void setUp() {
+        exchangeCount = new AtomicInteger();
+        accessTokenRefreshCache = AccessTokenRefreshCache.builder()
+                .maximumSize(100)
+                .timeToLive(Duration.ofSeconds(30))
+                .metricsEmitter(mockMetricsEmitter)
+                .build();
+    }
+
+    @SuppressWarnings("UnstableApiUsage")
+    @Test
+    void parametersMarkedWithNonNull_throwNullPointerException_forNullValues() {
+        NullPointerTester nullPointerTester = new NullPointerTester();
+        nullPointerTester.setDefault(Duration.class, Duration.ofSeconds(30));
+        nullPointerTester.setDefault(MetricsEmitter.class, mockMetricsEmitter);
+        nullPointerTester.testConstructors(AccessTokenRefreshCache.class, NullPointerTester.Visibility.PACKAGE);
+        nullPointerTester.testInstanceMethods(accessTokenRefreshCache, NullPointerTester.Visibility.PACKAGE);
+    }
+
+    @Test
+    void get_callsExchangeAndEmitsMiss_whenNothingIsCached() throws SessionExpiredException {
+        assertThat(accessTokenRefreshCache.get(REFRESH_TOKEN, this::exchange), is(equalTo(ACCESS_TOKEN)));
+        assertThat(exchangeCount.get(), is(equalTo(1)));
+        verify(mockMetricsEmitter).emitCacheHitMetric(AccessTokenRefreshCache.CACHE_NAME, false);
+    }
+
+    @Test
+    void get_returnsCachedAccessTokenAndEmitsHit_whenRefreshTokenWasJustExchanged() throws SessionExpiredException {
+        accessTokenRefreshCache.get(REFRESH_TOKEN, this::exchange);
+        assertThat(accessTokenRefreshCache.get(REFRESH_TOKEN, this::exchange), is(equalTo(ACCESS_TOKEN)));
+        assertThat(exchangeCount.get(), is(equalTo(1)));
+        verify(mockMetricsEmitter).emitCacheHitMetric(AccessTokenRefreshCache.CACHE_NAME, true);
+    }
+
+    @Test
+    void get_callsExchange_whenOnlyOtherRefreshTokenWasExchanged() throws SessionExpiredException {
+        accessTokenRefreshCache.get(OTHER_REFRESH_TOKEN, this::exchange);
+        accessTokenRefreshCache.get(REFRESH_TOKEN, this::exchange);
+        assertThat(exchangeCount.get(), is(equalTo(2)));
+    }
+
+    @Test
+    void get_throwsSessionExpiredExceptionAndDoesNotCacheAnything_whenExchangeThrowsSessionExpiredException() {
+        AccessTokenRefreshCache.Exchange failingExchange = refreshToken -> {
+            exchangeCount.incrementAndGet();
+            throw new SessionExpiredException(new Throwable());
+        };
+        assertThrows(SessionExpiredException.class, () -> accessTokenRefreshCache.get(REFRESH_TOKEN, failingExchange));
+        assertThrows(SessionExpiredException.class, () -> accessTokenRefreshCache.get(REFRESH_TOKEN, failingExchange));
+        assertThat(exchangeCount.get(), is(equalTo(2)));
+    }
+
+    @Test
+    void get_callsExchangeOnceAndReturnsSameAccessToken_whenCalledConcurrentlyWithSameRefreshToken()
+            throws Exception {
+        CountDownLatch exchangeStartedLatch = new CountDownLatch(1);
+        CountDownLatch finishExchangeLatch = new CountDownLatch(1);
+        AccessTokenRefreshCache.Exchange slowExchange = refreshToken -> {
+            exchangeStartedLatch.countDown();
+            try {
+                finishExchangeLatch.await();
+            } catch (InterruptedException e) {
+                throw new IllegalStateException(e);
+            }
+            return exchange(refreshToken);
+        };
+
+        ExecutorService executorService = Executors.newFixedThreadPool(CONCURRENT_REQUESTS);
+        try {
+            List<Future<String>> accessTokens = new ArrayList<>();
+            accessTokens.add(executorService.submit(() -> accessTokenRefreshCache.get(REFRESH_TOKEN, slowExchange)));
+            exchangeStartedLatch.await();
+            for (int i = 1; i < CONCURRENT_REQUESTS; i++) {
+                accessTokens.add(
+                        executorService.submit(() -> accessTokenRefreshCache.get(REFRESH_TOKEN, slowExchange)));
+            }
+            finishExchangeLatch.countDown();
+
+            for (Future<String> accessToken : accessTokens) {
+                assertThat(accessToken.get(10, TimeUnit.SECONDS), is(equalTo(ACCESS_TOKEN)));
+            }
+            assertThat(exchangeCount.get(), is(equalTo(1)));
+        } finally {
+            executorService.shutdownNow();
+        }
+    }
+
+    @Test
+    void get_throwsSessionExpiredException_whenWaitingForExchangeThatThrowsSessionExpiredException()
+            throws Exception {
+        runWaitingForFailedExchangeTest(refreshToken -> {
+            throw new SessionExpiredException(new Throwable());
+        }, SessionExpiredException.class);
+    }
+
+    @Test
+    void get_throwsSameRuntimeException_whenWaitingForExchangeThatThrowsRuntimeException() throws Exception {
+        runWaitingForFailedExchangeTest(refreshToken -> {
+            throw new IllegalStateException();
+        }, IllegalStateException.class);
+    }
+
+    @Test
+    void get_throwsCompletionException_whenWaitingForExchangeThatThrowsError() throws Exception {
+        runWaitingForFailedExchangeTest(refreshToken -> {
+            throw new AssertionError();
+        }, CompletionException.class);
+    }
+
+    private void runWaitingForFailedExchangeTest(AccessTokenRefreshCache.Exchange failingExchange,
+                                                 Class<? extends Throwable> expectedThrowableClass)
+            throws Exception {
+        CountDownLatch exchangeStartedLatch = new CountDownLatch(1);
+        CountDownLatch finishExchangeLatch = new CountDownLatch(1);
+        AccessTokenRefreshCache.Exchange slowFailingExchange = refreshToken -> {
+            exchangeStartedLatch.countDown();
+            try {
+                finishExchangeLatch.await();
+            } catch (InterruptedException e) {
+                throw new IllegalStateException(e);
+            }
+            return failingExchange.exchange(refreshToken);
+        };
+        AtomicReference<Thread> waitingThread = new AtomicReference<>();
+
+        ExecutorService executorService = Executors.newFixedThreadPool(2);
+        try {
+            Future<String> exchangingRequest = executorService.submit(
+                    () -> accessTokenRefreshCache.get(REFRESH_TOKEN, slowFailingExchange));
+            exchangeStartedLatch.await();
+            Future<String> waitingRequest = executorService.submit(() -> {
+                waitingThread.set(Thread.currentThread());
+                return accessTokenRefreshCache.get(REFRESH_TOKEN, this::exchange);
+            });
+
+            // the only place the waiting request waits is while it joins the exchange that's in flight
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+            while ((waitingThread.get() == null || waitingThread.get()
+                    .getState() != Thread.State.WAITING) && System.nanoTime() < deadline) {
+                Thread.yield();
+            }
+            finishExchangeLatch.countDown();
+
+            ExecutionException executionException = assertThrows(ExecutionException.class,
+                    () -> waitingRequest.get(10, TimeUnit.SECONDS));
+            assertThat(executionException.getCause(), is(instanceOf(expectedThrowableClass)));
+            assertThrows(ExecutionException.class, () -> exchangingRequest.get(10, TimeUnit.SECONDS));
+            assertThat(exchangeCount.get(), is(equalTo(0)));
+        } finally {
+            executorService.shutdownNow();
+        }
+    }
+
+    private String exchange(String refreshToken) {
+        exchangeCount.incrementAndGet();
+        return ACCESS_TOKEN;
+    }
+}
@@ -0,0 +1,126 @@
+package com.climbassist.api.user;
+
+import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBMapper;
+import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBMapperConfig;
+import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBQueryExpression;
+import com.amazonaws.services.dynamodbv2.datamodeling.PaginatedQueryList;
+import com.climbassist.api.resource.common.AbstractResourceDaoTest;
+import com.google.common.collect.ImmutableSet;
+import lombok.Getter;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.Mock;
+
+import java.util.Set;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class AliasIndexDaoTest extends AbstractResourceDaoTest<AliasIndexEntry, AliasIndexDao> {
+
+    private static final DynamoDBMapperConfig DYNAMO_DB_MAPPER_CONFIG = DynamoDBMapperConfig.builder()
+            .withTableNameOverride(new DynamoDBMapperConfig.TableNameOverride("AliasIndex"))
+            .build();
+    private static final AliasIndexEntry ALIAS_INDEX_ENTRY_1 = AliasIndexEntry.builder()
+            .userId("user-1")
+            .username("username-1")
+            .email("email@test.com")
+            .userStatus("CONFIRMED")
+            .isEmailVerified(true)
+            .build();
+    private static final AliasIndexEntry ALIAS_INDEX_ENTRY_2 = AliasIndexEntry.builder()
+            .userId("user-2")
+            .username("username-2")
+            .email("email@test.com")
+            .userStatus("UNCONFIRMED")
+            .isEmailVerified(false)
+            .build();
+
+    @Getter
+    @Mock
+    private DynamoDBMapper mockDynamoDbMapper;
+    @Mock
+    private PaginatedQueryList<AliasIndexEntry> mockPaginatedQueryList;
+    @Captor
+    private ArgumentCaptor<DynamoDBQueryExpression<AliasIndexEntry>> dynamoDbQueryExpressionArgumentCaptor;
+
+    @Test
+    void getEntries_queriesUsernameIndex_whenAliasIsUsername() {
+        runGetEntriesTest(new Alias("username-1", Alias.AliasType.USERNAME), ImmutableSet.of(ALIAS_INDEX_ENTRY_1),
+                AliasIndexEntry.builder()
+                        .username("username-1")
+                        .build(), AliasIndexEntry.USERNAME_GLOBAL_SECONDARY_INDEX_NAME);
+    }
+
+    @Test
+    void getEntries_queriesEmailIndex_whenAliasIsEmail() {
+        runGetEntriesTest(new Alias("email@test.com", Alias.AliasType.EMAIL),
+                ImmutableSet.of(ALIAS_INDEX_ENTRY_1, ALIAS_INDEX_ENTRY_2), AliasIndexEntry.builder()
+                        .email("email@test.com")
+                        .build(), AliasIndexEntry.EMAIL_GLOBAL_SECONDARY_INDEX_NAME);
+    }
+
+    @Test
+    void getEntries_returnsEmptySet_whenAliasIsNotIndexed() {
+        runGetEntriesTest(new Alias("username-3", Alias.AliasType.USERNAME), ImmutableSet.of(),
+                AliasIndexEntry.builder()
+                        .username("username-3")
+                        .build(), AliasIndexEntry.USERNAME_GLOBAL_SECONDARY_INDEX_NAME);
+    }
+
+    @Override
+    protected AliasIndexDao buildResourceDao() {
+        return AliasIndexDao.builder()
+                .dynamoDBMapper(mockDynamoDbMapper)
+                .dynamoDBMapperConfig(DYNAMO_DB_MAPPER_CONFIG)
+                .build();
+    }
+
+    @Override
+    protected DynamoDBMapperConfig getDynamoDbMapperConfig() {
+        return DYNAMO_DB_MAPPER_CONFIG;
+    }
+
+    @Override
+    protected AliasIndexEntry getTestResource1() {
+        return ALIAS_INDEX_ENTRY_1;
+    }
+
+    @Override
+    protected AliasIndexEntry getTestResource2() {
+        return ALIAS_INDEX_ENTRY_2;
+    }
+
+    @Override
+    protected Class<AliasIndexEntry> getTestResourceClass() {
+        return AliasIndexEntry.class;
+    }
+
+    @Override
+    protected AliasIndexEntry buildResourceForDeletion(String resourceId) {
+        return AliasIndexEntry.builder()
+                .userId(resourceId)
+                .build();
+    }
+
+    private void runGetEntriesTest(Alias alias, Set<AliasIndexEntry> entries, AliasIndexEntry expectedHashKey,
+                                   String expectedIndexName) {
+        when(mockPaginatedQueryList.iterator()).thenReturn(entries.iterator());
+        when(mockDynamoDbMapper.query(eq(AliasIndexEntry.class), any(), any())).thenReturn(mockPaginatedQueryList);
+        assertThat(resourceDao.getEntries(alias), is(equalTo(entries)));
+
+        verify(mockDynamoDbMapper).query(eq(AliasIndexEntry.class), dynamoDbQueryExpressionArgumentCaptor.capture(),
+                eq(DYNAMO_DB_MAPPER_CONFIG));
+        DynamoDBQueryExpression<AliasIndexEntry> actualDynamoDbQueryExpression =
+                dynamoDbQueryExpressionArgumentCaptor.getValue();
+        assertThat(actualDynamoDbQueryExpression.getHashKeyValues(), is(equalTo(expectedHashKey)));
+        assertThat(actualDynamoDbQueryExpression.getIndexName(), is(equalTo(expectedIndexName)));
+        assertThat(actualDynamoDbQueryExpression.isConsistentRead(), is(equalTo(false)));
+    }
+}
@@ -18,7 +18,6 @@ public class CookieTestUtils {
 
     public static final String ACCESS_TOKEN_COOKIE_NAME = "climbassist_accesstoken";
     public static final String REFRESH_TOKEN_COOKIE_NAME = "climbassist_refreshtoken";
-    private static final String J_SESSION_ID_COOKIE_NAME = "JSESSIONID";
     private static final String COOKIE_PATH = "/";
 
     public static void verifySessionCookiesAreCorrect(@NonNull MockHttpServletResponse mockHttpServletResponse,
@@ -44,10 +43,6 @@ public class CookieTestUtils {
                 buildEmptyCookie(REFRESH_TOKEN_COOKIE_NAME));
     }
 
-    static void verifyJSessionIdCookieIsRemoved(@NonNull MockHttpServletResponse mockHttpServletResponse) {
-        verifyResponseContainsCookies(mockHttpServletResponse, buildEmptyCookie(J_SESSION_ID_COOKIE_NAME));
-    }
-
     private static Cookie buildEmptyCookie(String cookieName) {
         Cookie cookie = new Cookie(cookieName, null);
         cookie.setPath(COOKIE_PATH);
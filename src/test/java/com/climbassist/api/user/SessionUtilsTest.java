@@ -107,11 +107,4 @@ class SessionUtilsTest {
         SessionUtils.removeSessionCookies(mockHttpServletResponse);
         CookieTestUtils.verifySessionCookiesAreRemoved(mockHttpServletResponse);
     }
-
-    @Test
-    void removeJSessionIdCookie_setsJSessionIdCookieToEmpty() {
-        mockHttpServletResponse.addCookie(new Cookie("JSESSIONID", "j-session-id"));
-        SessionUtils.removeJSessionIdCookie(mockHttpServletResponse);
-        CookieTestUtils.verifyJSessionIdCookieIsRemoved(mockHttpServletResponse);
-    }
 }
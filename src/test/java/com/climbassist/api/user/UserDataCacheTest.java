@@ -0,0 +1,166 @@
+package com.climbassist.api.user;
+
+import com.climbassist.metrics.MetricsEmitter;
+import com.google.common.testing.NullPointerTester;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class UserDataCacheTest {
+
+    private static final String ACCESS_TOKEN = "access-token";
+    private static final String OTHER_ACCESS_TOKEN = "other-access-token";
+    private static final Duration TIME_TO_LIVE = Duration.ofMinutes(5);
+    private static final long INITIAL_GENERATION = 0;
+    private static final UserData USER_DATA = UserData.builder()
+            .userId("NCC-1701")
+            .username("kirk")
+            .email("kirk@enterprise.com")
+            .isEmailVerified(true)
+            .isAdministrator(true)
+            .build();
+    private static final UserData OTHER_USER_DATA = UserData.builder()
+            .userId("NCC-1701-D")
+            .username("picard")
+            .email("picard@enterprise.com")
+            .isEmailVerified(true)
+            .isAdministrator(false)
+            .build();
+
+    @Mock
+    private MetricsEmitter mockMetricsEmitter;
+
+    private Instant currentInstant;
+    private UserDataCache userDataCache;
+
+    @BeforeEach
+    void setUp() {
+        currentInstant = Instant.parse("2020-06-01T00:00:00Z");
+        userDataCache = UserDataCache.builder()
+                .maximumSize(100)
+                .timeToLive(TIME_TO_LIVE)
+                .currentInstantSupplier(() -> currentInstant)
+                .metricsEmitter(mockMetricsEmitter)
+                .build();
+    }
+
+    @SuppressWarnings("UnstableApiUsage")
+    @Test
+    void parametersMarkedWithNonNull_throwNullPointerException_forNullValues() {
+        NullPointerTester nullPointerTester = new NullPointerTester();
+        nullPointerTester.setDefault(UserData.class, USER_DATA);
+        nullPointerTester.setDefault(Duration.class, TIME_TO_LIVE);
+        nullPointerTester.setDefault(MetricsEmitter.class, mockMetricsEmitter);
+        nullPointerTester.testConstructors(UserDataCache.class, NullPointerTester.Visibility.PACKAGE);
+        nullPointerTester.testInstanceMethods(userDataCache, NullPointerTester.Visibility.PACKAGE);
+    }
+
+    @Test
+    void get_returnsEmptyAndEmitsMiss_whenNothingIsCached() {
+        assertThat(userDataCache.get(ACCESS_TOKEN), is(equalTo(Optional.empty())));
+        verify(mockMetricsEmitter).emitCacheHitMetric(UserDataCache.CACHE_NAME, false);
+    }
+
+    @Test
+    void get_returnsCopyOfUserDataAndEmitsHit_whenUserDataIsCached() {
+        userDataCache.put(ACCESS_TOKEN, USER_DATA, currentInstant.plus(Duration.ofHours(1)), INITIAL_GENERATION);
+
+        UserData userData = userDataCache.get(ACCESS_TOKEN)
+                .orElseThrow(AssertionError::new);
+        assertThat(userData, is(equalTo(USER_DATA)));
+        assertThat(userData, is(not(sameInstance(USER_DATA))));
+        verify(mockMetricsEmitter).emitCacheHitMetric(UserDataCache.CACHE_NAME, true);
+    }
+
+    @Test
+    void get_returnsUnchangedUserData_whenReturnedUserDataIsChanged() {
+        userDataCache.put(ACCESS_TOKEN, USER_DATA, currentInstant.plus(Duration.ofHours(1)), INITIAL_GENERATION);
+        userDataCache.get(ACCESS_TOKEN)
+                .orElseThrow(AssertionError::new)
+                .setExpirationTime(1L);
+
+        assertThat(userDataCache.get(ACCESS_TOKEN), is(equalTo(Optional.of(USER_DATA))));
+    }
+
+    @Test
+    void get_returnsEmpty_whenOnlyOtherAccessTokenIsCached() {
+        userDataCache.put(OTHER_ACCESS_TOKEN, USER_DATA, currentInstant.plus(Duration.ofHours(1)), INITIAL_GENERATION);
+        assertThat(userDataCache.get(ACCESS_TOKEN), is(equalTo(Optional.empty())));
+    }
+
+    @Test
+    void get_returnsEmpty_afterTimeToLive() {
+        userDataCache.put(ACCESS_TOKEN, USER_DATA, currentInstant.plus(Duration.ofHours(1)), INITIAL_GENERATION);
+        currentInstant = currentInstant.plus(TIME_TO_LIVE.minusSeconds(1));
+        assertThat(userDataCache.get(ACCESS_TOKEN), is(equalTo(Optional.of(USER_DATA))));
+
+        currentInstant = currentInstant.plusSeconds(1);
+        assertThat(userDataCache.get(ACCESS_TOKEN), is(equalTo(Optional.empty())));
+    }
+
+    @Test
+    void get_returnsEmpty_afterAccessTokenExpires() {
+        Instant tokenExpirationTime = currentInstant.plus(Duration.ofMinutes(1));
+        userDataCache.put(ACCESS_TOKEN, USER_DATA, tokenExpirationTime, INITIAL_GENERATION);
+        currentInstant = tokenExpirationTime;
+        assertThat(userDataCache.get(ACCESS_TOKEN), is(equalTo(Optional.empty())));
+    }
+
+    @Test
+    void put_doesNotCacheUserData_whenAccessTokenHasAlreadyExpired() {
+        userDataCache.put(ACCESS_TOKEN, USER_DATA, currentInstant, INITIAL_GENERATION);
+        assertThat(userDataCache.get(ACCESS_TOKEN), is(equalTo(Optional.empty())));
+    }
+
+    @Test
+    void invalidateUser_removesUserDataForEveryAccessTokenOfTheUser() {
+        String thirdAccessToken = "third-access-token";
+        userDataCache.put(ACCESS_TOKEN, USER_DATA, currentInstant.plus(Duration.ofHours(1)), INITIAL_GENERATION);
+        userDataCache.put(OTHER_ACCESS_TOKEN, USER_DATA, currentInstant.plus(Duration.ofHours(1)), INITIAL_GENERATION);
+        userDataCache.put(thirdAccessToken, OTHER_USER_DATA, currentInstant.plus(Duration.ofHours(1)),
+                INITIAL_GENERATION);
+
+        userDataCache.invalidateUser(USER_DATA.getUserId());
+
+        assertThat(userDataCache.get(ACCESS_TOKEN), is(equalTo(Optional.empty())));
+        assertThat(userDataCache.get(OTHER_ACCESS_TOKEN), is(equalTo(Optional.empty())));
+        assertThat(userDataCache.get(thirdAccessToken), is(equalTo(Optional.of(OTHER_USER_DATA))));
+    }
+
+    @Test
+    void invalidateUser_changesGenerationOfOnlyThatUser() {
+        userDataCache.invalidateUser(USER_DATA.getUserId());
+        assertThat(userDataCache.getGeneration(USER_DATA.getUserId()), is(not(equalTo(INITIAL_GENERATION))));
+        assertThat(userDataCache.getGeneration(OTHER_USER_DATA.getUserId()), is(equalTo(INITIAL_GENERATION)));
+    }
+
+    @Test
+    void put_doesNotCacheUserData_whenUserWasInvalidatedAfterGenerationWasRead() {
+        long generation = userDataCache.getGeneration(USER_DATA.getUserId());
+        userDataCache.invalidateUser(USER_DATA.getUserId());
+        userDataCache.put(ACCESS_TOKEN, USER_DATA, currentInstant.plus(Duration.ofHours(1)), generation);
+        assertThat(userDataCache.get(ACCESS_TOKEN), is(equalTo(Optional.empty())));
+    }
+
+    @Test
+    void put_cachesUserData_whenUserWasInvalidatedBeforeGenerationWasRead() {
+        userDataCache.invalidateUser(USER_DATA.getUserId());
+        long generation = userDataCache.getGeneration(USER_DATA.getUserId());
+        userDataCache.put(ACCESS_TOKEN, USER_DATA, currentInstant.plus(Duration.ofHours(1)), generation);
+        assertThat(userDataCache.get(ACCESS_TOKEN), is(equalTo(Optional.of(USER_DATA))));
+    }
+}
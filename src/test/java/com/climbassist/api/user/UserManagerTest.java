@@ -1,8 +1,6 @@
 package com.climbassist.api.user;
 
 import com.amazonaws.services.cognitoidp.AWSCognitoIdentityProvider;
-import com.amazonaws.services.cognitoidp.model.AdminListGroupsForUserRequest;
-import com.amazonaws.services.cognitoidp.model.AdminListGroupsForUserResult;
 import com.amazonaws.services.cognitoidp.model.AttributeType;
 import com.amazonaws.services.cognitoidp.model.AuthFlowType;
 import com.amazonaws.services.cognitoidp.model.AuthenticationResultType;
@@ -16,7 +14,6 @@ import com.amazonaws.services.cognitoidp.model.GetUserAttributeVerificationCodeR
 import com.amazonaws.services.cognitoidp.model.GetUserRequest;
 import com.amazonaws.services.cognitoidp.model.GetUserResult;
 import com.amazonaws.services.cognitoidp.model.GlobalSignOutRequest;
-import com.amazonaws.services.cognitoidp.model.GroupType;
 import com.amazonaws.services.cognitoidp.model.InitiateAuthRequest;
 import com.amazonaws.services.cognitoidp.model.InitiateAuthResult;
 import com.amazonaws.services.cognitoidp.model.ListUsersRequest;
@@ -24,38 +21,52 @@ import com.amazonaws.services.cognitoidp.model.ListUsersResult;
 import com.amazonaws.services.cognitoidp.model.NotAuthorizedException;
 import com.amazonaws.services.cognitoidp.model.ResendConfirmationCodeRequest;
 import com.amazonaws.services.cognitoidp.model.SignUpRequest;
+import com.amazonaws.services.cognitoidp.model.SignUpResult;
 import com.amazonaws.services.cognitoidp.model.UpdateUserAttributesRequest;
 import com.amazonaws.services.cognitoidp.model.UserNotFoundException;
 import com.amazonaws.services.cognitoidp.model.UserStatusType;
 import com.amazonaws.services.cognitoidp.model.UserType;
 import com.amazonaws.services.cognitoidp.model.VerifyUserAttributeRequest;
+import com.climbassist.api.user.authentication.AccessTokenClaims;
 import com.climbassist.api.user.authentication.AccessTokenExpiredException;
+import com.climbassist.api.user.authentication.AccessTokenVerifier;
 import com.climbassist.api.user.authentication.AuthenticationException;
 import com.climbassist.api.user.authentication.EmailAlreadyVerifiedException;
 import com.climbassist.api.user.authentication.EmailExistsException;
 import com.climbassist.api.user.authentication.EmailNotVerifiedException;
 import com.climbassist.api.user.authentication.IncorrectPasswordException;
 import com.climbassist.api.user.authentication.IncorrectVerificationCodeException;
+import com.climbassist.api.user.authentication.InvalidAccessTokenException;
 import com.climbassist.api.user.authentication.UserNotVerifiedException;
 import com.climbassist.api.user.authentication.UserSessionData;
 import com.climbassist.api.user.authentication.UsernameExistsException;
 import com.climbassist.api.user.authorization.SessionExpiredException;
+import com.climbassist.metrics.MetricsEmitter;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
 import com.google.common.testing.NullPointerTester;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.junit.jupiter.api.function.Executable;
+import org.mockito.InOrder;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+
 import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.is;
 import static org.junit.Assert.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -77,10 +88,6 @@ class UserManagerTest {
     private static final String EMAIL_VERIFIED_ATTRIBUTE_NAME = "email_verified";
     private static final Alias USERNAME_ALIAS = new Alias(USERNAME, Alias.AliasType.USERNAME);
     private static final Alias EMAIL_ALIAS = new Alias(EMAIL, Alias.AliasType.EMAIL);
-    private static final InitiateAuthRequest EXPECTED_INITIATE_AUTH_REQUEST_FOR_SIGN_UP =
-            new InitiateAuthRequest().withClientId(USER_POOL_CLIENT_ID)
-                    .withAuthFlow(AuthFlowType.USER_PASSWORD_AUTH)
-                    .withAuthParameters(ImmutableMap.of("USERNAME", EMAIL, "PASSWORD", " "));
     private static final SignUpRequest EXPECTED_SIGN_UP_REQUEST = new SignUpRequest().withClientId(USER_POOL_CLIENT_ID)
             .withUsername(USERNAME)
             .withPassword(PASSWORD)
@@ -111,9 +118,18 @@ class UserManagerTest {
                     .withValue(USER_ID), new AttributeType().withName(EMAIL_ATTRIBUTE_NAME)
                     .withValue(EMAIL), new AttributeType().withName(EMAIL_VERIFIED_ATTRIBUTE_NAME)
                     .withValue("false"));
-    private static final AdminListGroupsForUserRequest EXPECTED_ADMIN_LIST_GROUPS_FOR_USER_REQUEST =
-            new AdminListGroupsForUserRequest().withUserPoolId(USER_POOL_ID)
-                    .withUsername(USERNAME);
+    private static final AccessTokenClaims ACCESS_TOKEN_CLAIMS = AccessTokenClaims.builder()
+            .userId(USER_ID)
+            .username(USERNAME)
+            .groups(ImmutableSet.of())
+            .expirationTime(Instant.parse("2020-06-01T00:00:00Z"))
+            .build();
+    private static final AccessTokenClaims ADMINISTRATOR_ACCESS_TOKEN_CLAIMS = AccessTokenClaims.builder()
+            .userId(USER_ID)
+            .username(USERNAME)
+            .groups(ImmutableSet.of("Administrators"))
+            .expirationTime(Instant.parse("2020-06-01T00:00:00Z"))
+            .build();
     private static final VerifyUserAttributeRequest EXPECTED_VERIFY_USER_ATTRIBUTE_REQUEST =
             new VerifyUserAttributeRequest().withAccessToken(ACCESS_TOKEN)
                     .withAttributeName(EMAIL_ATTRIBUTE_NAME)
@@ -125,13 +141,20 @@ class UserManagerTest {
             .isAdministrator(false)
             .isEmailVerified(true)
             .build();
-    private static final ListUsersResult LIST_USERS_RESULT = new ListUsersResult().withUsers(ImmutableList.of(
-            new UserType().withUserStatus(UserStatusType.CONFIRMED)
-                    .withAttributes(new AttributeType().withName(EMAIL_VERIFIED_ATTRIBUTE_NAME)
-                            .withValue("true"))));
+    private static final ListUsersResult LIST_USERS_RESULT = new ListUsersResult().withUsers(
+            ImmutableList.of(buildUserType(UserStatusType.CONFIRMED, true)));
+    private static final AliasIndexEntry ALIAS_INDEX_ENTRY = buildAliasIndexEntry(UserStatusType.CONFIRMED, true);
 
     @Mock
     private AWSCognitoIdentityProvider mockAwsCognitoIdentityProvider;
+    @Mock
+    private AccessTokenVerifier mockAccessTokenVerifier;
+    @Mock
+    private UserDataCache mockUserDataCache;
+    @Mock
+    private MetricsEmitter mockMetricsEmitter;
+    @Mock
+    private AliasIndexDao mockAliasIndexDao;
 
     private UserManager userManager;
 
@@ -141,6 +164,14 @@ class UserManagerTest {
                 .userPoolId(USER_POOL_ID)
                 .userPoolClientId(USER_POOL_CLIENT_ID)
                 .awsCognitoIdentityProvider(mockAwsCognitoIdentityProvider)
+                .accessTokenVerifier(mockAccessTokenVerifier)
+                .userDataCache(mockUserDataCache)
+                .accessTokenRefreshCache(AccessTokenRefreshCache.builder()
+                        .maximumSize(100)
+                        .timeToLive(Duration.ofSeconds(30))
+                        .metricsEmitter(mockMetricsEmitter)
+                        .build())
+                .aliasIndexDao(mockAliasIndexDao)
                 .build();
     }
 
@@ -153,44 +184,80 @@ class UserManagerTest {
     }
 
     @Test
-    void register_throwsEmailExistsException_whenEmailHasAlreadyBeenRegistered() {
-        when(mockAwsCognitoIdentityProvider.initiateAuth(any())).thenThrow(
-                new NotAuthorizedException("not authorized"));
-        EmailExistsException emailExistsException = assertThrows(EmailExistsException.class,
-                () -> userManager.register(USERNAME, EMAIL, PASSWORD));
-        assertThat(emailExistsException.getMessage(),
-                is(equalTo(String.format("User with email %s already exists.", EMAIL))));
-        verify(mockAwsCognitoIdentityProvider).initiateAuth(EXPECTED_INITIATE_AUTH_REQUEST_FOR_SIGN_UP);
+    void register_signsUpUserAndRemovesStaleIndexEntry_whenAliasIndexHasVerifiedEmailThatCognitoDoesNot()
+            throws EmailExistsException, UsernameExistsException {
+        AliasIndexEntry staleAliasIndexEntry = AliasIndexEntry.builder()
+                .userId("deleted-user")
+                .username("deleted-username")
+                .email(EMAIL)
+                .userStatus(UserStatusType.CONFIRMED.toString())
+                .isEmailVerified(true)
+                .build();
+        when(mockAliasIndexDao.getEntries(any())).thenReturn(ImmutableSet.of(staleAliasIndexEntry));
+        when(mockAwsCognitoIdentityProvider.listUsers(any())).thenReturn(
+                new ListUsersResult().withUsers(ImmutableList.of()));
+        when(mockAwsCognitoIdentityProvider.signUp(any())).thenReturn(new SignUpResult().withUserSub(USER_ID)
+                .withUserConfirmed(false));
+        userManager.register(USERNAME, EMAIL, PASSWORD);
+        verify(mockAliasIndexDao).getEntries(EMAIL_ALIAS);
+        verify(mockAliasIndexDao).deleteResource("deleted-user");
+        verify(mockAwsCognitoIdentityProvider).signUp(EXPECTED_SIGN_UP_REQUEST);
     }
 
     @Test
-    void register_throwsEmailExistsException_whenInitiateAuthDoesNotThrowException() {
+    void register_throwsEmailExistsExceptionAndUpdatesAliasIndex_whenCognitoHasVerifiedEmail() {
+        when(mockAliasIndexDao.getEntries(any())).thenReturn(
+                ImmutableSet.of(buildAliasIndexEntry(UserStatusType.CONFIRMED, false)));
+        when(mockAwsCognitoIdentityProvider.listUsers(any())).thenReturn(LIST_USERS_RESULT);
         EmailExistsException emailExistsException = assertThrows(EmailExistsException.class,
                 () -> userManager.register(USERNAME, EMAIL, PASSWORD));
         assertThat(emailExistsException.getMessage(),
                 is(equalTo(String.format("User with email %s already exists.", EMAIL))));
-        verify(mockAwsCognitoIdentityProvider).initiateAuth(EXPECTED_INITIATE_AUTH_REQUEST_FOR_SIGN_UP);
+        verify(mockAwsCognitoIdentityProvider).listUsers(EXPECTED_LIST_USERS_REQUEST_EMAIL);
+        verify(mockAliasIndexDao).saveResource(ALIAS_INDEX_ENTRY);
+        verify(mockAliasIndexDao, never()).deleteResource(any());
+        verify(mockAwsCognitoIdentityProvider, never()).signUp(any());
     }
 
     @Test
     void register_throwsUsernameExistsException_whenSignUpThrowsUsernameExistsException() {
-        when(mockAwsCognitoIdentityProvider.initiateAuth(any())).thenThrow(new UserNotFoundException(""));
+        when(mockAwsCognitoIdentityProvider.listUsers(any())).thenReturn(
+                new ListUsersResult().withUsers(ImmutableList.of()));
         when(mockAwsCognitoIdentityProvider.signUp(any())).thenThrow(
                 new com.amazonaws.services.cognitoidp.model.UsernameExistsException(""));
         UsernameExistsException usernameExistsException = assertThrows(UsernameExistsException.class,
                 () -> userManager.register(USERNAME, EMAIL, PASSWORD));
         assertThat(usernameExistsException.getMessage(),
                 is(equalTo(String.format("User with username %s already exists.", USERNAME))));
-        verify(mockAwsCognitoIdentityProvider).initiateAuth(EXPECTED_INITIATE_AUTH_REQUEST_FOR_SIGN_UP);
+        verify(mockAwsCognitoIdentityProvider).listUsers(EXPECTED_LIST_USERS_REQUEST_EMAIL);
         verify(mockAwsCognitoIdentityProvider).signUp(EXPECTED_SIGN_UP_REQUEST);
+        verify(mockAliasIndexDao, never()).saveResource(any());
     }
 
     @Test
-    void register_signsUpUser() throws EmailExistsException, UsernameExistsException {
-        when(mockAwsCognitoIdentityProvider.initiateAuth(any())).thenThrow(new UserNotFoundException(""));
+    void register_signsUpUserAndAddsThemToAliasIndex_whenEmailIsOnlyRegisteredButNotVerified()
+            throws EmailExistsException, UsernameExistsException {
+        when(mockAwsCognitoIdentityProvider.listUsers(any())).thenReturn(new ListUsersResult().withUsers(
+                ImmutableList.of(buildUserType(UserStatusType.UNCONFIRMED, false))));
+        when(mockAwsCognitoIdentityProvider.signUp(any())).thenReturn(new SignUpResult().withUserSub(USER_ID)
+                .withUserConfirmed(false));
         userManager.register(USERNAME, EMAIL, PASSWORD);
-        verify(mockAwsCognitoIdentityProvider).initiateAuth(EXPECTED_INITIATE_AUTH_REQUEST_FOR_SIGN_UP);
+        verify(mockAwsCognitoIdentityProvider).listUsers(EXPECTED_LIST_USERS_REQUEST_EMAIL);
         verify(mockAwsCognitoIdentityProvider).signUp(EXPECTED_SIGN_UP_REQUEST);
+        verify(mockAliasIndexDao, times(2)).saveResource(buildAliasIndexEntry(UserStatusType.UNCONFIRMED, false));
+        verify(mockAwsCognitoIdentityProvider, never()).initiateAuth(any());
+    }
+
+    @Test
+    void register_addsConfirmedUserToAliasIndex_whenSignUpConfirmsUser()
+            throws EmailExistsException, UsernameExistsException {
+        when(mockAwsCognitoIdentityProvider.listUsers(any())).thenReturn(
+                new ListUsersResult().withUsers(ImmutableList.of()));
+        when(mockAwsCognitoIdentityProvider.signUp(any())).thenReturn(new SignUpResult().withUserSub(USER_ID)
+                .withUserConfirmed(true));
+        userManager.register(USERNAME, EMAIL, PASSWORD);
+        verify(mockAwsCognitoIdentityProvider).signUp(EXPECTED_SIGN_UP_REQUEST);
+        verify(mockAliasIndexDao).saveResource(buildAliasIndexEntry(UserStatusType.CONFIRMED, false));
     }
 
     @Test
@@ -250,6 +317,65 @@ class UserManagerTest {
                 .build())));
         verify(mockAwsCognitoIdentityProvider).listUsers(EXPECTED_LIST_USERS_REQUEST_USERNAME);
         verify(mockAwsCognitoIdentityProvider).initiateAuth(EXPECTED_INITIATE_AUTH_REQUEST_FOR_SIGN_IN_USERNAME);
+        verify(mockAliasIndexDao).saveResource(ALIAS_INDEX_ENTRY);
+    }
+
+    @Test
+    void signIn_returnsUserSessionDataWithoutListingUsers_whenAliasIndexShowsUserCanSignIn()
+            throws AuthenticationException, com.climbassist.api.user.authentication.UserNotFoundException {
+        when(mockAliasIndexDao.getEntries(any())).thenReturn(ImmutableSet.of(ALIAS_INDEX_ENTRY));
+        when(mockAwsCognitoIdentityProvider.initiateAuth(any())).thenReturn(
+                new InitiateAuthResult().withAuthenticationResult(
+                        new AuthenticationResultType().withAccessToken(ACCESS_TOKEN)
+                                .withRefreshToken(REFRESH_TOKEN)));
+        assertThat(userManager.signIn(EMAIL_ALIAS, PASSWORD), is(equalTo(UserSessionData.builder()
+                .accessToken(ACCESS_TOKEN)
+                .refreshToken(REFRESH_TOKEN)
+                .build())));
+        verify(mockAliasIndexDao).getEntries(EMAIL_ALIAS);
+        verify(mockAwsCognitoIdentityProvider, never()).listUsers(any());
+        verify(mockAwsCognitoIdentityProvider).initiateAuth(EXPECTED_INITIATE_AUTH_REQUEST_FOR_SIGN_IN_EMAIL);
+    }
+
+    @Test
+    void signIn_listsUsersAndUpdatesAliasIndex_whenAliasIndexShowsUserIsNotVerified()
+            throws AuthenticationException, com.climbassist.api.user.authentication.UserNotFoundException {
+        when(mockAliasIndexDao.getEntries(any())).thenReturn(
+                ImmutableSet.of(buildAliasIndexEntry(UserStatusType.UNCONFIRMED, false)));
+        when(mockAwsCognitoIdentityProvider.listUsers(any())).thenReturn(LIST_USERS_RESULT);
+        when(mockAwsCognitoIdentityProvider.initiateAuth(any())).thenReturn(
+                new InitiateAuthResult().withAuthenticationResult(
+                        new AuthenticationResultType().withAccessToken(ACCESS_TOKEN)
+                                .withRefreshToken(REFRESH_TOKEN)));
+        userManager.signIn(USERNAME_ALIAS, PASSWORD);
+        verify(mockAwsCognitoIdentityProvider).listUsers(EXPECTED_LIST_USERS_REQUEST_USERNAME);
+        verify(mockAliasIndexDao).saveResource(ALIAS_INDEX_ENTRY);
+        verify(mockAwsCognitoIdentityProvider).initiateAuth(EXPECTED_INITIATE_AUTH_REQUEST_FOR_SIGN_IN_USERNAME);
+    }
+
+    @Test
+    void signIn_listsUsersAndUpdatesAliasIndex_whenAliasIndexShowsEmailIsNotVerifiedAndSignInIsWithEmail()
+            throws AuthenticationException, com.climbassist.api.user.authentication.UserNotFoundException {
+        when(mockAliasIndexDao.getEntries(any())).thenReturn(
+                ImmutableSet.of(buildAliasIndexEntry(UserStatusType.CONFIRMED, false)));
+        when(mockAwsCognitoIdentityProvider.listUsers(any())).thenReturn(LIST_USERS_RESULT);
+        when(mockAwsCognitoIdentityProvider.initiateAuth(any())).thenReturn(
+                new InitiateAuthResult().withAuthenticationResult(
+                        new AuthenticationResultType().withAccessToken(ACCESS_TOKEN)
+                                .withRefreshToken(REFRESH_TOKEN)));
+        userManager.signIn(EMAIL_ALIAS, PASSWORD);
+        verify(mockAwsCognitoIdentityProvider).listUsers(EXPECTED_LIST_USERS_REQUEST_EMAIL);
+        verify(mockAliasIndexDao).saveResource(ALIAS_INDEX_ENTRY);
+        verify(mockAwsCognitoIdentityProvider).initiateAuth(EXPECTED_INITIATE_AUTH_REQUEST_FOR_SIGN_IN_EMAIL);
+    }
+
+    @Test
+    void signIn_throwsUserNotFoundExceptionAndRemovesUserFromAliasIndex_whenUserNoLongerExists() {
+        when(mockAliasIndexDao.getEntries(any())).thenReturn(ImmutableSet.of(ALIAS_INDEX_ENTRY));
+        when(mockAwsCognitoIdentityProvider.initiateAuth(any())).thenThrow(new UserNotFoundException(""));
+        assertThrows(com.climbassist.api.user.authentication.UserNotFoundException.class,
+                () -> userManager.signIn(USERNAME_ALIAS, PASSWORD));
+        verify(mockAliasIndexDao).deleteResource(USER_ID);
     }
 
     @Test
@@ -269,9 +395,11 @@ class UserManagerTest {
     }
 
     @Test
-    void signOut_signsOutUser() {
+    void signOut_signsOutUserAndInvalidatesCachedUserData() {
+        when(mockAccessTokenVerifier.verify(any())).thenReturn(ACCESS_TOKEN_CLAIMS);
         userManager.signOut(ACCESS_TOKEN);
         verify(mockAwsCognitoIdentityProvider).globalSignOut(new GlobalSignOutRequest().withAccessToken(ACCESS_TOKEN));
+        verify(mockUserDataCache).invalidateUser(USER_ID);
     }
 
     @Test
@@ -285,6 +413,17 @@ class UserManagerTest {
                 .withAuthParameters(ImmutableMap.of("REFRESH_TOKEN", REFRESH_TOKEN)));
     }
 
+    @Test
+    void refreshAccessToken_returnsSameAccessTokenWithoutCallingCognitoAgain_whenRefreshTokenWasJustExchanged()
+            throws SessionExpiredException {
+        when(mockAwsCognitoIdentityProvider.initiateAuth(any())).thenReturn(
+                new InitiateAuthResult().withAuthenticationResult(
+                        new AuthenticationResultType().withAccessToken(ACCESS_TOKEN)));
+        userManager.refreshAccessToken(REFRESH_TOKEN);
+        assertThat(userManager.refreshAccessToken(REFRESH_TOKEN), is(equalTo(ACCESS_TOKEN)));
+        verify(mockAwsCognitoIdentityProvider).initiateAuth(any());
+    }
+
     @Test
     void refreshAccessToken_throwsSessionExpiredException_whenNotAuthorizedExceptionIsThrown() {
         when(mockAwsCognitoIdentityProvider.initiateAuth(any())).thenThrow(new NotAuthorizedException(""));
@@ -294,102 +433,123 @@ class UserManagerTest {
                 .withAuthParameters(ImmutableMap.of("REFRESH_TOKEN", REFRESH_TOKEN)));
     }
 
+    @Test
+    void verifyAccessToken_returnsClaims() {
+        when(mockAccessTokenVerifier.verify(any())).thenReturn(ACCESS_TOKEN_CLAIMS);
+        assertThat(userManager.verifyAccessToken(ACCESS_TOKEN), is(equalTo(ACCESS_TOKEN_CLAIMS)));
+        verify(mockAccessTokenVerifier).verify(ACCESS_TOKEN);
+        verify(mockAwsCognitoIdentityProvider, never()).getUser(any());
+    }
+
     @Test
     void isSignedIn_returnsTrue_whenUserIsSignedIn() {
-        when(mockAwsCognitoIdentityProvider.getUser(any())).thenReturn(new GetUserResult());
+        when(mockAccessTokenVerifier.verify(any())).thenReturn(ACCESS_TOKEN_CLAIMS);
         assertThat(userManager.isSignedIn(ACCESS_TOKEN), is(equalTo(true)));
-        verify(mockAwsCognitoIdentityProvider).getUser(EXPECTED_GET_USER_REQUEST);
+        verify(mockAccessTokenVerifier).verify(ACCESS_TOKEN);
+        verify(mockAwsCognitoIdentityProvider, never()).getUser(any());
     }
 
     @Test
     void isSignedIn_throwsAccessTokenExpiredException_whenAccessTokenIsExpired() {
-        when(mockAwsCognitoIdentityProvider.getUser(any())).thenThrow(
-                new NotAuthorizedException("Access Token has expired"));
+        when(mockAccessTokenVerifier.verify(any())).thenThrow(new AccessTokenExpiredException());
         assertThrows(AccessTokenExpiredException.class, () -> userManager.isSignedIn(ACCESS_TOKEN));
-        verify(mockAwsCognitoIdentityProvider).getUser(EXPECTED_GET_USER_REQUEST);
+        verify(mockAccessTokenVerifier).verify(ACCESS_TOKEN);
     }
 
     @Test
     void isSignedIn_returnsFalse_whenAccessTokenIsNotValid() {
-        when(mockAwsCognitoIdentityProvider.getUser(any())).thenThrow(new NotAuthorizedException(""));
+        when(mockAccessTokenVerifier.verify(any())).thenThrow(new InvalidAccessTokenException("Not valid."));
         assertThat(userManager.isSignedIn(ACCESS_TOKEN), is(equalTo(false)));
-        verify(mockAwsCognitoIdentityProvider).getUser(EXPECTED_GET_USER_REQUEST);
+        verify(mockAccessTokenVerifier).verify(ACCESS_TOKEN);
+    }
+
+    @Test
+    void isAdministrator_returnsTrue_whenAccessTokenHasAdministratorsGroup() {
+        when(mockAccessTokenVerifier.verify(any())).thenReturn(ADMINISTRATOR_ACCESS_TOKEN_CLAIMS);
+        assertThat(userManager.isAdministrator(ACCESS_TOKEN), is(equalTo(true)));
+        verify(mockAwsCognitoIdentityProvider, never()).adminListGroupsForUser(any());
     }
 
     @Test
-    void deleteUser_deletesUser() {
+    void isAdministrator_returnsFalse_whenAccessTokenDoesNotHaveAdministratorsGroup() {
+        when(mockAccessTokenVerifier.verify(any())).thenReturn(ACCESS_TOKEN_CLAIMS);
+        assertThat(userManager.isAdministrator(ACCESS_TOKEN), is(equalTo(false)));
+    }
+
+    @Test
+    void deleteUser_deletesUserAndInvalidatesCachedUserDataAndRemovesUserFromAliasIndex() {
+        when(mockAccessTokenVerifier.verify(any())).thenReturn(ACCESS_TOKEN_CLAIMS);
         userManager.deleteUser(ACCESS_TOKEN);
         verify(mockAwsCognitoIdentityProvider).deleteUser(new DeleteUserRequest().withAccessToken(ACCESS_TOKEN));
+        verify(mockUserDataCache).invalidateUser(USER_ID);
+        verify(mockAliasIndexDao).deleteResource(USER_ID);
     }
 
     @Test
     void verifyEmail_throwsEmailAlreadyVerifiedException_whenEmailIsAlreadyVerified() {
         when(mockAwsCognitoIdentityProvider.getUser(any())).thenReturn(GET_USER_RESULT_EMAIL_VERIFIED);
-        when(mockAwsCognitoIdentityProvider.adminListGroupsForUser(any())).thenReturn(
-                new AdminListGroupsForUserResult().withGroups());
+        when(mockAccessTokenVerifier.verify(any())).thenReturn(ACCESS_TOKEN_CLAIMS);
         assertThrows(EmailAlreadyVerifiedException.class,
                 () -> userManager.verifyEmail(ACCESS_TOKEN, VERIFICATION_CODE));
         verify(mockAwsCognitoIdentityProvider).getUser(EXPECTED_GET_USER_REQUEST);
-        verify(mockAwsCognitoIdentityProvider).adminListGroupsForUser(EXPECTED_ADMIN_LIST_GROUPS_FOR_USER_REQUEST);
+        verify(mockAccessTokenVerifier).verify(ACCESS_TOKEN);
         verify(mockAwsCognitoIdentityProvider, never()).verifyUserAttribute(any());
+        verify(mockAliasIndexDao, never()).saveResource(any());
     }
 
     @Test
     void verifyEmail_throwsIncorrectVerificationCodeException_whenCodeIsInvalid() {
         when(mockAwsCognitoIdentityProvider.getUser(any())).thenReturn(GET_USER_RESULT_EMAIL_NOT_VERIFIED);
-        when(mockAwsCognitoIdentityProvider.adminListGroupsForUser(any())).thenReturn(
-                new AdminListGroupsForUserResult().withGroups());
+        when(mockAccessTokenVerifier.verify(any())).thenReturn(ACCESS_TOKEN_CLAIMS);
         when(mockAwsCognitoIdentityProvider.verifyUserAttribute(any())).thenThrow(new CodeMismatchException(""));
         assertThrows(IncorrectVerificationCodeException.class,
                 () -> userManager.verifyEmail(ACCESS_TOKEN, VERIFICATION_CODE));
         verify(mockAwsCognitoIdentityProvider).getUser(EXPECTED_GET_USER_REQUEST);
-        verify(mockAwsCognitoIdentityProvider).adminListGroupsForUser(EXPECTED_ADMIN_LIST_GROUPS_FOR_USER_REQUEST);
+        verify(mockAccessTokenVerifier).verify(ACCESS_TOKEN);
         verify(mockAwsCognitoIdentityProvider).verifyUserAttribute(EXPECTED_VERIFY_USER_ATTRIBUTE_REQUEST);
     }
 
     @Test
     void verifyEmail_throwsIncorrectVerificationCodeException_whenCodeIsExpired() {
         when(mockAwsCognitoIdentityProvider.getUser(any())).thenReturn(GET_USER_RESULT_EMAIL_NOT_VERIFIED);
-        when(mockAwsCognitoIdentityProvider.adminListGroupsForUser(any())).thenReturn(
-                new AdminListGroupsForUserResult().withGroups());
+        when(mockAccessTokenVerifier.verify(any())).thenReturn(ACCESS_TOKEN_CLAIMS);
         when(mockAwsCognitoIdentityProvider.verifyUserAttribute(any())).thenThrow(new ExpiredCodeException(""));
         assertThrows(IncorrectVerificationCodeException.class,
                 () -> userManager.verifyEmail(ACCESS_TOKEN, VERIFICATION_CODE));
         verify(mockAwsCognitoIdentityProvider).getUser(EXPECTED_GET_USER_REQUEST);
-        verify(mockAwsCognitoIdentityProvider).adminListGroupsForUser(EXPECTED_ADMIN_LIST_GROUPS_FOR_USER_REQUEST);
+        verify(mockAccessTokenVerifier).verify(ACCESS_TOKEN);
         verify(mockAwsCognitoIdentityProvider).verifyUserAttribute(EXPECTED_VERIFY_USER_ATTRIBUTE_REQUEST);
     }
 
     @Test
-    void verifyEmail_verifiesEmail_whenCodeIsValid()
+    void verifyEmail_verifiesEmailAndInvalidatesCachedUserDataAndUpdatesAliasIndex_whenCodeIsValid()
             throws IncorrectVerificationCodeException, EmailAlreadyVerifiedException {
         when(mockAwsCognitoIdentityProvider.getUser(any())).thenReturn(GET_USER_RESULT_EMAIL_NOT_VERIFIED);
-        when(mockAwsCognitoIdentityProvider.adminListGroupsForUser(any())).thenReturn(
-                new AdminListGroupsForUserResult().withGroups());
+        when(mockAccessTokenVerifier.verify(any())).thenReturn(ACCESS_TOKEN_CLAIMS);
         userManager.verifyEmail(ACCESS_TOKEN, VERIFICATION_CODE);
         verify(mockAwsCognitoIdentityProvider).getUser(EXPECTED_GET_USER_REQUEST);
-        verify(mockAwsCognitoIdentityProvider).adminListGroupsForUser(EXPECTED_ADMIN_LIST_GROUPS_FOR_USER_REQUEST);
+        verify(mockAccessTokenVerifier).verify(ACCESS_TOKEN);
         verify(mockAwsCognitoIdentityProvider).verifyUserAttribute(EXPECTED_VERIFY_USER_ATTRIBUTE_REQUEST);
+        verify(mockUserDataCache).invalidateUser(USER_ID);
+        verify(mockAliasIndexDao).saveResource(ALIAS_INDEX_ENTRY);
     }
 
     @Test
     void sendVerificationEmail_throwsEmailAlreadyVerifiedException_whenEmailIsAlreadyVerified() {
         when(mockAwsCognitoIdentityProvider.getUser(any())).thenReturn(GET_USER_RESULT_EMAIL_VERIFIED);
-        when(mockAwsCognitoIdentityProvider.adminListGroupsForUser(any())).thenReturn(
-                new AdminListGroupsForUserResult().withGroups());
+        when(mockAccessTokenVerifier.verify(any())).thenReturn(ACCESS_TOKEN_CLAIMS);
         assertThrows(EmailAlreadyVerifiedException.class, () -> userManager.sendVerificationEmail(ACCESS_TOKEN));
         verify(mockAwsCognitoIdentityProvider).getUser(EXPECTED_GET_USER_REQUEST);
-        verify(mockAwsCognitoIdentityProvider).adminListGroupsForUser(EXPECTED_ADMIN_LIST_GROUPS_FOR_USER_REQUEST);
+        verify(mockAccessTokenVerifier).verify(ACCESS_TOKEN);
     }
 
     @Test
     void sendVerificationEmail_sendsVerificationEmail() throws EmailAlreadyVerifiedException {
         when(mockAwsCognitoIdentityProvider.getUser(any())).thenReturn(GET_USER_RESULT_EMAIL_NOT_VERIFIED);
-        when(mockAwsCognitoIdentityProvider.adminListGroupsForUser(any())).thenReturn(
-                new AdminListGroupsForUserResult().withGroups());
+        when(mockAccessTokenVerifier.verify(any())).thenReturn(ACCESS_TOKEN_CLAIMS);
         userManager.sendVerificationEmail(ACCESS_TOKEN);
         verify(mockAwsCognitoIdentityProvider).getUser(EXPECTED_GET_USER_REQUEST);
-        verify(mockAwsCognitoIdentityProvider).adminListGroupsForUser(EXPECTED_ADMIN_LIST_GROUPS_FOR_USER_REQUEST);
+        verify(mockAccessTokenVerifier).verify(ACCESS_TOKEN);
         verify(mockAwsCognitoIdentityProvider).getUserAttributeVerificationCode(
                 new GetUserAttributeVerificationCodeRequest().withAccessToken(ACCESS_TOKEN)
                         .withAttributeName(EMAIL_ATTRIBUTE_NAME));
@@ -398,18 +558,51 @@ class UserManagerTest {
     @Test
     void getUserData_returnsUserDataWithoutAdministrator_whenUserIsNotInAnyGroups() {
         when(mockAwsCognitoIdentityProvider.getUser(any())).thenReturn(GET_USER_RESULT_EMAIL_VERIFIED);
-        when(mockAwsCognitoIdentityProvider.adminListGroupsForUser(any())).thenReturn(
-                new AdminListGroupsForUserResult().withGroups());
+        when(mockAccessTokenVerifier.verify(any())).thenReturn(ACCESS_TOKEN_CLAIMS);
         assertThat(userManager.getUserData(ACCESS_TOKEN), is(equalTo(EXPECTED_USER_DATA_EMAIL_VERIFIED)));
         verify(mockAwsCognitoIdentityProvider).getUser(EXPECTED_GET_USER_REQUEST);
-        verify(mockAwsCognitoIdentityProvider).adminListGroupsForUser(EXPECTED_ADMIN_LIST_GROUPS_FOR_USER_REQUEST);
+        verify(mockAccessTokenVerifier).verify(ACCESS_TOKEN);
+        verify(mockUserDataCache).get(ACCESS_TOKEN);
+        verify(mockUserDataCache).getGeneration(USER_ID);
+        verify(mockUserDataCache).put(ACCESS_TOKEN, EXPECTED_USER_DATA_EMAIL_VERIFIED,
+                ACCESS_TOKEN_CLAIMS.getExpirationTime(), 0L);
+    }
+
+    @Test
+    void getUserData_passesGenerationFromBeforeUserDataWasRead() {
+        when(mockAwsCognitoIdentityProvider.getUser(any())).thenReturn(GET_USER_RESULT_EMAIL_VERIFIED);
+        when(mockAccessTokenVerifier.verify(any())).thenReturn(ACCESS_TOKEN_CLAIMS);
+        when(mockUserDataCache.getGeneration(any())).thenReturn(3L);
+        userManager.getUserData(ACCESS_TOKEN);
+        InOrder inOrder = inOrder(mockUserDataCache, mockAwsCognitoIdentityProvider);
+        inOrder.verify(mockUserDataCache).getGeneration(USER_ID);
+        inOrder.verify(mockAwsCognitoIdentityProvider).getUser(EXPECTED_GET_USER_REQUEST);
+        inOrder.verify(mockUserDataCache).put(ACCESS_TOKEN, EXPECTED_USER_DATA_EMAIL_VERIFIED,
+                ACCESS_TOKEN_CLAIMS.getExpirationTime(), 3L);
+    }
+
+    @Test
+    void getUserData_returnsCachedUserData_whenUserDataIsCached() {
+        when(mockAccessTokenVerifier.verify(any())).thenReturn(ACCESS_TOKEN_CLAIMS);
+        when(mockUserDataCache.get(any())).thenReturn(Optional.of(EXPECTED_USER_DATA_EMAIL_VERIFIED));
+        assertThat(userManager.getUserData(ACCESS_TOKEN), is(equalTo(EXPECTED_USER_DATA_EMAIL_VERIFIED)));
+        verify(mockAccessTokenVerifier).verify(ACCESS_TOKEN);
+        verify(mockUserDataCache).get(ACCESS_TOKEN);
+        verify(mockAwsCognitoIdentityProvider, never()).getUser(any());
+        verify(mockUserDataCache, never()).put(any(), any(), any(), anyLong());
+    }
+
+    @Test
+    void getUserData_throwsAccessTokenExpiredException_whenAccessTokenIsExpired() {
+        when(mockAccessTokenVerifier.verify(any())).thenThrow(new AccessTokenExpiredException());
+        assertThrows(AccessTokenExpiredException.class, () -> userManager.getUserData(ACCESS_TOKEN));
+        verify(mockUserDataCache, never()).get(any());
     }
 
     @Test
     void getUserData_returnsUserDataWithAdministrator_whenUserIsAdministrator() {
         when(mockAwsCognitoIdentityProvider.getUser(any())).thenReturn(GET_USER_RESULT_EMAIL_VERIFIED);
-        when(mockAwsCognitoIdentityProvider.adminListGroupsForUser(any())).thenReturn(
-                new AdminListGroupsForUserResult().withGroups(new GroupType().withGroupName("Administrators")));
+        when(mockAccessTokenVerifier.verify(any())).thenReturn(ADMINISTRATOR_ACCESS_TOKEN_CLAIMS);
         assertThat(userManager.getUserData(ACCESS_TOKEN), is(equalTo(UserData.builder()
                 .userId(USER_ID)
                 .username(USERNAME)
@@ -418,45 +611,49 @@ class UserManagerTest {
                 .isEmailVerified(true)
                 .build())));
         verify(mockAwsCognitoIdentityProvider).getUser(EXPECTED_GET_USER_REQUEST);
-        verify(mockAwsCognitoIdentityProvider).adminListGroupsForUser(EXPECTED_ADMIN_LIST_GROUPS_FOR_USER_REQUEST);
+        verify(mockAccessTokenVerifier).verify(ACCESS_TOKEN);
     }
 
     @Test
     void getUserData_throwsInvalidUserDataException_whenUserDoesNotHaveId() {
+        when(mockAccessTokenVerifier.verify(any())).thenReturn(ACCESS_TOKEN_CLAIMS);
         when(mockAwsCognitoIdentityProvider.getUser(any())).thenReturn(new GetUserResult().withUsername(USERNAME)
                 .withUserAttributes());
         assertThrows(InvalidUserDataException.class, () -> userManager.getUserData(ACCESS_TOKEN));
         verify(mockAwsCognitoIdentityProvider).getUser(EXPECTED_GET_USER_REQUEST);
-        verify(mockAwsCognitoIdentityProvider, never()).adminListGroupsForUser(any());
     }
 
     @Test
     void getUserData_throwsInvalidUserDataException_whenUserDoesNotHaveEmail() {
+        when(mockAccessTokenVerifier.verify(any())).thenReturn(ACCESS_TOKEN_CLAIMS);
         when(mockAwsCognitoIdentityProvider.getUser(any())).thenReturn(new GetUserResult().withUsername(USERNAME)
                 .withUserAttributes(new AttributeType().withName("sub")
                         .withValue(USER_ID)));
         assertThrows(InvalidUserDataException.class, () -> userManager.getUserData(ACCESS_TOKEN));
         verify(mockAwsCognitoIdentityProvider).getUser(EXPECTED_GET_USER_REQUEST);
-        verify(mockAwsCognitoIdentityProvider, never()).adminListGroupsForUser(any());
     }
 
     @Test
     void changePassword_throwsIncorrectPasswordException_whenCurrentPasswordIsIncorrect() {
         String wrongPassword = "dammit-jim";
+        when(mockAccessTokenVerifier.verify(any())).thenReturn(ACCESS_TOKEN_CLAIMS);
         when(mockAwsCognitoIdentityProvider.changePassword(any())).thenThrow(new NotAuthorizedException(""));
         assertThrows(IncorrectPasswordException.class,
                 () -> userManager.changePassword(ACCESS_TOKEN, wrongPassword, NEW_PASSWORD));
         verify(mockAwsCognitoIdentityProvider).changePassword(new ChangePasswordRequest().withAccessToken(ACCESS_TOKEN)
                 .withPreviousPassword(wrongPassword)
                 .withProposedPassword(NEW_PASSWORD));
+        verify(mockUserDataCache, never()).invalidateUser(any());
     }
 
     @Test
-    void changePassword_changesPassword() throws IncorrectPasswordException {
+    void changePassword_changesPasswordAndInvalidatesCachedUserData() throws IncorrectPasswordException {
+        when(mockAccessTokenVerifier.verify(any())).thenReturn(ACCESS_TOKEN_CLAIMS);
         userManager.changePassword(ACCESS_TOKEN, PASSWORD, NEW_PASSWORD);
         verify(mockAwsCognitoIdentityProvider).changePassword(new ChangePasswordRequest().withAccessToken(ACCESS_TOKEN)
                 .withPreviousPassword(PASSWORD)
                 .withProposedPassword(NEW_PASSWORD));
+        verify(mockUserDataCache).invalidateUser(USER_ID);
     }
 
     @Test
@@ -472,9 +669,7 @@ class UserManagerTest {
     @Test
     void sendPasswordResetEmail_throwsEmailNotVerifiedException_whenEmailIsNotVerifiedAndSignInIsWithUsername() {
         when(mockAwsCognitoIdentityProvider.listUsers(any())).thenReturn(new ListUsersResult().withUsers(
-                ImmutableList.of(new UserType().withUserStatus(UserStatusType.CONFIRMED)
-                        .withAttributes(new AttributeType().withName(EMAIL_VERIFIED_ATTRIBUTE_NAME)
-                                .withValue("false")))));
+                ImmutableList.of(buildUserType(UserStatusType.CONFIRMED, false))));
         assertThrows(EmailNotVerifiedException.class, () -> userManager.sendPasswordResetEmail(USERNAME_ALIAS));
         verify(mockAwsCognitoIdentityProvider).listUsers(EXPECTED_LIST_USERS_REQUEST_USERNAME);
     }
@@ -508,6 +703,19 @@ class UserManagerTest {
                         .withUsername(EMAIL));
     }
 
+    @Test
+    void sendPasswordResetEmail_callsForgotPasswordWithoutListingUsers_whenAliasIndexShowsUserCanResetPassword()
+            throws com.climbassist.api.user.authentication.UserNotFoundException, EmailNotVerifiedException,
+            UserNotVerifiedException {
+        when(mockAliasIndexDao.getEntries(any())).thenReturn(ImmutableSet.of(ALIAS_INDEX_ENTRY));
+        userManager.sendPasswordResetEmail(USERNAME_ALIAS);
+        verify(mockAliasIndexDao).getEntries(USERNAME_ALIAS);
+        verify(mockAwsCognitoIdentityProvider, never()).listUsers(any());
+        verify(mockAwsCognitoIdentityProvider).forgotPassword(
+                new ForgotPasswordRequest().withClientId(USER_POOL_CLIENT_ID)
+                        .withUsername(USERNAME));
+    }
+
     @Test
     void resetPassword_throwsUserNotFoundException_whenUserDoesNotExist() {
         runUserNotFoundTest(() -> userManager.resetPassword(USERNAME_ALIAS, VERIFICATION_CODE, NEW_PASSWORD));
@@ -580,12 +788,15 @@ class UserManagerTest {
     }
 
     @Test
-    void updateUser_updatesUserEmail() {
+    void updateUser_updatesUserEmailAndInvalidatesCachedUserDataAndUpdatesAliasIndex() {
+        when(mockAccessTokenVerifier.verify(any())).thenReturn(ACCESS_TOKEN_CLAIMS);
         userManager.updateUser(ACCESS_TOKEN, EMAIL);
         verify(mockAwsCognitoIdentityProvider).updateUserAttributes(
                 new UpdateUserAttributesRequest().withAccessToken(ACCESS_TOKEN)
                         .withUserAttributes(new AttributeType().withName(EMAIL_ATTRIBUTE_NAME)
                                 .withValue(EMAIL)));
+        verify(mockUserDataCache).invalidateUser(USER_ID);
+        verify(mockAliasIndexDao).saveResource(buildAliasIndexEntry(UserStatusType.CONFIRMED, false));
     }
 
     private void runUserNotFoundTest(Executable executable) {
@@ -597,17 +808,34 @@ class UserManagerTest {
 
     private void runUserNotVerifiedTest(Executable executable) {
         when(mockAwsCognitoIdentityProvider.listUsers(any())).thenReturn(new ListUsersResult().withUsers(
-                ImmutableList.of(new UserType().withUserStatus(UserStatusType.UNCONFIRMED))));
+                ImmutableList.of(buildUserType(UserStatusType.UNCONFIRMED, false))));
         assertThrows(UserNotVerifiedException.class, executable);
         verify(mockAwsCognitoIdentityProvider).listUsers(EXPECTED_LIST_USERS_REQUEST_USERNAME);
     }
 
     private void runEmailNotVerifiedTest(Executable executable) {
         when(mockAwsCognitoIdentityProvider.listUsers(any())).thenReturn(new ListUsersResult().withUsers(
-                ImmutableList.of(new UserType().withUserStatus(UserStatusType.CONFIRMED)
-                        .withAttributes(new AttributeType().withName(EMAIL_VERIFIED_ATTRIBUTE_NAME)
-                                .withValue("false")))));
+                ImmutableList.of(buildUserType(UserStatusType.CONFIRMED, false))));
         assertThrows(EmailNotVerifiedException.class, executable);
         verify(mockAwsCognitoIdentityProvider).listUsers(EXPECTED_LIST_USERS_REQUEST_EMAIL);
     }
+
+    private static UserType buildUserType(UserStatusType userStatus, boolean isEmailVerified) {
+        return new UserType().withUsername(USERNAME)
+                .withUserStatus(userStatus)
+                .withAttributes(new AttributeType().withName(USER_ID_ATTRIBUTE_NAME)
+                        .withValue(USER_ID), new AttributeType().withName(EMAIL_ATTRIBUTE_NAME)
+                        .withValue(EMAIL), new AttributeType().withName(EMAIL_VERIFIED_ATTRIBUTE_NAME)
+                        .withValue(Boolean.toString(isEmailVerified)));
+    }
+
+    private static AliasIndexEntry buildAliasIndexEntry(UserStatusType userStatus, boolean isEmailVerified) {
+        return AliasIndexEntry.builder()
+                .userId(USER_ID)
+                .username(USERNAME)
+                .email(EMAIL)
+                .userStatus(userStatus.toString())
+                .isEmailVerified(isEmailVerified)
+                .build();
+    }
 }
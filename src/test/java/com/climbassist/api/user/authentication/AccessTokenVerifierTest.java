@@ -0,0 +1,199 @@
+package com.climbassist.api.user.authentication;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.testing.NullPointerTester;
+import com.google.common.util.concurrent.MoreExecutors;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.security.GeneralSecurityException;
+import java.time.Duration;
+import java.time.Instant;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class AccessTokenVerifierTest {
+
+    private static final String KEY_ID = "key-1";
+    private static final String ISSUER = "https://cognito-idp.us-east-1.amazonaws.com/us-east-1_pool";
+    private static final String USER_POOL_CLIENT_ID = "client-id";
+    private static final String USER_ID = "b2c3d4e5-f6a7-4b8c-9d0e-1f2a3b4c5d6e";
+    private static final String USERNAME = "alex-honnold";
+    private static final Instant CURRENT_INSTANT = Instant.parse("2020-06-01T00:00:00Z");
+    private static final Instant EXPIRATION_TIME = CURRENT_INSTANT.plus(Duration.ofMinutes(30));
+
+    private LocalJwksSource localJwksSource;
+    private AccessTokenVerifier accessTokenVerifier;
+
+    @BeforeEach
+    void setUp() throws GeneralSecurityException {
+        localJwksSource = new LocalJwksSource(KEY_ID);
+        ObjectMapper objectMapper = new ObjectMapper();
+        accessTokenVerifier = AccessTokenVerifier.builder()
+                .jwksCache(JwksCache.builder()
+                        .jwksSource(localJwksSource)
+                        .objectMapper(objectMapper)
+                        .refreshInterval(Duration.ofMinutes(60))
+                        .minimumRefreshInterval(Duration.ofMinutes(1))
+                        .currentInstantSupplier(() -> CURRENT_INSTANT)
+                        .executor(MoreExecutors.directExecutor())
+                        .build())
+                .objectMapper(objectMapper)
+                .issuer(ISSUER)
+                .userPoolClientId(USER_POOL_CLIENT_ID)
+                .currentInstantSupplier(() -> CURRENT_INSTANT)
+                .build();
+    }
+
+    @SuppressWarnings("UnstableApiUsage")
+    @Test
+    void parametersMarkedWithNonNull_throwNullPointerException_forNullValues() {
+        NullPointerTester nullPointerTester = new NullPointerTester();
+        nullPointerTester.testInstanceMethods(accessTokenVerifier, NullPointerTester.Visibility.PACKAGE);
+    }
+
+    @Test
+    void verify_returnsClaims_whenAccessTokenIsValid() throws GeneralSecurityException {
+        String accessToken = localJwksSource.sign(buildClaims(ISSUER, "access", USER_POOL_CLIENT_ID,
+                EXPIRATION_TIME.getEpochSecond(), "\"cognito:groups\":[\"Administrators\",\"Setters\"],"));
+
+        assertThat(accessTokenVerifier.verify(accessToken), is(equalTo(AccessTokenClaims.builder()
+                .userId(USER_ID)
+                .username(USERNAME)
+                .groups(ImmutableSet.of("Administrators", "Setters"))
+                .expirationTime(EXPIRATION_TIME)
+                .build())));
+    }
+
+    @Test
+    void verify_returnsClaimsWithoutGroups_whenUserIsNotInAnyGroups() throws GeneralSecurityException {
+        String accessToken = localJwksSource.sign(buildValidClaims());
+
+        assertThat(accessTokenVerifier.verify(accessToken)
+                .getGroups(), is(equalTo(ImmutableSet.of())));
+    }
+
+    @Test
+    void verify_throwsAccessTokenExpiredException_whenAccessTokenHasExpired() throws GeneralSecurityException {
+        String accessToken = localJwksSource.sign(
+                buildClaims(ISSUER, "access", USER_POOL_CLIENT_ID, CURRENT_INSTANT.getEpochSecond(), ""));
+
+        assertThrows(AccessTokenExpiredException.class, () -> accessTokenVerifier.verify(accessToken));
+    }
+
+    @Test
+    void verify_throwsInvalidAccessTokenException_whenSignatureIsNotValid() throws GeneralSecurityException {
+        String accessToken = localJwksSource.sign(buildValidClaims());
+        String[] parts = accessToken.split("\\.");
+        // the same signature over different claims
+        String tamperedAccessToken = parts[0] + "." + LocalJwksSource.encode(
+                buildClaims(ISSUER, "access", USER_POOL_CLIENT_ID, EXPIRATION_TIME.getEpochSecond(),
+                        "\"cognito:groups\":[\"Administrators\"],")) + "." + parts[2];
+
+        assertThrows(InvalidAccessTokenException.class, () -> accessTokenVerifier.verify(tamperedAccessToken));
+    }
+
+    @Test
+    void verify_throwsInvalidAccessTokenException_whenAccessTokenIsSignedWithAnotherKey()
+            throws GeneralSecurityException {
+        LocalJwksSource otherLocalJwksSource = new LocalJwksSource(KEY_ID);
+        String accessToken = otherLocalJwksSource.sign(buildValidClaims());
+
+        assertThrows(InvalidAccessTokenException.class, () -> accessTokenVerifier.verify(accessToken));
+    }
+
+    @Test
+    void verify_throwsInvalidAccessTokenException_whenAccessTokenIsNotSigned() {
+        String accessToken = LocalJwksSource.encode("{\"alg\":\"none\"}") + "." + LocalJwksSource.encode(
+                buildValidClaims()) + ".";
+
+        assertThrows(InvalidAccessTokenException.class, () -> accessTokenVerifier.verify(accessToken));
+    }
+
+    @Test
+    void verify_throwsInvalidAccessTokenException_whenIssuerIsNotUserPool() throws GeneralSecurityException {
+        String accessToken = localJwksSource.sign(
+                buildClaims("https://cognito-idp.us-east-1.amazonaws.com/us-east-1_other", "access",
+                        USER_POOL_CLIENT_ID, EXPIRATION_TIME.getEpochSecond(), ""));
+
+        assertThrows(InvalidAccessTokenException.class, () -> accessTokenVerifier.verify(accessToken));
+    }
+
+    @Test
+    void verify_throwsInvalidAccessTokenException_whenTokenIsIdToken() throws GeneralSecurityException {
+        String accessToken = localJwksSource.sign(
+                buildClaims(ISSUER, "id", USER_POOL_CLIENT_ID, EXPIRATION_TIME.getEpochSecond(), ""));
+
+        assertThrows(InvalidAccessTokenException.class, () -> accessTokenVerifier.verify(accessToken));
+    }
+
+    @Test
+    void verify_throwsInvalidAccessTokenException_whenClientIdIsNotUserPoolClientId() throws GeneralSecurityException {
+        String accessToken = localJwksSource.sign(
+                buildClaims(ISSUER, "access", "other-client-id", EXPIRATION_TIME.getEpochSecond(), ""));
+
+        assertThrows(InvalidAccessTokenException.class, () -> accessTokenVerifier.verify(accessToken));
+    }
+
+    @Test
+    void verify_throwsInvalidAccessTokenException_whenAccessTokenIsNotJsonWebToken() {
+        assertThrows(InvalidAccessTokenException.class, () -> accessTokenVerifier.verify("access-token"));
+        assertThrows(InvalidAccessTokenException.class, () -> accessTokenVerifier.verify("not.json.web-token"));
+    }
+
+    @Test
+    void verify_throwsInvalidAccessTokenException_whenClaimsAreNotJsonObject() throws GeneralSecurityException {
+        String accessToken = localJwksSource.sign("[]");
+
+        assertThrows(InvalidAccessTokenException.class, () -> accessTokenVerifier.verify(accessToken));
+    }
+
+    @Test
+    void verify_throwsInvalidAccessTokenException_whenHeaderIsEmpty() throws GeneralSecurityException {
+        String accessToken = localJwksSource.sign("", buildValidClaims());
+
+        assertThrows(InvalidAccessTokenException.class, () -> accessTokenVerifier.verify(accessToken));
+    }
+
+    @Test
+    void verify_throwsInvalidAccessTokenException_whenSignatureIsNotBase64() throws GeneralSecurityException {
+        String accessToken = localJwksSource.sign(buildValidClaims());
+        String malformedAccessToken = accessToken.substring(0, accessToken.lastIndexOf('.') + 1) + "not+base64!";
+
+        assertThrows(InvalidAccessTokenException.class, () -> accessTokenVerifier.verify(malformedAccessToken));
+    }
+
+    @Test
+    void verify_throwsInvalidAccessTokenException_whenExpirationTimeIsNotNumber() throws GeneralSecurityException {
+        String accessToken = localJwksSource.sign(buildValidClaims().replace(
+                String.format("\"exp\":%d", EXPIRATION_TIME.getEpochSecond()), "\"exp\":\"tomorrow\""));
+
+        assertThrows(InvalidAccessTokenException.class, () -> accessTokenVerifier.verify(accessToken));
+    }
+
+    @Test
+    void verify_throwsInvalidAccessTokenException_whenUserIdIsMissing() throws GeneralSecurityException {
+        String accessToken = localJwksSource.sign(
+                buildValidClaims().replace(String.format("\"sub\":\"%s\",", USER_ID), ""));
+
+        assertThrows(InvalidAccessTokenException.class, () -> accessTokenVerifier.verify(accessToken));
+    }
+
+    private static String buildValidClaims() {
+        return buildClaims(ISSUER, "access", USER_POOL_CLIENT_ID, EXPIRATION_TIME.getEpochSecond(), "");
+    }
+
+    // extraClaims is added as is, so it must end with a comma if it isn't empty
+    private static String buildClaims(String issuer, String tokenUse, String clientId, long expirationTime,
+                                      String extraClaims) {
+        return String.format("{\"sub\":\"%s\",%s\"iss\":\"%s\",\"client_id\":\"%s\",\"token_use\":\"%s\"," +
+                        "\"scope\":\"aws.cognito.signin.user.admin\",\"exp\":%d,\"iat\":%d,\"username\":\"%s\"}",
+                USER_ID, extraClaims, issuer, clientId, tokenUse, expirationTime,
+                CURRENT_INSTANT.minus(Duration.ofMinutes(30))
+                        .getEpochSecond(), USERNAME);
+    }
+}
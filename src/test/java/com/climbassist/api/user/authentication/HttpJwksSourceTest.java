@@ -0,0 +1,79 @@
+package com.climbassist.api.user.authentication;
+
+import com.google.common.testing.NullPointerTester;
+import org.apache.http.HttpResponse;
+import org.apache.http.HttpVersion;
+import org.apache.http.client.HttpClient;
+import org.apache.http.client.methods.HttpGet;
+import org.apache.http.entity.StringEntity;
+import org.apache.http.message.BasicHttpResponse;
+import org.apache.http.message.BasicStatusLine;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.IOException;
+import java.net.URI;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class HttpJwksSourceTest {
+
+    private static final String JWKS_URL =
+            "https://cognito-idp.us-east-1.amazonaws.com/us-east-1_pool/.well-known/jwks.json";
+    private static final String JWKS = "{\"keys\":[]}";
+
+    @Mock
+    private HttpClient mockHttpClient;
+
+    private HttpJwksSource httpJwksSource;
+
+    @BeforeEach
+    void setUp() {
+        httpJwksSource = HttpJwksSource.builder()
+                .httpClient(mockHttpClient)
+                .jwksUrl(JWKS_URL)
+                .build();
+    }
+
+    @SuppressWarnings("UnstableApiUsage")
+    @Test
+    void parametersMarkedWithNonNull_throwNullPointerException_forNullValues() {
+        NullPointerTester nullPointerTester = new NullPointerTester();
+        nullPointerTester.testInstanceMethods(httpJwksSource, NullPointerTester.Visibility.PACKAGE);
+    }
+
+    @Test
+    void fetchJwks_returnsJwks_whenRequestSucceeds() throws IOException {
+        when(mockHttpClient.execute(any())).thenReturn(buildHttpResponse(200));
+
+        assertThat(httpJwksSource.fetchJwks(), is(equalTo(JWKS)));
+        ArgumentCaptor<HttpGet> httpGetArgumentCaptor = ArgumentCaptor.forClass(HttpGet.class);
+        verify(mockHttpClient).execute(httpGetArgumentCaptor.capture());
+        assertThat(httpGetArgumentCaptor.getValue()
+                .getURI(), is(equalTo(URI.create(JWKS_URL))));
+    }
+
+    @Test
+    void fetchJwks_throwsIOException_whenRequestDoesNotSucceed() throws IOException {
+        when(mockHttpClient.execute(any())).thenReturn(buildHttpResponse(503));
+
+        assertThrows(IOException.class, () -> httpJwksSource.fetchJwks());
+    }
+
+    private static HttpResponse buildHttpResponse(int statusCode) throws IOException {
+        HttpResponse httpResponse = new BasicHttpResponse(new BasicStatusLine(HttpVersion.HTTP_1_1, statusCode, ""));
+        httpResponse.setEntity(new StringEntity(JWKS));
+        return httpResponse;
+    }
+}
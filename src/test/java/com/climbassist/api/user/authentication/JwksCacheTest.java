@@ -0,0 +1,171 @@
+package com.climbassist.api.user.authentication;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.testing.NullPointerTester;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.security.GeneralSecurityException;
+import java.security.PublicKey;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class JwksCacheTest {
+
+    private static final String KEY_ID = "key-1";
+    private static final Duration REFRESH_INTERVAL = Duration.ofMinutes(60);
+    private static final Duration MINIMUM_REFRESH_INTERVAL = Duration.ofMinutes(1);
+
+    private LocalJwksSource localJwksSource;
+    private Instant currentInstant;
+    // fetches run straight away unless they're deferred
+    private boolean deferFetches;
+    private List<Runnable> deferredFetches;
+    private JwksCache jwksCache;
+
+    @BeforeEach
+    void setUp() throws GeneralSecurityException {
+        localJwksSource = new LocalJwksSource(KEY_ID);
+        currentInstant = Instant.parse("2020-06-01T00:00:00Z");
+        deferredFetches = new ArrayList<>();
+        jwksCache = buildJwksCache(task -> {
+            if (deferFetches) {
+                deferredFetches.add(task);
+            }
+            else {
+                task.run();
+            }
+        });
+    }
+
+    @SuppressWarnings("UnstableApiUsage")
+    @Test
+    void parametersMarkedWithNonNull_throwNullPointerException_forNullValues() {
+        NullPointerTester nullPointerTester = new NullPointerTester();
+        nullPointerTester.setDefault(JwksSource.class, localJwksSource);
+        nullPointerTester.setDefault(ObjectMapper.class, new ObjectMapper());
+        nullPointerTester.setDefault(Duration.class, REFRESH_INTERVAL);
+        nullPointerTester.testConstructors(JwksCache.class, NullPointerTester.Visibility.PACKAGE);
+        nullPointerTester.testInstanceMethods(jwksCache, NullPointerTester.Visibility.PACKAGE);
+    }
+
+    @Test
+    void getPublicKey_fetchesKeysOnce_whileTheyAreFresh() {
+        PublicKey publicKey = jwksCache.getPublicKey(KEY_ID);
+        currentInstant = currentInstant.plus(REFRESH_INTERVAL.minusSeconds(1));
+
+        assertThat(jwksCache.getPublicKey(KEY_ID), is(sameInstance(publicKey)));
+        assertThat(localJwksSource.getFetches(), is(equalTo(1)));
+    }
+
+    @Test
+    void getPublicKey_returnsStaleKeysWhileFetchingThemAgainInBackground_onceTheyAreStale() {
+        PublicKey publicKey = jwksCache.getPublicKey(KEY_ID);
+        currentInstant = currentInstant.plus(REFRESH_INTERVAL);
+        deferFetches = true;
+
+        assertThat(jwksCache.getPublicKey(KEY_ID), is(sameInstance(publicKey)));
+        assertThat(jwksCache.getPublicKey(KEY_ID), is(sameInstance(publicKey)));
+        assertThat(deferredFetches.size(), is(equalTo(1)));
+        assertThat(localJwksSource.getFetches(), is(equalTo(1)));
+
+        deferredFetches.get(0)
+                .run();
+        assertThat(localJwksSource.getFetches(), is(equalTo(2)));
+        assertThat(jwksCache.getPublicKey(KEY_ID), is(not(sameInstance(publicKey))));
+    }
+
+    @Test
+    void getPublicKey_usesKeysFetchedBecauseTheyWereStale_whenKeyIsUnknown() throws GeneralSecurityException {
+        jwksCache.getPublicKey(KEY_ID);
+        localJwksSource.rotateKey("key-2");
+        currentInstant = currentInstant.plus(REFRESH_INTERVAL);
+
+        jwksCache.getPublicKey("key-2");
+        assertThat(localJwksSource.getFetches(), is(equalTo(2)));
+    }
+
+    @Test
+    void getPublicKey_fetchesKeysAgain_whenKeyIsUnknown() throws GeneralSecurityException {
+        jwksCache.getPublicKey(KEY_ID);
+        localJwksSource.rotateKey("key-2");
+        currentInstant = currentInstant.plus(MINIMUM_REFRESH_INTERVAL);
+
+        jwksCache.getPublicKey("key-2");
+        assertThat(localJwksSource.getFetches(), is(equalTo(2)));
+    }
+
+    @Test
+    void getPublicKey_throwsInvalidAccessTokenExceptionWithoutFetchingKeys_whenUnknownKeyIsUsedTooSoonAfterFetch() {
+        jwksCache.getPublicKey(KEY_ID);
+        currentInstant = currentInstant.plus(MINIMUM_REFRESH_INTERVAL.minusSeconds(1));
+
+        assertThrows(InvalidAccessTokenException.class, () -> jwksCache.getPublicKey("made-up-key"));
+        assertThat(localJwksSource.getFetches(), is(equalTo(1)));
+    }
+
+    @Test
+    void getPublicKey_keepsStaleKeys_whenFetchFails() {
+        PublicKey publicKey = jwksCache.getPublicKey(KEY_ID);
+        localJwksSource.setFailing(true);
+        currentInstant = currentInstant.plus(REFRESH_INTERVAL);
+
+        assertThat(jwksCache.getPublicKey(KEY_ID), is(sameInstance(publicKey)));
+        assertThat(localJwksSource.getFetches(), is(equalTo(2)));
+    }
+
+    @Test
+    void getPublicKey_throwsInvalidAccessTokenException_whenKeysHaveNeverBeenFetched() {
+        localJwksSource.setFailing(true);
+        assertThrows(InvalidAccessTokenException.class, () -> jwksCache.getPublicKey(KEY_ID));
+    }
+
+    @Test
+    void getPublicKey_throwsInvalidAccessTokenException_whenFetchCannotBeScheduled() {
+        JwksCache rejectingJwksCache = buildJwksCache(task -> {
+            throw new RejectedExecutionException();
+        });
+        assertThrows(InvalidAccessTokenException.class, () -> rejectingJwksCache.getPublicKey(KEY_ID));
+        assertThat(localJwksSource.getFetches(), is(equalTo(0)));
+    }
+
+    @Test
+    void getPublicKey_skipsKeysThatAreNotRsaKeys() {
+        JwksSource jwksSource = () -> localJwksSource.fetchJwks()
+                .replace("{\"keys\":[", "{\"keys\":[{\"crv\":\"P-256\",\"kid\":\"key-2\",\"kty\":\"EC\"},");
+        JwksCache mixedJwksCache = JwksCache.builder()
+                .jwksSource(jwksSource)
+                .objectMapper(new ObjectMapper())
+                .refreshInterval(REFRESH_INTERVAL)
+                .minimumRefreshInterval(MINIMUM_REFRESH_INTERVAL)
+                .currentInstantSupplier(() -> currentInstant)
+                .executor(Runnable::run)
+                .build();
+
+        assertThat(mixedJwksCache.getPublicKey(KEY_ID), is(notNullValue()));
+        assertThrows(InvalidAccessTokenException.class, () -> mixedJwksCache.getPublicKey("key-2"));
+    }
+
+    private JwksCache buildJwksCache(Executor executor) {
+        return JwksCache.builder()
+                .jwksSource(localJwksSource)
+                .objectMapper(new ObjectMapper())
+                .refreshInterval(REFRESH_INTERVAL)
+                .minimumRefreshInterval(MINIMUM_REFRESH_INTERVAL)
+                .currentInstantSupplier(() -> currentInstant)
+                .executor(executor)
+                .build();
+    }
+}
@@ -0,0 +1,93 @@
+package com.climbassist.api.user.authentication;
+
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.Setter;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.Signature;
+import java.security.interfaces.RSAPublicKey;
+import java.util.Arrays;
+import java.util.Base64;
+
+/**
+ * A stand-in for Cognito's key set, which serves the public half of a key pair made for the test and signs tokens with
+ * the private half. It counts how many times the key set has been fetched, and can be made to fail.
+ */
+class LocalJwksSource implements JwksSource {
+
+    private KeyPair keyPair;
+    @Getter
+    private String keyId;
+    @Getter
+    private int fetches;
+    @Setter
+    private boolean failing;
+
+    LocalJwksSource(@NonNull String keyId) throws GeneralSecurityException {
+        rotateKey(keyId);
+    }
+
+    @Override
+    public synchronized String fetchJwks() throws IOException {
+        fetches++;
+        if (failing) {
+            throw new IOException("Key set is not available.");
+        }
+        RSAPublicKey publicKey = (RSAPublicKey) keyPair.getPublic();
+        return String.format("{\"keys\":[{\"alg\":\"RS256\",\"e\":\"%s\",\"kid\":\"%s\",\"kty\":\"RSA\",\"n\":\"%s\"," +
+                "\"use\":\"sig\"}]}", encode(publicKey.getPublicExponent()), keyId, encode(publicKey.getModulus()));
+    }
+
+    /**
+     * Replaces the key pair, the way Cognito does when it rotates its keys.
+     */
+    void rotateKey(@NonNull String newKeyId) throws GeneralSecurityException {
+        KeyPairGenerator keyPairGenerator = KeyPairGenerator.getInstance("RSA");
+        keyPairGenerator.initialize(2048);
+        keyPair = keyPairGenerator.generateKeyPair();
+        keyId = newKeyId;
+    }
+
+    /**
+     * @return a token with this header and claims, signed with the current private key
+     */
+    String sign(@NonNull String headerJson, @NonNull String claimsJson) throws GeneralSecurityException {
+        String signingInput = encode(headerJson) + "." + encode(claimsJson);
+        Signature signature = Signature.getInstance("SHA256withRSA");
+        signature.initSign(keyPair.getPrivate());
+        signature.update(signingInput.getBytes(StandardCharsets.US_ASCII));
+        return signingInput + "." + Base64.getUrlEncoder()
+                .withoutPadding()
+                .encodeToString(signature.sign());
+    }
+
+    /**
+     * @return a token with these claims, signed with the current private key, whose header names the current key
+     */
+    String sign(@NonNull String claimsJson) throws GeneralSecurityException {
+        return sign(String.format("{\"kid\":\"%s\",\"alg\":\"RS256\"}", keyId), claimsJson);
+    }
+
+    static String encode(@NonNull String json) {
+        return Base64.getUrlEncoder()
+                .withoutPadding()
+                .encodeToString(json.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String encode(BigInteger value) {
+        byte[] bytes = value.toByteArray();
+        // toByteArray adds a leading zero byte when the top bit is set, but key set values are unsigned
+        if (bytes[0] == 0 && bytes.length > 1) {
+            bytes = Arrays.copyOfRange(bytes, 1, bytes.length);
+        }
+        return Base64.getUrlEncoder()
+                .withoutPadding()
+                .encodeToString(bytes);
+    }
+}
@@ -0,0 +1,130 @@
+package com.climbassist.api.user.authorization;
+
+import com.climbassist.api.user.CookieTestUtils;
+import com.climbassist.api.user.SessionUtils;
+import com.climbassist.api.user.UserManager;
+import com.climbassist.api.user.authentication.AccessTokenClaims;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.testing.NullPointerTester;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.MethodParameter;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.time.Instant;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class AccessTokenArgumentResolverTest {
+
+    @SuppressWarnings("unused")
+    private static class TestClass {
+
+        public void testMethod(@AccessToken String requiredAccessToken,
+                               @AccessToken(required = false) String optionalAccessToken,
+                               @AccessToken Integer notString, String notAnnotated) {
+        }
+    }
+
+    private static final String ACCESS_TOKEN = "access-token";
+    private static final String REFRESH_TOKEN = "refresh-token";
+    private static final AccessTokenClaims ACCESS_TOKEN_CLAIMS = AccessTokenClaims.builder()
+            .userId("king-koopa")
+            .username("bowser")
+            .groups(ImmutableSet.of())
+            .expirationTime(Instant.parse("2020-06-01T00:00:00Z"))
+            .build();
+
+    @Mock
+    private UserManager mockUserManager;
+
+    private AccessTokenArgumentResolver accessTokenArgumentResolver;
+    private MethodParameter requiredAccessTokenParameter;
+    private MethodParameter optionalAccessTokenParameter;
+
+    @BeforeEach
+    void setUp() throws NoSuchMethodException {
+        accessTokenArgumentResolver = new AccessTokenArgumentResolver();
+        requiredAccessTokenParameter = buildMethodParameter(0);
+        optionalAccessTokenParameter = buildMethodParameter(1);
+    }
+
+    @SuppressWarnings("UnstableApiUsage")
+    @Test
+    void parametersMarkedWithNonNull_throwNullPointerException_forNullValues() {
+        NullPointerTester nullPointerTester = new NullPointerTester();
+        nullPointerTester.setDefault(MethodParameter.class, requiredAccessTokenParameter);
+        nullPointerTester.testInstanceMethods(accessTokenArgumentResolver, NullPointerTester.Visibility.PACKAGE);
+    }
+
+    @Test
+    void supportsParameter_returnsTrue_onlyForStringParametersMarkedWithAccessToken() throws NoSuchMethodException {
+        assertThat(accessTokenArgumentResolver.supportsParameter(requiredAccessTokenParameter), is(equalTo(true)));
+        assertThat(accessTokenArgumentResolver.supportsParameter(optionalAccessTokenParameter), is(equalTo(true)));
+        assertThat(accessTokenArgumentResolver.supportsParameter(buildMethodParameter(2)), is(equalTo(false)));
+        assertThat(accessTokenArgumentResolver.supportsParameter(buildMethodParameter(3)), is(equalTo(false)));
+    }
+
+    @Test
+    void resolveArgument_decoratesRequestAndReturnsAccessToken_whenRequestHasSessionCookies()
+            throws AuthorizationException {
+        MockHttpServletRequest mockHttpServletRequest = new MockHttpServletRequest();
+        mockHttpServletRequest.setCookies(CookieTestUtils.buildSessionCookies(ACCESS_TOKEN, REFRESH_TOKEN));
+        mockHttpServletRequest.setAttribute(UserDecoration.ATTRIBUTE_NAME, UserDecoration.builder()
+                .userManager(mockUserManager)
+                .httpServletRequest(mockHttpServletRequest)
+                .httpServletResponse(new MockHttpServletResponse())
+                .build());
+        when(mockUserManager.verifyAccessToken(any())).thenReturn(ACCESS_TOKEN_CLAIMS);
+
+        assertThat(accessTokenArgumentResolver.resolveArgument(requiredAccessTokenParameter, null,
+                new ServletWebRequest(mockHttpServletRequest), null), is(equalTo(ACCESS_TOKEN)));
+        verify(mockUserManager).verifyAccessToken(ACCESS_TOKEN);
+    }
+
+    @Test
+    void resolveArgument_throwsAuthorizationException_whenAccessTokenIsRequiredAndNobodyIsSignedIn() {
+        assertThrows(AuthorizationException.class,
+                () -> accessTokenArgumentResolver.resolveArgument(requiredAccessTokenParameter, null,
+                        new ServletWebRequest(new MockHttpServletRequest()), null));
+    }
+
+    @Test
+    void resolveArgument_returnsNull_whenAccessTokenIsNotRequiredAndNobodyIsSignedIn() throws AuthorizationException {
+        assertThat(accessTokenArgumentResolver.resolveArgument(optionalAccessTokenParameter, null,
+                new ServletWebRequest(new MockHttpServletRequest()), null), is(nullValue()));
+    }
+
+    @Test
+    void resolveArgument_returnsAccessTokenWithoutDecorating_whenRequestIsNotServletRequest()
+            throws AuthorizationException {
+        NativeWebRequest mockNativeWebRequest = mock(NativeWebRequest.class);
+        when(mockNativeWebRequest.getAttribute(SessionUtils.ACCESS_TOKEN_ATTRIBUTE_NAME,
+                RequestAttributes.SCOPE_REQUEST)).thenReturn(ACCESS_TOKEN);
+
+        assertThat(accessTokenArgumentResolver.resolveArgument(requiredAccessTokenParameter, null,
+                mockNativeWebRequest, null), is(equalTo(ACCESS_TOKEN)));
+    }
+
+    private static MethodParameter buildMethodParameter(int parameterIndex) throws NoSuchMethodException {
+        return new MethodParameter(
+                TestClass.class.getMethod("testMethod", String.class, String.class, Integer.class, String.class),
+                parameterIndex);
+    }
+}
@@ -1,6 +1,5 @@
 package com.climbassist.api.user.authorization;
 
-import com.climbassist.api.user.UserData;
 import com.climbassist.api.user.UserManager;
 import com.climbassist.api.user.authentication.UserSessionData;
 import com.google.common.testing.NullPointerTester;
@@ -18,23 +17,6 @@ import static org.mockito.Mockito.when;
 @ExtendWith(MockitoExtension.class)
 class AdministratorAuthorizationHandlerTest {
 
-    private static final String USERNAME = "captain-america";
-    private static final String EMAIL = "cap@shield.com";
-    private static final String USER_ID = "987654320";
-    private static final UserData USER_DATA_ADMINISTRATOR = UserData.builder()
-            .userId(USER_ID)
-            .username(USERNAME)
-            .email(EMAIL)
-            .isEmailVerified(true)
-            .isAdministrator(true)
-            .build();
-    private static final UserData USER_DATA_NOT_ADMINISTRATOR = UserData.builder()
-            .userId(USER_ID)
-            .username(USERNAME)
-            .email(EMAIL)
-            .isEmailVerified(true)
-            .isAdministrator(false)
-            .build();
     private static final UserSessionData USER_SESSION_DATA = UserSessionData.builder()
             .accessToken("access token")
             .refreshToken("refresh token")
@@ -63,18 +45,20 @@ class AdministratorAuthorizationHandlerTest {
     @Test
     void checkAuthorization_returns_whenUserIsSignedInAndIsAdministrator() throws AuthorizationException {
         when(mockUserManager.isSignedIn(any())).thenReturn(true);
-        when(mockUserManager.getUserData(any())).thenReturn(USER_DATA_ADMINISTRATOR);
+        when(mockUserManager.isAdministrator(any())).thenReturn(true);
         administratorAuthorizationHandler.checkAuthorization(USER_SESSION_DATA);
         verify(mockUserManager).isSignedIn(USER_SESSION_DATA.getAccessToken());
+        verify(mockUserManager).isAdministrator(USER_SESSION_DATA.getAccessToken());
     }
 
     @Test
     void checkAuthorization_throwsAuthorizationException_whenUserIsSignedInAndIsNotAdministrator() {
         when(mockUserManager.isSignedIn(any())).thenReturn(true);
-        when(mockUserManager.getUserData(any())).thenReturn(USER_DATA_NOT_ADMINISTRATOR);
+        when(mockUserManager.isAdministrator(any())).thenReturn(false);
         assertThrows(AuthorizationException.class,
                 () -> administratorAuthorizationHandler.checkAuthorization(USER_SESSION_DATA));
         verify(mockUserManager).isSignedIn(USER_SESSION_DATA.getAccessToken());
+        verify(mockUserManager).isAdministrator(USER_SESSION_DATA.getAccessToken());
     }
 
     @Test
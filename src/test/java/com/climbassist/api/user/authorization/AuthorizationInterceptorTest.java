@@ -1,23 +1,36 @@
 package com.climbassist.api.user.authorization;
 
 import com.climbassist.api.user.CookieTestUtils;
+import com.climbassist.api.user.UserManager;
+import com.climbassist.api.user.authentication.AccessTokenClaims;
 import com.climbassist.api.user.authentication.UserSessionData;
+import com.climbassist.metrics.RequestTimingFilter;
+import com.climbassist.metrics.RequestTimings;
+import com.google.common.collect.ImmutableSet;
 import lombok.NonNull;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.mock.web.MockHttpServletRequest;
 import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.method.HandlerMethod;
 
+import javax.servlet.ServletException;
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicBoolean;
+
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.is;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -36,11 +49,19 @@ class AuthorizationInterceptorTest {
             .accessToken(ACCESS_TOKEN)
             .refreshToken(REFRESH_TOKEN)
             .build();
+    private static final AccessTokenClaims ACCESS_TOKEN_CLAIMS = AccessTokenClaims.builder()
+            .userId("king-koopa")
+            .username("bowser")
+            .groups(ImmutableSet.of())
+            .expirationTime(Instant.parse("2020-06-01T00:00:00Z"))
+            .build();
 
     @Mock
     private AuthorizationHandlerFactory mockAuthorizationHandlerFactory;
     @Mock
     private AuthorizationHandler mockAuthorizationHandler;
+    @Mock
+    private UserManager mockUserManager;
 
     private AuthorizationInterceptor authorizationInterceptor;
 
@@ -68,6 +89,66 @@ class AuthorizationInterceptorTest {
                 is(equalTo(true)));
     }
 
+    @Test
+    void preHandle_doesNotDecorateRequest_whenHandlerDoesNotNeedUser()
+            throws NoSuchMethodException, AuthorizationException {
+        class TestClass {
+
+            public void testMethod(@RequestParam String cragId) {
+            }
+        }
+
+        MockHttpServletRequest mockHttpServletRequest = buildMockHttpServletRequestWithUserDecoration();
+
+        HandlerMethod handlerMethod = new HandlerMethod(new TestClass(),
+                TestClass.class.getMethod("testMethod", String.class));
+        assertThat(authorizationInterceptor.preHandle(mockHttpServletRequest, new MockHttpServletResponse(),
+                handlerMethod), is(equalTo(true)));
+        verifyNoInteractions(mockUserManager);
+    }
+
+    @Test
+    void preHandle_doesNotDecorateRequest_whenHandlerOnlyTakesAccessToken()
+            throws NoSuchMethodException, AuthorizationException {
+        class TestClass {
+
+            public void testMethod(@AccessToken(required = false) String accessToken) {
+            }
+        }
+
+        MockHttpServletRequest mockHttpServletRequest = buildMockHttpServletRequestWithUserDecoration();
+
+        HandlerMethod handlerMethod = new HandlerMethod(new TestClass(),
+                TestClass.class.getMethod("testMethod", String.class));
+        assertThat(authorizationInterceptor.preHandle(mockHttpServletRequest, new MockHttpServletResponse(),
+                handlerMethod), is(equalTo(true)));
+        verifyNoInteractions(mockUserManager);
+    }
+
+    @Test
+    void preHandle_decoratesRequestBeforeCheckingAuthorization_whenHandlerHasAuthorizationAnnotation()
+            throws NoSuchMethodException, AuthorizationException {
+        class TestClass {
+
+            @Authorization(NullAuthorizationHandler.class)
+            public void testMethod() {
+            }
+        }
+
+        MockHttpServletRequest mockHttpServletRequest = buildMockHttpServletRequestWithUserDecoration();
+        when(mockUserManager.verifyAccessToken(any())).thenReturn(ACCESS_TOKEN_CLAIMS);
+        when(mockAuthorizationHandlerFactory.create(any())).thenReturn(mockAuthorizationHandler);
+
+        HandlerMethod handlerMethod = new HandlerMethod(new TestClass(), TestClass.class.getMethod("testMethod"));
+        assertThat(authorizationInterceptor.preHandle(mockHttpServletRequest, new MockHttpServletResponse(),
+                handlerMethod), is(equalTo(true)));
+        InOrder inOrder = inOrder(mockUserManager, mockAuthorizationHandler);
+        inOrder.verify(mockUserManager)
+                .verifyAccessToken(ACCESS_TOKEN);
+        inOrder.verify(mockAuthorizationHandler)
+                .checkAuthorization(USER_SESSION_DATA);
+    }
+
     @Test
     void preHandle_throwsAuthorizationException_whenRequestDoesNotHaveSessionCookies() throws NoSuchMethodException {
         class TestClass {
@@ -89,7 +170,7 @@ class AuthorizationInterceptorTest {
     }
 
     @Test
-    void preHandle_setsCookiesAndSetsAccessTokenSessionAttributeAndReturnsTrue_whenRequestHasSessionCookies()
+    void preHandle_checksAuthorizationAndReturnsTrue_whenRequestHasSessionCookies()
             throws NoSuchMethodException, AuthorizationException {
 
         class TestClass {
@@ -110,4 +191,63 @@ class AuthorizationInterceptorTest {
         verify(mockAuthorizationHandlerFactory).create(NullAuthorizationHandler.class);
         verify(mockAuthorizationHandler).checkAuthorization(USER_SESSION_DATA);
     }
+
+    @Test
+    void preHandle_exemptsRequestFromStorageCallBudget_whenHandlerIsForAdministrators() throws Exception {
+        class TestClass {
+
+            @Authorization(AdministratorAuthorizationHandler.class)
+            public void testMethod() {
+            }
+        }
+
+        assertThat(isCallBudgetExemptAfterPreHandle(
+                new HandlerMethod(new TestClass(), TestClass.class.getMethod("testMethod"))), is(equalTo(true)));
+    }
+
+    @Test
+    void preHandle_doesNotExemptRequestFromStorageCallBudget_whenHandlerIsNotForAdministrators() throws Exception {
+        class TestClass {
+
+            @Authorization(NullAuthorizationHandler.class)
+            public void testMethod() {
+            }
+        }
+
+        assertThat(isCallBudgetExemptAfterPreHandle(
+                new HandlerMethod(new TestClass(), TestClass.class.getMethod("testMethod"))), is(equalTo(false)));
+    }
+
+    // the request has to be timed for it to be exempted, and only RequestTimingFilter can start timing it
+    private boolean isCallBudgetExemptAfterPreHandle(HandlerMethod handlerMethod) throws Exception {
+        MockHttpServletRequest mockHttpServletRequest = new MockHttpServletRequest();
+        mockHttpServletRequest.setCookies(CookieTestUtils.buildSessionCookies(ACCESS_TOKEN, REFRESH_TOKEN));
+        when(mockAuthorizationHandlerFactory.create(any())).thenReturn(mockAuthorizationHandler);
+        AtomicBoolean callBudgetExempt = new AtomicBoolean();
+        RequestTimingFilter.builder()
+                .build()
+                .doFilter(mockHttpServletRequest, new MockHttpServletResponse(),
+                        (servletRequest, servletResponse) -> {
+                            try {
+                                authorizationInterceptor.preHandle(mockHttpServletRequest,
+                                        new MockHttpServletResponse(), handlerMethod);
+                            } catch (AuthorizationException e) {
+                                throw new ServletException(e);
+                            }
+                            callBudgetExempt.set(RequestTimings.getCurrent()
+                                    .isCallBudgetExempt());
+                        });
+        return callBudgetExempt.get();
+    }
+
+    private MockHttpServletRequest buildMockHttpServletRequestWithUserDecoration() {
+        MockHttpServletRequest mockHttpServletRequest = new MockHttpServletRequest();
+        mockHttpServletRequest.setCookies(CookieTestUtils.buildSessionCookies(ACCESS_TOKEN, REFRESH_TOKEN));
+        mockHttpServletRequest.setAttribute(UserDecoration.ATTRIBUTE_NAME, UserDecoration.builder()
+                .userManager(mockUserManager)
+                .httpServletRequest(mockHttpServletRequest)
+                .httpServletResponse(new MockHttpServletResponse())
+                .build());
+        return mockHttpServletRequest;
+    }
 }
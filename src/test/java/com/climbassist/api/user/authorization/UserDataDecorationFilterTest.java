@@ -1,11 +1,7 @@
 package com.climbassist.api.user.authorization;
 
 import com.climbassist.api.user.CookieTestUtils;
-import com.climbassist.api.user.SessionUtils;
-import com.climbassist.api.user.UserData;
 import com.climbassist.api.user.UserManager;
-import com.climbassist.api.user.authentication.AccessTokenExpiredException;
-import com.climbassist.api.user.authentication.UserSessionData;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -17,35 +13,23 @@ import org.springframework.mock.web.MockHttpServletResponse;
 import javax.servlet.FilterChain;
 import javax.servlet.ServletException;
 import java.io.IOException;
-import java.util.Arrays;
 import java.util.Collections;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.emptyArray;
-import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.instanceOf;
 import static org.hamcrest.Matchers.is;
 import static org.hamcrest.Matchers.not;
-import static org.mockito.ArgumentMatchers.any;
+import static org.hamcrest.Matchers.nullValue;
 import static org.mockito.Mockito.verify;
-import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.verifyNoInteractions;
 
 @ExtendWith(MockitoExtension.class)
 class UserDataDecorationFilterTest {
 
     private static final String ACCESS_TOKEN = "access-token";
     private static final String REFRESH_TOKEN = "refresh-token";
-    private static final UserSessionData USER_SESSION_DATA = UserSessionData.builder()
-            .accessToken(ACCESS_TOKEN)
-            .refreshToken(REFRESH_TOKEN)
-            .build();
-    private static final UserData USER_DATA = UserData.builder()
-            .userId("king-koopa")
-            .username("bowser")
-            .email("bowser@mushroom-kingdom.com")
-            .isEmailVerified(true)
-            .isAdministrator(false)
-            .build();
 
     @Mock
     private UserManager mockUserManager;
@@ -62,94 +46,34 @@ class UserDataDecorationFilterTest {
     }
 
     @Test
-    void doFilter_doesNotRefreshAccessTokenAndDoesNotSetRequestAttributes_whenRequestDoesNotHaveSessionCookies()
+    void doFilter_doesNotAttachUserDecoration_whenRequestDoesNotHaveSessionCookies()
             throws IOException, ServletException {
         MockHttpServletRequest mockHttpServletRequest = new MockHttpServletRequest();
         MockHttpServletResponse mockHttpServletResponse = new MockHttpServletResponse();
-        userDataDecorationFilter.doFilter(mockHttpServletRequest, mockHttpServletResponse, mockFilterChain);
-        verify(mockFilterChain).doFilter(mockHttpServletRequest, mockHttpServletResponse);
-        assertThat(mockHttpServletResponse.getCookies(), is(emptyArray()));
-        assertThat(Collections.list(mockHttpServletRequest.getAttributeNames()), not(hasItem("userId")));
-        //noinspection ConstantConditions
-        assertThat(Collections.list(mockHttpServletRequest.getSession()
-                .getAttributeNames()), not(hasItem(SessionUtils.ACCESS_TOKEN_SESSION_ATTRIBUTE_NAME)));
-    }
-
-    @Test
-    void doFilter_doesNotRefreshAccessTokenAndSetsAttributes_whenAccessTokenIsNotExpired()
-            throws IOException, ServletException {
-        MockHttpServletRequest mockHttpServletRequest = buildMockHttpServletRequest();
-        MockHttpServletResponse mockHttpServletResponse = buildMockHttpServletResponse();
-        when(mockUserManager.getUserData(any())).thenReturn(USER_DATA);
 
         userDataDecorationFilter.doFilter(mockHttpServletRequest, mockHttpServletResponse, mockFilterChain);
 
-        verify(mockUserManager).isSignedIn(ACCESS_TOKEN);
-        verify(mockUserManager).getUserData(ACCESS_TOKEN);
         verify(mockFilterChain).doFilter(mockHttpServletRequest, mockHttpServletResponse);
-        CookieTestUtils.verifySessionCookiesAreCorrect(mockHttpServletResponse, USER_SESSION_DATA);
-        assertThat(mockHttpServletRequest.getAttribute("userId"), is(equalTo(USER_DATA.getUserId())));
-        //noinspection ConstantConditions
-        assertThat(mockHttpServletRequest.getSession()
-                .getAttribute(SessionUtils.ACCESS_TOKEN_SESSION_ATTRIBUTE_NAME), is(equalTo(ACCESS_TOKEN)));
+        assertThat(mockHttpServletRequest.getAttribute(UserDecoration.ATTRIBUTE_NAME), is(nullValue()));
+        assertThat(mockHttpServletResponse.getCookies(), is(emptyArray()));
+        verifyNoInteractions(mockUserManager);
     }
 
     @Test
-    void doFilter_refreshesAccessTokenAndSetsAttributes_whenAccessTokenIsExpiredAndRefreshTokenIsNotExpired()
-            throws IOException, ServletException, SessionExpiredException {
-        String newAccessToken = "new-access-token";
-        MockHttpServletRequest mockHttpServletRequest = buildMockHttpServletRequest();
+    void doFilter_attachesUserDecorationWithoutVerifyingAccessToken_whenRequestHasSessionCookies()
+            throws IOException, ServletException {
+        MockHttpServletRequest mockHttpServletRequest = new MockHttpServletRequest();
+        mockHttpServletRequest.setCookies(CookieTestUtils.buildSessionCookies(ACCESS_TOKEN, REFRESH_TOKEN));
         MockHttpServletResponse mockHttpServletResponse = new MockHttpServletResponse();
-        when(mockUserManager.isSignedIn(any())).thenThrow(new AccessTokenExpiredException(new Throwable()));
-        when(mockUserManager.refreshAccessToken(any())).thenReturn(newAccessToken);
-        when(mockUserManager.getUserData(any())).thenReturn(USER_DATA);
-
-        userDataDecorationFilter.doFilter(mockHttpServletRequest, mockHttpServletResponse, mockFilterChain);
-
-        verify(mockUserManager).isSignedIn(ACCESS_TOKEN);
-        verify(mockUserManager).refreshAccessToken(REFRESH_TOKEN);
-        verify(mockUserManager).getUserData(newAccessToken);
-        verify(mockFilterChain).doFilter(mockHttpServletRequest, mockHttpServletResponse);
-        CookieTestUtils.verifySessionCookiesAreCorrect(mockHttpServletResponse, UserSessionData.builder()
-                .accessToken(newAccessToken)
-                .refreshToken(REFRESH_TOKEN)
-                .build());
-        assertThat(mockHttpServletRequest.getAttribute("userId"), is(equalTo(USER_DATA.getUserId())));
-        //noinspection ConstantConditions
-        assertThat(mockHttpServletRequest.getSession()
-                .getAttribute(SessionUtils.ACCESS_TOKEN_SESSION_ATTRIBUTE_NAME), is(equalTo(newAccessToken)));
-    }
-
-    @Test
-    void doFilter_refreshesAccessTokenAndDoesNotSetAttributes_whenAccessTokenAndRefreshTokenAreBothExpired()
-            throws SessionExpiredException, IOException, ServletException {
-        MockHttpServletRequest mockHttpServletRequest = buildMockHttpServletRequest();
-        MockHttpServletResponse mockHttpServletResponse = buildMockHttpServletResponse();
-        when(mockUserManager.isSignedIn(any())).thenThrow(new AccessTokenExpiredException(new Throwable()));
-        when(mockUserManager.refreshAccessToken(any())).thenThrow(new SessionExpiredException(new Throwable()));
 
         userDataDecorationFilter.doFilter(mockHttpServletRequest, mockHttpServletResponse, mockFilterChain);
 
-        verify(mockUserManager).isSignedIn(ACCESS_TOKEN);
-        verify(mockUserManager).refreshAccessToken(REFRESH_TOKEN);
         verify(mockFilterChain).doFilter(mockHttpServletRequest, mockHttpServletResponse);
-        CookieTestUtils.verifySessionCookiesAreCorrect(mockHttpServletResponse, USER_SESSION_DATA);
-        assertThat(Collections.list(mockHttpServletRequest.getAttributeNames()), not(hasItem("userId")));
-        //noinspection ConstantConditions
-        assertThat(Collections.list(mockHttpServletRequest.getSession()
-                .getAttributeNames()), not(hasItem(SessionUtils.ACCESS_TOKEN_SESSION_ATTRIBUTE_NAME)));
-    }
-
-    private static MockHttpServletRequest buildMockHttpServletRequest() {
-        MockHttpServletRequest mockHttpServletRequest = new MockHttpServletRequest();
-        mockHttpServletRequest.setCookies(CookieTestUtils.buildSessionCookies(ACCESS_TOKEN, REFRESH_TOKEN));
-        return mockHttpServletRequest;
-    }
-
-    private static MockHttpServletResponse buildMockHttpServletResponse() {
-        MockHttpServletResponse mockHttpServletResponse = new MockHttpServletResponse();
-        Arrays.stream(CookieTestUtils.buildSessionCookies(ACCESS_TOKEN, REFRESH_TOKEN))
-                .forEach(mockHttpServletResponse::addCookie);
-        return mockHttpServletResponse;
+        assertThat(mockHttpServletRequest.getAttribute(UserDecoration.ATTRIBUTE_NAME),
+                is(instanceOf(UserDecoration.class)));
+        assertThat(Collections.list(mockHttpServletRequest.getAttributeNames()),
+                not(hasItem(UserDataDecorationFilter.USER_ID_ATTRIBUTE_NAME)));
+        assertThat(mockHttpServletResponse.getCookies(), is(emptyArray()));
+        verifyNoInteractions(mockUserManager);
     }
 }
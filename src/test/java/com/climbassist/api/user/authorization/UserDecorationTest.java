@@ -0,0 +1,215 @@
+package com.climbassist.api.user.authorization;
+
+import com.climbassist.api.user.CookieTestUtils;
+import com.climbassist.api.user.SessionUtils;
+import com.climbassist.api.user.UserManager;
+import com.climbassist.api.user.authentication.AccessTokenClaims;
+import com.climbassist.api.user.authentication.AccessTokenExpiredException;
+import com.climbassist.api.user.authentication.InvalidAccessTokenException;
+import com.climbassist.api.user.authentication.UserSessionData;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.testing.NullPointerTester;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Instant;
+import java.util.Collections;
+import java.util.function.Supplier;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.emptyArray;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.nullValue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class UserDecorationTest {
+
+    private static final String ACCESS_TOKEN = "access-token";
+    private static final String REFRESH_TOKEN = "refresh-token";
+    private static final String NEW_ACCESS_TOKEN = "new-access-token";
+    private static final AccessTokenClaims ACCESS_TOKEN_CLAIMS = AccessTokenClaims.builder()
+            .userId("king-koopa")
+            .username("bowser")
+            .groups(ImmutableSet.of())
+            .expirationTime(Instant.parse("2020-06-01T00:00:00Z"))
+            .build();
+
+    @Mock
+    private UserManager mockUserManager;
+
+    @SuppressWarnings("UnstableApiUsage")
+    @Test
+    void parametersMarkedWithNonNull_throwNullPointerException_forNullValues() {
+        NullPointerTester nullPointerTester = new NullPointerTester();
+        nullPointerTester.setDefault(UserManager.class, mockUserManager);
+        nullPointerTester.testConstructors(UserDecoration.class, NullPointerTester.Visibility.PACKAGE);
+        nullPointerTester.testAllPublicStaticMethods(UserDecoration.class);
+    }
+
+    @Test
+    void getUserId_returnsNull_whenRequestDoesNotHaveUserDecoration() {
+        assertThat(UserDecoration.getUserId(new MockHttpServletRequest()), is(nullValue()));
+    }
+
+    @Test
+    void getUserId_doesNotRefreshAccessTokenAndSetsAttributes_whenAccessTokenIsNotExpired() {
+        MockHttpServletRequest mockHttpServletRequest = buildMockHttpServletRequest();
+        MockHttpServletResponse mockHttpServletResponse = attachUserDecoration(mockHttpServletRequest);
+        when(mockUserManager.verifyAccessToken(any())).thenReturn(ACCESS_TOKEN_CLAIMS);
+
+        assertThat(UserDecoration.getUserId(mockHttpServletRequest), is(equalTo(ACCESS_TOKEN_CLAIMS.getUserId())));
+
+        verify(mockUserManager).verifyAccessToken(ACCESS_TOKEN);
+        verify(mockUserManager, never()).getUserData(any());
+        assertThat(mockHttpServletResponse.getCookies(), is(emptyArray()));
+        assertThat(mockHttpServletRequest.getAttribute(UserDataDecorationFilter.USER_ID_ATTRIBUTE_NAME),
+                is(equalTo(ACCESS_TOKEN_CLAIMS.getUserId())));
+        assertThat(mockHttpServletRequest.getAttribute(SessionUtils.ACCESS_TOKEN_ATTRIBUTE_NAME),
+                is(equalTo(ACCESS_TOKEN)));
+    }
+
+    @Test
+    void getUserId_verifiesAccessTokenOnlyOnce_whenCalledMoreThanOnce() {
+        MockHttpServletRequest mockHttpServletRequest = buildMockHttpServletRequest();
+        attachUserDecoration(mockHttpServletRequest);
+        when(mockUserManager.verifyAccessToken(any())).thenReturn(ACCESS_TOKEN_CLAIMS);
+
+        UserDecoration.decorate(mockHttpServletRequest);
+        UserDecoration.getUserId(mockHttpServletRequest);
+        assertThat(UserDecoration.getUserId(mockHttpServletRequest), is(equalTo(ACCESS_TOKEN_CLAIMS.getUserId())));
+
+        verify(mockUserManager).verifyAccessToken(ACCESS_TOKEN);
+    }
+
+    @Test
+    void getUserId_refreshesAccessTokenAndSetsAttributes_whenAccessTokenIsExpiredAndRefreshTokenIsNotExpired()
+            throws SessionExpiredException {
+        MockHttpServletRequest mockHttpServletRequest = buildMockHttpServletRequest();
+        MockHttpServletResponse mockHttpServletResponse = attachUserDecoration(mockHttpServletRequest);
+        when(mockUserManager.verifyAccessToken(ACCESS_TOKEN)).thenThrow(new AccessTokenExpiredException());
+        when(mockUserManager.refreshAccessToken(any())).thenReturn(NEW_ACCESS_TOKEN);
+        when(mockUserManager.verifyAccessToken(NEW_ACCESS_TOKEN)).thenReturn(ACCESS_TOKEN_CLAIMS);
+
+        assertThat(UserDecoration.getUserId(mockHttpServletRequest), is(equalTo(ACCESS_TOKEN_CLAIMS.getUserId())));
+
+        verify(mockUserManager).verifyAccessToken(ACCESS_TOKEN);
+        verify(mockUserManager).refreshAccessToken(REFRESH_TOKEN);
+        verify(mockUserManager).verifyAccessToken(NEW_ACCESS_TOKEN);
+        CookieTestUtils.verifySessionCookiesAreCorrect(mockHttpServletResponse, UserSessionData.builder()
+                .accessToken(NEW_ACCESS_TOKEN)
+                .refreshToken(REFRESH_TOKEN)
+                .build());
+        assertThat(mockHttpServletRequest.getAttribute(UserDataDecorationFilter.USER_ID_ATTRIBUTE_NAME),
+                is(equalTo(ACCESS_TOKEN_CLAIMS.getUserId())));
+        assertThat(mockHttpServletRequest.getAttribute(SessionUtils.ACCESS_TOKEN_ATTRIBUTE_NAME),
+                is(equalTo(NEW_ACCESS_TOKEN)));
+    }
+
+    @Test
+    void getUserId_returnsNullAndDoesNotSetAttributes_whenAccessTokenAndRefreshTokenAreBothExpired()
+            throws SessionExpiredException {
+        MockHttpServletRequest mockHttpServletRequest = buildMockHttpServletRequest();
+        MockHttpServletResponse mockHttpServletResponse = attachUserDecoration(mockHttpServletRequest);
+        when(mockUserManager.verifyAccessToken(any())).thenThrow(new AccessTokenExpiredException());
+        when(mockUserManager.refreshAccessToken(any())).thenThrow(new SessionExpiredException(new Throwable()));
+
+        assertThat(UserDecoration.getUserId(mockHttpServletRequest), is(nullValue()));
+
+        verify(mockUserManager).verifyAccessToken(ACCESS_TOKEN);
+        verify(mockUserManager).refreshAccessToken(REFRESH_TOKEN);
+        assertThat(mockHttpServletResponse.getCookies(), is(emptyArray()));
+        assertThat(Collections.list(mockHttpServletRequest.getAttributeNames()),
+                not(hasItem(UserDataDecorationFilter.USER_ID_ATTRIBUTE_NAME)));
+        assertThat(Collections.list(mockHttpServletRequest.getAttributeNames()),
+                not(hasItem(SessionUtils.ACCESS_TOKEN_ATTRIBUTE_NAME)));
+    }
+
+    @Test
+    void getUserId_returnsNullWithoutRefreshingAccessToken_whenAccessTokenIsNotValid() throws SessionExpiredException {
+        MockHttpServletRequest mockHttpServletRequest = buildMockHttpServletRequest();
+        MockHttpServletResponse mockHttpServletResponse = attachUserDecoration(mockHttpServletRequest);
+        when(mockUserManager.verifyAccessToken(any())).thenThrow(new InvalidAccessTokenException("Not valid."));
+
+        assertThat(UserDecoration.getUserId(mockHttpServletRequest), is(nullValue()));
+
+        verify(mockUserManager).verifyAccessToken(ACCESS_TOKEN);
+        verify(mockUserManager, never()).refreshAccessToken(any());
+        assertThat(mockHttpServletResponse.getCookies(), is(emptyArray()));
+        assertThat(Collections.list(mockHttpServletRequest.getAttributeNames()),
+                not(hasItem(UserDataDecorationFilter.USER_ID_ATTRIBUTE_NAME)));
+    }
+
+    @Test
+    void getDeferredUserIdSupplier_returnsNull_whenRequestDoesNotHaveUserDecoration() {
+        assertThat(UserDecoration.getDeferredUserIdSupplier(new MockHttpServletRequest())
+                .get(), is(nullValue()));
+    }
+
+    @Test
+    void getDeferredUserIdSupplier_returnsUserIdWithoutVerifyingAgain_whenRequestHasBeenDecorated() {
+        MockHttpServletRequest mockHttpServletRequest = buildMockHttpServletRequest();
+        attachUserDecoration(mockHttpServletRequest);
+        when(mockUserManager.verifyAccessToken(any())).thenReturn(ACCESS_TOKEN_CLAIMS);
+        UserDecoration.decorate(mockHttpServletRequest);
+
+        assertThat(UserDecoration.getDeferredUserIdSupplier(mockHttpServletRequest)
+                .get(), is(equalTo(ACCESS_TOKEN_CLAIMS.getUserId())));
+        verify(mockUserManager).verifyAccessToken(ACCESS_TOKEN);
+    }
+
+    @Test
+    void getDeferredUserIdSupplier_verifiesAccessTokenOnlyWhenCalled_whenRequestHasNotBeenDecorated() {
+        MockHttpServletRequest mockHttpServletRequest = buildMockHttpServletRequest();
+        MockHttpServletResponse mockHttpServletResponse = attachUserDecoration(mockHttpServletRequest);
+
+        Supplier<String> userIdSupplier = UserDecoration.getDeferredUserIdSupplier(mockHttpServletRequest);
+        verifyNoInteractions(mockUserManager);
+
+        when(mockUserManager.verifyAccessToken(any())).thenReturn(ACCESS_TOKEN_CLAIMS);
+        assertThat(userIdSupplier.get(), is(equalTo(ACCESS_TOKEN_CLAIMS.getUserId())));
+        verify(mockUserManager).verifyAccessToken(ACCESS_TOKEN);
+        assertThat(Collections.list(mockHttpServletRequest.getAttributeNames()),
+                not(hasItem(UserDataDecorationFilter.USER_ID_ATTRIBUTE_NAME)));
+        assertThat(mockHttpServletResponse.getCookies(), is(emptyArray()));
+    }
+
+    @Test
+    void getDeferredUserIdSupplier_returnsNullWithoutRefreshingAccessToken_whenAccessTokenIsExpired()
+            throws SessionExpiredException {
+        MockHttpServletRequest mockHttpServletRequest = buildMockHttpServletRequest();
+        attachUserDecoration(mockHttpServletRequest);
+        when(mockUserManager.verifyAccessToken(any())).thenThrow(new AccessTokenExpiredException());
+
+        assertThat(UserDecoration.getDeferredUserIdSupplier(mockHttpServletRequest)
+                .get(), is(nullValue()));
+        verify(mockUserManager, never()).refreshAccessToken(any());
+    }
+
+    private static MockHttpServletRequest buildMockHttpServletRequest() {
+        MockHttpServletRequest mockHttpServletRequest = new MockHttpServletRequest();
+        mockHttpServletRequest.setCookies(CookieTestUtils.buildSessionCookies(ACCESS_TOKEN, REFRESH_TOKEN));
+        return mockHttpServletRequest;
+    }
+
+    private MockHttpServletResponse attachUserDecoration(MockHttpServletRequest mockHttpServletRequest) {
+        MockHttpServletResponse mockHttpServletResponse = new MockHttpServletResponse();
+        mockHttpServletRequest.setAttribute(UserDecoration.ATTRIBUTE_NAME, UserDecoration.builder()
+                .userManager(mockUserManager)
+                .httpServletRequest(mockHttpServletRequest)
+                .httpServletResponse(mockHttpServletResponse)
+                .build());
+        return mockHttpServletResponse;
+    }
+}
@@ -0,0 +1,266 @@
+package com.climbassist.logging;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.testing.NullPointerTester;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class AsyncRequestLoggerTest {
+
+    /**
+     * Keeps whatever the logger writes, and the thread it was written on, so that tests can check both.
+     */
+    private static class RecordingObjectMapper extends ObjectMapper {
+
+        private final List<Object> writtenValues = new ArrayList<>();
+        private volatile Thread writingThread;
+        private boolean failing;
+
+        @Override
+        public synchronized String writeValueAsString(Object value) throws JsonProcessingException {
+            writingThread = Thread.currentThread();
+            if (failing) {
+                failing = false;
+                throw new JsonMappingException(null, "Value can't be written.");
+            }
+            writtenValues.add(value);
+            return super.writeValueAsString(value);
+        }
+    }
+
+    private static final RequestLogEvent REQUEST_LOG_EVENT = RequestLogEvent.builder()
+            .requestId("request-1")
+            .method("GET")
+            .path("/v1/crags/crag-1")
+            .queryString("depth=2&unused")
+            .requestBody("")
+            .duration(12)
+            .status(200)
+            .responseBody("{\"data\":{\"cragId\":\"crag-1\"}}")
+            .build();
+
+    private RecordingObjectMapper recordingObjectMapper;
+    private AsyncRequestLogger asyncRequestLogger;
+
+    @BeforeEach
+    void setUp() {
+        recordingObjectMapper = new RecordingObjectMapper();
+        asyncRequestLogger = AsyncRequestLogger.builder()
+                .objectMapper(recordingObjectMapper)
+                .bufferSize(2)
+                .build();
+    }
+
+    @SuppressWarnings("UnstableApiUsage")
+    @Test
+    void parametersMarkedWithNonNull_throwNullPointerException_forNullValues() {
+        NullPointerTester nullPointerTester = new NullPointerTester();
+        nullPointerTester.setDefault(RequestLogEvent.class, REQUEST_LOG_EVENT);
+        nullPointerTester.testConstructors(AsyncRequestLogger.class, NullPointerTester.Visibility.PACKAGE);
+        nullPointerTester.testInstanceMethods(asyncRequestLogger, NullPointerTester.Visibility.PACKAGE);
+    }
+
+    @Test
+    void log_dropsAndCountsEvents_whenBufferIsFull() {
+        asyncRequestLogger.log(REQUEST_LOG_EVENT);
+        asyncRequestLogger.log(REQUEST_LOG_EVENT);
+        asyncRequestLogger.log(REQUEST_LOG_EVENT);
+        assertThat(asyncRequestLogger.getDroppedEvents(), is(equalTo(1L)));
+    }
+
+    @Test
+    void drain_writesAllEvents() {
+        asyncRequestLogger.log(REQUEST_LOG_EVENT);
+        asyncRequestLogger.log(REQUEST_LOG_EVENT);
+        assertThat(asyncRequestLogger.drain(), is(equalTo(true)));
+        assertThat(asyncRequestLogger.drain(), is(equalTo(false)));
+    }
+
+    @Test
+    void drain_writesRequestAndResponse() {
+        asyncRequestLogger.log(REQUEST_LOG_EVENT);
+        asyncRequestLogger.drain();
+        assertThat(recordingObjectMapper.writtenValues, contains(LoggableRequest.builder()
+                .method("GET")
+                .path("/v1/crags/crag-1")
+                .queryString("depth=2&unused")
+                .queryParameters(buildQueryParameters())
+                .body("")
+                .build(), LoggableResponse.builder()
+                .duration(12)
+                .status(200)
+                .jsonBody("{\"data\":{\"cragId\":\"crag-1\"}}")
+                .build()));
+    }
+
+    @Test
+    void drain_writesBodiesThatAreNotJsonAsStrings() {
+        asyncRequestLogger.log(RequestLogEvent.builder()
+                .method("POST")
+                .path("/v1/contact")
+                .requestBody("{\"message\":\"hello\"")
+                .status(500)
+                .build());
+        asyncRequestLogger.drain();
+        assertThat(recordingObjectMapper.writtenValues, contains(LoggableRequest.builder()
+                .method("POST")
+                .path("/v1/contact")
+                .queryParameters(ImmutableMap.of())
+                .body("{\"message\":\"hello\"")
+                .build(), LoggableResponse.builder()
+                .status(500)
+                .build()));
+    }
+
+    @Test
+    void drain_writesJsonRequestBodyAsJson() {
+        asyncRequestLogger.log(RequestLogEvent.builder()
+                .method("POST")
+                .path("/v1/contact")
+                .requestBody("{\"message\":\"hello\"}")
+                .status(200)
+                .responseBody("")
+                .build());
+        asyncRequestLogger.drain();
+        assertThat(recordingObjectMapper.writtenValues, contains(LoggableRequest.builder()
+                .method("POST")
+                .path("/v1/contact")
+                .queryParameters(ImmutableMap.of())
+                .jsonBody("{\"message\":\"hello\"}")
+                .build(), LoggableResponse.builder()
+                .status(200)
+                .body("")
+                .build()));
+    }
+
+    @Test
+    void drain_writesEvent_whenEventHasNoRequestId() {
+        asyncRequestLogger.log(RequestLogEvent.builder()
+                .method("GET")
+                .path("/health")
+                .status(200)
+                .build());
+        assertThat(asyncRequestLogger.drain(), is(equalTo(true)));
+    }
+
+    @Test
+    void drain_carriesOnWritingEvents_whenEventCannotBeWritten() {
+        recordingObjectMapper.failing = true;
+        asyncRequestLogger.log(REQUEST_LOG_EVENT);
+        asyncRequestLogger.log(REQUEST_LOG_EVENT);
+        assertThat(asyncRequestLogger.drain(), is(equalTo(true)));
+        assertThat(recordingObjectMapper.writtenValues.size(), is(equalTo(2)));
+    }
+
+    @Test
+    void start_writesEventsInBackground_andThenWaitsForMoreEvents() throws InterruptedException {
+        asyncRequestLogger.log(REQUEST_LOG_EVENT);
+        asyncRequestLogger.start();
+
+        // the only place the logging thread waits with a timeout is while the buffer is empty
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while ((recordingObjectMapper.writingThread == null || recordingObjectMapper.writingThread.getState() !=
+                Thread.State.TIMED_WAITING) && System.nanoTime() < deadline) {
+            Thread.yield();
+        }
+        assertThat(recordingObjectMapper.writingThread.getState(), is(equalTo(Thread.State.TIMED_WAITING)));
+        asyncRequestLogger.stop();
+        assertThat(asyncRequestLogger.drain(), is(equalTo(false)));
+    }
+
+    @Test
+    void start_throwsIllegalStateException_whenLoggerHasAlreadyBeenStarted() throws InterruptedException {
+        asyncRequestLogger.start();
+        try {
+            assertThrows(IllegalStateException.class, () -> asyncRequestLogger.start());
+        } finally {
+            asyncRequestLogger.stop();
+        }
+    }
+
+    @Test
+    void stop_doesNothing_whenLoggerHasNotBeenStarted() throws InterruptedException {
+        asyncRequestLogger.stop();
+        assertThat(recordingObjectMapper.writingThread, is(nullValue()));
+    }
+
+    @Test
+    void buildLoggableRequest_redactsBodyBeforeItIsEscaped_whenJsonBodyWasTruncated() {
+        LoggableRequest loggableRequest = asyncRequestLogger.buildLoggableRequest(RequestLogEvent.builder()
+                .method("POST")
+                .path("/v1/user/sign-in")
+                .requestBody("{\"username\":\"han-solo\",\"password\":\"hunter2\",\"na [content truncated]")
+                .build());
+        assertThat(loggableRequest.getBody(),
+                is(equalTo("{\"username\":\"<REDACTED>\",\"password\":\"<REDACTED>\",\"na [content truncated]")));
+        assertThat(loggableRequest.getJsonBody(), is(nullValue()));
+    }
+
+    @Test
+    void buildLoggableResponse_redactsBodyBeforeItIsEscaped_whenJsonBodyWasTruncated() {
+        LoggableResponse loggableResponse = asyncRequestLogger.buildLoggableResponse(RequestLogEvent.builder()
+                .status(200)
+                .responseBody("{\"data\":{\"email\":\"han@millenium [content truncated]")
+                .build());
+        assertThat(loggableResponse.getBody(), is(equalTo("{\"data\":{\"email\":\"<REDACTED>")));
+    }
+
+    @Test
+    void buildLoggableResponse_leavesJsonBodyForLoggingConfigurationToRedact() {
+        assertThat(asyncRequestLogger.buildLoggableResponse(REQUEST_LOG_EVENT)
+                .getJsonBody(), is(equalTo(REQUEST_LOG_EVENT.getResponseBody())));
+    }
+
+    @Test
+    void drain_getsUserIdWhenWritingEvent() {
+        AtomicInteger userIdLookups = new AtomicInteger();
+        asyncRequestLogger.log(RequestLogEvent.builder()
+                .requestId("request-2")
+                .method("GET")
+                .path("/v1/user")
+                .userIdSupplier(() -> {
+                    userIdLookups.incrementAndGet();
+                    return "user-1";
+                })
+                .status(200)
+                .build());
+        assertThat(userIdLookups.get(), is(equalTo(0)));
+
+        asyncRequestLogger.drain();
+        assertThat(userIdLookups.get(), is(equalTo(1)));
+    }
+
+    @Test
+    void stop_writesEventsLeftInBuffer() throws InterruptedException {
+        asyncRequestLogger.start();
+        asyncRequestLogger.log(REQUEST_LOG_EVENT);
+        asyncRequestLogger.stop();
+        assertThat(asyncRequestLogger.drain(), is(equalTo(false)));
+        assertThat(asyncRequestLogger.getDroppedEvents(), is(equalTo(0L)));
+    }
+
+    private static Map<String, String> buildQueryParameters() {
+        Map<String, String> queryParameters = new HashMap<>();
+        queryParameters.put("depth", "2");
+        // a parameter without a value is logged with a null value
+        queryParameters.put("unused", null);
+        return queryParameters;
+    }
+}
@@ -5,6 +5,7 @@ import org.apache.logging.log4j.Level;
 import org.apache.logging.log4j.MarkerManager;
 import org.apache.logging.log4j.core.LogEvent;
 import org.apache.logging.log4j.core.impl.Log4jLogEvent;
+import org.apache.logging.log4j.message.Message;
 import org.apache.logging.log4j.message.SimpleMessage;
 import org.apache.logging.log4j.spi.DefaultThreadContextStack;
 import org.junit.jupiter.api.BeforeEach;
@@ -16,6 +17,7 @@ import java.io.IOException;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.is;
+import static org.mockito.Mockito.mock;
 
 class RedactingRewritePolicyTest {
 
@@ -40,6 +42,15 @@ class RedactingRewritePolicyTest {
         assertThat(redactingRewritePolicy.rewrite(logEvent), is(equalTo(logEvent)));
     }
 
+    @Test
+    public void rewrite_doesNothing_whenMessageIsNull() {
+        Message mockMessage = mock(Message.class);
+        LogEvent logEvent = Log4jLogEvent.newBuilder()
+                .setMessage(mockMessage)
+                .build();
+        assertThat(redactingRewritePolicy.rewrite(logEvent), is(equalTo(logEvent)));
+    }
+
     @Test
     public void rewrite_doesNothing_whenMessageDoesHaveAnySensitiveFields() {
         LogEvent logEvent = buildLogEvent("this is just some message with nothing sensitive in it");
@@ -0,0 +1,79 @@
+package com.climbassist.logging;
+
+import com.google.common.testing.NullPointerTester;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThan;
+
+class RequestLogSamplerTest {
+
+    private static final RequestLogRoute HEALTH_ROUTE = RequestLogRoute.builder()
+            .pathPattern("/health")
+            .sampleRate(0.0)
+            .maxBodySize(0)
+            .build();
+    private static final RequestLogRoute CRAGS_ROUTE = RequestLogRoute.builder()
+            .pathPattern("/v1/crags/**")
+            .sampleRate(0.5)
+            .maxBodySize(100)
+            .build();
+    private static final RequestLogRoute DEFAULT_ROUTE = RequestLogRoute.builder()
+            .pathPattern("/**")
+            .sampleRate(1.0)
+            .maxBodySize(1000)
+            .build();
+
+    private RequestLogSampler requestLogSampler;
+
+    @BeforeEach
+    void setUp() {
+        requestLogSampler = RequestLogSampler.builder()
+                .route(HEALTH_ROUTE)
+                .route(CRAGS_ROUTE)
+                .defaultRoute(DEFAULT_ROUTE)
+                .build();
+    }
+
+    @SuppressWarnings("UnstableApiUsage")
+    @Test
+    void parametersMarkedWithNonNull_throwNullPointerException_forNullValues() {
+        NullPointerTester nullPointerTester = new NullPointerTester();
+        nullPointerTester.testInstanceMethods(requestLogSampler, NullPointerTester.Visibility.PACKAGE);
+    }
+
+    @Test
+    void getRoute_returnsFirstMatchingRoute() {
+        assertThat(requestLogSampler.getRoute("/health"), is(equalTo(HEALTH_ROUTE)));
+        assertThat(requestLogSampler.getRoute("/v1/crags/crag-1/walls"), is(equalTo(CRAGS_ROUTE)));
+    }
+
+    @Test
+    void getRoute_returnsDefaultRoute_whenNoRouteMatches() {
+        assertThat(requestLogSampler.getRoute("/v1/areas/area-1"), is(equalTo(DEFAULT_ROUTE)));
+    }
+
+    @Test
+    void isSampled_returnsTrueOrFalse_forAllOrNoRequests() {
+        assertThat(DEFAULT_ROUTE.isSampled(), is(equalTo(true)));
+        assertThat(HEALTH_ROUTE.isSampled(), is(equalTo(false)));
+    }
+
+    @Test
+    void isSampled_returnsTrueForSomeButNotAllRequests_whenSampleRateIsBetweenZeroAndOne() {
+        int requests = 1000;
+        int sampledRequests = 0;
+        for (int i = 0; i < requests; i++) {
+            if (CRAGS_ROUTE.isSampled()) {
+                sampledRequests++;
+            }
+        }
+        // the chance of either of these failing at a sample rate of 0.5 is 2^-1000
+        assertThat(sampledRequests, is(greaterThan(0)));
+        assertThat(sampledRequests, is(lessThan(requests)));
+    }
+}
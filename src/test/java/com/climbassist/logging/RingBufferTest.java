@@ -0,0 +1,189 @@
+package com.climbassist.logging;
+
+import com.google.common.collect.ImmutableList;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class RingBufferTest {
+
+    /**
+     * Runs another call on the buffer at a chosen moment, as if another thread had made it between two steps of the
+     * call being tested.
+     */
+    private static final class InterleavingRingBuffer<T> extends RingBuffer<T> {
+
+        private Runnable afterNextGetTail;
+        private Runnable beforeNextCompareAndSetTail;
+        private Runnable afterNextGetHead;
+        private Runnable beforeNextCompareAndSetHead;
+
+        private InterleavingRingBuffer(int capacity) {
+            super(capacity);
+        }
+
+        @Override
+        long getTail() {
+            long tail = super.getTail();
+            Runnable runnable = afterNextGetTail;
+            afterNextGetTail = null;
+            run(runnable);
+            return tail;
+        }
+
+        @Override
+        boolean compareAndSetTail(long expect, long update) {
+            Runnable runnable = beforeNextCompareAndSetTail;
+            beforeNextCompareAndSetTail = null;
+            run(runnable);
+            return super.compareAndSetTail(expect, update);
+        }
+
+        @Override
+        long getHead() {
+            long head = super.getHead();
+            Runnable runnable = afterNextGetHead;
+            afterNextGetHead = null;
+            run(runnable);
+            return head;
+        }
+
+        @Override
+        boolean compareAndSetHead(long expect, long update) {
+            Runnable runnable = beforeNextCompareAndSetHead;
+            beforeNextCompareAndSetHead = null;
+            run(runnable);
+            return super.compareAndSetHead(expect, update);
+        }
+
+        private static void run(Runnable runnable) {
+            if (runnable != null) {
+                runnable.run();
+            }
+        }
+    }
+
+    @Test
+    void constructor_throwsIllegalArgumentException_whenCapacityIsNotPositive() {
+        assertThrows(IllegalArgumentException.class, () -> new RingBuffer<String>(0));
+    }
+
+    @Test
+    void constructor_throwsIllegalArgumentException_whenCapacityIsTooLarge() {
+        assertThrows(IllegalArgumentException.class, () -> new RingBuffer<String>((1 << 30) + 1));
+    }
+
+    @Test
+    void constructor_roundsCapacityUpToPowerOfTwo() {
+        assertThat(new RingBuffer<String>(1).capacity(), is(equalTo(1)));
+        assertThat(new RingBuffer<String>(4).capacity(), is(equalTo(4)));
+        assertThat(new RingBuffer<String>(5).capacity(), is(equalTo(8)));
+    }
+
+    @Test
+    void poll_returnsNull_whenBufferIsEmpty() {
+        assertThat(new RingBuffer<String>(4).poll(), is(nullValue()));
+    }
+
+    @Test
+    void poll_returnsElementsInOrder_acrossWrapAround() {
+        RingBuffer<Integer> ringBuffer = new RingBuffer<>(4);
+        for (int i = 0; i < 10; i++) {
+            assertThat(ringBuffer.offer(i), is(equalTo(true)));
+            assertThat(ringBuffer.poll(), is(equalTo(i)));
+        }
+        assertThat(ringBuffer.poll(), is(nullValue()));
+    }
+
+    @Test
+    void offer_returnsFalse_whenBufferIsFull() {
+        RingBuffer<Integer> ringBuffer = new RingBuffer<>(2);
+        assertThat(ringBuffer.offer(1), is(equalTo(true)));
+        assertThat(ringBuffer.offer(2), is(equalTo(true)));
+        assertThat(ringBuffer.offer(3), is(equalTo(false)));
+        assertThat(ringBuffer.poll(), is(equalTo(1)));
+        assertThat(ringBuffer.offer(3), is(equalTo(true)));
+    }
+
+    @Test
+    void offer_movesOnToNextSlot_whenAnotherThreadFillsSlotAfterItsPositionIsRead() {
+        InterleavingRingBuffer<Integer> ringBuffer = new InterleavingRingBuffer<>(4);
+        ringBuffer.afterNextGetTail = () -> ringBuffer.offer(1);
+        assertThat(ringBuffer.offer(2), is(equalTo(true)));
+        assertThat(ringBuffer.poll(), is(equalTo(1)));
+        assertThat(ringBuffer.poll(), is(equalTo(2)));
+    }
+
+    @Test
+    void offer_movesOnToNextSlot_whenAnotherThreadClaimsSlotFirst() {
+        InterleavingRingBuffer<Integer> ringBuffer = new InterleavingRingBuffer<>(4);
+        ringBuffer.beforeNextCompareAndSetTail = () -> ringBuffer.offer(1);
+        assertThat(ringBuffer.offer(2), is(equalTo(true)));
+        assertThat(ringBuffer.poll(), is(equalTo(1)));
+        assertThat(ringBuffer.poll(), is(equalTo(2)));
+    }
+
+    @Test
+    void poll_movesOnToNextSlot_whenAnotherThreadEmptiesSlotAfterItsPositionIsRead() {
+        InterleavingRingBuffer<Integer> ringBuffer = new InterleavingRingBuffer<>(4);
+        ringBuffer.offer(1);
+        ringBuffer.offer(2);
+        List<Integer> otherThreadElements = new ArrayList<>();
+        ringBuffer.afterNextGetHead = () -> otherThreadElements.add(ringBuffer.poll());
+        assertThat(ringBuffer.poll(), is(equalTo(2)));
+        assertThat(otherThreadElements, is(equalTo(ImmutableList.of(1))));
+    }
+
+    @Test
+    void poll_movesOnToNextSlot_whenAnotherThreadClaimsSlotFirst() {
+        InterleavingRingBuffer<Integer> ringBuffer = new InterleavingRingBuffer<>(4);
+        ringBuffer.offer(1);
+        ringBuffer.offer(2);
+        List<Integer> otherThreadElements = new ArrayList<>();
+        ringBuffer.beforeNextCompareAndSetHead = () -> otherThreadElements.add(ringBuffer.poll());
+        assertThat(ringBuffer.poll(), is(equalTo(2)));
+        assertThat(otherThreadElements, is(equalTo(ImmutableList.of(1))));
+    }
+
+    @Test
+    void offer_neverLosesElements_whenManyThreadsOfferAtOnce() throws InterruptedException {
+        int threads = 4;
+        int elementsPerThread = 10_000;
+        RingBuffer<Integer> ringBuffer = new RingBuffer<>(threads * elementsPerThread);
+        ExecutorService executorService = Executors.newFixedThreadPool(threads);
+        CountDownLatch countDownLatch = new CountDownLatch(threads);
+        for (int thread = 0; thread < threads; thread++) {
+            int firstElement = thread * elementsPerThread;
+            executorService.execute(() -> {
+                for (int i = 0; i < elementsPerThread; i++) {
+                    ringBuffer.offer(firstElement + i);
+                }
+                countDownLatch.countDown();
+            });
+        }
+        assertThat(countDownLatch.await(10, TimeUnit.SECONDS), is(equalTo(true)));
+        executorService.shutdown();
+
+        List<Integer> elements = new ArrayList<>();
+        Integer element;
+        while ((element = ringBuffer.poll()) != null) {
+            elements.add(element);
+        }
+        Set<Integer> uniqueElements = new HashSet<>(elements);
+        assertThat(elements.size(), is(equalTo(threads * elementsPerThread)));
+        assertThat(uniqueElements.size(), is(equalTo(threads * elementsPerThread)));
+    }
+}
@@ -0,0 +1,107 @@
+package com.climbassist.logging;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.testing.NullPointerTester;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.sameInstance;
+
+class SensitiveDataRedactorTest {
+
+    private SensitiveDataRedactor sensitiveDataRedactor;
+
+    @BeforeEach
+    void setUp() {
+        sensitiveDataRedactor = new SensitiveDataRedactor();
+    }
+
+    @SuppressWarnings("UnstableApiUsage")
+    @Test
+    void parametersMarkedWithNonNull_throwNullPointerException_forNullValues() {
+        NullPointerTester nullPointerTester = new NullPointerTester();
+        nullPointerTester.testInstanceMethods(sensitiveDataRedactor, NullPointerTester.Visibility.PACKAGE);
+    }
+
+    @Test
+    void redact_returnsSameMessage_whenNothingIsSensitive() {
+        String message = "Response: {\"status\":200,\"jsonBody\":{\"data\":{\"name\":\"Ünïcödé crag\"}}}";
+        assertThat(sensitiveDataRedactor.redact(message), is(sameInstance(message)));
+    }
+
+    @Test
+    void redact_returnsSameMessage_whenSensitiveFieldIsNotAString() {
+        String message = "{\"username\":null,\"email\":[\"a\"],\"password\" 5}";
+        assertThat(sensitiveDataRedactor.redact(message), is(sameInstance(message)));
+    }
+
+    @Test
+    void redact_redactsWholeValue_whenValueHasEscapedQuotes() {
+        assertThat(sensitiveDataRedactor.redact("{\"emailBody\":\"she said \\\"hi\\\"\",\"name\":\"x\"}"),
+                is(equalTo("{\"emailBody\":\"<REDACTED>\",\"name\":\"x\"}")));
+    }
+
+    @Test
+    void redact_redactsValue_whenFieldIsLastInMessage() {
+        assertThat(sensitiveDataRedactor.redact("{\"password\": \"hunter2\"}"),
+                is(equalTo("{\"password\": \"<REDACTED>\"}")));
+    }
+
+    @Test
+    void redact_redactsToEndOfMessage_whenValueWasTruncated() {
+        assertThat(sensitiveDataRedactor.redact("{\"name\":\"x\",\"password\":\"hunt [content truncated]"),
+                is(equalTo("{\"name\":\"x\",\"password\":\"<REDACTED>")));
+    }
+
+    @Test
+    void redact_doesNotRedactFieldsThatOnlyEndWithSensitiveName() {
+        String message = "{\"myusername\":\"han-solo\",\"Email\":\"han@milleniumfalcon.com\"}";
+        assertThat(sensitiveDataRedactor.redact(message), is(sameInstance(message)));
+    }
+
+    @Test
+    void redact_redactsAlias_whenMessageEndsWithAliasSuffix() {
+        assertThat(sensitiveDataRedactor.redact("User with email han@milleniumfalcon.com does not exist."),
+                is(equalTo("User with email <REDACTED> does not exist.")));
+    }
+
+    @Test
+    void redact_doesNotRedactAlias_whenAliasIsNotFollowedBySuffix() {
+        String message = "User with username han-solo signed in.";
+        assertThat(sensitiveDataRedactor.redact(message), is(sameInstance(message)));
+    }
+
+    @Test
+    void redact_returnsSameMessage_whenMessageEndsBeforeSensitiveFieldHasAValue() {
+        for (String message : ImmutableList.of("{\"password\"", "{\"password\" ", "{\"password\":",
+                "{\"password\": ")) {
+            assertThat(sensitiveDataRedactor.redact(message), is(sameInstance(message)));
+        }
+    }
+
+    @Test
+    void redact_redactsValue_whenFieldNameIsFollowedByWhitespace() {
+        assertThat(sensitiveDataRedactor.redact("{\"password\"\t\u000B\f\r\n: \"hunter2\"}"),
+                is(equalTo("{\"password\"\t\u000B\f\r\n: \"<REDACTED>\"}")));
+    }
+
+    @Test
+    void redact_doesNotRedactAlias_whenAliasEndsMessage() {
+        String message = "User with username han-solo";
+        assertThat(sensitiveDataRedactor.redact(message), is(sameInstance(message)));
+    }
+
+    @Test
+    void redact_doesNotRedactAlias_whenSuffixEndsMessageOrLine() {
+        for (String message : ImmutableList.of("User with username han-solo already exists",
+                "User with username han-solo already exists\n.", "User with username han-solo already exists\r.",
+                "User with username han-solo already exists\u0085.",
+                "User with username han-solo already exists\u2028.",
+                "User with username han-solo already exists\u2029.")) {
+            assertThat(sensitiveDataRedactor.redact(message), is(sameInstance(message)));
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.climbassist.metrics;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.testing.NullPointerTester;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.SortedMap;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+
+class ApiHistogramsTest {
+
+    private ApiHistograms apiHistograms;
+
+    @BeforeEach
+    void setUp() {
+        apiHistograms = ApiHistograms.builder()
+                .build();
+    }
+
+    @SuppressWarnings("UnstableApiUsage")
+    @Test
+    void parametersMarkedWithNonNull_throwNullPointerException_forNullValues() {
+        NullPointerTester nullPointerTester = new NullPointerTester();
+        nullPointerTester.testInstanceMethods(apiHistograms, NullPointerTester.Visibility.PACKAGE);
+    }
+
+    @Test
+    void getSnapshots_returnsSnapshotOfEachApi_sortedByApi() {
+        apiHistograms.record("ListRoutes", 10);
+        apiHistograms.record("GetCrag", 20);
+        apiHistograms.record("ListRoutes", 30);
+
+        SortedMap<String, Histogram.Snapshot> snapshots = apiHistograms.getSnapshots();
+
+        assertThat(new ArrayList<>(snapshots.keySet()), is(equalTo(ImmutableList.of("GetCrag", "ListRoutes"))));
+        assertThat(snapshots.get("GetCrag")
+                .getSum(), is(equalTo(20L)));
+        assertThat(snapshots.get("ListRoutes")
+                .getCount(), is(equalTo(2L)));
+        assertThat(snapshots.get("ListRoutes")
+                .getSum(), is(equalTo(40L)));
+    }
+}
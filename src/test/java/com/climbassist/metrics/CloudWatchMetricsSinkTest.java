@@ -0,0 +1,42 @@
+package com.climbassist.metrics;
+
+import com.amazonaws.services.cloudwatch.AmazonCloudWatch;
+import com.amazonaws.services.cloudwatch.model.PutMetricDataRequest;
+import com.google.common.testing.NullPointerTester;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class CloudWatchMetricsSinkTest {
+
+    @Mock
+    private AmazonCloudWatch mockAmazonCloudWatch;
+
+    private CloudWatchMetricsSink cloudWatchMetricsSink;
+
+    @BeforeEach
+    void setUp() {
+        cloudWatchMetricsSink = CloudWatchMetricsSink.builder()
+                .amazonCloudWatch(mockAmazonCloudWatch)
+                .build();
+    }
+
+    @SuppressWarnings("UnstableApiUsage")
+    @Test
+    void parametersMarkedWithNonNull_throwNullPointerException_forNullValues() {
+        NullPointerTester nullPointerTester = new NullPointerTester();
+        nullPointerTester.testInstanceMethods(cloudWatchMetricsSink, NullPointerTester.Visibility.PACKAGE);
+    }
+
+    @Test
+    void putMetricData_putsMetricDataInCloudWatch() {
+        PutMetricDataRequest putMetricDataRequest = new PutMetricDataRequest().withNamespace("MetricsNamespace");
+        cloudWatchMetricsSink.putMetricData(putMetricDataRequest);
+        verify(mockAmazonCloudWatch).putMetricData(putMetricDataRequest);
+    }
+}
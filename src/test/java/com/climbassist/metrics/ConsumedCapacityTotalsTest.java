@@ -0,0 +1,46 @@
+package com.climbassist.metrics;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.testing.NullPointerTester;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+
+class ConsumedCapacityTotalsTest {
+
+    private ConsumedCapacityTotals consumedCapacityTotals;
+
+    @BeforeEach
+    void setUp() {
+        consumedCapacityTotals = ConsumedCapacityTotals.builder()
+                .build();
+    }
+
+    @SuppressWarnings("UnstableApiUsage")
+    @Test
+    void parametersMarkedWithNonNull_throwNullPointerException_forNullValues() {
+        NullPointerTester nullPointerTester = new NullPointerTester();
+        nullPointerTester.testInstanceMethods(consumedCapacityTotals, NullPointerTester.Visibility.PACKAGE);
+    }
+
+    @Test
+    void forEachTotal_returnsTotalOfEachApiAndTable_sortedByApiAndThenTable() {
+        consumedCapacityTotals.record("ListRoutes", "Routes", 2.5, 0.0);
+        consumedCapacityTotals.record("GetCrag", "Walls", 1.0, 0.0);
+        consumedCapacityTotals.record("GetCrag", "Crags", 0.5, 0.0);
+        consumedCapacityTotals.record("ListRoutes", "Routes", 0.5, 1.0);
+
+        List<String> totals = new ArrayList<>();
+        consumedCapacityTotals.forEachTotal((api, tableName, readCapacityUnits, writeCapacityUnits) -> totals.add(
+                String.format("%s %s %s %s", api, tableName, readCapacityUnits, writeCapacityUnits)));
+
+        assertThat(totals, is(equalTo(ImmutableList.of("GetCrag Crags 0.5 0.0", "GetCrag Walls 1.0 0.0",
+                "ListRoutes Routes 3.0 1.0"))));
+    }
+}
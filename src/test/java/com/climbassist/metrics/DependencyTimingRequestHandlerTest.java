@@ -0,0 +1,54 @@
+package com.climbassist.metrics;
+
+import com.amazonaws.AmazonWebServiceRequest;
+import com.amazonaws.DefaultRequest;
+import com.amazonaws.Request;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+
+class DependencyTimingRequestHandlerTest {
+
+    private DependencyTimingRequestHandler dependencyTimingRequestHandler;
+    private RequestTimings requestTimings;
+
+    @BeforeEach
+    void setUp() {
+        dependencyTimingRequestHandler = DependencyTimingRequestHandler.builder()
+                .dependency(RequestTimings.COGNITO)
+                .build();
+        requestTimings = RequestTimings.bind();
+    }
+
+    @AfterEach
+    void tearDown() {
+        RequestTimings.unbind();
+    }
+
+    @Test
+    void afterResponse_recordsCall() {
+        Request<?> request = new DefaultRequest<>(AmazonWebServiceRequest.NOOP, "AWSCognitoIdentityProvider");
+        dependencyTimingRequestHandler.beforeRequest(request);
+        dependencyTimingRequestHandler.afterResponse(request, null);
+        assertThat(requestTimings.getCalls(RequestTimings.COGNITO), is(equalTo(1)));
+    }
+
+    @Test
+    void afterError_recordsCall() {
+        Request<?> request = new DefaultRequest<>(AmazonWebServiceRequest.NOOP, "AWSCognitoIdentityProvider");
+        dependencyTimingRequestHandler.beforeRequest(request);
+        dependencyTimingRequestHandler.afterError(request, null, new RuntimeException());
+        assertThat(requestTimings.getCalls(RequestTimings.COGNITO), is(equalTo(1)));
+    }
+
+    @Test
+    void afterResponse_doesNotRecordCall_whenRequestWasNotStarted() {
+        dependencyTimingRequestHandler.afterResponse(
+                new DefaultRequest<>(AmazonWebServiceRequest.NOOP, "AWSCognitoIdentityProvider"), null);
+        assertThat(requestTimings.getCalls(RequestTimings.COGNITO), is(equalTo(0)));
+    }
+}
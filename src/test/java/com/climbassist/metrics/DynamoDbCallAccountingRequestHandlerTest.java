@@ -0,0 +1,250 @@
+package com.climbassist.metrics;
+
+import com.amazonaws.AmazonWebServiceRequest;
+import com.amazonaws.DefaultRequest;
+import com.amazonaws.Response;
+import com.amazonaws.services.dynamodbv2.model.AttributeValue;
+import com.amazonaws.services.dynamodbv2.model.BatchGetItemRequest;
+import com.amazonaws.services.dynamodbv2.model.BatchGetItemResult;
+import com.amazonaws.services.dynamodbv2.model.BatchWriteItemRequest;
+import com.amazonaws.services.dynamodbv2.model.BatchWriteItemResult;
+import com.amazonaws.services.dynamodbv2.model.ComparisonOperator;
+import com.amazonaws.services.dynamodbv2.model.Condition;
+import com.amazonaws.services.dynamodbv2.model.ConsumedCapacity;
+import com.amazonaws.services.dynamodbv2.model.DeleteItemRequest;
+import com.amazonaws.services.dynamodbv2.model.DeleteItemResult;
+import com.amazonaws.services.dynamodbv2.model.DescribeTableRequest;
+import com.amazonaws.services.dynamodbv2.model.DescribeTableResult;
+import com.amazonaws.services.dynamodbv2.model.GetItemRequest;
+import com.amazonaws.services.dynamodbv2.model.GetItemResult;
+import com.amazonaws.services.dynamodbv2.model.PutItemRequest;
+import com.amazonaws.services.dynamodbv2.model.PutItemResult;
+import com.amazonaws.services.dynamodbv2.model.QueryRequest;
+import com.amazonaws.services.dynamodbv2.model.QueryResult;
+import com.amazonaws.services.dynamodbv2.model.ReturnConsumedCapacity;
+import com.amazonaws.services.dynamodbv2.model.ScanRequest;
+import com.amazonaws.services.dynamodbv2.model.ScanResult;
+import com.amazonaws.services.dynamodbv2.model.TransactGetItemsRequest;
+import com.amazonaws.services.dynamodbv2.model.TransactGetItemsResult;
+import com.amazonaws.services.dynamodbv2.model.TransactWriteItemsRequest;
+import com.amazonaws.services.dynamodbv2.model.TransactWriteItemsResult;
+import com.amazonaws.services.dynamodbv2.model.UpdateItemRequest;
+import com.amazonaws.services.dynamodbv2.model.UpdateItemResult;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.anEmptyMap;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class DynamoDbCallAccountingRequestHandlerTest {
+
+    private static final int MAX_CALLS_PER_REQUEST = 2;
+
+    private DynamoDbCallAccountingRequestHandler dynamoDbCallAccountingRequestHandler;
+    private RequestTimings requestTimings;
+
+    @BeforeEach
+    void setUp() {
+        dynamoDbCallAccountingRequestHandler = DynamoDbCallAccountingRequestHandler.builder()
+                .maxCallsPerRequest(MAX_CALLS_PER_REQUEST)
+                .build();
+        requestTimings = RequestTimings.bind();
+    }
+
+    @AfterEach
+    void tearDown() {
+        RequestTimings.unbind();
+    }
+
+    @Test
+    void beforeRequest_allowsCalls_whenUnderBudget() {
+        RequestTimings.recordCall(RequestTimings.DYNAMO_DB, 1);
+        dynamoDbCallAccountingRequestHandler.beforeRequest(buildRequest(new GetItemRequest()));
+    }
+
+    @Test
+    void beforeRequest_throwsStorageCallBudgetExceededException_whenBudgetIsUsedUp() {
+        RequestTimings.recordCall(RequestTimings.DYNAMO_DB, 1);
+        RequestTimings.recordCall(RequestTimings.DYNAMO_DB, 1);
+        assertThrows(StorageCallBudgetExceededException.class,
+                () -> dynamoDbCallAccountingRequestHandler.beforeRequest(buildRequest(new GetItemRequest())));
+    }
+
+    @Test
+    void beforeRequest_allowsCallsOverBudget_whenRequestIsExempt() {
+        RequestTimings.exemptFromCallBudget();
+        for (int i = 0; i <= MAX_CALLS_PER_REQUEST; i++) {
+            RequestTimings.recordCall(RequestTimings.DYNAMO_DB, 1);
+            dynamoDbCallAccountingRequestHandler.beforeRequest(buildRequest(new GetItemRequest()));
+        }
+    }
+
+    @Test
+    void beforeRequest_allowsCalls_whenNoRequestIsBeingTimed() {
+        RequestTimings.unbind();
+        for (int i = 0; i <= MAX_CALLS_PER_REQUEST; i++) {
+            dynamoDbCallAccountingRequestHandler.beforeRequest(buildRequest(buildQueryRequest("crag-1")));
+        }
+    }
+
+    @Test
+    void beforeRequest_recordsRepeatedQueries() {
+        dynamoDbCallAccountingRequestHandler.beforeRequest(buildRequest(buildQueryRequest("crag-1")));
+        dynamoDbCallAccountingRequestHandler.beforeRequest(buildRequest(buildQueryRequest("crag-2")));
+        dynamoDbCallAccountingRequestHandler.beforeRequest(buildRequest(buildQueryRequest("crag-1")));
+
+        assertThat(requestTimings.getRepeatedQueryCounts()
+                .size(), is(equalTo(1)));
+        assertThat(requestTimings.getRepeatedQueryCounts()
+                .values()
+                .iterator()
+                .next(), is(equalTo(2)));
+    }
+
+    @Test
+    void beforeRequest_doesNotRecordLaterPagesAsRepeatedQueries() {
+        dynamoDbCallAccountingRequestHandler.beforeRequest(buildRequest(buildQueryRequest("crag-1")));
+        dynamoDbCallAccountingRequestHandler.beforeRequest(buildRequest(buildQueryRequest("crag-1")
+                .withExclusiveStartKey(ImmutableMap.of("wallId", new AttributeValue("wall-1")))));
+
+        assertThat(requestTimings.getRepeatedQueryCounts(), is(anEmptyMap()));
+    }
+
+    @Test
+    void beforeExecution_asksForTotalConsumedCapacity() {
+        QueryRequest queryRequest = buildQueryRequest("crag-1");
+        PutItemRequest putItemRequest = new PutItemRequest();
+        TransactWriteItemsRequest transactWriteItemsRequest = new TransactWriteItemsRequest();
+
+        dynamoDbCallAccountingRequestHandler.beforeExecution(queryRequest);
+        dynamoDbCallAccountingRequestHandler.beforeExecution(putItemRequest);
+        dynamoDbCallAccountingRequestHandler.beforeExecution(transactWriteItemsRequest);
+
+        assertThat(queryRequest.getReturnConsumedCapacity(), is(equalTo(ReturnConsumedCapacity.TOTAL.toString())));
+        assertThat(putItemRequest.getReturnConsumedCapacity(), is(equalTo(ReturnConsumedCapacity.TOTAL.toString())));
+        assertThat(transactWriteItemsRequest.getReturnConsumedCapacity(),
+                is(equalTo(ReturnConsumedCapacity.TOTAL.toString())));
+    }
+
+    @Test
+    void beforeExecution_asksForTotalConsumedCapacity_forEveryOperationThatCanReportIt() {
+        GetItemRequest getItemRequest = new GetItemRequest();
+        ScanRequest scanRequest = new ScanRequest();
+        BatchGetItemRequest batchGetItemRequest = new BatchGetItemRequest();
+        TransactGetItemsRequest transactGetItemsRequest = new TransactGetItemsRequest();
+        UpdateItemRequest updateItemRequest = new UpdateItemRequest();
+        DeleteItemRequest deleteItemRequest = new DeleteItemRequest();
+        BatchWriteItemRequest batchWriteItemRequest = new BatchWriteItemRequest();
+        DescribeTableRequest describeTableRequest = new DescribeTableRequest();
+
+        for (AmazonWebServiceRequest request : ImmutableList.of(getItemRequest, scanRequest, batchGetItemRequest,
+                transactGetItemsRequest, updateItemRequest, deleteItemRequest, batchWriteItemRequest,
+                describeTableRequest)) {
+            assertThat(dynamoDbCallAccountingRequestHandler.beforeExecution(request), is(sameInstance(request)));
+        }
+
+        String total = ReturnConsumedCapacity.TOTAL.toString();
+        assertThat(getItemRequest.getReturnConsumedCapacity(), is(equalTo(total)));
+        assertThat(scanRequest.getReturnConsumedCapacity(), is(equalTo(total)));
+        assertThat(batchGetItemRequest.getReturnConsumedCapacity(), is(equalTo(total)));
+        assertThat(transactGetItemsRequest.getReturnConsumedCapacity(), is(equalTo(total)));
+        assertThat(updateItemRequest.getReturnConsumedCapacity(), is(equalTo(total)));
+        assertThat(deleteItemRequest.getReturnConsumedCapacity(), is(equalTo(total)));
+        assertThat(batchWriteItemRequest.getReturnConsumedCapacity(), is(equalTo(total)));
+        assertThat(describeTableRequest, is(equalTo(new DescribeTableRequest())));
+    }
+
+    @Test
+    void afterResponse_recordsConsumedCapacity_asReadsOrWritesByOperation() {
+        dynamoDbCallAccountingRequestHandler.afterResponse(buildRequest(buildQueryRequest("crag-1")), new Response<>(
+                new QueryResult().withConsumedCapacity(buildConsumedCapacity("Walls", 1.5)), null));
+        dynamoDbCallAccountingRequestHandler.afterResponse(buildRequest(new TransactWriteItemsRequest()),
+                new Response<>(new TransactWriteItemsResult().withConsumedCapacity(buildConsumedCapacity("Walls", 4.0),
+                        buildConsumedCapacity("Routes", 2.0)), null));
+
+        Map<String, double[]> consumedCapacities = new LinkedHashMap<>();
+        requestTimings.forEachConsumedCapacity(
+                (tableName, readCapacityUnits, writeCapacityUnits) -> consumedCapacities.put(tableName,
+                        new double[]{readCapacityUnits, writeCapacityUnits}));
+        assertThat(consumedCapacities.keySet(), contains("Walls", "Routes"));
+        assertThat(consumedCapacities.get("Walls"), is(equalTo(new double[]{1.5, 4.0})));
+        assertThat(consumedCapacities.get("Routes"), is(equalTo(new double[]{0.0, 2.0})));
+    }
+
+    @Test
+    void afterResponse_recordsConsumedCapacity_forEveryOperationThatCanReportIt() {
+        for (Object result : ImmutableList.of(
+                new GetItemResult().withConsumedCapacity(buildConsumedCapacity("Crags", 1.0)),
+                new ScanResult().withConsumedCapacity(buildConsumedCapacity("Crags", 2.0)),
+                new BatchGetItemResult().withConsumedCapacity(buildConsumedCapacity("Crags", 4.0)),
+                new TransactGetItemsResult().withConsumedCapacity(buildConsumedCapacity("Crags", 8.0)),
+                new PutItemResult().withConsumedCapacity(buildConsumedCapacity("Walls", 1.0)),
+                new UpdateItemResult().withConsumedCapacity(buildConsumedCapacity("Walls", 2.0)),
+                new DeleteItemResult().withConsumedCapacity(buildConsumedCapacity("Walls", 4.0)),
+                new BatchWriteItemResult().withConsumedCapacity(buildConsumedCapacity("Walls", 8.0)),
+                new DescribeTableResult())) {
+            dynamoDbCallAccountingRequestHandler.afterResponse(buildRequest(new GetItemRequest()),
+                    new Response<>(result, null));
+        }
+
+        Map<String, double[]> consumedCapacities = new LinkedHashMap<>();
+        requestTimings.forEachConsumedCapacity(
+                (tableName, readCapacityUnits, writeCapacityUnits) -> consumedCapacities.put(tableName,
+                        new double[]{readCapacityUnits, writeCapacityUnits}));
+        assertThat(consumedCapacities.keySet(), contains("Crags", "Walls"));
+        assertThat(consumedCapacities.get("Crags"), is(equalTo(new double[]{15.0, 0.0})));
+        assertThat(consumedCapacities.get("Walls"), is(equalTo(new double[]{0.0, 15.0})));
+    }
+
+    @Test
+    void afterResponse_skipsConsumedCapacity_whenItIsMissingTableOrUnits() {
+        dynamoDbCallAccountingRequestHandler.afterResponse(buildRequest(new BatchGetItemRequest()),
+                new Response<>(new BatchGetItemResult().withConsumedCapacity(new ConsumedCapacity().withCapacityUnits(
+                        1.0), new ConsumedCapacity().withTableName("Crags"), null), null));
+        dynamoDbCallAccountingRequestHandler.afterResponse(buildRequest(new BatchGetItemRequest()),
+                new Response<>(new BatchGetItemResult(), null));
+
+        requestTimings.forEachConsumedCapacity((tableName, readCapacityUnits, writeCapacityUnits) -> {
+            throw new AssertionError("Unexpected consumed capacity for " + tableName);
+        });
+    }
+
+    @Test
+    void afterResponse_doesNothing_whenNoCapacityIsReturned() {
+        dynamoDbCallAccountingRequestHandler.afterResponse(buildRequest(new GetItemRequest()),
+                new Response<>(new GetItemResult(), null));
+        dynamoDbCallAccountingRequestHandler.afterResponse(buildRequest(new GetItemRequest()), null);
+
+        requestTimings.forEachConsumedCapacity((tableName, readCapacityUnits, writeCapacityUnits) -> {
+            throw new AssertionError("Unexpected consumed capacity for " + tableName);
+        });
+    }
+
+    private static ConsumedCapacity buildConsumedCapacity(String tableName, double capacityUnits) {
+        return new ConsumedCapacity().withTableName(tableName)
+                .withCapacityUnits(capacityUnits);
+    }
+
+    private static DefaultRequest<?> buildRequest(AmazonWebServiceRequest amazonWebServiceRequest) {
+        return new DefaultRequest<>(amazonWebServiceRequest, "AmazonDynamoDBv2");
+    }
+
+    private static QueryRequest buildQueryRequest(String cragId) {
+        return new QueryRequest().withTableName("Walls")
+                .withIndexName("CragIdIndex")
+                .withKeyConditions(ImmutableMap.of("cragId", new Condition().withComparisonOperator(
+                        ComparisonOperator.EQ)
+                        .withAttributeValueList(new AttributeValue(cragId))));
+    }
+}
@@ -0,0 +1,106 @@
+package com.climbassist.metrics;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.allOf;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+
+class HistogramTest {
+
+    private Histogram histogram;
+
+    @BeforeEach
+    void setUp() {
+        histogram = new Histogram();
+    }
+
+    @Test
+    void getIndex_mapsEachBucketsRangeToIt() {
+        for (int i = 0; i < Histogram.BUCKET_COUNT; i++) {
+            long lowestValue = i == 0 ? 0 : Histogram.getHighestValue(i - 1) + 1;
+            long highestValue = Histogram.getHighestValue(i);
+            assertThat(Histogram.getIndex(lowestValue), is(equalTo(i)));
+            assertThat(Histogram.getIndex(highestValue), is(equalTo(i)));
+            // buckets are never wider than 1/32 of the values in them
+            assertThat((double) (highestValue - lowestValue), is(lessThanOrEqualTo(lowestValue / 32.0)));
+        }
+        assertThat(Histogram.getHighestValue(Histogram.BUCKET_COUNT - 1),
+                is(equalTo(Histogram.MAX_VALUE)));
+    }
+
+    @Test
+    void getSnapshot_returnsEmptySnapshot_whenNothingHasBeenRecorded() {
+        Histogram.Snapshot snapshot = histogram.getSnapshot();
+        assertThat(snapshot.getCount(), is(equalTo(0L)));
+        assertThat(snapshot.getSum(), is(equalTo(0L)));
+        assertThat(snapshot.getValueAtPercentile(99.0), is(equalTo(0L)));
+    }
+
+    @Test
+    void getSnapshot_returnsPercentilesWithinRelativeError() {
+        for (long millis = 1; millis <= 1000; millis++) {
+            histogram.record(TimeUnit.MILLISECONDS.toMicros(millis));
+        }
+
+        Histogram.Snapshot snapshot = histogram.getSnapshot();
+        assertThat(snapshot.getCount(), is(equalTo(1000L)));
+        assertThat(snapshot.getSum(), is(equalTo(500_500_000L)));
+        assertWithinRelativeError(snapshot.getValueAtPercentile(50.0), 500_000L);
+        assertWithinRelativeError(snapshot.getValueAtPercentile(99.0), 990_000L);
+        assertWithinRelativeError(snapshot.getValueAtPercentile(99.9), 999_000L);
+        assertWithinRelativeError(snapshot.getValueAtPercentile(100.0), 1_000_000L);
+    }
+
+    @Test
+    void record_clampsValuesOutsideOfRange() {
+        histogram.record(-1);
+        histogram.record(Long.MAX_VALUE);
+
+        Histogram.Snapshot snapshot = histogram.getSnapshot();
+        assertThat(snapshot.getValueAtPercentile(50.0), is(equalTo(0L)));
+        assertThat(snapshot.getValueAtPercentile(100.0), is(equalTo(Histogram.MAX_VALUE)));
+    }
+
+    @Test
+    void getSnapshot_addsUpEveryThreadsRecords() throws InterruptedException {
+        // more threads than stripes, so that some of them record into the same stripe
+        int threadCount = Histogram.STRIPE_COUNT * 2;
+        int recordsPerThread = 10_000;
+        List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < threadCount; i++) {
+            Thread thread = new Thread(() -> {
+                for (int j = 0; j < recordsPerThread; j++) {
+                    histogram.record(j);
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        Histogram.Snapshot snapshot = histogram.getSnapshot();
+        assertThat(snapshot.getCount(), is(equalTo((long) threadCount * recordsPerThread)));
+        assertThat(snapshot.getSum(), is(equalTo((long) threadCount * recordsPerThread * (recordsPerThread - 1) / 2)));
+    }
+
+    @Test
+    void stripeCount_isPowerOfTwo() {
+        assertThat(Integer.bitCount(Histogram.STRIPE_COUNT), is(equalTo(1)));
+    }
+
+    private static void assertWithinRelativeError(long actualValue, long expectedValue) {
+        assertThat(actualValue, is(allOf(greaterThanOrEqualTo(expectedValue),
+                lessThanOrEqualTo(expectedValue + expectedValue / 32))));
+    }
+}
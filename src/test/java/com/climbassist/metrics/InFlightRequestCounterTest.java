@@ -0,0 +1,33 @@
+package com.climbassist.metrics;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+
+class InFlightRequestCounterTest {
+
+    private InFlightRequestCounter inFlightRequestCounter;
+
+    @BeforeEach
+    void setUp() {
+        inFlightRequestCounter = InFlightRequestCounter.builder()
+                .maxConnections(50)
+                .build();
+    }
+
+    @Test
+    void getInFlightRequests_countsRequestsUntilTheyCompleteOrFail() {
+        inFlightRequestCounter.beforeRequest(null);
+        inFlightRequestCounter.beforeRequest(null);
+        inFlightRequestCounter.beforeRequest(null);
+        assertThat(inFlightRequestCounter.getInFlightRequests(), is(equalTo(3)));
+
+        inFlightRequestCounter.afterResponse(null, null);
+        inFlightRequestCounter.afterError(null, null, new RuntimeException());
+        assertThat(inFlightRequestCounter.getInFlightRequests(), is(equalTo(1)));
+        assertThat(inFlightRequestCounter.getMaxConnections(), is(equalTo(50)));
+    }
+}
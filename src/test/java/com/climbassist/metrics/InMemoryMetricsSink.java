@@ -0,0 +1,28 @@
+package com.climbassist.metrics;
+
+import com.amazonaws.services.cloudwatch.model.PutMetricDataRequest;
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.Setter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A stand-in for CloudWatch that keeps the requests it's sent, and can be made to fail.
+ */
+class InMemoryMetricsSink implements MetricsSink {
+
+    @Getter
+    private final List<PutMetricDataRequest> putMetricDataRequests = new ArrayList<>();
+    @Setter
+    private boolean failing;
+
+    @Override
+    public synchronized void putMetricData(@NonNull PutMetricDataRequest putMetricDataRequest) {
+        if (failing) {
+            throw new IllegalStateException("Sink is failing.");
+        }
+        putMetricDataRequests.add(putMetricDataRequest);
+    }
+}
@@ -0,0 +1,51 @@
+package com.climbassist.metrics;
+
+import com.google.common.testing.NullPointerTester;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class MetricsControllerTest {
+
+    private static final String METRICS = "# TYPE climbassist_requests_total counter\n";
+
+    @Mock
+    private PrometheusMetricsRenderer mockPrometheusMetricsRenderer;
+
+    private MetricsController metricsController;
+
+    @BeforeEach
+    void setUp() {
+        metricsController = MetricsController.builder()
+                .prometheusMetricsRenderer(mockPrometheusMetricsRenderer)
+                .build();
+    }
+
+    @SuppressWarnings("UnstableApiUsage")
+    @Test
+    void parametersMarkedWithNonNull_throwNullPointerException_forNullValues() {
+        NullPointerTester nullPointerTester = new NullPointerTester();
+        nullPointerTester.testInstanceMethods(metricsController, NullPointerTester.Visibility.PACKAGE);
+    }
+
+    @Test
+    void getMetrics_returnsRenderedMetricsAsPrometheusText() {
+        when(mockPrometheusMetricsRenderer.render()).thenReturn(METRICS);
+        ResponseEntity<String> responseEntity = metricsController.getMetrics();
+        assertThat(responseEntity.getStatusCode(), is(equalTo(HttpStatus.OK)));
+        assertThat(responseEntity.getBody(), is(equalTo(METRICS)));
+        assertThat(responseEntity.getHeaders()
+                .getFirst(HttpHeaders.CONTENT_TYPE), is(equalTo(PrometheusMetricsRenderer.CONTENT_TYPE)));
+    }
+}
@@ -1,44 +1,36 @@
 package com.climbassist.metrics;
 
-import com.amazonaws.services.cloudwatch.AmazonCloudWatch;
 import com.amazonaws.services.cloudwatch.model.Dimension;
 import com.amazonaws.services.cloudwatch.model.MetricDatum;
-import com.amazonaws.services.cloudwatch.model.PutMetricDataRequest;
 import com.amazonaws.services.cloudwatch.model.StandardUnit;
-import com.google.common.collect.ImmutableSet;
+import com.amazonaws.services.cloudwatch.model.StatisticSet;
+import com.google.common.collect.ImmutableList;
 import com.google.common.testing.NullPointerTester;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
-import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.Mock;
-import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.util.Optional;
-import java.util.Set;
 
-import static org.mockito.Mockito.verify;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
 
-@ExtendWith(MockitoExtension.class)
 class MetricsEmitterTest {
 
-    private static final String METRICS_NAMESPACE = "MetricsNamespace";
     private static final String API = "GetSomething";
     private static final String EXPECTED_ERROR_METRIC_NAME = "errorCount";
     private static final String EXPECTED_FAULT_METRIC_NAME = "faultCount";
     private static final String EXPECTED_DURATION_METRIC_NAME = "duration";
-    private static final Set<Dimension> EXPECTED_DIMENSIONS = ImmutableSet.of(new Dimension().withName("api")
-            .withValue(API));
-
-    @Mock
-    private AmazonCloudWatch mockAmazonCloudWatch;
+    private static final Dimension EXPECTED_DIMENSION = new Dimension().withName("api")
+            .withValue(API);
 
     private MetricsEmitter metricsEmitter;
 
     @BeforeEach
     void setUp() {
         metricsEmitter = MetricsEmitter.builder()
-                .metricsNamespace(METRICS_NAMESPACE)
-                .amazonCloudWatch(mockAmazonCloudWatch)
                 .build();
     }
 
@@ -50,49 +42,129 @@ class MetricsEmitterTest {
     }
 
     @Test
-    void emitErrorMetric_emitsOne_whenErrorIsTrue() {
+    void emitErrorMetric_aggregatesOnesAndZeros() {
         metricsEmitter.emitErrorMetric(API, true);
-        verify(mockAmazonCloudWatch).putMetricData(
-                buildPutMetricDataRequest(EXPECTED_ERROR_METRIC_NAME, 1.0, Optional.empty()));
+        metricsEmitter.emitErrorMetric(API, false);
+        metricsEmitter.emitErrorMetric(API, false);
+        assertThat(metricsEmitter.drainMetricData(), is(equalTo(ImmutableList.of(
+                buildMetricDatum(EXPECTED_ERROR_METRIC_NAME, buildStatisticSet(3, 1.0, 0.0, 1.0), Optional.empty())))));
     }
 
     @Test
-    void emitErrorMetric_emitsZero_whenErrorIsFalse() {
-        metricsEmitter.emitErrorMetric(API, false);
-        verify(mockAmazonCloudWatch).putMetricData(
-                buildPutMetricDataRequest(EXPECTED_ERROR_METRIC_NAME, 0.0, Optional.empty()));
+    void emitFaultMetric_aggregatesOnesAndZeros() {
+        metricsEmitter.emitFaultMetric(API, false);
+        metricsEmitter.emitFaultMetric(API, true);
+        assertThat(metricsEmitter.drainMetricData(), is(equalTo(ImmutableList.of(
+                buildMetricDatum(EXPECTED_FAULT_METRIC_NAME, buildStatisticSet(2, 1.0, 0.0, 1.0), Optional.empty())))));
     }
 
     @Test
-    void emitFaultMetric_emitsOne_whenFaultIsTrue() {
-        metricsEmitter.emitFaultMetric(API, true);
-        verify(mockAmazonCloudWatch).putMetricData(
-                buildPutMetricDataRequest(EXPECTED_FAULT_METRIC_NAME, 1.0, Optional.empty()));
+    void emitDurationMetric_aggregatesDurations() {
+        metricsEmitter.emitDurationMetric(API, 400.5);
+        metricsEmitter.emitDurationMetric(API, 12.0);
+        assertThat(metricsEmitter.drainMetricData(), is(equalTo(ImmutableList.of(
+                buildMetricDatum(EXPECTED_DURATION_METRIC_NAME, buildStatisticSet(2, 412.5, 12.0, 400.5),
+                        Optional.of(StandardUnit.Milliseconds))))));
+    }
+
+    @Test
+    void emitTableMetric_aggregatesMetricWithTableDimension() {
+        metricsEmitter.emitTableMetric("Crags", "compressionBytesSaved", 1024.0, StandardUnit.Bytes);
+        assertThat(metricsEmitter.drainMetricData(), is(equalTo(ImmutableList.of(
+                new MetricDatum().withDimensions(new Dimension().withName("table")
+                        .withValue("Crags"))
+                        .withMetricName("compressionBytesSaved")
+                        .withStatisticValues(buildStatisticSet(1, 1024.0, 1024.0, 1024.0))
+                        .withUnit(StandardUnit.Bytes)))));
+    }
+
+    @Test
+    void emitDependencyMetrics_aggregatesCallsAndDuration() {
+        metricsEmitter.emitDependencyMetrics(API, "dynamodb", 3, 12.5);
+        metricsEmitter.emitDependencyMetrics(API, "dynamodb", 1, 2.5);
+        assertThat(metricsEmitter.drainMetricData(), containsInAnyOrder(
+                buildMetricDatum("dynamodbCalls", buildStatisticSet(2, 4.0, 1.0, 3.0), Optional.of(StandardUnit.Count)),
+                buildMetricDatum("dynamodbDuration", buildStatisticSet(2, 15.0, 2.5, 12.5),
+                        Optional.of(StandardUnit.Milliseconds))));
     }
 
     @Test
-    void emitFaultMetric_emitsZero_whenFaultIsFalse() {
+    void emitRepeatedQueryMetric_aggregatesRepeatedQueries() {
+        metricsEmitter.emitRepeatedQueryMetric(API, 0);
+        metricsEmitter.emitRepeatedQueryMetric(API, 4);
+        assertThat(metricsEmitter.drainMetricData(), is(equalTo(ImmutableList.of(
+                buildMetricDatum("repeatedQueries", buildStatisticSet(2, 4.0, 0.0, 4.0),
+                        Optional.of(StandardUnit.Count))))));
+    }
+
+    @Test
+    void emitConsumedCapacityMetrics_aggregatesPerApiAndTable() {
+        metricsEmitter.emitConsumedCapacityMetrics(API, "Crags", 1.5, 0.0);
+        metricsEmitter.emitConsumedCapacityMetrics(API, "Crags", 0.5, 1.0);
+        Dimension[] expectedDimensions = {EXPECTED_DIMENSION, new Dimension().withName("table")
+                .withValue("Crags")};
+        assertThat(metricsEmitter.drainMetricData(), containsInAnyOrder(new MetricDatum().withDimensions(
+                expectedDimensions)
+                .withMetricName("consumedReadCapacityUnits")
+                .withStatisticValues(buildStatisticSet(2, 2.0, 0.5, 1.5))
+                .withUnit(StandardUnit.Count), new MetricDatum().withDimensions(expectedDimensions)
+                .withMetricName("consumedWriteCapacityUnits")
+                .withStatisticValues(buildStatisticSet(2, 1.0, 0.0, 1.0))
+                .withUnit(StandardUnit.Count)));
+    }
+
+    @Test
+    void emitCacheHitMetric_aggregatesHitsAndMissesWithCacheDimension() {
+        metricsEmitter.emitCacheHitMetric("userData", true);
+        metricsEmitter.emitCacheHitMetric("userData", true);
+        metricsEmitter.emitCacheHitMetric("userData", false);
+        assertThat(metricsEmitter.drainMetricData(), is(equalTo(ImmutableList.of(
+                new MetricDatum().withDimensions(new Dimension().withName("cache")
+                        .withValue("userData"))
+                        .withMetricName("cacheHit")
+                        .withStatisticValues(buildStatisticSet(3, 2.0, 0.0, 1.0))))));
+    }
+
+    @Test
+    void drainMetricData_keepsMetricsSeparate_perApiAndMetric() {
+        metricsEmitter.emitErrorMetric(API, true);
+        metricsEmitter.emitErrorMetric("GetSomethingElse", false);
         metricsEmitter.emitFaultMetric(API, false);
-        verify(mockAmazonCloudWatch).putMetricData(
-                buildPutMetricDataRequest(EXPECTED_FAULT_METRIC_NAME, 0.0, Optional.empty()));
+        assertThat(metricsEmitter.drainMetricData(), containsInAnyOrder(
+                buildMetricDatum(EXPECTED_ERROR_METRIC_NAME, buildStatisticSet(1, 1.0, 1.0, 1.0), Optional.empty()),
+                new MetricDatum().withDimensions(new Dimension().withName("api")
+                        .withValue("GetSomethingElse"))
+                        .withMetricName(EXPECTED_ERROR_METRIC_NAME)
+                        .withStatisticValues(buildStatisticSet(1, 0.0, 0.0, 0.0)),
+                buildMetricDatum(EXPECTED_FAULT_METRIC_NAME, buildStatisticSet(1, 0.0, 0.0, 0.0), Optional.empty())));
     }
 
     @Test
-    void emitDurationMetric_emitsDurationMetric() {
-        double duration = 420.69;
-        metricsEmitter.emitDurationMetric(API, duration);
-        verify(mockAmazonCloudWatch).putMetricData(buildPutMetricDataRequest(EXPECTED_DURATION_METRIC_NAME, duration,
-                Optional.of(StandardUnit.Milliseconds)));
+    void drainMetricData_returnsOnlyMetricsEmittedSinceLastDrain() {
+        metricsEmitter.emitDurationMetric(API, 100.0);
+        metricsEmitter.drainMetricData();
+        assertThat(metricsEmitter.drainMetricData(), is(empty()));
+
+        metricsEmitter.emitDurationMetric(API, 50.0);
+        assertThat(metricsEmitter.drainMetricData(), is(equalTo(ImmutableList.of(
+                buildMetricDatum(EXPECTED_DURATION_METRIC_NAME, buildStatisticSet(1, 50.0, 50.0, 50.0),
+                        Optional.of(StandardUnit.Milliseconds))))));
+    }
+
+    private static StatisticSet buildStatisticSet(double sampleCount, double sum, double minimum, double maximum) {
+        return new StatisticSet().withSampleCount(sampleCount)
+                .withSum(sum)
+                .withMinimum(minimum)
+                .withMaximum(maximum);
     }
 
-    private PutMetricDataRequest buildPutMetricDataRequest(String metricName, double value,
-                                                           @SuppressWarnings("OptionalUsedAsFieldOrParameterType")
-                                                                   Optional<StandardUnit> maybeUnit) {
-        MetricDatum metricDatum = new MetricDatum().withDimensions(EXPECTED_DIMENSIONS)
+    private static MetricDatum buildMetricDatum(String metricName, StatisticSet statisticSet,
+                                                @SuppressWarnings("OptionalUsedAsFieldOrParameterType")
+                                                        Optional<StandardUnit> maybeUnit) {
+        MetricDatum metricDatum = new MetricDatum().withDimensions(EXPECTED_DIMENSION)
                 .withMetricName(metricName)
-                .withValue(value);
+                .withStatisticValues(statisticSet);
         maybeUnit.ifPresent(metricDatum::setUnit);
-        return new PutMetricDataRequest().withNamespace(METRICS_NAMESPACE)
-                .withMetricData(metricDatum);
+        return metricDatum;
     }
 }
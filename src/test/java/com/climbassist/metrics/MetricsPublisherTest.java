@@ -0,0 +1,128 @@
+package com.climbassist.metrics;
+
+import com.amazonaws.services.cloudwatch.model.PutMetricDataRequest;
+import com.google.common.testing.NullPointerTester;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class MetricsPublisherTest {
+
+    private static final String METRICS_NAMESPACE = "MetricsNamespace";
+    private static final int MAX_PENDING_REQUESTS = 2;
+
+    private MetricsEmitter metricsEmitter;
+    private InMemoryMetricsSink inMemoryMetricsSink;
+    private MetricsPublisher metricsPublisher;
+
+    @BeforeEach
+    void setUp() {
+        metricsEmitter = MetricsEmitter.builder()
+                .build();
+        inMemoryMetricsSink = new InMemoryMetricsSink();
+        metricsPublisher = MetricsPublisher.builder()
+                .metricsEmitter(metricsEmitter)
+                .metricsSink(inMemoryMetricsSink)
+                .metricsNamespace(METRICS_NAMESPACE)
+                .flushIntervalSeconds(60)
+                .maxPendingRequests(MAX_PENDING_REQUESTS)
+                .build();
+    }
+
+    @SuppressWarnings("UnstableApiUsage")
+    @Test
+    void parametersMarkedWithNonNull_throwNullPointerException_forNullValues() {
+        NullPointerTester nullPointerTester = new NullPointerTester();
+        nullPointerTester.setDefault(MetricsEmitter.class, metricsEmitter);
+        nullPointerTester.setDefault(MetricsSink.class, inMemoryMetricsSink);
+        nullPointerTester.testConstructors(MetricsPublisher.class, NullPointerTester.Visibility.PACKAGE);
+        nullPointerTester.testInstanceMethods(metricsPublisher, NullPointerTester.Visibility.PACKAGE);
+    }
+
+    @Test
+    void flush_publishesNothing_whenNoMetricsWereEmitted() {
+        metricsPublisher.flush();
+        assertThat(inMemoryMetricsSink.getPutMetricDataRequests()
+                .size(), is(equalTo(0)));
+    }
+
+    @Test
+    void flush_publishesMetricsInBatches() {
+        emitMetrics(MetricsPublisher.MAX_METRIC_DATA_PER_REQUEST + 1);
+        metricsPublisher.flush();
+
+        assertThat(inMemoryMetricsSink.getPutMetricDataRequests()
+                .size(), is(equalTo(2)));
+        PutMetricDataRequest firstRequest = inMemoryMetricsSink.getPutMetricDataRequests()
+                .get(0);
+        assertThat(firstRequest.getNamespace(), is(equalTo(METRICS_NAMESPACE)));
+        assertThat(firstRequest.getMetricData()
+                .size(), is(equalTo(MetricsPublisher.MAX_METRIC_DATA_PER_REQUEST)));
+        assertThat(inMemoryMetricsSink.getPutMetricDataRequests()
+                .get(1)
+                .getMetricData()
+                .size(), is(equalTo(1)));
+    }
+
+    @Test
+    void flush_retriesFailedRequests_nextInterval() {
+        emitMetrics(1);
+        inMemoryMetricsSink.setFailing(true);
+        metricsPublisher.flush();
+        assertThat(inMemoryMetricsSink.getPutMetricDataRequests()
+                .size(), is(equalTo(0)));
+
+        inMemoryMetricsSink.setFailing(false);
+        metricsPublisher.flush();
+        assertThat(inMemoryMetricsSink.getPutMetricDataRequests()
+                .size(), is(equalTo(1)));
+        assertThat(metricsPublisher.getDroppedRequests(), is(equalTo(0L)));
+    }
+
+    @Test
+    void flush_dropsAndCountsRequests_whenTooManyArePending() {
+        inMemoryMetricsSink.setFailing(true);
+        emitMetrics(MetricsPublisher.MAX_METRIC_DATA_PER_REQUEST * (MAX_PENDING_REQUESTS + 1));
+        metricsPublisher.flush();
+        assertThat(metricsPublisher.getDroppedRequests(), is(equalTo(1L)));
+
+        inMemoryMetricsSink.setFailing(false);
+        metricsPublisher.flush();
+        assertThat(inMemoryMetricsSink.getPutMetricDataRequests()
+                .size(), is(equalTo(MAX_PENDING_REQUESTS)));
+    }
+
+    @Test
+    void stop_publishesMetricsEmittedSinceLastInterval() throws InterruptedException {
+        metricsPublisher.start();
+        emitMetrics(1);
+        metricsPublisher.stop();
+        assertThat(inMemoryMetricsSink.getPutMetricDataRequests()
+                .size(), is(equalTo(1)));
+    }
+
+    @Test
+    void start_throwsIllegalStateException_whenPublisherHasAlreadyBeenStarted() throws InterruptedException {
+        metricsPublisher.start();
+        assertThrows(IllegalStateException.class, () -> metricsPublisher.start());
+        metricsPublisher.stop();
+    }
+
+    @Test
+    void stop_doesNothing_whenPublisherHasNotBeenStarted() throws InterruptedException {
+        emitMetrics(1);
+        metricsPublisher.stop();
+        assertThat(inMemoryMetricsSink.getPutMetricDataRequests()
+                .size(), is(equalTo(0)));
+    }
+
+    private void emitMetrics(int count) {
+        for (int i = 0; i < count; i++) {
+            metricsEmitter.emitDurationMetric("Api" + i, i);
+        }
+    }
+}
@@ -0,0 +1,198 @@
+package com.climbassist.metrics;
+
+import com.google.common.collect.ImmutableSet;
+import com.google.common.testing.NullPointerTester;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import javax.management.AttributeNotFoundException;
+import javax.management.MBeanServer;
+import javax.management.MalformedObjectNameException;
+import javax.management.ObjectName;
+import java.util.Collections;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class PrometheusMetricsRendererTest {
+
+    private static final String CONTAINER_POOL_NAME = "\"http-nio-8080\"";
+
+    @Mock
+    private MetricsPublisher mockMetricsPublisher;
+    @Mock
+    private MBeanServer mockMBeanServer;
+
+    private ApiHistograms latencyHistograms;
+    private ApiHistograms dynamoDbCallHistograms;
+    private ConsumedCapacityTotals consumedCapacityTotals;
+    private ThreadPoolExecutor threadPoolExecutor;
+    private InFlightRequestCounter inFlightRequestCounter;
+    private PrometheusMetricsRenderer prometheusMetricsRenderer;
+
+    @BeforeEach
+    void setUp() throws MalformedObjectNameException {
+        latencyHistograms = ApiHistograms.builder()
+                .build();
+        dynamoDbCallHistograms = ApiHistograms.builder()
+                .build();
+        consumedCapacityTotals = ConsumedCapacityTotals.builder()
+                .build();
+        threadPoolExecutor = new ThreadPoolExecutor(1, 2, 0L, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>());
+        inFlightRequestCounter = InFlightRequestCounter.builder()
+                .maxConnections(50)
+                .build();
+        prometheusMetricsRenderer = PrometheusMetricsRenderer.builder()
+                .latencyHistograms(latencyHistograms)
+                .dynamoDbCallHistograms(dynamoDbCallHistograms)
+                .consumedCapacityTotals(consumedCapacityTotals)
+                .metricsPublisher(mockMetricsPublisher)
+                .mBeanServer(mockMBeanServer)
+                .containerThreadPoolQuery(new ObjectName(PrometheusMetricsRenderer.CONTAINER_THREAD_POOL_QUERY))
+                .threadPoolExecutor("migrationExecutor", threadPoolExecutor)
+                .inFlightRequestCounter("dynamoDb", inFlightRequestCounter)
+                .build();
+    }
+
+    @SuppressWarnings("UnstableApiUsage")
+    @Test
+    void parametersMarkedWithNonNull_throwNullPointerException_forNullValues() {
+        NullPointerTester nullPointerTester = new NullPointerTester();
+        nullPointerTester.testInstanceMethods(prometheusMetricsRenderer, NullPointerTester.Visibility.PACKAGE);
+    }
+
+    @Test
+    void render_rendersLatencyPercentilesInSeconds() {
+        latencyHistograms.record("GetCrag", TimeUnit.MILLISECONDS.toMicros(2));
+        when(mockMetricsPublisher.getDroppedRequests()).thenReturn(3L);
+
+        String metrics = prometheusMetricsRenderer.render();
+
+        assertThat(metrics, containsString("# TYPE climbassist_api_latency_seconds summary\n"));
+        assertThat(metrics, containsString("climbassist_api_latency_seconds{api=\"GetCrag\",quantile=\"0.99\"} 0.002"));
+        assertThat(metrics,
+                containsString("climbassist_api_latency_seconds{api=\"GetCrag\",quantile=\"0.999\"} 0.002"));
+        assertThat(metrics, containsString("climbassist_api_latency_seconds_sum{api=\"GetCrag\"} 0.002\n"));
+        assertThat(metrics, containsString("climbassist_api_latency_seconds_count{api=\"GetCrag\"} 1\n"));
+        assertThat(metrics, containsString("climbassist_metrics_publisher_dropped_requests_total 3\n"));
+    }
+
+    @Test
+    void render_rendersDynamoDbCallsPerRequest() {
+        dynamoDbCallHistograms.record("GetCountry", 40);
+        dynamoDbCallHistograms.record("GetCountry", 2);
+
+        String metrics = prometheusMetricsRenderer.render();
+
+        assertThat(metrics, containsString("# TYPE climbassist_api_dynamodb_calls_per_request summary\n"));
+        assertThat(metrics, containsString(
+                "climbassist_api_dynamodb_calls_per_request{api=\"GetCountry\",quantile=\"0.5\"} 2\n"));
+        assertThat(metrics, containsString(
+                "climbassist_api_dynamodb_calls_per_request{api=\"GetCountry\",quantile=\"0.99\"} 40\n"));
+        assertThat(metrics, containsString("climbassist_api_dynamodb_calls_per_request_sum{api=\"GetCountry\"} 42\n"));
+        assertThat(metrics,
+                containsString("climbassist_api_dynamodb_calls_per_request_count{api=\"GetCountry\"} 2\n"));
+    }
+
+    @Test
+    void render_rendersConsumedCapacityTotals() {
+        consumedCapacityTotals.record("ListRoutes", "Routes", 2.5, 0.0);
+        consumedCapacityTotals.record("BatchCreatePoints", "Points", 0.0, 25.0);
+        consumedCapacityTotals.record("ListRoutes", "Routes", 0.5, 0.0);
+
+        String metrics = prometheusMetricsRenderer.render();
+
+        assertThat(metrics, containsString("# TYPE climbassist_api_dynamodb_consumed_capacity_units_total counter\n" +
+                "climbassist_api_dynamodb_consumed_capacity_units_total{api=\"BatchCreatePoints\",table=\"Points\"," +
+                "type=\"read\"} 0\n" +
+                "climbassist_api_dynamodb_consumed_capacity_units_total{api=\"BatchCreatePoints\",table=\"Points\"," +
+                "type=\"write\"} 25\n" +
+                "climbassist_api_dynamodb_consumed_capacity_units_total{api=\"ListRoutes\",table=\"Routes\"," +
+                "type=\"read\"} 3\n" +
+                "climbassist_api_dynamodb_consumed_capacity_units_total{api=\"ListRoutes\",table=\"Routes\"," +
+                "type=\"write\"} 0\n"));
+    }
+
+    @Test
+    void render_rendersJvmGauges() {
+        String metrics = prometheusMetricsRenderer.render();
+
+        assertThat(metrics, containsString("jvm_memory_bytes_used{area=\"heap\"} "));
+        assertThat(metrics, containsString("# TYPE jvm_gc_collection_seconds summary\n"));
+        assertThat(metrics, containsString("jvm_threads_current "));
+    }
+
+    @Test
+    void render_rendersThreadPoolsAndConnectionPools() throws Exception {
+        ObjectName containerPoolName = new ObjectName("Catalina:type=ThreadPool,name=" + CONTAINER_POOL_NAME);
+        when(mockMBeanServer.queryNames(any(ObjectName.class), isNull())).thenReturn(
+                Collections.singleton(containerPoolName));
+        when(mockMBeanServer.getAttribute(eq(containerPoolName), eq("currentThreadsBusy"))).thenReturn(5);
+        when(mockMBeanServer.getAttribute(eq(containerPoolName), eq("currentThreadCount"))).thenReturn(10);
+        when(mockMBeanServer.getAttribute(eq(containerPoolName), eq("maxThreads"))).thenReturn(200);
+        inFlightRequestCounter.beforeRequest(null);
+
+        String metrics = prometheusMetricsRenderer.render();
+
+        assertThat(metrics, containsString("climbassist_thread_pool_active_threads{pool=\"migrationExecutor\"} 0\n"));
+        assertThat(metrics, containsString("climbassist_thread_pool_max_threads{pool=\"migrationExecutor\"} 2\n"));
+        assertThat(metrics, containsString("climbassist_thread_pool_queued_tasks{pool=\"migrationExecutor\"} 0\n"));
+        assertThat(metrics, containsString("climbassist_thread_pool_active_threads{pool=\"http-nio-8080\"} 5\n"));
+        assertThat(metrics, containsString("climbassist_thread_pool_threads{pool=\"http-nio-8080\"} 10\n"));
+        assertThat(metrics, containsString("climbassist_thread_pool_max_threads{pool=\"http-nio-8080\"} 200\n"));
+        assertThat(metrics, is(not(containsString("climbassist_thread_pool_queued_tasks{pool=\"http-nio-8080\"}"))));
+        assertThat(metrics, containsString("climbassist_connection_pool_in_use{pool=\"dynamoDb\"} 1\n"));
+        assertThat(metrics, containsString("climbassist_connection_pool_max{pool=\"dynamoDb\"} 50\n"));
+    }
+
+    @Test
+    void render_skipsContainerThreadPools_whenTheyHaveNoNameOrCannotBeRead() throws Exception {
+        ObjectName unnamedPoolName = new ObjectName("Catalina:type=ThreadPool");
+        ObjectName unreadablePoolName = new ObjectName("Catalina:type=ThreadPool,name=ajp-nio-8009");
+        ObjectName containerPoolName = new ObjectName("Catalina:type=ThreadPool,name=http-nio-8443");
+        when(mockMBeanServer.queryNames(any(ObjectName.class), isNull())).thenReturn(
+                ImmutableSet.of(unnamedPoolName, unreadablePoolName, containerPoolName));
+        when(mockMBeanServer.getAttribute(eq(unreadablePoolName), any())).thenThrow(
+                new AttributeNotFoundException());
+        when(mockMBeanServer.getAttribute(eq(containerPoolName), any())).thenReturn(1);
+
+        String metrics = prometheusMetricsRenderer.render();
+
+        assertThat(metrics, containsString("climbassist_thread_pool_threads{pool=\"http-nio-8443\"} 1\n"));
+        assertThat(metrics, is(not(containsString("ajp-nio-8009"))));
+    }
+
+    @Test
+    void render_rendersValuesThatAreNotWholeOrAreTooLargeForALong_asDoubles() {
+        consumedCapacityTotals.record("ListRoutes", "Routes", 1e19, 0.5);
+
+        String metrics = prometheusMetricsRenderer.render();
+
+        assertThat(metrics, containsString(
+                "climbassist_api_dynamodb_consumed_capacity_units_total{api=\"ListRoutes\",table=\"Routes\"," +
+                        "type=\"read\"} 1.0E19\n"));
+        assertThat(metrics, containsString(
+                "climbassist_api_dynamodb_consumed_capacity_units_total{api=\"ListRoutes\",table=\"Routes\"," +
+                        "type=\"write\"} 0.5\n"));
+    }
+
+    @Test
+    void render_escapesLabelValues() {
+        latencyHistograms.record("Get\"Crag\"", 0);
+        assertThat(prometheusMetricsRenderer.render(),
+                containsString("climbassist_api_latency_seconds_count{api=\"Get\\\"Crag\\\"\"} 1\n"));
+    }
+}
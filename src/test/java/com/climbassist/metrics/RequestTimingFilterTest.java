@@ -0,0 +1,86 @@
+package com.climbassist.metrics;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import javax.servlet.ServletException;
+import java.io.IOException;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.matchesPattern;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class RequestTimingFilterTest {
+
+    // none of these requests are slow enough to be logged, unless the test lowers the threshold
+    private static final long SLOW_REQUEST_THRESHOLD_MILLIS = 60_000;
+
+    private RequestTimingFilter requestTimingFilter;
+    private MockHttpServletRequest mockHttpServletRequest;
+    private MockHttpServletResponse mockHttpServletResponse;
+
+    @BeforeEach
+    void setUp() {
+        requestTimingFilter = RequestTimingFilter.builder()
+                .slowRequestThresholdMillis(SLOW_REQUEST_THRESHOLD_MILLIS)
+                .build();
+        mockHttpServletRequest = new MockHttpServletRequest();
+        mockHttpServletResponse = new MockHttpServletResponse();
+    }
+
+    @Test
+    void doFilter_addsServerTimingHeader_withCallsMadeDuringChain() throws IOException, ServletException {
+        requestTimingFilter.doFilter(mockHttpServletRequest, mockHttpServletResponse,
+                (servletRequest, servletResponse) -> {
+                    RequestTimings.recordCall(RequestTimings.DYNAMO_DB, 1_000_000);
+                    RequestTimings.recordCall(RequestTimings.DYNAMO_DB, 1_000_000);
+                });
+
+        assertThat(mockHttpServletResponse.getHeader(RequestTimingFilter.SERVER_TIMING_HEADER_NAME),
+                matchesPattern("dynamodb;dur=2\\.0;desc=\"2 calls\", total;dur=\\d+\\.\\d"));
+        assertThat(RequestTimings.getCurrent(), is(nullValue()));
+    }
+
+    @Test
+    void doFilter_stopsTiming_whenChainThrows() {
+        IllegalStateException illegalStateException = new IllegalStateException();
+        IllegalStateException actualException = assertThrows(IllegalStateException.class,
+                () -> requestTimingFilter.doFilter(mockHttpServletRequest, mockHttpServletResponse,
+                        (servletRequest, servletResponse) -> {
+                            throw illegalStateException;
+                        }));
+
+        assertThat(actualException, is(equalTo(illegalStateException)));
+        assertThat(mockHttpServletResponse.getHeader(RequestTimingFilter.SERVER_TIMING_HEADER_NAME),
+                matchesPattern("total;dur=\\d+\\.\\d"));
+        assertThat(RequestTimings.getCurrent(), is(nullValue()));
+    }
+
+    @Test
+    void doFilter_addsServerTimingHeader_whenRequestIsSlowEnoughToBeLogged() throws IOException, ServletException {
+        RequestTimingFilter.builder()
+                .slowRequestThresholdMillis(0)
+                .build()
+                .doFilter(mockHttpServletRequest, mockHttpServletResponse,
+                        (servletRequest, servletResponse) -> RequestTimings.recordCall(RequestTimings.DYNAMO_DB,
+                                1_000_000));
+
+        assertThat(mockHttpServletResponse.getHeader(RequestTimingFilter.SERVER_TIMING_HEADER_NAME),
+                matchesPattern("dynamodb;dur=1\\.0;desc=\"1 call\", total;dur=\\d+\\.\\d"));
+        assertThat(RequestTimings.getCurrent(), is(nullValue()));
+    }
+
+    @Test
+    void doFilter_doesNotAddServerTimingHeader_whenResponseIsCommitted() throws IOException, ServletException {
+        requestTimingFilter.doFilter(mockHttpServletRequest, mockHttpServletResponse,
+                (servletRequest, servletResponse) -> servletResponse.flushBuffer());
+
+        assertThat(mockHttpServletResponse.getHeader(RequestTimingFilter.SERVER_TIMING_HEADER_NAME),
+                is(nullValue()));
+    }
+}
@@ -0,0 +1,108 @@
+package com.climbassist.metrics;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.common.testing.NullPointerTester;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+
+class RequestTimingsTest {
+
+    @AfterEach
+    void tearDown() {
+        RequestTimings.unbind();
+    }
+
+    @SuppressWarnings("UnstableApiUsage")
+    @Test
+    void parametersMarkedWithNonNull_throwNullPointerException_forNullValues() {
+        NullPointerTester nullPointerTester = new NullPointerTester();
+        nullPointerTester.testStaticMethods(RequestTimings.class, NullPointerTester.Visibility.PACKAGE);
+        nullPointerTester.testInstanceMethods(RequestTimings.bind(), NullPointerTester.Visibility.PACKAGE);
+    }
+
+    @Test
+    void recordCall_doesNothing_whenNoRequestIsBeingTimed() {
+        RequestTimings.recordCall(RequestTimings.DYNAMO_DB, 1);
+        RequestTimings.recordStage("app", 1);
+        RequestTimings.recordQuery("Walls crag-1");
+        RequestTimings.recordConsumedCapacity("Walls", 1.0, 0.0);
+        RequestTimings.exemptFromCallBudget();
+        assertThat(RequestTimings.getCurrent(), is(nullValue()));
+    }
+
+    @Test
+    void exemptFromCallBudget_exemptsRequestOnThisThread() {
+        RequestTimings requestTimings = RequestTimings.bind();
+        assertThat(requestTimings.isCallBudgetExempt(), is(equalTo(false)));
+        RequestTimings.exemptFromCallBudget();
+        assertThat(requestTimings.isCallBudgetExempt(), is(equalTo(true)));
+    }
+
+    @Test
+    void recordCall_addsUpCallsPerDependency() {
+        RequestTimings requestTimings = RequestTimings.bind();
+        RequestTimings.recordCall(RequestTimings.DYNAMO_DB, TimeUnit.MILLISECONDS.toNanos(2));
+        RequestTimings.recordCall(RequestTimings.COGNITO, TimeUnit.MILLISECONDS.toNanos(40));
+        RequestTimings.recordCall(RequestTimings.DYNAMO_DB, TimeUnit.MILLISECONDS.toNanos(3));
+
+        assertThat(RequestTimings.getCurrent(), is(equalTo(requestTimings)));
+        assertThat(requestTimings.getCalls(RequestTimings.DYNAMO_DB), is(equalTo(2)));
+        assertThat(requestTimings.getCalls(RequestTimings.COGNITO), is(equalTo(1)));
+        assertThat(requestTimings.getCalls(RequestTimings.S3), is(equalTo(0)));
+    }
+
+    @Test
+    void recordQuery_countsOnlyQueriesMadeMoreThanOnce() {
+        RequestTimings requestTimings = RequestTimings.bind();
+        RequestTimings.recordQuery("Walls crag-1");
+        RequestTimings.recordQuery("Walls crag-2");
+        RequestTimings.recordQuery("Walls crag-1");
+        RequestTimings.recordQuery("Walls crag-1");
+
+        assertThat(requestTimings.getRepeatedQueryCounts(), is(equalTo(ImmutableMap.of("Walls crag-1", 3))));
+    }
+
+    @Test
+    void toServerTimingHeader_listsDependenciesThenStages() {
+        RequestTimings requestTimings = RequestTimings.bind();
+        RequestTimings.recordCall(RequestTimings.DYNAMO_DB, TimeUnit.MICROSECONDS.toNanos(2500));
+        RequestTimings.recordCall(RequestTimings.DYNAMO_DB, TimeUnit.MICROSECONDS.toNanos(2500));
+        RequestTimings.recordCall(RequestTimings.COGNITO, TimeUnit.MILLISECONDS.toNanos(40));
+        RequestTimings.recordStage("app", TimeUnit.MILLISECONDS.toNanos(61));
+        RequestTimings.recordStage("total", TimeUnit.MICROSECONDS.toNanos(63_250));
+
+        assertThat(requestTimings.toServerTimingHeader(), is(equalTo(
+                "dynamodb;dur=5.0;desc=\"2 calls\", cognito;dur=40.0;desc=\"1 call\", app;dur=61.0, " +
+                        "total;dur=63.3")));
+        assertThat(requestTimings.toLogMessage(),
+                is(equalTo("dynamodb=2 calls/5.0ms cognito=1 call/40.0ms app=61.0ms total=63.3ms")));
+    }
+
+    @Test
+    void toLogMessage_endsWithConsumedCapacityPerTable() {
+        RequestTimings requestTimings = RequestTimings.bind();
+        RequestTimings.recordCall(RequestTimings.DYNAMO_DB, TimeUnit.MILLISECONDS.toNanos(5));
+        RequestTimings.recordConsumedCapacity("Crags", 0.5, 0.0);
+        RequestTimings.recordConsumedCapacity("Walls", 0.0, 2.0);
+        RequestTimings.recordConsumedCapacity("Crags", 1.0, 0.0);
+        RequestTimings.recordStage("total", TimeUnit.MILLISECONDS.toNanos(7));
+
+        assertThat(requestTimings.toLogMessage(),
+                is(equalTo("dynamodb=1 call/5.0ms total=7.0ms Crags=1.5RCU/0.0WCU Walls=0.0RCU/2.0WCU")));
+        assertThat(requestTimings.toServerTimingHeader(),
+                is(equalTo("dynamodb;dur=5.0;desc=\"1 call\", total;dur=7.0")));
+    }
+
+    @Test
+    void toServerTimingHeader_returnsEmptyString_whenNothingWasRecorded() {
+        assertThat(RequestTimings.bind()
+                .toServerTimingHeader(), is(equalTo("")));
+    }
+}
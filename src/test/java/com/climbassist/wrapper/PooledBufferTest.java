@@ -0,0 +1,115 @@
+package com.climbassist.wrapper;
+
+import com.google.common.testing.NullPointerTester;
+import org.apache.commons.io.IOUtils;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Random;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+
+class PooledBufferTest {
+
+    private static final int CHUNK_SIZE = 16;
+    private static final int MAX_POOLED_CHUNKS = 4;
+
+    private BufferPool bufferPool;
+    private PooledBuffer pooledBuffer;
+
+    @BeforeEach
+    void setUp() {
+        bufferPool = BufferPool.builder()
+                .chunkSize(CHUNK_SIZE)
+                .maxPooledChunks(MAX_POOLED_CHUNKS)
+                .build();
+        pooledBuffer = new PooledBuffer(bufferPool);
+    }
+
+    @SuppressWarnings("UnstableApiUsage")
+    @Test
+    void parametersMarkedWithNonNull_throwNullPointerException_forNullValues() {
+        NullPointerTester nullPointerTester = new NullPointerTester();
+        nullPointerTester.setDefault(BufferPool.class, bufferPool);
+        nullPointerTester.testAllPublicConstructors(PooledBuffer.class);
+        nullPointerTester.testInstanceMethods(pooledBuffer, NullPointerTester.Visibility.PACKAGE);
+    }
+
+    @Test
+    void write_keepsAllBytes_whenBytesSpanSeveralChunks() throws IOException {
+        byte[] bytes = buildBytes(CHUNK_SIZE * 3 + 5);
+        pooledBuffer.write(bytes, 0, 10);
+        pooledBuffer.write(bytes[10]);
+        pooledBuffer.write(bytes, 11, bytes.length - 11);
+
+        assertThat(pooledBuffer.size(), is(equalTo(bytes.length)));
+        assertThat(pooledBuffer.toByteArray(), is(equalTo(bytes)));
+        ByteArrayOutputStream byteArrayOutputStream = new ByteArrayOutputStream();
+        pooledBuffer.writeTo(byteArrayOutputStream);
+        assertThat(byteArrayOutputStream.toByteArray(), is(equalTo(bytes)));
+    }
+
+    @Test
+    void readFrom_readsWholeStream() throws IOException {
+        byte[] bytes = buildBytes(CHUNK_SIZE * 2);
+        pooledBuffer.readFrom(new ByteArrayInputStream(bytes));
+        assertThat(pooledBuffer.toByteArray(), is(equalTo(bytes)));
+    }
+
+    @Test
+    void readFrom_leavesRestOfStreamUnread_afterMaxBytes() throws IOException {
+        byte[] bytes = buildBytes(CHUNK_SIZE * 2);
+        ByteArrayInputStream byteArrayInputStream = new ByteArrayInputStream(bytes);
+        pooledBuffer.readFrom(byteArrayInputStream, CHUNK_SIZE + 1);
+        assertThat(pooledBuffer.size(), is(equalTo(CHUNK_SIZE + 1)));
+        assertThat(byteArrayInputStream.available(), is(equalTo(CHUNK_SIZE - 1)));
+    }
+
+    @Test
+    void newInputStream_readsBufferFromBeginning_eachTime() throws IOException {
+        byte[] bytes = buildBytes(CHUNK_SIZE * 2 + 1);
+        pooledBuffer.write(bytes);
+        assertThat(IOUtils.toByteArray(pooledBuffer.newInputStream()), is(equalTo(bytes)));
+        assertThat(pooledBuffer.newInputStream()
+                .read(), is(equalTo(bytes[0] & 0xff)));
+    }
+
+    @Test
+    void newInputStream_returnsEndOfStream_whenBufferIsEmpty() throws IOException {
+        assertThat(pooledBuffer.newInputStream()
+                .read(), is(equalTo(-1)));
+        assertThat(pooledBuffer.newInputStream()
+                .read(new byte[1], 0, 1), is(equalTo(-1)));
+    }
+
+    @Test
+    void release_givesChunksBackToPool_upToMaxPooledChunks() {
+        pooledBuffer.write(buildBytes(CHUNK_SIZE * (MAX_POOLED_CHUNKS + 2)), 0, CHUNK_SIZE * (MAX_POOLED_CHUNKS + 2));
+        pooledBuffer.release();
+        assertThat(pooledBuffer.size(), is(equalTo(0)));
+        assertThat(bufferPool.getPooledChunks(), is(equalTo(MAX_POOLED_CHUNKS)));
+    }
+
+    @Test
+    void release_allowsChunksToBeReused() {
+        pooledBuffer.write(buildBytes(CHUNK_SIZE), 0, CHUNK_SIZE);
+        pooledBuffer.release();
+
+        PooledBuffer otherPooledBuffer = new PooledBuffer(bufferPool);
+        byte[] bytes = buildBytes(5);
+        otherPooledBuffer.write(bytes, 0, bytes.length);
+        assertThat(bufferPool.getPooledChunks(), is(equalTo(0)));
+        assertThat(otherPooledBuffer.toByteArray(), is(equalTo(bytes)));
+    }
+
+    private static byte[] buildBytes(int size) {
+        byte[] bytes = new byte[size];
+        new Random(size).nextBytes(bytes);
+        return bytes;
+    }
+}
@@ -0,0 +1,84 @@
+package com.climbassist.wrapper.request;
+
+import com.climbassist.wrapper.BufferPool;
+import org.apache.commons.io.IOUtils;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+
+class RequestWrapperTest {
+
+    private static final String JSON_BODY = "{\"name\":\"Index Town Walls\"}";
+    private static final int MAX_STRING_SIZE = 10 * 1024;
+
+    private BufferPool bufferPool;
+    private MockHttpServletRequest mockHttpServletRequest;
+
+    @BeforeEach
+    void setUp() {
+        bufferPool = BufferPool.builder()
+                .chunkSize(1024)
+                .maxPooledChunks(16)
+                .build();
+        mockHttpServletRequest = new MockHttpServletRequest("POST", "/v1/crags");
+    }
+
+    @Test
+    void getInputStream_returnsWholeBody_eachTime_whenBodyIsJson() throws IOException {
+        mockHttpServletRequest.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        mockHttpServletRequest.setContent(JSON_BODY.getBytes(StandardCharsets.UTF_8));
+        RequestWrapper requestWrapper = new RequestWrapper(mockHttpServletRequest, bufferPool);
+
+        assertThat(requestWrapper.getBody(), is(equalTo(JSON_BODY)));
+        assertThat(IOUtils.toString(requestWrapper.getInputStream(), "UTF-8"), is(equalTo(JSON_BODY)));
+        assertThat(IOUtils.toString(requestWrapper.getInputStream(), "UTF-8"), is(equalTo(JSON_BODY)));
+    }
+
+    @Test
+    void getInputStream_streamsWholeBody_whenBodyIsMultipart() throws IOException {
+        byte[] body = buildBody(MAX_STRING_SIZE * 10);
+        mockHttpServletRequest.setContentType(MediaType.MULTIPART_FORM_DATA_VALUE + "; boundary=boundary");
+        mockHttpServletRequest.setContent(body);
+        RequestWrapper requestWrapper = new RequestWrapper(mockHttpServletRequest, bufferPool);
+
+        assertThat(IOUtils.toByteArray(requestWrapper.getInputStream()), is(equalTo(body)));
+    }
+
+    @Test
+    void getBody_returnsOnlyPrefix_whenBodyIsStreamed() throws IOException {
+        byte[] body = buildBody(MAX_STRING_SIZE * 10);
+        mockHttpServletRequest.setContentType(MediaType.APPLICATION_OCTET_STREAM_VALUE);
+        mockHttpServletRequest.setContent(body);
+        RequestWrapper requestWrapper = new RequestWrapper(mockHttpServletRequest, bufferPool);
+
+        assertThat(requestWrapper.getBody(),
+                is(equalTo(new String(Arrays.copyOf(body, MAX_STRING_SIZE + 1)) + " [content truncated]")));
+    }
+
+    @Test
+    void getBody_returnsWholeBody_whenStreamedBodyIsSmall() throws IOException {
+        mockHttpServletRequest.setContentType("image/jpeg");
+        mockHttpServletRequest.setContent("small".getBytes(StandardCharsets.UTF_8));
+        RequestWrapper requestWrapper = new RequestWrapper(mockHttpServletRequest, bufferPool);
+
+        assertThat(requestWrapper.getBody(), is(equalTo("small")));
+        assertThat(IOUtils.toString(requestWrapper.getInputStream(), "UTF-8"), is(equalTo("small")));
+    }
+
+    private static byte[] buildBody(int size) {
+        byte[] body = new byte[size];
+        for (int i = 0; i < size; i++) {
+            body[i] = (byte) ('a' + i % 26);
+        }
+        return body;
+    }
+}